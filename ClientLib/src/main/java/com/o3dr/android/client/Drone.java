@@ -32,6 +32,7 @@ import com.o3dr.services.android.lib.drone.property.CameraProxy;
 import com.o3dr.services.android.lib.drone.property.Gps;
 import com.o3dr.services.android.lib.drone.property.GuidedState;
 import com.o3dr.services.android.lib.drone.property.Home;
+import com.o3dr.services.android.lib.drone.property.LinkStatistics;
 import com.o3dr.services.android.lib.drone.property.Parameter;
 import com.o3dr.services.android.lib.drone.property.Parameters;
 import com.o3dr.services.android.lib.drone.property.Signal;
@@ -317,6 +318,9 @@ public class Drone {
             case AttributeType.GOPRO:
                 return (T) new GoPro();
 
+            case AttributeType.LINK_STATISTICS:
+                return (T) new LinkStatistics();
+
             case AttributeType.CAMERA:
             default:
                 return null;
@@ -370,6 +374,9 @@ public class Drone {
             case AttributeType.GOPRO:
                 return GoPro.class.getClassLoader();
 
+            case AttributeType.LINK_STATISTICS:
+                return LinkStatistics.class.getClassLoader();
+
             default:
                 return null;
         }
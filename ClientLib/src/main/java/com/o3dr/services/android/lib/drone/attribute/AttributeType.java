@@ -92,6 +92,12 @@ public class AttributeType {
      */
     public static final String TYPE = PACKAGE_NAME + ".TYPE";
 
+    /**
+     * Used to access the statistics of the packets received from the vehicle.
+     * @see {@link com.o3dr.services.android.lib.drone.property.LinkStatistics}
+     */
+    public static final String LINK_STATISTICS = PACKAGE_NAME + ".LINK_STATISTICS";
+
     /**
      * Used to access the GoPro instance.
      * @see {@link com.o3dr.services.android.lib.drone.camera.GoPro}
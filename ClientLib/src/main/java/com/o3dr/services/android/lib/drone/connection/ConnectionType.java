@@ -17,6 +17,25 @@ public class ConnectionType {
      * Default value for the usb baud rate.
      */
     public static final int DEFAULT_USB_BAUD_RATE = 57600;
+    /**
+     * Key used to retrieve the latency timer of ftdi usb devices, in ms, from the connection
+     * parameter bundle. The device waits as long for a packet to fill before sending it.
+     */
+    public static final String EXTRA_USB_LATENCY_TIMER = "extra_usb_latency_timer";
+    /**
+     * Default value for the usb latency timer.
+     */
+    public static final int DEFAULT_USB_LATENCY_TIMER = 2;
+    /**
+     * Key used to retrieve the size of the usb read transfers, in bytes, from the connection
+     * parameter bundle. 0 keeps the driver default.
+     */
+    public static final String EXTRA_USB_READ_TRANSFER_SIZE = "extra_usb_read_transfer_size";
+    /**
+     * Key used to retrieve the size of the usb write transfers, in bytes, from the connection
+     * parameter bundle. 0 keeps the driver default.
+     */
+    public static final String EXTRA_USB_WRITE_TRANSFER_SIZE = "extra_usb_write_transfer_size";
 
     /**
      * UDP connection type
@@ -78,4 +97,74 @@ public class ConnectionType {
      */
     public static final String EXTRA_BLUETOOTH_ADDRESS = "extra_bluetooth_address";
 
+    /**
+     * Replay of a recorded flight: the telemetry of a tlog file is handled as if it was received
+     * from the vehicle, on the time of the tlog. The frames sent to the vehicle are dropped.
+     */
+    public static final int TYPE_TLOG_REPLAY = 4;
+    /**
+     * Key used to retrieve the path of the tlog file to replay from the connection parameter
+     * bundle. Files with the .tlogz extension are read as compressed tlogs.
+     */
+    public static final String EXTRA_TLOG_REPLAY_PATH = "extra_tlog_replay_path";
+    /**
+     * Key used to retrieve the replay speed, as a multiple of the pace the telemetry was logged
+     * at, from the connection parameter bundle. Infinity replays it as fast as it's handled.
+     */
+    public static final String EXTRA_TLOG_REPLAY_SPEED = "extra_tlog_replay_speed";
+    /**
+     * Default value for the replay speed: the pace the telemetry was logged at.
+     */
+    public static final double DEFAULT_TLOG_REPLAY_SPEED = 1;
+
+    /**
+     * Key used to retrieve from the connection parameter bundle how long, in ms, a tcp, udp or
+     * bluetooth link lost while connected keeps being reopened. The vehicle state is kept
+     * meanwhile. 0 disconnects as soon as the link is lost.
+     */
+    public static final String EXTRA_RECONNECT_TIMEOUT = "extra_reconnect_timeout";
+    /**
+     * Key used to retrieve the delay, in ms, before the first attempt to reopen a lost link. The
+     * delay doubles with each failed attempt.
+     */
+    public static final String EXTRA_RECONNECT_INITIAL_DELAY = "extra_reconnect_initial_delay";
+    /**
+     * Default value for the delay before the first attempt to reopen a lost link.
+     */
+    public static final long DEFAULT_RECONNECT_INITIAL_DELAY = 50l;
+    /**
+     * Key used to retrieve the longest delay, in ms, between two attempts to reopen a lost link.
+     */
+    public static final String EXTRA_RECONNECT_MAX_DELAY = "extra_reconnect_max_delay";
+    /**
+     * Default value for the longest delay between two attempts to reopen a lost link.
+     */
+    public static final long DEFAULT_RECONNECT_MAX_DELAY = 1000l;
+
+    /**
+     * Key used to retrieve from the connection parameter bundle whether the frames received by
+     * the connection are forwarded to the other connections which set it, and theirs to it,
+     * following the mavlink routing rules. The frames are forwarded as received.
+     */
+    public static final String EXTRA_MAVLINK_ROUTING = "extra_mavlink_routing";
+
+    /**
+     * Key used to retrieve from the connection parameter bundle the parameters of the other links
+     * to the same vehicle, as an ArrayList of ConnectionParameter. The frames received over all
+     * the links are merged, without duplicates, and the frames are sent over the link with the
+     * lowest lag and loss.
+     */
+    public static final String EXTRA_BONDED_LINKS = "extra_bonded_links";
+
+    /**
+     * Key used to retrieve from the connection parameter bundle the period, in ms, of the
+     * exchanges measuring the round trip time of the link and synchronizing with the vehicle
+     * clock. 0 disables them.
+     */
+    public static final String EXTRA_CLOCK_SYNC_PERIOD = "extra_clock_sync_period";
+    /**
+     * Default value for the period of the clock synchronization exchanges.
+     */
+    public static final long DEFAULT_CLOCK_SYNC_PERIOD = 1000l;
+
 }
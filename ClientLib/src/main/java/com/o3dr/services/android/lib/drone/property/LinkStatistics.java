@@ -0,0 +1,96 @@
+package com.o3dr.services.android.lib.drone.property;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics of the mavlink packets received on the vehicle link since it was opened, in total
+ * and per system component.
+ */
+public class LinkStatistics implements Parcelable {
+
+    private long receivedCount;
+    private long lostCount;
+    private long crcErrorCount;
+    private long bytes;
+    private List<SourceStatistics> sources = new ArrayList<SourceStatistics>();
+
+    public LinkStatistics(){}
+
+    public LinkStatistics(long receivedCount, long lostCount, long crcErrorCount, long bytes,
+                          List<SourceStatistics> sources) {
+        this.receivedCount = receivedCount;
+        this.lostCount = lostCount;
+        this.crcErrorCount = crcErrorCount;
+        this.bytes = bytes;
+        this.sources = sources;
+    }
+
+    public long getReceivedCount() {
+        return receivedCount;
+    }
+
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    /**
+     * @return count of packets dropped because of a crc error, including the ones whose source
+     * is unknown.
+     */
+    public long getCrcErrorCount() {
+        return crcErrorCount;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public List<SourceStatistics> getSources() {
+        return sources;
+    }
+
+    public SourceStatistics getSource(int sysId, int compId) {
+        for (SourceStatistics source : sources) {
+            if (source.getSysId() == sysId && source.getCompId() == compId)
+                return source;
+        }
+
+        return null;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLong(this.receivedCount);
+        dest.writeLong(this.lostCount);
+        dest.writeLong(this.crcErrorCount);
+        dest.writeLong(this.bytes);
+        dest.writeTypedList(sources);
+    }
+
+    private LinkStatistics(Parcel in) {
+        this.receivedCount = in.readLong();
+        this.lostCount = in.readLong();
+        this.crcErrorCount = in.readLong();
+        this.bytes = in.readLong();
+        in.readTypedList(sources, SourceStatistics.CREATOR);
+    }
+
+    public static final Parcelable.Creator<LinkStatistics> CREATOR = new Parcelable.Creator<LinkStatistics>() {
+        public LinkStatistics createFromParcel(Parcel source) {
+            return new LinkStatistics(source);
+        }
+
+        public LinkStatistics[] newArray(int size) {
+            return new LinkStatistics[size];
+        }
+    };
+}
@@ -0,0 +1,87 @@
+package com.o3dr.services.android.lib.drone.property;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * Statistics of a mavlink message id received from a system component.
+ */
+public class MessageStatistics implements Parcelable {
+
+    private int msgId;
+    private long count;
+    private long bytes;
+    private double rate;
+    private double jitter;
+
+    public MessageStatistics(){}
+
+    public MessageStatistics(int msgId, long count, long bytes, double rate, double jitter) {
+        this.msgId = msgId;
+        this.count = count;
+        this.bytes = bytes;
+        this.rate = rate;
+        this.jitter = jitter;
+    }
+
+    public int getMsgId() {
+        return msgId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return bytes received for this message, counting the mavlink framing.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return rate of the message in Hz.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    /**
+     * @return mean deviation of the interval between two messages, in milliseconds.
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(this.msgId);
+        dest.writeLong(this.count);
+        dest.writeLong(this.bytes);
+        dest.writeDouble(this.rate);
+        dest.writeDouble(this.jitter);
+    }
+
+    private MessageStatistics(Parcel in) {
+        this.msgId = in.readInt();
+        this.count = in.readLong();
+        this.bytes = in.readLong();
+        this.rate = in.readDouble();
+        this.jitter = in.readDouble();
+    }
+
+    public static final Parcelable.Creator<MessageStatistics> CREATOR = new Parcelable.Creator<MessageStatistics>() {
+        public MessageStatistics createFromParcel(Parcel source) {
+            return new MessageStatistics(source);
+        }
+
+        public MessageStatistics[] newArray(int size) {
+            return new MessageStatistics[size];
+        }
+    };
+}
@@ -0,0 +1,119 @@
+package com.o3dr.services.android.lib.drone.property;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statistics of the mavlink packets received from a system component, such as the autopilot,
+ * a gimbal or a companion computer.
+ */
+public class SourceStatistics implements Parcelable {
+
+    private int sysId;
+    private int compId;
+    private long receivedCount;
+    private long lostCount;
+    private long crcErrorCount;
+    private long bytes;
+    private List<MessageStatistics> messages = new ArrayList<MessageStatistics>();
+
+    public SourceStatistics(){}
+
+    public SourceStatistics(int sysId, int compId, long receivedCount, long lostCount, long crcErrorCount,
+                            long bytes, List<MessageStatistics> messages) {
+        this.sysId = sysId;
+        this.compId = compId;
+        this.receivedCount = receivedCount;
+        this.lostCount = lostCount;
+        this.crcErrorCount = crcErrorCount;
+        this.bytes = bytes;
+        this.messages = messages;
+    }
+
+    public int getSysId() {
+        return sysId;
+    }
+
+    public int getCompId() {
+        return compId;
+    }
+
+    public long getReceivedCount() {
+        return receivedCount;
+    }
+
+    /**
+     * @return count of packets missing from the sequence of this component.
+     */
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    public long getCrcErrorCount() {
+        return crcErrorCount;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return fraction of the packets sent by this component which were lost, from 0 to 1.
+     */
+    public double getLossRate() {
+        final long sent = receivedCount + lostCount;
+        return sent == 0 ? 0 : (double) lostCount / sent;
+    }
+
+    public List<MessageStatistics> getMessages() {
+        return messages;
+    }
+
+    public MessageStatistics getMessage(int msgId) {
+        for (MessageStatistics message : messages) {
+            if (message.getMsgId() == msgId)
+                return message;
+        }
+
+        return null;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(this.sysId);
+        dest.writeInt(this.compId);
+        dest.writeLong(this.receivedCount);
+        dest.writeLong(this.lostCount);
+        dest.writeLong(this.crcErrorCount);
+        dest.writeLong(this.bytes);
+        dest.writeTypedList(messages);
+    }
+
+    private SourceStatistics(Parcel in) {
+        this.sysId = in.readInt();
+        this.compId = in.readInt();
+        this.receivedCount = in.readLong();
+        this.lostCount = in.readLong();
+        this.crcErrorCount = in.readLong();
+        this.bytes = in.readLong();
+        in.readTypedList(messages, MessageStatistics.CREATOR);
+    }
+
+    public static final Parcelable.Creator<SourceStatistics> CREATOR = new Parcelable.Creator<SourceStatistics>() {
+        public SourceStatistics createFromParcel(Parcel source) {
+            return new SourceStatistics(source);
+        }
+
+        public SourceStatistics[] newArray(int size) {
+            return new SourceStatistics[size];
+        }
+    };
+}
@@ -24,10 +24,15 @@ import com.o3dr.services.android.lib.model.IDroidPlannerServices;
 
 import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.MavLinkRouter;
+import org.droidplanner.core.MAVLink.connection.ReconnectPolicy;
+import org.droidplanner.core.MAVLink.connection.ReplayClock;
 import org.droidplanner.core.survey.CameraInfo;
 import org.droidplanner.services.android.R;
+import org.droidplanner.services.android.communication.connection.AndroidBondedConnection;
 import org.droidplanner.services.android.communication.connection.AndroidMavLinkConnection;
 import org.droidplanner.services.android.communication.connection.AndroidTcpConnection;
+import org.droidplanner.services.android.communication.connection.AndroidTlogReplayConnection;
 import org.droidplanner.services.android.communication.connection.AndroidUdpConnection;
 import org.droidplanner.services.android.communication.connection.BluetoothConnection;
 import org.droidplanner.services.android.communication.connection.usb.UsbConnection;
@@ -44,6 +49,7 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 3DR Services background service implementation.
@@ -69,6 +75,11 @@ public class DroidPlannerService extends Service {
      */
     final ConcurrentHashMap<String, AndroidMavLinkConnection> mavConnections = new ConcurrentHashMap<>();
 
+    /**
+     * Forwards the frames between the mavlink connections which enabled routing.
+     */
+    final MavLinkRouter mavLinkRouter = new MavLinkRouter();
+
     /**
      * Caches drone managers per connection type.
      */
@@ -140,52 +151,37 @@ public class DroidPlannerService extends Service {
     void connectMAVConnection(ConnectionParameter connParams, String listenerTag,
                               MavLinkConnectionListener listener) {
         AndroidMavLinkConnection conn = mavConnections.get(connParams.getUniqueId());
-        final int connectionType = connParams.getConnectionType();
         final Bundle paramsBundle = connParams.getParamsBundle();
         if (conn == null) {
+            conn = createMavLinkConnection(connParams);
+            if (conn == null) {
+                return;
+            }
 
-            //Create a new mavlink connection
-
-            switch (connectionType) {
-                case ConnectionType.TYPE_USB:
-                    final int baudRate = paramsBundle.getInt(ConnectionType.EXTRA_USB_BAUD_RATE,
-                            ConnectionType.DEFAULT_USB_BAUD_RATE);
-                    conn = new UsbConnection(getApplicationContext(), baudRate);
-                    Log.d(TAG, "Connecting over usb.");
-                    break;
-
-                case ConnectionType.TYPE_BLUETOOTH:
-                    //Retrieve the bluetooth address to connect to
-                    final String bluetoothAddress = paramsBundle.getString(ConnectionType.EXTRA_BLUETOOTH_ADDRESS);
-                    conn = new BluetoothConnection(getApplicationContext(), bluetoothAddress);
-                    Log.d(TAG, "Connecting over bluetooth.");
-                    break;
-
-                case ConnectionType.TYPE_TCP:
-                    //Retrieve the server ip and port
-                    final String tcpServerIp = paramsBundle.getString(ConnectionType.EXTRA_TCP_SERVER_IP);
-                    final int tcpServerPort = paramsBundle.getInt(ConnectionType
-                            .EXTRA_TCP_SERVER_PORT, ConnectionType.DEFAULT_TCP_SERVER_PORT);
-                    conn = new AndroidTcpConnection(getApplicationContext(), tcpServerIp, tcpServerPort);
-                    Log.d(TAG, "Connecting over tcp.");
-                    break;
-
-                case ConnectionType.TYPE_UDP:
-                    final int udpServerPort = paramsBundle
-                            .getInt(ConnectionType.EXTRA_UDP_SERVER_PORT, ConnectionType.DEFAULT_UDP_SERVER_PORT);
-                    conn = new AndroidUdpConnection(getApplicationContext(), udpServerPort);
-                    Log.d(TAG, "Connecting over udp.");
-                    break;
+            paramsBundle.setClassLoader(ConnectionParameter.class.getClassLoader());
+            final ArrayList<ConnectionParameter> bondedParams = paramsBundle
+                    .getParcelableArrayList(ConnectionType.EXTRA_BONDED_LINKS);
+            if (bondedParams != null && !bondedParams.isEmpty()) {
+                final List<AndroidMavLinkConnection> links = new ArrayList<>();
+                links.add(conn);
+                for (ConnectionParameter linkParams : bondedParams) {
+                    final AndroidMavLinkConnection link = createMavLinkConnection(linkParams);
+                    if (link != null) {
+                        links.add(link);
+                    }
+                }
 
-                default:
-                    Log.e(TAG, "Unrecognized connection type: " + connectionType);
-                    return;
+                conn = new AndroidBondedConnection(getApplicationContext(), links);
+                Log.d(TAG, "Bonding " + links.size() + " links.");
             }
 
             mavConnections.put(connParams.getUniqueId(), conn);
         }
 
-        if (connectionType == ConnectionType.TYPE_UDP) {
+        // The first link of a bond is the one described by the parameters.
+        final MavLinkConnection link = conn instanceof AndroidBondedConnection
+                ? ((AndroidBondedConnection) conn).getLinks().get(0) : conn;
+        if (link instanceof AndroidUdpConnection) {
             final String pingIpAddress = paramsBundle.getString(ConnectionType.EXTRA_UDP_PING_RECEIVER_IP);
             if (!TextUtils.isEmpty(pingIpAddress)) {
                 try {
@@ -196,7 +192,7 @@ public class DroidPlannerService extends Service {
                             ConnectionType.DEFAULT_UDP_PING_PERIOD);
                     final byte[] pingPayload = paramsBundle.getByteArray(ConnectionType.EXTRA_UDP_PING_PAYLOAD);
 
-                    ((AndroidUdpConnection) conn).addPingTarget(resolvedAddress, pingPort, pingPeriod, pingPayload);
+                    ((AndroidUdpConnection) link).addPingTarget(resolvedAddress, pingPort, pingPeriod, pingPayload);
 
                 } catch (UnknownHostException e) {
                     Log.e(TAG, "Unable to resolve UDP ping server ip address.", e);
@@ -204,6 +200,10 @@ public class DroidPlannerService extends Service {
             }
         }
 
+        if (paramsBundle.getBoolean(ConnectionType.EXTRA_MAVLINK_ROUTING)) {
+            mavLinkRouter.addLink(conn);
+        }
+
         conn.addMavLinkConnectionListener(listenerTag, listener);
         if (conn.getConnectionStatus() == MavLinkConnection.MAVLINK_DISCONNECTED) {
             conn.connect();
@@ -216,6 +216,102 @@ public class DroidPlannerService extends Service {
         }
     }
 
+    /**
+     * @return a new connection of the given type, or null if the type is unknown.
+     */
+    private AndroidMavLinkConnection createMavLinkConnection(ConnectionParameter connParams) {
+        final int connectionType = connParams.getConnectionType();
+        final Bundle paramsBundle = connParams.getParamsBundle();
+        final AndroidMavLinkConnection conn;
+        switch (connectionType) {
+            case ConnectionType.TYPE_USB:
+                final int baudRate = paramsBundle.getInt(ConnectionType.EXTRA_USB_BAUD_RATE,
+                        ConnectionType.DEFAULT_USB_BAUD_RATE);
+                final UsbConnection usbConn = new UsbConnection(getApplicationContext(), baudRate);
+                usbConn.setLatencyTimer(paramsBundle.getInt(ConnectionType.EXTRA_USB_LATENCY_TIMER,
+                        ConnectionType.DEFAULT_USB_LATENCY_TIMER));
+                usbConn.setTransferSizes(paramsBundle.getInt(ConnectionType.EXTRA_USB_READ_TRANSFER_SIZE),
+                        paramsBundle.getInt(ConnectionType.EXTRA_USB_WRITE_TRANSFER_SIZE));
+                conn = usbConn;
+                Log.d(TAG, "Connecting over usb.");
+                break;
+
+            case ConnectionType.TYPE_BLUETOOTH:
+                //Retrieve the bluetooth address to connect to
+                final String bluetoothAddress = paramsBundle.getString(ConnectionType.EXTRA_BLUETOOTH_ADDRESS);
+                conn = new BluetoothConnection(getApplicationContext(), bluetoothAddress);
+                Log.d(TAG, "Connecting over bluetooth.");
+                break;
+
+            case ConnectionType.TYPE_TCP:
+                //Retrieve the server ip and port
+                final String tcpServerIp = paramsBundle.getString(ConnectionType.EXTRA_TCP_SERVER_IP);
+                final int tcpServerPort = paramsBundle.getInt(ConnectionType
+                        .EXTRA_TCP_SERVER_PORT, ConnectionType.DEFAULT_TCP_SERVER_PORT);
+                conn = new AndroidTcpConnection(getApplicationContext(), tcpServerIp, tcpServerPort);
+                Log.d(TAG, "Connecting over tcp.");
+                break;
+
+            case ConnectionType.TYPE_UDP:
+                final int udpServerPort = paramsBundle
+                        .getInt(ConnectionType.EXTRA_UDP_SERVER_PORT, ConnectionType.DEFAULT_UDP_SERVER_PORT);
+                conn = new AndroidUdpConnection(getApplicationContext(), udpServerPort);
+                Log.d(TAG, "Connecting over udp.");
+                break;
+
+            case ConnectionType.TYPE_TLOG_REPLAY:
+                final String tlogPath = paramsBundle.getString(ConnectionType.EXTRA_TLOG_REPLAY_PATH);
+                if (TextUtils.isEmpty(tlogPath)) {
+                    Log.e(TAG, "No tlog to replay.");
+                    return null;
+                }
+
+                // Runs the vehicle state on the time of the tlog.
+                final DroneManager droneMgr = droneManagers.get(connParams);
+                final ReplayClock replayClock = droneMgr == null || droneMgr.getReplayClock() == null
+                        ? new ReplayClock() : droneMgr.getReplayClock();
+                final AndroidTlogReplayConnection replayConn = new AndroidTlogReplayConnection(
+                        getApplicationContext(), tlogPath, replayClock);
+                replayConn.setSpeed(paramsBundle.getDouble(ConnectionType.EXTRA_TLOG_REPLAY_SPEED,
+                        ConnectionType.DEFAULT_TLOG_REPLAY_SPEED));
+                Log.d(TAG, "Replaying " + tlogPath);
+                // Nothing to reopen, nor any clock to synchronize with.
+                return replayConn;
+
+            default:
+                Log.e(TAG, "Unrecognized connection type: " + connectionType);
+                return null;
+        }
+
+        if (connectionType != ConnectionType.TYPE_USB) {
+            conn.setReconnectPolicy(getReconnectPolicy(paramsBundle));
+        }
+        conn.setClockSyncPeriod(paramsBundle.getLong(ConnectionType.EXTRA_CLOCK_SYNC_PERIOD,
+                ConnectionType.DEFAULT_CLOCK_SYNC_PERIOD), TimeUnit.MILLISECONDS);
+        return conn;
+    }
+
+    /**
+     * @return the backoff used to reopen a lost link, or null if it's not reopened.
+     */
+    private static ReconnectPolicy getReconnectPolicy(Bundle paramsBundle) {
+        final long timeout = paramsBundle.getLong(ConnectionType.EXTRA_RECONNECT_TIMEOUT);
+        if (timeout <= 0) {
+            return null;
+        }
+
+        final long initialDelay = paramsBundle.getLong(ConnectionType.EXTRA_RECONNECT_INITIAL_DELAY,
+                ConnectionType.DEFAULT_RECONNECT_INITIAL_DELAY);
+        final long maxDelay = paramsBundle.getLong(ConnectionType.EXTRA_RECONNECT_MAX_DELAY,
+                ConnectionType.DEFAULT_RECONNECT_MAX_DELAY);
+        try {
+            return new ReconnectPolicy(initialDelay, maxDelay, timeout, TimeUnit.MILLISECONDS);
+        } catch (IllegalArgumentException e) {
+            Log.e(TAG, "Invalid reconnect parameters, the link won't be reopened.", e);
+            return null;
+        }
+    }
+
     void addLoggingFile(ConnectionParameter connParams, String tag, String loggingFilePath) {
         AndroidMavLinkConnection conn = mavConnections.get(connParams.getUniqueId());
         if (conn == null)
@@ -242,6 +338,7 @@ public class DroidPlannerService extends Service {
         if (conn.getMavLinkConnectionListenersCount() == 0 && conn.getConnectionStatus() !=
                 MavLinkConnection.MAVLINK_DISCONNECTED) {
             Log.d(TAG, "Disconnecting...");
+            mavLinkRouter.removeLink(conn);
             conn.disconnect();
 
             GAUtils.sendEvent(new HitBuilders.EventBuilder()
@@ -347,6 +444,7 @@ public class DroidPlannerService extends Service {
         droneApiStore.clear();
 
         for (AndroidMavLinkConnection conn : mavConnections.values()) {
+            mavLinkRouter.removeLink(conn);
             conn.disconnect();
             conn.removeAllMavLinkConnectionListeners();
         }
@@ -10,7 +10,9 @@ import android.os.RemoteException;
 import android.text.TextUtils;
 import android.util.Log;
 
+import com.MAVLink.MAVLinkPacket;
 import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.o3dr.services.android.lib.coordinate.LatLong;
 import com.o3dr.services.android.lib.coordinate.LatLongAlt;
 import com.o3dr.services.android.lib.drone.action.ConnectionActions;
@@ -160,6 +162,13 @@ public final class DroneApi extends IDroneApi.Stub implements DroneEventsListene
         return this.droneMgr.getFollowMe();
     }
 
+    private MAVLinkStats.Snapshot getLinkStatistics() {
+        if (this.droneMgr == null)
+            return null;
+
+        return this.droneMgr.getLinkStatistics();
+    }
+
     @Override
     public Bundle getAttribute(String type) throws RemoteException {
         Bundle carrier = new Bundle();
@@ -212,6 +221,10 @@ public final class DroneApi extends IDroneApi.Stub implements DroneEventsListene
             case AttributeType.GOPRO:
                 carrier.putParcelable(type, DroneApiUtils.getGoPro(drone));
                 break;
+
+            case AttributeType.LINK_STATISTICS:
+                carrier.putParcelable(type, DroneApiUtils.getLinkStatistics(getLinkStatistics()));
+                break;
         }
 
         return carrier;
@@ -523,10 +536,11 @@ public final class DroneApi extends IDroneApi.Stub implements DroneEventsListene
     }
 
     @Override
-    public void onReceivedMavLinkMessage(MAVLinkMessage msg) {
+    public void onReceivedMavLinkPacket(MAVLinkPacket packet) {
         if (mavlinkObserversList.isEmpty())
             return;
 
+        final MAVLinkMessage msg = packet.unpack();
         if (msg != null) {
             final MavlinkMessageWrapper msgWrapper = new MavlinkMessageWrapper(msg);
             for (IMavlinkObserver observer : mavlinkObserversList) {
@@ -7,6 +7,7 @@ import android.util.Log;
 
 import com.MAVLink.Messages.ApmModes;
 import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.MAVLink.enums.MAV_TYPE;
 import com.o3dr.services.android.lib.coordinate.LatLong;
 import com.o3dr.services.android.lib.coordinate.LatLongAlt;
@@ -25,9 +26,12 @@ import com.o3dr.services.android.lib.drone.property.FootPrint;
 import com.o3dr.services.android.lib.drone.property.Gps;
 import com.o3dr.services.android.lib.drone.property.GuidedState;
 import com.o3dr.services.android.lib.drone.property.Home;
+import com.o3dr.services.android.lib.drone.property.LinkStatistics;
+import com.o3dr.services.android.lib.drone.property.MessageStatistics;
 import com.o3dr.services.android.lib.drone.property.Parameter;
 import com.o3dr.services.android.lib.drone.property.Parameters;
 import com.o3dr.services.android.lib.drone.property.Signal;
+import com.o3dr.services.android.lib.drone.property.SourceStatistics;
 import com.o3dr.services.android.lib.drone.property.Speed;
 import com.o3dr.services.android.lib.drone.property.State;
 import com.o3dr.services.android.lib.drone.property.Type;
@@ -527,6 +531,26 @@ public class DroneApiUtils {
         drone.getState().changeFlightMode(ApmModes.getMode(newMode.getMode(), mavType));
     }
 
+    static LinkStatistics getLinkStatistics(MAVLinkStats.Snapshot stats) {
+        if (stats == null)
+            return new LinkStatistics();
+
+        final List<SourceStatistics> sources = new ArrayList<>(stats.getSources().size());
+        for (MAVLinkStats.SourceSnapshot source : stats.getSources()) {
+            final List<MessageStatistics> messages = new ArrayList<>(source.getMessages().size());
+            for (MAVLinkStats.MessageSnapshot message : source.getMessages()) {
+                messages.add(new MessageStatistics(message.getMsgid(), message.getCount(), message.getBytes(),
+                        message.getRate(), message.getJitterNanos() / 1e6));
+            }
+
+            sources.add(new SourceStatistics(source.getSysid(), source.getCompid(), source.getReceivedCount(),
+                    source.getLostCount(), source.getCrcErrorCount(), source.getBytes(), messages));
+        }
+
+        return new LinkStatistics(stats.getReceivedCount(), stats.getLostCount(), stats.getCrcErrorCount(),
+                stats.getBytes(), sources);
+    }
+
     static FollowState getFollowState(Follow followMe) {
         if (followMe == null)
             return new FollowState();
@@ -1,14 +1,20 @@
 package org.droidplanner.services.android.api;
 
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.o3dr.services.android.lib.drone.connection.ConnectionParameter;
 
+import org.droidplanner.core.MAVLink.connection.LinkClock;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.services.android.communication.connection.AndroidBondedConnection;
 import org.droidplanner.services.android.communication.connection.AndroidMavLinkConnection;
 
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * MavLinkService app api.
@@ -41,6 +47,18 @@ public class MavLinkServiceApi {
         return false;
     }
 
+    public boolean sendData(ConnectionParameter connParams, MAVLinkMessage message) {
+        final AndroidMavLinkConnection mavConnection = getService().mavConnections.get(connParams.getUniqueId());
+        if (mavConnection == null) return false;
+
+        if (mavConnection.getConnectionStatus() != MavLinkConnection.MAVLINK_DISCONNECTED) {
+            mavConnection.sendMavMessage(message);
+            return true;
+        }
+
+        return false;
+    }
+
     public int getConnectionStatus(ConnectionParameter connParams, String tag) {
         final AndroidMavLinkConnection mavConnection = getService().mavConnections.get(connParams.getUniqueId());
         if (mavConnection == null || !mavConnection.hasMavLinkConnectionListener(tag)) {
@@ -50,6 +68,32 @@ public class MavLinkServiceApi {
         return mavConnection.getConnectionStatus();
     }
 
+    public MAVLinkStats.Snapshot getStatistics(ConnectionParameter connParams) {
+        final AndroidMavLinkConnection mavConnection = getService().mavConnections.get(connParams.getUniqueId());
+        if (mavConnection == null) return null;
+
+        return mavConnection.getStatistics();
+    }
+
+    /**
+     * @return the round trip time and clock estimates of each link of the connection, or null
+     * if it's not open.
+     */
+    public List<LinkClock.Metrics> getLinkClockMetrics(ConnectionParameter connParams) {
+        final AndroidMavLinkConnection mavConnection = getService().mavConnections.get(connParams.getUniqueId());
+        if (mavConnection == null) return null;
+
+        final List<LinkClock.Metrics> metrics = new ArrayList<>();
+        if (mavConnection instanceof AndroidBondedConnection) {
+            for (MavLinkConnection link : ((AndroidBondedConnection) mavConnection).getLinks()) {
+                metrics.add(link.getLinkClock().getMetrics());
+            }
+        } else {
+            metrics.add(mavConnection.getLinkClock().getMetrics());
+        }
+        return metrics;
+    }
+
     public void connectMavLink(ConnectionParameter connParams, String tag, MavLinkConnectionListener listener) {
         getService().connectMAVConnection(connParams, tag, listener);
     }
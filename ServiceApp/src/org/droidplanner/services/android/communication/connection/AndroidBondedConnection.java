@@ -0,0 +1,93 @@
+package org.droidplanner.services.android.communication.connection;
+
+import android.content.Context;
+
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
+import org.droidplanner.core.MAVLink.connection.BondedConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Connection to a vehicle over several links at once.
+ */
+public class AndroidBondedConnection extends AndroidMavLinkConnection {
+
+    private final BondedConnection mConnectionImpl;
+
+    public AndroidBondedConnection(Context context, List<? extends MavLinkConnection> links) {
+        super(context);
+
+        mConnectionImpl = new BondedConnection(links) {
+            @Override
+            protected Logger initLogger() {
+                return AndroidBondedConnection.this.initLogger();
+            }
+
+            @Override
+            protected void onConnectionOpened() {
+                AndroidBondedConnection.this.onConnectionOpened();
+            }
+
+            @Override
+            protected void reportComError(String errMsg) {
+                AndroidBondedConnection.this.reportComError(errMsg);
+            }
+        };
+    }
+
+    public List<MavLinkConnection> getLinks() {
+        return mConnectionImpl.getLinks();
+    }
+
+    public List<BondedConnection.LinkQuality> getLinkQualities() {
+        return mConnectionImpl.getLinkQualities();
+    }
+
+    @Override
+    protected void openConnection() throws IOException {
+        mConnectionImpl.openConnection();
+    }
+
+    @Override
+    protected long getVehicleSendTime(long receivedNanos) {
+        return mConnectionImpl.getVehicleSendTime(receivedNanos);
+    }
+
+    @Override
+    protected AsyncReadSource getAsyncReadSource() {
+        return mConnectionImpl.getAsyncReadSource();
+    }
+
+    @Override
+    protected int readDataBlock(byte[] buffer) throws IOException {
+        return mConnectionImpl.readDataBlock(buffer);
+    }
+
+    @Override
+    protected void sendBuffer(byte[] buffer) throws IOException {
+        mConnectionImpl.sendBuffer(buffer);
+    }
+
+    @Override
+    protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+        mConnectionImpl.sendBuffers(buffers, count);
+    }
+
+    @Override
+    protected void closeConnection() throws IOException {
+        mConnectionImpl.closeConnection();
+    }
+
+    @Override
+    protected void loadPreferences() {
+        mConnectionImpl.loadPreferences();
+    }
+
+    @Override
+    public int getConnectionType() {
+        return mConnectionImpl.getConnectionType();
+    }
+}
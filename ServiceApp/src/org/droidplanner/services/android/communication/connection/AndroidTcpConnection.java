@@ -2,6 +2,7 @@ package org.droidplanner.services.android.communication.connection;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.SelectableChannel;
 
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
 import org.droidplanner.core.MAVLink.connection.TcpConnection;
@@ -73,6 +74,26 @@ public class AndroidTcpConnection extends AndroidMavLinkConnection {
 		mConnectionImpl.sendBuffer(buffer);
 	}
 
+	@Override
+	protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+		mConnectionImpl.sendBuffers(buffers, count);
+	}
+
+	@Override
+	protected SelectableChannel getSelectableChannel() {
+		return mConnectionImpl.getSelectableChannel();
+	}
+
+	@Override
+	protected boolean hasPendingData() {
+		return mConnectionImpl.hasPendingData();
+	}
+
+	@Override
+	protected void flushPendingData() throws IOException {
+		mConnectionImpl.flushPendingData();
+	}
+
 	@Override
 	public int getConnectionType() {
 		return mConnectionImpl.getConnectionType();
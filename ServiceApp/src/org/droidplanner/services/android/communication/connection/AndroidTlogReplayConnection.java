@@ -0,0 +1,104 @@
+package org.droidplanner.services.android.communication.connection;
+
+import android.content.Context;
+
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
+import org.droidplanner.core.MAVLink.connection.ReplayClock;
+import org.droidplanner.core.MAVLink.connection.TlogReplayConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+
+/**
+ * Replays the telemetry of a recorded flight, from a tlog file.
+ */
+public class AndroidTlogReplayConnection extends AndroidMavLinkConnection {
+
+    private final TlogReplayConnection mConnectionImpl;
+
+    public AndroidTlogReplayConnection(Context context, String path, ReplayClock clock) {
+        super(context);
+
+        mConnectionImpl = new TlogReplayConnection(path, clock) {
+            @Override
+            protected Logger initLogger() {
+                return AndroidTlogReplayConnection.this.initLogger();
+            }
+
+            @Override
+            protected void onConnectionOpened() {
+                AndroidTlogReplayConnection.this.onConnectionOpened();
+            }
+
+            @Override
+            protected void reportComError(String errMsg) {
+                AndroidTlogReplayConnection.this.reportComError(errMsg);
+            }
+        };
+    }
+
+    public void setSpeed(double speed) {
+        mConnectionImpl.setSpeed(speed);
+    }
+
+    public void pause() {
+        mConnectionImpl.pause();
+    }
+
+    public void resume() {
+        mConnectionImpl.resume();
+    }
+
+    public void seek(long timeMicros) {
+        mConnectionImpl.seek(timeMicros);
+    }
+
+    public long getReplayTime() {
+        return mConnectionImpl.getReplayTime();
+    }
+
+    @Override
+    protected void openConnection() throws IOException {
+        mConnectionImpl.openConnection();
+    }
+
+    @Override
+    protected long getVehicleSendTime(long receivedNanos) {
+        return mConnectionImpl.getVehicleSendTime(receivedNanos);
+    }
+
+    @Override
+    protected AsyncReadSource getAsyncReadSource() {
+        return mConnectionImpl.getAsyncReadSource();
+    }
+
+    @Override
+    protected int readDataBlock(byte[] buffer) throws IOException {
+        return mConnectionImpl.readDataBlock(buffer);
+    }
+
+    @Override
+    protected void sendBuffer(byte[] buffer) throws IOException {
+        mConnectionImpl.sendBuffer(buffer);
+    }
+
+    @Override
+    protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+        mConnectionImpl.sendBuffers(buffers, count);
+    }
+
+    @Override
+    protected void closeConnection() throws IOException {
+        mConnectionImpl.closeConnection();
+    }
+
+    @Override
+    protected void loadPreferences() {
+        mConnectionImpl.loadPreferences();
+    }
+
+    @Override
+    public int getConnectionType() {
+        return mConnectionImpl.getConnectionType();
+    }
+}
@@ -8,6 +8,7 @@ import org.droidplanner.core.model.Logger;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.channels.SelectableChannel;
 import java.util.HashSet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -103,6 +104,16 @@ public class AndroidUdpConnection extends AndroidMavLinkConnection {
         mConnectionImpl.sendBuffer(buffer);
     }
 
+    @Override
+    protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+        mConnectionImpl.sendBuffers(buffers, count);
+    }
+
+    @Override
+    protected SelectableChannel getSelectableChannel() {
+        return mConnectionImpl.getSelectableChannel();
+    }
+
     @Override
     public int getConnectionType() {
         return mConnectionImpl.getConnectionType();
@@ -7,11 +7,15 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.hardware.usb.UsbDevice;
 import android.hardware.usb.UsbManager;
+import android.os.Build;
 import android.util.Log;
 
+import com.hoho.android.usbserial.driver.FtdiSerialDriver;
 import com.hoho.android.usbserial.driver.UsbSerialDriver;
 import com.hoho.android.usbserial.driver.UsbSerialProber;
 
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
+
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.Executors;
@@ -26,6 +30,7 @@ class UsbCDCConnection extends UsbConnection.UsbConnectionImpl {
     private static final IntentFilter intentFilter = new IntentFilter(ACTION_USB_PERMISSION);
 
     private final AtomicReference<UsbSerialDriver> serialDriverRef = new AtomicReference<>();
+    private final AtomicReference<UsbRequestReadSource> readSourceRef = new AtomicReference<>();
 
     private final PendingIntent usbPermissionIntent;
 
@@ -131,8 +136,12 @@ class UsbCDCConnection extends UsbConnection.UsbConnectionImpl {
             try {
                 serialDriver.open();
                 serialDriver.setParameters(mBaudRate, 8, UsbSerialDriver.STOPBITS_1, UsbSerialDriver.PARITY_NONE);
+                configureTransfers(serialDriver);
 
                 serialDriverRef.set(serialDriver);
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                    readSourceRef.set(new UsbRequestReadSource(serialDriver));
+                }
 
                 onUsbConnectionOpened();
             } catch (IOException e) {
@@ -146,6 +155,35 @@ class UsbCDCConnection extends UsbConnection.UsbConnectionImpl {
         }
     }
 
+    private void configureTransfers(UsbSerialDriver serialDriver) {
+        final int readTransferSize = getReadTransferSize();
+        if (readTransferSize > 0) {
+            serialDriver.setReadBufferSize(readTransferSize);
+        }
+
+        final int writeTransferSize = getWriteTransferSize();
+        if (writeTransferSize > 0) {
+            serialDriver.setWriteBufferSize(writeTransferSize);
+        }
+
+        if (serialDriver instanceof FtdiSerialDriver) {
+            try {
+                ((FtdiSerialDriver) serialDriver).setLatencyTimer(getLatencyTimer());
+            } catch (IOException e) {
+                Log.w(TAG, "Unable to set the latency timer.", e);
+            }
+        }
+    }
+
+    @Override
+    protected AsyncReadSource getAsyncReadSource() {
+        return readSourceRef.get();
+    }
+
+    /**
+     * Only used before Android 4.1, where the device isn't read through an
+     * {@link UsbRequestReadSource}.
+     */
     @Override
     protected int readDataBlock(byte[] readData) throws IOException {
         // Read data from driver. This call will return up to readData.length bytes.
@@ -188,6 +226,7 @@ class UsbCDCConnection extends UsbConnection.UsbConnectionImpl {
     protected void closeUsbConnection() throws IOException {
         unregisterUsbPermissionBroadcastReceiver();
 
+        readSourceRef.set(null);
         final UsbSerialDriver serialDriver = serialDriverRef.getAndSet(null);
         if (serialDriver != null) {
             try {
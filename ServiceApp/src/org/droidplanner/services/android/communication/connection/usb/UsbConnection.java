@@ -6,9 +6,12 @@ import java.util.Map.Entry;
 
 import org.droidplanner.services.android.communication.connection.AndroidMavLinkConnection;
 import org.droidplanner.services.android.utils.AndroidLogger;
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
 import org.droidplanner.core.model.Logger;
 
+import com.o3dr.services.android.lib.drone.connection.ConnectionType;
+
 import android.content.Context;
 import android.hardware.usb.UsbDevice;
 import android.hardware.usb.UsbManager;
@@ -22,11 +25,51 @@ public class UsbConnection extends AndroidMavLinkConnection {
 
 	protected final int mBaudRate;
 
-	private UsbConnectionImpl mUsbConnection;
+	private volatile int mLatencyTimer = ConnectionType.DEFAULT_USB_LATENCY_TIMER;
+	private volatile int mReadTransferSize;
+	private volatile int mWriteTransferSize;
+
+	/**
+	 * Set by the implementation once opened, before the connection starts
+	 * reading it.
+	 */
+	private volatile UsbConnectionImpl mUsbConnection;
 
 	public UsbConnection(Context parentContext, int baudRate) {
 		super(parentContext);
         mBaudRate = baudRate;
+
+		// 10 bits per byte on the serial line, so the packets wait in the
+		// send queues, by priority, rather than in the device buffers.
+		setLinkCapacity(baudRate / 10);
+	}
+
+	/**
+	 * Sets the latency timer of ftdi devices, applied when the connection is
+	 * opened.
+	 *
+	 * @param latencyMillis from 1 to 255 ms
+	 */
+	public void setLatencyTimer(int latencyMillis) {
+		if (latencyMillis < 1 || latencyMillis > 255) {
+			throw new IllegalArgumentException("Invalid latency timer: " + latencyMillis);
+		}
+		mLatencyTimer = latencyMillis;
+	}
+
+	/**
+	 * Sets the size of the usb transfers, applied when the connection is
+	 * opened.
+	 *
+	 * @param readSize size of the read transfers in bytes, or 0 for the driver default
+	 * @param writeSize size of the write transfers in bytes, or 0 for the driver default
+	 */
+	public void setTransferSizes(int readSize, int writeSize) {
+		if (readSize < 0 || writeSize < 0) {
+			throw new IllegalArgumentException("Invalid transfer sizes: " + readSize + ", " + writeSize);
+		}
+		mReadTransferSize = readSize;
+		mWriteTransferSize = writeSize;
 	}
 
 	@Override
@@ -101,6 +144,12 @@ public class UsbConnection extends AndroidMavLinkConnection {
 		return mUsbConnection.readDataBlock(buffer);
 	}
 
+	@Override
+	protected AsyncReadSource getAsyncReadSource() {
+		final UsbConnectionImpl usbConnection = mUsbConnection;
+		return usbConnection == null ? null : usbConnection.getAsyncReadSource();
+	}
+
 	@Override
 	protected void sendBuffer(byte[] buffer) throws IOException {
 		if (mUsbConnection == null) {
@@ -136,7 +185,20 @@ public class UsbConnection extends AndroidMavLinkConnection {
 			mBaudRate = baudRate;
 		}
 
+        protected int getLatencyTimer() {
+            return parentConnection.mLatencyTimer;
+        }
+
+        protected int getReadTransferSize() {
+            return parentConnection.mReadTransferSize;
+        }
+
+        protected int getWriteTransferSize() {
+            return parentConnection.mWriteTransferSize;
+        }
+
         protected void onUsbConnectionOpened(){
+            parentConnection.mUsbConnection = this;
             parentConnection.onConnectionOpened();
         }
 
@@ -150,6 +212,14 @@ public class UsbConnection extends AndroidMavLinkConnection {
 
 		protected abstract int readDataBlock(byte[] readData) throws IOException;
 
+		/**
+		 * @return the source reading the device through asynchronous
+		 * requests, or null if it's read through {@link #readDataBlock(byte[])}.
+		 */
+		protected AsyncReadSource getAsyncReadSource() {
+			return null;
+		}
+
 		protected abstract void sendBuffer(byte[] buffer);
 	}
 }
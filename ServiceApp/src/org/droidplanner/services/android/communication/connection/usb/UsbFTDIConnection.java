@@ -13,8 +13,6 @@ class UsbFTDIConnection extends UsbConnection.UsbConnectionImpl {
 
 	private static final String TAG = UsbFTDIConnection.class.getSimpleName();
 
-	private static final byte LATENCY_TIMER = 32;
-
 	private final AtomicReference<FT_Device> ftDevRef = new AtomicReference<>();
 
 	protected UsbFTDIConnection(Context context, UsbConnection parentConn, int baudRate) {
@@ -44,7 +42,7 @@ class UsbFTDIConnection extends UsbConnection.UsbConnectionImpl {
 		try {
 			// FIXME: The NPE is coming from the library. Investigate if it's
 			// possible to fix there.
-			ftDev = ftD2xx.openByIndex(mContext, 0);
+			ftDev = ftD2xx.openByIndex(mContext, 0, getDriverParameters());
 		} catch (NullPointerException e) {
 			Log.e(TAG, e.getMessage(), e);
 		} finally {
@@ -59,7 +57,7 @@ class UsbFTDIConnection extends UsbConnection.UsbConnectionImpl {
 		ftDev.setDataCharacteristics(D2xxManager.FT_DATA_BITS_8, D2xxManager.FT_STOP_BITS_1,
 				D2xxManager.FT_PARITY_NONE);
 		ftDev.setFlowControl(D2xxManager.FT_FLOW_NONE, (byte) 0x00, (byte) 0x00);
-		ftDev.setLatencyTimer(LATENCY_TIMER);
+		ftDev.setLatencyTimer((byte) getLatencyTimer());
 		ftDev.purge((byte) (D2xxManager.FT_PURGE_TX | D2xxManager.FT_PURGE_RX));
 
 		if (!ftDev.isOpen()) {
@@ -73,6 +71,15 @@ class UsbFTDIConnection extends UsbConnection.UsbConnectionImpl {
         onUsbConnectionOpened();
 	}
 
+	private D2xxManager.DriverParameters getDriverParameters() {
+		final D2xxManager.DriverParameters params = new D2xxManager.DriverParameters();
+		final int readTransferSize = getReadTransferSize();
+		if (readTransferSize > 0 && !params.setMaxTransferSize(readTransferSize)) {
+			Log.w(TAG, "Unsupported read transfer size: " + readTransferSize);
+		}
+		return params;
+	}
+
 	@Override
 	protected int readDataBlock(byte[] readData) throws IOException {
         final FT_Device ftDev = ftDevRef.get();
@@ -96,6 +103,13 @@ class UsbFTDIConnection extends UsbConnection.UsbConnectionImpl {
 		}
 
 		if (iavailable == 0) {
+			// The device only sends short packets once its latency timer
+			// expires, so there's nothing to read before.
+			try {
+				Thread.sleep(getLatencyTimer());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
 			iavailable = -1;
 		}
 		return iavailable;
@@ -0,0 +1,125 @@
+package org.droidplanner.services.android.communication.connection.usb;
+
+import android.hardware.usb.UsbDeviceConnection;
+import android.hardware.usb.UsbRequest;
+
+import com.hoho.android.usbserial.driver.UsbSerialDriver;
+
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the bulk endpoint of a usb serial device through {@link UsbRequest}s,
+ * so several reads are pending at once.
+ *
+ * The framework sets the position of the buffer past the data read since
+ * Android 4.1, so this is only used from there.
+ */
+class UsbRequestReadSource implements AsyncReadSource {
+
+    private final UsbSerialDriver serialDriver;
+    private final UsbDeviceConnection connection;
+
+    /**
+     * Requests by id, created as they're first queued, and the buffers they
+     * read into.
+     */
+    private final List<UsbRequest> requests = new ArrayList<>();
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+
+    private volatile boolean isClosed;
+
+    UsbRequestReadSource(UsbSerialDriver serialDriver) {
+        this.serialDriver = serialDriver;
+        this.connection = serialDriver.getConnection();
+    }
+
+    /**
+     * The buffer must be a heap buffer, queued from its start.
+     */
+    @Override
+    public void queue(int requestId, ByteBuffer buffer) throws IOException {
+        if (isClosed) {
+            throw new IOException("Usb device closed.");
+        }
+
+        final UsbRequest request;
+        synchronized (requests) {
+            while (requests.size() <= requestId) {
+                final UsbRequest newRequest = new UsbRequest();
+                if (!newRequest.initialize(connection, serialDriver.getReadEndpoint())) {
+                    throw new IOException("Unable to initialize the usb request.");
+                }
+
+                newRequest.setClientData(requests.size());
+                requests.add(newRequest);
+                buffers.add(null);
+            }
+
+            request = requests.get(requestId);
+            buffers.set(requestId, buffer);
+        }
+
+        if (!request.queue(buffer, getTransferSize(buffer.remaining()))) {
+            throw new IOException("Unable to queue the usb request.");
+        }
+    }
+
+    /**
+     * @return the read transfer size of the driver, in whole packets, so
+     * the device doesn't send more than the request takes.
+     */
+    private int getTransferSize(int bufferSize) {
+        final int maxPacketSize = serialDriver.getReadEndpoint().getMaxPacketSize();
+        final int transferSize = Math.min(bufferSize, serialDriver.getReadBufferSize());
+        return Math.min(bufferSize, Math.max(maxPacketSize, transferSize - transferSize % maxPacketSize));
+    }
+
+    @Override
+    public int awaitCompletion() throws IOException {
+        final UsbRequest request = connection.requestWait();
+        if (isClosed) {
+            releaseRequests();
+            throw new IOException("Usb device closed.");
+        }
+
+        if (request == null) {
+            throw new IOException("Error reading the usb device.");
+        }
+
+        final int requestId = (Integer) request.getClientData();
+        final ByteBuffer buffer;
+        synchronized (requests) {
+            buffer = buffers.get(requestId);
+        }
+
+        buffer.position(serialDriver.filterReadData(buffer.array(), buffer.position()));
+        return requestId;
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+
+        // Completes the pending requests, so the reading thread wakes up.
+        synchronized (requests) {
+            for (UsbRequest request : requests) {
+                request.cancel();
+            }
+        }
+    }
+
+    private void releaseRequests() {
+        synchronized (requests) {
+            for (UsbRequest request : requests) {
+                request.close();
+            }
+            requests.clear();
+            buffers.clear();
+        }
+    }
+}
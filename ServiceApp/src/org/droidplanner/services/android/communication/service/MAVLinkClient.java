@@ -3,9 +3,12 @@ package org.droidplanner.services.android.communication.service;
 import android.content.Context;
 
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.o3dr.services.android.lib.drone.connection.ConnectionParameter;
 
 import org.droidplanner.core.MAVLink.MAVLinkStreams;
+import org.droidplanner.core.MAVLink.connection.LinkClock;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
 import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
@@ -16,6 +19,7 @@ import org.droidplanner.services.android.utils.file.FileUtils;
 
 import java.io.File;
 import java.util.Date;
+import java.util.List;
 
 /**
  * Provide a common class for some ease of use functionality
@@ -26,11 +30,6 @@ public class MAVLinkClient implements MAVLinkStreams.MAVLinkOutputStream {
 
     private static final String TLOG_PREFIX = "log";
 
-    /**
-     * Maximum possible sequence number for a packet.
-     */
-    private static final int MAX_PACKET_SEQUENCE = 255;
-
     private final MavLinkConnectionListener mConnectionListener = new MavLinkConnectionListener() {
 
         @Override
@@ -44,6 +43,11 @@ public class MAVLinkClient implements MAVLinkStreams.MAVLinkOutputStream {
             listener.notifyConnected();
         }
 
+        @Override
+        public void onLinkRestored(long restoredTime) {
+            // Still the same session, so the apps aren't told again.
+        }
+
         @Override
         public void onReceivePacket(final MAVLinkPacket packet) {
             listener.notifyReceivedData(packet);
@@ -68,7 +72,6 @@ public class MAVLinkClient implements MAVLinkStreams.MAVLinkOutputStream {
     private final SessionDB sessionDB;
     private final Context context;
 
-    private int packetSeqNumber = 0;
     private final ConnectionParameter connParams;
 
     public MAVLinkClient(Context context, MAVLinkStreams.MavlinkInputStream listener,
@@ -112,11 +115,17 @@ public class MAVLinkClient implements MAVLinkStreams.MAVLinkOutputStream {
             return;
         }
 
-        pack.seq = packetSeqNumber;
+        // Numbered by the connection, along with its own packets.
+        mavLinkApi.sendData(this.connParams, pack);
+    }
 
-        if(mavLinkApi.sendData(this.connParams, pack)) {
-            packetSeqNumber = (packetSeqNumber + 1) % (MAX_PACKET_SEQUENCE + 1);
+    @Override
+    public void sendMavMessage(MAVLinkMessage message) {
+        if (this.connParams == null) {
+            return;
         }
+
+        mavLinkApi.sendData(this.connParams, message);
     }
 
     @Override
@@ -130,6 +139,27 @@ public class MAVLinkClient implements MAVLinkStreams.MAVLinkOutputStream {
                 toString()) == MavLinkConnection.MAVLINK_CONNECTING;
     }
 
+    /**
+     * @return statistics of the packets received on this connection, or null if it's not open.
+     */
+    public MAVLinkStats.Snapshot getStatistics() {
+        if (this.connParams == null)
+            return null;
+
+        return mavLinkApi.getStatistics(this.connParams);
+    }
+
+    /**
+     * @return the round trip time and clock estimates of each link of this connection, or null
+     * if it's not open.
+     */
+    public List<LinkClock.Metrics> getLinkClockMetrics() {
+        if (this.connParams == null)
+            return null;
+
+        return mavLinkApi.getLinkClockMetrics(this.connParams);
+    }
+
     @Override
     public void toggleConnectionState() {
         if (isConnected()) {
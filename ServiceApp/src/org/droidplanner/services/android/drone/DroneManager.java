@@ -6,14 +6,19 @@ import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 
+import com.MAVLink.MAVLinkMessageCache;
 import com.MAVLink.MAVLinkPacket;
 import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.MAVLink.enums.MAV_SEVERITY;
 import com.o3dr.services.android.lib.drone.connection.ConnectionParameter;
+import com.o3dr.services.android.lib.drone.connection.ConnectionType;
 import com.o3dr.services.android.lib.drone.connection.DroneSharePrefs;
 
 import org.droidplanner.core.MAVLink.MAVLinkStreams;
 import org.droidplanner.core.MAVLink.MavLinkMsgHandler;
+import org.droidplanner.core.MAVLink.connection.LinkClock;
+import org.droidplanner.core.MAVLink.connection.ReplayClock;
 import org.droidplanner.core.drone.DroneImpl;
 import org.droidplanner.core.drone.DroneInterfaces;
 import org.droidplanner.core.drone.LogMessageListener;
@@ -55,38 +60,54 @@ public class DroneManager implements MAVLinkStreams.MavlinkInputStream,
     private final Drone drone;
     private final Follow followMe;
     private final MavLinkMsgHandler mavLinkMsgHandler;
+    private final MAVLinkMessageCache messageCache = new MAVLinkMessageCache();
     private MagnetometerCalibration magCalibration;
     private final ConnectionParameter connectionParameter;
 
+    /**
+     * Clock of the replayed vehicle, if the connection is a tlog replay.
+     */
+    private final ReplayClock replayClock;
+
     public DroneManager(Context context, ConnectionParameter connParams, final Handler handler, MavLinkServiceApi mavlinkApi) {
         this.context = context;
         this.connectionParameter = connParams;
 
         MAVLinkClient mavClient = new MAVLinkClient(context, this, connParams, mavlinkApi);
 
-        DroneInterfaces.Clock clock = new DroneInterfaces.Clock() {
-            @Override
-            public long elapsedRealtime() {
-                return SystemClock.elapsedRealtime();
-            }
-        };
+        final DroneInterfaces.Clock clock;
+        final DroneInterfaces.Handler dpHandler;
+        if (connParams.getConnectionType() == ConnectionType.TYPE_TLOG_REPLAY) {
+            // The replayed vehicle runs on the time of the tlog, its timers on the replay thread.
+            this.replayClock = new ReplayClock();
+            clock = replayClock;
+            dpHandler = replayClock;
+        } else {
+            this.replayClock = null;
+            clock = new DroneInterfaces.Clock() {
+                @Override
+                public long elapsedRealtime() {
+                    return SystemClock.elapsedRealtime();
+                }
+            };
 
-        final DroneInterfaces.Handler dpHandler = new DroneInterfaces.Handler() {
-            @Override
-            public void removeCallbacks(Runnable thread) {
-                handler.removeCallbacks(thread);
-            }
+            dpHandler = new DroneInterfaces.Handler() {
+                @Override
+                public void removeCallbacks(Runnable thread) {
+                    handler.removeCallbacks(thread);
+                }
 
-            @Override
-            public void post(Runnable thread) {
-                handler.post(thread);
-            }
+                @Override
+                public void post(Runnable thread) {
+                    handler.post(thread);
+                }
 
-            @Override
-            public void postDelayed(Runnable thread, long timeout) {
-                handler.postDelayed(thread, timeout);
-            }
-        };
+                @Override
+                public void postDelayed(Runnable thread, long timeout) {
+                    handler.postDelayed(thread, timeout);
+                }
+            };
+        }
 
         DroidPlannerPrefs dpPrefs = new DroidPlannerPrefs(context);
 
@@ -290,12 +311,16 @@ public class DroneManager implements MAVLinkStreams.MavlinkInputStream,
 
     @Override
     public void notifyReceivedData(MAVLinkPacket packet) {
-        MAVLinkMessage receivedMsg = packet.unpack();
-        this.mavLinkMsgHandler.receiveData(receivedMsg);
+        if (!this.mavLinkMsgHandler.receivePacket(packet)) {
+            final MAVLinkMessage receivedMsg = messageCache.unpack(packet);
+            if (receivedMsg != null) {
+                this.mavLinkMsgHandler.receiveData(receivedMsg);
+            }
+        }
 
         if (!connectedApps.isEmpty()) {
             for (DroneEventsListener droneEventsListener : connectedApps.values()) {
-                droneEventsListener.onReceivedMavLinkMessage(receivedMsg);
+                droneEventsListener.onReceivedMavLinkPacket(packet);
             }
         }
 
@@ -329,6 +354,14 @@ public class DroneManager implements MAVLinkStreams.MavlinkInputStream,
         return followMe;
     }
 
+    public MAVLinkStats.Snapshot getLinkStatistics() {
+        return ((MAVLinkClient) drone.getMavClient()).getStatistics();
+    }
+
+    public List<LinkClock.Metrics> getLinkClockMetrics() {
+        return ((MAVLinkClient) drone.getMavClient()).getLinkClockMetrics();
+    }
+
     public boolean isConnected() {
         return drone.isConnected();
     }
@@ -413,6 +446,13 @@ public class DroneManager implements MAVLinkStreams.MavlinkInputStream,
         return connectionParameter;
     }
 
+    /**
+     * @return the clock the vehicle runs on, if the connection is a tlog replay, or null.
+     */
+    public ReplayClock getReplayClock() {
+        return replayClock;
+    }
+
     @Override
     public void onMessageLogged(int mavSeverity, String message) {
         if (connectedApps.isEmpty())
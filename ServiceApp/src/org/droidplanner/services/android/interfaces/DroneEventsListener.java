@@ -1,6 +1,6 @@
 package org.droidplanner.services.android.interfaces;
 
-import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.MAVLinkPacket;
 import com.o3dr.services.android.lib.drone.connection.DroneSharePrefs;
 
 import org.droidplanner.core.drone.DroneInterfaces;
@@ -16,7 +16,10 @@ public interface DroneEventsListener extends DroneInterfaces.OnDroneListener,
 
     void onConnectionFailed(String error);
 
-    void onReceivedMavLinkMessage(MAVLinkMessage msg);
+    /**
+     * @param packet received packet, only valid until this method returns.
+     */
+    void onReceivedMavLinkPacket(MAVLinkPacket packet);
 
     void onMessageLogged(int logLevel, String message);
 }
@@ -0,0 +1,442 @@
+package com.hoho.android.usbserial.driver;
+
+import android.hardware.usb.UsbDevice;
+import android.hardware.usb.UsbDeviceConnection;
+import android.hardware.usb.UsbEndpoint;
+import android.hardware.usb.UsbInterface;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks the filtering of the FTDI status bytes against a simulated device,
+ * which starts each packet with its modem status, then the reads and the
+ * control transfers of the driver through a fake connection.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(emulateSdk = 18, shadows = {
+        FtdiSerialDriverTest.ShadowUsbDeviceConnection.class,
+        FtdiSerialDriverTest.ShadowUsbDevice.class,
+        FtdiSerialDriverTest.ShadowUsbInterface.class,
+        FtdiSerialDriverTest.ShadowUsbEndpoint.class})
+public class FtdiSerialDriverTest {
+
+    private static final byte[] MODEM_STATUS = {0x01, 0x60};
+
+    // From ftdi.h
+    private static final int SIO_SET_LATENCY_TIMER_REQUEST = 9;
+    private static final int SIO_GET_LATENCY_TIMER_REQUEST = 10;
+
+    /**
+     * Connection to an FTDI device sending the queued packets. A bulk
+     * transfer takes whole packets until a short one, or until the next one
+     * doesn't fit, as the USB stack does. Also serves the latency timer
+     * requests.
+     */
+    @Implements(UsbDeviceConnection.class)
+    public static class ShadowUsbDeviceConnection {
+
+        final ArrayDeque<byte[]> packets = new ArrayDeque<>();
+        final List<byte[]> transferBuffers = new ArrayList<>();
+        final List<Integer> transferLengths = new ArrayList<>();
+        int maxPacketSize;
+        int latencyMillis = 16;
+        int controlTransfersCount;
+        int controlTransferResult = 0;
+
+        @Implementation
+        public int bulkTransfer(UsbEndpoint endpoint, byte[] buffer, int length, int timeout) {
+            transferBuffers.add(buffer);
+            transferLengths.add(length);
+
+            int offset = 0;
+            while (!packets.isEmpty() && offset + packets.peek().length <= length) {
+                final byte[] packet = packets.poll();
+                System.arraycopy(packet, 0, buffer, offset, packet.length);
+                offset += packet.length;
+                if (packet.length < maxPacketSize) {
+                    break;
+                }
+            }
+            return offset;
+        }
+
+        @Implementation
+        public int controlTransfer(int requestType, int request, int value, int index, byte[] buffer,
+                                   int length, int timeout) {
+            controlTransfersCount++;
+            if (controlTransferResult != 0) {
+                return controlTransferResult;
+            }
+
+            if (requestType == FtdiSerialDriver.FTDI_DEVICE_OUT_REQTYPE
+                    && request == SIO_SET_LATENCY_TIMER_REQUEST && buffer == null) {
+                latencyMillis = value;
+                return 0;
+            }
+            if (requestType == FtdiSerialDriver.FTDI_DEVICE_IN_REQTYPE
+                    && request == SIO_GET_LATENCY_TIMER_REQUEST && length >= 1) {
+                buffer[0] = (byte) latencyMillis;
+                return 1;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Device with a single interface.
+     */
+    @Implements(UsbDevice.class)
+    public static class ShadowUsbDevice {
+
+        UsbInterface usbInterface;
+
+        @Implementation
+        public int getInterfaceCount() {
+            return 1;
+        }
+
+        @Implementation
+        public UsbInterface getInterface(int index) {
+            return usbInterface;
+        }
+    }
+
+    @Implements(UsbInterface.class)
+    public static class ShadowUsbInterface {
+
+        UsbEndpoint[] endpoints;
+
+        @Implementation
+        public int getEndpointCount() {
+            return endpoints.length;
+        }
+
+        @Implementation
+        public UsbEndpoint getEndpoint(int index) {
+            return endpoints[index];
+        }
+    }
+
+    @Implements(UsbEndpoint.class)
+    public static class ShadowUsbEndpoint {
+
+        int maxPacketSize;
+
+        @Implementation
+        public int getMaxPacketSize() {
+            return maxPacketSize;
+        }
+    }
+
+    /**
+     * FTDI device receiving a serial stream. Sends a packet once its payload
+     * is full, or short once the latency timer expired since the last one,
+     * even without data. The host keeps a read transfer pending, which
+     * completes on a short packet, or once the transfer size is reached.
+     */
+    private static class SimulatedFtdiDevice {
+
+        private static final long STEP_MICROS = 100;
+
+        private final int maxPacketSize;
+        private final int latencyMillis;
+
+        SimulatedFtdiDevice(int maxPacketSize, int latencyMillis) {
+            this.maxPacketSize = maxPacketSize;
+            this.latencyMillis = latencyMillis;
+        }
+
+        /**
+         * @param arrivalMicros time each byte of the stream is received
+         * @param transferSize  size of the read transfers, in whole packets
+         * @param latencies     filled with the delay from the arrival of each
+         *                      byte to the completion of its transfer
+         */
+        List<byte[]> read(byte[] stream, long[] arrivalMicros, int transferSize, long[] latencies) {
+            final int payloadSize = maxPacketSize - MODEM_STATUS.length;
+            final List<byte[]> transfers = new ArrayList<>();
+            final ByteArrayOutputStream transfer = new ByteArrayOutputStream();
+            final List<Integer> transferBytes = new ArrayList<>();
+
+            int received = 0;
+            int sent = 0;
+            long lastPacketMicros = 0;
+            final long end = arrivalMicros[arrivalMicros.length - 1] + latencyMillis * 2000L;
+            for (long now = 0; now <= end; now += STEP_MICROS) {
+                while (received < stream.length && arrivalMicros[received] <= now) {
+                    received++;
+                }
+
+                boolean isTimerExpired = now - lastPacketMicros >= latencyMillis * 1000L;
+                while (received - sent >= payloadSize || isTimerExpired) {
+                    final int count = Math.min(payloadSize, received - sent);
+                    transfer.write(MODEM_STATUS, 0, MODEM_STATUS.length);
+                    transfer.write(stream, sent, count);
+                    for (int i = sent; i < sent + count; i++) {
+                        transferBytes.add(i);
+                    }
+                    sent += count;
+                    lastPacketMicros = now;
+                    isTimerExpired = false;
+
+                    if (count < payloadSize || transfer.size() + maxPacketSize > transferSize) {
+                        transfers.add(transfer.toByteArray());
+                        for (int index : transferBytes) {
+                            latencies[index] = now - arrivalMicros[index];
+                        }
+                        transfer.reset();
+                        transferBytes.clear();
+                    }
+                }
+            }
+            return transfers;
+        }
+    }
+
+    /**
+     * Telemetry at 57600 bauds: a burst of 60 bytes every 10 ms.
+     */
+    private static long[] burstArrivals(int length) {
+        final long[] arrivalMicros = new long[length];
+        for (int i = 0; i < length; i++) {
+            arrivalMicros[i] = (i / 60) * 10000L + (i % 60) * 10000000L / 57600;
+        }
+        return arrivalMicros;
+    }
+
+    private static byte[] filter(List<byte[]> transfers, int maxPacketSize) {
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        for (byte[] transfer : transfers) {
+            final int length = FtdiSerialDriver.filterStatusBytes(transfer, transfer.length, maxPacketSize);
+            payload.write(transfer, 0, length);
+        }
+        return payload.toByteArray();
+    }
+
+    @Test
+    public void testFilterStatusBytes() {
+        // Two full packets, then a short one.
+        final byte[] data = new byte[64 * 2 + 12];
+        int value = 0;
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i % 64 < 2 ? MODEM_STATUS[i % 64] : (byte) value++;
+        }
+
+        Assert.assertEquals(value, FtdiSerialDriver.filterStatusBytes(data, data.length, 64));
+        for (int i = 0; i < value; i++) {
+            Assert.assertEquals((byte) i, data[i]);
+        }
+
+        // A transfer ending on a full packet, and a status only packet.
+        Assert.assertEquals(124, FtdiSerialDriver.filterStatusBytes(new byte[128], 128, 64));
+        Assert.assertEquals(0, FtdiSerialDriver.filterStatusBytes(MODEM_STATUS.clone(), 2, 64));
+    }
+
+    @Test
+    public void testSimulatedDeviceStream() {
+        final byte[] stream = new byte[20000];
+        new Random(7).nextBytes(stream);
+        final long[] arrivalMicros = burstArrivals(stream.length);
+        final long[] latencies = new long[stream.length];
+
+        for (int maxPacketSize : new int[]{64, 512}) {
+            for (int latencyMillis : new int[]{1, 2, 16}) {
+                for (int transferSize : new int[]{maxPacketSize, 4 * maxPacketSize, 4096}) {
+                    final SimulatedFtdiDevice device = new SimulatedFtdiDevice(maxPacketSize, latencyMillis);
+                    final byte[] payload = filter(device.read(stream, arrivalMicros, transferSize, latencies),
+                            maxPacketSize);
+                    Assert.assertTrue("Packets of " + maxPacketSize + ", latency timer " + latencyMillis
+                            + ", transfers of " + transferSize, Arrays.equals(stream, payload));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the fake connection of the given driver.
+     */
+    private static ShadowUsbDeviceConnection shadowOf(FtdiSerialDriver driver) {
+        return (ShadowUsbDeviceConnection) Robolectric.shadowOf_(driver.getConnection());
+    }
+
+    private static FtdiSerialDriver newDriver(int maxPacketSize) {
+        final UsbEndpoint readEndpoint = Robolectric.newInstanceOf(UsbEndpoint.class);
+        ((ShadowUsbEndpoint) Robolectric.shadowOf_(readEndpoint)).maxPacketSize = maxPacketSize;
+        final UsbEndpoint writeEndpoint = Robolectric.newInstanceOf(UsbEndpoint.class);
+        ((ShadowUsbEndpoint) Robolectric.shadowOf_(writeEndpoint)).maxPacketSize = maxPacketSize;
+        final UsbInterface usbInterface = Robolectric.newInstanceOf(UsbInterface.class);
+        ((ShadowUsbInterface) Robolectric.shadowOf_(usbInterface)).endpoints =
+                new UsbEndpoint[]{readEndpoint, writeEndpoint};
+        final UsbDevice device = Robolectric.newInstanceOf(UsbDevice.class);
+        ((ShadowUsbDevice) Robolectric.shadowOf_(device)).usbInterface = usbInterface;
+
+        final UsbDeviceConnection connection = Robolectric.newInstanceOf(UsbDeviceConnection.class);
+        ((ShadowUsbDeviceConnection) Robolectric.shadowOf_(connection)).maxPacketSize = maxPacketSize;
+        return new FtdiSerialDriver(device, connection);
+    }
+
+    /**
+     * @return a packet starting with the modem status, followed by the given
+     * count of payload bytes, numbered from the given value.
+     */
+    private static byte[] newPacket(int payloadLength, int firstValue) {
+        final byte[] packet = new byte[MODEM_STATUS.length + payloadLength];
+        System.arraycopy(MODEM_STATUS, 0, packet, 0, MODEM_STATUS.length);
+        for (int i = 0; i < payloadLength; i++) {
+            packet[MODEM_STATUS.length + i] = (byte) (firstValue + i);
+        }
+        return packet;
+    }
+
+    private static void assertPayload(byte[] dest, int length) {
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals((byte) i, dest[i]);
+        }
+    }
+
+    @Test
+    public void testReadsWholePacketsIntoDest() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        final ShadowUsbDeviceConnection connection = shadowOf(driver);
+        // Two full packets, then a short one.
+        connection.packets.add(newPacket(62, 0));
+        connection.packets.add(newPacket(62, 62));
+        connection.packets.add(newPacket(10, 124));
+
+        final byte[] dest = new byte[200];
+        Assert.assertEquals(134, driver.read(dest, 100));
+        assertPayload(dest, 134);
+
+        // Read straight into dest, as long as it holds whole packets.
+        Assert.assertSame(dest, connection.transferBuffers.get(0));
+        Assert.assertEquals(Integer.valueOf(192), connection.transferLengths.get(0));
+    }
+
+    @Test
+    public void testReadsAreLimitedByTheReadBuffer() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        driver.setReadBufferSize(128);
+        final ShadowUsbDeviceConnection connection = shadowOf(driver);
+        for (int i = 0; i < 3; i++) {
+            connection.packets.add(newPacket(62, 62 * i));
+        }
+
+        final byte[] dest = new byte[1024];
+        Assert.assertEquals(124, driver.read(dest, 100));
+        assertPayload(dest, 124);
+        Assert.assertSame(dest, connection.transferBuffers.get(0));
+        Assert.assertEquals(Integer.valueOf(128), connection.transferLengths.get(0));
+
+        // The remaining packet is left for the next read.
+        Assert.assertEquals(1, connection.packets.size());
+    }
+
+    @Test
+    public void testReadsIntoTheReadBufferWhenDestIsSmallerThanAPacket() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        final ShadowUsbDeviceConnection connection = shadowOf(driver);
+        connection.packets.add(newPacket(10, 0));
+
+        final byte[] dest = new byte[16];
+        Assert.assertEquals(10, driver.read(dest, 100));
+        assertPayload(dest, 10);
+
+        // A whole packet is read, into the read buffer, then copied.
+        Assert.assertNotSame(dest, connection.transferBuffers.get(0));
+        Assert.assertEquals(Integer.valueOf(64), connection.transferLengths.get(0));
+    }
+
+    @Test
+    public void testPayloadLargerThanDestIsReturnedByTheNextReads() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        final ShadowUsbDeviceConnection connection = shadowOf(driver);
+        connection.packets.add(newPacket(62, 0));
+        connection.packets.add(newPacket(10, 62));
+
+        // The rest of the first packet is returned before the second one is
+        // read.
+        final byte[] payload = new byte[72];
+        final byte[] dest = new byte[16];
+        int length = 0;
+        for (int expected : new int[]{16, 16, 16, 14, 10}) {
+            Assert.assertEquals(expected, driver.read(dest, 100));
+            System.arraycopy(dest, 0, payload, length, expected);
+            length += expected;
+            Assert.assertEquals(length <= 62 ? 1 : 2, connection.transferLengths.size());
+        }
+        assertPayload(payload, 72);
+    }
+
+    @Test
+    public void testReadOfAStatusOnlyPacketIsEmpty() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        shadowOf(driver).packets.add(newPacket(0, 0));
+
+        Assert.assertEquals(0, driver.read(new byte[64], 100));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadWithoutStatusFails() throws IOException {
+        // The transfer timed out.
+        newDriver(64).read(new byte[64], 100);
+    }
+
+    @Test
+    public void testLatencyTimer() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        final ShadowUsbDeviceConnection connection = shadowOf(driver);
+        Assert.assertEquals(16, driver.getLatencyTimer());
+
+        driver.setLatencyTimer(2);
+        Assert.assertEquals(2, connection.latencyMillis);
+        Assert.assertEquals(2, driver.getLatencyTimer());
+
+        driver.setLatencyTimer(255);
+        Assert.assertEquals(255, driver.getLatencyTimer());
+        Assert.assertEquals(5, connection.controlTransfersCount);
+    }
+
+    @Test
+    public void testInvalidLatencyTimerIsNotSent() throws IOException {
+        final FtdiSerialDriver driver = newDriver(64);
+        for (int latencyMillis : new int[]{0, 256}) {
+            try {
+                driver.setLatencyTimer(latencyMillis);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        Assert.assertEquals(0, shadowOf(driver).controlTransfersCount);
+    }
+
+    @Test
+    public void testFailedLatencyTimerTransfersThrow() {
+        final FtdiSerialDriver driver = newDriver(64);
+        shadowOf(driver).controlTransferResult = -1;
+        try {
+            driver.setLatencyTimer(2);
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+        try {
+            driver.getLatencyTimer();
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+    }
+}
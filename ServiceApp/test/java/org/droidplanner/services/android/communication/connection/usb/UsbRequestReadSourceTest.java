@@ -0,0 +1,303 @@
+package org.droidplanner.services.android.communication.connection.usb;
+
+import android.hardware.usb.UsbDevice;
+import android.hardware.usb.UsbDeviceConnection;
+import android.hardware.usb.UsbEndpoint;
+import android.hardware.usb.UsbInterface;
+import android.hardware.usb.UsbRequest;
+
+import com.hoho.android.usbserial.driver.FtdiSerialDriver;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.annotation.RealObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the requests queued by the read source, their completion and
+ * their release, through a fake connection completing the requests as the
+ * test tells it to.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(emulateSdk = 18, shadows = {
+        UsbRequestReadSourceTest.ShadowUsbDeviceConnection.class,
+        UsbRequestReadSourceTest.ShadowUsbRequest.class,
+        UsbRequestReadSourceTest.ShadowUsbDevice.class,
+        UsbRequestReadSourceTest.ShadowUsbInterface.class,
+        UsbRequestReadSourceTest.ShadowUsbEndpoint.class})
+public class UsbRequestReadSourceTest {
+
+    private static final int MAX_PACKET_SIZE = 64;
+
+    private static final byte[] MODEM_STATUS = {0x01, 0x60};
+
+    /**
+     * Connection returning the requests completed by the test, in order, or
+     * null once there's none.
+     */
+    @Implements(UsbDeviceConnection.class)
+    public static class ShadowUsbDeviceConnection {
+
+        final List<UsbRequest> queued = new ArrayList<>();
+        final ArrayDeque<UsbRequest> completed = new ArrayDeque<>();
+
+        @Implementation
+        public UsbRequest requestWait() {
+            return completed.poll();
+        }
+    }
+
+    /**
+     * Request recording how it was queued. Cancelling it completes it, as the
+     * framework does.
+     */
+    @Implements(UsbRequest.class)
+    public static class ShadowUsbRequest {
+
+        @RealObject
+        UsbRequest realRequest;
+
+        UsbDeviceConnection connection;
+        UsbEndpoint endpoint;
+        ByteBuffer buffer;
+        int length;
+        Object clientData;
+        int initializeCount;
+        boolean isCancelled;
+        boolean isClosed;
+
+        @Implementation
+        public boolean initialize(UsbDeviceConnection connection, UsbEndpoint endpoint) {
+            initializeCount++;
+            this.connection = connection;
+            this.endpoint = endpoint;
+            return true;
+        }
+
+        @Implementation
+        public boolean queue(ByteBuffer buffer, int length) {
+            this.buffer = buffer;
+            this.length = length;
+            shadowOf(connection).queued.add(realRequest);
+            return true;
+        }
+
+        @Implementation
+        public boolean cancel() {
+            isCancelled = true;
+            shadowOf(connection).completed.add(realRequest);
+            return true;
+        }
+
+        @Implementation
+        public void close() {
+            isClosed = true;
+        }
+
+        @Implementation
+        public Object getClientData() {
+            return clientData;
+        }
+
+        @Implementation
+        public void setClientData(Object data) {
+            clientData = data;
+        }
+    }
+
+    /**
+     * Device with a single interface.
+     */
+    @Implements(UsbDevice.class)
+    public static class ShadowUsbDevice {
+
+        UsbInterface usbInterface;
+
+        @Implementation
+        public int getInterfaceCount() {
+            return 1;
+        }
+
+        @Implementation
+        public UsbInterface getInterface(int index) {
+            return usbInterface;
+        }
+    }
+
+    @Implements(UsbInterface.class)
+    public static class ShadowUsbInterface {
+
+        UsbEndpoint[] endpoints;
+
+        @Implementation
+        public int getEndpointCount() {
+            return endpoints.length;
+        }
+
+        @Implementation
+        public UsbEndpoint getEndpoint(int index) {
+            return endpoints[index];
+        }
+    }
+
+    @Implements(UsbEndpoint.class)
+    public static class ShadowUsbEndpoint {
+
+        int maxPacketSize;
+
+        @Implementation
+        public int getMaxPacketSize() {
+            return maxPacketSize;
+        }
+    }
+
+    private ShadowUsbDeviceConnection connection;
+    private UsbRequestReadSource source;
+
+    private static ShadowUsbDeviceConnection shadowOf(UsbDeviceConnection connection) {
+        return (ShadowUsbDeviceConnection) Robolectric.shadowOf_(connection);
+    }
+
+    private static ShadowUsbRequest shadowOf(UsbRequest request) {
+        return (ShadowUsbRequest) Robolectric.shadowOf_(request);
+    }
+
+    @Before
+    public void setUp() {
+        final UsbEndpoint readEndpoint = Robolectric.newInstanceOf(UsbEndpoint.class);
+        ((ShadowUsbEndpoint) Robolectric.shadowOf_(readEndpoint)).maxPacketSize = MAX_PACKET_SIZE;
+        final UsbInterface usbInterface = Robolectric.newInstanceOf(UsbInterface.class);
+        ((ShadowUsbInterface) Robolectric.shadowOf_(usbInterface)).endpoints = new UsbEndpoint[]{readEndpoint};
+        final UsbDevice device = Robolectric.newInstanceOf(UsbDevice.class);
+        ((ShadowUsbDevice) Robolectric.shadowOf_(device)).usbInterface = usbInterface;
+
+        final UsbDeviceConnection usbConnection = Robolectric.newInstanceOf(UsbDeviceConnection.class);
+        connection = shadowOf(usbConnection);
+        source = new UsbRequestReadSource(new FtdiSerialDriver(device, usbConnection));
+    }
+
+    /**
+     * Completes the request with a packet starting with the modem status,
+     * followed by the given count of payload bytes, numbered from the given
+     * value. Moves the position of its buffer past the packet, as the
+     * framework does.
+     */
+    private void complete(UsbRequest request, int payloadLength, int firstValue) {
+        final ByteBuffer buffer = shadowOf(request).buffer;
+        buffer.put(MODEM_STATUS);
+        for (int i = 0; i < payloadLength; i++) {
+            buffer.put((byte) (firstValue + i));
+        }
+        connection.completed.add(request);
+    }
+
+    private static void assertPayload(ByteBuffer buffer, int length, int firstValue) {
+        Assert.assertEquals(length, buffer.position());
+        for (int i = 0; i < length; i++) {
+            Assert.assertEquals((byte) (firstValue + i), buffer.get(i));
+        }
+    }
+
+    @Test
+    public void testRequestsCompleteInAnyOrder() throws IOException {
+        final ByteBuffer first = ByteBuffer.allocate(MAX_PACKET_SIZE);
+        final ByteBuffer second = ByteBuffer.allocate(MAX_PACKET_SIZE);
+        source.queue(0, first);
+        source.queue(1, second);
+
+        Assert.assertEquals(2, connection.queued.size());
+        final UsbRequest firstRequest = connection.queued.get(0);
+        final UsbRequest secondRequest = connection.queued.get(1);
+        Assert.assertNotSame(firstRequest, secondRequest);
+        Assert.assertSame(first, shadowOf(firstRequest).buffer);
+        Assert.assertEquals(MAX_PACKET_SIZE, shadowOf(firstRequest).length);
+
+        // The status bytes are filtered out of the completed request.
+        complete(secondRequest, 10, 0);
+        Assert.assertEquals(1, source.awaitCompletion());
+        assertPayload(second, 10, 0);
+
+        complete(firstRequest, 62, 10);
+        Assert.assertEquals(0, source.awaitCompletion());
+        assertPayload(first, 62, 10);
+    }
+
+    @Test
+    public void testRequestIsQueuedAgain() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(MAX_PACKET_SIZE);
+        source.queue(0, buffer);
+        final UsbRequest request = connection.queued.get(0);
+        complete(request, 5, 0);
+        Assert.assertEquals(0, source.awaitCompletion());
+        assertPayload(buffer, 5, 0);
+
+        // Queued with a new buffer, without initializing a new request.
+        final ByteBuffer next = ByteBuffer.allocate(MAX_PACKET_SIZE);
+        source.queue(0, next);
+        Assert.assertEquals(2, connection.queued.size());
+        Assert.assertSame(request, connection.queued.get(1));
+        Assert.assertEquals(1, shadowOf(request).initializeCount);
+        Assert.assertSame(next, shadowOf(request).buffer);
+
+        complete(request, 7, 5);
+        Assert.assertEquals(0, source.awaitCompletion());
+        assertPayload(next, 7, 5);
+    }
+
+    @Test
+    public void testTransferSizeIsInWholePackets() throws IOException {
+        source.queue(0, ByteBuffer.allocate(200));
+        Assert.assertEquals(192, shadowOf(connection.queued.get(0)).length);
+
+        // Never more than the buffer.
+        source.queue(1, ByteBuffer.allocate(32));
+        Assert.assertEquals(32, shadowOf(connection.queued.get(1)).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void testFailedWaitThrows() throws IOException {
+        source.queue(0, ByteBuffer.allocate(MAX_PACKET_SIZE));
+        source.awaitCompletion();
+    }
+
+    @Test
+    public void testCloseWakesTheReaderAndReleasesTheRequests() throws IOException {
+        source.queue(0, ByteBuffer.allocate(MAX_PACKET_SIZE));
+        source.queue(1, ByteBuffer.allocate(MAX_PACKET_SIZE));
+        final List<UsbRequest> requests = new ArrayList<>(connection.queued);
+
+        source.close();
+        for (UsbRequest request : requests) {
+            Assert.assertTrue(shadowOf(request).isCancelled);
+            Assert.assertFalse(shadowOf(request).isClosed);
+        }
+
+        // The cancelled request wakes the reader up, which releases them.
+        try {
+            source.awaitCompletion();
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+        for (UsbRequest request : requests) {
+            Assert.assertTrue(shadowOf(request).isClosed);
+        }
+
+        try {
+            source.queue(0, ByteBuffer.allocate(MAX_PACKET_SIZE));
+            Assert.fail();
+        } catch (IOException expected) {
+        }
+    }
+}
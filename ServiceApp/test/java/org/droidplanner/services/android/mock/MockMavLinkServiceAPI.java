@@ -1,6 +1,7 @@
 package org.droidplanner.services.android.mock;
 
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
 import com.o3dr.services.android.lib.drone.connection.ConnectionParameter;
 
 
@@ -32,6 +33,12 @@ public class MockMavLinkServiceAPI extends MavLinkServiceApi{
         return true;
     }
 
+    @Override
+    public boolean sendData(ConnectionParameter connParams, MAVLinkMessage message) {
+        data = message.pack();
+        return true;
+    }
+
     /**
      * This method is used by the test services to validate the structure of the
      * MAVLinkPacket sent during this request
@@ -0,0 +1,42 @@
+package org.droidplanner.core.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the connection benchmarks. Runs every registered benchmark,
+ * or only the ones named on the command line.
+ */
+public class Benchmarks {
+
+    private static final Map<String, Runnable> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("udp", new UdpBenchmark());
+        BENCHMARKS.put("connections", new ConnectionsBenchmark());
+        BENCHMARKS.put("stall", new StallBenchmark());
+        BENCHMARKS.put("slowlink", new SlowLinkBenchmark());
+        BENCHMARKS.put("usbread", new UsbReadBenchmark());
+        BENCHMARKS.put("reconnect", new ReconnectBenchmark());
+        BENCHMARKS.put("router", new RouterBenchmark());
+        BENCHMARKS.put("bonding", new BondingBenchmark());
+        BENCHMARKS.put("tlog", new TlogBenchmark());
+        BENCHMARKS.put("tlogindex", new TlogIndexBenchmark());
+        BENCHMARKS.put("tlogz", new CompressedTlogBenchmark());
+        BENCHMARKS.put("replay", new TlogReplayBenchmark());
+        BENCHMARKS.put("analytics", new TlogAnalyticsBenchmark());
+    }
+
+    public static void main(String[] args) {
+        final List<String> selected = Arrays.asList(args);
+        for (Map.Entry<String, Runnable> entry : BENCHMARKS.entrySet()) {
+            if (selected.isEmpty() || selected.contains(entry.getKey())) {
+                System.out.println("# " + entry.getKey());
+                entry.getValue().run();
+                System.out.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.MAVLinkPacketPool;
+import com.MAVLink.Messages.MAVLinkStats;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_command_long;
+
+import org.droidplanner.core.MAVLink.connection.BondedConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.TcpConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams attitude messages at 100Hz from a stand-in vehicle to a ground
+ * station over two loopback TCP paths, each with an injected delay and loss:
+ * a radio, slow but steady, and a wifi, fast but lossy, which is out for 1.5s
+ * in the middle of the stream. The ground station sends a command at 10Hz
+ * meanwhile, which is lost too if sent over a path while it's out.
+ *
+ * Measures the telemetry delivered, its latency, and the longest gap without
+ * telemetry, with the ground station on each path alone, then on both bonded
+ * by a {@link BondedConnection}.
+ */
+public class BondingBenchmark implements Runnable {
+
+    private static final int FRAMES = 600;
+    private static final long STREAM_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int FRAMES_PER_COMMAND = 10;
+
+    private static final long OUTAGE_START_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long OUTAGE_END_NANOS = TimeUnit.MILLISECONDS.toNanos(3500);
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %10s %10s %10s %12s %12s", "", "delivered", "p50 ms", "p99 ms",
+                    "max gap ms", "commands"));
+            measure("radio", true, false);
+            measure("wifi", false, true);
+            measure("bonded", true, true);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String label, boolean useRadio, boolean useWifi) throws Exception {
+        final List<ImpairedPath> paths = new ArrayList<>();
+        final List<MavLinkConnection> links = new ArrayList<>();
+        if (useRadio) {
+            paths.add(new ImpairedPath("radio", 40, 0.05, false));
+        }
+        if (useWifi) {
+            paths.add(new ImpairedPath("wifi", 5, 0.1, true));
+        }
+        for (ImpairedPath path : paths) {
+            links.add(new LoopbackTcpConnection(path.server.socket().getLocalPort()));
+        }
+
+        final MavLinkConnection connection;
+        if (links.size() == 1) {
+            connection = links.get(0);
+        } else {
+            connection = new BondedConnection(links) {
+                @Override
+                protected Logger initLogger() {
+                    return ConsoleLogger.INSTANCE;
+                }
+            };
+        }
+
+        final long[] sentTimes = new long[FRAMES];
+        final GroundStation station = new GroundStation(sentTimes);
+        connection.addMavLinkConnectionListener("benchmark", station);
+        connection.connect();
+        for (ImpairedPath path : paths) {
+            path.open();
+        }
+        while (connection.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED) {
+            Thread.sleep(10);
+        }
+        // Lets the paths be rated by the bond on their first frames.
+        Thread.sleep(100);
+
+        try {
+            final long start = System.nanoTime();
+            for (ImpairedPath path : paths) {
+                path.start = start;
+            }
+
+            final msg_attitude attitude = new msg_attitude();
+            final msg_command_long command = new msg_command_long();
+            int commandsSent = 0;
+            for (int i = 0; i < FRAMES; i++) {
+                attitude.time_boot_ms = i;
+                final MAVLinkPacket packet = attitude.pack();
+                packet.seq = i & 0xFF;
+                final byte[] frame = packet.encodePacket();
+                sentTimes[i] = System.nanoTime();
+                for (ImpairedPath path : paths) {
+                    path.deliver(frame);
+                }
+
+                if (i % FRAMES_PER_COMMAND == 0) {
+                    connection.sendMavMessage(command);
+                    commandsSent++;
+                }
+                LockSupport.parkNanos(start + (i + 1) * STREAM_PERIOD_NANOS - System.nanoTime());
+            }
+            Thread.sleep(200);
+
+            int commandsReceived = 0;
+            for (ImpairedPath path : paths) {
+                commandsReceived += path.commandsReceived.get();
+            }
+
+            final long[] latencies = new long[FRAMES];
+            int count = 0;
+            for (int i = 0; i < FRAMES; i++) {
+                if (station.receivedTimes[i] != 0) {
+                    latencies[count++] = station.receivedTimes[i] - sentTimes[i];
+                }
+            }
+            Arrays.sort(latencies, 0, count);
+            if (count > 0) {
+                System.out.println(String.format("%-10s %10s %10.1f %10.1f %12.0f %12s", label, count + "/" + FRAMES,
+                        latencies[count / 2] / 1E6, latencies[count * 99 / 100] / 1E6, station.maxGap / 1E6,
+                        commandsReceived + "/" + commandsSent));
+            }
+        } finally {
+            connection.disconnect();
+            for (ImpairedPath path : paths) {
+                path.close();
+            }
+        }
+    }
+
+    /**
+     * Data written on a path once its delay elapsed.
+     */
+    private static class Delivery implements Delayed {
+
+        final byte[] data;
+        final long deliveryTime;
+
+        Delivery(byte[] data, long deliveryTime) {
+            this.data = data;
+            this.deliveryTime = deliveryTime;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deliveryTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deliveryTime, ((Delivery) other).deliveryTime);
+        }
+    }
+
+    /**
+     * Vehicle end of a path: delays the frames it's given by the vehicle, or
+     * drops them, and counts the commands received from the ground station.
+     */
+    private static class ImpairedPath implements Parser.PacketListener {
+
+        final ServerSocketChannel server;
+        final AtomicInteger commandsReceived = new AtomicInteger();
+        volatile long start;
+
+        private final String name;
+        private final long delayNanos;
+        private final double lossRatio;
+        private final boolean hasOutage;
+        private final Random random = new Random(13);
+        private final DelayQueue<Delivery> deliveries = new DelayQueue<>();
+
+        private SocketChannel vehicle;
+        private Thread writer;
+        private Thread reader;
+
+        ImpairedPath(String name, long delayMillis, double lossRatio, boolean hasOutage) throws IOException {
+            this.name = name;
+            this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+            this.lossRatio = lossRatio;
+            this.hasOutage = hasOutage;
+            server = ServerSocketChannel.open();
+            server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        }
+
+        boolean isOut() {
+            final long elapsed = System.nanoTime() - start;
+            return hasOutage && start != 0 && elapsed >= OUTAGE_START_NANOS && elapsed < OUTAGE_END_NANOS;
+        }
+
+        void deliver(byte[] frame) {
+            if (isOut() || random.nextDouble() < lossRatio) {
+                return;
+            }
+            deliveries.offer(new Delivery(frame, System.nanoTime() + delayNanos));
+        }
+
+        void open() throws IOException {
+            vehicle = server.accept();
+            writer = new Thread("BondingBenchmark-" + name + "-writer") {
+                @Override
+                public void run() {
+                    try {
+                        while (true) {
+                            final ByteBuffer data = ByteBuffer.wrap(deliveries.take().data);
+                            while (data.hasRemaining()) {
+                                vehicle.write(data);
+                            }
+                        }
+                    } catch (InterruptedException | IOException e) {
+                        // Closed.
+                    }
+                }
+            };
+            reader = new Thread("BondingBenchmark-" + name + "-reader") {
+                @Override
+                public void run() {
+                    final Parser parser = new Parser(new MAVLinkPacketPool(), new MAVLinkStats());
+                    final byte[] buffer = new byte[4096];
+                    try {
+                        final InputStream in = vehicle.socket().getInputStream();
+                        int length;
+                        while ((length = in.read(buffer)) >= 0) {
+                            parser.parse(buffer, 0, length, ImpairedPath.this);
+                        }
+                    } catch (IOException e) {
+                        // Closed.
+                    }
+                }
+            };
+            writer.start();
+            reader.start();
+        }
+
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            if (packet.msgid == msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG && !isOut()) {
+                commandsReceived.incrementAndGet();
+            }
+        }
+
+        void close() throws IOException, InterruptedException {
+            writer.interrupt();
+            if (vehicle != null) {
+                vehicle.close();
+            }
+            server.close();
+            writer.join();
+            reader.join();
+        }
+    }
+
+    /**
+     * Records when each attitude message is first received, and the longest
+     * time without telemetry.
+     */
+    private static class GroundStation implements MavLinkConnectionListener {
+
+        final long[] receivedTimes;
+        volatile long maxGap;
+
+        private long lastReceivedTime;
+
+        GroundStation(long[] sentTimes) {
+            receivedTimes = new long[sentTimes.length];
+        }
+
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public void onConnect(long connectionTime) {
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+            if (packet.msgid != msg_attitude.MAVLINK_MSG_ID_ATTITUDE) {
+                return;
+            }
+
+            final long now = System.nanoTime();
+            // The time is the first field of the payload.
+            final int index = packet.payload.getInt(0);
+            if (receivedTimes[index] == 0) {
+                receivedTimes[index] = now;
+            }
+            if (lastReceivedTime != 0) {
+                maxGap = Math.max(maxGap, now - lastReceivedTime);
+            }
+            lastReceivedTime = now;
+        }
+
+        @Override
+        public void onDisconnect(long disconnectionTime) {
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+        }
+    }
+
+    private static class LoopbackTcpConnection extends TcpConnection {
+
+        private final int port;
+
+        LoopbackTcpConnection(int port) {
+            this.port = port;
+        }
+
+        @Override
+        protected int loadServerPort() {
+            return port;
+        }
+
+        @Override
+        protected String loadServerIP() {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+    }
+}
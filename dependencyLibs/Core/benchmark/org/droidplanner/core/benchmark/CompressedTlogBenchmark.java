@@ -0,0 +1,222 @@
+package org.droidplanner.core.benchmark;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.CompressedTlogReader;
+import org.droidplanner.core.MAVLink.tlog.CompressedTlogWriter;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogReader;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Logs flights as plain tlogs, then as compressed tlogs at the fastest and
+ * at the default compression levels, and reads them back, the page cache
+ * warm:
+ * <ul>
+ * <li>the compression ratio,</li>
+ * <li>the CPU time the logging thread spends per record,</li>
+ * <li>the throughput of a cursor over all the records, in MB of plain tlog
+ * per second,</li>
+ * <li>the time to get to the first record at a random time, opening the
+ * file included,</li>
+ * <li>the throughput of the export of a compressed tlog to a plain one.</li>
+ * </ul>
+ * The flights are a synthetic one, and the recorded tlogs given as a comma
+ * separated list in the {@code benchmark.tlogs} system property. The ratio
+ * depends on the mix of messages and the noise of the sensors, which the
+ * synthetic flight only approximates, so its figures don't stand for
+ * recorded flights.
+ */
+public class CompressedTlogBenchmark implements Runnable {
+
+    private static final long SYNTHETIC_LENGTH = 64L * 1024 * 1024;
+    private static final int SEEKS = 200;
+
+    private static final int[] LEVELS = {Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION};
+    private static final String[] LEVEL_LABELS = {"tlogz fast", "tlogz default"};
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-24s %-14s %7s %13s %10s %9s %10s", "flight", "", "ratio",
+                    "write ns/rec", "read MB/s", "seek us", "export MB/s"));
+
+            final File synthetic = File.createTempFile("CompressedTlogBenchmark", ".tlog");
+            try {
+                final TlogWriter writer = new TlogWriter(synthetic.getPath(),
+                        new TlogDurability(1, TimeUnit.SECONDS, false));
+                SyntheticFlight.write(writer, 1, SYNTHETIC_LENGTH);
+                writer.close();
+                measure("synthetic", synthetic);
+            } finally {
+                synthetic.delete();
+                new File(TlogIndex.getIndexPath(synthetic.getPath())).delete();
+            }
+
+            final String tlogs = System.getProperty("benchmark.tlogs");
+            if (tlogs != null && tlogs.length() > 0) {
+                for (String path : tlogs.split(",")) {
+                    measure(new File(path).getName(), new File(path));
+                }
+            } else {
+                System.out.println("No recorded flight measured: give their tlogs with -PbenchmarkTlogs.");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String flight, File tlog) throws IOException {
+        final List<byte[]> records = readRecords(tlog);
+        final File plain = File.createTempFile("CompressedTlogBenchmark", ".tlog");
+        final File compressed = File.createTempFile("CompressedTlogBenchmark", CompressedTlog.FILE_EXTENSION);
+        final File exported = File.createTempFile("CompressedTlogBenchmark", ".tlog");
+        try {
+            final long plainCpu = write(new TlogWriter(plain.getPath(), TlogDurability.DEFAULT), records);
+            final TlogReader plainReader = TlogReader.open(plain.getPath());
+            final long plainLength = plain.length();
+            System.out.println(String.format("%-24s %-14s %7s %13.0f %10.0f %9.1f %10s", flight, "tlog", "1.00",
+                    (double) plainCpu / records.size(), readPlain(plainReader, plainLength),
+                    seekPlain(plain.getPath(), plainReader), "-"));
+
+            for (int i = 0; i < LEVELS.length; i++) {
+                final long cpu = write(new CompressedTlogWriter(compressed.getPath(), TlogDurability.DEFAULT,
+                        CompressedTlogWriter.DEFAULT_BLOCK_SIZE, LEVELS[i]), records);
+                final CompressedTlogReader reader = CompressedTlogReader.open(compressed.getPath());
+                if (reader.getRawLength() != plainLength) {
+                    throw new IllegalStateException(reader.getRawLength() + " bytes compressed, " + plainLength
+                            + " logged.");
+                }
+                final double read = readCompressed(reader, plainLength);
+                final double seek = seekCompressed(compressed.getPath(), plainReader);
+
+                final long start = System.nanoTime();
+                reader.exportTo(exported.getPath());
+                final double export = plainLength / 1E6 / ((System.nanoTime() - start) / 1E9);
+                if (exported.length() != plainLength) {
+                    throw new IllegalStateException(exported.length() + " bytes exported, " + plainLength
+                            + " logged.");
+                }
+
+                System.out.println(String.format("%-24s %-14s %7.2f %13.0f %10.0f %9.1f %10.0f", "",
+                        LEVEL_LABELS[i], (double) plainLength / compressed.length(),
+                        (double) cpu / records.size(), read, seek, export));
+            }
+        } finally {
+            plain.delete();
+            new File(TlogIndex.getIndexPath(plain.getPath())).delete();
+            compressed.delete();
+            exported.delete();
+        }
+    }
+
+    /**
+     * @return the records of the given tlog, as built by
+     * {@link TlogWriter#newRecord}.
+     */
+    private static List<byte[]> readRecords(File tlog) throws IOException {
+        final TlogReader reader = TlogReader.open(tlog.getPath());
+        final List<byte[]> records = new ArrayList<>(reader.getRecordsCount());
+        final byte[] frame = new byte[512];
+        final TlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        while (cursor.next()) {
+            records.add(TlogWriter.newRecord(cursor.getTime(), frame, cursor.readFrame(frame)));
+        }
+        return records;
+    }
+
+    /**
+     * @return the CPU time taken to log the given records, in batches as the
+     * logging thread does, in ns.
+     */
+    private long write(TlogWriter writer, List<byte[]> records) throws IOException {
+        final byte[][] batch = new byte[64][];
+        final long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < records.size(); i += batch.length) {
+            final int count = Math.min(batch.length, records.size() - i);
+            for (int j = 0; j < count; j++) {
+                batch[j] = records.get(i + j);
+            }
+            writer.append(batch, count, 0);
+        }
+        writer.close();
+        return threads.getCurrentThreadCpuTime() - start;
+    }
+
+    private static double readPlain(TlogReader reader, long length) {
+        long checksum = 0;
+        final long start = System.nanoTime();
+        final TlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        while (cursor.next()) {
+            checksum += cursor.getTime() + cursor.getFrame().get(0);
+        }
+        return toMegabytesPerSecond(length, System.nanoTime() - start, checksum);
+    }
+
+    private static double readCompressed(CompressedTlogReader reader, long length) throws IOException {
+        long checksum = 0;
+        final long start = System.nanoTime();
+        final CompressedTlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        while (cursor.next()) {
+            checksum += cursor.getTime() + cursor.getFrame().get(0);
+        }
+        return toMegabytesPerSecond(length, System.nanoTime() - start, checksum);
+    }
+
+    private static double toMegabytesPerSecond(long length, long nanos, long checksum) {
+        if (checksum == 0) {
+            throw new IllegalStateException("No records read.");
+        }
+        return length / 1E6 / (nanos / 1E9);
+    }
+
+    /**
+     * @return the time taken to open the tlog and get to the first record at
+     * a random time, in µs.
+     */
+    private static double seekPlain(String path, TlogReader reference) throws IOException {
+        final Random random = new Random(7);
+        final long first = reference.getTime(0);
+        final long duration = reference.getTime(reference.getRecordsCount() - 1) - first;
+        final long start = System.nanoTime();
+        for (int i = 0; i < SEEKS; i++) {
+            final long time = first + (long) (random.nextDouble() * duration);
+            final TlogReader.Cursor cursor = TlogReader.open(path).newCursor(time, Long.MAX_VALUE);
+            if (!cursor.next() || cursor.getFrame().get(0) == 0) {
+                throw new IllegalStateException("No record after " + time);
+            }
+        }
+        return (System.nanoTime() - start) / 1E3 / SEEKS;
+    }
+
+    private static double seekCompressed(String path, TlogReader reference) throws IOException {
+        final Random random = new Random(7);
+        final long first = reference.getTime(0);
+        final long duration = reference.getTime(reference.getRecordsCount() - 1) - first;
+        final long start = System.nanoTime();
+        for (int i = 0; i < SEEKS; i++) {
+            final long time = first + (long) (random.nextDouble() * duration);
+            final CompressedTlogReader.Cursor cursor = CompressedTlogReader.open(path).newCursor(time,
+                    Long.MAX_VALUE);
+            final ByteBuffer frame;
+            if (!cursor.next() || (frame = cursor.getFrame()).get(0) == 0) {
+                throw new IllegalStateException("No record after " + time);
+            }
+            cursor.close();
+        }
+        return (System.nanoTime() - start) / 1E3 / SEEKS;
+    }
+}
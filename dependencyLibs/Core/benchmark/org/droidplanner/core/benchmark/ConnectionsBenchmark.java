@@ -0,0 +1,362 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_system_time;
+
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.TcpConnection;
+import org.droidplanner.core.MAVLink.connection.UdpConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Opens 1, 10 and 50 UDP and TCP connections over loopback, each receiving
+ * a telemetry stream of 100 packets/s, and measures the threads started by
+ * the connections, the context switches of the process, its CPU time per
+ * packet, and the latency from the send of a packet to its delivery to the
+ * connection listeners.
+ *
+ * The packets carry their send time, so the latency includes the wakeup of
+ * the thread reading the connection, the parsing and the dispatch. Context
+ * switches are read from /proc, and only reported on Linux.
+ */
+public class ConnectionsBenchmark implements Runnable {
+
+    private static final int[] CONNECTION_COUNTS = {1, 10, 50};
+
+    private static final long PERIOD_NANOS = 10000000L;
+    private static final long WARMUP_NANOS = 1000000000L;
+    private static final long MEASURED_NANOS = 5000000000L;
+
+    private final long[] latencies = new long[CONNECTION_COUNTS[CONNECTION_COUNTS.length - 1]
+            * (int) (MEASURED_NANOS / PERIOD_NANOS) * 2];
+    private final AtomicInteger latencyCount = new AtomicInteger();
+    private volatile boolean isMeasuring;
+
+    private final MavLinkConnectionListener listener = new MavLinkConnectionListener() {
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public void onConnect(long connectionTime) {
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+            final long latency = System.nanoTime() - packet.payload.getLong(0);
+            if (isMeasuring) {
+                final int index = latencyCount.getAndIncrement();
+                if (index < latencies.length) {
+                    latencies[index] = latency;
+                }
+            }
+        }
+
+        @Override
+        public void onDisconnect(long disconnectionTime) {
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+            System.out.println("Connection error: " + errMsg);
+        }
+    };
+
+    /**
+     * Sends a packet stamped with its send time to a connection.
+     */
+    private interface Stream {
+        void send(ByteBuffer frame) throws IOException;
+    }
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %7s %14s %14s %12s %10s %10s", "", "threads",
+                    "ctx switch/s", "ctx switch/pkt", "us cpu/pkt", "p50 us", "p99 us"));
+            for (int count : CONNECTION_COUNTS) {
+                measureUdp(count);
+            }
+            for (int count : CONNECTION_COUNTS) {
+                measureTcp(count);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measureUdp(int count) throws Exception {
+        final List<MavLinkConnection> connections = new ArrayList<>(count);
+        final List<Stream> streams = new ArrayList<>(count);
+        final DatagramChannel sender = DatagramChannel.open();
+        try {
+            for (int i = 0; i < count; i++) {
+                final int port = findFreePort();
+                final MavLinkConnection connection = new UdpConnection() {
+                    @Override
+                    protected int loadServerPort() {
+                        return port;
+                    }
+
+                    @Override
+                    protected Logger initLogger() {
+                        return ConsoleLogger.INSTANCE;
+                    }
+                };
+                connect(connection);
+                connections.add(connection);
+
+                final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+                streams.add(new Stream() {
+                    @Override
+                    public void send(ByteBuffer frame) throws IOException {
+                        sender.send(frame, address);
+                    }
+                });
+            }
+
+            measure("udp x" + count, streams);
+        } finally {
+            disconnect(connections);
+            sender.close();
+        }
+    }
+
+    private void measureTcp(int count) throws Exception {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        final int port = server.socket().getLocalPort();
+
+        final List<MavLinkConnection> connections = new ArrayList<>(count);
+        final List<Stream> streams = new ArrayList<>(count);
+        final List<SocketChannel> peers = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                final MavLinkConnection connection = new TcpConnection() {
+                    @Override
+                    protected int loadServerPort() {
+                        return port;
+                    }
+
+                    @Override
+                    protected String loadServerIP() {
+                        return InetAddress.getLoopbackAddress().getHostAddress();
+                    }
+
+                    @Override
+                    protected Logger initLogger() {
+                        return ConsoleLogger.INSTANCE;
+                    }
+                };
+                connect(connection);
+                connections.add(connection);
+
+                final SocketChannel peer = server.accept();
+                peer.socket().setTcpNoDelay(true);
+                peers.add(peer);
+                streams.add(new Stream() {
+                    @Override
+                    public void send(ByteBuffer frame) throws IOException {
+                        while (frame.hasRemaining()) {
+                            peer.write(frame);
+                        }
+                    }
+                });
+            }
+
+            measure("tcp x" + count, streams);
+        } finally {
+            disconnect(connections);
+            for (SocketChannel peer : peers) {
+                peer.close();
+            }
+            server.close();
+        }
+    }
+
+    private void connect(MavLinkConnection connection) throws InterruptedException {
+        final CountDownLatch connected = new CountDownLatch(1);
+        connection.addMavLinkConnectionListener("benchmark", listener);
+        connection.addMavLinkConnectionListener("connected", new MavLinkConnectionListener() {
+            @Override
+            public void onStartingConnection() {
+            }
+
+            @Override
+            public void onConnect(long connectionTime) {
+                connected.countDown();
+            }
+
+            @Override
+            public void onLinkRestored(long restoredTime) {
+            }
+
+            @Override
+            public void onReceivePacket(MAVLinkPacket packet) {
+            }
+
+            @Override
+            public void onDisconnect(long disconnectionTime) {
+            }
+
+            @Override
+            public void onComError(String errMsg) {
+            }
+        });
+        connection.connect();
+        if (!connected.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Connection timed out.");
+        }
+        connection.removeMavLinkConnectionListener("connected");
+    }
+
+    private static void disconnect(List<MavLinkConnection> connections) throws InterruptedException {
+        for (MavLinkConnection connection : connections) {
+            connection.removeAllMavLinkConnectionListeners();
+            connection.disconnect();
+        }
+        // Lets the threads of the connections exit.
+        Thread.sleep(500);
+    }
+
+    private void measure(String label, List<Stream> streams) throws IOException {
+        send(streams, WARMUP_NANOS);
+        final int threads = countConnectionThreads();
+
+        latencyCount.set(0);
+        isMeasuring = true;
+        final long startSwitches = readContextSwitches();
+        final long startCpu = getProcessCpuTime();
+        final long start = System.nanoTime();
+        final int sent = send(streams, MEASURED_NANOS);
+        final long elapsed = System.nanoTime() - start;
+        final long cpu = getProcessCpuTime() - startCpu;
+        final long switches = readContextSwitches() - startSwitches;
+        isMeasuring = false;
+
+        final int received = Math.min(latencyCount.get(), latencies.length);
+        final long[] sorted = Arrays.copyOf(latencies, received);
+        Arrays.sort(sorted);
+
+        System.out.println(String.format("%-10s %7d %14s %14s %12s %10.0f %10.0f%s", label, threads,
+                startSwitches < 0 ? "n/a" : String.format("%.0f", switches / (elapsed / 1E9)),
+                startSwitches < 0 ? "n/a" : String.format("%.2f", (double) switches / sent),
+                startCpu < 0 ? "n/a" : String.format("%.1f", cpu / 1E3 / sent),
+                percentile(sorted, 0.5) / 1E3, percentile(sorted, 0.99) / 1E3,
+                received < sent ? "  (" + (sent - received) + " lost)" : ""));
+    }
+
+    /**
+     * Sends a packet to every stream each period.
+     *
+     * @return the count of packets sent.
+     */
+    private static int send(List<Stream> streams, long duration) throws IOException {
+        final msg_system_time message = new msg_system_time();
+        final long end = System.nanoTime() + duration;
+        long next = System.nanoTime();
+        int sent = 0;
+        while (next < end) {
+            for (Stream stream : streams) {
+                message.time_unix_usec = System.nanoTime();
+                stream.send(ByteBuffer.wrap(message.pack().encodePacket()));
+                sent++;
+            }
+
+            next += PERIOD_NANOS;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+        return sent;
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))];
+    }
+
+    /**
+     * @return the count of live threads started by the connections.
+     */
+    private static int countConnectionThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("MavLinkConnection")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the context switches of the live threads of the process, or -1
+     * if unavailable.
+     */
+    private static long readContextSwitches() {
+        final File[] tasks = new File("/proc/self/task").listFiles();
+        if (tasks == null) {
+            return -1;
+        }
+
+        long switches = 0;
+        for (File task : tasks) {
+            try {
+                for (String line : Files.readAllLines(new File(task, "status").toPath(),
+                        Charset.forName("US-ASCII"))) {
+                    if (line.startsWith("voluntary_ctxt_switches:")
+                            || line.startsWith("nonvoluntary_ctxt_switches:")) {
+                        switches += Long.parseLong(line.substring(line.indexOf(':') + 1).trim());
+                    }
+                }
+            } catch (IOException e) {
+                // The thread exited.
+            }
+        }
+        return switches;
+    }
+
+    /**
+     * @return the CPU time of the process in ns, or -1 if unavailable.
+     */
+    private static long getProcessCpuTime() {
+        final OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    private static int findFreePort() throws IOException {
+        final DatagramSocket socket = new DatagramSocket(0);
+        final int port = socket.getLocalPort();
+        socket.close();
+        return port;
+    }
+}
@@ -0,0 +1,56 @@
+package org.droidplanner.core.benchmark;
+
+import org.droidplanner.core.model.Logger;
+
+/**
+ * Prints the warnings and errors of the benchmarked connections.
+ */
+public class ConsoleLogger implements Logger {
+
+    public static final ConsoleLogger INSTANCE = new ConsoleLogger();
+
+    @Override
+    public void logVerbose(String logTag, String verbose) {
+    }
+
+    @Override
+    public void logDebug(String logTag, String debug) {
+    }
+
+    @Override
+    public void logInfo(String logTag, String info) {
+    }
+
+    @Override
+    public void logWarning(String logTag, String warning) {
+        System.err.println(logTag + ": " + warning);
+    }
+
+    @Override
+    public void logWarning(String logTag, Exception exception) {
+        System.err.println(logTag + ": " + exception);
+    }
+
+    @Override
+    public void logWarning(String logTag, String warning, Exception exception) {
+        System.err.println(logTag + ": " + warning + " " + exception);
+    }
+
+    @Override
+    public void logErr(String logTag, String err) {
+        System.err.println(logTag + ": " + err);
+    }
+
+    @Override
+    public void logErr(String logTag, Exception exception) {
+        System.err.println(logTag + ": " + exception);
+    }
+
+    @Override
+    public void logErr(String logTag, String err, Exception exception) {
+        System.err.println(logTag + ": " + err + " " + exception);
+    }
+
+    private ConsoleLogger() {
+    }
+}
@@ -0,0 +1,327 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_heartbeat;
+
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
+import org.droidplanner.core.MAVLink.connection.ReconnectPolicy;
+import org.droidplanner.core.MAVLink.connection.TcpConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to telemetry after a link flap: a stand-in vehicle
+ * server streams heartbeats at 50Hz, drops the connection on purpose, then
+ * refuses the new ones during an outage. The time is measured from the drop
+ * to the first heartbeat of the next session received by the listener.
+ *
+ * Runs with the lost link reopened by the connection, and reopened by the
+ * listener 100ms after it's told the connection was disconnected, as an app
+ * would, which also resets the vehicle state. Both with the TCP connection
+ * served by the event loop, and with a blocking socket transport like the
+ * bluetooth one.
+ */
+public class ReconnectBenchmark implements Runnable {
+
+    private static final int FLAPS = 8;
+    private static final long SESSION_MILLIS = 500;
+    private static final long STREAM_PERIOD_MILLIS = 20;
+    private static final long MANUAL_RECONNECT_DELAY_MILLIS = 100;
+
+    private static final ReconnectPolicy POLICY = new ReconnectPolicy(20, 200, 30000,
+            TimeUnit.MILLISECONDS);
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %-8s %10s %10s %10s %10s %12s", "", "reopen", "outage ms",
+                    "p50 ms", "max ms", "restored", "state resets"));
+            for (long outage : new long[]{0, 500}) {
+                measure("tcp", false, true, outage);
+                measure("tcp", false, false, outage);
+                measure("blocking", true, true, outage);
+                measure("blocking", true, false, outage);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String label, boolean blocking, boolean automatic, long outageMillis) throws Exception {
+        final StandInServer server = new StandInServer(outageMillis);
+        final MavLinkConnection connection = blocking ? new BlockingSocketConnection(server.port)
+                : new LoopbackTcpConnection(server.port);
+        final TelemetryListener listener = new TelemetryListener(connection, !automatic);
+        if (automatic) {
+            connection.setReconnectPolicy(POLICY);
+        }
+
+        connection.addMavLinkConnectionListener("benchmark", listener);
+        connection.connect();
+        server.start();
+        server.join();
+        // Lets the last session be received.
+        Thread.sleep(SESSION_MILLIS);
+        listener.isStopped = true;
+        connection.disconnect();
+        server.lastPeer.close();
+
+        final long[] times = new long[FLAPS];
+        int restored = 0;
+        for (int i = 0; i < FLAPS; i++) {
+            final long received = listener.firstReceivedTimes[i + 1];
+            if (received > 0) {
+                times[restored++] = received - server.dropTimes[i];
+            }
+        }
+
+        Arrays.sort(times, 0, restored);
+        System.out.println(String.format("%-10s %-8s %10d %10.1f %10.1f %10s %12d", label,
+                automatic ? "auto" : "manual", outageMillis,
+                restored == 0 ? 0 : times[restored / 2] / 1E6, restored == 0 ? 0 : times[restored - 1] / 1E6,
+                restored + "/" + FLAPS, listener.stateResets));
+    }
+
+    /**
+     * Vehicle streaming heartbeats whose custom mode is the index of the
+     * session. Closes the connection at the end of each session but the
+     * last, and its listening socket during the outage, so the new
+     * connections are refused.
+     */
+    private static class StandInServer extends Thread {
+
+        final int port;
+        final long[] dropTimes = new long[FLAPS];
+        SocketChannel lastPeer;
+
+        private final long outageMillis;
+        private ServerSocketChannel server;
+
+        StandInServer(long outageMillis) throws IOException {
+            super("ReconnectBenchmark-Server");
+            this.outageMillis = outageMillis;
+            server = open(0);
+            port = server.socket().getLocalPort();
+        }
+
+        private static ServerSocketChannel open(int port) throws IOException {
+            final ServerSocketChannel server = ServerSocketChannel.open();
+            server.socket().setReuseAddress(true);
+            server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            return server;
+        }
+
+        @Override
+        public void run() {
+            final msg_heartbeat heartbeat = new msg_heartbeat();
+            try {
+                for (int session = 0; session <= FLAPS; session++) {
+                    final SocketChannel peer = server.accept();
+                    heartbeat.custom_mode = session;
+                    final long end = System.currentTimeMillis() + SESSION_MILLIS;
+                    int seq = 0;
+                    try {
+                        while (System.currentTimeMillis() < end) {
+                            final MAVLinkPacket packet = heartbeat.pack();
+                            packet.seq = seq++ & 0xFF;
+                            final ByteBuffer data = ByteBuffer.wrap(packet.encodePacket());
+                            while (data.hasRemaining()) {
+                                peer.write(data);
+                            }
+                            Thread.sleep(STREAM_PERIOD_MILLIS);
+                        }
+                    } catch (IOException e) {
+                        // The connection was closed by the client.
+                    }
+
+                    if (session == FLAPS) {
+                        // Closed once the connection is.
+                        lastPeer = peer;
+                        break;
+                    }
+
+                    dropTimes[session] = System.nanoTime();
+                    peer.close();
+                    if (outageMillis > 0) {
+                        server.close();
+                        Thread.sleep(outageMillis);
+                        server = open(port);
+                    }
+                }
+                server.close();
+            } catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Records when the first heartbeat of each session is received. Reopens
+     * the connection itself when it's not reopened automatically.
+     */
+    private static class TelemetryListener implements MavLinkConnectionListener {
+
+        final long[] firstReceivedTimes = new long[FLAPS + 1];
+        volatile int stateResets;
+        volatile boolean isStopped;
+
+        private final MavLinkConnection connection;
+        private final boolean reopensLink;
+        private boolean isConnected;
+
+        TelemetryListener(MavLinkConnection connection, boolean reopensLink) {
+            this.connection = connection;
+            this.reopensLink = reopensLink;
+        }
+
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public synchronized void onConnect(long connectionTime) {
+            isConnected = true;
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+            if (packet.msgid != msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT) {
+                return;
+            }
+
+            final int session = new msg_heartbeat(packet).custom_mode;
+            if (session <= FLAPS && firstReceivedTimes[session] == 0) {
+                firstReceivedTimes[session] = System.nanoTime();
+            }
+        }
+
+        @Override
+        public synchronized void onDisconnect(long disconnectionTime) {
+            if (isConnected && !isStopped) {
+                stateResets++;
+            }
+            isConnected = false;
+
+            if (reopensLink && !isStopped) {
+                new Thread("ReconnectBenchmark-Reconnect") {
+                    @Override
+                    public void run() {
+                        try {
+                            Thread.sleep(MANUAL_RECONNECT_DELAY_MILLIS);
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+
+                        if (!isStopped) {
+                            connection.connect();
+                        }
+                    }
+                }.start();
+            }
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+        }
+    }
+
+    private static class LoopbackTcpConnection extends TcpConnection {
+
+        private final int port;
+
+        LoopbackTcpConnection(int port) {
+            this.port = port;
+        }
+
+        @Override
+        protected int loadServerPort() {
+            return port;
+        }
+
+        @Override
+        protected String loadServerIP() {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+    }
+
+    /**
+     * Connection over a blocking socket, like the bluetooth one.
+     */
+    private static class BlockingSocketConnection extends MavLinkConnection {
+
+        private final int port;
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+
+        BlockingSocketConnection(int port) {
+            this.port = port;
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+
+        @Override
+        protected void openConnection() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = socket.getInputStream();
+            out = socket.getOutputStream();
+            onConnectionOpened();
+        }
+
+        @Override
+        protected int readDataBlock(byte[] buffer) throws IOException {
+            final int length = in.read(buffer);
+            if (length < 0) {
+                throw new EOFException("Connection closed by the server.");
+            }
+            return length;
+        }
+
+        @Override
+        protected void sendBuffer(byte[] buffer) throws IOException {
+            out.write(buffer);
+        }
+
+        @Override
+        protected void closeConnection() throws IOException {
+            if (socket != null) {
+                socket.close();
+            }
+        }
+
+        @Override
+        protected void loadPreferences() {
+        }
+
+        @Override
+        public int getConnectionType() {
+            return MavLinkConnectionTypes.MAVLINK_CONNECTION_BLUETOOTH;
+        }
+    }
+}
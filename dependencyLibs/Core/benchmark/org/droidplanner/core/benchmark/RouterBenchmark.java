@@ -0,0 +1,275 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.MAVLinkPacketPool;
+import com.MAVLink.Messages.MAVLinkStats;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_attitude;
+
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.MavLinkRouter;
+import org.droidplanner.core.MAVLink.connection.TcpConnection;
+import org.droidplanner.core.model.Logger;
+
+import com.sun.management.OperatingSystemMXBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Forwards attitude messages from a stand-in vehicle to a stand-in ground
+ * station, both on loopback TCP sockets, through two TCP connections.
+ * Measures the forwarding latency of a paced stream, from the write by the
+ * vehicle to the read by the ground station, then the throughput of a burst,
+ * and the CPU time spent by the process for each frame of the burst.
+ *
+ * Runs with the frames forwarded by the {@link MavLinkRouter}, and decoded by
+ * a listener then encoded again, as a forwarding app would.
+ */
+public class RouterBenchmark implements Runnable {
+
+    private static final int PACED_FRAMES = 2000;
+    private static final long PACING_NANOS = 1000000;
+    private static final int BURST_FRAMES = 200000;
+    private static final int FRAMES_PER_WRITE = 50;
+    private static final long IDLE_TIMEOUT_MILLIS = 1000;
+
+    private static final OperatingSystemMXBean OS = (OperatingSystemMXBean) ManagementFactory
+            .getOperatingSystemMXBean();
+
+    private static final int FRAME_LENGTH = new msg_attitude().pack().encodePacket().length;
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %10s %10s %10s %12s %12s %14s", "", "p50 us", "p99 us",
+                    "max us", "frames/s", "delivered", "cpu ns/frame"));
+            // Warms up both paths first.
+            measure("warmup", true, false);
+            measure("warmup", false, false);
+            measure("router", true, true);
+            measure("decode", false, true);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String label, boolean routed, boolean print) throws Exception {
+        final ServerSocketChannel vehicleServer = open();
+        final ServerSocketChannel gcsServer = open();
+        final MavLinkConnection vehicleLink = new LoopbackTcpConnection(vehicleServer.socket().getLocalPort());
+        final MavLinkConnection gcsLink = new LoopbackTcpConnection(gcsServer.socket().getLocalPort());
+
+        if (routed) {
+            final MavLinkRouter router = new MavLinkRouter();
+            router.addLink(vehicleLink);
+            router.addLink(gcsLink);
+        } else {
+            vehicleLink.addMavLinkConnectionListener("benchmark", new DecodingForwarder(gcsLink));
+        }
+
+        vehicleLink.connect();
+        gcsLink.connect();
+        final SocketChannel vehicle = vehicleServer.accept();
+        final SocketChannel gcs = gcsServer.accept();
+        awaitConnected(vehicleLink);
+        awaitConnected(gcsLink);
+
+        final int frames = PACED_FRAMES + BURST_FRAMES;
+        final long[] sentTimes = new long[frames];
+        final GroundStation station = new GroundStation(gcs, frames);
+        station.start();
+        try {
+            final msg_attitude attitude = new msg_attitude();
+            for (int i = 0; i < PACED_FRAMES; i++) {
+                sentTimes[i] = System.nanoTime();
+                write(vehicle, attitude, i, 1);
+                LockSupport.parkNanos(PACING_NANOS);
+            }
+
+            // Lets the paced frames through before the burst.
+            Thread.sleep(200);
+            final long burstStart = System.nanoTime();
+            final long burstCpuStart = OS.getProcessCpuTime();
+            for (int i = PACED_FRAMES; i < frames; i += FRAMES_PER_WRITE) {
+                write(vehicle, attitude, i, FRAMES_PER_WRITE);
+            }
+            station.join();
+            final long burstCpu = OS.getProcessCpuTime() - burstCpuStart;
+
+            final long[] latencies = new long[PACED_FRAMES];
+            int count = 0;
+            for (int i = 0; i < PACED_FRAMES; i++) {
+                if (station.receivedTimes[i] != 0) {
+                    latencies[count++] = station.receivedTimes[i] - sentTimes[i];
+                }
+            }
+            Arrays.sort(latencies, 0, count);
+
+            final double burstSeconds = (station.lastReceivedTime - burstStart) / 1E9;
+            if (print && count > 0) {
+                final int burstReceived = station.received - count;
+                System.out.println(String.format("%-10s %10.0f %10.0f %10.0f %12.0f %12s %14d", label,
+                        latencies[count / 2] / 1E3, latencies[count * 99 / 100] / 1E3, latencies[count - 1] / 1E3,
+                        burstReceived / burstSeconds, station.received + "/" + frames,
+                        burstCpu / Math.max(burstReceived, 1)));
+            }
+        } finally {
+            vehicleLink.disconnect();
+            gcsLink.disconnect();
+            vehicle.close();
+            gcs.close();
+            vehicleServer.close();
+            gcsServer.close();
+        }
+    }
+
+    private static ServerSocketChannel open() throws IOException {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        return server;
+    }
+
+    private static void awaitConnected(MavLinkConnection connection) throws InterruptedException {
+        while (connection.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Writes attitude frames whose time is their index in the stream.
+     */
+    private static void write(SocketChannel vehicle, msg_attitude attitude, int first, int count)
+            throws IOException {
+        final ByteBuffer data = ByteBuffer.allocate(count * FRAME_LENGTH);
+        for (int i = first; i < first + count; i++) {
+            attitude.time_boot_ms = i;
+            final MAVLinkPacket packet = attitude.pack();
+            packet.seq = i & 0xFF;
+            data.put(packet.encodePacket());
+        }
+
+        data.flip();
+        while (data.hasRemaining()) {
+            vehicle.write(data);
+        }
+    }
+
+    /**
+     * Reads the forwarded frames, and records when each one is received,
+     * until they're all received or the stream stops.
+     */
+    private static class GroundStation extends Thread implements Parser.PacketListener {
+
+        final long[] receivedTimes;
+        volatile int received;
+        volatile long lastReceivedTime;
+
+        private final SocketChannel peer;
+        private long receiveTime;
+
+        GroundStation(SocketChannel peer, int frames) throws IOException {
+            super("RouterBenchmark-GroundStation");
+            this.peer = peer;
+            receivedTimes = new long[frames];
+            peer.socket().setSoTimeout((int) IDLE_TIMEOUT_MILLIS);
+        }
+
+        @Override
+        public void run() {
+            final Parser parser = new Parser(new MAVLinkPacketPool(), new MAVLinkStats());
+            final byte[] buffer = new byte[64 * 1024];
+            try {
+                // Read through the socket stream, which times out when idle.
+                final InputStream in = peer.socket().getInputStream();
+                int length;
+                while (received < receivedTimes.length && (length = in.read(buffer)) >= 0) {
+                    receiveTime = System.nanoTime();
+                    parser.parse(buffer, 0, length, this);
+                }
+            } catch (IOException e) {
+                // Timed out, or closed.
+            }
+        }
+
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            if (packet.msgid == msg_attitude.MAVLINK_MSG_ID_ATTITUDE) {
+                // The time is the first field of the payload.
+                receivedTimes[packet.payload.getInt(0)] = receiveTime;
+                received++;
+                lastReceivedTime = receiveTime;
+            }
+        }
+    }
+
+    /**
+     * Decodes the received packets, then sends them encoded again.
+     */
+    private static class DecodingForwarder implements MavLinkConnectionListener {
+
+        private final MavLinkConnection destination;
+
+        DecodingForwarder(MavLinkConnection destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public void onConnect(long connectionTime) {
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+            destination.sendMavMessage(packet.unpack(), packet.seq);
+        }
+
+        @Override
+        public void onDisconnect(long disconnectionTime) {
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+        }
+    }
+
+    private static class LoopbackTcpConnection extends TcpConnection {
+
+        private final int port;
+
+        LoopbackTcpConnection(int port) {
+            this.port = port;
+        }
+
+        @Override
+        protected int loadServerPort() {
+            return port;
+        }
+
+        @Override
+        protected String loadServerIP() {
+            return InetAddress.getLoopbackAddress().getHostAddress();
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_param_request_read;
+import com.MAVLink.common.msg_rc_channels_override;
+import com.MAVLink.enums.MAV_CMD;
+
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends commands and RC overrides through a simulated 57600 bauds serial
+ * link, while parameter requests are sent at about three times the link
+ * capacity, and measures the latency from the send of a command or override
+ * to the time the simulated link transmitted it.
+ *
+ * The simulated link takes writes into a device buffer drained at the link
+ * rate, and blocks them while it's full, like a serial adapter feeding a
+ * telemetry radio. Runs with the link capacity unset, so the packets are
+ * written into the device buffer as fast as it takes them, then set.
+ */
+public class SlowLinkBenchmark implements Runnable {
+
+    private static final int BAUD_RATE = 57600;
+    private static final int LINK_CAPACITY = BAUD_RATE / 10;
+    private static final int DEVICE_BUFFER_SIZE = 4096;
+
+    private static final long WARMUP_NANOS = 2000000000L;
+    private static final long MEASURED_NANOS = 10000000000L;
+
+    private static final long COMMAND_PERIOD_NANOS = 200000000L;
+    private static final long RC_PERIOD_NANOS = 40000000L;
+    private static final long BULK_PERIOD_NANOS = 100000000L;
+    private static final int BULK_BURST = 60;
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-8s %-8s %10s %10s %10s %10s %12s", "", "", "p50 ms", "p99 ms",
+                    "max ms", "delivered", "bulk B/s"));
+            measure("unpaced", 0);
+            measure("paced", LINK_CAPACITY);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String label, int linkCapacity) throws InterruptedException {
+        final SimulatedSerialConnection connection = new SimulatedSerialConnection();
+        connection.setLinkCapacity(linkCapacity);
+        connection.connect();
+        while (connection.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED) {
+            Thread.sleep(10);
+        }
+
+        final long start = System.nanoTime();
+        final long end = start + WARMUP_NANOS + MEASURED_NANOS;
+        final Thread bulk = new Thread("SlowLinkBenchmark-Bulk") {
+            @Override
+            public void run() {
+                final msg_param_request_read request = new msg_param_request_read();
+                int seq = 0;
+                for (long next = start; next < end; next += BULK_PERIOD_NANOS) {
+                    sleepUntil(next);
+                    for (int i = 0; i < BULK_BURST; i++) {
+                        request.param_index = (short) i;
+                        connection.sendMavMessage(request, seq++ & 0xFF);
+                    }
+                }
+            }
+        };
+        bulk.start();
+
+        final Thread rc = new Thread("SlowLinkBenchmark-RC") {
+            @Override
+            public void run() {
+                final msg_rc_channels_override override = new msg_rc_channels_override();
+                override.target_system = 1;
+                for (long next = start; next < end; next += RC_PERIOD_NANOS) {
+                    sleepUntil(next);
+                    final int index = connection.rcSent.getAndIncrement();
+                    connection.rcSendTimes[index] = System.nanoTime();
+                    override.chan1_raw = (short) index;
+                    connection.sendMavMessage(override, index & 0xFF);
+                }
+            }
+        };
+        rc.start();
+
+        final msg_command_long command = new msg_command_long();
+        command.target_system = 1;
+        command.command = MAV_CMD.MAV_CMD_COMPONENT_ARM_DISARM;
+        for (long next = start; next < end; next += COMMAND_PERIOD_NANOS) {
+            sleepUntil(next);
+            final int index = connection.commandsSent.getAndIncrement();
+            connection.commandSendTimes[index] = System.nanoTime();
+            command.param1 = index;
+            connection.sendMavMessage(command, index & 0xFF);
+        }
+
+        bulk.join();
+        rc.join();
+        // Lets the queued packets drain.
+        Thread.sleep(2000);
+        connection.disconnect();
+        final double elapsed = (System.nanoTime() - start) / 1E9;
+
+        final long measuredFrom = start + WARMUP_NANOS;
+        report(label, "command", connection.commandSendTimes, connection.commandLatencies,
+                connection.commandsSent.get(), measuredFrom, 0);
+        report(label, "rc", connection.rcSendTimes, connection.rcLatencies, connection.rcSent.get(), measuredFrom,
+                connection.bulkBytes.get() / elapsed);
+    }
+
+    private static void report(String label, String kind, long[] sendTimes, long[] latencies, int sent,
+                               long measuredFrom, double bulkRate) {
+        final long[] measured = new long[sent];
+        int count = 0;
+        int delivered = 0;
+        int total = 0;
+        for (int i = 0; i < sent; i++) {
+            if (sendTimes[i] < measuredFrom) {
+                continue;
+            }
+
+            total++;
+            if (latencies[i] > 0) {
+                delivered++;
+                measured[count++] = latencies[i];
+            }
+        }
+
+        Arrays.sort(measured, 0, count);
+        System.out.println(String.format("%-8s %-8s %10.1f %10.1f %10.1f %10s %12s", label, kind,
+                percentile(measured, count, 0.5) / 1E6, percentile(measured, count, 0.99) / 1E6,
+                count == 0 ? 0 : measured[count - 1] / 1E6, delivered + "/" + total,
+                bulkRate == 0 ? "" : String.format("%.0f", bulkRate)));
+    }
+
+    private static long percentile(long[] sorted, int count, double percentile) {
+        return count == 0 ? 0 : sorted[Math.min(count - 1, (int) (count * percentile))];
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                Thread.sleep(remaining / 1000000, (int) (remaining % 1000000));
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Serial link whose device buffer is drained at the link rate. Records
+     * when the commands and RC overrides are transmitted.
+     */
+    private static class SimulatedSerialConnection extends MavLinkConnection {
+
+        private static final int MAX_SENT = 1024;
+
+        final long[] commandSendTimes = new long[MAX_SENT];
+        final long[] commandLatencies = new long[MAX_SENT];
+        final AtomicInteger commandsSent = new AtomicInteger();
+
+        final long[] rcSendTimes = new long[MAX_SENT];
+        final long[] rcLatencies = new long[MAX_SENT];
+        final AtomicInteger rcSent = new AtomicInteger();
+
+        final AtomicInteger bulkBytes = new AtomicInteger();
+
+        /**
+         * Time the device buffer is drained, in nanoseconds.
+         */
+        private long drainedTime;
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+
+        @Override
+        protected void openConnection() throws IOException {
+            drainedTime = System.nanoTime();
+            onConnectionOpened();
+        }
+
+        @Override
+        protected int readDataBlock(byte[] buffer) throws IOException {
+            // Nothing is received.
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return 0;
+        }
+
+        @Override
+        protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+            for (int i = 0; i < count; i++) {
+                sendBuffer(buffers[i]);
+            }
+        }
+
+        /**
+         * Blocks until the frame fits in the device buffer, then records the
+         * time its last byte is transmitted.
+         */
+        @Override
+        protected void sendBuffer(byte[] buffer) throws IOException {
+            final long bufferNanos = DEVICE_BUFFER_SIZE * 1000000000L / LINK_CAPACITY;
+            final long frameNanos = buffer.length * 1000000000L / LINK_CAPACITY;
+
+            long now = System.nanoTime();
+            final long fitsTime = drainedTime + frameNanos - bufferNanos;
+            if (fitsTime > now) {
+                sleepUntil(fitsTime);
+                now = System.nanoTime();
+            }
+
+            drainedTime = Math.max(now, drainedTime) + frameNanos;
+            onTransmitted(buffer, drainedTime);
+        }
+
+        private void onTransmitted(byte[] frame, long transmittedTime) {
+            final ByteBuffer payload = ByteBuffer.wrap(frame, MAVLinkPacket.MAVLINK1_HEADER_LEN,
+                    frame.length - MAVLinkPacket.MAVLINK1_HEADER_LEN).slice().order(ByteOrder.LITTLE_ENDIAN);
+            switch (frame[5] & 0xFF) {
+                case msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG: {
+                    final int index = (int) payload.getFloat(0);
+                    commandLatencies[index] = transmittedTime - commandSendTimes[index];
+                    break;
+                }
+
+                case msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE: {
+                    final int index = payload.getShort(0) & 0xFFFF;
+                    rcLatencies[index] = transmittedTime - rcSendTimes[index];
+                    break;
+                }
+
+                default:
+                    bulkBytes.addAndGet(frame.length);
+                    break;
+            }
+        }
+
+        @Override
+        protected void closeConnection() throws IOException {
+        }
+
+        @Override
+        protected void loadPreferences() {
+        }
+
+        @Override
+        public int getConnectionType() {
+            return MavLinkConnectionTypes.MAVLINK_CONNECTION_USB;
+        }
+    }
+}
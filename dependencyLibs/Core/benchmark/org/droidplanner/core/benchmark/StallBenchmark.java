@@ -0,0 +1,236 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.common.msg_attitude;
+
+import org.droidplanner.core.MAVLink.connection.FrameRing;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
+import org.droidplanner.core.MAVLink.connection.TcpConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends attitude messages from several threads as fast as possible through
+ * a TCP connection whose peer doesn't read, then reads again. Measures the
+ * rate of the sends and of the frames delivered to the peer, the heap growth
+ * since the connection was opened, and the depth and drops of the send queue.
+ *
+ * Runs with the TCP connection served by the event loop, and with a blocking
+ * socket transport written by the sending thread.
+ */
+public class StallBenchmark implements Runnable {
+
+    private static final int PRODUCERS = 2;
+    private static final long STALL_NANOS = 3000000000L;
+    private static final long FLOWING_NANOS = 3000000000L;
+
+    private static final int FRAME_LENGTH = new msg_attitude().pack().encodePacket().length;
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %-8s %12s %12s %10s %8s %10s", "", "link", "sends/s",
+                    "delivered/s", "heap MB", "queued", "dropped"));
+            measure("tcp", false);
+            measure("blocking", true);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(String label, boolean blocking) throws Exception {
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        final int port = server.socket().getLocalPort();
+
+        final MavLinkConnection connection = blocking ? new BlockingSocketConnection(port)
+                : new TcpConnection() {
+            @Override
+            protected int loadServerPort() {
+                return port;
+            }
+
+            @Override
+            protected String loadServerIP() {
+                return InetAddress.getLoopbackAddress().getHostAddress();
+            }
+
+            @Override
+            protected Logger initLogger() {
+                return ConsoleLogger.INSTANCE;
+            }
+        };
+
+        connection.connect();
+        final SocketChannel peer = server.accept();
+        try {
+            final long baseHeap = usedHeap();
+
+            // The peer doesn't read: the socket buffers fill up, then the
+            // connection queues.
+            long sent = send(connection, STALL_NANOS);
+            long dropped = report(label, "stalled", sent, 0, STALL_NANOS, usedHeap() - baseHeap, 0, connection);
+
+            // Runs until the peer is closed.
+            final Drainer drainer = new Drainer(peer);
+            drainer.start();
+            sent = send(connection, FLOWING_NANOS);
+            final long delivered = drainer.bytes.get() / FRAME_LENGTH;
+            report(label, "flowing", sent, delivered, FLOWING_NANOS, usedHeap() - baseHeap, dropped, connection);
+        } finally {
+            connection.disconnect();
+            peer.close();
+            server.close();
+        }
+    }
+
+    /**
+     * @return the count of frames dropped by the send queues so far.
+     */
+    private static long report(String label, String link, long sent, long delivered, long elapsed, long heap,
+                               long previouslyDropped, MavLinkConnection connection) {
+        int depth = 0;
+        long dropped = 0;
+        for (FrameRing.Metrics metrics : connection.getQueueMetrics()) {
+            if (metrics.getName().startsWith("send")) {
+                depth += metrics.getDepth();
+                dropped += metrics.getDroppedCount();
+            }
+        }
+
+        System.out.println(String.format("%-10s %-8s %12.0f %12.0f %10.1f %8d %10d", label, link,
+                sent / (elapsed / 1E9), delivered / (elapsed / 1E9), heap / 1E6, depth, dropped - previouslyDropped));
+        return dropped;
+    }
+
+    private static long send(final MavLinkConnection connection, long duration) throws InterruptedException {
+        final long end = System.nanoTime() + duration;
+        final AtomicLong sent = new AtomicLong();
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int i = 0; i < PRODUCERS; i++) {
+            producers[i] = new Thread("StallBenchmark-Producer") {
+                @Override
+                public void run() {
+                    final msg_attitude attitude = new msg_attitude();
+                    int seq = 0;
+                    long count = 0;
+                    while (System.nanoTime() < end) {
+                        for (int i = 0; i < 100; i++) {
+                            attitude.time_boot_ms = seq;
+                            connection.sendMavMessage(attitude, seq++ & 0xFF);
+                        }
+                        count += 100;
+                    }
+                    sent.addAndGet(count);
+                }
+            };
+            producers[i].start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        return sent.get();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Reads and discards the data received by the peer.
+     */
+    private static class Drainer extends Thread {
+
+        private final SocketChannel peer;
+        final AtomicLong bytes = new AtomicLong();
+
+        Drainer(SocketChannel peer) {
+            super("StallBenchmark-Drainer");
+            this.peer = peer;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            try {
+                int length;
+                while ((length = peer.read(buffer)) >= 0) {
+                    bytes.addAndGet(length);
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                // The peer was closed.
+            }
+        }
+    }
+
+    /**
+     * Connection over a blocking socket, like the bluetooth one.
+     */
+    private static class BlockingSocketConnection extends MavLinkConnection {
+
+        private final int port;
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+
+        BlockingSocketConnection(int port) {
+            this.port = port;
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+
+        @Override
+        protected void openConnection() throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            in = socket.getInputStream();
+            out = socket.getOutputStream();
+            onConnectionOpened();
+        }
+
+        @Override
+        protected int readDataBlock(byte[] buffer) throws IOException {
+            return in.read(buffer);
+        }
+
+        @Override
+        protected void sendBuffer(byte[] buffer) throws IOException {
+            out.write(buffer);
+        }
+
+        @Override
+        protected void closeConnection() throws IOException {
+            if (socket != null) {
+                socket.close();
+            }
+        }
+
+        @Override
+        protected void loadPreferences() {
+        }
+
+        @Override
+        public int getConnectionType() {
+            return MavLinkConnectionTypes.MAVLINK_CONNECTION_BLUETOOTH;
+        }
+    }
+}
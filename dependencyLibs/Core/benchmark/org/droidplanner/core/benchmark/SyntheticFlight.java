@@ -0,0 +1,448 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_global_position_int;
+import com.MAVLink.common.msg_gps_raw_int;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_radio_status;
+import com.MAVLink.common.msg_raw_imu;
+import com.MAVLink.common.msg_rc_channels_raw;
+import com.MAVLink.common.msg_servo_output_raw;
+import com.MAVLink.common.msg_statustext;
+import com.MAVLink.common.msg_sys_status;
+import com.MAVLink.common.msg_vfr_hud;
+import com.MAVLink.enums.MAV_AUTOPILOT;
+import com.MAVLink.enums.MAV_MODE_FLAG;
+import com.MAVLink.enums.MAV_STATE;
+import com.MAVLink.enums.MAV_TYPE;
+
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Telemetry of a copter flying ten minute sorties, as a ground station logs
+ * it, for the benchmarks needing realistic tlogs: on each sortie, it takes
+ * off to a random altitude, flies circles in auto, returns, lands and gets
+ * a fresh battery. The streams are the usual ArduCopter ones, noisy sensors
+ * included, from attitude and raw IMU at 10Hz down to heartbeat and radio
+ * status at 1Hz, with a status text on each mode change. The link is lost
+ * for a few seconds every few minutes, nothing being logged meanwhile, and
+ * the GPS fix degrades now and then.
+ *
+ * The flight is the same for a given seed.
+ */
+class SyntheticFlight {
+
+    static final long START_MICROS = 1400000000000000L;
+
+    static final int TICKS_PER_SECOND = 10;
+    static final long TICK_MICROS = 1000000 / TICKS_PER_SECOND;
+
+    /**
+     * Most records logged on a tick.
+     */
+    static final int MAX_RECORDS_PER_TICK = 16;
+
+    static final int MODE_STABILIZE = 0;
+    static final int MODE_AUTO = 3;
+    static final int MODE_GUIDED = 4;
+    static final int MODE_RTL = 6;
+    static final int MODE_LAND = 9;
+
+    private static final int SORTIE_SECONDS = 600;
+    private static final int TAKEOFF_SECOND = 20;
+    private static final int RTL_SECOND = 450;
+    private static final int LAND_SECOND = 510;
+
+    private static final double HOME_LAT = 47.397742;
+    private static final double HOME_LON = 8.545594;
+    private static final double METERS_PER_DEGREE = 111320;
+    private static final double CRUISE_SPEED = 8;
+    private static final double CIRCLE_RADIUS = 150;
+    private static final double BATTERY_CAPACITY_MAH = 5000;
+
+    private final Random mRandom;
+
+    private final msg_attitude mAttitude = new msg_attitude();
+    private final msg_raw_imu mRawImu = new msg_raw_imu();
+    private final msg_global_position_int mPosition = new msg_global_position_int();
+    private final msg_vfr_hud mVfrHud = new msg_vfr_hud();
+    private final msg_gps_raw_int mGps = new msg_gps_raw_int();
+    private final msg_sys_status mSysStatus = new msg_sys_status();
+    private final msg_rc_channels_raw mRcChannels = new msg_rc_channels_raw();
+    private final msg_servo_output_raw mServoOutput = new msg_servo_output_raw();
+    private final msg_radio_status mRadioStatus = new msg_radio_status();
+    private final msg_heartbeat mHeartbeat = new msg_heartbeat();
+
+    private long mTick = -1;
+    private int mSeq;
+
+    private int mMode = MODE_STABILIZE;
+    private boolean mIsArmed;
+    private boolean mModeChanged;
+    private double mTargetAltitude;
+
+    private double mNorth;
+    private double mEast;
+    private double mAltitude;
+    private double mSpeed;
+    private double mClimb;
+    private double mHeading;
+    private double mRoll;
+
+    private double mConsumedMah;
+    private int mSatellites = 12;
+    private int mGpsDegradedTicks;
+    private int mLinkLostTicks;
+
+    SyntheticFlight(long seed) {
+        mRandom = new Random(seed);
+    }
+
+    /**
+     * Writes the flight to the given writer, until the tlog is at least as
+     * long as the given length.
+     *
+     * @return the count of records written.
+     */
+    static long write(TlogWriter writer, long seed, long length) throws IOException {
+        final SyntheticFlight flight = new SyntheticFlight(seed);
+        final byte[][] records = new byte[MAX_RECORDS_PER_TICK][];
+        long written = 0;
+        long count = 0;
+        while (written < length) {
+            final int ticked = flight.nextTick(records);
+            for (int i = 0; i < ticked; i++) {
+                written += records[i].length;
+            }
+            writer.append(records, ticked, 0);
+            count += ticked;
+        }
+        return count;
+    }
+
+    /**
+     * @return the time of the current tick, in µs since the epoch.
+     */
+    long getTime() {
+        return START_MICROS + mTick * TICK_MICROS;
+    }
+
+    /**
+     * Moves the flight forward by a tick.
+     *
+     * @param records filled with the records logged meanwhile, as built by
+     *                {@link TlogWriter#newRecord}
+     * @return the count of records logged.
+     */
+    int nextTick(byte[][] records) {
+        mTick++;
+        fly();
+
+        if (mLinkLostTicks > 0) {
+            mLinkLostTicks--;
+            return 0;
+        }
+        if (mRandom.nextInt(3000) == 0) {
+            // For 2 to 12 s.
+            mLinkLostTicks = 20 + mRandom.nextInt(100);
+        }
+
+        final long tickInSecond = mTick % TICKS_PER_SECOND;
+        int count = 0;
+        records[count++] = newRecord(count, attitude());
+        records[count++] = newRecord(count, rawImu());
+        if (tickInSecond % 2 == 0) {
+            records[count++] = newRecord(count, position());
+            records[count++] = newRecord(count, vfrHud());
+        }
+        if (tickInSecond % 5 == 1) {
+            records[count++] = newRecord(count, gps());
+            records[count++] = newRecord(count, sysStatus());
+            records[count++] = newRecord(count, rcChannels());
+            records[count++] = newRecord(count, servoOutput());
+        }
+        if (tickInSecond == 3) {
+            records[count++] = newRecord(count, radioStatus());
+        }
+        if (tickInSecond == 0 || mModeChanged) {
+            records[count++] = newRecord(count, heartbeat());
+        }
+        if (mModeChanged) {
+            records[count++] = newRecord(count, statusText("Mode " + getModeName(mMode)));
+            mModeChanged = false;
+        }
+        return count;
+    }
+
+    private byte[] newRecord(int index, MAVLinkMessage message) {
+        final MAVLinkPacket packet = message.pack();
+        packet.sysid = 1;
+        packet.compid = 1;
+        packet.seq = mSeq++ & 0xFF;
+        final byte[] frame = packet.encodePacket();
+        // Spread over the tick, as received.
+        return TlogWriter.newRecord(getTime() + index * 3000 + mRandom.nextInt(2000), frame, frame.length);
+    }
+
+    private static String getModeName(int mode) {
+        switch (mode) {
+            case MODE_AUTO:
+                return "AUTO";
+            case MODE_GUIDED:
+                return "GUIDED";
+            case MODE_RTL:
+                return "RTL";
+            case MODE_LAND:
+                return "LAND";
+            default:
+                return "STABILIZE";
+        }
+    }
+
+    private void setMode(int mode) {
+        if (mode != mMode) {
+            mMode = mode;
+            mModeChanged = true;
+        }
+    }
+
+    /**
+     * Moves the copter as its mode commands.
+     */
+    private void fly() {
+        final double dt = 1.0 / TICKS_PER_SECOND;
+        final long tickInSortie = mTick % (SORTIE_SECONDS * TICKS_PER_SECOND);
+        if (tickInSortie == 0) {
+            mConsumedMah = 0;
+            mTargetAltitude = 30 + mRandom.nextInt(90);
+        } else if (tickInSortie == TAKEOFF_SECOND * TICKS_PER_SECOND) {
+            mIsArmed = true;
+            setMode(MODE_GUIDED);
+        } else if (tickInSortie == RTL_SECOND * TICKS_PER_SECOND) {
+            setMode(MODE_RTL);
+        } else if (tickInSortie == LAND_SECOND * TICKS_PER_SECOND) {
+            setMode(MODE_LAND);
+        }
+
+        double speed = 0;
+        double climb = 0;
+        double turnRate = 0;
+        switch (mMode) {
+            case MODE_GUIDED:
+                climb = 2;
+                if (mAltitude >= mTargetAltitude) {
+                    setMode(MODE_AUTO);
+                }
+                break;
+
+            case MODE_AUTO:
+                speed = CRUISE_SPEED;
+                turnRate = CRUISE_SPEED / CIRCLE_RADIUS;
+                climb = Math.max(-1, Math.min(1, mTargetAltitude - mAltitude));
+                break;
+
+            case MODE_RTL:
+                final double distance = Math.hypot(mNorth, mEast);
+                if (distance > 1) {
+                    speed = Math.min(CRUISE_SPEED, distance);
+                    mHeading = Math.atan2(-mEast, -mNorth);
+                }
+                break;
+
+            case MODE_LAND:
+                climb = -Math.min(1.5, mAltitude);
+                if (mAltitude <= 0) {
+                    mIsArmed = false;
+                    setMode(MODE_STABILIZE);
+                }
+                break;
+        }
+
+        // Gusts.
+        speed = speed > 0 ? speed + mRandom.nextGaussian() * 0.3 : 0;
+        mSpeed = speed;
+        mClimb = climb;
+        mHeading = normalize(mHeading + turnRate * dt);
+        mRoll = Math.atan(speed * turnRate / 9.81) + (mIsArmed ? mRandom.nextGaussian() * 0.02 : 0);
+        mNorth += Math.cos(mHeading) * speed * dt;
+        mEast += Math.sin(mHeading) * speed * dt;
+        mAltitude = Math.max(0, mAltitude + climb * dt);
+
+        mConsumedMah += getCurrent() * 1000 * dt / 3600;
+
+        if (mGpsDegradedTicks > 0) {
+            mGpsDegradedTicks--;
+        } else if (mRandom.nextInt(6000) == 0) {
+            mGpsDegradedTicks = 50 + mRandom.nextInt(300);
+        }
+        if (mRandom.nextInt(50) == 0) {
+            mSatellites = Math.max(8, Math.min(16, mSatellites + mRandom.nextInt(3) - 1));
+        }
+    }
+
+    private static double normalize(double angle) {
+        while (angle > Math.PI) {
+            angle -= 2 * Math.PI;
+        }
+        while (angle < -Math.PI) {
+            angle += 2 * Math.PI;
+        }
+        return angle;
+    }
+
+    private double getCurrent() {
+        return mIsArmed ? 14 + mClimb * 3 + mRandom.nextGaussian() * 0.5 : 0.4;
+    }
+
+    private int getThrottlePwm() {
+        return mIsArmed ? 1450 + (int) (mClimb * 60) + mRandom.nextInt(20) : 1000;
+    }
+
+    private int getTimeBootMs() {
+        return (int) (mTick * TICK_MICROS / 1000);
+    }
+
+    private double noise(double sigma) {
+        return mRandom.nextGaussian() * sigma;
+    }
+
+    private msg_attitude attitude() {
+        mAttitude.time_boot_ms = getTimeBootMs();
+        mAttitude.roll = (float) mRoll;
+        mAttitude.pitch = (float) (-mSpeed * 0.02 + (mIsArmed ? noise(0.02) : 0));
+        mAttitude.yaw = (float) mHeading;
+        mAttitude.rollspeed = (float) noise(0.01);
+        mAttitude.pitchspeed = (float) noise(0.01);
+        mAttitude.yawspeed = (float) noise(0.01);
+        return mAttitude;
+    }
+
+    private msg_raw_imu rawImu() {
+        mRawImu.time_usec = mTick * TICK_MICROS;
+        mRawImu.xacc = (short) noise(mIsArmed ? 30 : 2);
+        mRawImu.yacc = (short) noise(mIsArmed ? 30 : 2);
+        mRawImu.zacc = (short) (-1000 + noise(mIsArmed ? 40 : 2));
+        mRawImu.xgyro = (short) noise(mIsArmed ? 8 : 1);
+        mRawImu.ygyro = (short) noise(mIsArmed ? 8 : 1);
+        mRawImu.zgyro = (short) noise(mIsArmed ? 8 : 1);
+        mRawImu.xmag = (short) (Math.cos(mHeading) * 300 + noise(3));
+        mRawImu.ymag = (short) (-Math.sin(mHeading) * 300 + noise(3));
+        mRawImu.zmag = (short) (-400 + noise(3));
+        return mRawImu;
+    }
+
+    private int getLatitudeE7() {
+        return (int) ((HOME_LAT + mNorth / METERS_PER_DEGREE) * 1E7);
+    }
+
+    private int getLongitudeE7() {
+        return (int) ((HOME_LON + mEast / (METERS_PER_DEGREE * Math.cos(Math.toRadians(HOME_LAT)))) * 1E7);
+    }
+
+    private msg_global_position_int position() {
+        mPosition.time_boot_ms = getTimeBootMs();
+        mPosition.lat = getLatitudeE7();
+        mPosition.lon = getLongitudeE7();
+        mPosition.relative_alt = (int) (mAltitude * 1000);
+        mPosition.alt = mPosition.relative_alt + 488000;
+        mPosition.vx = (short) (Math.cos(mHeading) * mSpeed * 100);
+        mPosition.vy = (short) (Math.sin(mHeading) * mSpeed * 100);
+        mPosition.vz = (short) (-mClimb * 100);
+        mPosition.hdg = (short) ((Math.toDegrees(mHeading) + 360) % 360 * 100);
+        return mPosition;
+    }
+
+    private msg_vfr_hud vfrHud() {
+        mVfrHud.airspeed = (float) (mSpeed + noise(0.2));
+        mVfrHud.groundspeed = (float) mSpeed;
+        mVfrHud.alt = (float) (mAltitude + 488);
+        mVfrHud.climb = (float) mClimb;
+        mVfrHud.heading = (short) ((Math.toDegrees(mHeading) + 360) % 360);
+        mVfrHud.throttle = (short) (mIsArmed ? 45 + mClimb * 5 : 0);
+        return mVfrHud;
+    }
+
+    private msg_gps_raw_int gps() {
+        final boolean degraded = mGpsDegradedTicks > 0;
+        mGps.time_usec = getTime();
+        mGps.lat = getLatitudeE7() + (int) noise(degraded ? 200 : 20);
+        mGps.lon = getLongitudeE7() + (int) noise(degraded ? 200 : 20);
+        mGps.alt = (int) (mAltitude * 1000) + 488000;
+        mGps.eph = (short) (degraded ? 350 + mRandom.nextInt(300) : 70 + mRandom.nextInt(40));
+        mGps.epv = (short) (mGps.eph * 3 / 2);
+        mGps.vel = (short) (mSpeed * 100);
+        mGps.cog = (short) ((Math.toDegrees(mHeading) + 360) % 360 * 100);
+        mGps.fix_type = (byte) (degraded ? 2 : 3);
+        mGps.satellites_visible = (byte) (degraded ? 4 + mRandom.nextInt(2) : mSatellites);
+        return mGps;
+    }
+
+    private msg_sys_status sysStatus() {
+        final double remaining = 1 - mConsumedMah / BATTERY_CAPACITY_MAH;
+        mSysStatus.onboard_control_sensors_present = 0x1fffff;
+        mSysStatus.onboard_control_sensors_enabled = 0x1fffff;
+        mSysStatus.onboard_control_sensors_health = 0x1fffff;
+        mSysStatus.load = (short) (200 + mRandom.nextInt(50));
+        mSysStatus.voltage_battery = (short) (14000 + remaining * 2600 - (mIsArmed ? 400 : 0) + noise(20));
+        mSysStatus.current_battery = (short) (getCurrent() * 100);
+        mSysStatus.battery_remaining = (byte) Math.round(remaining * 100);
+        return mSysStatus;
+    }
+
+    private msg_rc_channels_raw rcChannels() {
+        mRcChannels.time_boot_ms = getTimeBootMs();
+        mRcChannels.chan1_raw = (short) (1500 + noise(3));
+        mRcChannels.chan2_raw = (short) (1500 + noise(3));
+        mRcChannels.chan3_raw = (short) getThrottlePwm();
+        mRcChannels.chan4_raw = (short) (1500 + noise(3));
+        mRcChannels.chan5_raw = (short) (1100 + mMode * 80);
+        mRcChannels.chan6_raw = 1000;
+        mRcChannels.chan7_raw = 1000;
+        mRcChannels.chan8_raw = 1000;
+        mRcChannels.rssi = (byte) 255;
+        return mRcChannels;
+    }
+
+    private msg_servo_output_raw servoOutput() {
+        final int throttle = getThrottlePwm();
+        mServoOutput.time_usec = (int) (mTick * TICK_MICROS);
+        mServoOutput.servo1_raw = (short) (throttle + (mIsArmed ? noise(15) : 0));
+        mServoOutput.servo2_raw = (short) (throttle + (mIsArmed ? noise(15) : 0));
+        mServoOutput.servo3_raw = (short) (throttle + (mIsArmed ? noise(15) : 0));
+        mServoOutput.servo4_raw = (short) (throttle + (mIsArmed ? noise(15) : 0));
+        return mServoOutput;
+    }
+
+    private msg_radio_status radioStatus() {
+        final double distance = Math.hypot(mNorth, mEast);
+        mRadioStatus.rssi = (byte) (200 - distance / 10 + noise(4));
+        mRadioStatus.remrssi = (byte) (195 - distance / 10 + noise(4));
+        mRadioStatus.noise = (byte) (40 + mRandom.nextInt(10));
+        mRadioStatus.remnoise = (byte) (42 + mRandom.nextInt(10));
+        mRadioStatus.txbuf = 100;
+        return mRadioStatus;
+    }
+
+    private msg_heartbeat heartbeat() {
+        mHeartbeat.type = (byte) MAV_TYPE.MAV_TYPE_QUADROTOR;
+        mHeartbeat.autopilot = (byte) MAV_AUTOPILOT.MAV_AUTOPILOT_ARDUPILOTMEGA;
+        mHeartbeat.custom_mode = mMode;
+        mHeartbeat.base_mode = (byte) (MAV_MODE_FLAG.MAV_MODE_FLAG_CUSTOM_MODE_ENABLED
+                | (mIsArmed ? MAV_MODE_FLAG.MAV_MODE_FLAG_SAFETY_ARMED : 0));
+        mHeartbeat.system_status = (byte) (mIsArmed ? MAV_STATE.MAV_STATE_ACTIVE : MAV_STATE.MAV_STATE_STANDBY);
+        mHeartbeat.mavlink_version = 3;
+        return mHeartbeat;
+    }
+
+    private static msg_statustext statusText(String text) {
+        final msg_statustext statustext = new msg_statustext();
+        final byte[] bytes = text.getBytes();
+        System.arraycopy(bytes, 0, statustext.text, 0, Math.min(bytes.length, statustext.text.length));
+        return statustext;
+    }
+}
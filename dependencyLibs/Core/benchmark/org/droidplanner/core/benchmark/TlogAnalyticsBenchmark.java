@@ -0,0 +1,159 @@
+package org.droidplanner.core.benchmark;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+import org.droidplanner.core.MAVLink.tlog.analytics.TlogAnalyzer;
+import org.droidplanner.core.MAVLink.tlog.analytics.TlogSummary;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes all the flight aggregates over a set of synthetic tlogs, the page
+ * cache warm, in GB of tlog per minute:
+ * <ul>
+ * <li>on a single thread, then on a thread per core,</li>
+ * <li>over compressed tlogs, in GB of plain tlog per minute,</li>
+ * <li>over the recorded tlogs given as a comma separated list in the
+ * {@code benchmark.tlogs} system property.</li>
+ * </ul>
+ * The set is then analyzed again, once all its summaries are cached, and once
+ * a new tlog is added to it.
+ */
+public class TlogAnalyticsBenchmark implements Runnable {
+
+    private static final int TLOGS = 16;
+    private static final long TLOG_LENGTH = 128L * 1024 * 1024;
+    private static final int COMPRESSED_TLOGS = 2;
+
+    @Override
+    public void run() {
+        final File directory;
+        try {
+            directory = File.createTempFile("TlogAnalyticsBenchmark", "");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try {
+            if (!directory.delete() || !directory.mkdir()) {
+                throw new IOException("Unable to create " + directory);
+            }
+            measure(directory);
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            final File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            directory.delete();
+        }
+    }
+
+    private static void print(String label, String value) {
+        System.out.println(String.format("%-30s %16s", label, value));
+    }
+
+    private static File writeTlog(File directory, int seed, String extension) throws IOException {
+        final File file = new File(directory, String.format("flight%02d%s", seed, extension));
+        final TlogWriter writer = TlogWriter.create(file.getPath(), new TlogDurability(1, TimeUnit.SECONDS, false));
+        SyntheticFlight.write(writer, seed, TLOG_LENGTH);
+        writer.close();
+        return file;
+    }
+
+    private void measure(File directory) throws IOException, InterruptedException {
+        final List<File> tlogs = new ArrayList<>();
+        long length = 0;
+        for (int i = 0; i < TLOGS; i++) {
+            final File tlog = writeTlog(directory, i, ".tlog");
+            tlogs.add(tlog);
+            length += tlog.length();
+        }
+        print("log set", TLOGS + " tlogs, " + (length >> 20) + "MB");
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final TlogAnalyzer analyzer = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+        analyzer.setCacheEnabled(false);
+
+        // Warms up the code.
+        analyzer.setThreadsCount(1);
+        analyzer.analyze(tlogs.subList(0, 2));
+
+        print("1 thread, GB/min", String.format("%.1f", analyze(analyzer, tlogs, length)));
+        if (cores > 1) {
+            analyzer.setThreadsCount(cores);
+            print(cores + " threads, GB/min", String.format("%.1f", analyze(analyzer, tlogs, length)));
+        }
+
+        // Caches the summaries, then analyzes the set again.
+        final TlogAnalyzer caching = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+        caching.analyzeDirectory(directory);
+        long start = System.nanoTime();
+        List<TlogSummary> summaries = caching.analyzeDirectory(directory);
+        print("all cached, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+        checkComputed(summaries, 0);
+
+        writeTlog(directory, TLOGS, ".tlog");
+        start = System.nanoTime();
+        summaries = caching.analyzeDirectory(directory);
+        print("one new tlog, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+        checkComputed(summaries, 1);
+
+        final List<File> compressed = new ArrayList<>();
+        long rawLength = 0;
+        for (int i = 0; i < COMPRESSED_TLOGS; i++) {
+            final File tlog = writeTlog(directory, TLOGS + 1 + i, CompressedTlog.FILE_EXTENSION);
+            compressed.add(tlog);
+            // Same flights as the plain ones of the same length.
+            rawLength += TLOG_LENGTH;
+        }
+        analyzer.setThreadsCount(cores);
+        print("tlogz, GB/min", String.format("%.1f", analyze(analyzer, compressed, rawLength)));
+
+        final String recorded = System.getProperty("benchmark.tlogs");
+        if (recorded != null && recorded.length() > 0) {
+            for (String path : recorded.split(",")) {
+                final File tlog = new File(path);
+                print(tlog.getName() + ", GB/min", String.format("%.1f", analyze(analyzer,
+                        Collections.singletonList(tlog), tlog.length())));
+            }
+        }
+    }
+
+    /**
+     * @return the throughput of the analysis of the given tlogs, in GB/min.
+     */
+    private static double analyze(TlogAnalyzer analyzer, List<File> tlogs, long length)
+            throws InterruptedException {
+        final long start = System.nanoTime();
+        final List<TlogSummary> summaries = analyzer.analyze(tlogs);
+        final long nanos = System.nanoTime() - start;
+        for (TlogSummary summary : summaries) {
+            if (summary.getError() != null) {
+                throw new IllegalStateException(summary.getError());
+            }
+        }
+        return length / 1E9 / (nanos / 6E10);
+    }
+
+    private static void checkComputed(List<TlogSummary> summaries, int expected) {
+        int computed = 0;
+        for (TlogSummary summary : summaries) {
+            if (!summary.isCached()) {
+                computed++;
+            }
+        }
+        if (computed != expected) {
+            throw new IllegalStateException(computed + " tlogs analyzed, " + expected + " expected.");
+        }
+    }
+}
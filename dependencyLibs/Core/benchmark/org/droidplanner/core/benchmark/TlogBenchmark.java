@@ -0,0 +1,218 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_statustext;
+
+import org.droidplanner.core.MAVLink.connection.FrameRing;
+import org.droidplanner.core.MAVLink.connection.SpscFrameRing;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs frames received at a sustained rate, from 1k to 100k frames/s, through
+ * a logging queue as a connection does, either with the stream the logging
+ * thread used to write each timestamp and frame to, or with a
+ * {@link TlogWriter}, committing its buffer every second or on each batch.
+ *
+ * Measures the CPU time the logging thread spends per frame, the longest
+ * stall of the logging thread on a write, the frames dropped because it
+ * didn't keep up, and the time taken to close the log, forcing it to the
+ * storage device.
+ */
+public class TlogBenchmark implements Runnable {
+
+    private static final int[] RATES = {1000, 10000, 100000};
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long BURST_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int BATCH_SIZE = 64;
+
+    private static final int MODE_STREAM = 0;
+    private static final int MODE_GROUP = 1;
+    private static final int MODE_GROUP_EACH_BATCH = 2;
+    private static final String[] MODE_LABELS = {"stream", "group 1s", "group 0"};
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-10s %8s %10s %12s %10s %10s", "", "rate", "ns/frame",
+                    "max stall ms", "dropped", "close ms"));
+            for (int rate : RATES) {
+                for (int mode = 0; mode < MODE_LABELS.length; mode++) {
+                    measure(mode, rate);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[][] newFrames() {
+        final msg_attitude attitude = new msg_attitude();
+        final msg_statustext statustext = new msg_statustext();
+        final byte[][] frames = new byte[16][];
+        for (int i = 0; i < frames.length; i++) {
+            final MAVLinkPacket packet = i % 8 == 0 ? statustext.pack() : attitude.pack();
+            packet.seq = i;
+            frames[i] = packet.encodePacket();
+        }
+        return frames;
+    }
+
+    private void measure(int mode, int rate) throws Exception {
+        final File file = File.createTempFile("TlogBenchmark", ".tlog");
+        final FrameRing ring = new SpscFrameRing("log", 4096, FrameRing.OverflowPolicy.DROP_NEWEST);
+        final LoggingThread logging = new LoggingThread(mode, ring, file.getPath());
+        logging.start();
+
+        try {
+            final byte[][] frames = newFrames();
+            final int framesPerBurst = (int) (rate * BURST_PERIOD_NANOS / TimeUnit.SECONDS.toNanos(1));
+            final long start = System.nanoTime();
+            int sent = 0;
+            int dropped = 0;
+            for (long burst = 0; burst * BURST_PERIOD_NANOS < DURATION_NANOS; burst++) {
+                final long timeMicros = System.currentTimeMillis() * 1000;
+                for (int i = 0; i < framesPerBurst; i++) {
+                    final byte[] frame = frames[sent++ % frames.length];
+                    // Copied as the connection does when the frame is parsed.
+                    final byte[] logged = mode == MODE_STREAM
+                            ? Arrays.copyOf(frame, frame.length)
+                            : TlogWriter.newRecord(timeMicros, frame, frame.length);
+                    if (!ring.offer(logged)) {
+                        dropped++;
+                    }
+                }
+                LockSupport.parkNanos(start + (burst + 1) * BURST_PERIOD_NANOS - System.nanoTime());
+            }
+
+            logging.interrupt();
+            logging.join();
+            if (logging.error != null) {
+                throw logging.error;
+            }
+
+            System.out.println(String.format("%-10s %8d %10.0f %12.2f %10d %10.2f", MODE_LABELS[mode], rate,
+                    (double) logging.cpuNanos / (sent - dropped), logging.maxStallNanos / 1E6, dropped,
+                    logging.closeNanos / 1E6));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Logs the queued frames, as the logging thread of a connection does.
+     */
+    private class LoggingThread extends Thread {
+
+        final int mode;
+        final FrameRing ring;
+        final String path;
+
+        volatile long cpuNanos;
+        volatile long maxStallNanos;
+        volatile long closeNanos;
+        volatile Exception error;
+
+        LoggingThread(int mode, FrameRing ring, String path) {
+            super("TlogBenchmark-logging");
+            this.mode = mode;
+            this.ring = ring;
+            this.path = path;
+        }
+
+        @Override
+        public void run() {
+            final long cpuStart = threads.getCurrentThreadCpuTime();
+            try {
+                if (mode == MODE_STREAM) {
+                    logToStream();
+                } else {
+                    logToWriter();
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        }
+
+        private void logToStream() throws IOException {
+            final FileOutputStream file = new FileOutputStream(path);
+            final BufferedOutputStream out = new BufferedOutputStream(file);
+            final ByteBuffer logBuffer = ByteBuffer.allocate(Long.SIZE / Byte.SIZE);
+            final byte[][] batch = new byte[BATCH_SIZE][];
+            try {
+                while (true) {
+                    final int count = ring.drainTo(batch, 0);
+                    if (count == 0) {
+                        FrameRing.awaitFrames(ring);
+                        continue;
+                    }
+
+                    final long start = System.nanoTime();
+                    logBuffer.clear();
+                    logBuffer.putLong(System.currentTimeMillis() * 1000);
+                    for (int i = 0; i < count; i++) {
+                        out.write(logBuffer.array());
+                        out.write(batch[i]);
+                    }
+                    maxStallNanos = Math.max(maxStallNanos, System.nanoTime() - start);
+                    Arrays.fill(batch, 0, count, null);
+                }
+            } catch (InterruptedException e) {
+                // Done.
+            } finally {
+                final long start = System.nanoTime();
+                out.flush();
+                file.getFD().sync();
+                out.close();
+                closeNanos = System.nanoTime() - start;
+            }
+        }
+
+        private void logToWriter() throws IOException {
+            final TlogDurability durability = mode == MODE_GROUP ? TlogDurability.DEFAULT
+                    : new TlogDurability(0, TimeUnit.SECONDS, true);
+            final TlogWriter writer = new TlogWriter(path, durability);
+            final byte[][] batch = new byte[BATCH_SIZE][];
+            try {
+                while (true) {
+                    final int count = ring.drainTo(batch, 0);
+                    final long now = System.nanoTime();
+                    writer.append(batch, count, now);
+                    writer.commitIfDue(now);
+                    maxStallNanos = Math.max(maxStallNanos, System.nanoTime() - now);
+
+                    if (count == 0) {
+                        final long deadline = writer.getCommitDeadline();
+                        if (deadline == Long.MAX_VALUE) {
+                            FrameRing.awaitFrames(ring);
+                        } else if (deadline > now) {
+                            FrameRing.awaitFrames(deadline - now, ring);
+                        }
+                    }
+                    Arrays.fill(batch, 0, count, null);
+                }
+            } catch (InterruptedException e) {
+                // Done.
+            } finally {
+                final long start = System.nanoTime();
+                writer.close();
+                closeNanos = System.nanoTime() - start;
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.MAVLinkPacketPool;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_global_position_int;
+import com.MAVLink.common.msg_gps_raw_int;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_rc_channels_raw;
+import com.MAVLink.common.msg_statustext;
+import com.MAVLink.common.msg_sys_status;
+import com.MAVLink.common.msg_vfr_hud;
+
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogReader;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs a 256MB tlog through a {@link TlogWriter}, a telemetry stream of 1000
+ * frames/s with a heartbeat every second, then reads it back with a
+ * {@link TlogReader}, the page cache warm:
+ * <ul>
+ * <li>opens it with the index written while logging, then without index,</li>
+ * <li>seeks to random times,</li>
+ * <li>counts the heartbeats, in the whole log and in a minute of it,</li>
+ * <li>iterates over the heartbeats, parsing them, and over all the
+ * records.</li>
+ * </ul>
+ * Counting the heartbeats by parsing the whole log, as each analysis did
+ * before, is measured as reference.
+ */
+public class TlogIndexBenchmark implements Runnable {
+
+    private static final long TARGET_LENGTH = 256L * 1024 * 1024;
+    private static final int FRAMES_PER_SECOND = 1000;
+    private static final long START_MICROS = 1400000000000000L;
+    private static final int SEEKS = 1000000;
+
+    @Override
+    public void run() {
+        File file = null;
+        try {
+            file = File.createTempFile("TlogIndexBenchmark", ".tlog");
+            measure(file);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (file != null) {
+                file.delete();
+                new File(TlogIndex.getIndexPath(file.getPath())).delete();
+            }
+        }
+    }
+
+    /**
+     * @return the frames streamed each second: the heartbeat first.
+     */
+    private static byte[][] newSecondOfFrames() {
+        final MAVLinkMessage[] messages = new MAVLinkMessage[FRAMES_PER_SECOND];
+        for (int i = 0; i < messages.length; i++) {
+            if (i == 0) {
+                messages[i] = new msg_heartbeat();
+            } else if (i % 500 == 1) {
+                messages[i] = new msg_statustext();
+            } else if (i % 100 == 2) {
+                messages[i] = new msg_sys_status();
+            } else if (i % 20 == 3) {
+                messages[i] = new msg_gps_raw_int();
+            } else if (i % 10 == 4) {
+                messages[i] = new msg_global_position_int();
+            } else if (i % 10 == 5) {
+                messages[i] = new msg_vfr_hud();
+            } else if (i % 10 == 6) {
+                messages[i] = new msg_rc_channels_raw();
+            } else {
+                messages[i] = new msg_attitude();
+            }
+        }
+
+        final byte[][] frames = new byte[messages.length][];
+        for (int i = 0; i < messages.length; i++) {
+            final MAVLinkPacket packet = messages[i].pack();
+            packet.sysid = 1;
+            packet.compid = 1;
+            packet.seq = i & 0xFF;
+            frames[i] = packet.encodePacket();
+        }
+        return frames;
+    }
+
+    private static void print(String label, String value) {
+        System.out.println(String.format("%-34s %14s", label, value));
+    }
+
+    private void measure(File file) throws IOException {
+        final String path = file.getPath();
+        final File indexFile = new File(TlogIndex.getIndexPath(path));
+
+        // Logs the stream.
+        final byte[][] frames = newSecondOfFrames();
+        final TlogWriter writer = new TlogWriter(path, new TlogDurability(1, TimeUnit.SECONDS, false));
+        final byte[][] batch = new byte[64][];
+        long records = 0;
+        long length = 0;
+        long start = System.nanoTime();
+        while (length < TARGET_LENGTH) {
+            for (int i = 0; i < batch.length; i++, records++) {
+                final byte[] frame = frames[(int) (records % frames.length)];
+                batch[i] = TlogWriter.newRecord(START_MICROS + records * 1000000 / FRAMES_PER_SECOND, frame,
+                        frame.length);
+                length += batch[i].length;
+            }
+            writer.append(batch, batch.length, 0);
+        }
+        writer.close();
+        final long writeNanos = System.nanoTime() - start;
+        print("tlog", (length >> 20) + "MB, " + records + " records");
+        print("index", (indexFile.length() >> 20) + "MB");
+        print("write, ns/record", String.format("%.0f", (double) writeNanos / records));
+
+        // Reference: the heartbeats counted by parsing the whole log.
+        start = System.nanoTime();
+        final int parsedHeartbeats = countByParsing(file, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+        print("count by parsing, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+
+        start = System.nanoTime();
+        TlogReader reader = TlogReader.open(path);
+        print("open with index, ms", String.format("%.2f", (System.nanoTime() - start) / 1E6));
+
+        indexFile.delete();
+        start = System.nanoTime();
+        reader = TlogReader.open(path);
+        print("open without index, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+
+        final long duration = (long) reader.getRecordsCount() * 1000000 / FRAMES_PER_SECOND;
+        final Random random = new Random(5);
+        long checksum = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < SEEKS; i++) {
+            final int record = reader.seek(START_MICROS + (long) (random.nextDouble() * duration));
+            if (record < reader.getRecordsCount()) {
+                checksum += reader.getTime(record);
+            }
+        }
+        print("seek, ns", String.format("%.0f", (double) (System.nanoTime() - start) / SEEKS));
+
+        start = System.nanoTime();
+        final int heartbeats = reader.count(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+        print("count all types, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+        if (heartbeats != parsedHeartbeats) {
+            throw new IllegalStateException(heartbeats + " heartbeats indexed, " + parsedHeartbeats + " parsed.");
+        }
+
+        final long from = START_MICROS + duration / 2;
+        start = System.nanoTime();
+        final int minuteHeartbeats = reader.count(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, from,
+                from + TimeUnit.MINUTES.toMicros(1));
+        print("count in a minute, ms", String.format("%.2f", (System.nanoTime() - start) / 1E6));
+
+        final Parser parser = new Parser(new MAVLinkPacketPool(), new MAVLinkStats());
+        final byte[] buffer = new byte[MAVLinkPacket.MAVLINK2_HEADER_LEN + 255 + MAVLinkPacket.MAVLINK_CHECKSUM_LEN
+                + MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN];
+        final CountingListener listener = new CountingListener();
+        start = System.nanoTime();
+        final TlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE,
+                msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+        while (cursor.next()) {
+            parser.parse(buffer, 0, cursor.readFrame(buffer), listener);
+        }
+        print("parse the heartbeats, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+
+        start = System.nanoTime();
+        final TlogReader.Cursor all = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        while (all.next()) {
+            checksum += all.getMsgId() + all.getTime();
+        }
+        print("iterate over all records, ms", String.format("%.1f", (System.nanoTime() - start) / 1E6));
+
+        if (listener.count != heartbeats || checksum == 0) {
+            throw new IllegalStateException(listener.count + " heartbeats parsed, " + heartbeats + " indexed.");
+        }
+    }
+
+    /**
+     * @return the count of frames of the given message id, parsing the
+     * whole log.
+     */
+    private static int countByParsing(File file, int msgId) throws IOException {
+        final Parser parser = new Parser(new MAVLinkPacketPool(), new MAVLinkStats());
+        final CountingListener listener = new CountingListener(msgId);
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+        final byte[] frame = new byte[MAVLinkPacket.MAVLINK2_HEADER_LEN + 255 + MAVLinkPacket.MAVLINK_CHECKSUM_LEN
+                + MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN];
+        try {
+            while (true) {
+                in.readLong();
+                in.readFully(frame, 0, 2);
+                final int length = MAVLinkPacket.MAVLINK1_HEADER_LEN + (frame[1] & 0xFF)
+                        + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+                in.readFully(frame, 2, length - 2);
+                parser.parse(frame, 0, length, listener);
+            }
+        } catch (EOFException e) {
+            // Done.
+        } finally {
+            in.close();
+        }
+        return listener.count;
+    }
+
+    private static class CountingListener implements Parser.PacketListener {
+
+        private final int msgId;
+        int count;
+
+        CountingListener() {
+            this(-1);
+        }
+
+        CountingListener(int msgId) {
+            this.msgId = msgId;
+        }
+
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            if (msgId < 0 || packet.msgid == msgId) {
+                count++;
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkMessageCache;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+
+import org.droidplanner.core.MAVLink.MAVLinkStreams;
+import org.droidplanner.core.MAVLink.MavLinkMsgHandler;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.ReplayClock;
+import org.droidplanner.core.MAVLink.connection.TlogReplayConnection;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+import org.droidplanner.core.drone.DroneImpl;
+import org.droidplanner.core.drone.DroneInterfaces;
+import org.droidplanner.core.drone.LogMessageListener;
+import org.droidplanner.core.drone.Preferences;
+import org.droidplanner.core.drone.profiles.VehicleProfile;
+import org.droidplanner.core.drone.variables.StreamRates;
+import org.droidplanner.core.firmware.FirmwareType;
+import org.droidplanner.core.model.AutopilotWarningParser;
+import org.droidplanner.core.model.Drone;
+import org.droidplanner.core.model.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays 24h of {@link SyntheticFlight} through a {@link TlogReplayConnection}
+ * as fast as it's handled, the page cache warm, to find the highest speed a
+ * replay can be sustained at:
+ * <ul>
+ * <li>parsing the frames only, for the cost of the connection,</li>
+ * <li>then through the vehicle state, as the service does: the packets
+ * handled by a {@link MavLinkMsgHandler}, updating a {@link DroneImpl}
+ * running on the clock of the replay, whose events are hashed.</li>
+ * </ul>
+ * The vehicle is replayed twice, and the hashes of its events compared, as
+ * the replay is deterministic.
+ */
+public class TlogReplayBenchmark implements Runnable {
+
+    private static final long FLIGHT_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    @Override
+    public void run() {
+        File file = null;
+        try {
+            file = File.createTempFile("TlogReplayBenchmark", ".tlog");
+            measure(file.getPath());
+        } catch (IOException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            if (file != null) {
+                file.delete();
+                new File(TlogIndex.getIndexPath(file.getPath())).delete();
+            }
+        }
+    }
+
+    private static void print(String label, String value) {
+        System.out.println(String.format("%-30s %14s", label, value));
+    }
+
+    private void measure(String path) throws IOException, InterruptedException {
+        final TlogWriter writer = new TlogWriter(path, new TlogDurability(1, TimeUnit.SECONDS, false));
+        final SyntheticFlight flight = new SyntheticFlight(11);
+        final byte[][] records = new byte[SyntheticFlight.MAX_RECORDS_PER_TICK][];
+        long frames = 0;
+        for (long tick = 0; tick < FLIGHT_SECONDS * SyntheticFlight.TICKS_PER_SECOND; tick++) {
+            final int count = flight.nextTick(records);
+            writer.append(records, count, 0);
+            frames += count;
+        }
+        writer.close();
+        print("flight, h", String.valueOf(TimeUnit.SECONDS.toHours(FLIGHT_SECONDS)));
+        print("tlog", (new File(path).length() >> 20) + "MB, " + frames + " frames");
+
+        // Warms up the page cache and the code.
+        replay(path, false);
+
+        Result result = replay(path, false);
+        print("parse only, frames/s", String.format("%.0f", result.getFramesPerSecond()));
+        print("parse only, max speed", String.format("%.0fx", result.getSpeed()));
+
+        result = replay(path, true);
+        print("vehicle, frames/s", String.format("%.0f", result.getFramesPerSecond()));
+        print("vehicle, max speed", String.format("%.0fx", result.getSpeed()));
+        print("vehicle, CPU us/frame", String.format("%.2f", result.cpuNanos / 1E3 / result.frames));
+        print("vehicle events", String.valueOf(result.events));
+
+        final Result again = replay(path, true);
+        print("events hash", String.format("%016x", result.eventsHash));
+        if (again.eventsHash != result.eventsHash || again.events != result.events) {
+            throw new IllegalStateException("Replays diverged: " + again.events + " events, hash "
+                    + String.format("%016x", again.eventsHash));
+        }
+        print("replays match", "yes");
+    }
+
+    private static class Result {
+        long frames;
+        long wallNanos;
+        long cpuNanos;
+        long flightMicros;
+        long events;
+        long eventsHash;
+
+        double getFramesPerSecond() {
+            return frames * 1E9 / wallNanos;
+        }
+
+        double getSpeed() {
+            return flightMicros * 1E3 / wallNanos;
+        }
+    }
+
+    /**
+     * Replays the whole tlog at {@link TlogReplayConnection#MAX_SPEED}.
+     *
+     * @param vehicle true to update the state of a vehicle, false to parse
+     *                the frames only
+     */
+    private static Result replay(String path, boolean vehicle) throws InterruptedException {
+        final ReplayClock clock = new ReplayClock();
+        final Replay replay = new Replay(path, clock);
+        replay.setSpeed(TlogReplayConnection.MAX_SPEED);
+        final VehicleListener listener = new VehicleListener(replay, clock, vehicle);
+        replay.addMavLinkConnectionListener("benchmark", listener);
+
+        final long start = System.nanoTime();
+        replay.connect();
+        try {
+            if (!replay.awaitEnd(10, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Replay not over.");
+            }
+        } finally {
+            replay.disconnect();
+        }
+
+        final Result result = new Result();
+        result.wallNanos = System.nanoTime() - start;
+        result.cpuNanos = listener.cpuNanos;
+        result.frames = replay.getReplayedCount();
+        result.flightMicros = clock.getTimeMicros() - SyntheticFlight.START_MICROS;
+        result.events = listener.events;
+        result.eventsHash = listener.eventsHash;
+        return result;
+    }
+
+    private static class Replay extends TlogReplayConnection {
+
+        Replay(String path, ReplayClock clock) {
+            super(path, clock);
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+    }
+
+    /**
+     * Hands the replayed packets to the vehicle state, as the drone manager
+     * of the service does, and hashes the events of the vehicle along with
+     * the time of the replay they're notified at.
+     */
+    private static class VehicleListener implements MavLinkConnectionListener, DroneInterfaces.OnDroneListener {
+
+        private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+        private final ReplayClock clock;
+        private final DroneImpl drone;
+        private final MavLinkMsgHandler msgHandler;
+        private final MAVLinkMessageCache messageCache = new MAVLinkMessageCache();
+
+        private long startCpuNanos = -1;
+        volatile long cpuNanos;
+        volatile long events;
+        volatile long eventsHash;
+
+        VehicleListener(final TlogReplayConnection replay, ReplayClock clock, boolean vehicle) {
+            this.clock = clock;
+            if (!vehicle) {
+                drone = null;
+                msgHandler = null;
+                return;
+            }
+
+            drone = new DroneImpl(new MAVLinkStreams.MAVLinkOutputStream() {
+                @Override
+                public void sendMavPacket(MAVLinkPacket pack) {
+                    replay.sendMavPacket(pack);
+                }
+
+                @Override
+                public void sendMavMessage(MAVLinkMessage message) {
+                    replay.sendMavMessage(message);
+                }
+
+                @Override
+                public boolean isConnected() {
+                    return true;
+                }
+
+                @Override
+                public void toggleConnectionState() {
+                }
+
+                @Override
+                public void openConnection() {
+                }
+
+                @Override
+                public void closeConnection() {
+                }
+            }, clock, clock, new Preferences() {
+                @Override
+                public FirmwareType getVehicleType() {
+                    return FirmwareType.ARDU_COPTER;
+                }
+
+                @Override
+                public VehicleProfile loadVehicleProfile(FirmwareType firmwareType) {
+                    return new VehicleProfile();
+                }
+
+                @Override
+                public StreamRates.Rates getRates() {
+                    return new StreamRates.Rates();
+                }
+            }, new AutopilotWarningParser() {
+                @Override
+                public String getDefaultWarning() {
+                    return "";
+                }
+
+                @Override
+                public String parseWarning(Drone drone, String warning) {
+                    return warning;
+                }
+            }, new LogMessageListener() {
+                @Override
+                public void onMessageLogged(int mavSeverity, String message) {
+                }
+            });
+            drone.addDroneListener(this);
+            msgHandler = new MavLinkMsgHandler(drone);
+        }
+
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public void onConnect(long connectionTime) {
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+            // From the replay thread.
+            if (startCpuNanos < 0) {
+                startCpuNanos = THREADS.getCurrentThreadCpuTime();
+            }
+
+            if (msgHandler != null && !msgHandler.receivePacket(packet)) {
+                final MAVLinkMessage message = messageCache.unpack(packet);
+                if (message != null) {
+                    msgHandler.receiveData(message);
+                }
+            }
+            cpuNanos = THREADS.getCurrentThreadCpuTime() - startCpuNanos;
+        }
+
+        @Override
+        public void onDroneEvent(DroneInterfaces.DroneEventsType event, Drone drone) {
+            events++;
+            eventsHash = (eventsHash * 31 + event.ordinal()) * 31 + clock.getTimeMicros();
+        }
+
+        @Override
+        public void onDisconnect(long disconnectionTime) {
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+        }
+    }
+}
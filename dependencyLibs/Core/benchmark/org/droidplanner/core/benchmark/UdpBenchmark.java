@@ -0,0 +1,328 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_attitude;
+
+import org.droidplanner.core.MAVLink.connection.UdpConnection;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the sustained packets/s and the CPU time per packet of the UDP
+ * connection over loopback, one attitude frame per datagram, against a read
+ * and send loop allocating a DatagramPacket per datagram like the previous
+ * DatagramSocket based connection did.
+ *
+ * Inbound, a sender thread floods the connection port, and the received
+ * rate is the one the reading thread sustains. It then sends bursts of
+ * datagrams every millisecond, as an autopilot sends its telemetry streams,
+ * where the CPU time per packet depends on how many datagrams are read per
+ * wakeup. Outbound, the benchmark thread sends to a peer which only
+ * registered once.
+ */
+public class UdpBenchmark implements Runnable {
+
+    private static final long WARMUP_NANOS = 2000000000L;
+    private static final long MEASURED_NANOS = 5000000000L;
+
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private static final int BURST_SIZE = 20;
+    private static final long BURST_PERIOD_NANOS = 1000000L;
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Reads a block of datagrams.
+     */
+    private interface Reader {
+        int read(byte[] buffer) throws IOException;
+    }
+
+    /**
+     * Sends a frame.
+     */
+    private interface Sender {
+        void send(byte[] frame) throws IOException;
+    }
+
+    private final byte[] frame;
+
+    private int receivedFrames;
+
+    private final Parser.PacketListener listener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            receivedFrames++;
+        }
+    };
+
+    public UdpBenchmark() {
+        final msg_attitude attitude = new msg_attitude();
+        attitude.roll = 0.1f;
+        attitude.yaw = 1.5f;
+        frame = attitude.pack().encodePacket();
+    }
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-28s %14s %12s %14s", "", "packets/s", "ns cpu/pkt",
+                    "pkts/wakeup"));
+            receiveDatagramSocket(0);
+            receiveUdpConnection(0);
+            receiveDatagramSocket(BURST_SIZE);
+            receiveUdpConnection(BURST_SIZE);
+            sendDatagramSocket();
+            sendUdpConnection();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String receiveLabel(String reader, int burstSize) {
+        return (burstSize == 0 ? "flood " : "bursts ") + reader;
+    }
+
+    private void receiveDatagramSocket(int burstSize) throws IOException {
+        final DatagramSocket socket = new DatagramSocket(0);
+        try {
+            final int port = socket.getLocalPort();
+            measureReceive(receiveLabel("DatagramSocket", burstSize), port, burstSize, new Reader() {
+                @Override
+                public int read(byte[] buffer) throws IOException {
+                    final DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                    socket.receive(packet);
+                    return packet.getLength();
+                }
+            });
+        } finally {
+            socket.close();
+        }
+    }
+
+    private void receiveUdpConnection(int burstSize) throws IOException {
+        final int port = findFreePort();
+        final UdpConnection connection = openConnection(port);
+
+        // Waits for the channel like the event loop does.
+        final Selector selector = Selector.open();
+        connection.getSelectableChannel().register(selector, SelectionKey.OP_READ);
+        try {
+            measureReceive(receiveLabel("UdpConnection", burstSize), port, burstSize, new Reader() {
+                @Override
+                public int read(byte[] buffer) throws IOException {
+                    int length;
+                    while ((length = connection.readDataBlock(buffer)) == 0) {
+                        selector.select();
+                        selector.selectedKeys().clear();
+                    }
+                    return length;
+                }
+            });
+        } finally {
+            connection.closeConnection();
+            selector.close();
+        }
+    }
+
+    private void sendDatagramSocket() throws IOException {
+        final DatagramChannel peer = openPeer();
+        final DatagramSocket socket = new DatagramSocket(0);
+        final InetAddress address = InetAddress.getLoopbackAddress();
+        final int port = peer.socket().getLocalPort();
+        try {
+            measureSend("send DatagramSocket", new Sender() {
+                @Override
+                public void send(byte[] frame) throws IOException {
+                    socket.send(new DatagramPacket(frame, frame.length, address, port));
+                }
+            });
+        } finally {
+            socket.close();
+            peer.close();
+        }
+    }
+
+    private void sendUdpConnection() throws IOException {
+        final DatagramChannel peer = openPeer();
+        final int port = findFreePort();
+        final UdpConnection connection = openConnection(port);
+        try {
+            // Register the peer.
+            peer.send(ByteBuffer.wrap(frame), new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            final byte[] buffer = new byte[READ_BUFFER_SIZE];
+            while (connection.readDataBlock(buffer) == 0) {
+                Thread.yield();
+            }
+
+            measureSend("send UdpConnection", new Sender() {
+                @Override
+                public void send(byte[] frame) throws IOException {
+                    connection.sendBuffer(frame);
+                }
+            });
+        } finally {
+            connection.closeConnection();
+            peer.close();
+        }
+    }
+
+    private void measureReceive(String label, int port, int burstSize, Reader reader) throws IOException {
+        final Flooder flooder = new Flooder(port, burstSize);
+        flooder.start();
+
+        final Parser parser = new Parser();
+        final byte[] buffer = new byte[READ_BUFFER_SIZE];
+        try {
+            receive(parser, reader, buffer, WARMUP_NANOS);
+
+            receivedFrames = 0;
+            final long startCpu = THREAD_BEAN.getCurrentThreadCpuTime();
+            final long start = System.nanoTime();
+            final int reads = receive(parser, reader, buffer, MEASURED_NANOS);
+            final long elapsed = System.nanoTime() - start;
+            final long cpu = THREAD_BEAN.getCurrentThreadCpuTime() - startCpu;
+
+            report(label, receivedFrames, elapsed, cpu, (double) receivedFrames / reads);
+        } finally {
+            flooder.interrupt();
+        }
+    }
+
+    private int receive(Parser parser, Reader reader, byte[] buffer, long duration) throws IOException {
+        final long end = System.nanoTime() + duration;
+        int reads = 0;
+        while (System.nanoTime() < end) {
+            final int length = reader.read(buffer);
+            parser.parse(buffer, 0, length, listener);
+            reads++;
+        }
+        return reads;
+    }
+
+    private void measureSend(String label, Sender sender) throws IOException {
+        send(sender, WARMUP_NANOS);
+
+        final long startCpu = THREAD_BEAN.getCurrentThreadCpuTime();
+        final long start = System.nanoTime();
+        final int sent = send(sender, MEASURED_NANOS);
+        final long elapsed = System.nanoTime() - start;
+        final long cpu = THREAD_BEAN.getCurrentThreadCpuTime() - startCpu;
+
+        report(label, sent, elapsed, cpu, Double.NaN);
+    }
+
+    private int send(Sender sender, long duration) throws IOException {
+        final long end = System.nanoTime() + duration;
+        int sent = 0;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 100; i++) {
+                sender.send(frame);
+            }
+            sent += 100;
+        }
+        return sent;
+    }
+
+    private static void report(String label, int packets, long elapsed, long cpu, double packetsPerWakeup) {
+        System.out.println(String.format("%-28s %14.0f %12.0f %14s", label, packets / (elapsed / 1E9),
+                (double) cpu / packets, Double.isNaN(packetsPerWakeup) ? "" : String.format("%.1f",
+                        packetsPerWakeup)));
+    }
+
+    private static UdpConnection openConnection(final int port) throws IOException {
+        final UdpConnection connection = new UdpConnection() {
+            @Override
+            protected int loadServerPort() {
+                return port;
+            }
+
+            @Override
+            protected Logger initLogger() {
+                return ConsoleLogger.INSTANCE;
+            }
+
+            @Override
+            protected void onConnectionOpened() {
+                // The benchmark reads the connection itself.
+            }
+        };
+        connection.loadPreferences();
+        connection.openConnection();
+        return connection;
+    }
+
+    private static DatagramChannel openPeer() throws IOException {
+        final DatagramChannel peer = DatagramChannel.open();
+        peer.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        return peer;
+    }
+
+    private static int findFreePort() throws IOException {
+        final DatagramSocket socket = new DatagramSocket(0);
+        final int port = socket.getLocalPort();
+        socket.close();
+        return port;
+    }
+
+    /**
+     * Sends the frame to the given port as fast as possible, or in bursts
+     * every BURST_PERIOD_NANOS.
+     */
+    private class Flooder extends Thread {
+
+        private final int port;
+        private final int burstSize;
+
+        Flooder(int port, int burstSize) {
+            super("UdpBenchmark-Flooder");
+            this.port = port;
+            this.burstSize = burstSize;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                final DatagramChannel channel = DatagramChannel.open();
+                try {
+                    channel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+                    final ByteBuffer data = ByteBuffer.wrap(frame);
+                    long nextBurst = System.nanoTime();
+                    while (!isInterrupted()) {
+                        if (burstSize == 0) {
+                            data.rewind();
+                            channel.write(data);
+                            continue;
+                        }
+
+                        for (int i = 0; i < burstSize; i++) {
+                            data.rewind();
+                            channel.write(data);
+                        }
+                        nextBurst += BURST_PERIOD_NANOS;
+                        LockSupport.parkNanos(nextBurst - System.nanoTime());
+                    }
+                } finally {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                // Interrupted, or the connection closed.
+            }
+        }
+    }
+}
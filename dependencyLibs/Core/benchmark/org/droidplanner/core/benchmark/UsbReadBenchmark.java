@@ -0,0 +1,411 @@
+package org.droidplanner.core.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_system_time;
+
+import org.droidplanner.core.MAVLink.connection.AsyncReadSource;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionListener;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Reads a telemetry stream from a simulated usb serial device, through
+ * blocking reads, one at a time, then through an {@link AsyncReadSource}
+ * keeping several requests in flight, and measures the frames lost, the
+ * latency from the arrival of a frame in the device to its delivery to the
+ * connection listeners, and the CPU time of the threads of the connection.
+ *
+ * The device receives the stream at the serial rate into a bounded FIFO,
+ * and drops the bytes arriving while it's full. The host controller moves
+ * data from the FIFO into the pending requests at each 1 ms frame, up to
+ * the bulk bandwidth of a full speed frame. Runs again with a thread
+ * competing for the CPU, as the rest of the app would.
+ */
+public class UsbReadBenchmark implements Runnable {
+
+    private static final int[] BAUD_RATES = {115200, 921600};
+    private static final int FIFO_SIZE = 512;
+
+    /**
+     * Bulk bytes moved per full speed frame: 19 packets of 64 bytes.
+     */
+    private static final int FRAME_BUDGET = 19 * 64;
+    private static final long FRAME_NANOS = 1000000L;
+
+    private static final long WARMUP_NANOS = 1000000000L;
+    private static final long MEASURED_NANOS = 5000000000L;
+
+    private static final int FRAME_LENGTH = new msg_system_time().pack().encodePacket().length;
+
+    @Override
+    public void run() {
+        try {
+            System.out.println(String.format("%-26s %10s %10s %10s %10s %12s", "", "lost", "p50 us", "p99 us",
+                    "max us", "us cpu/KB"));
+            for (boolean isLoaded : new boolean[]{false, true}) {
+                for (int baudRate : BAUD_RATES) {
+                    measure(baudRate, false, isLoaded);
+                    measure(baudRate, true, isLoaded);
+                }
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void measure(int baudRate, boolean isAsync, boolean isLoaded) throws InterruptedException {
+        final int rate = baudRate / 10;
+        final SimulatedUsbEndpoint endpoint = new SimulatedUsbEndpoint(rate);
+        final SimulatedUsbConnection connection = new SimulatedUsbConnection(endpoint, isAsync);
+
+        final long measuredFrom = endpoint.start + WARMUP_NANOS;
+        final long measuredTo = measuredFrom + MEASURED_NANOS;
+        final long firstFrame = (measuredFrom - endpoint.start) * rate / 1000000000L / FRAME_LENGTH;
+        final long lastFrame = (measuredTo - endpoint.start) * rate / 1000000000L / FRAME_LENGTH;
+        final long[] latencies = new long[(int) (lastFrame - firstFrame)];
+        final AtomicInteger received = new AtomicInteger();
+
+        final CountDownLatch connected = new CountDownLatch(1);
+        connection.addMavLinkConnectionListener("benchmark", new MavLinkConnectionListener() {
+            @Override
+            public void onStartingConnection() {
+            }
+
+            @Override
+            public void onConnect(long connectionTime) {
+                connected.countDown();
+            }
+
+            @Override
+            public void onLinkRestored(long restoredTime) {
+            }
+
+            @Override
+            public void onReceivePacket(MAVLinkPacket packet) {
+                final long now = System.nanoTime();
+                final long index = packet.payload.getLong(0);
+                if (index >= firstFrame && index < lastFrame) {
+                    latencies[received.getAndIncrement()] = now - endpoint.getArrivalTime(index);
+                }
+            }
+
+            @Override
+            public void onDisconnect(long disconnectionTime) {
+            }
+
+            @Override
+            public void onComError(String errMsg) {
+                System.out.println("Connection error: " + errMsg);
+            }
+        });
+
+        final Thread load = isLoaded ? new LoadThread() : null;
+        if (load != null) {
+            load.start();
+        }
+
+        endpoint.startHostController();
+        connection.connect();
+        if (!connected.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Connection timed out.");
+        }
+
+        LockSupport.parkNanos(measuredFrom - System.nanoTime());
+        final long startCpu = getConnectionCpuTime();
+        LockSupport.parkNanos(measuredTo - System.nanoTime());
+        final long cpu = getConnectionCpuTime() - startCpu;
+        // Lets the last frames be delivered.
+        Thread.sleep(100);
+
+        connection.removeAllMavLinkConnectionListeners();
+        connection.disconnect();
+        if (load != null) {
+            load.interrupt();
+            load.join();
+        }
+        Thread.sleep(200);
+
+        final int count = Math.min(received.get(), latencies.length);
+        final long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final double kiloBytes = (lastFrame - firstFrame) * FRAME_LENGTH / 1024.0;
+        final String label = (isAsync ? "async" : "blocking") + " " + baudRate + (isLoaded ? " loaded" : "");
+        System.out.println(String.format("%-26s %9.2f%% %10.0f %10.0f %10.0f %12s", label,
+                100.0 * (latencies.length - count) / latencies.length, percentile(sorted, 0.5) / 1E3,
+                percentile(sorted, 0.99) / 1E3, count == 0 ? Double.NaN : sorted[count - 1] / 1E3,
+                startCpu < 0 ? "n/a" : String.format("%.1f", cpu / 1E3 / kiloBytes)));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))];
+    }
+
+    /**
+     * @return the CPU time of the threads started by the connections in ns,
+     * or -1 if unavailable.
+     */
+    private static long getConnectionCpuTime() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadCpuTimeSupported()) {
+            return -1;
+        }
+
+        long cpu = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("MavLinkConnection")) {
+                cpu += Math.max(0, bean.getThreadCpuTime(thread.getId()));
+            }
+        }
+        return cpu;
+    }
+
+    /**
+     * Keeps the CPU busy, in slices of a few milliseconds.
+     */
+    private static class LoadThread extends Thread {
+
+        LoadThread() {
+            super("UsbReadBenchmark-Load");
+        }
+
+        @Override
+        public void run() {
+            long sink = 0;
+            while (!isInterrupted()) {
+                final long end = System.nanoTime() + 5000000L;
+                while (System.nanoTime() < end) {
+                    sink += sink * 31 + 7;
+                }
+                Thread.yield();
+            }
+
+            if (sink == 42) {
+                System.out.println();
+            }
+        }
+    }
+
+    /**
+     * Bulk in endpoint of a usb serial device receiving a stream of
+     * {@link msg_system_time} frames, each carrying its index.
+     */
+    private static class SimulatedUsbEndpoint implements AsyncReadSource {
+
+        private static final class Request {
+            final int id;
+            final ByteBuffer buffer;
+            final long queuedTime;
+
+            Request(int id, ByteBuffer buffer, long queuedTime) {
+                this.id = id;
+                this.buffer = buffer;
+                this.queuedTime = queuedTime;
+            }
+        }
+
+        final long start = System.nanoTime() + 100000000L;
+
+        private final int rate;
+        private final ArrayDeque<Request> pendingRequests = new ArrayDeque<>();
+        private final ArrayDeque<Integer> completedIds = new ArrayDeque<>();
+
+        /**
+         * Stream offsets of the bytes in the FIFO, as ranges, since the
+         * bytes arriving while it's full are dropped.
+         */
+        private final ArrayDeque<long[]> fifo = new ArrayDeque<>();
+        private int fifoLevel;
+        private long arrivedBytes;
+
+        private final msg_system_time message = new msg_system_time();
+        private byte[] frame;
+        private long frameIndex = -1;
+
+        private final Thread hostController = new Thread("UsbReadBenchmark-Host Controller") {
+            @Override
+            public void run() {
+                for (long frameTime = start; !isInterrupted(); frameTime += FRAME_NANOS) {
+                    LockSupport.parkNanos(frameTime - System.nanoTime());
+                    runFrame(frameTime);
+                }
+            }
+        };
+
+        private boolean isClosed;
+
+        SimulatedUsbEndpoint(int rate) {
+            this.rate = rate;
+        }
+
+        void startHostController() {
+            hostController.start();
+        }
+
+        /**
+         * @return the time the last byte of the given frame arrived in the
+         * device.
+         */
+        long getArrivalTime(long index) {
+            return start + (index + 1) * FRAME_LENGTH * 1000000000L / rate;
+        }
+
+        private synchronized void runFrame(long frameTime) {
+            final long arrived = (frameTime - start) * rate / 1000000000L;
+            final int accepted = (int) Math.min(arrived - arrivedBytes, FIFO_SIZE - fifoLevel);
+            if (accepted > 0) {
+                fifo.add(new long[]{arrivedBytes, arrivedBytes + accepted});
+                fifoLevel += accepted;
+            }
+            arrivedBytes = arrived;
+
+            int budget = FRAME_BUDGET;
+            while (budget > 0 && fifoLevel > 0 && !pendingRequests.isEmpty()
+                    && pendingRequests.peek().queuedTime <= frameTime) {
+                final Request request = pendingRequests.peek();
+                final int length = Math.min(budget, Math.min(fifoLevel, request.buffer.remaining()));
+                transfer(request.buffer, length);
+                budget -= length;
+
+                // Completes on a full buffer, or on a short packet once the
+                // FIFO is empty.
+                if (!request.buffer.hasRemaining() || fifoLevel == 0) {
+                    pendingRequests.remove();
+                    completedIds.add(request.id);
+                    notifyAll();
+                }
+            }
+        }
+
+        private void transfer(ByteBuffer buffer, int length) {
+            fifoLevel -= length;
+            while (length > 0) {
+                final long[] range = fifo.peek();
+                final long offset = range[0]++;
+                if (range[0] == range[1]) {
+                    fifo.remove();
+                }
+
+                final long index = offset / FRAME_LENGTH;
+                if (index != frameIndex) {
+                    message.time_unix_usec = index;
+                    frame = message.pack().encodePacket();
+                    frameIndex = index;
+                }
+                buffer.put(frame[(int) (offset % FRAME_LENGTH)]);
+                length--;
+            }
+        }
+
+        @Override
+        public synchronized void queue(int requestId, ByteBuffer buffer) throws IOException {
+            if (isClosed) {
+                throw new IOException("Closed.");
+            }
+            pendingRequests.add(new Request(requestId, buffer, System.nanoTime()));
+        }
+
+        @Override
+        public synchronized int awaitCompletion() throws IOException {
+            while (completedIds.isEmpty() && !isClosed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            if (isClosed) {
+                throw new IOException("Closed.");
+            }
+            return completedIds.remove();
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                isClosed = true;
+                notifyAll();
+            }
+            hostController.interrupt();
+        }
+    }
+
+    /**
+     * Reads the simulated endpoint through blocking reads, as the driver
+     * does with a synchronous bulk transfer, or through async requests.
+     */
+    private static class SimulatedUsbConnection extends MavLinkConnection {
+
+        private final SimulatedUsbEndpoint endpoint;
+        private final boolean isAsync;
+
+        private byte[] readArray;
+        private ByteBuffer readBuffer;
+
+        SimulatedUsbConnection(SimulatedUsbEndpoint endpoint, boolean isAsync) {
+            this.endpoint = endpoint;
+            this.isAsync = isAsync;
+        }
+
+        @Override
+        protected Logger initLogger() {
+            return ConsoleLogger.INSTANCE;
+        }
+
+        @Override
+        protected void openConnection() throws IOException {
+            onConnectionOpened();
+        }
+
+        @Override
+        protected AsyncReadSource getAsyncReadSource() {
+            return isAsync ? endpoint : null;
+        }
+
+        @Override
+        protected int readDataBlock(byte[] buffer) throws IOException {
+            if (buffer != readArray) {
+                readArray = buffer;
+                readBuffer = ByteBuffer.wrap(buffer);
+            }
+
+            readBuffer.clear();
+            endpoint.queue(0, readBuffer);
+            endpoint.awaitCompletion();
+            return readBuffer.position();
+        }
+
+        @Override
+        protected void sendBuffer(byte[] buffer) throws IOException {
+        }
+
+        @Override
+        protected void closeConnection() throws IOException {
+            endpoint.close();
+        }
+
+        @Override
+        protected void loadPreferences() {
+        }
+
+        @Override
+        public int getConnectionType() {
+            return MavLinkConnectionTypes.MAVLINK_CONNECTION_USB;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.droidplanner.core.MAVLink;
 
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
 
 public class MAVLinkStreams {
 
@@ -8,6 +9,12 @@ public class MAVLinkStreams {
 
 		void sendMavPacket(MAVLinkPacket pack);
 
+		/**
+		 * Encodes the message straight into the connection send buffer, without
+		 * going through a {@link MAVLinkPacket}. Used by the high rate senders.
+		 */
+		void sendMavMessage(MAVLinkMessage message);
+
 		boolean isConnected();
 
 		void toggleConnectionState();
@@ -2,7 +2,6 @@ package org.droidplanner.core.MAVLink;
 
 import org.droidplanner.core.model.Drone;
 
-import com.MAVLink.MAVLinkPacket;
 import com.MAVLink.common.msg_heartbeat;
 import com.MAVLink.enums.MAV_AUTOPILOT;
 import com.MAVLink.enums.MAV_TYPE;
@@ -23,12 +22,6 @@ public class MavLinkHeartbeat {
 		sMsg.autopilot = MAV_AUTOPILOT.MAV_AUTOPILOT_GENERIC;
 	}
 
-	/**
-	 * This is the mavlink packet obtained from the msg heartbeat, and used for
-	 * actual communication.
-	 */
-	private static final MAVLinkPacket sMsgPacket = sMsg.pack();
-
 	/**
 	 * Sends the heartbeat to the {@link org.droidplanner.core.model.Drone}
 	 * object.
@@ -38,7 +31,7 @@ public class MavLinkHeartbeat {
 	 */
 	public static void sendMavHeartbeat(Drone drone) {
 		if (drone != null)
-			drone.getMavClient().sendMavPacket(sMsgPacket);
+			drone.getMavClient().sendMavMessage(sMsg);
 	}
 
 }
@@ -1,5 +1,6 @@
 package org.droidplanner.core.MAVLink;
 
+import com.MAVLink.MAVLinkPacket;
 import com.MAVLink.Messages.ApmModes;
 import com.MAVLink.Messages.MAVLinkMessage;
 import com.MAVLink.ardupilotmega.msg_camera_feedback;
@@ -21,6 +22,10 @@ import com.MAVLink.common.msg_servo_output_raw;
 import com.MAVLink.common.msg_statustext;
 import com.MAVLink.common.msg_sys_status;
 import com.MAVLink.common.msg_vfr_hud;
+import com.MAVLink.common.view_attitude;
+import com.MAVLink.common.view_global_position_int;
+import com.MAVLink.common.view_raw_imu;
+import com.MAVLink.common.view_vfr_hud;
 import com.MAVLink.enums.MAV_MODE_FLAG;
 import com.MAVLink.enums.MAV_STATE;
 import com.MAVLink.enums.MAV_SYS_STATUS_SENSOR;
@@ -38,10 +43,55 @@ public class MavLinkMsgHandler {
 
     private Drone drone;
 
+    private final view_attitude attitudeView = new view_attitude();
+    private final view_global_position_int positionView = new view_global_position_int();
+    private final view_raw_imu rawImuView = new view_raw_imu();
+    private final view_vfr_hud vfrHudView = new view_vfr_hud();
+
     public MavLinkMsgHandler(Drone drone) {
         this.drone = drone;
     }
 
+    /**
+     * Handles the high rate telemetry messages by reading their fields straight
+     * from the packet payload, without unpacking them.
+     *
+     * @param packet received packet
+     * @return true if the packet was handled, false if it must be unpacked and
+     * passed to {@link #receiveData(MAVLinkMessage)}.
+     */
+    public boolean receivePacket(MAVLinkPacket packet) {
+        switch (packet.msgid) {
+            case msg_attitude.MAVLINK_MSG_ID_ATTITUDE:
+                attitudeView.wrap(packet);
+                onAttitude(attitudeView.roll(), attitudeView.pitch(), attitudeView.yaw());
+                return true;
+
+            case msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD:
+                vfrHudView.wrap(packet);
+                drone.setAltitudeGroundAndAirSpeeds(vfrHudView.alt(), vfrHudView.groundspeed(),
+                        vfrHudView.airspeed(), vfrHudView.climb());
+                return true;
+
+            case msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU:
+                rawImuView.wrap(packet);
+                drone.getMagnetometer().newData(rawImuView.xmag(), rawImuView.ymag(), rawImuView.zmag());
+                return true;
+
+            case msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT:
+                positionView.wrap(packet);
+                drone.getGps().setPosition(positionView.lat() / 1E7, positionView.lon() / 1E7);
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param msg received message. It may be reused for the next packet of
+     *            the same type, so it must be copied if retained.
+     */
     public void receiveData(MAVLinkMessage msg) {
         if (drone.getParameters().processMessage(msg)) {
             return;
@@ -53,8 +103,7 @@ public class MavLinkMsgHandler {
         switch (msg.msgid) {
             case msg_attitude.MAVLINK_MSG_ID_ATTITUDE:
                 msg_attitude m_att = (msg_attitude) msg;
-                drone.getOrientation().setRollPitchYaw(m_att.roll * 180.0 / Math.PI,
-                        m_att.pitch * 180.0 / Math.PI, m_att.yaw * 180.0 / Math.PI);
+                onAttitude(m_att.roll, m_att.pitch, m_att.yaw);
                 break;
 
             case msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD:
@@ -161,6 +210,11 @@ public class MavLinkMsgHandler {
         }
     }
 
+    private void onAttitude(float roll, float pitch, float yaw) {
+        drone.getOrientation().setRollPitchYaw(roll * 180.0 / Math.PI, pitch * 180.0 / Math.PI,
+                yaw * 180.0 / Math.PI);
+    }
+
     private void checkIfFlying(msg_heartbeat msg_heart) {
         final byte systemStatus = msg_heart.system_status;
         final boolean wasFlying = drone.getState().isFlying();
@@ -311,7 +311,11 @@ public class WaypointManager extends DroneVariable {
 
         readIndex = msg.seq;
 
-        mission.add(msg);
+        // Received messages can be reused for the next packets, so keep a copy.
+        final msg_mission_item item = new msg_mission_item(msg.pack());
+        item.sysid = msg.sysid;
+        item.compid = msg.compid;
+        mission.add(item);
     }
 
     private void doBeginWaypointEvent(WaypointEvent_Type wpEvent) {
@@ -0,0 +1,115 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads an {@link AsyncReadSource} from its own thread. Keeps several
+ * requests in flight, each with its own buffer, and hands the data of each
+ * completed request to the listener before queuing it again, so reading
+ * doesn't allocate, and doesn't leave the transport without a pending
+ * request while the data is handled.
+ */
+public class AsyncReadPipeline implements Runnable {
+
+    public interface Listener {
+
+        /**
+         * Called from the pipeline thread for each completed request. The
+         * data is between the position and the limit of the buffer, which
+         * is only valid until this returns.
+         */
+        void onDataReceived(ByteBuffer data);
+
+        /**
+         * Called from the pipeline thread when the source failed, unless
+         * the pipeline was stopped. The pipeline thread then exits.
+         */
+        void onReadError(IOException e);
+    }
+
+    private final AsyncReadSource mSource;
+    private final Listener mListener;
+    private final ByteBuffer[] mBuffers;
+
+    private final AtomicLong mCompletedCount = new AtomicLong();
+    private final AtomicLong mReceivedBytes = new AtomicLong();
+
+    private volatile boolean mIsStopped;
+    private Thread mThread;
+
+    /**
+     * @param requestCount count of requests kept in flight
+     * @param bufferSize   size of the buffer of each request
+     */
+    public AsyncReadPipeline(AsyncReadSource source, int requestCount, int bufferSize, Listener listener) {
+        if (requestCount < 1) {
+            throw new IllegalArgumentException("Invalid request count: " + requestCount);
+        }
+
+        mSource = source;
+        mListener = listener;
+        mBuffers = new ByteBuffer[requestCount];
+        for (int i = 0; i < requestCount; i++) {
+            mBuffers[i] = ByteBuffer.allocate(bufferSize);
+        }
+    }
+
+    public synchronized void start() {
+        if (mThread != null) {
+            throw new IllegalStateException("Already started.");
+        }
+
+        mThread = new Thread(this, "MavLinkConnection-Async Reading Thread");
+        mThread.start();
+    }
+
+    /**
+     * Closes the source, so the pipeline thread exits.
+     */
+    public void stop() {
+        mIsStopped = true;
+        mSource.close();
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (int i = 0; i < mBuffers.length; i++) {
+                mSource.queue(i, mBuffers[i]);
+            }
+
+            while (!mIsStopped) {
+                final int requestId = mSource.awaitCompletion();
+                final ByteBuffer buffer = mBuffers[requestId];
+
+                buffer.flip();
+                mCompletedCount.incrementAndGet();
+                if (buffer.hasRemaining()) {
+                    mReceivedBytes.addAndGet(buffer.remaining());
+                    mListener.onDataReceived(buffer);
+                }
+
+                buffer.clear();
+                mSource.queue(requestId, buffer);
+            }
+        } catch (IOException e) {
+            if (!mIsStopped) {
+                mListener.onReadError(e);
+            }
+        }
+    }
+
+    /**
+     * @return count of requests completed so far, including the ones which
+     * didn't read any data.
+     */
+    public long getCompletedCount() {
+        return mCompletedCount.get();
+    }
+
+    public long getReceivedBytes() {
+        return mReceivedBytes.get();
+    }
+}
@@ -0,0 +1,38 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Transport read through asynchronous requests, like a USB bulk endpoint.
+ * Several requests can be queued at once, so the transport keeps receiving
+ * while the data of a completed one is handled. Requests complete in the
+ * order they were queued.
+ *
+ * @see AsyncReadPipeline
+ */
+public interface AsyncReadSource {
+
+    /**
+     * Queues a request reading into the given buffer, from its position up
+     * to its limit. The buffer must not be used until the request completes.
+     *
+     * @param requestId identifies the request once it completes, from 0 to
+     *                  the count of requests kept in flight, excluded.
+     */
+    void queue(int requestId, ByteBuffer buffer) throws IOException;
+
+    /**
+     * Blocks until a queued request completes. The position of its buffer is
+     * then moved past the data read.
+     *
+     * @return the id of the completed request.
+     * @throws IOException if the transport failed, or was closed.
+     */
+    int awaitCompletion() throws IOException;
+
+    /**
+     * Cancels the queued requests, and wakes the thread waiting for them up.
+     */
+    void close();
+}
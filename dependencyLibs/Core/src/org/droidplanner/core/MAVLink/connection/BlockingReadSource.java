@@ -0,0 +1,60 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * {@link AsyncReadSource} of a transport read by blocking reads: the queued
+ * requests are only filled once awaited, one at a time, in the order they
+ * were queued. Used by the connections serving data they pull themselves,
+ * rather than a device completing requests on its own.
+ *
+ * Only used by the thread reading the source, but {@link #close()}.
+ */
+abstract class BlockingReadSource implements AsyncReadSource {
+
+    private final ArrayDeque<Integer> mQueuedIds = new ArrayDeque<>();
+    private ByteBuffer[] mQueuedBuffers = new ByteBuffer[4];
+
+    @Override
+    public final void queue(int requestId, ByteBuffer buffer) throws IOException {
+        if (requestId >= mQueuedBuffers.length) {
+            mQueuedBuffers = Arrays.copyOf(mQueuedBuffers, requestId + 1);
+        }
+        mQueuedBuffers[requestId] = buffer;
+        mQueuedIds.add(requestId);
+    }
+
+    @Override
+    public final int awaitCompletion() throws IOException {
+        final Integer requestId = mQueuedIds.poll();
+        if (requestId == null) {
+            throw new IOException("No request queued.");
+        }
+
+        read(mQueuedBuffers[requestId]);
+        return requestId;
+    }
+
+    /**
+     * Reads into the given buffer, as {@link MavLinkConnection#readDataBlock}
+     * does.
+     *
+     * @return the count of bytes read.
+     */
+    final int read(byte[] buffer) throws IOException {
+        final ByteBuffer data = ByteBuffer.wrap(buffer);
+        read(data);
+        return data.position();
+    }
+
+    /**
+     * Blocks until data is available, then moves it to the given buffer, from
+     * its position up to its limit.
+     *
+     * @throws IOException if the transport failed, or was closed.
+     */
+    abstract void read(ByteBuffer buffer) throws IOException;
+}
@@ -0,0 +1,80 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+
+/**
+ * Lets the event loop serve a connection whose transport only supports
+ * blocking reads, such as bluetooth or usb. A thread reads the transport and
+ * writes the data into a pipe, whose source is selected by the event loop
+ * like the channels of the other connections.
+ */
+class BlockingTransportAdapter implements Runnable {
+
+    private final MavLinkConnection mConnection;
+    private final Pipe mPipe;
+    private final Thread mThread;
+    private final int mBufferSize;
+
+    /**
+     * Set once stopped, as the transport is then closed under the reading
+     * thread, whose error isn't reported.
+     */
+    private volatile boolean mIsStopped;
+
+    BlockingTransportAdapter(MavLinkConnection connection, int bufferSize) throws IOException {
+        mConnection = connection;
+        mBufferSize = bufferSize;
+        mPipe = Pipe.open();
+        mThread = new Thread(this, "MavLinkConnection-Reading Thread");
+    }
+
+    /**
+     * @return the channel providing the data read from the transport.
+     */
+    Pipe.SourceChannel getSource() {
+        return mPipe.source();
+    }
+
+    void start() {
+        mThread.start();
+    }
+
+    void stop() {
+        mIsStopped = true;
+        mThread.interrupt();
+        try {
+            mPipe.sink().close();
+            mPipe.source().close();
+        } catch (IOException e) {
+            // Nothing left to do.
+        }
+    }
+
+    @Override
+    public void run() {
+        final byte[] buffer = new byte[mBufferSize];
+        final ByteBuffer data = ByteBuffer.wrap(buffer);
+        final Pipe.SinkChannel sink = mPipe.sink();
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final int bufferSize = mConnection.readDataBlock(buffer);
+                if (bufferSize < 1) {
+                    continue;
+                }
+
+                data.clear();
+                data.limit(bufferSize);
+                while (data.hasRemaining()) {
+                    sink.write(data);
+                }
+            }
+        } catch (IOException e) {
+            if (!mIsStopped) {
+                mConnection.onIoError(e);
+            }
+        }
+    }
+}
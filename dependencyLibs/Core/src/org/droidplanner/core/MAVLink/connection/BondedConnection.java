@@ -0,0 +1,577 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Connection to a vehicle over several redundant links, like a telemetry
+ * radio and a Wi-Fi link. The links are connected along with it, and the
+ * frames they receive are merged: a frame is dispatched once, from the first
+ * link delivering it, and its copies are recognized by the system id,
+ * component id and sequence number of their sender. So the telemetry goes on
+ * without gap as long as one of the links delivers it.
+ *
+ * Each link is rated by its lag behind the first copy of the frames it
+ * delivers, and by the share of the frames it misses. The frames sent go
+ * through the best rated link, and move to another one as soon as that link
+ * stops delivering frames, or is lost.
+ *
+ * The connection is lost once all its links are.
+ */
+public abstract class BondedConnection extends MavLinkConnection {
+
+    private static final String TAG = BondedConnection.class.getSimpleName();
+
+    private static final String LINK_LISTENER_TAG = TAG;
+
+    /**
+     * Count of sequence numbers before the last one of a sender whose
+     * copies are recognized. The sequence numbers of a sender wrap after 256
+     * frames.
+     */
+    static final int DUPLICATE_WINDOW = 128;
+
+    /**
+     * Longest delay between two copies of a frame, after which the second
+     * one is taken for a new frame, like after a reboot of its sender.
+     */
+    private static final long DUPLICATE_TIMEOUT_NANOS = 1000000000L;
+
+    /**
+     * Delay since the last frame delivered by a link after which it's no
+     * longer used to send, if another link delivered frames since.
+     */
+    static final long STALE_LINK_NANOS = 250000000L;
+
+    /**
+     * Count of frames received between two ratings of the links.
+     */
+    private static final int RATING_FRAMES = 64;
+
+    /**
+     * Lag equivalent to a link missing all the frames.
+     */
+    private static final double LOSS_PENALTY_NANOS = 200000000;
+
+    /**
+     * Rating difference below which the frames keep being sent through the
+     * same link, so they don't alternate between two similar links.
+     */
+    private static final double SWITCH_MARGIN_NANOS = 5000000;
+
+    private static final int RECEIVE_QUEUE_CAPACITY = 4096;
+
+    /**
+     * Offered to the receive queue to wake the reading thread up.
+     */
+    private static final byte[] WAKE_UP = new byte[0];
+
+    /**
+     * Rating of a link, at the time it was read.
+     */
+    public static final class LinkQuality {
+
+        private final MavLinkConnection connection;
+        private final double lagNanos;
+        private final double lossRatio;
+        private final long duplicatesCount;
+        private final boolean isPreferred;
+
+        LinkQuality(MavLinkConnection connection, double lagNanos, double lossRatio, long duplicatesCount,
+                    boolean isPreferred) {
+            this.connection = connection;
+            this.lagNanos = lagNanos;
+            this.lossRatio = lossRatio;
+            this.duplicatesCount = duplicatesCount;
+            this.isPreferred = isPreferred;
+        }
+
+        public MavLinkConnection getConnection() {
+            return connection;
+        }
+
+        /**
+         * @return the average delay of the frames received by the link after
+         * the first copy, in ms.
+         */
+        public double getLagMillis() {
+            return lagNanos / 1E6;
+        }
+
+        /**
+         * @return the average share of the frames missed by the link, from 0
+         * to 1.
+         */
+        public double getLossRatio() {
+            return lossRatio;
+        }
+
+        /**
+         * @return the count of frames received by the link which were
+         * received by another link first.
+         */
+        public long getDuplicatesCount() {
+            return duplicatesCount;
+        }
+
+        /**
+         * @return true if the frames are sent through the link.
+         */
+        public boolean isPreferred() {
+            return isPreferred;
+        }
+
+        @Override
+        public String toString() {
+            return "LinkQuality{type=" + MavLinkConnectionTypes.getConnectionTypeLabel(connection.getConnectionType())
+                    + ", lag=" + String.format("%.1f", getLagMillis()) + "ms, loss=" + String.format("%.3f",
+                    lossRatio) + ", duplicates=" + duplicatesCount + ", preferred=" + isPreferred + "}";
+        }
+    }
+
+    /**
+     * A link, and its rating. Guarded by the lock of the sequence windows,
+     * except for the fields read when sending.
+     */
+    private static final class Link {
+
+        final MavLinkConnection connection;
+
+        volatile double lagNanos;
+        volatile double lossRatio;
+        volatile long lastReceivedNanos;
+
+        int deliveredCount;
+        long duplicatesCount;
+
+        Link(MavLinkConnection connection) {
+            this.connection = connection;
+        }
+
+        boolean isUsable(long now) {
+            return connection.getConnectionStatus() == MAVLINK_CONNECTED && lastReceivedNanos != 0
+                    && now - lastReceivedNanos < STALE_LINK_NANOS;
+        }
+
+        double getRating() {
+            return lagNanos + lossRatio * LOSS_PENALTY_NANOS;
+        }
+    }
+
+    /**
+     * Arrival times of the last sequence numbers of a sender.
+     */
+    private static final class SequenceWindow {
+
+        private final long[] arrivalTimes = new long[256];
+        private int lastSeq = -1;
+
+        /**
+         * Records the arrival of a frame.
+         *
+         * @return the arrival time of its first copy, or 0 if it's the first.
+         */
+        long onFrame(int seq, long now) {
+            if (lastSeq < 0) {
+                lastSeq = seq;
+                arrivalTimes[seq] = now;
+                return 0;
+            }
+
+            final int distance = (seq - lastSeq) & 0xFF;
+            if (distance != 0 && distance < DUPLICATE_WINDOW) {
+                // A newer frame: the sequence numbers passed over are free
+                // for the next round.
+                for (int i = 1; i < distance; i++) {
+                    arrivalTimes[(lastSeq + i) & 0xFF] = 0;
+                }
+                lastSeq = seq;
+                arrivalTimes[seq] = now;
+                return 0;
+            }
+
+            final long firstArrival = arrivalTimes[seq];
+            if (firstArrival != 0 && now - firstArrival < DUPLICATE_TIMEOUT_NANOS) {
+                return firstArrival;
+            }
+
+            // Missed by the other links until now, or sent again by a
+            // rebooted sender.
+            arrivalTimes[seq] = now;
+            return 0;
+        }
+    }
+
+    private final List<Link> mLinks;
+
+    /**
+     * Windows of the senders heard, by system and component id. Their lock
+     * guards the ratings of the links as well.
+     */
+    private final Map<Integer, SequenceWindow> mWindows = new HashMap<>();
+    private int mRatedFramesCount;
+
+    private volatile Link mPreferredLink;
+
+    /**
+     * Source of the frames merged since the links were last connected.
+     */
+    private volatile ReceivedFramesSource mReadSource = new ReceivedFramesSource();
+
+    private final MavLinkFrameListener mFrameListener = new MavLinkFrameListener() {
+        @Override
+        public void onFrameReceived(MavLinkConnection source, MAVLinkPacket packet, byte[] frame, int length) {
+            final Link link = getLink(source);
+            if (link != null && isFirstCopy(link, packet, System.nanoTime())) {
+                mReadSource.offer(Arrays.copyOf(frame, length));
+            }
+        }
+    };
+
+    private final MavLinkConnectionListener mLinkListener = new MavLinkConnectionListener() {
+        @Override
+        public void onStartingConnection() {
+        }
+
+        @Override
+        public void onConnect(long connectionTime) {
+        }
+
+        @Override
+        public void onLinkRestored(long restoredTime) {
+        }
+
+        @Override
+        public void onReceivePacket(MAVLinkPacket packet) {
+        }
+
+        @Override
+        public void onDisconnect(long disconnectionTime) {
+            for (Link link : mLinks) {
+                if (link.connection.getConnectionStatus() != MAVLINK_DISCONNECTED) {
+                    return;
+                }
+            }
+            mReadSource.fail(new IOException("All the links were lost."));
+        }
+
+        @Override
+        public void onComError(String errMsg) {
+            reportComError(errMsg);
+        }
+    };
+
+    /**
+     * @param links connections to the vehicle. The first ones are preferred
+     *              to send until the links are rated.
+     */
+    public BondedConnection(List<? extends MavLinkConnection> links) {
+        if (links.isEmpty()) {
+            throw new IllegalArgumentException("No link to bond.");
+        }
+
+        final List<Link> bonded = new ArrayList<>(links.size());
+        for (MavLinkConnection connection : links) {
+            bonded.add(new Link(connection));
+        }
+        mLinks = Collections.unmodifiableList(bonded);
+    }
+
+    public List<MavLinkConnection> getLinks() {
+        final List<MavLinkConnection> links = new ArrayList<>(mLinks.size());
+        for (Link link : mLinks) {
+            links.add(link.connection);
+        }
+        return links;
+    }
+
+    public List<LinkQuality> getLinkQualities() {
+        final Link preferred = mPreferredLink;
+        final List<LinkQuality> qualities = new ArrayList<>(mLinks.size());
+        synchronized (mWindows) {
+            for (Link link : mLinks) {
+                qualities.add(new LinkQuality(link.connection, link.lagNanos, link.lossRatio, link.duplicatesCount,
+                        link == preferred));
+            }
+        }
+        return qualities;
+    }
+
+    private Link getLink(MavLinkConnection connection) {
+        for (Link link : mLinks) {
+            if (link.connection == connection) {
+                return link;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rates the link delivering the frame, and tells whether the frame was
+     * delivered by another link first.
+     */
+    private boolean isFirstCopy(Link link, MAVLinkPacket packet, long now) {
+        synchronized (mWindows) {
+            final int sender = (packet.sysid & 0xFF) << 8 | packet.compid & 0xFF;
+            SequenceWindow window = mWindows.get(sender);
+            if (window == null) {
+                window = new SequenceWindow();
+                mWindows.put(sender, window);
+            }
+
+            final long firstArrival = window.onFrame(packet.seq & 0xFF, now);
+            link.lastReceivedNanos = now;
+            link.deliveredCount++;
+
+            final long lag = firstArrival == 0 ? 0 : now - firstArrival;
+            link.lagNanos += (lag - link.lagNanos) / 16;
+            if (firstArrival != 0) {
+                link.duplicatesCount++;
+                return false;
+            }
+
+            if (++mRatedFramesCount == RATING_FRAMES) {
+                rateLinks(now);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Updates the share of the frames missed by each link since the last
+     * rating, and picks the link to send through.
+     */
+    private void rateLinks(long now) {
+        Link best = null;
+        for (Link link : mLinks) {
+            final double loss = Math.max(0, 1 - (double) link.deliveredCount / mRatedFramesCount);
+            link.lossRatio += (loss - link.lossRatio) / 4;
+            link.deliveredCount = 0;
+
+            if (link.isUsable(now) && (best == null || link.getRating() < best.getRating())) {
+                best = link;
+            }
+        }
+        mRatedFramesCount = 0;
+
+        final Link preferred = mPreferredLink;
+        if (best != null && best != preferred && (preferred == null || !preferred.isUsable(now)
+                || best.getRating() + SWITCH_MARGIN_NANOS < preferred.getRating())) {
+            setPreferredLink(best);
+        }
+    }
+
+    private void setPreferredLink(Link link) {
+        mPreferredLink = link;
+        mLogger.logInfo(TAG, "Sending through the "
+                + MavLinkConnectionTypes.getConnectionTypeLabel(link.connection.getConnectionType()) + " link, lag "
+                + String.format("%.1f", link.lagNanos / 1E6) + "ms, loss " + String.format("%.3f", link.lossRatio));
+    }
+
+    /**
+     * @return the link to send through: the preferred one while it delivers
+     * frames, otherwise the best rated one delivering frames, or the first
+     * one connected if none does.
+     */
+    private Link selectLink() {
+        final long now = System.nanoTime();
+        final Link preferred = mPreferredLink;
+        if (preferred != null && preferred.isUsable(now)) {
+            return preferred;
+        }
+
+        Link best = null;
+        Link connected = null;
+        for (Link link : mLinks) {
+            if (link.isUsable(now) && (best == null || link.getRating() < best.getRating())) {
+                best = link;
+            }
+            if (connected == null && link.connection.getConnectionStatus() == MAVLINK_CONNECTED) {
+                connected = link;
+            }
+        }
+
+        if (best != null) {
+            setPreferredLink(best);
+            return best;
+        }
+        return connected;
+    }
+
+    @Override
+    public final void openConnection() throws IOException {
+        synchronized (mWindows) {
+            mWindows.clear();
+            mRatedFramesCount = 0;
+            for (Link link : mLinks) {
+                link.deliveredCount = 0;
+                link.lastReceivedNanos = 0;
+            }
+        }
+        mReadSource = new ReceivedFramesSource();
+
+        for (Link link : mLinks) {
+            link.connection.addMavLinkConnectionListener(LINK_LISTENER_TAG, mLinkListener);
+            link.connection.setFrameListener(mFrameListener);
+            if (link.connection.getConnectionStatus() == MAVLINK_DISCONNECTED) {
+                link.connection.connect();
+            }
+        }
+
+        onConnectionOpened();
+    }
+
+    @Override
+    public final void closeConnection() throws IOException {
+        for (Link link : mLinks) {
+            link.connection.removeMavLinkConnectionListener(LINK_LISTENER_TAG);
+            if (link.connection.getFrameListener() == mFrameListener) {
+                link.connection.setFrameListener(null);
+            }
+            link.connection.disconnect();
+        }
+        mPreferredLink = null;
+        mReadSource.close();
+    }
+
+    /**
+     * @return the send time estimated by the clock of the preferred link, or
+     * else of the first synchronized one, as the bond doesn't synchronize a
+     * clock of its own.
+     */
+    @Override
+    public final long getVehicleSendTime(long receivedNanos) {
+        final Link preferred = mPreferredLink;
+        if (preferred != null && preferred.connection.getLinkClock().isSynchronized()) {
+            return preferred.connection.getLinkClock().getVehicleSendTime(receivedNanos);
+        }
+
+        for (Link link : mLinks) {
+            if (link.connection.getLinkClock().isSynchronized()) {
+                return link.connection.getLinkClock().getVehicleSendTime(receivedNanos);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public final AsyncReadSource getAsyncReadSource() {
+        return mReadSource;
+    }
+
+    @Override
+    public final int readDataBlock(byte[] buffer) throws IOException {
+        return mReadSource.read(buffer);
+    }
+
+    @Override
+    public final void sendBuffer(byte[] buffer) throws IOException {
+        final Link link = selectLink();
+        if (link == null) {
+            throw new IOException("No link connected.");
+        }
+        link.connection.sendFrame(buffer);
+    }
+
+    @Override
+    public final void sendBuffers(byte[][] buffers, int count) throws IOException {
+        final Link link = selectLink();
+        if (link == null) {
+            throw new IOException("No link connected.");
+        }
+
+        for (int i = 0; i < count; i++) {
+            link.connection.sendFrame(buffers[i]);
+        }
+    }
+
+    @Override
+    public final void loadPreferences() {
+    }
+
+    /**
+     * @return the type of the first link.
+     */
+    @Override
+    public final int getConnectionType() {
+        return mLinks.get(0).connection.getConnectionType();
+    }
+
+    /**
+     * Reads the frames received by the links, once merged.
+     */
+    private static final class ReceivedFramesSource extends BlockingReadSource {
+
+        private final FrameRing mReceived = new MpscFrameRing("bonded received", RECEIVE_QUEUE_CAPACITY,
+                FrameRing.OverflowPolicy.DROP_OLDEST);
+
+        private volatile IOException mFailure;
+
+        /**
+         * Frame which didn't fit in the last buffer filled.
+         */
+        private byte[] mNextFrame;
+
+        void offer(byte[] frame) {
+            mReceived.offer(frame);
+        }
+
+        void fail(IOException e) {
+            mFailure = e;
+            mReceived.offer(WAKE_UP);
+        }
+
+        /**
+         * Blocks until frames are received, then moves as many as fit to the
+         * given buffer.
+         */
+        @Override
+        void read(ByteBuffer buffer) throws IOException {
+            boolean isFilled = false;
+            while (true) {
+                if (mFailure != null) {
+                    throw mFailure;
+                }
+
+                byte[] frame = mNextFrame;
+                mNextFrame = null;
+                if (frame == null) {
+                    frame = mReceived.poll();
+                }
+
+                if (frame == null) {
+                    if (isFilled) {
+                        return;
+                    }
+
+                    try {
+                        FrameRing.awaitFrames(mReceived);
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                } else if (frame.length > buffer.remaining()) {
+                    mNextFrame = frame;
+                    return;
+                } else if (frame != WAKE_UP) {
+                    buffer.put(frame);
+                    isFilled = true;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            fail(new EOFException("Connection closed."));
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded queue of mavlink frames, between the threads producing them and
+ * the thread writing them out. Its capacity is rounded up to a power of two,
+ * and a frame offered to a full ring is handled according to the ring
+ * {@link OverflowPolicy}, so a stalled link can't grow the heap.
+ */
+public abstract class FrameRing {
+
+    public enum OverflowPolicy {
+        /**
+         * The frame offered to a full ring is dropped.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest frame of a full ring is dropped to make room for the
+         * offered one.
+         */
+        DROP_OLDEST
+    }
+
+    /**
+     * Depth and counters of a ring, at the time they were read.
+     */
+    public static final class Metrics {
+
+        private final String name;
+        private final int capacity;
+        private final int depth;
+        private final int maxDepth;
+        private final long enqueuedCount;
+        private final long droppedCount;
+
+        Metrics(String name, int capacity, int depth, int maxDepth, long enqueuedCount, long droppedCount) {
+            this.name = name;
+            this.capacity = capacity;
+            this.depth = depth;
+            this.maxDepth = maxDepth;
+            this.enqueuedCount = enqueuedCount;
+            this.droppedCount = droppedCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * @return count of frames waiting in the ring.
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * @return highest count of frames which waited in the ring.
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * @return count of frames accepted by the ring, including the ones
+         * dropped later on by the {@link OverflowPolicy#DROP_OLDEST} policy.
+         */
+        public long getEnqueuedCount() {
+            return enqueuedCount;
+        }
+
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + depth + "/" + capacity + " frames, max " + maxDepth + ", " + enqueuedCount
+                    + " enqueued, " + droppedCount + " dropped";
+        }
+    }
+
+    private final String name;
+    protected final int capacity;
+    protected final int mask;
+    protected final OverflowPolicy overflowPolicy;
+
+    /**
+     * Count of frames taken from the ring, and count of frames put in it.
+     */
+    protected final AtomicLong head = new AtomicLong();
+    protected final AtomicLong tail = new AtomicLong();
+
+    protected final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    /**
+     * Consumer parked until a frame is offered.
+     */
+    private volatile Thread waiter;
+
+    protected FrameRing(String name, int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        this.name = name;
+        this.capacity = Integer.bitCount(capacity) == 1 ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.mask = this.capacity - 1;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Adds a frame to the ring, unless it's full and the overflow policy is
+     * {@link OverflowPolicy#DROP_NEWEST}.
+     *
+     * @return false if the frame was dropped.
+     */
+    public abstract boolean offer(byte[] frame);
+
+    /**
+     * @return the oldest frame of the ring, or null if it's empty.
+     */
+    public abstract byte[] poll();
+
+    /**
+     * Moves the frames of the ring to the given array, starting at the given
+     * offset, until the array is full or the ring is empty.
+     *
+     * @return count of frames moved.
+     */
+    public int drainTo(byte[][] frames, int offset) {
+        int count = 0;
+        byte[] frame;
+        while (offset + count < frames.length && (frame = poll()) != null) {
+            frames[offset + count++] = frame;
+        }
+        return count;
+    }
+
+    /**
+     * Blocks until a frame is available.
+     *
+     * @return the oldest frame of the ring.
+     */
+    public byte[] take() throws InterruptedException {
+        byte[] frame;
+        while ((frame = poll()) == null) {
+            awaitFrames(this);
+        }
+        return frame;
+    }
+
+    /**
+     * Parks the calling thread until a frame is offered to one of the given
+     * rings, unless one of them isn't empty already. Each ring only supports
+     * one waiting consumer.
+     */
+    public static void awaitFrames(FrameRing... rings) throws InterruptedException {
+        awaitFrames(0, rings);
+    }
+
+    /**
+     * Parks the calling thread until a frame is offered to one of the given
+     * rings, or until the given time elapsed, unless one of them isn't empty
+     * already.
+     *
+     * @param timeoutNanos longest time to wait, or 0 to wait until a frame
+     *                     is offered.
+     */
+    public static void awaitFrames(long timeoutNanos, FrameRing... rings) throws InterruptedException {
+        final Thread current = Thread.currentThread();
+        boolean isEmpty = true;
+        for (FrameRing ring : rings) {
+            ring.waiter = current;
+        }
+
+        // Checked after publishing the waiter, so an offer either sees it or
+        // is seen here.
+        for (FrameRing ring : rings) {
+            isEmpty &= ring.isEmpty();
+        }
+
+        if (isEmpty) {
+            if (timeoutNanos > 0) {
+                LockSupport.parkNanos(rings[0], timeoutNanos);
+            } else {
+                LockSupport.park(rings[0]);
+            }
+        }
+
+        for (FrameRing ring : rings) {
+            ring.waiter = null;
+        }
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * @return count of frames in the ring.
+     */
+    public int size() {
+        // Reads the head first, so the count can't be negative.
+        final long head = this.head.get();
+        return (int) Math.min(capacity, Math.max(0, tail.get() - head));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return count of frames put in the ring.
+     */
+    public long getEnqueuedCount() {
+        return tail.get();
+    }
+
+    /**
+     * @return count of frames taken from the ring, or dropped from it.
+     */
+    public long getTakenCount() {
+        return head.get();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(name, capacity, size(), maxDepth.get(), tail.get(), droppedCount.get());
+    }
+
+    /**
+     * Called by the producers once a frame was added.
+     */
+    protected final void onFrameAdded(int depth) {
+        int max;
+        while (depth > (max = maxDepth.get()) && !maxDepth.compareAndSet(max, depth)) {
+            // Another producer updated the max depth.
+        }
+
+        final Thread waiter = this.waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+}
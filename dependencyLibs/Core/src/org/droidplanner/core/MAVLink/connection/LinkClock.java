@@ -0,0 +1,536 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_ping;
+import com.MAVLink.common.msg_system_time;
+import com.MAVLink.common.msg_timesync;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the round trip time of a link, and the offset of the clock of
+ * the vehicle at its other end, from the exchanges of TIMESYNC and PING
+ * messages, and from the SYSTEM_TIME messages of the vehicle.
+ *
+ * Each exchange gives a sample: its round trip time, and for a TIMESYNC, the
+ * offset of the vehicle clock at the middle of the exchange. The last
+ * {@link #WINDOW} samples are kept. The round trip time is their median,
+ * and the samples whose round trip is unusually long, delayed by a queue or
+ * a retransmission, are left out of the offset. The offset is fitted on the
+ * samples with the shortest round trips, whose error is the lowest, along
+ * with the drift of the vehicle clock. Both hold as long as less than half
+ * the exchanges are delayed.
+ *
+ * The local times are in ns, from {@link System#nanoTime()}. The vehicle
+ * times are in ns too, on the clock the vehicle uses for TIMESYNC, which is
+ * its time since boot.
+ *
+ * The messages are handled by the thread reading the link, and the requests
+ * built by the thread sending them.
+ */
+public class LinkClock {
+
+    /**
+     * Count of samples the estimates are computed from.
+     */
+    static final int WINDOW = 16;
+
+    /**
+     * Least count of offset samples to fit the drift of the vehicle clock.
+     */
+    private static final int MIN_FIT_SAMPLES = 4;
+
+    /**
+     * Drift of a vehicle clock, beyond which the fit is deemed noise.
+     */
+    private static final double MAX_DRIFT = 500E-6;
+
+    /**
+     * Least spread of the round trip times the outliers are rejected from,
+     * so a steady link doesn't reject its every slight delay.
+     */
+    private static final long MIN_RTT_SPREAD_NANOS = 1000000;
+
+    /**
+     * Count of requests awaiting their reply, beyond which the oldest one is
+     * forgotten.
+     */
+    private static final int PENDING_REQUESTS = 8;
+
+    private static final long NO_OFFSET = Long.MIN_VALUE;
+
+    /**
+     * Estimates at the time they were computed.
+     */
+    public static final class Metrics {
+
+        private final long rttNanos;
+        private final long minRttNanos;
+        private final long jitterNanos;
+        private final long offsetNanos;
+        private final double drift;
+        private final int samplesCount;
+        private final long rejectedCount;
+        private final boolean isSynchronized;
+
+        Metrics(long rttNanos, long minRttNanos, long jitterNanos, long offsetNanos, double drift,
+                int samplesCount, long rejectedCount, boolean isSynchronized) {
+            this.rttNanos = rttNanos;
+            this.minRttNanos = minRttNanos;
+            this.jitterNanos = jitterNanos;
+            this.offsetNanos = offsetNanos;
+            this.drift = drift;
+            this.samplesCount = samplesCount;
+            this.rejectedCount = rejectedCount;
+            this.isSynchronized = isSynchronized;
+        }
+
+        /**
+         * @return the median round trip time of the link, in ms, or -1 if
+         * it's not measured yet.
+         */
+        public double getRttMillis() {
+            return rttNanos < 0 ? -1 : rttNanos / 1E6;
+        }
+
+        /**
+         * @return the shortest round trip time of the last exchanges, in ms,
+         * or -1 if it's not measured yet.
+         */
+        public double getMinRttMillis() {
+            return minRttNanos < 0 ? -1 : minRttNanos / 1E6;
+        }
+
+        /**
+         * @return the median deviation of the round trip times from their
+         * median, in ms.
+         */
+        public double getJitterMillis() {
+            return jitterNanos / 1E6;
+        }
+
+        /**
+         * @return the vehicle time minus the local time, in ns, when the
+         * metrics were read.
+         */
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        /**
+         * @return the rate the vehicle clock drifts from the local one, in
+         * parts per million.
+         */
+        public double getDriftPpm() {
+            return drift * 1E6;
+        }
+
+        /**
+         * @return the count of samples the estimates are computed from.
+         */
+        public int getSamplesCount() {
+            return samplesCount;
+        }
+
+        /**
+         * @return the count of samples whose round trip was too long to be
+         * trusted when they were received.
+         */
+        public long getRejectedCount() {
+            return rejectedCount;
+        }
+
+        /**
+         * @return true if the offset of the vehicle clock is known.
+         */
+        public boolean isSynchronized() {
+            return isSynchronized;
+        }
+
+        @Override
+        public String toString() {
+            return "LinkClock{rtt=" + String.format("%.1f", getRttMillis()) + "ms, minRtt=" + String.format("%.1f",
+                    getMinRttMillis()) + "ms, jitter=" + String.format("%.1f", getJitterMillis()) + "ms, offset="
+                    + offsetNanos + "ns, drift=" + String.format("%.1f", getDriftPpm()) + "ppm, samples="
+                    + samplesCount + ", rejected=" + rejectedCount + ", synchronized=" + isSynchronized + "}";
+        }
+    }
+
+    /**
+     * Mapping of the local clock to the vehicle one, replaced as a whole so
+     * it can be read without lock by the thread stamping the packets.
+     */
+    private static final class Estimate {
+
+        final long referenceTime;
+        final long offsetNanos;
+        final double drift;
+        final long rttNanos;
+
+        Estimate(long referenceTime, long offsetNanos, double drift, long rttNanos) {
+            this.referenceTime = referenceTime;
+            this.offsetNanos = offsetNanos;
+            this.drift = drift;
+            this.rttNanos = rttNanos;
+        }
+
+        boolean isSynchronized() {
+            return offsetNanos != NO_OFFSET;
+        }
+
+        long toVehicleTime(long localNanos) {
+            return localNanos + offsetNanos + (long) (drift * (localNanos - referenceTime));
+        }
+    }
+
+    private static final Estimate NO_ESTIMATE = new Estimate(0, NO_OFFSET, 0, -1);
+
+    /*
+     * Samples, by order of arrival in a ring.
+     */
+    private final long[] mSampleTimes = new long[WINDOW];
+    private final long[] mRtts = new long[WINDOW];
+    private final long[] mOffsets = new long[WINDOW];
+    private int mSamplesCount;
+    private int mNextSample;
+    private long mRejectedCount;
+
+    /**
+     * Offsets given by the SYSTEM_TIME messages, less the time they took to
+     * arrive, as the vehicle doesn't tell when it sent them.
+     */
+    private final long[] mSystemTimeOffsets = new long[WINDOW];
+    private int mSystemTimesCount;
+    private int mNextSystemTime;
+
+    /*
+     * Requests awaiting their reply, in rings.
+     */
+    private final long[] mPendingTimeSyncs = new long[PENDING_REQUESTS];
+    private int mNextTimeSync;
+    private final long[] mPendingPingTimes = new long[PENDING_REQUESTS];
+    private final int[] mPendingPingSeqs = new int[PENDING_REQUESTS];
+    private int mNextPing;
+    private int mPingSeq;
+
+    private final long[] mSortBuffer = new long[WINDOW];
+
+    private volatile Estimate mEstimate = NO_ESTIMATE;
+
+    /**
+     * Forgets the samples, like when the link is opened again, possibly to
+     * another vehicle.
+     */
+    public synchronized void reset() {
+        mSamplesCount = 0;
+        mNextSample = 0;
+        mRejectedCount = 0;
+        mSystemTimesCount = 0;
+        mNextSystemTime = 0;
+        Arrays.fill(mPendingTimeSyncs, 0);
+        Arrays.fill(mPendingPingTimes, 0);
+        mEstimate = NO_ESTIMATE;
+    }
+
+    /**
+     * @return a TIMESYNC request, sent at the given time.
+     */
+    public synchronized msg_timesync newTimeSyncRequest(long now) {
+        mPendingTimeSyncs[mNextTimeSync] = now;
+        mNextTimeSync = (mNextTimeSync + 1) % PENDING_REQUESTS;
+
+        final msg_timesync request = new msg_timesync();
+        request.tc1 = 0;
+        request.ts1 = now;
+        return request;
+    }
+
+    /**
+     * @return a PING request to all the systems, sent at the given time.
+     */
+    public synchronized msg_ping newPingRequest(long now) {
+        final msg_ping request = new msg_ping();
+        request.time_usec = now / 1000;
+        request.seq = mPingSeq++;
+
+        mPendingPingTimes[mNextPing] = now;
+        mPendingPingSeqs[mNextPing] = request.seq;
+        mNextPing = (mNextPing + 1) % PENDING_REQUESTS;
+        return request;
+    }
+
+    /**
+     * Handles a received packet: samples the replies to the requests, and
+     * answers the requests of the vehicle.
+     *
+     * @param packet received packet.
+     * @param now    local time it was received at.
+     * @return the reply to send, or null.
+     */
+    public MAVLinkMessage onPacketReceived(MAVLinkPacket packet, long now) {
+        switch (packet.msgid) {
+            case msg_timesync.MAVLINK_MSG_ID_TIMESYNC:
+                return onTimeSync(new msg_timesync(packet), now);
+
+            case msg_ping.MAVLINK_MSG_ID_PING:
+                return onPing(new msg_ping(packet), packet, now);
+
+            case msg_system_time.MAVLINK_MSG_ID_SYSTEM_TIME:
+                onSystemTime(new msg_system_time(packet), now);
+                return null;
+
+            default:
+                return null;
+        }
+    }
+
+    private synchronized MAVLinkMessage onTimeSync(msg_timesync message, long now) {
+        if (message.tc1 == 0) {
+            // A request of the vehicle.
+            final msg_timesync reply = new msg_timesync();
+            reply.tc1 = now;
+            reply.ts1 = message.ts1;
+            return reply;
+        }
+
+        // The replies to the requests of other ground stations on the link
+        // aren't ours.
+        for (int i = 0; i < PENDING_REQUESTS; i++) {
+            final long sentTime = mPendingTimeSyncs[i];
+            if (sentTime != 0 && sentTime == message.ts1 && sentTime <= now) {
+                mPendingTimeSyncs[i] = 0;
+                final long rtt = now - sentTime;
+                addSample(sentTime + rtt / 2, rtt, message.tc1 - (sentTime + rtt / 2));
+                break;
+            }
+        }
+        return null;
+    }
+
+    private synchronized MAVLinkMessage onPing(msg_ping message, MAVLinkPacket packet, long now) {
+        if (message.target_system == 0 && message.target_component == 0) {
+            // A request of the vehicle.
+            final msg_ping reply = new msg_ping();
+            reply.time_usec = message.time_usec;
+            reply.seq = message.seq;
+            reply.target_system = (byte) packet.sysid;
+            reply.target_component = (byte) packet.compid;
+            return reply;
+        }
+
+        for (int i = 0; i < PENDING_REQUESTS; i++) {
+            final long sentTime = mPendingPingTimes[i];
+            if (sentTime != 0 && mPendingPingSeqs[i] == message.seq && sentTime / 1000 == message.time_usec
+                    && sentTime <= now) {
+                mPendingPingTimes[i] = 0;
+                addSample(sentTime + (now - sentTime) / 2, now - sentTime, NO_OFFSET);
+                break;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void onSystemTime(msg_system_time message, long now) {
+        // The boot time is truncated to the ms, so half of one is added back.
+        final long vehicleTime = (message.time_boot_ms & 0xFFFFFFFFL) * 1000000L + 500000L;
+        mSystemTimeOffsets[mNextSystemTime] = vehicleTime - now;
+        mNextSystemTime = (mNextSystemTime + 1) % WINDOW;
+        if (mSystemTimesCount < WINDOW) {
+            mSystemTimesCount++;
+        }
+
+        if (!hasTimeSyncSamples()) {
+            updateEstimate();
+        }
+    }
+
+    /**
+     * Adds the sample of an exchange.
+     *
+     * @param time   local time at the middle of the exchange.
+     * @param rtt    round trip time of the exchange.
+     * @param offset vehicle time minus the local one at the middle of the
+     *               exchange, or {@link #NO_OFFSET} if the exchange doesn't
+     *               tell the vehicle time.
+     */
+    private void addSample(long time, long rtt, long offset) {
+        if (mSamplesCount >= MIN_FIT_SAMPLES && rtt > getRttThreshold()) {
+            mRejectedCount++;
+        }
+
+        mSampleTimes[mNextSample] = time;
+        mRtts[mNextSample] = rtt;
+        mOffsets[mNextSample] = offset;
+        mNextSample = (mNextSample + 1) % WINDOW;
+        if (mSamplesCount < WINDOW) {
+            mSamplesCount++;
+        }
+
+        updateEstimate();
+    }
+
+    private boolean hasTimeSyncSamples() {
+        for (int i = 0; i < mSamplesCount; i++) {
+            if (mOffsets[i] != NO_OFFSET) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getMedianRtt() {
+        System.arraycopy(mRtts, 0, mSortBuffer, 0, mSamplesCount);
+        return median(mSortBuffer, mSamplesCount);
+    }
+
+    /**
+     * @return the median deviation of the round trip times from the given
+     * median.
+     */
+    private long getRttDeviation(long medianRtt) {
+        for (int i = 0; i < mSamplesCount; i++) {
+            mSortBuffer[i] = Math.abs(mRtts[i] - medianRtt);
+        }
+        return median(mSortBuffer, mSamplesCount);
+    }
+
+    /**
+     * @return the round trip time beyond which a sample is an outlier.
+     */
+    private long getRttThreshold() {
+        final long medianRtt = getMedianRtt();
+        return medianRtt + Math.max(3 * getRttDeviation(medianRtt), MIN_RTT_SPREAD_NANOS);
+    }
+
+    private static long median(long[] values, int count) {
+        Arrays.sort(values, 0, count);
+        return count % 2 == 1 ? values[count / 2] : (values[count / 2 - 1] + values[count / 2]) / 2;
+    }
+
+    private void updateEstimate() {
+        final long medianRtt = mSamplesCount == 0 ? -1 : getMedianRtt();
+
+        // Fits the offsets of the samples whose round trip wasn't longer
+        // than the median, as their error is bounded by half of it.
+        int count = 0;
+        long timesSum = 0;
+        long bestOffset = NO_OFFSET;
+        long bestRtt = Long.MAX_VALUE;
+        for (int i = 0; i < mSamplesCount; i++) {
+            if (mOffsets[i] == NO_OFFSET) {
+                continue;
+            }
+            if (mRtts[i] < bestRtt) {
+                bestRtt = mRtts[i];
+                bestOffset = mOffsets[i];
+            }
+            if (mRtts[i] <= medianRtt) {
+                timesSum += mSampleTimes[i] - mSampleTimes[0];
+                count++;
+            }
+        }
+
+        if (bestOffset == NO_OFFSET) {
+            mEstimate = new Estimate(0, getSystemTimeOffset(medianRtt), 0, medianRtt);
+            return;
+        }
+
+        if (count < MIN_FIT_SAMPLES) {
+            mEstimate = new Estimate(0, bestOffset, 0, medianRtt);
+            return;
+        }
+
+        // Least squares fit of the offset against the time, around the
+        // average time of the samples fitted.
+        final long referenceTime = mSampleTimes[0] + timesSum / count;
+        double meanOffset = 0;
+        for (int i = 0; i < mSamplesCount; i++) {
+            if (mOffsets[i] != NO_OFFSET && mRtts[i] <= medianRtt) {
+                meanOffset += (double) (mOffsets[i] - bestOffset) / count;
+            }
+        }
+
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < mSamplesCount; i++) {
+            if (mOffsets[i] != NO_OFFSET && mRtts[i] <= medianRtt) {
+                final double dt = mSampleTimes[i] - referenceTime;
+                covariance += dt * (mOffsets[i] - bestOffset - meanOffset);
+                variance += dt * dt;
+            }
+        }
+
+        double drift = variance == 0 ? 0 : covariance / variance;
+        if (Math.abs(drift) > MAX_DRIFT) {
+            drift = 0;
+        }
+        mEstimate = new Estimate(referenceTime, bestOffset + Math.round(meanOffset), drift, medianRtt);
+    }
+
+    /**
+     * @return the offset given by the SYSTEM_TIME messages, or
+     * {@link #NO_OFFSET} if none was received. The one which arrived the
+     * fastest is the closest, and half a round trip is added for its
+     * delivery.
+     */
+    private long getSystemTimeOffset(long medianRtt) {
+        if (mSystemTimesCount == 0) {
+            return NO_OFFSET;
+        }
+
+        long offset = Long.MIN_VALUE;
+        for (int i = 0; i < mSystemTimesCount; i++) {
+            offset = Math.max(offset, mSystemTimeOffsets[i]);
+        }
+        return medianRtt < 0 ? offset : offset + medianRtt / 2;
+    }
+
+    /**
+     * @return true if the offset of the vehicle clock is known.
+     */
+    public boolean isSynchronized() {
+        return mEstimate.isSynchronized();
+    }
+
+    /**
+     * @return the vehicle time at the given local time, or 0 if the offset of
+     * the vehicle clock isn't known.
+     */
+    public long toVehicleTime(long localNanos) {
+        final Estimate estimate = mEstimate;
+        return estimate.isSynchronized() ? estimate.toVehicleTime(localNanos) : 0;
+    }
+
+    /**
+     * @return the vehicle time a packet received at the given local time was
+     * sent at, half a round trip earlier, or 0 if the offset of the vehicle
+     * clock isn't known.
+     */
+    public long getVehicleSendTime(long receivedNanos) {
+        final Estimate estimate = mEstimate;
+        if (!estimate.isSynchronized()) {
+            return 0;
+        }
+        return estimate.toVehicleTime(receivedNanos - Math.max(estimate.rttNanos, 0) / 2);
+    }
+
+    public synchronized Metrics getMetrics() {
+        final Estimate estimate = mEstimate;
+        final long now = System.nanoTime();
+
+        long minRtt = -1;
+        long jitter = 0;
+        if (mSamplesCount > 0) {
+            minRtt = Long.MAX_VALUE;
+            for (int i = 0; i < mSamplesCount; i++) {
+                minRtt = Math.min(minRtt, mRtts[i]);
+            }
+            jitter = getRttDeviation(estimate.rttNanos);
+        }
+
+        return new Metrics(estimate.rttNanos, minRtt, jitter,
+                estimate.isSynchronized() ? estimate.toVehicleTime(now) - now : 0, estimate.drift,
+                mSamplesCount, mRejectedCount, estimate.isSynchronized());
+    }
+}
@@ -1,19 +1,26 @@
 package org.droidplanner.core.MAVLink.connection;
 
+import com.MAVLink.MAVLinkEncoder;
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.MAVLinkPacketPool;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
 import com.MAVLink.Parser;
 
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
 import org.droidplanner.core.model.Logger;
-import org.droidplanner.core.util.Pair;
 
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.Map;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectableChannel;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -36,6 +43,28 @@ public abstract class MavLinkConnection {
      */
     private static final int READ_BUFFER_SIZE = 4096;
 
+    /**
+     * Count of requests kept in flight for the connections read through an
+     * {@link AsyncReadSource}.
+     */
+    private static final int ASYNC_READ_REQUESTS = 4;
+
+    /**
+     * Capacity in frames of the logging queues.
+     */
+    private static final int LOG_QUEUE_CAPACITY = 4096;
+
+    /**
+     * Most frames written or logged at once.
+     */
+    private static final int WRITE_BATCH_SIZE = 64;
+
+    /**
+     * Longest wait for the sending thread of a lost link to exit, before it's
+     * reopened.
+     */
+    private static final long SENDING_THREAD_EXIT_TIMEOUT = 1000; // ms
+
     /**
      * Set of listeners subscribed to this mavlink connection. We're using a
      * ConcurrentSkipListSet because the object will be accessed from multiple
@@ -46,24 +75,138 @@ public abstract class MavLinkConnection {
     /**
      * Stores the list of log files to be written to.
      */
-    private final ConcurrentHashMap<String, Pair<String, BufferedOutputStream>> loggingOutStreams = new
-            ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TlogWriter> loggingWriters = new ConcurrentHashMap<>();
 
     /**
-     * Queue the set of packets to send via the mavlink connection. A thread
-     * will be blocking on it until there's element(s) available to send.
+     * Durability of the log files added from now on.
      */
-    private final LinkedBlockingQueue<byte[]> mPacketsToSend = new LinkedBlockingQueue<>();
+    private volatile TlogDurability mTlogDurability = TlogDurability.DEFAULT;
 
     /**
-     * Queue the set of packets to log. A thread will be blocking on it until
-     * there's element(s) available for logging.
+     * Queue the set of packets to send via the mavlink connection, from any
+     * thread, by priority class. When the link stalls, the oldest packets of
+     * a class are dropped, as they're the most likely to be outdated once it
+     * resumes.
      */
-    private final LinkedBlockingQueue<byte[]> mPacketsToLog = new LinkedBlockingQueue<>();
+    private final SendScheduler mPacketsToSend = new SendScheduler("send");
+
+    /**
+     * Queue the set of packets to log, as tlog records stamped when they're
+     * queued: the received ones, all queued by the event loop, and the sent
+     * ones. New packets are dropped while the logging thread doesn't keep up,
+     * so the logs have a single gap.
+     */
+    private final FrameRing mReceivedToLog = new SpscFrameRing("log received", LOG_QUEUE_CAPACITY,
+            FrameRing.OverflowPolicy.DROP_NEWEST);
+    private final FrameRing mSentToLog = new MpscFrameRing("log sent", LOG_QUEUE_CAPACITY,
+            FrameRing.OverflowPolicy.DROP_NEWEST);
+
+    /**
+     * Held by the thread writing the queued packets of a connection providing
+     * a selectable channel, along with the batch it writes.
+     */
+    private final AtomicBoolean mIsWriting = new AtomicBoolean(false);
+    private final byte[][] mWriteBatch = new byte[WRITE_BATCH_SIZE][];
+
+    /**
+     * Set while the event loop is due to write the packets held back by the
+     * link capacity.
+     */
+    private final AtomicBoolean mIsPacingWrite = new AtomicBoolean(false);
+    private final Runnable mPacedWriteTask = new Runnable() {
+        @Override
+        public void run() {
+            mIsPacingWrite.set(false);
+            writePendingFrames();
+        }
+    };
+
+    /**
+     * Set while the event loop is due to write the forwarded frames.
+     */
+    private final AtomicBoolean mIsFlushingForwarded = new AtomicBoolean(false);
+    private final Runnable mForwardedWriteTask = new Runnable() {
+        @Override
+        public void run() {
+            mIsFlushingForwarded.set(false);
+            writePendingFrames();
+        }
+    };
 
     private final AtomicInteger mConnectionStatus = new AtomicInteger(MAVLINK_DISCONNECTED);
     private final AtomicLong mConnectionTime = new AtomicLong(-1);
 
+    /**
+     * Time the link was lost while connected, or -1 unless it's being
+     * reopened, along with the count of the attempts which failed since.
+     */
+    private final AtomicLong mLinkLostTime = new AtomicLong(-1);
+    private final AtomicInteger mReconnectAttempts = new AtomicInteger();
+    private final AtomicBoolean mIsReconnectPending = new AtomicBoolean(false);
+
+    /**
+     * Backoff between the attempts to reopen a lost link, or null if the
+     * connection is closed as soon as it's lost.
+     */
+    private volatile ReconnectPolicy mReconnectPolicy;
+
+    /**
+     * Set once a MAVLink 2 frame is received. The outbound packets are then
+     * sent using MAVLink 2 as well.
+     */
+    private final AtomicBoolean mUseMavlink2 = new AtomicBoolean(false);
+
+    /**
+     * Receives the frames as they were read, before they're dispatched to
+     * the listeners, or null.
+     */
+    private volatile MavLinkFrameListener mFrameListener;
+
+    /**
+     * Encodes the messages sent through {@link #sendMavMessage(MAVLinkMessage, int)}.
+     * Guarded by its own lock, as messages are sent from several threads.
+     */
+    private final MAVLinkEncoder mEncoder = new MAVLinkEncoder();
+
+    /**
+     * Sequence number of the next packet sent by this end of the link, shared
+     * by all the senders, so the vehicle sees a single gapless sequence.
+     */
+    private final AtomicInteger mPacketSeq = new AtomicInteger();
+
+    /**
+     * Statistics of the packets received since the connection was opened,
+     * updated by the event loop, or by the async reading thread.
+     */
+    private final MAVLinkStats mStats = new MAVLinkStats();
+
+    /**
+     * Round trip time of the link, and clock of the vehicle, estimated while
+     * the clock synchronization runs.
+     */
+    private final LinkClock mLinkClock = new LinkClock();
+    private volatile long mClockSyncPeriod;
+
+    /**
+     * Set while the event loop is due to send the next clock synchronization
+     * requests.
+     */
+    private final AtomicBoolean mIsClockSyncPending = new AtomicBoolean(false);
+    private final Runnable mClockSyncTask = new Runnable() {
+        @Override
+        public void run() {
+            mIsClockSyncPending.set(false);
+            if (mConnectionStatus.get() != MAVLINK_CONNECTED) {
+                return;
+            }
+
+            final long now = System.nanoTime();
+            sendMavMessage(mLinkClock.newTimeSyncRequest(now));
+            sendMavMessage(mLinkClock.newPingRequest(now));
+            scheduleClockSync(mClockSyncPeriod);
+        }
+    };
+
     /**
      * Start the connection process.
      */
@@ -76,13 +219,7 @@ public abstract class MavLinkConnection {
             try {
                 openConnection();
             } catch (IOException e) {
-                // Ignore errors while shutting down
-                if (mConnectionStatus.get() != MAVLINK_DISCONNECTED) {
-                    reportComError(e.getMessage());
-                    mLogger.logErr(TAG, e);
-                }
-
-                disconnect();
+                onIoError(e);
             }
 
             mLogger.logInfo(TAG, "Exiting connecting thread.");
@@ -90,152 +227,264 @@ public abstract class MavLinkConnection {
     };
 
     /**
-     * Manages the receiving and sending of messages.
+     * Reopens a lost link, once the threads serving it exited.
      */
-    private final Runnable mManagerTask = new Runnable() {
+    private final Runnable mReconnectingTask = new Runnable() {
+        @Override
+        public void run() {
+            final Thread sendingThread = mSendingThread;
+            if (sendingThread != null) {
+                try {
+                    sendingThread.join(SENDING_THREAD_EXIT_TIMEOUT);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
 
+            if (mConnectionStatus.get() == MAVLINK_CONNECTING) {
+                mConnectingTask.run();
+            }
+        }
+    };
+
+    /**
+     * Starts the next attempt to reopen a lost link, from the event loop.
+     */
+    private final Runnable mReconnectTask = new Runnable() {
         @Override
         public void run() {
-            Thread sendingThread = null;
-            Thread loggingThread = null;
+            mIsReconnectPending.set(false);
+            if (mConnectionStatus.get() != MAVLINK_CONNECTING || mLinkLostTime.get() < 0) {
+                return;
+            }
 
-            try {
-                final long connectionTime = System.currentTimeMillis();
-                mConnectionTime.set(connectionTime);
-                reportConnect(connectionTime);
+            mLogger.logInfo(TAG, "Reconnecting, attempt " + (mReconnectAttempts.get() + 1) + ".");
+            mConnectThread = new Thread(mReconnectingTask, "MavLinkConnection-Connecting Thread");
+            mConnectThread.start();
+        }
+    };
 
-                // Launch the 'Sending' thread
-                mLogger.logInfo(TAG, "Starting sender thread.");
-                sendingThread = new Thread(mSendingTask, "MavLinkConnection-Sending Thread");
-                sendingThread.start();
+    /**
+     * Reads the connection from the event loop, and hands the decoded packets
+     * to the listeners.
+     */
+    private final class IoHandler implements MavLinkEventLoop.Handler, Parser.PacketListener {
 
-                //Launch the 'Logging' thread
-                mLogger.logInfo(TAG, "Starting logging thread.");
-                loggingThread = new Thread(mLoggingTask, "MavLinkConnection-Logging Thread");
-                loggingThread.start();
+        private final MavLinkEventLoop eventLoop;
+        private final SelectableChannel channel;
 
-                final Parser parser = new Parser();
-                parser.stats.mavlinkResetStats();
+        /**
+         * Pipe filled by a {@link BlockingTransportAdapter}, or null if the
+         * connection is read directly.
+         */
+        private final Pipe.SourceChannel pipeSource;
 
-                final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        private final Parser parser = new Parser(new MAVLinkPacketPool(), mStats);
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        private final ByteBuffer pipeBuffer = ByteBuffer.wrap(readBuffer);
 
-                while (mConnectionStatus.get() == MAVLINK_CONNECTED) {
-                    int bufferSize = readDataBlock(readBuffer);
-                    handleData(parser, bufferSize, readBuffer);
-                }
-            } catch (IOException e) {
-                // Ignore errors while shutting down
-                if (mConnectionStatus.get() != MAVLINK_DISCONNECTED) {
-                    reportComError(e.getMessage());
-                    mLogger.logErr(TAG, e);
-                }
-            } finally {
-                if (sendingThread != null && sendingThread.isAlive()) {
-                    sendingThread.interrupt();
-                }
+        IoHandler(MavLinkEventLoop eventLoop, SelectableChannel channel, Pipe.SourceChannel pipeSource) {
+            this.eventLoop = eventLoop;
+            this.channel = channel;
+            this.pipeSource = pipeSource;
+        }
 
-                if (loggingThread != null && loggingThread.isAlive()) {
-                    loggingThread.interrupt();
-                }
+        @Override
+        public void onReadable() throws IOException {
+            if (mConnectionStatus.get() != MAVLINK_CONNECTED) {
+                return;
+            }
 
-                disconnect();
-                mLogger.logInfo(TAG, "Exiting manager thread.");
+            if (pipeSource == null) {
+                // The data left by a read isn't selected again, so it's read
+                // before waiting for the channel.
+                do {
+                    final int bufferSize = readDataBlock(readBuffer);
+                    if (bufferSize > 0) {
+                        parser.parse(readBuffer, 0, bufferSize, this);
+                    }
+                } while (hasBufferedReadData() && mConnectionStatus.get() == MAVLINK_CONNECTED);
+                return;
+            }
+
+            pipeBuffer.clear();
+            final int bufferSize = pipeSource.read(pipeBuffer);
+            if (bufferSize < 0) {
+                // The adapter was stopped.
+                throw new EOFException("Connection closed.");
+            }
+
+            if (bufferSize > 0) {
+                parser.parse(readBuffer, 0, bufferSize, this);
             }
         }
 
-        private void handleData(Parser parser, int bufferSize, byte[] buffer) {
-            if (bufferSize < 1) {
-                return;
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            handleReceivedPacket(parser, packet);
+        }
+
+        @Override
+        public void onWritable() throws IOException {
+            flushPendingData();
+            if (!hasPendingData()) {
+                eventLoop.setWriteInterest(channel, false);
+                writePendingFrames();
+            }
+        }
+
+        @Override
+        public void onError(IOException e) {
+            // The channel is closed along with its link.
+            if (channel.isOpen()) {
+                onIoError(e);
             }
+        }
+    }
 
-            for (int i = 0; i < bufferSize; i++) {
-                MAVLinkPacket receivedPacket = parser.mavlink_parse_char(buffer[i] & 0x00ff);
-                if (receivedPacket != null) {
-                    queueToLog(receivedPacket);
-                    reportReceivedPacket(receivedPacket);
-                }
+    /**
+     * Parses the data read by an {@link AsyncReadPipeline}, from the pipeline
+     * thread.
+     */
+    private final class AsyncReadHandler implements AsyncReadPipeline.Listener, Parser.PacketListener {
+
+        private final Parser parser = new Parser(new MAVLinkPacketPool(), mStats);
+
+        @Override
+        public void onDataReceived(ByteBuffer data) {
+            if (mConnectionStatus.get() == MAVLINK_CONNECTED) {
+                parser.parse(data, this);
             }
         }
-    };
+
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            handleReceivedPacket(parser, packet);
+        }
+
+        @Override
+        public void onReadError(IOException e) {
+            onIoError(e);
+        }
+    }
+
+    /**
+     * Handles the packets decoded by the event loop, or by the async reading
+     * thread. The packets are recycled by the parser once dispatched, and the
+     * frame they were decoded from is kept by the parser until then.
+     */
+    private void handleReceivedPacket(Parser parser, MAVLinkPacket packet) {
+        if (packet.isMavlink2 && !mUseMavlink2.get()) {
+            mLogger.logInfo(TAG, "MAVLink 2 detected, switching outbound packets to MAVLink 2.");
+            mUseMavlink2.set(true);
+        }
+
+        final long now = System.nanoTime();
+        if (mClockSyncPeriod > 0) {
+            final MAVLinkMessage reply = mLinkClock.onPacketReceived(packet, now);
+            if (reply != null) {
+                sendMavMessage(reply);
+            }
+        }
+        packet.vehicleTime = getVehicleSendTime(now);
+
+        // Forwarded first, so the routing latency doesn't include the
+        // listeners.
+        final MavLinkFrameListener frameListener = mFrameListener;
+        if (frameListener != null) {
+            frameListener.onFrameReceived(this, packet, parser.getFrameBytes(), parser.getFrameLength());
+        }
+
+        // Logs the frame as it was received, and skips the copy when nothing
+        // is logged.
+        if (!loggingWriters.isEmpty()) {
+            mReceivedToLog.offer(TlogWriter.newRecord(System.currentTimeMillis() * 1000, parser.getFrameBytes(),
+                    parser.getFrameLength()));
+        }
+
+        reportReceivedPacket(packet);
+    }
 
     /**
-     * Blocks until there's packet(s) to send, then dispatch them.
+     * Blocks until there's packet(s) to send, then dispatch the queued ones
+     * the link capacity allows at once. Only runs for the connections which don't provide a
+     * selectable channel.
      */
     private final Runnable mSendingTask = new Runnable() {
         @Override
         public void run() {
+            final byte[][] batch = new byte[WRITE_BATCH_SIZE][];
             try {
-                while (mConnectionStatus.get() == MAVLINK_CONNECTED) {
-                    byte[] buffer = mPacketsToSend.take();
-
-                    try {
-                        sendBuffer(buffer);
-                        queueToLog(buffer);
-                    } catch (IOException e) {
-                        reportComError(e.getMessage());
-                        mLogger.logErr(TAG, e);
+                while (mConnectionStatus.get() == MAVLINK_CONNECTED && !Thread.currentThread().isInterrupted()) {
+                    final int count = mPacketsToSend.drainTo(batch, 0);
+                    if (count == 0) {
+                        mPacketsToSend.awaitFrames();
+                        continue;
                     }
+
+                    writeBatch(batch, count);
                 }
             } catch (InterruptedException e) {
                 mLogger.logVerbose(TAG, e.getMessage());
             } finally {
-                disconnect();
+                // Unless stopped along with the link.
+                if (mConnectionStatus.get() == MAVLINK_CONNECTED && Thread.currentThread() == mSendingThread) {
+                    disconnect();
+                }
             }
         }
     };
 
     /**
-     * Blocks until there's packets to log, then dispatch them.
+     * Blocks until there's packets to log, then appends all the queued ones
+     * to each log file. The log files commit them in large writes, at least
+     * as often as their durability policy asks for.
      */
     private final Runnable mLoggingTask = new Runnable() {
 
         @Override
         public void run() {
-            final ByteBuffer logBuffer = ByteBuffer.allocate(Long.SIZE / Byte.SIZE);
-            logBuffer.order(ByteOrder.BIG_ENDIAN);
+            final byte[][] batch = new byte[WRITE_BATCH_SIZE][];
 
             try {
-                while (mConnectionStatus.get() == MAVLINK_CONNECTED) {
-
-                    final byte[] packetData = mPacketsToLog.take();
+                // Keeps running while a lost link is reopened.
+                while (mConnectionStatus.get() != MAVLINK_DISCONNECTED) {
 
-                    logBuffer.clear();
-                    logBuffer.putLong(System.currentTimeMillis() * 1000);
+                    int count = mReceivedToLog.drainTo(batch, 0);
+                    count += mSentToLog.drainTo(batch, count);
 
-                    for (Map.Entry<String, Pair<String, BufferedOutputStream>> entry : loggingOutStreams
-                            .entrySet()) {
-                        final Pair<String, BufferedOutputStream> logInfo = entry.getValue();
-                        final String loggingFilePath = logInfo.first;
+                    final long now = System.nanoTime();
+                    long commitDeadline = Long.MAX_VALUE;
+                    for (TlogWriter writer : loggingWriters.values()) {
                         try {
-                            BufferedOutputStream logWriter = logInfo.second;
-                            if (logWriter == null) {
-                                logWriter = new BufferedOutputStream(new FileOutputStream(loggingFilePath));
-                                loggingOutStreams.put(entry.getKey(), Pair.create(loggingFilePath, logWriter));
-                            }
-
-                            logWriter.write(logBuffer.array());
-                            logWriter.write(packetData);
+                            writer.append(batch, count, now);
+                            writer.commitIfDue(now);
                         } catch (IOException e) {
-                            mLogger.logErr(TAG, "IO Exception while writing to " + loggingFilePath, e);
+                            mLogger.logErr(TAG, "IO Exception while writing to " + writer.getPath(), e);
+                        }
+                        commitDeadline = Math.min(commitDeadline, writer.getCommitDeadline());
+                    }
+
+                    if (count == 0) {
+                        if (commitDeadline == Long.MAX_VALUE) {
+                            FrameRing.awaitFrames(mReceivedToLog, mSentToLog);
+                        } else if (commitDeadline > now) {
+                            FrameRing.awaitFrames(commitDeadline - now, mReceivedToLog, mSentToLog);
                         }
                     }
+
+                    Arrays.fill(batch, 0, count, null);
                 }
             } catch (InterruptedException e) {
                 final String errorMessage = e.getMessage();
                 if (errorMessage != null)
                     mLogger.logVerbose(TAG, errorMessage);
             } finally {
-                for (Pair<String, BufferedOutputStream> entry : loggingOutStreams.values()) {
-                    final String loggingFilePath = entry.first;
-                    try {
-                        if (entry.second != null)
-                            entry.second.close();
-                    } catch (IOException e) {
-                        mLogger.logErr(TAG, "IO Exception while closing " + loggingFilePath, e);
-                    }
+                for (TlogWriter writer : loggingWriters.values()) {
+                    closeLoggingWriter(writer);
                 }
 
-                loggingOutStreams.clear();
+                loggingWriters.clear();
             }
         }
     };
@@ -243,7 +492,25 @@ public abstract class MavLinkConnection {
     protected final Logger mLogger = initLogger();
 
     private Thread mConnectThread;
-    private Thread mTaskThread;
+    private volatile Thread mSendingThread;
+    private Thread mLoggingThread;
+
+    /**
+     * Set while connected for the connections providing a selectable channel.
+     * Packets are then sent directly by the calling thread.
+     */
+    private volatile MavLinkEventLoop mEventLoop;
+    private volatile SelectableChannel mSelectableChannel;
+
+    /**
+     * Reads the connections which don't provide a selectable channel.
+     */
+    private volatile BlockingTransportAdapter mBlockingAdapter;
+
+    /**
+     * Reads the connections which provide an async read source.
+     */
+    private volatile AsyncReadPipeline mAsyncReadPipeline;
 
     /**
      * Establish a mavlink connection. If the connection is successful, it will
@@ -251,6 +518,7 @@ public abstract class MavLinkConnection {
      */
     public void connect() {
         if (mConnectionStatus.compareAndSet(MAVLINK_DISCONNECTED, MAVLINK_CONNECTING)) {
+            mLinkClock.reset();
             mLogger.logInfo(TAG, "Starting connection thread.");
             mConnectThread = new Thread(mConnectingTask, "MavLinkConnection-Connecting Thread");
             mConnectThread.start();
@@ -260,9 +528,173 @@ public abstract class MavLinkConnection {
 
     protected void onConnectionOpened() {
         if (mConnectionStatus.compareAndSet(MAVLINK_CONNECTING, MAVLINK_CONNECTED)) {
-            mLogger.logInfo(TAG, "Starting manager thread.");
-            mTaskThread = new Thread(mManagerTask, "MavLinkConnection-Manager Thread");
-            mTaskThread.start();
+            try {
+                startIo();
+            } catch (IOException e) {
+                onIoError(e);
+            }
+        }
+    }
+
+    /**
+     * Hands the opened connection to the event loop: its channel if it's
+     * selectable, otherwise a pipe filled by a thread reading the connection.
+     * Connections providing an async read source are read by a pipeline
+     * instead, which parses the data from its own thread.
+     */
+    private void startIo() throws IOException {
+        final long connectionTime = System.currentTimeMillis();
+        final long linkLostTime = mLinkLostTime.getAndSet(-1);
+        if (linkLostTime >= 0) {
+            mLogger.logInfo(TAG, "Link restored after " + (connectionTime - linkLostTime) + "ms.");
+        }
+
+        mConnectionTime.set(connectionTime);
+        if (linkLostTime >= 0) {
+            // Same link: keeps its stats and its MAVLink version.
+            reportLinkRestored(connectionTime);
+        } else {
+            mUseMavlink2.set(false);
+            mStats.mavlinkResetStats();
+            reportConnect(connectionTime);
+        }
+
+        if (!loggingWriters.isEmpty()) {
+            startLoggingThread();
+        }
+
+        final MavLinkEventLoop eventLoop = MavLinkEventLoop.getDefault();
+        eventLoop.setLogger(mLogger);
+
+        // Synchronizes as soon as the link is opened.
+        scheduleClockSync(0);
+
+        final SelectableChannel channel = getSelectableChannel();
+        if (channel != null) {
+            mLogger.logInfo(TAG, "Registering connection with the event loop.");
+            eventLoop.register(channel, new IoHandler(eventLoop, channel, null));
+            mEventLoop = eventLoop;
+            mSelectableChannel = channel;
+
+            // Sends the packets queued while connecting.
+            writePendingFrames();
+            return;
+        }
+
+        final AsyncReadSource asyncSource = getAsyncReadSource();
+        if (asyncSource != null) {
+            mLogger.logInfo(TAG, "Starting async reading and sending threads.");
+            final AsyncReadPipeline pipeline = new AsyncReadPipeline(asyncSource, ASYNC_READ_REQUESTS,
+                    READ_BUFFER_SIZE, new AsyncReadHandler());
+            mAsyncReadPipeline = pipeline;
+            pipeline.start();
+        } else {
+            mLogger.logInfo(TAG, "Starting reading and sending threads.");
+            final BlockingTransportAdapter adapter = new BlockingTransportAdapter(this, READ_BUFFER_SIZE);
+            final Pipe.SourceChannel source = adapter.getSource();
+            eventLoop.register(source, new IoHandler(eventLoop, source, source));
+            mBlockingAdapter = adapter;
+            adapter.start();
+        }
+
+        mSendingThread = new Thread(mSendingTask, "MavLinkConnection-Sending Thread");
+        mSendingThread.start();
+    }
+
+    /**
+     * Reports an error of the connection transport, and closes the
+     * connection, unless the link is reopened.
+     */
+    void onIoError(IOException e) {
+        // Ignore errors while shutting down
+        if (mConnectionStatus.get() != MAVLINK_DISCONNECTED) {
+            if (scheduleReconnect(e)) {
+                return;
+            }
+
+            reportComError(e.getMessage());
+            mLogger.logErr(TAG, e);
+        }
+
+        disconnect();
+    }
+
+    /**
+     * Stops serving a link lost while connected, and schedules the next
+     * attempt to reopen it according to the reconnect policy. The listeners
+     * are told the connection is starting again, rather than disconnected.
+     *
+     * @return false if the link is given up, or if it wasn't connected.
+     */
+    private boolean scheduleReconnect(IOException e) {
+        final ReconnectPolicy policy = mReconnectPolicy;
+        if (policy == null) {
+            return false;
+        }
+
+        if (mConnectionStatus.compareAndSet(MAVLINK_CONNECTED, MAVLINK_CONNECTING)) {
+            mLinkLostTime.set(System.currentTimeMillis());
+            mReconnectAttempts.set(0);
+            mLogger.logWarning(TAG, "Link lost, reconnecting.", e);
+
+            try {
+                stopIo();
+            } catch (IOException closeError) {
+                mLogger.logErr(TAG, closeError);
+            }
+            reportConnecting();
+        } else {
+            final long linkLostTime = mLinkLostTime.get();
+            if (linkLostTime < 0) {
+                // The connection was never opened.
+                return false;
+            }
+
+            if (System.currentTimeMillis() - linkLostTime >= policy.getTimeoutMillis()) {
+                mLogger.logWarning(TAG, "Link lost for longer than " + policy.getTimeoutMillis()
+                        + "ms, giving up.");
+                return false;
+            }
+
+            mLogger.logWarning(TAG, "Unable to reopen the link: " + e.getMessage());
+            mReconnectAttempts.incrementAndGet();
+        }
+
+        if (mIsReconnectPending.compareAndSet(false, true)) {
+            try {
+                MavLinkEventLoop.getDefault().schedule(mReconnectTask,
+                        policy.getDelayMillis(mReconnectAttempts.get()), TimeUnit.MILLISECONDS);
+            } catch (IOException loopError) {
+                mIsReconnectPending.set(false);
+                mLogger.logErr(TAG, loopError);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Schedules the next clock synchronization requests on the event loop,
+     * unless they're already due, or the synchronization is disabled.
+     */
+    private void scheduleClockSync(long delay) {
+        if (mClockSyncPeriod <= 0 || !mIsClockSyncPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            MavLinkEventLoop.getDefault().schedule(mClockSyncTask, delay, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            mIsClockSyncPending.set(false);
+            mLogger.logErr(TAG, e);
+        }
+    }
+
+    private synchronized void startLoggingThread() {
+        if (mLoggingThread == null || !mLoggingThread.isAlive()) {
+            mLogger.logInfo(TAG, "Starting logging thread.");
+            mLoggingThread = new Thread(mLoggingTask, "MavLinkConnection-Logging Thread");
+            mLoggingThread.start();
         }
     }
 
@@ -277,7 +709,7 @@ public abstract class MavLinkConnection {
      * be reported through the MavLinkConnectionListener interface.
      */
     public void disconnect() {
-        if (mConnectionStatus.get() == MAVLINK_DISCONNECTED || (mConnectThread == null && mTaskThread == null)) {
+        if (mConnectionStatus.get() == MAVLINK_DISCONNECTED || mConnectThread == null) {
             return;
         }
 
@@ -291,11 +723,16 @@ public abstract class MavLinkConnection {
                 mConnectThread.interrupt();
             }
 
-            if (mTaskThread != null && mTaskThread.isAlive() && !mTaskThread.isInterrupted()) {
-                mTaskThread.interrupt();
+            mLinkLostTime.set(-1);
+
+            synchronized (this) {
+                if (mLoggingThread != null && mLoggingThread.isAlive()) {
+                    mLoggingThread.interrupt();
+                }
             }
 
-            closeConnection();
+            stopIo();
+
             reportDisconnect(disconnectTime);
         } catch (IOException e) {
             mLogger.logErr(TAG, e);
@@ -303,52 +740,313 @@ public abstract class MavLinkConnection {
         }
     }
 
+    /**
+     * Stops the threads serving the link, then closes it. The packets left
+     * in the send queue are sent once it's opened again.
+     */
+    private void stopIo() throws IOException {
+        mSelectableChannel = null;
+        final Thread sendingThread = mSendingThread;
+        if (sendingThread != null && sendingThread.isAlive()) {
+            sendingThread.interrupt();
+        }
+
+        // Cancels the pending requests before the transport is closed.
+        final AsyncReadPipeline pipeline = mAsyncReadPipeline;
+        if (pipeline != null) {
+            mAsyncReadPipeline = null;
+            pipeline.stop();
+        }
+
+        // Stopped first, as its read fails once the transport is closed.
+        final BlockingTransportAdapter adapter = mBlockingAdapter;
+        if (adapter != null) {
+            mBlockingAdapter = null;
+            adapter.stop();
+        }
+
+        closeConnection();
+    }
+
+    /**
+     * @return a copy of the statistics of the packets received since the
+     * connection was opened, per system and component.
+     */
+    public MAVLinkStats.Snapshot getStatistics() {
+        return mStats.snapshot();
+    }
+
     public int getConnectionStatus() {
         return mConnectionStatus.get();
     }
 
+    /**
+     * Sends a packet, numbered by the sequence of this connection.
+     */
     public void sendMavPacket(MAVLinkPacket packet) {
-        final byte[] packetData = packet.encodePacket();
-        if (!mPacketsToSend.offer(packetData)) {
-            mLogger.logErr(TAG, "Unable to send mavlink packet. Packet queue is full!");
+        packet.seq = nextPacketSeq();
+        packet.isMavlink2 = mUseMavlink2.get();
+        sendPacketData(packet.encodePacket());
+    }
+
+    /**
+     * Sends a frame as it is, without encoding it again, like a frame
+     * received from another connection and forwarded to this one. If the
+     * connection channel is selectable, the frame is written by the event
+     * loop once it's done with the current read, so the frames forwarded
+     * from a read are written in a single batch.
+     *
+     * @param frame complete mavlink frame. It's queued, so it must not be
+     *              modified afterwards.
+     */
+    public void sendFrame(byte[] frame) {
+        mPacketsToSend.offer(frame);
+
+        final MavLinkEventLoop eventLoop = mEventLoop;
+        if (mSelectableChannel != null && eventLoop != null && mIsFlushingForwarded.compareAndSet(false, true)) {
+            eventLoop.execute(mForwardedWriteTask);
+        }
+    }
+
+    /**
+     * Encodes a message in a single pass, without the intermediate packet
+     * built by {@link #sendMavPacket(MAVLinkPacket)}, numbered by the
+     * sequence of this connection.
+     *
+     * @param message message to send
+     */
+    public void sendMavMessage(MAVLinkMessage message) {
+        sendMavMessage(message, nextPacketSeq());
+    }
+
+    /**
+     * Encodes a message with the given sequence number, like a message
+     * forwarded on behalf of another system.
+     *
+     * @param message message to send
+     * @param seq     packet sequence number
+     */
+    public void sendMavMessage(MAVLinkMessage message, int seq) {
+        // Encoded into the array which is queued.
+        final byte[] packetData;
+        synchronized (mEncoder) {
+            mEncoder.setMavlink2(mUseMavlink2.get());
+            packetData = mEncoder.encode(message, seq);
         }
+
+        sendPacketData(packetData);
+    }
+
+    private int nextPacketSeq() {
+        return mPacketSeq.getAndIncrement() & 0xFF;
     }
 
-    private void queueToLog(MAVLinkPacket packet) {
-        if (packet != null)
-            queueToLog(packet.encodePacket());
+    /**
+     * Queues the packet. If the connection channel is selectable, the calling
+     * thread then writes the queued packets, as the write doesn't block.
+     * Otherwise the sending thread does.
+     */
+    private void sendPacketData(byte[] packetData) {
+        mPacketsToSend.offer(packetData);
+        writePendingFrames();
     }
 
-    private void queueToLog(byte[] packetData) {
-        if (packetData != null) {
-            if (!mPacketsToLog.offer(packetData)) {
-                mLogger.logErr(TAG, "Unable to log mavlink packet. Queue is full!");
+    /**
+     * Writes the queued packets of a connection providing a selectable
+     * channel, in batches, unless another thread is already writing them. If
+     * the link is stalled, they're left queued until the event loop sees the
+     * channel writable, and if the link capacity is used up, until the event
+     * loop writes them once it's available again.
+     */
+    private void writePendingFrames() {
+        final SelectableChannel channel = mSelectableChannel;
+        while (channel != null && !mPacketsToSend.isEmpty() && mIsWriting.compareAndSet(false, true)) {
+            try {
+                if (hasPendingData()) {
+                    flushPendingData();
+                }
+
+                if (!hasPendingData()) {
+                    final int count = mPacketsToSend.drainTo(mWriteBatch, 0);
+                    if (count == 0) {
+                        final long delay = mPacketsToSend.getPacingDelay();
+                        if (delay > 0 && mIsPacingWrite.compareAndSet(false, true)) {
+                            mEventLoop.schedule(mPacedWriteTask, delay, TimeUnit.NANOSECONDS);
+                        }
+                        return;
+                    }
+
+                    writeBatch(mWriteBatch, count);
+                }
+
+                if (hasPendingData()) {
+                    mEventLoop.setWriteInterest(channel, true);
+                    return;
+                }
+            } catch (IOException e) {
+                reportComError(e.getMessage());
+                mLogger.logErr(TAG, e);
+                return;
+            } finally {
+                mIsWriting.set(false);
             }
         }
     }
 
+    private void writeBatch(byte[][] batch, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        try {
+            sendBuffers(batch, count);
+
+            if (!loggingWriters.isEmpty()) {
+                final long timeMicros = System.currentTimeMillis() * 1000;
+                for (int i = 0; i < count; i++) {
+                    mSentToLog.offer(TlogWriter.newRecord(timeMicros, batch[i], batch[i].length));
+                }
+            }
+        } catch (IOException e) {
+            reportComError(e.getMessage());
+            mLogger.logErr(TAG, e);
+        } finally {
+            Arrays.fill(batch, 0, count, null);
+        }
+    }
+
+    /**
+     * @return the depth and counters of the send queues, as returned by
+     * {@link SendScheduler#getMetrics()}, followed by the ones of the logging
+     * queues.
+     */
+    public List<FrameRing.Metrics> getQueueMetrics() {
+        final List<FrameRing.Metrics> metrics = mPacketsToSend.getMetrics();
+        metrics.add(mReceivedToLog.getMetrics());
+        metrics.add(mSentToLog.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * Sets how a link lost while connected is reopened. Until it's given up,
+     * the listeners aren't told the connection was disconnected, so the
+     * vehicle state built from the received packets is kept across the
+     * outage, and the packets sent meanwhile are queued.
+     *
+     * @param policy backoff between the attempts to reopen the link, or null
+     *               if the connection is closed as soon as it's lost.
+     */
+    public void setReconnectPolicy(ReconnectPolicy policy) {
+        mReconnectPolicy = policy;
+    }
+
+    public ReconnectPolicy getReconnectPolicy() {
+        return mReconnectPolicy;
+    }
+
+    /**
+     * Sets how often the clock of the vehicle is synchronized, and the round
+     * trip time of the link measured, through TIMESYNC and PING exchanges.
+     * The requests of the vehicle are answered meanwhile, and the received
+     * packets are stamped with the time the vehicle sent them at once it's
+     * synchronized.
+     *
+     * @param period period of the exchanges, or 0 to stop them.
+     */
+    public void setClockSyncPeriod(long period, TimeUnit unit) {
+        mClockSyncPeriod = unit.toNanos(period);
+        if (mConnectionStatus.get() == MAVLINK_CONNECTED) {
+            scheduleClockSync(0);
+        }
+    }
+
+    public long getClockSyncPeriod(TimeUnit unit) {
+        return unit.convert(mClockSyncPeriod, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the round trip time of the link, and the clock of the vehicle,
+     * as estimated by the clock synchronization.
+     */
+    public LinkClock getLinkClock() {
+        return mLinkClock;
+    }
+
+    /**
+     * @return the vehicle time a packet received at the given local time was
+     * sent at, or 0 if it's unknown.
+     */
+    protected long getVehicleSendTime(long receivedNanos) {
+        return mLinkClock.getVehicleSendTime(receivedNanos);
+    }
+
+    /**
+     * Sets the listener receiving the frames as they were read from the link,
+     * like a {@link MavLinkRouter}.
+     *
+     * @param listener listener, or null to remove it.
+     */
+    public void setFrameListener(MavLinkFrameListener listener) {
+        mFrameListener = listener;
+    }
+
+    public MavLinkFrameListener getFrameListener() {
+        return mFrameListener;
+    }
+
+    /**
+     * Sets the capacity of the link, so the packets to send are queued and
+     * ordered by priority rather than sent into the transport buffers as
+     * fast as they take them.
+     *
+     * @param bytesPerSecond capacity of the link, or 0 if it's not limited.
+     */
+    public void setLinkCapacity(int bytesPerSecond) {
+        mPacketsToSend.setLinkCapacity(bytesPerSecond);
+    }
+
+    public int getLinkCapacity() {
+        return mPacketsToSend.getLinkCapacity();
+    }
+
+    /**
+     * Sets how long the logged frames may stay in memory before they're
+     * written to the log files added from now on, and whether they're forced
+     * to the storage device on disconnect.
+     */
+    public void setTlogDurability(TlogDurability durability) {
+        mTlogDurability = durability == null ? TlogDurability.DEFAULT : durability;
+    }
+
+    public TlogDurability getTlogDurability() {
+        return mTlogDurability;
+    }
+
     public void addLoggingPath(String tag, String loggingPath) {
         if (tag == null || tag.length() == 0 || loggingPath == null || loggingPath.length() == 0)
             return;
 
-        if (!loggingOutStreams.contains(tag))
-            loggingOutStreams.put(tag, Pair.<String, BufferedOutputStream>create(loggingPath, null));
+        loggingWriters.putIfAbsent(tag, TlogWriter.create(loggingPath, mTlogDurability));
+
+        if (getConnectionStatus() == MAVLINK_CONNECTED)
+            startLoggingThread();
     }
 
     public void removeLoggingPath(String tag) {
         if (tag == null || tag.length() == 0)
             return;
 
-        Pair<String, BufferedOutputStream> logInfo = loggingOutStreams.remove(tag);
-        if (logInfo != null) {
-            BufferedOutputStream outStream = logInfo.second;
-            if (outStream != null) {
-                try {
-                    outStream.close();
-                } catch (IOException e) {
-                    mLogger.logErr(TAG, "IO Exception while closing " + logInfo.first, e);
-                }
-            }
+        TlogWriter writer = loggingWriters.remove(tag);
+        if (writer != null) {
+            closeLoggingWriter(writer);
+        }
+    }
+
+    private void closeLoggingWriter(TlogWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            mLogger.logErr(TAG, "IO Exception while closing " + writer.getPath(), e);
         }
     }
 
@@ -407,8 +1105,83 @@ public abstract class MavLinkConnection {
 
     protected abstract void sendBuffer(byte[] buffer) throws IOException;
 
+    /**
+     * Sends a batch of frames. By default they're copied into one buffer, so
+     * they're written at once.
+     *
+     * @param buffers frames to send
+     * @param count   count of frames to send, from the start of the array
+     */
+    protected void sendBuffers(byte[][] buffers, int count) throws IOException {
+        if (count == 1) {
+            sendBuffer(buffers[0]);
+            return;
+        }
+
+        int length = 0;
+        for (int i = 0; i < count; i++) {
+            length += buffers[i].length;
+        }
+
+        final byte[] buffer = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(buffers[i], 0, buffer, offset, buffers[i].length);
+            offset += buffers[i].length;
+        }
+        sendBuffer(buffer);
+    }
+
     protected abstract void closeConnection() throws IOException;
 
+    /**
+     * Connections whose transport supports non blocking I/O return their
+     * channel once opened. {@link #readDataBlock(byte[])} is then called by
+     * the event loop when the channel is readable, and must return 0 instead
+     * of blocking, while {@link #sendBuffer(byte[])} is called by the threads
+     * sending packets and must not block either.
+     *
+     * @return the selectable channel of the connection, or null if it's read
+     * and written by its own threads.
+     */
+    protected SelectableChannel getSelectableChannel() {
+        return null;
+    }
+
+    /**
+     * @return true if some data couldn't be written without blocking. The
+     * event loop then calls {@link #flushPendingData()} once the channel is
+     * writable.
+     */
+    protected boolean hasPendingData() {
+        return false;
+    }
+
+    protected void flushPendingData() throws IOException {
+    }
+
+    /**
+     * @return true if {@link #readDataBlock(byte[])} left some data it
+     * received from the channel for the next call, as it didn't fit in the
+     * block. The event loop then reads it without waiting for the channel to
+     * be readable again.
+     */
+    protected boolean hasBufferedReadData() {
+        return false;
+    }
+
+    /**
+     * Connections whose transport is read through asynchronous requests
+     * return their source once opened, unless they provide a selectable
+     * channel. {@link #readDataBlock(byte[])} is then never called.
+     *
+     * @return the async read source of the connection, or null if it's read
+     * through {@link #readDataBlock(byte[])}.
+     */
+    protected AsyncReadSource getAsyncReadSource() {
+        return null;
+    }
+
     protected abstract void loadPreferences();
 
     /**
@@ -451,6 +1224,15 @@ public abstract class MavLinkConnection {
         }
     }
 
+    /**
+     * Notifies the mavlink listeners that a lost link was reopened.
+     */
+    protected void reportLinkRestored(long restoredTime) {
+        for (MavLinkConnectionListener listener : mListeners.values()) {
+            listener.onLinkRestored(restoredTime);
+        }
+    }
+
     /**
      * Utility method to notify the mavlink listeners about a connection
      * disconnect.
@@ -17,11 +17,18 @@ public interface MavLinkConnectionListener {
 	 */
 	public void onConnect(long connectionTime);
 
+	/**
+	 * Called when a lost link is reopened by the reconnect policy, while the
+	 * connection was kept. {@link #onConnect(long)} isn't called again.
+	 */
+	public void onLinkRestored(long restoredTime);
+
 	/**
 	 * Called when data is received via the mavlink connection.
 	 * 
 	 * @param packet
-	 *            received data
+	 *            received data. The packet is recycled once this method
+	 *            returns, so it must be copied if it needs to be retained.
 	 */
 	public void onReceivePacket(MAVLinkPacket packet);
 
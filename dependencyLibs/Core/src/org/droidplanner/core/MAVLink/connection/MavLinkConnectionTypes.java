@@ -25,6 +25,11 @@ public class MavLinkConnectionTypes {
 	 */
 	public static final int MAVLINK_CONNECTION_TCP = 2;
 
+	/**
+	 * Replay of a recorded tlog.
+	 */
+	public static final int MAVLINK_CONNECTION_TLOG_REPLAY = 4;
+
     public static String getConnectionTypeLabel(int connectionType){
         switch(connectionType){
             case MavLinkConnectionTypes.MAVLINK_CONNECTION_BLUETOOTH:
@@ -39,6 +44,9 @@ public class MavLinkConnectionTypes {
             case MavLinkConnectionTypes.MAVLINK_CONNECTION_USB:
                 return "usb";
 
+            case MavLinkConnectionTypes.MAVLINK_CONNECTION_TLOG_REPLAY:
+                return "replay";
+
             default:
                 return null;
         }
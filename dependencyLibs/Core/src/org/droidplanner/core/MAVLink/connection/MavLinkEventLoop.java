@@ -0,0 +1,277 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single thread serving the channels of the mavlink connections. It waits on a
+ * selector for the channels to be readable or writable, and runs their
+ * handlers, so idle connections don't hold any thread.
+ *
+ * Handlers run on the loop thread, shared by every connection, and must not
+ * block. A handler or a task failing with a runtime exception is logged, and
+ * doesn't stop the loop.
+ */
+public class MavLinkEventLoop implements Runnable {
+
+    private static final String TAG = MavLinkEventLoop.class.getSimpleName();
+
+    /**
+     * Handles the events of a registered channel, on the loop thread.
+     */
+    public interface Handler {
+
+        void onReadable() throws IOException;
+
+        void onWritable() throws IOException;
+
+        /**
+         * Called when the channel couldn't be registered, or when a handler
+         * failed. The channel isn't selected anymore.
+         */
+        void onError(IOException e);
+    }
+
+    private static MavLinkEventLoop sDefault;
+
+    /**
+     * @return the event loop shared by the connections, started on first
+     * use.
+     */
+    public static synchronized MavLinkEventLoop getDefault() throws IOException {
+        if (sDefault == null) {
+            sDefault = new MavLinkEventLoop("MavLinkConnection-Event Loop");
+        }
+        return sDefault;
+    }
+
+    private final Selector mSelector;
+    private final Thread mThread;
+
+    /**
+     * Tasks submitted from other threads, run by the loop after the events.
+     */
+    private final ConcurrentLinkedQueue<Runnable> mTasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Avoids waking the selector up again until the loop ran the tasks.
+     */
+    private final AtomicBoolean mWakeupPending = new AtomicBoolean(false);
+
+    /**
+     * Task run by the loop once its deadline is reached.
+     */
+    private static final class TimedTask implements Comparable<TimedTask> {
+        final long deadline;
+        final Runnable task;
+
+        TimedTask(long deadline, Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(TimedTask other) {
+            return Long.signum(deadline - other.deadline);
+        }
+    }
+
+    /**
+     * Tasks waiting for their deadline, only used by the loop thread.
+     */
+    private final PriorityQueue<TimedTask> mTimedTasks = new PriorityQueue<>();
+
+    /**
+     * Logs the failures of the handlers and of the tasks, or null.
+     */
+    private volatile Logger mLogger;
+
+    public MavLinkEventLoop(String name) throws IOException {
+        mSelector = Selector.open();
+        mThread = new Thread(this, name);
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /**
+     * Sets the logger the failures of the handlers and of the tasks are
+     * logged to.
+     */
+    public void setLogger(Logger logger) {
+        mLogger = logger;
+    }
+
+    /**
+     * @return true if called from the loop thread.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == mThread;
+    }
+
+    /**
+     * Runs a task on the loop thread.
+     */
+    public void execute(Runnable task) {
+        mTasks.offer(task);
+        if (!inEventLoop() && mWakeupPending.compareAndSet(false, true)) {
+            mSelector.wakeup();
+        }
+    }
+
+    /**
+     * Runs a task on the loop thread once the given delay elapsed.
+     */
+    public void schedule(final Runnable task, long delay, TimeUnit unit) {
+        final long deadline = System.nanoTime() + unit.toNanos(delay);
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                mTimedTasks.offer(new TimedTask(deadline, task));
+            }
+        });
+    }
+
+    /**
+     * Starts selecting the given channel for reading. The channel is
+     * switched to non blocking mode. It's unregistered when closed.
+     */
+    public void register(final SelectableChannel channel, final Handler handler) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    channel.configureBlocking(false);
+                    channel.register(mSelector, SelectionKey.OP_READ, handler);
+                } catch (IOException e) {
+                    handler.onError(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Selects the given channel for writing as well as reading, or for reading
+     * only.
+     */
+    public void setWriteInterest(final SelectableChannel channel, final boolean writeInterest) {
+        if (!inEventLoop()) {
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    setWriteInterest(channel, writeInterest);
+                }
+            });
+            return;
+        }
+
+        final SelectionKey key = channel.keyFor(mSelector);
+        if (key != null && key.isValid()) {
+            key.interestOps(writeInterest ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : SelectionKey.OP_READ);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                try {
+                    final TimedTask next = mTimedTasks.peek();
+                    if (next == null) {
+                        mSelector.select();
+                    } else {
+                        // Rounded up, as 0 would block until an event.
+                        final long timeout = TimeUnit.NANOSECONDS.toMillis(next.deadline - System.nanoTime()) + 1;
+                        if (timeout > 0) {
+                            mSelector.select(timeout);
+                        } else {
+                            mSelector.selectNow();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Spurious failure, retry.
+                    continue;
+                }
+
+                mWakeupPending.set(false);
+                handleSelectedKeys();
+                // Before the tasks, which then include the ones submitted
+                // by the timed tasks.
+                runTimedTasks();
+                runTasks();
+            }
+        } catch (ClosedSelectorException e) {
+            // The loop was shut down.
+        }
+    }
+
+    private void handleSelectedKeys() {
+        final Iterator<SelectionKey> keys = mSelector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            final SelectionKey key = keys.next();
+            keys.remove();
+
+            final Handler handler = (Handler) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    handler.onReadable();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    handler.onWritable();
+                }
+            } catch (CancelledKeyException e) {
+                // The channel was closed by the handler.
+            } catch (IOException e) {
+                key.cancel();
+                handler.onError(e);
+            } catch (RuntimeException e) {
+                // Don't let a connection take the loop down.
+                logError("Handler failed.", e);
+                key.cancel();
+                handler.onError(new IOException(e));
+            }
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = mTasks.poll()) != null) {
+            runTask(task);
+        }
+    }
+
+    private void runTimedTasks() {
+        final long now = System.nanoTime();
+        TimedTask next;
+        while ((next = mTimedTasks.peek()) != null && next.deadline - now <= 0) {
+            runTask(mTimedTasks.poll().task);
+        }
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // Don't let a connection take the loop down.
+            logError("Task failed.", e);
+        }
+    }
+
+    private void logError(String error, RuntimeException e) {
+        final Logger logger = mLogger;
+        if (logger != null) {
+            logger.logErr(TAG, error, e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+
+/**
+ * Receives the frames of a mavlink connection as they were read from the
+ * link, so they can be forwarded without being encoded again.
+ */
+public interface MavLinkFrameListener {
+
+    /**
+     * Called from the thread reading the connection, before the packet is
+     * dispatched to the {@link MavLinkConnectionListener}s.
+     *
+     * @param source connection which received the frame
+     * @param packet the frame decoded. It's recycled once this method
+     *               returns.
+     * @param frame  array holding the frame from index 0, with its checksum
+     *               and signature. It's reused for the next frame, so it must
+     *               be copied if it needs to be retained.
+     * @param length length of the frame
+     */
+    void onFrameReceived(MavLinkConnection source, MAVLinkPacket packet, byte[] frame, int length);
+}
@@ -0,0 +1,227 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.MAVLinkPacket;
+
+import java.util.Arrays;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Forwards the frames received by a set of connections to the others,
+ * following the mavlink routing rules:
+ * <ul>
+ * <li>the systems and components heard on each link are learned from the
+ * frames it receives,</li>
+ * <li>frames without target, or targeting system 0, are broadcast to all the
+ * other links,</li>
+ * <li>frames targeting a system are sent to the links it was heard on, if
+ * their target component was heard there too, or is 0,</li>
+ * <li>frames are never sent back to the link they came from, nor to a link
+ * their target wasn't heard on.</li>
+ * </ul>
+ * The frames are forwarded as they were received, with their sequence number
+ * and signature: only their target is read from the decoded payload, at the
+ * offsets given by the {@link MAVLinkMessageRegistry}. Each frame is copied
+ * once, and the copy is shared by the links it's sent to.
+ *
+ * Frames are routed from the threads reading the connections, and links may
+ * be added or removed from any thread.
+ */
+public class MavLinkRouter implements MavLinkFrameListener {
+
+    /**
+     * Target system of the frames without target.
+     */
+    private static final int NO_TARGET = -1;
+
+    /**
+     * A connection, and the systems and components heard on it.
+     */
+    private static final class Link {
+
+        final MavLinkConnection connection;
+
+        /**
+         * Bit set of the system ids heard.
+         */
+        private final AtomicLongArray systems = new AtomicLongArray(256 / 64);
+
+        /**
+         * Bit set of the system and component id pairs heard.
+         */
+        private final AtomicLongArray components = new AtomicLongArray(256 * 256 / 64);
+
+        Link(MavLinkConnection connection) {
+            this.connection = connection;
+        }
+
+        void learn(int sysid, int compid) {
+            // Most frames come from a known sender, which only needs a read.
+            set(systems, sysid);
+            set(components, sysid << 8 | compid);
+        }
+
+        boolean hasSystem(int sysid) {
+            return isSet(systems, sysid);
+        }
+
+        boolean hasComponent(int sysid, int compid) {
+            return isSet(components, sysid << 8 | compid);
+        }
+
+        boolean accepts(int targetSystem, int targetComponent) {
+            if (targetSystem == NO_TARGET || targetSystem == 0) {
+                return true;
+            }
+            return targetComponent == 0 ? hasSystem(targetSystem) : hasComponent(targetSystem, targetComponent);
+        }
+
+        private static boolean isSet(AtomicLongArray bits, int index) {
+            return (bits.get(index >>> 6) & 1L << index) != 0;
+        }
+
+        private static void set(AtomicLongArray bits, int index) {
+            final int word = index >>> 6;
+            final long mask = 1L << index;
+            long value;
+            while (((value = bits.get(word)) & mask) == 0) {
+                if (bits.compareAndSet(word, value, value | mask)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private final CopyOnWriteArrayList<Link> mLinks = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong mForwardedCount = new AtomicLong();
+    private final AtomicLong mUnroutableCount = new AtomicLong();
+
+    /**
+     * Adds a connection to the links the frames are routed between. The
+     * router becomes its frame listener.
+     */
+    public void addLink(MavLinkConnection connection) {
+        if (getLink(connection) != null) {
+            return;
+        }
+
+        mLinks.add(new Link(connection));
+        connection.setFrameListener(this);
+    }
+
+    /**
+     * Removes a connection from the routed links, and forgets the systems
+     * heard on it.
+     */
+    public void removeLink(MavLinkConnection connection) {
+        final Link link = getLink(connection);
+        if (link == null) {
+            return;
+        }
+
+        mLinks.remove(link);
+        if (connection.getFrameListener() == this) {
+            connection.setFrameListener(null);
+        }
+    }
+
+    public boolean hasLink(MavLinkConnection connection) {
+        return getLink(connection) != null;
+    }
+
+    public int getLinksCount() {
+        return mLinks.size();
+    }
+
+    /**
+     * @return true if the given system was heard on the given link.
+     */
+    public boolean hasSystem(MavLinkConnection connection, int sysid) {
+        final Link link = getLink(connection);
+        return link != null && link.hasSystem(sysid & 0xFF);
+    }
+
+    /**
+     * @return the count of frames sent to a link, counting once each link a
+     * frame is sent to.
+     */
+    public long getForwardedCount() {
+        return mForwardedCount.get();
+    }
+
+    /**
+     * @return the count of frames whose target wasn't heard on any other
+     * link, and weren't forwarded.
+     */
+    public long getUnroutableCount() {
+        return mUnroutableCount.get();
+    }
+
+    private Link getLink(MavLinkConnection connection) {
+        for (Link link : mLinks) {
+            if (link.connection == connection) {
+                return link;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void onFrameReceived(MavLinkConnection source, MAVLinkPacket packet, byte[] frame, int length) {
+        final Link sourceLink = getLink(source);
+        if (sourceLink == null) {
+            return;
+        }
+
+        sourceLink.learn(packet.sysid & 0xFF, packet.compid & 0xFF);
+
+        final int targetSystem = getTargetSystem(packet);
+        final int targetComponent = getTargetComponent(packet);
+
+        byte[] forwarded = null;
+        for (Link link : mLinks) {
+            if (link == sourceLink || !link.accepts(targetSystem, targetComponent)
+                    || link.connection.getConnectionStatus() == MavLinkConnection.MAVLINK_DISCONNECTED) {
+                continue;
+            }
+
+            if (forwarded == null) {
+                forwarded = Arrays.copyOf(frame, length);
+            }
+            mForwardedCount.incrementAndGet();
+            link.connection.sendFrame(forwarded);
+        }
+
+        if (forwarded == null && targetSystem != NO_TARGET && targetSystem != 0
+                && !sourceLink.hasSystem(targetSystem)) {
+            mUnroutableCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the target system of the packet, or {@link #NO_TARGET} if its
+     * message has none. Bytes past a truncated MAVLink 2 payload read as 0.
+     */
+    private static int getTargetSystem(MAVLinkPacket packet) {
+        final int offset = MAVLinkMessageRegistry.getTargetSystemOffset(packet.msgid);
+        if (offset < 0) {
+            return NO_TARGET;
+        }
+        return packet.payload.getByte(offset) & 0xFF;
+    }
+
+    /**
+     * @return the target component of the packet, or 0 if its message has
+     * none, so it's accepted by all the components of the target system.
+     */
+    private static int getTargetComponent(MAVLinkPacket packet) {
+        final int offset = MAVLinkMessageRegistry.getTargetComponentOffset(packet.msgid);
+        if (offset < 0) {
+            return 0;
+        }
+        return packet.payload.getByte(offset) & 0xFF;
+    }
+}
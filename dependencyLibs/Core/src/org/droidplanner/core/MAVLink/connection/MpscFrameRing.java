@@ -0,0 +1,75 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Frame ring for several producers. Each slot carries a sequence number
+ * telling whether it's free for the producer claiming it, or filled for the
+ * consumer, so producers only contend on the tail index.
+ *
+ * Taking a frame is safe from several threads as well, which lets the
+ * producers drop the oldest frame of a full ring.
+ */
+public class MpscFrameRing extends FrameRing {
+
+    private final AtomicReferenceArray<byte[]> slots;
+    private final AtomicLongArray sequences;
+
+    public MpscFrameRing(String name, int capacity, OverflowPolicy overflowPolicy) {
+        super(name, capacity, overflowPolicy);
+        slots = new AtomicReferenceArray<>(this.capacity);
+        sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Override
+    public boolean offer(byte[] frame) {
+        while (true) {
+            final long tail = this.tail.get();
+            final int index = (int) tail & mask;
+            final long available = sequences.get(index) - tail;
+
+            if (available == 0) {
+                if (this.tail.compareAndSet(tail, tail + 1)) {
+                    slots.set(index, frame);
+                    sequences.set(index, tail + 1);
+                    onFrameAdded((int) Math.min(capacity, tail + 1 - head.get()));
+                    return true;
+                }
+            } else if (available < 0) {
+                // The slot still holds the frame from the previous lap.
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+
+                if (poll() != null) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public byte[] poll() {
+        while (true) {
+            final long head = this.head.get();
+            final int index = (int) head & mask;
+            final long filled = sequences.get(index) - (head + 1);
+
+            if (filled == 0) {
+                if (this.head.compareAndSet(head, head + 1)) {
+                    final byte[] frame = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.set(index, head + capacity);
+                    return frame;
+                }
+            } else if (filled < 0) {
+                return null;
+            }
+        }
+    }
+}
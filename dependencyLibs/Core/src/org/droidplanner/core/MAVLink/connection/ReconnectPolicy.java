@@ -0,0 +1,60 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backoff between the attempts to reopen a link lost while connected. The
+ * first attempt is made after the initial delay, so short outages are
+ * recovered quickly, then the delay doubles with each failed attempt, up to
+ * the maximum delay. The connection is given up once the link has been lost
+ * for longer than the timeout.
+ */
+public final class ReconnectPolicy {
+
+    private final long mInitialDelay;
+    private final long mMaxDelay;
+    private final long mTimeout;
+
+    /**
+     * @param initialDelay delay before the first attempt
+     * @param maxDelay     longest delay between two attempts
+     * @param timeout      time after which the link is given up
+     * @param unit         unit of the delays and timeout
+     */
+    public ReconnectPolicy(long initialDelay, long maxDelay, long timeout, TimeUnit unit) {
+        if (initialDelay <= 0 || maxDelay < initialDelay || timeout <= 0) {
+            throw new IllegalArgumentException("Invalid reconnect policy: initial delay " + initialDelay
+                    + ", max delay " + maxDelay + ", timeout " + timeout);
+        }
+
+        mInitialDelay = unit.toMillis(initialDelay);
+        mMaxDelay = unit.toMillis(maxDelay);
+        mTimeout = unit.toMillis(timeout);
+    }
+
+    /**
+     * @param attempt count of the attempts which failed since the link was
+     *                lost
+     * @return the delay before the next attempt, in ms.
+     */
+    public long getDelayMillis(int attempt) {
+        long delay = mInitialDelay;
+        for (int i = 0; i < attempt && delay < mMaxDelay; i++) {
+            delay *= 2;
+        }
+        return Math.min(delay, mMaxDelay);
+    }
+
+    /**
+     * @return the time after which a lost link is given up, in ms.
+     */
+    public long getTimeoutMillis() {
+        return mTimeout;
+    }
+
+    @Override
+    public String toString() {
+        return "ReconnectPolicy{initialDelay=" + mInitialDelay + "ms, maxDelay=" + mMaxDelay + "ms, timeout="
+                + mTimeout + "ms}";
+    }
+}
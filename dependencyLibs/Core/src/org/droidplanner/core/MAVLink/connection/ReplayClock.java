@@ -0,0 +1,141 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import org.droidplanner.core.drone.DroneInterfaces;
+
+import java.util.Iterator;
+import java.util.PriorityQueue;
+
+/**
+ * Clock and handler of a vehicle whose telemetry is replayed by a
+ * {@link TlogReplayConnection}, running on the time of the tlog rather than
+ * on the wall clock. The tasks posted, like the heartbeat watchdog, are run
+ * by the replay thread in between the frames, once the replay gets to the
+ * time they're due at, so they fire at the same point of the replay whatever
+ * its speed, and two replays of a tlog give the same events.
+ *
+ * Tasks due at the same time run in the order they were posted.
+ */
+public class ReplayClock implements DroneInterfaces.Clock, DroneInterfaces.Handler {
+
+    private static final class Task implements Comparable<Task> {
+
+        final Runnable runnable;
+        final long sequence;
+        long dueTime;
+
+        Task(Runnable runnable, long dueTime, long sequence) {
+            this.runnable = runnable;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            if (dueTime != other.dueTime) {
+                return dueTime < other.dueTime ? -1 : 1;
+            }
+            if (sequence != other.sequence) {
+                return sequence < other.sequence ? -1 : 1;
+            }
+            return 0;
+        }
+    }
+
+    private final PriorityQueue<Task> mTasks = new PriorityQueue<>();
+    private long mPostedCount;
+
+    /**
+     * Time of the replay, in µs since the epoch.
+     */
+    private long mTimeMicros;
+
+    /**
+     * @return the time of the replay, in µs since the epoch.
+     */
+    public synchronized long getTimeMicros() {
+        return mTimeMicros;
+    }
+
+    /**
+     * @return the time of the replay, in ms since the epoch.
+     */
+    @Override
+    public synchronized long elapsedRealtime() {
+        return mTimeMicros / 1000;
+    }
+
+    @Override
+    public void post(Runnable thread) {
+        postDelayed(thread, 0);
+    }
+
+    @Override
+    public synchronized void postDelayed(Runnable thread, long timeout) {
+        mTasks.add(new Task(thread, mTimeMicros + Math.max(0, timeout) * 1000, mPostedCount++));
+    }
+
+    @Override
+    public synchronized void removeCallbacks(Runnable thread) {
+        for (Iterator<Task> iterator = mTasks.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().runnable == thread) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the time the next task is due at, in µs since the epoch, or
+     * {@link Long#MAX_VALUE} if there's none.
+     */
+    public synchronized long getNextDueTime() {
+        final Task next = mTasks.peek();
+        return next == null ? Long.MAX_VALUE : next.dueTime;
+    }
+
+    /**
+     * Moves the time of the replay forward, running the tasks due meanwhile,
+     * each once the time is moved to the time it's due at. Doesn't move it
+     * back.
+     *
+     * @param timeMicros time of the replay, in µs since the epoch
+     */
+    public void advanceTo(long timeMicros) {
+        while (true) {
+            final Task task;
+            synchronized (this) {
+                final Task next = mTasks.peek();
+                if (next == null || next.dueTime > timeMicros) {
+                    mTimeMicros = Math.max(mTimeMicros, timeMicros);
+                    return;
+                }
+
+                task = mTasks.poll();
+                mTimeMicros = Math.max(mTimeMicros, task.dueTime);
+            }
+            // Outside the lock, as the task can post others.
+            task.runnable.run();
+        }
+    }
+
+    /**
+     * Moves the time of the replay to the given one, forward or back,
+     * without the time passing: the tasks stay due after the delays they had
+     * left.
+     *
+     * @param timeMicros time of the replay, in µs since the epoch
+     */
+    public synchronized void jumpTo(long timeMicros) {
+        final long shift = timeMicros - mTimeMicros;
+        if (shift == 0) {
+            return;
+        }
+
+        final Task[] tasks = mTasks.toArray(new Task[mTasks.size()]);
+        mTasks.clear();
+        for (Task task : tasks) {
+            task.dueTime += shift;
+            mTasks.add(task);
+        }
+        mTimeMicros = timeMicros;
+    }
+}
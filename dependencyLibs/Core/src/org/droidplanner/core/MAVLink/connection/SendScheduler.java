@@ -0,0 +1,599 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkEncoder;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.ardupilotmega.msg_mount_control;
+import com.MAVLink.common.msg_command_int;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_file_transfer_protocol;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_log_request_data;
+import com.MAVLink.common.msg_log_request_end;
+import com.MAVLink.common.msg_log_request_list;
+import com.MAVLink.common.msg_manual_control;
+import com.MAVLink.common.msg_mission_ack;
+import com.MAVLink.common.msg_mission_clear_all;
+import com.MAVLink.common.msg_mission_count;
+import com.MAVLink.common.msg_mission_item;
+import com.MAVLink.common.msg_mission_item_int;
+import com.MAVLink.common.msg_mission_request;
+import com.MAVLink.common.msg_mission_request_list;
+import com.MAVLink.common.msg_mission_request_partial_list;
+import com.MAVLink.common.msg_mission_set_current;
+import com.MAVLink.common.msg_mission_write_partial_list;
+import com.MAVLink.common.msg_param_request_list;
+import com.MAVLink.common.msg_param_request_read;
+import com.MAVLink.common.msg_param_set;
+import com.MAVLink.common.msg_ping;
+import com.MAVLink.common.msg_rc_channels_override;
+import com.MAVLink.common.msg_set_mode;
+import com.MAVLink.common.msg_set_position_target_global_int;
+import com.MAVLink.common.msg_set_position_target_local_ned;
+import com.MAVLink.common.msg_timesync;
+import com.MAVLink.enums.MAV_CMD;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Orders the frames sent through a mavlink connection. Frames are queued by
+ * {@link Priority} class, and taken from the highest class first, so a burst
+ * of parameter or mission traffic doesn't delay the commands.
+ *
+ * Frames made obsolete by a newer one, like an RC override or a guided
+ * target, are replaced while they wait instead of being queued after each
+ * other. The replacing frame keeps the place of the one it replaced, so
+ * each class is sent in the order its frames were queued.
+ *
+ * If the link capacity is set, the frames are paced by a token bucket
+ * holding about {@link #BURST_MILLIS} of traffic, so they wait here, where
+ * they can be reordered, rather than in the buffers of the transport.
+ *
+ * Frames may be offered from any thread, while a single thread at a time
+ * takes them.
+ */
+public class SendScheduler {
+
+    public enum Priority {
+        /**
+         * Commands and mode changes, the heartbeat keeping the link alive,
+         * and the clock synchronization, so its round trip doesn't include
+         * the queued traffic.
+         */
+        CRITICAL(64),
+
+        /**
+         * Streams of setpoints: RC overrides, guided targets, region of
+         * interest and mount control.
+         */
+        CONTROL(256),
+
+        DEFAULT(1024),
+
+        /**
+         * Parameter, mission, log and file transfers.
+         */
+        BULK(1024);
+
+        private final int queueCapacity;
+
+        Priority(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Traffic which can be sent at once, above the link capacity.
+     */
+    private static final int BURST_MILLIS = 50;
+
+    /**
+     * Supersession groups of the messages identified by more than their
+     * message id. Message ids are 24 bits long, so these don't collide with
+     * them.
+     */
+    private static final int GUIDED_TARGET_GROUP = 1 << 24;
+    private static final int COMMAND_GROUP = 1 << 25;
+
+    /**
+     * Value of the mission item 'current' field of a guided target.
+     */
+    private static final int MISSION_ITEM_GUIDED = 2;
+
+    /**
+     * Frame waiting in a supersession slot, with its place in the order of
+     * its class.
+     */
+    private static final class SlotEntry {
+        final byte[] frame;
+
+        /**
+         * Count of frames queued in the ring of the class before this entry.
+         */
+        final long ringPosition;
+
+        /**
+         * Orders the entries of the slots.
+         */
+        final long sequence;
+
+        SlotEntry(byte[] frame, long ringPosition, long sequence) {
+            this.frame = frame;
+            this.ringPosition = ringPosition;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Holds the last frame offered for a supersession key, until it's taken.
+     */
+    private static final class Slot {
+        final long key;
+        final AtomicReference<SlotEntry> entry = new AtomicReference<>();
+
+        Slot(long key) {
+            this.key = key;
+        }
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private final FrameRing[] mQueues = new FrameRing[PRIORITIES.length];
+
+    /**
+     * Supersession slots, per priority class. Replaced on write, as slots
+     * are only added for the few keys seen on a link.
+     */
+    private volatile Slot[][] mSlots = new Slot[PRIORITIES.length][0];
+
+    private final AtomicLong mSlotSequence = new AtomicLong();
+    private final AtomicInteger mFilledSlots = new AtomicInteger();
+    private final AtomicInteger mMaxFilledSlots = new AtomicInteger();
+    private final AtomicLong mSlotOfferedCount = new AtomicLong();
+    private final AtomicLong mSupersededCount = new AtomicLong();
+
+    /**
+     * Capacity of the link, in bytes per second, or 0 if it's not limited.
+     */
+    private volatile int mLinkCapacity;
+
+    /**
+     * Token bucket, only used by the thread taking the frames.
+     */
+    private double mTokens;
+    private long mRefillTime = System.nanoTime();
+
+    /**
+     * Thread parked until a frame is offered.
+     */
+    private volatile Thread mWaiter;
+
+    public SendScheduler(String name) {
+        for (Priority priority : PRIORITIES) {
+            mQueues[priority.ordinal()] = new MpscFrameRing(name + " " + priority.name().toLowerCase(),
+                    priority.queueCapacity, FrameRing.OverflowPolicy.DROP_OLDEST);
+        }
+    }
+
+    /**
+     * Sets the capacity of the link. Frames are then taken at that rate at
+     * most.
+     *
+     * @param bytesPerSecond capacity of the link, or 0 to send frames as fast
+     *                       as the transport takes them.
+     */
+    public void setLinkCapacity(int bytesPerSecond) {
+        if (bytesPerSecond < 0) {
+            throw new IllegalArgumentException("Invalid link capacity: " + bytesPerSecond);
+        }
+        mLinkCapacity = bytesPerSecond;
+    }
+
+    public int getLinkCapacity() {
+        return mLinkCapacity;
+    }
+
+    /**
+     * Queues a frame according to its priority class. If a frame it
+     * supersedes is still queued, it's replaced.
+     *
+     * @return false if the frame was dropped, as its queue was full.
+     */
+    public boolean offer(byte[] frame) {
+        final Priority priority = getPriority(frame);
+        final long key = getSupersessionKey(frame);
+
+        final boolean isQueued;
+        if (key < 0) {
+            isQueued = mQueues[priority.ordinal()].offer(frame);
+        } else {
+            mSlotOfferedCount.incrementAndGet();
+            if (replace(getSlot(priority, key), frame, mQueues[priority.ordinal()])) {
+                final int filled = mFilledSlots.incrementAndGet();
+                int max;
+                while (filled > (max = mMaxFilledSlots.get()) && !mMaxFilledSlots.compareAndSet(max, filled)) {
+                    // Another producer updated the max.
+                }
+            } else {
+                mSupersededCount.incrementAndGet();
+            }
+            isQueued = true;
+        }
+
+        final Thread waiter = mWaiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return isQueued;
+    }
+
+    /**
+     * Puts the frame in the slot, in place of the frame it supersedes if
+     * there's one.
+     *
+     * @return true if the slot was empty.
+     */
+    private boolean replace(Slot slot, byte[] frame, FrameRing queue) {
+        SlotEntry fresh = null;
+        while (true) {
+            final SlotEntry current = slot.entry.get();
+            final SlotEntry updated;
+            if (current != null) {
+                updated = new SlotEntry(frame, current.ringPosition, current.sequence);
+            } else {
+                if (fresh == null) {
+                    fresh = new SlotEntry(frame, queue.getEnqueuedCount(), mSlotSequence.getAndIncrement());
+                }
+                updated = fresh;
+            }
+
+            if (slot.entry.compareAndSet(current, updated)) {
+                return current == null;
+            }
+        }
+    }
+
+    private Slot getSlot(Priority priority, long key) {
+        for (Slot slot : mSlots[priority.ordinal()]) {
+            if (slot.key == key) {
+                return slot;
+            }
+        }
+
+        synchronized (this) {
+            final Slot[][] slots = mSlots;
+            final Slot[] classSlots = slots[priority.ordinal()];
+            for (Slot slot : classSlots) {
+                if (slot.key == key) {
+                    return slot;
+                }
+            }
+
+            final Slot slot = new Slot(key);
+            final Slot[][] updated = slots.clone();
+            updated[priority.ordinal()] = Arrays.copyOf(classSlots, classSlots.length + 1);
+            updated[priority.ordinal()][classSlots.length] = slot;
+            mSlots = updated;
+            return slot;
+        }
+    }
+
+    /**
+     * Moves the frames to send to the given array, highest priority first,
+     * until the array is full, the queues are empty, or the link capacity is
+     * used up.
+     *
+     * @return count of frames moved.
+     */
+    public int drainTo(byte[][] frames, int offset) {
+        final int linkCapacity = mLinkCapacity;
+        if (linkCapacity > 0) {
+            refill(linkCapacity, System.nanoTime());
+        }
+
+        int count = 0;
+        byte[] frame;
+        while (offset + count < frames.length && (linkCapacity == 0 || mTokens > 0) && (frame = poll()) != null) {
+            frames[offset + count++] = frame;
+            if (linkCapacity > 0) {
+                mTokens -= frame.length;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the highest priority frame, ignoring the link capacity, or
+     * null if none is queued.
+     */
+    private byte[] poll() {
+        final Slot[][] slots = mSlots;
+        for (int i = 0; i < mQueues.length; i++) {
+            Slot oldest = null;
+            long oldestRingPosition = 0;
+            long oldestSequence = 0;
+            for (Slot slot : slots[i]) {
+                final SlotEntry entry = slot.entry.get();
+                if (entry != null && (oldest == null || entry.sequence < oldestSequence)) {
+                    oldest = slot;
+                    oldestRingPosition = entry.ringPosition;
+                    oldestSequence = entry.sequence;
+                }
+            }
+
+            // The frames queued in the ring before the oldest slot entry go
+            // first.
+            if (oldest == null || oldestRingPosition > mQueues[i].getTakenCount()) {
+                final byte[] frame = mQueues[i].poll();
+                if (frame != null) {
+                    return frame;
+                }
+            }
+
+            if (oldest != null) {
+                // Only emptied here, so a superseding frame may only have
+                // replaced its entry.
+                final SlotEntry entry = oldest.entry.getAndSet(null);
+                mFilledSlots.decrementAndGet();
+                return entry.frame;
+            }
+        }
+        return null;
+    }
+
+    private void refill(int linkCapacity, long now) {
+        final double burst = Math.max(MAVLinkEncoder.MAX_FRAME_LENGTH, linkCapacity * BURST_MILLIS / 1000.0);
+        mTokens = Math.min(burst, mTokens + (now - mRefillTime) * linkCapacity / 1E9);
+        mRefillTime = now;
+    }
+
+    /**
+     * @return the time until the link capacity lets a frame be taken, in
+     * nanoseconds, or 0 if a frame can be taken now.
+     */
+    public long getPacingDelay() {
+        final int linkCapacity = mLinkCapacity;
+        if (linkCapacity == 0) {
+            return 0;
+        }
+
+        refill(linkCapacity, System.nanoTime());
+        return mTokens > 0 ? 0 : (long) (-mTokens * 1E9 / linkCapacity) + 1;
+    }
+
+    /**
+     * Parks the calling thread until a frame is offered, or until the link
+     * capacity lets a queued frame be taken.
+     */
+    public void awaitFrames() throws InterruptedException {
+        mWaiter = Thread.currentThread();
+
+        // Checked after publishing the waiter, so an offer either sees it or
+        // is seen here.
+        if (isEmpty()) {
+            LockSupport.park(this);
+        } else {
+            final long delay = getPacingDelay();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+            }
+        }
+
+        mWaiter = null;
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    public boolean isEmpty() {
+        if (mFilledSlots.get() > 0) {
+            return false;
+        }
+
+        for (FrameRing queue : mQueues) {
+            if (!queue.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the depth and counters of the queue of each priority class,
+     * followed by the ones of the supersession slots, whose dropped frames
+     * were superseded.
+     */
+    public List<FrameRing.Metrics> getMetrics() {
+        final List<FrameRing.Metrics> metrics = new ArrayList<>(mQueues.length + 1);
+        for (FrameRing queue : mQueues) {
+            metrics.add(queue.getMetrics());
+        }
+
+        int slotCount = 0;
+        for (Slot[] classSlots : mSlots) {
+            slotCount += classSlots.length;
+        }
+        metrics.add(new FrameRing.Metrics("send superseded", slotCount, Math.max(0, mFilledSlots.get()),
+                mMaxFilledSlots.get(), mSlotOfferedCount.get(), mSupersededCount.get()));
+        return metrics;
+    }
+
+    /**
+     * @return the priority class of the given frame.
+     */
+    public static Priority getPriority(byte[] frame) {
+        switch (getMessageId(frame)) {
+            case msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT:
+            case msg_set_mode.MAVLINK_MSG_ID_SET_MODE:
+            case msg_timesync.MAVLINK_MSG_ID_TIMESYNC:
+            case msg_ping.MAVLINK_MSG_ID_PING:
+                return Priority.CRITICAL;
+
+            case msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG:
+            case msg_command_int.MAVLINK_MSG_ID_COMMAND_INT:
+                return isSetpointCommand(getPayloadShort(frame, COMMAND_COMMAND)) ? Priority.CONTROL
+                        : Priority.CRITICAL;
+
+            case msg_mission_item.MAVLINK_MSG_ID_MISSION_ITEM:
+            case msg_mission_item_int.MAVLINK_MSG_ID_MISSION_ITEM_INT:
+                return getPayloadByte(frame, MISSION_ITEM_CURRENT) == MISSION_ITEM_GUIDED
+                        ? Priority.CONTROL : Priority.BULK;
+
+            case msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE:
+            case msg_manual_control.MAVLINK_MSG_ID_MANUAL_CONTROL:
+            case msg_set_position_target_local_ned.MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED:
+            case msg_set_position_target_global_int.MAVLINK_MSG_ID_SET_POSITION_TARGET_GLOBAL_INT:
+            case msg_mission_set_current.MAVLINK_MSG_ID_MISSION_SET_CURRENT:
+            case msg_mount_control.MAVLINK_MSG_ID_MOUNT_CONTROL:
+                return Priority.CONTROL;
+
+            case msg_param_request_read.MAVLINK_MSG_ID_PARAM_REQUEST_READ:
+            case msg_param_request_list.MAVLINK_MSG_ID_PARAM_REQUEST_LIST:
+            case msg_param_set.MAVLINK_MSG_ID_PARAM_SET:
+            case msg_mission_request_partial_list.MAVLINK_MSG_ID_MISSION_REQUEST_PARTIAL_LIST:
+            case msg_mission_write_partial_list.MAVLINK_MSG_ID_MISSION_WRITE_PARTIAL_LIST:
+            case msg_mission_request.MAVLINK_MSG_ID_MISSION_REQUEST:
+            case msg_mission_request_list.MAVLINK_MSG_ID_MISSION_REQUEST_LIST:
+            case msg_mission_count.MAVLINK_MSG_ID_MISSION_COUNT:
+            case msg_mission_clear_all.MAVLINK_MSG_ID_MISSION_CLEAR_ALL:
+            case msg_mission_ack.MAVLINK_MSG_ID_MISSION_ACK:
+            case msg_log_request_list.MAVLINK_MSG_ID_LOG_REQUEST_LIST:
+            case msg_log_request_data.MAVLINK_MSG_ID_LOG_REQUEST_DATA:
+            case msg_log_request_end.MAVLINK_MSG_ID_LOG_REQUEST_END:
+            case msg_file_transfer_protocol.MAVLINK_MSG_ID_FILE_TRANSFER_PROTOCOL:
+                return Priority.BULK;
+
+            default:
+                return Priority.DEFAULT;
+        }
+    }
+
+    /**
+     * @return the key shared by the given frame and the frames it
+     * supersedes, or -1 if it doesn't supersede any. Setpoints supersede the
+     * ones of the same kind sent to the same system and component.
+     */
+    public static long getSupersessionKey(byte[] frame) {
+        final int msgId = getMessageId(frame);
+        final int group;
+        final int targetOffset;
+        switch (msgId) {
+            case msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT:
+                // The routed heartbeats only supersede the ones of the same
+                // sender.
+                return (long) msgId << 16 | getSender(frame);
+
+            case msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE:
+                group = msgId;
+                targetOffset = RC_CHANNELS_OVERRIDE_TARGET;
+                break;
+
+            case msg_manual_control.MAVLINK_MSG_ID_MANUAL_CONTROL:
+                group = msgId;
+                targetOffset = MANUAL_CONTROL_TARGET;
+                break;
+
+            case msg_mount_control.MAVLINK_MSG_ID_MOUNT_CONTROL:
+                group = msgId;
+                targetOffset = MOUNT_CONTROL_TARGET;
+                break;
+
+            case msg_set_position_target_local_ned.MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED:
+            case msg_set_position_target_global_int.MAVLINK_MSG_ID_SET_POSITION_TARGET_GLOBAL_INT:
+                group = GUIDED_TARGET_GROUP;
+                targetOffset = SET_POSITION_TARGET_TARGET;
+                break;
+
+            case msg_mission_item.MAVLINK_MSG_ID_MISSION_ITEM:
+            case msg_mission_item_int.MAVLINK_MSG_ID_MISSION_ITEM_INT:
+                if (getPayloadByte(frame, MISSION_ITEM_CURRENT) != MISSION_ITEM_GUIDED) {
+                    return -1;
+                }
+                group = GUIDED_TARGET_GROUP;
+                targetOffset = MISSION_ITEM_TARGET;
+                break;
+
+            case msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG:
+            case msg_command_int.MAVLINK_MSG_ID_COMMAND_INT:
+                final int command = getPayloadShort(frame, COMMAND_COMMAND);
+                if (!isSetpointCommand(command)) {
+                    return -1;
+                }
+                group = COMMAND_GROUP | command;
+                targetOffset = COMMAND_TARGET;
+                break;
+
+            default:
+                return -1;
+        }
+
+        // The manual control target has no component: the byte past the
+        // payload reads as 0.
+        return (long) group << 16 | getPayloadByte(frame, targetOffset) << 8
+                | getPayloadByte(frame, targetOffset + 1);
+    }
+
+    /**
+     * @return true for the commands setting a target which replaces the
+     * previous one.
+     */
+    private static boolean isSetpointCommand(int command) {
+        return command == MAV_CMD.MAV_CMD_DO_SET_ROI || command == MAV_CMD.MAV_CMD_DO_MOUNT_CONTROL;
+    }
+
+    /*
+     * Payload offsets of the fields read to classify the frames, as laid out
+     * by the generated messages. The ones of MISSION_ITEM and
+     * MISSION_ITEM_INT are the same.
+     */
+    private static final int COMMAND_COMMAND = 28; // Same in COMMAND_LONG and COMMAND_INT.
+    private static final int COMMAND_TARGET = 30;
+    private static final int MISSION_ITEM_TARGET = 32;
+    private static final int MISSION_ITEM_CURRENT = 35;
+    private static final int RC_CHANNELS_OVERRIDE_TARGET = 16;
+    private static final int MANUAL_CONTROL_TARGET = 10;
+    private static final int SET_POSITION_TARGET_TARGET = 50;
+    private static final int MOUNT_CONTROL_TARGET = 12;
+
+    private static boolean isMavlink2(byte[] frame) {
+        return (frame[0] & 0xFF) == MAVLinkPacket.MAVLINK_STX_MAVLINK2;
+    }
+
+    private static int getMessageId(byte[] frame) {
+        if (isMavlink2(frame)) {
+            return (frame[7] & 0xFF) | (frame[8] & 0xFF) << 8 | (frame[9] & 0xFF) << 16;
+        }
+        return frame[5] & 0xFF;
+    }
+
+    /**
+     * @return the system id of the sender of the frame, followed by its
+     * component id.
+     */
+    private static int getSender(byte[] frame) {
+        final int offset = isMavlink2(frame) ? 5 : 3;
+        return (frame[offset] & 0xFF) << 8 | frame[offset + 1] & 0xFF;
+    }
+
+    /**
+     * @return the payload byte at the given offset. MAVLink 2 frames have
+     * their trailing zero bytes truncated, so bytes past the payload are 0.
+     */
+    private static int getPayloadByte(byte[] frame, int offset) {
+        final int length = frame[1] & 0xFF;
+        if (offset >= length) {
+            return 0;
+        }
+        return frame[(isMavlink2(frame) ? MAVLinkPacket.MAVLINK2_HEADER_LEN : MAVLinkPacket.MAVLINK1_HEADER_LEN)
+                + offset] & 0xFF;
+    }
+
+    private static int getPayloadShort(byte[] frame, int offset) {
+        return getPayloadByte(frame, offset) | getPayloadByte(frame, offset + 1) << 8;
+    }
+}
@@ -0,0 +1,65 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Frame ring for a single producer and a single consumer. Neither side
+ * needs an atomic update: each one only advances its own index, and caches
+ * the index of the other side until the ring looks full or empty.
+ *
+ * The producer can't drop the oldest frame without racing the consumer, so
+ * only the {@link OverflowPolicy#DROP_NEWEST} policy is supported.
+ */
+public class SpscFrameRing extends FrameRing {
+
+    private final AtomicReferenceArray<byte[]> slots;
+
+    /**
+     * Head seen by the producer, and tail seen by the consumer.
+     */
+    private long producerHeadCache;
+    private long consumerTailCache;
+
+    public SpscFrameRing(String name, int capacity, OverflowPolicy overflowPolicy) {
+        super(name, capacity, overflowPolicy);
+        if (overflowPolicy != OverflowPolicy.DROP_NEWEST) {
+            throw new IllegalArgumentException("Unsupported overflow policy: " + overflowPolicy);
+        }
+
+        slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    @Override
+    public boolean offer(byte[] frame) {
+        final long tail = this.tail.get();
+        if (tail - producerHeadCache >= capacity) {
+            producerHeadCache = head.get();
+            if (tail - producerHeadCache >= capacity) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        }
+
+        slots.lazySet((int) tail & mask, frame);
+        this.tail.set(tail + 1);
+        onFrameAdded((int) (tail + 1 - head.get()));
+        return true;
+    }
+
+    @Override
+    public byte[] poll() {
+        final long head = this.head.get();
+        if (head >= consumerTailCache) {
+            consumerTailCache = tail.get();
+            if (head >= consumerTailCache) {
+                return null;
+            }
+        }
+
+        final int index = (int) head & mask;
+        final byte[] frame = slots.get(index);
+        slots.lazySet(index, null);
+        this.head.lazySet(head + 1);
+        return frame;
+    }
+}
@@ -1,22 +1,38 @@
 package org.droidplanner.core.MAVLink.connection;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SocketChannel;
 
 /**
  * Provides support for mavlink connection via TCP.
+ *
+ * The socket channel is connected in blocking mode, then served by the event
+ * loop. Batches of frames are written at once, and data which can't be
+ * written right away is kept until the channel is writable.
  */
 public abstract class TcpConnection extends MavLinkConnection {
 
 	private static final int CONNECTION_TIMEOUT = 20 * 1000; // 20 secs in ms
 
-	private Socket socket;
-	private BufferedOutputStream mavOut;
-	private BufferedInputStream mavIn;
+	/**
+	 * Bytes kept while the peer doesn't keep up, before packets are dropped.
+	 */
+	private static final int SEND_BUFFER_SIZE = 64 * 1024;
+
+	private volatile SocketChannel channel;
+
+	private ByteBuffer receiveBuffer;
+
+	/**
+	 * Holds the data not written yet. Guarded by its own lock, as packets are
+	 * sent from several threads.
+	 */
+	private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(SEND_BUFFER_SIZE);
 
 	private String serverIP;
 	private int serverPort;
@@ -27,19 +43,96 @@ public abstract class TcpConnection extends MavLinkConnection {
         onConnectionOpened();
 	}
 
+	/**
+	 * Doesn't block: returns 0 if no data is available.
+	 */
 	@Override
 	public final int readDataBlock(byte[] buffer) throws IOException {
-		return mavIn.read(buffer);
+		final SocketChannel channel = this.channel;
+		if (channel == null)
+			return 0;
+
+		if (receiveBuffer == null || receiveBuffer.capacity() < buffer.length)
+			receiveBuffer = ByteBuffer.allocateDirect(buffer.length);
+
+		receiveBuffer.clear().limit(buffer.length);
+		final int length = channel.read(receiveBuffer);
+		if (length < 0)
+			throw new EOFException("TCP connection closed by the server.");
+
+		receiveBuffer.flip();
+		receiveBuffer.get(buffer, 0, length);
+		return length;
 	}
 
 	@Override
 	public final void sendBuffer(byte[] buffer) throws IOException {
-		if (mavOut != null) {
-			mavOut.write(buffer);
-			mavOut.flush();
+		final SocketChannel channel = this.channel;
+		if (channel == null)
+			return;
+
+		synchronized (sendBuffer) {
+			if (buffer.length > sendBuffer.remaining())
+				throw new IOException("TCP send buffer is full, dropping packet.");
+
+			sendBuffer.put(buffer);
+			flush(channel);
 		}
 	}
 
+	/**
+	 * Writes the frames with a single call once copied into the send buffer.
+	 */
+	@Override
+	public final void sendBuffers(byte[][] buffers, int count) throws IOException {
+		final SocketChannel channel = this.channel;
+		if (channel == null)
+			return;
+
+		synchronized (sendBuffer) {
+			for (int i = 0; i < count; i++) {
+				if (buffers[i].length > sendBuffer.remaining()) {
+					flush(channel);
+					throw new IOException("TCP send buffer is full, dropping " + (count - i) + " packets.");
+				}
+				sendBuffer.put(buffers[i]);
+			}
+			flush(channel);
+		}
+	}
+
+	@Override
+	public final boolean hasPendingData() {
+		synchronized (sendBuffer) {
+			return sendBuffer.position() > 0;
+		}
+	}
+
+	@Override
+	public final void flushPendingData() throws IOException {
+		final SocketChannel channel = this.channel;
+		if (channel == null)
+			return;
+
+		synchronized (sendBuffer) {
+			flush(channel);
+		}
+	}
+
+	private void flush(SocketChannel channel) throws IOException {
+		sendBuffer.flip();
+		try {
+			channel.write(sendBuffer);
+		} finally {
+			sendBuffer.compact();
+		}
+	}
+
+	@Override
+	public final SelectableChannel getSelectableChannel() {
+		return channel;
+	}
+
 	@Override
 	public final void loadPreferences() {
 		serverIP = loadServerIP();
@@ -52,16 +145,27 @@ public abstract class TcpConnection extends MavLinkConnection {
 
 	@Override
 	public final void closeConnection() throws IOException {
-		if (socket != null)
-			socket.close();
+		final SocketChannel channel = this.channel;
+		if (channel != null)
+			channel.close();
 	}
 
 	private void getTCPStream() throws IOException {
 		InetAddress serverAddr = InetAddress.getByName(serverIP);
-		socket = new Socket();
-		socket.connect(new InetSocketAddress(serverAddr, serverPort), CONNECTION_TIMEOUT);
-		mavOut = new BufferedOutputStream((socket.getOutputStream()));
-		mavIn = new BufferedInputStream(socket.getInputStream());
+		final SocketChannel channel = SocketChannel.open();
+		try {
+			channel.socket().setTcpNoDelay(true);
+			channel.socket().connect(new InetSocketAddress(serverAddr, serverPort), CONNECTION_TIMEOUT);
+			channel.configureBlocking(false);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		synchronized (sendBuffer) {
+			sendBuffer.clear();
+		}
+		this.channel = channel;
 	}
 
 	@Override
@@ -0,0 +1,561 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkEncoder;
+import com.MAVLink.MAVLinkPacket;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.CompressedTlogReader;
+import org.droidplanner.core.MAVLink.tlog.TlogReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection replaying the telemetry of a recorded flight, from a tlog or a
+ * compressed tlog, through the same pipeline as a live vehicle: the frames
+ * are parsed and dispatched to the listeners as if they were received. The
+ * frames the ground station sent, logged along, are skipped, and the frames
+ * sent to the replayed vehicle are dropped.
+ *
+ * The frames are replayed at the pace they were logged at, times the replay
+ * speed, or as fast as they're handled with {@link #MAX_SPEED}. The replay
+ * can be paused, and moved to another time of the flight, without the
+ * vehicle state being reset, as after a link outage. Once at the end of the
+ * tlog, it stays connected, waiting to be moved back.
+ *
+ * The replay is deterministic: the frames are handled one at a time, by a
+ * single thread, and the tasks posted to its {@link ReplayClock} run on that
+ * thread in between, once the replay gets to the time they're due at. So
+ * the vehicle state goes through the same events on each replay, whatever
+ * its speed.
+ */
+public abstract class TlogReplayConnection extends MavLinkConnection {
+
+    /**
+     * Replays the frames as fast as they're handled.
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private static final int MAX_FRAME_LENGTH = MAVLinkPacket.MAVLINK2_HEADER_LEN + 255
+            + MAVLinkPacket.MAVLINK_CHECKSUM_LEN + MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN;
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final String mPath;
+    private final ReplayClock mClock;
+
+    /**
+     * Guards the pacing, and wakes the replay thread up when it changes.
+     */
+    private final Object mLock = new Object();
+    private double mSpeed = 1;
+    private boolean mIsPaused;
+    private boolean mIsAtEnd;
+    private boolean mIsClosed;
+    private long mSeekTime = NO_TIME;
+
+    /**
+     * Time of the replay the pace is anchored at, and wall time it was at.
+     */
+    private long mAnchorTime = NO_TIME;
+    private long mAnchorNanos;
+
+    private final AtomicLong mReplayedCount = new AtomicLong();
+    private final AtomicLong mDroppedSentCount = new AtomicLong();
+
+    private volatile ReplaySource mReadSource;
+
+    /**
+     * @param path  path of the tlog, compressed if it has the
+     *              {@link CompressedTlog#FILE_EXTENSION} extension
+     * @param clock clock the replayed vehicle runs on
+     */
+    public TlogReplayConnection(String path, ReplayClock clock) {
+        mPath = path;
+        mClock = clock;
+    }
+
+    public String getPath() {
+        return mPath;
+    }
+
+    public ReplayClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * Sets the pace of the replay.
+     *
+     * @param speed 1 for the pace the frames were logged at, a multiple of
+     *              it, or {@link #MAX_SPEED}
+     */
+    public void setSpeed(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Invalid replay speed: " + speed);
+        }
+
+        synchronized (mLock) {
+            reanchor(System.nanoTime());
+            mSpeed = speed;
+            mLock.notifyAll();
+        }
+    }
+
+    public double getSpeed() {
+        synchronized (mLock) {
+            return mSpeed;
+        }
+    }
+
+    public void pause() {
+        synchronized (mLock) {
+            reanchor(System.nanoTime());
+            mIsPaused = true;
+            mLock.notifyAll();
+        }
+    }
+
+    public void resume() {
+        synchronized (mLock) {
+            mIsPaused = false;
+            mAnchorTime = NO_TIME;
+            mLock.notifyAll();
+        }
+    }
+
+    public boolean isPaused() {
+        synchronized (mLock) {
+            return mIsPaused;
+        }
+    }
+
+    /**
+     * Moves the replay to the first frame logged at or after the given time,
+     * once the frame being replayed is handled.
+     *
+     * @param timeMicros time of the flight, in µs since the epoch
+     */
+    public void seek(long timeMicros) {
+        synchronized (mLock) {
+            mSeekTime = timeMicros;
+            mIsAtEnd = false;
+            mLock.notifyAll();
+        }
+    }
+
+    /**
+     * @return true once the last frame of the tlog was replayed.
+     */
+    public boolean isAtEnd() {
+        synchronized (mLock) {
+            return mIsAtEnd;
+        }
+    }
+
+    /**
+     * Blocks until the last frame of the tlog is replayed.
+     *
+     * @return false if it wasn't before the timeout, or if the connection
+     * was closed.
+     */
+    public boolean awaitEnd(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (mLock) {
+            while (!mIsAtEnd && !mIsClosed) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(mLock, remaining);
+            }
+            return mIsAtEnd;
+        }
+    }
+
+    /**
+     * @return the time of the replay, in µs since the epoch.
+     */
+    public long getReplayTime() {
+        return mClock.getTimeMicros();
+    }
+
+    /**
+     * @return the count of frames replayed, since the connection was opened.
+     */
+    public long getReplayedCount() {
+        return mReplayedCount.get();
+    }
+
+    /**
+     * @return the count of frames sent to the replayed vehicle, and dropped.
+     */
+    public long getDroppedSentCount() {
+        return mDroppedSentCount.get();
+    }
+
+    /**
+     * Moves the anchor of the pace to the time the replay is at, so a change
+     * of the pace applies from now on.
+     */
+    private void reanchor(long now) {
+        if (mAnchorTime == NO_TIME || mIsPaused) {
+            return;
+        }
+
+        if (mSpeed == MAX_SPEED) {
+            mAnchorTime = NO_TIME;
+            return;
+        }
+        mAnchorTime = Math.max(mClock.getTimeMicros(),
+                mAnchorTime + (long) ((now - mAnchorNanos) / 1000 * mSpeed));
+        mAnchorNanos = now;
+    }
+
+    @Override
+    public final void openConnection() throws IOException {
+        final ReplaySource source = new ReplaySource(openFrames(mPath));
+        synchronized (mLock) {
+            mIsClosed = false;
+            mIsAtEnd = false;
+            mSeekTime = NO_TIME;
+            mAnchorTime = NO_TIME;
+        }
+        mReplayedCount.set(0);
+        mClock.jumpTo(source.mFrames.getStartTime());
+        mReadSource = source;
+
+        onConnectionOpened();
+    }
+
+    @Override
+    public final void closeConnection() throws IOException {
+        synchronized (mLock) {
+            mIsClosed = true;
+            mLock.notifyAll();
+        }
+
+        final ReplaySource source = mReadSource;
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    /**
+     * The replayed packets aren't stamped, as the time they were sent at by
+     * the vehicle isn't logged.
+     */
+    @Override
+    public final long getVehicleSendTime(long receivedNanos) {
+        return 0;
+    }
+
+    @Override
+    public final AsyncReadSource getAsyncReadSource() {
+        return mReadSource;
+    }
+
+    @Override
+    public final int readDataBlock(byte[] buffer) throws IOException {
+        return mReadSource.read(buffer);
+    }
+
+    @Override
+    public final void sendBuffer(byte[] buffer) throws IOException {
+        mDroppedSentCount.incrementAndGet();
+    }
+
+    @Override
+    public final void sendBuffers(byte[][] buffers, int count) throws IOException {
+        mDroppedSentCount.addAndGet(count);
+    }
+
+    @Override
+    public final void loadPreferences() {
+    }
+
+    @Override
+    public final int getConnectionType() {
+        return MavLinkConnectionTypes.MAVLINK_CONNECTION_TLOG_REPLAY;
+    }
+
+    private static Frames openFrames(String path) throws IOException {
+        if (path.endsWith(CompressedTlog.FILE_EXTENSION)) {
+            return new CompressedFrames(CompressedTlogReader.open(path));
+        }
+        return new PlainFrames(TlogReader.open(path));
+    }
+
+    /**
+     * Frames of the tlog, from the time they're moved to.
+     */
+    private abstract static class Frames {
+
+        /**
+         * @return the time the first frame was logged at, in µs since the
+         * epoch.
+         */
+        abstract long getStartTime();
+
+        abstract void seek(long timeMicros) throws IOException;
+
+        /**
+         * Moves to the next frame.
+         *
+         * @return false once there's none left.
+         */
+        abstract boolean next() throws IOException;
+
+        abstract long getTime();
+
+        abstract int readFrame(byte[] buffer);
+
+        /**
+         * Releases the frames. There's none left afterwards.
+         */
+        abstract void close();
+    }
+
+    private static final class PlainFrames extends Frames {
+
+        private final TlogReader mReader;
+        private TlogReader.Cursor mCursor;
+
+        PlainFrames(TlogReader reader) {
+            mReader = reader;
+            mCursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        long getStartTime() {
+            return mReader.getRecordsCount() == 0 ? 0 : mReader.getTime(0);
+        }
+
+        @Override
+        void seek(long timeMicros) {
+            mCursor = mReader.newCursor(timeMicros, Long.MAX_VALUE);
+        }
+
+        @Override
+        boolean next() {
+            return mCursor.next();
+        }
+
+        @Override
+        long getTime() {
+            return mCursor.getTime();
+        }
+
+        @Override
+        int readFrame(byte[] buffer) {
+            return mCursor.readFrame(buffer);
+        }
+
+        @Override
+        void close() {
+            // The mapping of the tlog is released once unreachable.
+            mCursor = mReader.newCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+        }
+    }
+
+    private static final class CompressedFrames extends Frames {
+
+        private final CompressedTlogReader mReader;
+        private CompressedTlogReader.Cursor mCursor;
+
+        CompressedFrames(CompressedTlogReader reader) {
+            mReader = reader;
+            mCursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        long getStartTime() {
+            return mReader.getBlocksCount() == 0 ? 0 : mReader.getFirstTime(0);
+        }
+
+        @Override
+        void seek(long timeMicros) {
+            mCursor.close();
+            mCursor = mReader.newCursor(timeMicros, Long.MAX_VALUE);
+        }
+
+        @Override
+        boolean next() throws IOException {
+            return mCursor.next();
+        }
+
+        @Override
+        long getTime() {
+            return mCursor.getTime();
+        }
+
+        @Override
+        int readFrame(byte[] buffer) {
+            return mCursor.readFrame(buffer);
+        }
+
+        @Override
+        void close() {
+            // Releases the inflater, rather than leaving it to the GC.
+            mCursor.close();
+        }
+    }
+
+    /**
+     * Hands the frames to the thread parsing them, one per request, once
+     * they're due.
+     */
+    private final class ReplaySource extends BlockingReadSource {
+
+        /**
+         * Guarded by itself, as it's closed by the thread closing the
+         * connection while the replay thread may be reading it.
+         */
+        private final Frames mFrames;
+
+        /**
+         * Guarded by the lock of the connection, so a replay stopped along
+         * with the link doesn't go on once it's reopened.
+         */
+        private boolean mIsStopped;
+
+        /**
+         * Next frame to replay, read from the tlog, along with its time.
+         */
+        private final byte[] mFrame = new byte[MAX_FRAME_LENGTH];
+        private int mFrameLength;
+        private long mFrameTime;
+
+        ReplaySource(Frames frames) {
+            mFrames = frames;
+        }
+
+        @Override
+        public void close() {
+            synchronized (mLock) {
+                mIsStopped = true;
+                mLock.notifyAll();
+            }
+            synchronized (mFrames) {
+                mFrames.close();
+            }
+        }
+
+        /**
+         * Blocks until the next frame is due, running the tasks of the clock
+         * due before, then moves it to the given buffer. A single frame is
+         * moved at once, so the tasks run in between the frames they were
+         * due between.
+         */
+        @Override
+        void read(ByteBuffer buffer) throws IOException {
+            try {
+                while (true) {
+                    synchronized (mLock) {
+                        if (mIsStopped) {
+                            throw new EOFException("Replay closed.");
+                        }
+                        if (mSeekTime != NO_TIME) {
+                            seekFrames(mSeekTime);
+                            mClock.jumpTo(mSeekTime);
+                            mFrameLength = 0;
+                            mSeekTime = NO_TIME;
+                            mAnchorTime = NO_TIME;
+                        }
+                        if (mIsPaused || mIsAtEnd) {
+                            mLock.wait();
+                            continue;
+                        }
+                    }
+
+                    if (mFrameLength == 0 && !readNextFrame()) {
+                        synchronized (mLock) {
+                            if (mSeekTime == NO_TIME) {
+                                mIsAtEnd = true;
+                                mLock.notifyAll();
+                            }
+                        }
+                        continue;
+                    }
+
+                    final long dueTime = Math.min(mFrameTime, mClock.getNextDueTime());
+                    if (!awaitDueTime(dueTime)) {
+                        continue;
+                    }
+
+                    if (dueTime < mFrameTime) {
+                        mClock.advanceTo(dueTime);
+                        continue;
+                    }
+
+                    mClock.advanceTo(mFrameTime);
+                    buffer.put(mFrame, 0, mFrameLength);
+                    mFrameLength = 0;
+                    mReplayedCount.incrementAndGet();
+                    return;
+                }
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        /**
+         * Reads the next frame sent by the vehicle.
+         *
+         * @return false once there's none left.
+         */
+        private boolean readNextFrame() throws IOException {
+            synchronized (mFrames) {
+                while (mFrames.next()) {
+                    final int length = mFrames.readFrame(mFrame);
+                    final int systemId = (mFrame[0] & 0xFF) == MAVLinkPacket.MAVLINK_STX ? mFrame[3] & 0xFF
+                            : mFrame[5] & 0xFF;
+                    if (systemId != MAVLinkEncoder.GCS_SYSID) {
+                        mFrameLength = length;
+                        mFrameTime = mFrames.getTime();
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }
+
+        private void seekFrames(long timeMicros) throws IOException {
+            synchronized (mFrames) {
+                mFrames.seek(timeMicros);
+            }
+        }
+
+        /**
+         * Blocks until the given time of the replay is due, at its pace.
+         *
+         * @return false if the pace changed meanwhile.
+         */
+        private boolean awaitDueTime(long dueTime) throws InterruptedException {
+            synchronized (mLock) {
+                while (true) {
+                    if (mIsStopped || mIsPaused || mSeekTime != NO_TIME) {
+                        return false;
+                    }
+                    if (mSpeed == MAX_SPEED) {
+                        return true;
+                    }
+
+                    final long now = System.nanoTime();
+                    if (mAnchorTime == NO_TIME) {
+                        mAnchorTime = mClock.getTimeMicros();
+                        mAnchorNanos = now;
+                    }
+                    final long remaining = mAnchorNanos + (long) ((dueTime - mAnchorTime) * 1000 / mSpeed) - now;
+                    if (remaining <= 0) {
+                        return true;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(mLock, remaining);
+                }
+            }
+        }
+    }
+}
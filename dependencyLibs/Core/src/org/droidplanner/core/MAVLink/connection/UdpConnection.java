@@ -1,79 +1,282 @@
 package org.droidplanner.core.MAVLink.connection;
 
+import com.MAVLink.MAVLinkEncoder;
+
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Provides support for mavlink connection via udp.
+ *
+ * Datagrams are received on a non blocking channel, served by the event
+ * loop, into a reusable direct buffer, and all the datagrams queued when the
+ * channel is readable are returned in the same block. The rest of a datagram
+ * which didn't fit is returned by the next reads, before any other datagram.
+ * Outbound packets are sent to every peer which sent datagrams to this
+ * connection.
  */
 public abstract class UdpConnection extends MavLinkConnection {
 
-	private AtomicReference<DatagramSocket> socketRef = new AtomicReference<>();
+	private static final String TAG = UdpConnection.class.getSimpleName();
+
+	/**
+	 * Largest UDP payload.
+	 */
+	private static final int MAX_DATAGRAM_SIZE = 65507;
+
+	/**
+	 * A peer silent for this long is forgotten when a new peer shows up.
+	 */
+	private static final long PEER_TIMEOUT_MS = 30000;
+
+	private static final class Peer {
+		final SocketAddress address;
+		volatile long lastReceivedTime;
+
+		Peer(SocketAddress address) {
+			this.address = address;
+		}
+	}
+
+	private AtomicReference<DatagramChannel> channelRef = new AtomicReference<>();
 	private int serverPort;
 
-	private int hostPort;
-	private InetAddress hostAdd;
+	/**
+	 * Receives the datagrams. Bytes of a datagram which didn't fit in the
+	 * read block are left between its position and limit.
+	 */
+	private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+
+	/**
+	 * Peer of the last datagram received, to skip the peers lookup when the
+	 * datagrams come from the same peer.
+	 */
+	private Peer lastPeer;
+
+	/**
+	 * Holds the packet being sent. Guarded by its own lock, as pings are
+	 * sent from another thread than the packets.
+	 */
+	private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(MAVLinkEncoder.MAX_FRAME_LENGTH);
+
+	/**
+	 * Peers by address, only accessed by the event loop.
+	 */
+	private final Map<SocketAddress, Peer> peersByAddress = new HashMap<>();
+
+	/**
+	 * Copy of the peers for the sending threads, replaced when a peer is
+	 * added or forgotten.
+	 */
+	private volatile Peer[] peers = new Peer[0];
 
 	private void getUdpStream() throws IOException {
-		final DatagramSocket socket = new DatagramSocket(serverPort);
-		socket.setBroadcast(true);
-		socket.setReuseAddress(true);
-        socketRef.set(socket);
+		final DatagramChannel channel = DatagramChannel.open();
+		try {
+			channel.socket().setBroadcast(true);
+			channel.socket().setReuseAddress(true);
+			channel.socket().bind(new InetSocketAddress(serverPort));
+			channel.configureBlocking(false);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+
+		receiveBuffer.clear().limit(0);
+		lastPeer = null;
+		peersByAddress.clear();
+		peers = new Peer[0];
+		channelRef.set(channel);
 	}
 
 	@Override
 	public final void closeConnection() throws IOException {
-        final DatagramSocket socket = socketRef.get();
-		if (socket != null)
-			socket.close();
+		final DatagramChannel channel = channelRef.get();
+		if (channel != null)
+			channel.close();
 	}
 
 	@Override
 	public final void openConnection() throws IOException {
 		getUdpStream();
-        onConnectionOpened();
+		onConnectionOpened();
 	}
 
 	@Override
 	public final void sendBuffer(byte[] buffer) throws IOException {
-        final DatagramSocket socket = socketRef.get();
-        if(socket == null)
-            return;
+		final DatagramChannel channel = channelRef.get();
+		if (channel == null)
+			return;
 
-		try {
-			if (hostAdd != null) { // We can't send to our sister until they
-				// have connected to us
-				DatagramPacket packet = new DatagramPacket(buffer, buffer.length, hostAdd, hostPort);
-				socket.send(packet);
+		// We can't send to our sisters until they have connected to us
+		final Peer[] peers = this.peers;
+		if (peers.length == 0)
+			return;
+
+		synchronized (sendBuffer) {
+			final ByteBuffer data = fillSendBuffer(buffer);
+			for (Peer peer : peers) {
+				try {
+					data.rewind();
+					channel.send(data, peer.address);
+				} catch (IOException e) {
+					mLogger.logErr(TAG, "Unable to send to " + peer.address, e);
+				}
 			}
-		} catch (Exception e) {
-			e.printStackTrace();
 		}
 	}
 
-    public void sendBuffer(InetAddress targetAddr, int targetPort, byte[] buffer) throws IOException {
-        final DatagramSocket socket = socketRef.get();
-        if(socket == null || targetAddr == null || buffer == null)
-            return;
+	/**
+	 * Sends each frame in its own datagram, as peers may expect.
+	 */
+	@Override
+	public final void sendBuffers(byte[][] buffers, int count) throws IOException {
+		final DatagramChannel channel = channelRef.get();
+		if (channel == null)
+			return;
+
+		final Peer[] peers = this.peers;
+		if (peers.length == 0)
+			return;
+
+		synchronized (sendBuffer) {
+			for (int i = 0; i < count; i++) {
+				final ByteBuffer data = fillSendBuffer(buffers[i]);
+				for (Peer peer : peers) {
+					try {
+						data.rewind();
+						channel.send(data, peer.address);
+					} catch (IOException e) {
+						mLogger.logErr(TAG, "Unable to send to " + peer.address, e);
+					}
+				}
+			}
+		}
+	}
+
+	public void sendBuffer(InetAddress targetAddr, int targetPort, byte[] buffer) throws IOException {
+		final DatagramChannel channel = channelRef.get();
+		if (channel == null || targetAddr == null || buffer == null)
+			return;
+
+		synchronized (sendBuffer) {
+			channel.send(fillSendBuffer(buffer), new InetSocketAddress(targetAddr, targetPort));
+		}
+	}
+
+	private ByteBuffer fillSendBuffer(byte[] buffer) {
+		if (buffer.length > sendBuffer.capacity())
+			return ByteBuffer.wrap(buffer);
 
-        DatagramPacket packet = new DatagramPacket(buffer, buffer.length, targetAddr, targetPort);
-        socket.send(packet);
-    }
+		sendBuffer.clear();
+		sendBuffer.put(buffer);
+		sendBuffer.flip();
+		return sendBuffer;
+	}
 
+	/**
+	 * Returns the rest of the last datagram if it didn't fit in the previous
+	 * block, or else the datagrams queued on the channel, as long as they fit
+	 * in the given buffer. Doesn't block: returns 0 if no datagram is queued.
+	 */
 	@Override
 	public final int readDataBlock(byte[] readData) throws IOException {
-        final DatagramSocket socket = socketRef.get();
-        if(socket == null)
-            return 0;
-
-		DatagramPacket packet = new DatagramPacket(readData, readData.length);
-		socket.receive(packet);
-		hostAdd = packet.getAddress();
-		hostPort = packet.getPort();
-		return packet.getLength();
+		final DatagramChannel channel = channelRef.get();
+		if (channel == null)
+			return 0;
+
+		// Alone, so draining a datagram doesn't go on with the next ones.
+		if (receiveBuffer.hasRemaining())
+			return readPending(readData, 0);
+
+		int length = 0;
+		while (length < readData.length && receive(channel)) {
+			length += readPending(readData, length);
+		}
+
+		if (lastPeer != null)
+			lastPeer.lastReceivedTime = System.currentTimeMillis();
+		return length;
+	}
+
+	@Override
+	public final SelectableChannel getSelectableChannel() {
+		return channelRef.get();
+	}
+
+	@Override
+	public final boolean hasBufferedReadData() {
+		return receiveBuffer.hasRemaining();
+	}
+
+	/**
+	 * Receives a datagram if one is queued.
+	 *
+	 * @return true if a datagram was received.
+	 */
+	private boolean receive(DatagramChannel channel) throws IOException {
+		receiveBuffer.clear();
+		final SocketAddress address = channel.receive(receiveBuffer);
+		receiveBuffer.flip();
+		if (address == null)
+			return false;
+
+		if (lastPeer == null || !lastPeer.address.equals(address)) {
+			if (lastPeer != null)
+				lastPeer.lastReceivedTime = System.currentTimeMillis();
+
+			lastPeer = peersByAddress.get(address);
+			if (lastPeer == null)
+				lastPeer = addPeer(address);
+		}
+		return true;
+	}
+
+	private int readPending(byte[] readData, int offset) {
+		final int count = Math.min(receiveBuffer.remaining(), readData.length - offset);
+		receiveBuffer.get(readData, offset, count);
+		return count;
+	}
+
+	private Peer addPeer(SocketAddress address) {
+		final long now = System.currentTimeMillis();
+		final List<Peer> livePeers = new ArrayList<>(peers.length + 1);
+		for (Peer peer : peers) {
+			if (now - peer.lastReceivedTime < PEER_TIMEOUT_MS) {
+				livePeers.add(peer);
+			} else {
+				peersByAddress.remove(peer.address);
+			}
+		}
+
+		final Peer peer = new Peer(address);
+		peer.lastReceivedTime = now;
+		livePeers.add(peer);
+		peersByAddress.put(address, peer);
+		peers = livePeers.toArray(new Peer[livePeers.size()]);
+		return peer;
+	}
+
+	/**
+	 * @return the addresses of the peers the outbound packets are sent to.
+	 */
+	public List<SocketAddress> getPeers() {
+		final Peer[] peers = this.peers;
+		final List<SocketAddress> addresses = new ArrayList<>(peers.length);
+		for (Peer peer : peers) {
+			addresses.add(peer.address);
+		}
+		return addresses;
 	}
 
 	@Override
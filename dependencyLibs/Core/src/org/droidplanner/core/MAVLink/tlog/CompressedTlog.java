@@ -0,0 +1,76 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Format of a compressed tlog file, with the {@link #FILE_EXTENSION}
+ * extension: a header, then the records of the tlog in blocks, each
+ * compressed on its own so it can be read without the ones before it. All
+ * big endian.
+ *
+ * The header is the {@link #MAGIC} number and the format {@link #VERSION}.
+ * Each block is a header:
+ * <ul>
+ * <li>the length of the compressed records,</li>
+ * <li>their length once decompressed,</li>
+ * <li>the count of records holding a whole frame,</li>
+ * <li>the time of the first and of the last of them, as in the
+ * {@link TlogIndex}, so the blocks are sorted by time,</li>
+ * </ul>
+ * followed by the records, back to back as in a tlog, compressed as a zlib
+ * stream.
+ *
+ * There's no footer: the blocks are found from their headers when the file
+ * is opened, and a truncated last block, the logging having been stopped
+ * midway, is ignored.
+ */
+public final class CompressedTlog {
+
+    public static final String FILE_EXTENSION = ".tlogz";
+
+    public static final int MAGIC = 0x544c475a; // "TLGZ"
+    public static final int VERSION = 1;
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int BLOCK_HEADER_LENGTH = 28;
+
+    private CompressedTlog() {
+    }
+
+    static void putHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * @return true if the given buffer starts with the header of a
+     * compressed tlog.
+     */
+    static boolean hasHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_LENGTH && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION;
+    }
+
+    static void putBlockHeader(ByteBuffer buffer, int compressedLength, int rawLength, int recordsCount,
+                               long firstTime, long lastTime) {
+        buffer.putInt(compressedLength).putInt(rawLength).putInt(recordsCount).putLong(firstTime).putLong(lastTime);
+    }
+
+    static int getCompressedLength(ByteBuffer buffer, int block) {
+        return buffer.getInt(block);
+    }
+
+    static int getRawLength(ByteBuffer buffer, int block) {
+        return buffer.getInt(block + 4);
+    }
+
+    static int getRecordsCount(ByteBuffer buffer, int block) {
+        return buffer.getInt(block + 8);
+    }
+
+    static long getFirstTime(ByteBuffer buffer, int block) {
+        return buffer.getLong(block + 12);
+    }
+
+    static long getLastTime(ByteBuffer buffer, int block) {
+        return buffer.getLong(block + 20);
+    }
+}
@@ -0,0 +1,427 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a {@link CompressedTlog} file through a memory mapping: seeks to a
+ * time by a binary search over the block headers, then decompresses the
+ * blocks holding the records asked for only.
+ *
+ * It can be exported to a plain tlog, identical to the one a
+ * {@link TlogWriter} would have logged. Its index is built by the
+ * {@link TlogReader} opening it.
+ *
+ * A reader can be shared by threads, each iterating with its own cursors.
+ * The mapping is released once the reader and its cursors are garbage
+ * collected.
+ */
+public class CompressedTlogReader {
+
+    private final String mPath;
+    private final ByteBuffer mFile;
+
+    /**
+     * Offsets of the blocks in the file.
+     */
+    private final int[] mBlocks;
+    private final long mRecordsCount;
+    private final long mRawLength;
+
+    private CompressedTlogReader(String path, ByteBuffer file, int[] blocks, int blocksCount) {
+        mPath = path;
+        mFile = file;
+        mBlocks = new int[blocksCount];
+        System.arraycopy(blocks, 0, mBlocks, 0, blocksCount);
+
+        long recordsCount = 0;
+        long rawLength = 0;
+        for (int block : mBlocks) {
+            recordsCount += CompressedTlog.getRecordsCount(file, block);
+            rawLength += CompressedTlog.getRawLength(file, block);
+        }
+        mRecordsCount = recordsCount;
+        mRawLength = rawLength;
+    }
+
+    /**
+     * Opens the given compressed tlog file, ignoring its last block if it's
+     * truncated.
+     *
+     * @throws IOException if the file can't be read, isn't a compressed tlog,
+     *                     or is too large to be mapped
+     */
+    public static CompressedTlogReader open(String path) throws IOException {
+        final ByteBuffer file;
+        final RandomAccessFile in = new RandomAccessFile(path, "r");
+        try {
+            final FileChannel channel = in.getChannel();
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too large to be mapped.");
+            }
+            // Stays valid once the channel is closed.
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } finally {
+            in.close();
+        }
+        if (!CompressedTlog.hasHeader(file)) {
+            throw new IOException(path + " isn't a compressed tlog.");
+        }
+
+        int[] blocks = new int[64];
+        int count = 0;
+        long offset = CompressedTlog.HEADER_LENGTH;
+        while (offset + CompressedTlog.BLOCK_HEADER_LENGTH <= file.limit()) {
+            final int compressedLength = CompressedTlog.getCompressedLength(file, (int) offset);
+            final long end = offset + CompressedTlog.BLOCK_HEADER_LENGTH + compressedLength;
+            if (compressedLength < 0 || end > file.limit()) {
+                break;
+            }
+
+            if (count == blocks.length) {
+                final int[] grown = new int[blocks.length * 2];
+                System.arraycopy(blocks, 0, grown, 0, count);
+                blocks = grown;
+            }
+            blocks[count++] = (int) offset;
+            offset = end;
+        }
+        return new CompressedTlogReader(path, file, blocks, count);
+    }
+
+    public String getPath() {
+        return mPath;
+    }
+
+    public int getBlocksCount() {
+        return mBlocks.length;
+    }
+
+    /**
+     * @return the count of records holding a whole frame.
+     */
+    public long getRecordsCount() {
+        return mRecordsCount;
+    }
+
+    /**
+     * @return the length of the records once decompressed, the length of the
+     * plain tlog.
+     */
+    public long getRawLength() {
+        return mRawLength;
+    }
+
+    /**
+     * @return the time of the first record of the given block, in µs since
+     * the epoch.
+     */
+    public long getFirstTime(int block) {
+        return CompressedTlog.getFirstTime(mFile, mBlocks[block]);
+    }
+
+    /**
+     * @return the time of the last record of the given block, or of a
+     * previous record if later.
+     */
+    public long getLastTime(int block) {
+        return CompressedTlog.getLastTime(mFile, mBlocks[block]);
+    }
+
+    /**
+     * @return the index of the first block holding records logged at or
+     * after the given time, or the count of blocks if there's none.
+     */
+    public int seek(long timeMicros) {
+        int low = 0;
+        int high = mBlocks.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (CompressedTlog.getLastTime(mFile, mBlocks[middle]) < timeMicros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the records of the given block, decompressed.
+     * @throws IOException if the block is corrupted
+     */
+    public ByteBuffer readBlock(int block) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            final byte[] raw = new byte[CompressedTlog.getRawLength(mFile, mBlocks[block])];
+            inflate(block, inflater, raw);
+            return ByteBuffer.wrap(raw);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Decompresses the records of the given block in the given buffer,
+     * large enough to hold them.
+     */
+    private void inflate(int block, Inflater inflater, byte[] raw) throws IOException {
+        final int offset = mBlocks[block];
+        final int compressedLength = CompressedTlog.getCompressedLength(mFile, offset);
+        final int rawLength = CompressedTlog.getRawLength(mFile, offset);
+
+        final byte[] compressed = new byte[compressedLength];
+        final ByteBuffer data = mFile.duplicate();
+        data.position(offset + CompressedTlog.BLOCK_HEADER_LENGTH);
+        data.get(compressed);
+
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == rawLength) {
+                    // Only the trailing checksum is left, or more records
+                    // than the header tells.
+                    if (inflater.inflate(new byte[1]) > 0 || !inflater.finished()) {
+                        throw new IOException("Block " + block + " of " + mPath + " is corrupted.");
+                    }
+                    break;
+                }
+
+                final int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Block " + block + " of " + mPath + " is truncated.");
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IOException("Block " + block + " of " + mPath + " is corrupted.");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Block " + block + " of " + mPath + " is corrupted.", e);
+        }
+    }
+
+    /**
+     * Writes the records to the given file, as a plain tlog.
+     *
+     * @throws IOException if a block is corrupted, or the file can't be
+     *                     written
+     */
+    public void exportTo(String tlogPath) throws IOException {
+        final Inflater inflater = new Inflater();
+        final FileChannel out = new FileOutputStream(tlogPath).getChannel();
+        try {
+            byte[] raw = new byte[0];
+            for (int block = 0; block < mBlocks.length; block++) {
+                final int rawLength = CompressedTlog.getRawLength(mFile, mBlocks[block]);
+                if (raw.length < rawLength) {
+                    raw = new byte[rawLength];
+                }
+                inflate(block, inflater, raw);
+
+                final ByteBuffer records = ByteBuffer.wrap(raw, 0, rawLength);
+                while (records.hasRemaining()) {
+                    out.write(records);
+                }
+            }
+        } finally {
+            inflater.end();
+            out.close();
+        }
+    }
+
+    /**
+     * @param fromMicros start of the time range, included
+     * @param toMicros   end of the time range, excluded
+     * @param msgIds     message ids of the records to iterate over, or none
+     *                   for all of them
+     * @return a cursor over the records of the given message ids logged in
+     * the given time range, positioned before the first of them.
+     */
+    public Cursor newCursor(long fromMicros, long toMicros, int... msgIds) {
+        return new Cursor(fromMicros, toMicros, msgIds);
+    }
+
+    /**
+     * Iterates over some records of the compressed tlog, decompressing a
+     * block once it gets to it. Its time range and message ids are checked
+     * the way a {@link TlogReader} does, so both iterate over the same
+     * records.
+     *
+     * It releases its inflater once done, or once closed.
+     */
+    public class Cursor {
+
+        private final long mFrom;
+        private final long mTo;
+        private final BitSet mMsgIds;
+
+        private Inflater mInflater;
+        private byte[] mRaw = new byte[0];
+        private ByteBuffer mRecords;
+
+        private int mBlock;
+        private int mRecordsEnd;
+        private int mOffset;
+        private int mFrameOffset;
+        private int mFrameLength;
+
+        /**
+         * Time of the current record, or of a previous record if later.
+         */
+        private long mSortedTime;
+
+        private Cursor(long from, long to, int[] msgIds) {
+            mFrom = from;
+            mTo = to;
+            if (msgIds.length == 0) {
+                mMsgIds = null;
+            } else {
+                mMsgIds = new BitSet();
+                for (int msgId : msgIds) {
+                    mMsgIds.set(msgId);
+                }
+            }
+            mBlock = seek(from) - 1;
+        }
+
+        /**
+         * Moves to the next record, decompressing its block if needed.
+         *
+         * @return false once there's none left.
+         * @throws IOException if its block is corrupted
+         */
+        public boolean next() throws IOException {
+            while (true) {
+                if (mRecords == null || !nextInBlock()) {
+                    if (!nextBlock()) {
+                        close();
+                        return false;
+                    }
+                    continue;
+                }
+
+                if (mSortedTime >= mTo) {
+                    mBlock = mBlocks.length;
+                    close();
+                    return false;
+                }
+                if (mSortedTime >= mFrom && (mMsgIds == null || mMsgIds.get(getMsgId()))) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Moves to the next record of the current block.
+         *
+         * @return false once there's none left, or it isn't a whole frame.
+         */
+        private boolean nextInBlock() {
+            if (mFrameLength > 0) {
+                mOffset = mFrameOffset + mFrameLength;
+            }
+            mFrameOffset = mOffset + TlogWriter.RECORD_HEADER_LENGTH;
+            mFrameLength = TlogIndex.getFrameLength(mRecords, mFrameOffset);
+            if (mFrameLength < 0 || mFrameOffset + mFrameLength > mRecordsEnd) {
+                mRecords = null;
+                return false;
+            }
+            mSortedTime = Math.max(mSortedTime, mRecords.getLong(mOffset));
+            return true;
+        }
+
+        /**
+         * Decompresses the next block.
+         *
+         * @return false once there's none left.
+         */
+        private boolean nextBlock() throws IOException {
+            if (++mBlock >= mBlocks.length) {
+                mBlock = mBlocks.length;
+                return false;
+            }
+            if (getFirstTime(mBlock) >= mTo) {
+                mBlock = mBlocks.length;
+                return false;
+            }
+
+            final int rawLength = CompressedTlog.getRawLength(mFile, mBlocks[mBlock]);
+            if (mRaw.length < rawLength) {
+                mRaw = new byte[rawLength];
+            }
+            if (mInflater == null) {
+                mInflater = new Inflater();
+            }
+            inflate(mBlock, mInflater, mRaw);
+
+            mRecords = ByteBuffer.wrap(mRaw);
+            mRecordsEnd = rawLength;
+            mOffset = 0;
+            mFrameLength = 0;
+            mSortedTime = getFirstTime(mBlock);
+            return true;
+        }
+
+        /**
+         * Releases the inflater, the cursor having no records left.
+         */
+        public void close() {
+            if (mInflater != null) {
+                mInflater.end();
+                mInflater = null;
+            }
+            mRecords = null;
+            mBlock = mBlocks.length;
+        }
+
+        /**
+         * @return the index of the block of the current record.
+         */
+        public int getBlock() {
+            return mBlock;
+        }
+
+        /**
+         * @return the time the current record was logged at, in µs since the
+         * epoch.
+         */
+        public long getTime() {
+            return mRecords.getLong(mOffset);
+        }
+
+        public int getMsgId() {
+            return TlogIndex.getMsgId(mRecords, mFrameOffset);
+        }
+
+        /**
+         * @return the frame of the current record, read only, valid until the
+         * cursor moves to the next block.
+         */
+        public ByteBuffer getFrame() {
+            final ByteBuffer frame = mRecords.asReadOnlyBuffer();
+            frame.limit(mFrameOffset + mFrameLength).position(mFrameOffset);
+            return frame.slice();
+        }
+
+        /**
+         * Copies the frame of the current record, as needed by the parser.
+         *
+         * @return the length of the frame.
+         */
+        public int readFrame(byte[] buffer) {
+            System.arraycopy(mRaw, mFrameOffset, buffer, 0, mFrameLength);
+            return mFrameLength;
+        }
+    }
+}
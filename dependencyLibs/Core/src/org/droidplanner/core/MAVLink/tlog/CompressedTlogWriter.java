@@ -0,0 +1,142 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Writes logged frames to a {@link CompressedTlog} file, for a
+ * {@link CompressedTlogReader}: each commit of the buffered records is a
+ * block, compressed on its own. The blocks are small, so a record can be read
+ * without decompressing much more than it, and a flush interval shorter than
+ * the time the buffer takes to fill up makes them smaller still.
+ *
+ * No sidecar index is written, the block headers taking its place.
+ */
+public class CompressedTlogWriter extends TlogWriter {
+
+    /**
+     * Size of the blocks, before compression.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final int mLevel;
+    private final ByteBuffer mBlockHeader = ByteBuffer.allocate(CompressedTlog.BLOCK_HEADER_LENGTH);
+
+    private FileChannel mChannel;
+    private Deflater mDeflater;
+    private byte[] mRaw;
+    private byte[] mCompressed;
+
+    /**
+     * Time of the last record of the last block.
+     */
+    private long mLastTime = Long.MIN_VALUE;
+
+    private long mRawLength;
+    private long mCompressedLength;
+
+    public CompressedTlogWriter(String path, TlogDurability durability) {
+        this(path, durability, DEFAULT_BLOCK_SIZE, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * @param blockSize size of the blocks, before compression
+     * @param level     compression level, from {@link Deflater#NO_COMPRESSION}
+     *                  to {@link Deflater#BEST_COMPRESSION}, or
+     *                  {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public CompressedTlogWriter(String path, TlogDurability durability, int blockSize, int level) {
+        super(path, durability, blockSize);
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        mLevel = level;
+    }
+
+    /**
+     * @return the length of the records committed, before compression.
+     */
+    public synchronized long getRawLength() {
+        return mRawLength;
+    }
+
+    /**
+     * @return the length of the records committed, once compressed, block
+     * headers included.
+     */
+    public synchronized long getCompressedLength() {
+        return mCompressedLength;
+    }
+
+    @Override
+    protected void openFiles(String path) throws IOException {
+        final FileChannel channel = new FileOutputStream(path).getChannel();
+        try {
+            final ByteBuffer header = ByteBuffer.allocate(CompressedTlog.HEADER_LENGTH);
+            CompressedTlog.putHeader(header);
+            header.flip();
+            write(channel, header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        mChannel = channel;
+        mDeflater = new Deflater(mLevel);
+    }
+
+    @Override
+    protected void writeRecords(ByteBuffer records, ByteBuffer entries) throws IOException {
+        final int rawLength = records.remaining();
+        if (mRaw == null || mRaw.length < rawLength) {
+            mRaw = new byte[rawLength];
+            // Records barely compressed are a bit longer once they are.
+            mCompressed = new byte[rawLength + rawLength / 1000 + 64];
+        }
+        // The deflater only takes arrays.
+        records.get(mRaw, 0, rawLength);
+
+        mDeflater.reset();
+        mDeflater.setInput(mRaw, 0, rawLength);
+        mDeflater.finish();
+        int compressedLength = 0;
+        while (!mDeflater.finished()) {
+            if (compressedLength == mCompressed.length) {
+                mCompressed = Arrays.copyOf(mCompressed, mCompressed.length * 2);
+            }
+            compressedLength += mDeflater.deflate(mCompressed, compressedLength,
+                    mCompressed.length - compressedLength);
+        }
+
+        final int recordsCount = entries.remaining() / TlogIndex.ENTRY_LENGTH;
+        final long firstTime = recordsCount == 0 ? mLastTime : TlogIndex.getEntryTime(entries, 0);
+        if (recordsCount > 0) {
+            mLastTime = TlogIndex.getEntryTime(entries, recordsCount - 1);
+        }
+
+        mBlockHeader.clear();
+        CompressedTlog.putBlockHeader(mBlockHeader, compressedLength, rawLength, recordsCount, firstTime,
+                mLastTime);
+        mBlockHeader.flip();
+        write(mChannel, mBlockHeader);
+        write(mChannel, ByteBuffer.wrap(mCompressed, 0, compressedLength));
+
+        mRawLength += rawLength;
+        mCompressedLength += CompressedTlog.BLOCK_HEADER_LENGTH + compressedLength;
+    }
+
+    @Override
+    protected void closeFiles(boolean sync) throws IOException {
+        try {
+            if (sync) {
+                mChannel.force(false);
+            }
+        } finally {
+            mDeflater.end();
+            mChannel.close();
+        }
+    }
+}
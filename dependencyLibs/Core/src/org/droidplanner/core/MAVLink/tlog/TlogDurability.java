@@ -0,0 +1,54 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How long logged frames may stay in memory before they're written to the
+ * tlog file, and whether the file is forced to the storage device once the
+ * logging stops. Frames written but not forced survive a crash of the app,
+ * though not a crash of the device.
+ */
+public final class TlogDurability {
+
+    /**
+     * Writes the frames at least every second, and forces them to the
+     * storage device on disconnect.
+     */
+    public static final TlogDurability DEFAULT = new TlogDurability(1, TimeUnit.SECONDS, true);
+
+    private final long mFlushInterval;
+    private final boolean mSyncOnClose;
+
+    /**
+     * @param flushInterval longest time a frame stays in memory, or 0 to
+     *                      write the frames as soon as they're logged
+     * @param unit          unit of the flush interval
+     * @param syncOnClose   true to force the file to the storage device once
+     *                      the logging stops
+     */
+    public TlogDurability(long flushInterval, TimeUnit unit, boolean syncOnClose) {
+        if (flushInterval < 0) {
+            throw new IllegalArgumentException("Invalid tlog flush interval: " + flushInterval);
+        }
+
+        mFlushInterval = unit.toNanos(flushInterval);
+        mSyncOnClose = syncOnClose;
+    }
+
+    /**
+     * @return the longest time a frame stays in memory, in ns.
+     */
+    public long getFlushIntervalNanos() {
+        return mFlushInterval;
+    }
+
+    public boolean isSyncOnClose() {
+        return mSyncOnClose;
+    }
+
+    @Override
+    public String toString() {
+        return "TlogDurability{flushInterval=" + TimeUnit.NANOSECONDS.toMillis(mFlushInterval) + "ms, syncOnClose="
+                + mSyncOnClose + "}";
+    }
+}
@@ -0,0 +1,119 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import com.MAVLink.MAVLinkPacket;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Format of the sidecar index of a tlog file, written next to it with the
+ * {@link #INDEX_FILE_EXTENSION} extension: a header, then an entry per
+ * record of the tlog, in order, all big endian.
+ *
+ * The header is the {@link #MAGIC} number and the format {@link #VERSION}.
+ * Each entry is:
+ * <ul>
+ * <li>the time of the record, in µs since the epoch, or the time of the
+ * previous entry if later, so the entries are sorted by time even when the
+ * clock stepped back, or a sent frame was logged after a later received one,
+ * </li>
+ * <li>the offset of the record in the tlog, on 40 bits, then the message id
+ * of its frame, on 24 bits.</li>
+ * </ul>
+ *
+ * The index can be behind the tlog, as the records are committed before
+ * their entries: the reader indexes the missing records itself.
+ */
+public final class TlogIndex {
+
+    public static final String INDEX_FILE_EXTENSION = ".idx";
+
+    public static final int MAGIC = 0x544c4958; // "TLIX"
+    public static final int VERSION = 1;
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int ENTRY_LENGTH = 16;
+
+    private static final int MSG_ID_BITS = 24;
+    private static final long MSG_ID_MASK = (1L << MSG_ID_BITS) - 1;
+
+    /**
+     * Longest tlog which can be indexed: 1TB.
+     */
+    public static final long MAX_OFFSET = (1L << (Long.SIZE - MSG_ID_BITS)) - 1;
+
+    private TlogIndex() {
+    }
+
+    /**
+     * @return the path of the index of the given tlog file.
+     */
+    public static String getIndexPath(String tlogPath) {
+        return tlogPath + INDEX_FILE_EXTENSION;
+    }
+
+    static void putHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putInt(VERSION);
+    }
+
+    /**
+     * @return true if the given buffer starts with the header of an index.
+     */
+    static boolean hasHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_LENGTH && buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION;
+    }
+
+    static void putEntry(ByteBuffer buffer, long time, long offset, int msgId) {
+        buffer.putLong(time).putLong(offset << MSG_ID_BITS | msgId);
+    }
+
+    static long getEntryTime(ByteBuffer entries, int entry) {
+        return entries.getLong(entry * ENTRY_LENGTH);
+    }
+
+    static long getEntryOffset(ByteBuffer entries, int entry) {
+        return entries.getLong(entry * ENTRY_LENGTH + 8) >>> MSG_ID_BITS;
+    }
+
+    static int getEntryMsgId(ByteBuffer entries, int entry) {
+        return (int) (entries.getLong(entry * ENTRY_LENGTH + 8) & MSG_ID_MASK);
+    }
+
+    /**
+     * @param buffer buffer holding the frame
+     * @param offset offset of the frame in the buffer
+     * @return the length of the frame, as given by its header, or -1 if
+     * there's no frame at the given offset, or its header is truncated.
+     */
+    public static int getFrameLength(ByteBuffer buffer, int offset) {
+        if (offset + 2 > buffer.limit()) {
+            return -1;
+        }
+
+        final int stx = buffer.get(offset) & 0xFF;
+        final int payloadLength = buffer.get(offset + 1) & 0xFF;
+        if (stx == MAVLinkPacket.MAVLINK_STX) {
+            return MAVLinkPacket.MAVLINK1_HEADER_LEN + payloadLength + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+        }
+        if (stx == MAVLinkPacket.MAVLINK_STX_MAVLINK2 && offset + 3 <= buffer.limit()) {
+            int length = MAVLinkPacket.MAVLINK2_HEADER_LEN + payloadLength + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+            if ((buffer.get(offset + 2) & MAVLinkPacket.MAVLINK_IFLAG_SIGNED) != 0) {
+                length += MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN;
+            }
+            return length;
+        }
+        return -1;
+    }
+
+    /**
+     * @param buffer buffer holding the whole header of the frame
+     * @param offset offset of the frame in the buffer
+     * @return the message id of the frame.
+     */
+    public static int getMsgId(ByteBuffer buffer, int offset) {
+        if ((buffer.get(offset) & 0xFF) == MAVLinkPacket.MAVLINK_STX) {
+            return buffer.get(offset + 5) & 0xFF;
+        }
+        return (buffer.get(offset + 7) & 0xFF) | (buffer.get(offset + 8) & 0xFF) << 8
+                | (buffer.get(offset + 9) & 0xFF) << 16;
+    }
+}
@@ -0,0 +1,441 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads a tlog file through a memory mapping, along with its sidecar
+ * {@link TlogIndex}: seeks to a time by a binary search over the index,
+ * iterates over the records of some message types without reading the
+ * others, and counts the records of each type from the index alone.
+ *
+ * The index written by the {@link TlogWriter} is used as is. The records it
+ * misses, or all of them if there's no index, are indexed when the reader is
+ * opened, and the index file updated if possible. The index of a tlog which
+ * may still be logged to isn't updated though, as its writer is appending to
+ * it: the missing entries are only kept in memory then. The records following
+ * a corrupted or truncated one aren't indexed, so they can't be read.
+ *
+ * A reader can be shared by threads, each iterating with its own cursors.
+ * The mappings are released once the reader and its cursors are garbage
+ * collected.
+ */
+public class TlogReader {
+
+    private static final int COMMON_MSG_IDS = 1 << 16;
+
+    /**
+     * A tlog, or its index, modified since may still be logged to.
+     */
+    private static final long LIVE_TLOG_MILLIS = 60 * 1000;
+
+    private final String mPath;
+    private final ByteBuffer mRecords;
+    private final ByteBuffer mEntries;
+    private final int mRecordsCount;
+
+    private Map<Integer, Integer> mCounts;
+
+    private TlogReader(String path, ByteBuffer records, ByteBuffer entries) {
+        mPath = path;
+        mRecords = records;
+        mEntries = entries;
+        mRecordsCount = entries.limit() / TlogIndex.ENTRY_LENGTH;
+    }
+
+    /**
+     * Opens the given tlog file, indexing the records its index misses.
+     *
+     * @throws IOException if the file can't be read, or is too large to be
+     *                     mapped
+     */
+    public static TlogReader open(String path) throws IOException {
+        final ByteBuffer records = map(new File(path));
+        if (records == null) {
+            throw new IOException(path + " is too large to be mapped.");
+        }
+
+        return new TlogReader(path, records, loadIndex(new File(path), records));
+    }
+
+    /**
+     * @return the content of the given file, mapped read only, or null if
+     * it's larger than 2GB.
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        final RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = in.getChannel();
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                return null;
+            }
+            // Stays valid once the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @return the entries of the index of the given records, once completed
+     * with the ones it misses.
+     */
+    private static ByteBuffer loadIndex(File file, ByteBuffer records) throws IOException {
+        final File indexFile = new File(TlogIndex.getIndexPath(file.getPath()));
+        ByteBuffer entries = null;
+        int count = 0;
+        boolean isLive = isRecentlyModified(file);
+        if (indexFile.isFile()) {
+            final ByteBuffer index = map(indexFile);
+            if (index != null && TlogIndex.hasHeader(index)) {
+                index.position(TlogIndex.HEADER_LENGTH);
+                entries = index.slice();
+                count = entries.limit() / TlogIndex.ENTRY_LENGTH;
+                // Or with an entry being written.
+                isLive |= isRecentlyModified(indexFile) || entries.limit() % TlogIndex.ENTRY_LENGTH != 0;
+
+                // Written for another tlog, which was overwritten since.
+                if (count > 0 && (getRecordEnd(records, entries, 0) < 0
+                        || getRecordEnd(records, entries, count - 1) < 0)) {
+                    count = 0;
+                }
+            }
+        }
+
+        final ByteBuffer missing = indexRecords(records, entries, count);
+        if (missing.position() == 0) {
+            if (entries == null) {
+                return missing;
+            }
+            entries.limit(count * TlogIndex.ENTRY_LENGTH);
+            return entries;
+        }
+
+        missing.flip();
+        if (!isLive) {
+            try {
+                return appendEntries(indexFile, count, missing.duplicate());
+            } catch (IOException e) {
+                // Kept in memory only.
+            }
+        }
+
+        final ByteBuffer allEntries = ByteBuffer.allocate(count * TlogIndex.ENTRY_LENGTH + missing.limit());
+        if (count > 0) {
+            entries.limit(count * TlogIndex.ENTRY_LENGTH);
+            allEntries.put(entries);
+        }
+        allEntries.put(missing);
+        allEntries.flip();
+        return allEntries;
+    }
+
+    /**
+     * @return true if the given file was modified recently enough to be
+     * still logged to.
+     */
+    private static boolean isRecentlyModified(File file) {
+        return System.currentTimeMillis() - file.lastModified() < LIVE_TLOG_MILLIS;
+    }
+
+    /**
+     * @return the offset following the given indexed record, or -1 if there
+     * is no whole frame at the offset it has in the index.
+     */
+    private static long getRecordEnd(ByteBuffer records, ByteBuffer entries, int entry) {
+        final long offset = TlogIndex.getEntryOffset(entries, entry);
+        if (offset + TlogWriter.RECORD_HEADER_LENGTH > records.limit()) {
+            return -1;
+        }
+
+        final int frameOffset = (int) offset + TlogWriter.RECORD_HEADER_LENGTH;
+        final int frameLength = TlogIndex.getFrameLength(records, frameOffset);
+        if (frameLength < 0 || frameOffset + frameLength > records.limit()
+                || TlogIndex.getMsgId(records, frameOffset) != TlogIndex.getEntryMsgId(entries, entry)) {
+            return -1;
+        }
+        return frameOffset + frameLength;
+    }
+
+    /**
+     * @return the entries of the records following the first given entries,
+     * up to the first corrupted or truncated record.
+     */
+    private static ByteBuffer indexRecords(ByteBuffer records, ByteBuffer entries, int count) {
+        long time = Long.MIN_VALUE;
+        int offset = 0;
+        if (count > 0) {
+            time = TlogIndex.getEntryTime(entries, count - 1);
+            offset = (int) getRecordEnd(records, entries, count - 1);
+        }
+
+        ByteBuffer missing = ByteBuffer.allocate(0);
+        while (offset + TlogWriter.RECORD_HEADER_LENGTH < records.limit()) {
+            final int frameOffset = offset + TlogWriter.RECORD_HEADER_LENGTH;
+            final int frameLength = TlogIndex.getFrameLength(records, frameOffset);
+            if (frameLength < 0 || frameOffset + frameLength > records.limit()) {
+                break;
+            }
+
+            if (missing.remaining() < TlogIndex.ENTRY_LENGTH) {
+                final ByteBuffer grown = ByteBuffer.allocate(Math.max(missing.capacity() * 2,
+                        64 * TlogIndex.ENTRY_LENGTH));
+                missing.flip();
+                missing = grown.put(missing);
+            }
+            time = Math.max(time, records.getLong(offset));
+            TlogIndex.putEntry(missing, time, offset, TlogIndex.getMsgId(records, frameOffset));
+            offset = frameOffset + frameLength;
+        }
+        return missing;
+    }
+
+    /**
+     * Appends the given entries to the index file, once its first entries.
+     *
+     * @return the entries of the updated index file.
+     */
+    private static ByteBuffer appendEntries(File indexFile, int count, ByteBuffer missing) throws IOException {
+        final RandomAccessFile out = new RandomAccessFile(indexFile, "rw");
+        try {
+            final FileChannel channel = out.getChannel();
+            if (count == 0) {
+                final ByteBuffer header = ByteBuffer.allocate(TlogIndex.HEADER_LENGTH);
+                TlogIndex.putHeader(header);
+                header.flip();
+                channel.truncate(0);
+                write(channel, header, 0);
+            }
+
+            final long end = TlogIndex.HEADER_LENGTH + (long) count * TlogIndex.ENTRY_LENGTH;
+            channel.truncate(end);
+            write(channel, missing, end);
+        } finally {
+            out.close();
+        }
+
+        final ByteBuffer index = map(indexFile);
+        if (index == null) {
+            throw new IOException(indexFile + " is too large to be mapped.");
+        }
+        index.position(TlogIndex.HEADER_LENGTH);
+        return index.slice();
+    }
+
+    private static void write(FileChannel channel, ByteBuffer data, long position) throws IOException {
+        while (data.hasRemaining()) {
+            position += channel.write(data, position);
+        }
+    }
+
+    public String getPath() {
+        return mPath;
+    }
+
+    /**
+     * @return the count of records which can be read.
+     */
+    public int getRecordsCount() {
+        return mRecordsCount;
+    }
+
+    /**
+     * @return the index of the first record logged at or after the given
+     * time, or the count of records if there's none.
+     */
+    public int seek(long timeMicros) {
+        int low = 0;
+        int high = mRecordsCount;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (TlogIndex.getEntryTime(mEntries, middle) < timeMicros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the time the given record was logged at, in µs since the
+     * epoch.
+     */
+    public long getTime(int record) {
+        return mRecords.getLong((int) TlogIndex.getEntryOffset(mEntries, checkIndex(record)));
+    }
+
+    /**
+     * @return the message id of the frame of the given record.
+     */
+    public int getMsgId(int record) {
+        return TlogIndex.getEntryMsgId(mEntries, checkIndex(record));
+    }
+
+    /**
+     * @return the frame of the given record, read only, without copying it.
+     */
+    public ByteBuffer getFrame(int record) {
+        final int frameOffset = getFrameOffset(record);
+        final ByteBuffer frame = mRecords.duplicate();
+        frame.limit(frameOffset + TlogIndex.getFrameLength(mRecords, frameOffset)).position(frameOffset);
+        return frame.slice();
+    }
+
+    /**
+     * Copies the frame of the given record, as needed by the parser.
+     *
+     * @return the length of the frame.
+     */
+    public int readFrame(int record, byte[] buffer) {
+        final int frameOffset = getFrameOffset(record);
+        final int frameLength = TlogIndex.getFrameLength(mRecords, frameOffset);
+        final ByteBuffer frame = mRecords.duplicate();
+        frame.position(frameOffset);
+        frame.get(buffer, 0, frameLength);
+        return frameLength;
+    }
+
+    /**
+     * @return the count of records of each message id.
+     */
+    public synchronized Map<Integer, Integer> getCounts() {
+        if (mCounts == null) {
+            // Counted in an array for the message ids of the common dialects.
+            final int[] commonCounts = new int[COMMON_MSG_IDS];
+            final Map<Integer, Integer> counts = new HashMap<>();
+            for (int i = 0; i < mRecordsCount; i++) {
+                final int msgId = TlogIndex.getEntryMsgId(mEntries, i);
+                if (msgId < COMMON_MSG_IDS) {
+                    commonCounts[msgId]++;
+                } else {
+                    final Integer count = counts.get(msgId);
+                    counts.put(msgId, count == null ? 1 : count + 1);
+                }
+            }
+            for (int msgId = 0; msgId < COMMON_MSG_IDS; msgId++) {
+                if (commonCounts[msgId] > 0) {
+                    counts.put(msgId, commonCounts[msgId]);
+                }
+            }
+            mCounts = Collections.unmodifiableMap(counts);
+        }
+        return mCounts;
+    }
+
+    /**
+     * @return the count of records of the given message id.
+     */
+    public int count(int msgId) {
+        final Integer count = getCounts().get(msgId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return the count of records of the given message id logged in the
+     * given time range.
+     */
+    public int count(int msgId, long fromMicros, long toMicros) {
+        final int end = seek(toMicros);
+        int count = 0;
+        for (int i = seek(fromMicros); i < end; i++) {
+            if (TlogIndex.getEntryMsgId(mEntries, i) == msgId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param fromMicros start of the time range, included
+     * @param toMicros   end of the time range, excluded
+     * @param msgIds     message ids of the records to iterate over, or none
+     *                   for all of them
+     * @return a cursor over the records of the given message ids logged in
+     * the given time range, positioned before the first of them.
+     */
+    public Cursor newCursor(long fromMicros, long toMicros, int... msgIds) {
+        return new Cursor(seek(fromMicros), seek(toMicros), msgIds);
+    }
+
+    private int checkIndex(int record) {
+        if (record < 0 || record >= mRecordsCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + mRecordsCount);
+        }
+        return record;
+    }
+
+    private int getFrameOffset(int record) {
+        return (int) TlogIndex.getEntryOffset(mEntries, checkIndex(record)) + TlogWriter.RECORD_HEADER_LENGTH;
+    }
+
+    /**
+     * Iterates over some records of the tlog, looking up their message ids
+     * in the index only.
+     */
+    public class Cursor {
+
+        private final int mEnd;
+        private final BitSet mMsgIds;
+        private int mRecord;
+
+        private Cursor(int start, int end, int[] msgIds) {
+            mRecord = start - 1;
+            mEnd = end;
+            if (msgIds.length == 0) {
+                mMsgIds = null;
+            } else {
+                mMsgIds = new BitSet();
+                for (int msgId : msgIds) {
+                    mMsgIds.set(msgId);
+                }
+            }
+        }
+
+        /**
+         * Moves to the next record.
+         *
+         * @return false once there's none left.
+         */
+        public boolean next() {
+            while (++mRecord < mEnd) {
+                if (mMsgIds == null || mMsgIds.get(TlogIndex.getEntryMsgId(mEntries, mRecord))) {
+                    return true;
+                }
+            }
+            mRecord = mEnd;
+            return false;
+        }
+
+        /**
+         * @return the index of the current record in the tlog.
+         */
+        public int getRecord() {
+            return mRecord;
+        }
+
+        public long getTime() {
+            return TlogReader.this.getTime(mRecord);
+        }
+
+        public int getMsgId() {
+            return TlogReader.this.getMsgId(mRecord);
+        }
+
+        public ByteBuffer getFrame() {
+            return TlogReader.this.getFrame(mRecord);
+        }
+
+        public int readFrame(byte[] buffer) {
+            return TlogReader.this.readFrame(mRecord, buffer);
+        }
+    }
+}
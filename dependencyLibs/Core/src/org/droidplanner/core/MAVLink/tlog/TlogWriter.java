@@ -0,0 +1,334 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Writes logged frames to a tlog file: each frame as it was received or
+ * sent, preceded by the time it was received or sent at, in µs since the
+ * epoch, big endian. The records are indexed meanwhile in the sidecar
+ * {@link TlogIndex}, so it's ready for a {@link TlogReader} once the logging
+ * stops.
+ *
+ * The records are gathered in a large buffer, and committed to the file in a
+ * single write once the buffer is full, or once the oldest of them has waited
+ * for the flush interval of the durability policy. Their index entries are
+ * written right after. The files are created on the first commit, and forced
+ * to the storage device on close if the policy asks for it.
+ *
+ * Records are appended by the logging thread, while the writer may be closed
+ * from any thread. Records appended once it's closed are dropped.
+ */
+public class TlogWriter {
+
+    /**
+     * Length of the timestamp preceding each frame.
+     */
+    public static final int RECORD_HEADER_LENGTH = Long.SIZE / Byte.SIZE;
+
+    /**
+     * Size of the buffer the records are gathered in.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * @param timeMicros time the frame was received or sent at, in µs since
+     *                   the epoch
+     * @param frame      buffer holding the frame
+     * @param length     length of the frame
+     * @return the record of the frame, as written to the file.
+     */
+    public static byte[] newRecord(long timeMicros, byte[] frame, int length) {
+        final byte[] record = new byte[RECORD_HEADER_LENGTH + length];
+        for (int i = RECORD_HEADER_LENGTH - 1; i >= 0; i--) {
+            record[i] = (byte) timeMicros;
+            timeMicros >>>= 8;
+        }
+        System.arraycopy(frame, 0, record, RECORD_HEADER_LENGTH, length);
+        return record;
+    }
+
+    private final String mPath;
+    private final TlogDurability mDurability;
+    private final ByteBuffer mBuffer;
+    private final ByteBuffer mIndexBuffer;
+
+    private FileChannel mChannel;
+    private FileChannel mIndexChannel;
+    private boolean mIsOpen;
+    private boolean mIsClosed;
+
+    /**
+     * Offset in the file of the next record, and time of the last index
+     * entry.
+     */
+    private long mOffset;
+    private long mLastIndexTime = Long.MIN_VALUE;
+
+    /**
+     * Cleared if the offset of the next record is unknown, once a commit
+     * failed.
+     */
+    private boolean mIsIndexing = true;
+
+    /**
+     * Time the oldest buffered record was appended at, in ns.
+     */
+    private long mOldestRecordTime;
+
+    private long mRecordsCount;
+    private long mCommitsCount;
+    private long mMaxCommitNanos;
+
+    /**
+     * @return a writer of the given file: a {@link CompressedTlogWriter} if
+     * its name has the {@link CompressedTlog#FILE_EXTENSION} extension, or a
+     * writer of a plain tlog otherwise.
+     */
+    public static TlogWriter create(String path, TlogDurability durability) {
+        if (path.endsWith(CompressedTlog.FILE_EXTENSION)) {
+            return new CompressedTlogWriter(path, durability);
+        }
+        return new TlogWriter(path, durability);
+    }
+
+    public TlogWriter(String path, TlogDurability durability) {
+        this(path, durability, DEFAULT_BUFFER_SIZE);
+    }
+
+    public TlogWriter(String path, TlogDurability durability, int bufferSize) {
+        mPath = path;
+        mDurability = durability;
+        // Direct, so the channel doesn't copy it before each write.
+        mBuffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.BIG_ENDIAN);
+        // Records holding a frame are at least as long as their entry, so the
+        // index buffer doesn't fill up first.
+        mIndexBuffer = ByteBuffer.allocateDirect(Math.max(bufferSize, TlogIndex.ENTRY_LENGTH))
+                .order(ByteOrder.BIG_ENDIAN);
+    }
+
+    public String getPath() {
+        return mPath;
+    }
+
+    public TlogDurability getDurability() {
+        return mDurability;
+    }
+
+    /**
+     * Appends the given records, committing the buffered ones first whenever
+     * the buffer is full.
+     *
+     * @param records records, as built by {@link #newRecord}
+     * @param count   count of records to append
+     * @param now     current time, in ns
+     */
+    public synchronized void append(byte[][] records, int count, long now) throws IOException {
+        if (mIsClosed) {
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            final byte[] record = records[i];
+            if (record.length > mBuffer.remaining() || mIndexBuffer.remaining() < TlogIndex.ENTRY_LENGTH) {
+                commit();
+            }
+
+            if (!hasBufferedData()) {
+                mOldestRecordTime = now;
+            }
+            final ByteBuffer wrapped = ByteBuffer.wrap(record);
+            index(wrapped);
+            if (record.length > mBuffer.remaining()) {
+                // Larger than the whole buffer, so committed alone.
+                commit(wrapped);
+            } else {
+                mBuffer.put(record);
+            }
+            mOffset += record.length;
+            mRecordsCount++;
+        }
+    }
+
+    /**
+     * Commits the buffered records if the oldest of them has waited for the
+     * flush interval.
+     *
+     * @param now current time, in ns
+     */
+    public synchronized void commitIfDue(long now) throws IOException {
+        if (hasBufferedData() && now - mOldestRecordTime >= mDurability.getFlushIntervalNanos()) {
+            commit();
+        }
+    }
+
+    /**
+     * @return the time the buffered records are due to be committed at, in
+     * ns, or {@link Long#MAX_VALUE} if there's none.
+     */
+    public synchronized long getCommitDeadline() {
+        return !hasBufferedData() ? Long.MAX_VALUE : mOldestRecordTime + mDurability.getFlushIntervalNanos();
+    }
+
+    /**
+     * Commits the buffered records, then forces them to the storage device
+     * if the durability policy asks for it, and closes the file.
+     */
+    public synchronized void close() throws IOException {
+        if (mIsClosed) {
+            return;
+        }
+
+        mIsClosed = true;
+        try {
+            commit();
+        } finally {
+            if (mIsOpen) {
+                closeFiles(mDurability.isSyncOnClose());
+            }
+        }
+    }
+
+    /**
+     * @return the count of records appended.
+     */
+    public synchronized long getRecordsCount() {
+        return mRecordsCount;
+    }
+
+    /**
+     * @return the count of commits to the file.
+     */
+    public synchronized long getCommitsCount() {
+        return mCommitsCount;
+    }
+
+    /**
+     * @return the longest time a commit to the file took, in ns.
+     */
+    public synchronized long getMaxCommitNanos() {
+        return mMaxCommitNanos;
+    }
+
+    private boolean hasBufferedData() {
+        return mBuffer.position() > 0 || mIndexBuffer.position() > 0;
+    }
+
+    /**
+     * Appends the index entry of the given record, unless it doesn't hold a
+     * whole frame.
+     */
+    private void index(ByteBuffer record) {
+        final int frameLength = TlogIndex.getFrameLength(record, RECORD_HEADER_LENGTH);
+        if (!mIsIndexing || frameLength < 0 || RECORD_HEADER_LENGTH + frameLength > record.limit()
+                || mOffset > TlogIndex.MAX_OFFSET) {
+            return;
+        }
+
+        mLastIndexTime = Math.max(mLastIndexTime, record.getLong(0));
+        TlogIndex.putEntry(mIndexBuffer, mLastIndexTime, mOffset, TlogIndex.getMsgId(record, RECORD_HEADER_LENGTH));
+    }
+
+    private void commit() throws IOException {
+        if (hasBufferedData()) {
+            mBuffer.flip();
+            commit(mBuffer);
+        }
+    }
+
+    private void commit(ByteBuffer records) throws IOException {
+        final long start = System.nanoTime();
+        mIndexBuffer.flip();
+        try {
+            if (!mIsOpen) {
+                openFiles(mPath);
+                mIsOpen = true;
+            }
+            writeRecords(records, mIndexBuffer);
+        } catch (IOException e) {
+            rollBackOffset();
+            throw e;
+        } finally {
+            // The records are dropped if they couldn't be written, so the
+            // next ones can be.
+            mBuffer.clear();
+            mIndexBuffer.clear();
+        }
+
+        mCommitsCount++;
+        mMaxCommitNanos = Math.max(mMaxCommitNanos, System.nanoTime() - start);
+    }
+
+    /**
+     * Moves the offset of the next record back to the end of the file, once
+     * the records of a commit were dropped, so the next index entries don't
+     * point past the records. Stops indexing if the end isn't known.
+     */
+    private void rollBackOffset() {
+        try {
+            mOffset = mChannel == null ? 0 : mChannel.position();
+        } catch (IOException e) {
+            mIsIndexing = false;
+        }
+    }
+
+    /**
+     * Creates the files the records are written to, on the first commit.
+     */
+    protected void openFiles(String path) throws IOException {
+        final FileChannel channel = new FileOutputStream(path).getChannel();
+        try {
+            mIndexChannel = new FileOutputStream(TlogIndex.getIndexPath(path)).getChannel();
+            final ByteBuffer header = ByteBuffer.allocate(TlogIndex.HEADER_LENGTH);
+            TlogIndex.putHeader(header);
+            header.flip();
+            write(mIndexChannel, header);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        mChannel = channel;
+    }
+
+    /**
+     * Writes committed records.
+     *
+     * @param records records, back to back
+     * @param entries index entries of the records holding a whole frame
+     */
+    protected void writeRecords(ByteBuffer records, ByteBuffer entries) throws IOException {
+        write(mChannel, records);
+        // Once the records, so the index never points past the end of the
+        // file.
+        write(mIndexChannel, entries);
+    }
+
+    /**
+     * Closes the files once the last records are committed.
+     *
+     * @param sync true to force them to the storage device first
+     */
+    protected void closeFiles(boolean sync) throws IOException {
+        try {
+            if (sync) {
+                mChannel.force(false);
+                mIndexChannel.force(false);
+            }
+        } finally {
+            try {
+                mChannel.close();
+            } finally {
+                mIndexChannel.close();
+            }
+        }
+    }
+
+    protected static void write(FileChannel channel, ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+}
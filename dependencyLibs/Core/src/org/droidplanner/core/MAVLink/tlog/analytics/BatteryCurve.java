@@ -0,0 +1,218 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_sys_status;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Voltage and remaining capacity of the battery over the flight, along with
+ * the lowest voltage, the highest current, and the charge consumed.
+ *
+ * The curve is sampled every second, until it holds its maximum count of
+ * points: every other point is dropped then, and the sampling period is
+ * doubled, so the curve of a flight of any length fits.
+ */
+public class BatteryCurve extends TlogAggregate {
+
+    public static final String NAME = "battery_curve";
+
+    public static final int DEFAULT_MAX_POINTS = 512;
+
+    private static final long INITIAL_PERIOD_MICROS = 1000000;
+
+    /**
+     * Longest time between two readings of the current the charge is
+     * integrated over, so a link outage doesn't count as drawing the last
+     * current read.
+     */
+    private static final long MAX_CURRENT_GAP_MICROS = 5000000;
+
+    private static final int UNKNOWN_VOLTAGE = 0xFFFF;
+
+    private final int mMaxPoints;
+
+    private long[] mTimes;
+    private int[] mMillivolts;
+    private int[] mRemaining;
+    private int mPointsCount;
+    private long mPeriodMicros = INITIAL_PERIOD_MICROS;
+
+    private int mMinMillivolts = Integer.MAX_VALUE;
+    private double mMaxCurrent;
+    private double mConsumedMah;
+
+    private long mLastCurrentTime = Long.MIN_VALUE;
+    private double mLastCurrent;
+
+    public BatteryCurve() {
+        this(DEFAULT_MAX_POINTS);
+    }
+
+    /**
+     * @param maxPoints most points of the curve, even and at least 2
+     */
+    public BatteryCurve(int maxPoints) {
+        if (maxPoints < 2 || maxPoints % 2 != 0) {
+            throw new IllegalArgumentException("Invalid points count: " + maxPoints);
+        }
+
+        mMaxPoints = maxPoints;
+        mTimes = new long[maxPoints];
+        mMillivolts = new int[maxPoints];
+        mRemaining = new int[maxPoints];
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getKey() {
+        return NAME + "/" + mMaxPoints;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_sys_status.MAVLINK_MSG_ID_SYS_STATUS};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new BatteryCurve(mMaxPoints);
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        final msg_sys_status status = (msg_sys_status) message;
+        final int millivolts = status.voltage_battery & 0xFFFF;
+        if (millivolts == UNKNOWN_VOLTAGE || millivolts == 0) {
+            return;
+        }
+
+        mMinMillivolts = Math.min(mMinMillivolts, millivolts);
+
+        // In cA, -1 if not measured.
+        if (status.current_battery >= 0) {
+            final double current = status.current_battery / 100.0;
+            mMaxCurrent = Math.max(mMaxCurrent, current);
+            if (mLastCurrentTime != Long.MIN_VALUE && timeMicros > mLastCurrentTime
+                    && timeMicros - mLastCurrentTime <= MAX_CURRENT_GAP_MICROS) {
+                mConsumedMah += mLastCurrent * (timeMicros - mLastCurrentTime) / 3600000.0;
+            }
+            mLastCurrentTime = timeMicros;
+            mLastCurrent = current;
+        }
+
+        if (mPointsCount > 0 && timeMicros < mTimes[mPointsCount - 1] + mPeriodMicros) {
+            return;
+        }
+
+        if (mPointsCount == mMaxPoints) {
+            for (int i = 0; i < mMaxPoints / 2; i++) {
+                mTimes[i] = mTimes[2 * i];
+                mMillivolts[i] = mMillivolts[2 * i];
+                mRemaining[i] = mRemaining[2 * i];
+            }
+            mPointsCount = mMaxPoints / 2;
+            mPeriodMicros *= 2;
+            if (timeMicros < mTimes[mPointsCount - 1] + mPeriodMicros) {
+                return;
+            }
+        }
+
+        mTimes[mPointsCount] = timeMicros;
+        mMillivolts[mPointsCount] = millivolts;
+        mRemaining[mPointsCount] = status.battery_remaining;
+        mPointsCount++;
+    }
+
+    public int getPointsCount() {
+        return mPointsCount;
+    }
+
+    /**
+     * @return the time of the given point of the curve, in µs since the
+     * epoch.
+     */
+    public long getTime(int point) {
+        return mTimes[checkPoint(point)];
+    }
+
+    /**
+     * @return the voltage of the given point of the curve, in V.
+     */
+    public double getVoltage(int point) {
+        return mMillivolts[checkPoint(point)] / 1000.0;
+    }
+
+    /**
+     * @return the remaining capacity at the given point of the curve, in %,
+     * or -1 if it isn't estimated.
+     */
+    public int getRemaining(int point) {
+        return mRemaining[checkPoint(point)];
+    }
+
+    /**
+     * @return the lowest voltage, in V, or NaN if it wasn't logged.
+     */
+    public double getMinVoltage() {
+        return mPointsCount == 0 ? Double.NaN : mMinMillivolts / 1000.0;
+    }
+
+    /**
+     * @return the highest current, in A.
+     */
+    public double getMaxCurrent() {
+        return mMaxCurrent;
+    }
+
+    /**
+     * @return the charge consumed, in mAh, integrated from the current.
+     */
+    public double getConsumedMah() {
+        return mConsumedMah;
+    }
+
+    private int checkPoint(int point) {
+        if (point < 0 || point >= mPointsCount) {
+            throw new IndexOutOfBoundsException("Invalid point: " + point);
+        }
+        return point;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        out.writeInt(mPointsCount);
+        for (int i = 0; i < mPointsCount; i++) {
+            out.writeLong(mTimes[i]);
+            out.writeInt(mMillivolts[i]);
+            out.writeInt(mRemaining[i]);
+        }
+        out.writeInt(mMinMillivolts);
+        out.writeDouble(mMaxCurrent);
+        out.writeDouble(mConsumedMah);
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        final int count = in.readInt();
+        if (count < 0 || count > mMaxPoints) {
+            throw new IOException("Invalid points count: " + count);
+        }
+
+        mPointsCount = count;
+        for (int i = 0; i < count; i++) {
+            mTimes[i] = in.readLong();
+            mMillivolts[i] = in.readInt();
+            mRemaining[i] = in.readInt();
+        }
+        mMinMillivolts = in.readInt();
+        mMaxCurrent = in.readDouble();
+        mConsumedMah = in.readDouble();
+    }
+}
@@ -0,0 +1,110 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_global_position_int;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Horizontal distance flown, along the fused position of the vehicle, and
+ * farthest it went from its first position.
+ *
+ * The position is only counted as moved once it's a meter away from the last
+ * counted one, so the noise of a vehicle standing still doesn't add up.
+ */
+public class DistanceFlown extends TlogAggregate {
+
+    public static final String NAME = "distance_flown";
+
+    private static final double EARTH_RADIUS = 6371000;
+    private static final double MIN_STEP = 1;
+
+    private double mDistance;
+    private double mMaxDistanceFromStart;
+
+    private boolean mHasPosition;
+    private double mStartLat;
+    private double mStartLon;
+    private double mLastLat;
+    private double mLastLon;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new DistanceFlown();
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        final msg_global_position_int position = (msg_global_position_int) message;
+        if (position.lat == 0 && position.lon == 0) {
+            // No position yet.
+            return;
+        }
+
+        final double lat = position.lat / 1E7;
+        final double lon = position.lon / 1E7;
+        if (!mHasPosition) {
+            mHasPosition = true;
+            mStartLat = mLastLat = lat;
+            mStartLon = mLastLon = lon;
+            return;
+        }
+
+        final double step = getDistance(mLastLat, mLastLon, lat, lon);
+        if (step >= MIN_STEP) {
+            mDistance += step;
+            mLastLat = lat;
+            mLastLon = lon;
+            mMaxDistanceFromStart = Math.max(mMaxDistanceFromStart, getDistance(mStartLat, mStartLon, lat, lon));
+        }
+    }
+
+    /**
+     * @return the distance between the given positions, in m, on a local
+     * flat approximation of the earth, good enough over the distances between
+     * two positions of a flight.
+     */
+    static double getDistance(double lat1, double lon1, double lat2, double lon2) {
+        final double dLat = Math.toRadians(lat2 - lat1);
+        final double dLon = Math.toRadians(lon2 - lon1) * Math.cos(Math.toRadians((lat1 + lat2) / 2));
+        return EARTH_RADIUS * Math.sqrt(dLat * dLat + dLon * dLon);
+    }
+
+    /**
+     * @return the distance flown, in m.
+     */
+    public double getDistance() {
+        return mDistance;
+    }
+
+    /**
+     * @return the farthest the vehicle went from its first position, in m.
+     */
+    public double getMaxDistanceFromStart() {
+        return mMaxDistanceFromStart;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        out.writeDouble(mDistance);
+        out.writeDouble(mMaxDistanceFromStart);
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        mDistance = in.readDouble();
+        mMaxDistanceFromStart = in.readDouble();
+    }
+}
@@ -0,0 +1,148 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_gps_raw_int;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Quality of the GPS fix over the flight: the time spent with each fix type,
+ * the satellites visible, and the worst horizontal dilution of precision.
+ *
+ * The time between two readings is counted for the fix type of the first,
+ * unless they're further apart than a link outage would allow.
+ */
+public class GpsQuality extends TlogAggregate {
+
+    public static final String NAME = "gps_quality";
+
+    /**
+     * Fix types counted, from no GPS to RTK fixed, as in GPS_FIX_TYPE.
+     */
+    public static final int FIX_TYPES = 7;
+
+    public static final int FIX_TYPE_3D = 3;
+
+    private static final long MAX_READING_GAP_MICROS = 5000000;
+    private static final int UNKNOWN_EPH = 0xFFFF;
+
+    private final long[] mFixTypeMicros = new long[FIX_TYPES];
+    private int mMinSatellites = Integer.MAX_VALUE;
+    private int mMaxSatellites;
+    private long mSatellitesSum;
+    private long mReadingsCount;
+    private double mMaxHdop = Double.NaN;
+
+    private long mLastTime = Long.MIN_VALUE;
+    private int mLastFixType;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_gps_raw_int.MAVLINK_MSG_ID_GPS_RAW_INT};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new GpsQuality();
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        final msg_gps_raw_int gps = (msg_gps_raw_int) message;
+        if (mLastTime != Long.MIN_VALUE && timeMicros > mLastTime
+                && timeMicros - mLastTime <= MAX_READING_GAP_MICROS) {
+            mFixTypeMicros[mLastFixType] += timeMicros - mLastTime;
+        }
+        mLastTime = timeMicros;
+        mLastFixType = Math.min(gps.fix_type & 0xFF, FIX_TYPES - 1);
+
+        final int satellites = gps.satellites_visible & 0xFF;
+        if (satellites != 0xFF) {
+            mMinSatellites = Math.min(mMinSatellites, satellites);
+            mMaxSatellites = Math.max(mMaxSatellites, satellites);
+            mSatellitesSum += satellites;
+            mReadingsCount++;
+        }
+
+        final int eph = gps.eph & 0xFFFF;
+        if (eph != UNKNOWN_EPH && !(eph / 100.0 <= mMaxHdop)) {
+            mMaxHdop = eph / 100.0;
+        }
+    }
+
+    /**
+     * @return the time spent with the given fix type, in µs.
+     */
+    public long getFixTypeMicros(int fixType) {
+        return mFixTypeMicros[fixType];
+    }
+
+    /**
+     * @return the time spent without a 3D fix, in µs.
+     */
+    public long getNo3dFixMicros() {
+        long micros = 0;
+        for (int i = 0; i < FIX_TYPE_3D; i++) {
+            micros += mFixTypeMicros[i];
+        }
+        return micros;
+    }
+
+    /**
+     * @return the fewest satellites visible, or -1 if the GPS wasn't logged.
+     */
+    public int getMinSatellites() {
+        return mReadingsCount == 0 ? -1 : mMinSatellites;
+    }
+
+    public int getMaxSatellites() {
+        return mMaxSatellites;
+    }
+
+    /**
+     * @return the mean count of satellites visible, or NaN if the GPS wasn't
+     * logged.
+     */
+    public double getMeanSatellites() {
+        return mReadingsCount == 0 ? Double.NaN : (double) mSatellitesSum / mReadingsCount;
+    }
+
+    /**
+     * @return the worst horizontal dilution of precision, or NaN if it wasn't
+     * logged.
+     */
+    public double getMaxHdop() {
+        return mMaxHdop;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        for (long micros : mFixTypeMicros) {
+            out.writeLong(micros);
+        }
+        out.writeInt(mMinSatellites);
+        out.writeInt(mMaxSatellites);
+        out.writeLong(mSatellitesSum);
+        out.writeLong(mReadingsCount);
+        out.writeDouble(mMaxHdop);
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        for (int i = 0; i < FIX_TYPES; i++) {
+            mFixTypeMicros[i] = in.readLong();
+        }
+        mMinSatellites = in.readInt();
+        mMaxSatellites = in.readInt();
+        mSatellitesSum = in.readLong();
+        mReadingsCount = in.readLong();
+        mMaxHdop = in.readDouble();
+    }
+}
@@ -0,0 +1,175 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.enums.MAV_TYPE;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Outages of the link to the vehicle, found as gaps between its heartbeats
+ * longer than a threshold: their count, their total and longest durations,
+ * and the first ones, up to their maximum count.
+ */
+public class LinkLoss extends TlogAggregate {
+
+    public static final String NAME = "link_loss";
+
+    /**
+     * Gap after which the link is deemed lost: three heartbeats missed at the
+     * usual rate of 1Hz.
+     */
+    public static final long DEFAULT_THRESHOLD_MICROS = 3000000;
+
+    public static final int MAX_OUTAGES = 256;
+
+    private final long mThresholdMicros;
+
+    private long[] mStarts = new long[16];
+    private long[] mDurations = new long[16];
+    private int mKeptCount;
+    private int mOutagesCount;
+    private long mTotalMicros;
+    private long mLongestMicros;
+
+    private long mLastTime = Long.MIN_VALUE;
+
+    public LinkLoss() {
+        this(DEFAULT_THRESHOLD_MICROS);
+    }
+
+    /**
+     * @param thresholdMicros gap between two heartbeats after which the link
+     *                        is deemed lost, in µs
+     */
+    public LinkLoss(long thresholdMicros) {
+        if (thresholdMicros <= 0) {
+            throw new IllegalArgumentException("Invalid threshold: " + thresholdMicros);
+        }
+        mThresholdMicros = thresholdMicros;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getKey() {
+        return NAME + "/" + mThresholdMicros;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new LinkLoss(mThresholdMicros);
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        if (((msg_heartbeat) message).type == MAV_TYPE.MAV_TYPE_GCS) {
+            return;
+        }
+
+        if (mLastTime != Long.MIN_VALUE && timeMicros - mLastTime > mThresholdMicros) {
+            final long duration = timeMicros - mLastTime;
+            mOutagesCount++;
+            mTotalMicros += duration;
+            mLongestMicros = Math.max(mLongestMicros, duration);
+            if (mKeptCount < MAX_OUTAGES) {
+                add(mLastTime, duration);
+            }
+        }
+        mLastTime = Math.max(mLastTime, timeMicros);
+    }
+
+    private void add(long start, long duration) {
+        if (mKeptCount == mStarts.length) {
+            final int capacity = Math.min(mStarts.length * 2, MAX_OUTAGES);
+            mStarts = Arrays.copyOf(mStarts, capacity);
+            mDurations = Arrays.copyOf(mDurations, capacity);
+        }
+        mStarts[mKeptCount] = start;
+        mDurations[mKeptCount] = duration;
+        mKeptCount++;
+    }
+
+    public int getOutagesCount() {
+        return mOutagesCount;
+    }
+
+    /**
+     * @return the count of outages kept, at most {@link #MAX_OUTAGES}.
+     */
+    public int getKeptCount() {
+        return mKeptCount;
+    }
+
+    /**
+     * @return the time of the last heartbeat before the given outage, in µs
+     * since the epoch.
+     */
+    public long getStart(int outage) {
+        return mStarts[checkOutage(outage)];
+    }
+
+    /**
+     * @return the time between the heartbeats around the given outage, in µs.
+     */
+    public long getDuration(int outage) {
+        return mDurations[checkOutage(outage)];
+    }
+
+    /**
+     * @return the time the link was lost for, in µs.
+     */
+    public long getTotalMicros() {
+        return mTotalMicros;
+    }
+
+    public long getLongestMicros() {
+        return mLongestMicros;
+    }
+
+    private int checkOutage(int outage) {
+        if (outage < 0 || outage >= mKeptCount) {
+            throw new IndexOutOfBoundsException("Invalid outage: " + outage);
+        }
+        return outage;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        out.writeInt(mOutagesCount);
+        out.writeLong(mTotalMicros);
+        out.writeLong(mLongestMicros);
+        out.writeInt(mKeptCount);
+        for (int i = 0; i < mKeptCount; i++) {
+            out.writeLong(mStarts[i]);
+            out.writeLong(mDurations[i]);
+        }
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        mOutagesCount = in.readInt();
+        mTotalMicros = in.readLong();
+        mLongestMicros = in.readLong();
+        final int count = in.readInt();
+        if (count < 0 || count > MAX_OUTAGES) {
+            throw new IOException("Invalid outages count: " + count);
+        }
+
+        mKeptCount = 0;
+        for (int i = 0; i < count; i++) {
+            add(in.readLong(), in.readLong());
+        }
+    }
+}
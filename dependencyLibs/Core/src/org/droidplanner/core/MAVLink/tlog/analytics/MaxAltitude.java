@@ -0,0 +1,89 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_global_position_int;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Highest altitude reached, above home and above the mean sea level, from
+ * the fused position of the vehicle.
+ */
+public class MaxAltitude extends TlogAggregate {
+
+    public static final String NAME = "max_altitude";
+
+    private double mMaxAltitude = Double.NaN;
+    private long mMaxAltitudeTime;
+    private double mMaxAltitudeMsl = Double.NaN;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new MaxAltitude();
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        final msg_global_position_int position = (msg_global_position_int) message;
+        final double altitude = position.relative_alt / 1000.0;
+        if (!(altitude <= mMaxAltitude)) {
+            mMaxAltitude = altitude;
+            mMaxAltitudeTime = timeMicros;
+        }
+
+        final double altitudeMsl = position.alt / 1000.0;
+        if (!(altitudeMsl <= mMaxAltitudeMsl)) {
+            mMaxAltitudeMsl = altitudeMsl;
+        }
+    }
+
+    /**
+     * @return the highest altitude above home, in m, or NaN if the position
+     * wasn't logged.
+     */
+    public double getMaxAltitude() {
+        return mMaxAltitude;
+    }
+
+    /**
+     * @return the time the highest altitude above home was reached at, in µs
+     * since the epoch.
+     */
+    public long getMaxAltitudeTime() {
+        return mMaxAltitudeTime;
+    }
+
+    /**
+     * @return the highest altitude above the mean sea level, in m, or NaN if
+     * the position wasn't logged.
+     */
+    public double getMaxAltitudeMsl() {
+        return mMaxAltitudeMsl;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        out.writeDouble(mMaxAltitude);
+        out.writeLong(mMaxAltitudeTime);
+        out.writeDouble(mMaxAltitudeMsl);
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        mMaxAltitude = in.readDouble();
+        mMaxAltitudeTime = in.readLong();
+        mMaxAltitudeMsl = in.readDouble();
+    }
+}
@@ -0,0 +1,168 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.enums.MAV_MODE_FLAG;
+import com.MAVLink.enums.MAV_TYPE;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Changes of the flight mode and of the armed state of the vehicle, from its
+ * heartbeats, along with the time it was armed for.
+ *
+ * The first changes are kept, up to their maximum count, and the others only
+ * counted.
+ */
+public class ModeChanges extends TlogAggregate {
+
+    public static final String NAME = "mode_changes";
+
+    public static final int MAX_CHANGES = 1024;
+
+    private long[] mTimes = new long[16];
+    private int[] mModes = new int[16];
+    private boolean[] mArmed = new boolean[16];
+    private int mKeptCount;
+    private int mChangesCount;
+
+    private boolean mHasState;
+    private int mMode;
+    private boolean mIsArmed;
+    private long mLastTime;
+    private long mArmedMicros;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int[] getMsgIds() {
+        return new int[]{msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT};
+    }
+
+    @Override
+    public TlogAggregate newAggregate() {
+        return new ModeChanges();
+    }
+
+    @Override
+    public void onMessage(long timeMicros, MAVLinkMessage message) {
+        final msg_heartbeat heartbeat = (msg_heartbeat) message;
+        if (heartbeat.type == MAV_TYPE.MAV_TYPE_GCS) {
+            return;
+        }
+
+        final int mode = heartbeat.custom_mode;
+        final boolean isArmed = (heartbeat.base_mode & MAV_MODE_FLAG.MAV_MODE_FLAG_SAFETY_ARMED) != 0;
+        if (mHasState && mIsArmed && timeMicros > mLastTime) {
+            mArmedMicros += timeMicros - mLastTime;
+        }
+        mLastTime = timeMicros;
+
+        if (mHasState && mode == mMode && isArmed == mIsArmed) {
+            return;
+        }
+
+        mHasState = true;
+        mMode = mode;
+        mIsArmed = isArmed;
+        mChangesCount++;
+        if (mKeptCount < MAX_CHANGES) {
+            add(timeMicros, mode, isArmed);
+        }
+    }
+
+    private void add(long timeMicros, int mode, boolean isArmed) {
+        if (mKeptCount == mTimes.length) {
+            final int capacity = Math.min(mTimes.length * 2, MAX_CHANGES);
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mModes = Arrays.copyOf(mModes, capacity);
+            mArmed = Arrays.copyOf(mArmed, capacity);
+        }
+        mTimes[mKeptCount] = timeMicros;
+        mModes[mKeptCount] = mode;
+        mArmed[mKeptCount] = isArmed;
+        mKeptCount++;
+    }
+
+    /**
+     * @return the count of changes, the first state of the vehicle included.
+     */
+    public int getChangesCount() {
+        return mChangesCount;
+    }
+
+    /**
+     * @return the count of changes kept, at most {@link #MAX_CHANGES}.
+     */
+    public int getKeptCount() {
+        return mKeptCount;
+    }
+
+    /**
+     * @return the time of the given change, in µs since the epoch.
+     */
+    public long getTime(int change) {
+        return mTimes[checkChange(change)];
+    }
+
+    /**
+     * @return the custom mode of the vehicle after the given change.
+     */
+    public int getMode(int change) {
+        return mModes[checkChange(change)];
+    }
+
+    /**
+     * @return true if the vehicle was armed after the given change.
+     */
+    public boolean isArmed(int change) {
+        return mArmed[checkChange(change)];
+    }
+
+    /**
+     * @return the time the vehicle was armed for, in µs.
+     */
+    public long getArmedMicros() {
+        return mArmedMicros;
+    }
+
+    private int checkChange(int change) {
+        if (change < 0 || change >= mKeptCount) {
+            throw new IndexOutOfBoundsException("Invalid change: " + change);
+        }
+        return change;
+    }
+
+    @Override
+    public void writeResult(DataOutput out) throws IOException {
+        out.writeInt(mChangesCount);
+        out.writeInt(mKeptCount);
+        for (int i = 0; i < mKeptCount; i++) {
+            out.writeLong(mTimes[i]);
+            out.writeInt(mModes[i]);
+            out.writeBoolean(mArmed[i]);
+        }
+        out.writeLong(mArmedMicros);
+    }
+
+    @Override
+    public void readResult(DataInput in) throws IOException {
+        mChangesCount = in.readInt();
+        final int count = in.readInt();
+        if (count < 0 || count > MAX_CHANGES) {
+            throw new IOException("Invalid changes count: " + count);
+        }
+
+        mKeptCount = 0;
+        for (int i = 0; i < count; i++) {
+            add(in.readLong(), in.readInt(), in.readBoolean());
+        }
+        mArmedMicros = in.readLong();
+    }
+}
@@ -0,0 +1,65 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Aggregate of the telemetry of a flight, computed by a {@link TlogAnalyzer}
+ * in a single pass over its tlog, from the messages of the vehicle of the
+ * types it asks for. Its state must stay bounded, whatever the length of the
+ * flight.
+ *
+ * The result is cached along with the tlog, under the {@link #getKey() key}
+ * of the aggregate, so it's only computed again once the tlog changes.
+ */
+public abstract class TlogAggregate {
+
+    /**
+     * @return the name of the aggregate, unique among the aggregates of an
+     * analysis.
+     */
+    public abstract String getName();
+
+    /**
+     * @return the key of the result in the cache: the name of the aggregate,
+     * along with the settings its result depends on.
+     */
+    public String getKey() {
+        return getName();
+    }
+
+    /**
+     * @return the ids of the messages the aggregate is computed from.
+     */
+    public abstract int[] getMsgIds();
+
+    /**
+     * @return a new aggregate with the same settings, for another tlog.
+     */
+    public abstract TlogAggregate newAggregate();
+
+    /**
+     * Handles a message of the vehicle, in the order they were logged. The
+     * message is overwritten by the next one of its type.
+     *
+     * @param timeMicros time it was logged at, in µs since the epoch
+     */
+    public abstract void onMessage(long timeMicros, MAVLinkMessage message);
+
+    /**
+     * Called once the whole tlog is read.
+     */
+    public void onEnd() {
+    }
+
+    public abstract void writeResult(DataOutput out) throws IOException;
+
+    /**
+     * Restores the result of the aggregate, as written by
+     * {@link #writeResult}, instead of computing it.
+     */
+    public abstract void readResult(DataInput in) throws IOException;
+}
@@ -0,0 +1,380 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.MAVLinkEncoder;
+import com.MAVLink.MAVLinkMessageCache;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Parser;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.CompressedTlogReader;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes a set of {@link TlogAggregate aggregates} over tlog files, plain
+ * or compressed, each in a single pass and in bounded memory: the records are
+ * read in order, through a fixed buffer, and only the frames of the vehicle
+ * of the types the aggregates ask for are parsed. The frames logged from the
+ * ground station are skipped.
+ *
+ * The files are analyzed in parallel, one per thread. Their summaries are
+ * cached next to them, so analyzing them again only computes the aggregates
+ * which aren't cached for them as they are, and the files added or changed
+ * since.
+ *
+ * An analyzer can be shared by threads.
+ */
+public class TlogAnalyzer {
+
+    /**
+     * Size of the buffer the records of a plain tlog are read through.
+     */
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final List<TlogAggregate> mAggregates;
+    private volatile int mThreadsCount = Runtime.getRuntime().availableProcessors();
+    private volatile boolean mIsCacheEnabled = true;
+
+    /**
+     * @return new instances of all the aggregates, with their default
+     * settings.
+     */
+    public static List<TlogAggregate> newDefaultAggregates() {
+        return new ArrayList<>(Arrays.asList(new MaxAltitude(), new DistanceFlown(), new BatteryCurve(),
+                new ModeChanges(), new GpsQuality(), new LinkLoss()));
+    }
+
+    /**
+     * @param aggregates aggregates to compute over each tlog, used as
+     *                   prototypes of the ones computed
+     */
+    public TlogAnalyzer(List<? extends TlogAggregate> aggregates) {
+        final Set<String> names = new HashSet<>();
+        for (TlogAggregate aggregate : aggregates) {
+            if (!names.add(aggregate.getName())) {
+                throw new IllegalArgumentException("Duplicate aggregate: " + aggregate.getName());
+            }
+        }
+        mAggregates = new ArrayList<>(aggregates);
+    }
+
+    /**
+     * Sets the count of files analyzed in parallel, the count of cores by
+     * default.
+     */
+    public void setThreadsCount(int threadsCount) {
+        if (threadsCount < 1) {
+            throw new IllegalArgumentException("Invalid threads count: " + threadsCount);
+        }
+        mThreadsCount = threadsCount;
+    }
+
+    public int getThreadsCount() {
+        return mThreadsCount;
+    }
+
+    /**
+     * Sets whether the summaries are read from, and written to, the cache
+     * next to each tlog. Enabled by default.
+     */
+    public void setCacheEnabled(boolean isCacheEnabled) {
+        mIsCacheEnabled = isCacheEnabled;
+    }
+
+    /**
+     * Analyzes the plain and compressed tlogs of the given directory, in the
+     * order of their names.
+     */
+    public List<TlogSummary> analyzeDirectory(File directory) throws IOException, InterruptedException {
+        final File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                final String name = file.getName();
+                return file.isFile() && (name.endsWith(".tlog") || name.endsWith(CompressedTlog.FILE_EXTENSION));
+            }
+        });
+        if (files == null) {
+            throw new IOException("Unable to list " + directory);
+        }
+
+        Arrays.sort(files);
+        return analyze(Arrays.asList(files));
+    }
+
+    /**
+     * Analyzes the given tlogs in parallel, the longest first, so the last
+     * ones to finish are short.
+     *
+     * @return their summaries, in the given order. The summary of a tlog
+     * which couldn't be read holds the error.
+     */
+    public List<TlogSummary> analyze(final List<File> files) throws InterruptedException {
+        final Integer[] longestFirst = new Integer[files.size()];
+        final long[] lengths = new long[files.size()];
+        for (int i = 0; i < longestFirst.length; i++) {
+            longestFirst[i] = i;
+            lengths[i] = files.get(i).length();
+        }
+        Arrays.sort(longestFirst, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer lhs, Integer rhs) {
+                if (lengths[lhs] != lengths[rhs]) {
+                    return lengths[lhs] > lengths[rhs] ? -1 : 1;
+                }
+                return 0;
+            }
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(mThreadsCount,
+                Math.max(1, files.size())));
+        try {
+            final List<Future<TlogSummary>> futures = new ArrayList<>(Collections.<Future<TlogSummary>>nCopies(
+                    files.size(), null));
+            for (final int index : longestFirst) {
+                futures.set(index, executor.submit(new Callable<TlogSummary>() {
+                    @Override
+                    public TlogSummary call() {
+                        return analyze(files.get(index));
+                    }
+                }));
+            }
+
+            final List<TlogSummary> summaries = new ArrayList<>(files.size());
+            for (Future<TlogSummary> future : futures) {
+                summaries.add(future.get());
+            }
+            return summaries;
+        } catch (ExecutionException e) {
+            // The errors of the tlogs are held by their summaries.
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Analyzes the given tlog, unless its summary is cached.
+     *
+     * @return its summary, holding the error if it couldn't be read.
+     */
+    public TlogSummary analyze(File file) {
+        final TlogSummary summary = new TlogSummary(file, file.length(), file.lastModified());
+        final Map<String, byte[]> cached = mIsCacheEnabled ? summary.readCache() : null;
+
+        final List<TlogAggregate> missing = new ArrayList<>();
+        for (TlogAggregate prototype : mAggregates) {
+            final TlogAggregate aggregate = prototype.newAggregate();
+            if (cached == null || !TlogSummary.restore(aggregate, cached)) {
+                missing.add(aggregate);
+            }
+            summary.add(aggregate);
+        }
+
+        if (cached != null && missing.isEmpty()) {
+            summary.mIsCached = true;
+            return summary;
+        }
+
+        try {
+            scan(file, summary.getLength(), missing, summary);
+        } catch (IOException e) {
+            summary.mError = e;
+            return summary;
+        }
+
+        if (mIsCacheEnabled) {
+            try {
+                summary.writeCache(cached);
+            } catch (IOException e) {
+                // Computed again next time.
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Hands the frames of the vehicle to the aggregates asking for them, and
+     * counts the records, in a single pass.
+     *
+     * @param length length of the tlog to read, as it was when the analysis
+     *               started
+     */
+    private static void scan(File file, long length, List<TlogAggregate> aggregates, TlogSummary summary)
+            throws IOException {
+        final Dispatcher dispatcher = new Dispatcher(aggregates);
+        if (file.getName().endsWith(CompressedTlog.FILE_EXTENSION)) {
+            scanCompressed(file, dispatcher);
+        } else {
+            scanPlain(file, length, dispatcher);
+        }
+
+        for (TlogAggregate aggregate : aggregates) {
+            aggregate.onEnd();
+        }
+        summary.mRecordsCount = dispatcher.recordsCount;
+        summary.mFirstTime = dispatcher.recordsCount == 0 ? 0 : dispatcher.firstTime;
+        summary.mLastTime = dispatcher.lastTime;
+    }
+
+    private static void scanPlain(File file, long length, Dispatcher dispatcher) throws IOException {
+        final FileInputStream in = new FileInputStream(file);
+        try {
+            final FileChannel channel = in.getChannel();
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            buffer.flip();
+            long position = 0;
+            boolean isAtEnd = false;
+            while (true) {
+                final int offset = buffer.position();
+                final int limit = buffer.limit();
+                final int frameOffset = offset + TlogWriter.RECORD_HEADER_LENGTH;
+                final int frameLength = TlogIndex.getFrameLength(buffer, frameOffset);
+                if (frameLength >= 0 && frameOffset + frameLength <= limit) {
+                    buffer.limit(frameOffset + frameLength);
+                    dispatcher.onRecord(buffer.getLong(offset), buffer, frameOffset);
+                    buffer.limit(limit);
+                    buffer.position(frameOffset + frameLength);
+                    continue;
+                }
+
+                if (isAtEnd || frameLength < 0 && frameOffset + 3 <= limit) {
+                    // Done, up to the first truncated or corrupted record,
+                    // as the reader indexes it.
+                    return;
+                }
+
+                // Moves the partial record to the start of the buffer, and
+                // fills the rest.
+                buffer.position(offset);
+                buffer.compact();
+                buffer.limit(buffer.position() + (int) Math.min(buffer.remaining(), length - position));
+                while (buffer.hasRemaining()) {
+                    final int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        break;
+                    }
+                    position += read;
+                }
+                isAtEnd = position >= length || buffer.hasRemaining();
+                buffer.flip();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void scanCompressed(File file, Dispatcher dispatcher) throws IOException {
+        final CompressedTlogReader reader = CompressedTlogReader.open(file.getPath());
+        final CompressedTlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+        try {
+            while (cursor.next()) {
+                dispatcher.onRecord(cursor.getTime(), cursor.getFrame(), 0);
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Parses the frames of the vehicle of the types asked for, and hands
+     * them to the aggregates.
+     */
+    private static final class Dispatcher implements Parser.PacketListener {
+
+        private final Parser parser = new Parser();
+        private final MAVLinkMessageCache messageCache = new MAVLinkMessageCache();
+
+        /**
+         * Aggregates handling each message id, null for the ones none asks
+         * for.
+         */
+        private final TlogAggregate[][] aggregatesByMsgId;
+
+        long recordsCount;
+        long firstTime;
+        long lastTime;
+        private long recordTime;
+
+        Dispatcher(List<TlogAggregate> aggregates) {
+            int maxMsgId = -1;
+            for (TlogAggregate aggregate : aggregates) {
+                for (int msgId : aggregate.getMsgIds()) {
+                    maxMsgId = Math.max(maxMsgId, msgId);
+                }
+            }
+
+            aggregatesByMsgId = new TlogAggregate[maxMsgId + 1][];
+            for (TlogAggregate aggregate : aggregates) {
+                for (int msgId : aggregate.getMsgIds()) {
+                    final TlogAggregate[] handlers = aggregatesByMsgId[msgId];
+                    if (handlers == null) {
+                        aggregatesByMsgId[msgId] = new TlogAggregate[]{aggregate};
+                    } else if (!Arrays.asList(handlers).contains(aggregate)) {
+                        final TlogAggregate[] grown = Arrays.copyOf(handlers, handlers.length + 1);
+                        grown[handlers.length] = aggregate;
+                        aggregatesByMsgId[msgId] = grown;
+                    }
+                }
+            }
+        }
+
+        /**
+         * @param frame  buffer holding the frame, up to its limit
+         * @param offset offset of the frame in the buffer
+         */
+        void onRecord(long timeMicros, ByteBuffer frame, int offset) {
+            if (recordsCount++ == 0) {
+                firstTime = timeMicros;
+            }
+            lastTime = Math.max(lastTime, timeMicros);
+
+            final int msgId = TlogIndex.getMsgId(frame, offset);
+            if (msgId >= aggregatesByMsgId.length || aggregatesByMsgId[msgId] == null) {
+                return;
+            }
+
+            final boolean isMavlink2 = (frame.get(offset) & 0xFF) == MAVLinkPacket.MAVLINK_STX_MAVLINK2;
+            final int systemId = frame.get(offset + (isMavlink2 ? 5 : 3)) & 0xFF;
+            if (systemId == MAVLinkEncoder.GCS_SYSID) {
+                return;
+            }
+
+            recordTime = timeMicros;
+            frame.position(offset);
+            parser.parse(frame, this);
+        }
+
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            final MAVLinkMessage message = messageCache.unpack(packet);
+            if (message == null) {
+                return;
+            }
+
+            for (TlogAggregate aggregate : aggregatesByMsgId[packet.msgid]) {
+                aggregate.onMessage(recordTime, message);
+            }
+        }
+    }
+}
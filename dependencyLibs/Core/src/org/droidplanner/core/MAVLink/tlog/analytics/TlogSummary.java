@@ -0,0 +1,258 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates of a tlog, as computed by a {@link TlogAnalyzer}, along with
+ * the count of its records and the time they span.
+ *
+ * The summary is cached in a sidecar file, next to the tlog with the
+ * {@link #FILE_EXTENSION} extension: the {@link #MAGIC} number and the format
+ * {@link #VERSION}, the length and modification time of the tlog it was
+ * computed from, its records count and times, then the result of each
+ * aggregate, under its key. It's discarded once the tlog changes.
+ */
+public class TlogSummary {
+
+    public static final String FILE_EXTENSION = ".summary";
+
+    public static final int MAGIC = 0x544c534d; // "TLSM"
+    public static final int VERSION = 1;
+
+    private final File mFile;
+    private final long mLength;
+    private final long mLastModified;
+    private final List<TlogAggregate> mAggregates = new ArrayList<>();
+
+    long mRecordsCount;
+    long mFirstTime;
+    long mLastTime;
+    boolean mIsCached;
+    IOException mError;
+
+    TlogSummary(File file, long length, long lastModified) {
+        mFile = file;
+        mLength = length;
+        mLastModified = lastModified;
+    }
+
+    /**
+     * @return the path of the cached summary of the given tlog file.
+     */
+    public static String getSummaryPath(String tlogPath) {
+        return tlogPath + FILE_EXTENSION;
+    }
+
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * @return the length of the tlog, as it was analyzed.
+     */
+    public long getLength() {
+        return mLength;
+    }
+
+    public long getRecordsCount() {
+        return mRecordsCount;
+    }
+
+    /**
+     * @return the time of the first record, in µs since the epoch, or 0 if
+     * there's none.
+     */
+    public long getFirstTime() {
+        return mFirstTime;
+    }
+
+    /**
+     * @return the time of the last record, in µs since the epoch, or 0 if
+     * there's none.
+     */
+    public long getLastTime() {
+        return mLastTime;
+    }
+
+    /**
+     * @return true if all the aggregates were read from the cache, rather
+     * than computed.
+     */
+    public boolean isCached() {
+        return mIsCached;
+    }
+
+    /**
+     * @return the error the tlog couldn't be read for, or null if it was
+     * analyzed.
+     */
+    public IOException getError() {
+        return mError;
+    }
+
+    /**
+     * @return the aggregates, in the order the analyzer was given them.
+     */
+    public List<TlogAggregate> getAggregates() {
+        return Collections.unmodifiableList(mAggregates);
+    }
+
+    /**
+     * @return the aggregate of the given type, or null if it wasn't
+     * computed.
+     */
+    public <T extends TlogAggregate> T get(Class<T> type) {
+        for (TlogAggregate aggregate : mAggregates) {
+            if (type.isInstance(aggregate)) {
+                return type.cast(aggregate);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the aggregate of the given name, or null if it wasn't computed.
+     */
+    public TlogAggregate get(String name) {
+        for (TlogAggregate aggregate : mAggregates) {
+            if (aggregate.getName().equals(name)) {
+                return aggregate;
+            }
+        }
+        return null;
+    }
+
+    void add(TlogAggregate aggregate) {
+        mAggregates.add(aggregate);
+    }
+
+    /**
+     * Reads the cached summary of the tlog, and the records count and times
+     * it holds.
+     *
+     * @return the cached results, by key, or null if there's no summary
+     * cached for the tlog as it is.
+     */
+    Map<String, byte[]> readCache() {
+        final File cacheFile = new File(getSummaryPath(mFile.getPath()));
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)));
+            try {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != mLength
+                        || in.readLong() != mLastModified) {
+                    return null;
+                }
+
+                final long recordsCount = in.readLong();
+                final long firstTime = in.readLong();
+                final long lastTime = in.readLong();
+                final int count = in.readInt();
+                final Map<String, byte[]> results = new LinkedHashMap<>();
+                for (int i = 0; i < count; i++) {
+                    final String key = in.readUTF();
+                    final int length = in.readInt();
+                    if (length < 0 || length > cacheFile.length()) {
+                        return null;
+                    }
+                    final byte[] result = new byte[length];
+                    in.readFully(result);
+                    results.put(key, result);
+                }
+
+                mRecordsCount = recordsCount;
+                mFirstTime = firstTime;
+                mLastTime = lastTime;
+                return results;
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // Truncated or unreadable, so computed again.
+            return null;
+        }
+    }
+
+    /**
+     * Restores the result of the given aggregate from the cached ones.
+     *
+     * @return false if it's not cached, or can't be read.
+     */
+    static boolean restore(TlogAggregate aggregate, Map<String, byte[]> results) {
+        final byte[] result = results.get(aggregate.getKey());
+        if (result == null) {
+            return false;
+        }
+
+        try {
+            aggregate.readResult(new DataInputStream(new ByteArrayInputStream(result)));
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Caches the summary, along with the other results cached for the tlog.
+     * The summary is written to a temporary file first, then renamed, so it's
+     * never read partially written.
+     *
+     * @param otherResults results of other aggregates, by key, or null
+     */
+    void writeCache(Map<String, byte[]> otherResults) throws IOException {
+        final Map<String, byte[]> results = new LinkedHashMap<>();
+        if (otherResults != null) {
+            results.putAll(otherResults);
+        }
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (TlogAggregate aggregate : mAggregates) {
+            buffer.reset();
+            aggregate.writeResult(new DataOutputStream(buffer));
+            results.put(aggregate.getKey(), buffer.toByteArray());
+        }
+
+        final File cacheFile = new File(getSummaryPath(mFile.getPath()));
+        final File tmpFile = new File(cacheFile.getPath() + ".tmp");
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(mLength);
+            out.writeLong(mLastModified);
+            out.writeLong(mRecordsCount);
+            out.writeLong(mFirstTime);
+            out.writeLong(mLastTime);
+            out.writeInt(results.size());
+            for (Map.Entry<String, byte[]> entry : results.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+
+        if (!tmpFile.renameTo(cacheFile)) {
+            tmpFile.delete();
+            throw new IOException("Unable to write " + cacheFile);
+        }
+    }
+}
@@ -103,7 +103,11 @@ public class HeartBeat extends DroneVariable implements OnDroneListener {
             case CHECKING_VEHICLE_LINK:
                 System.out.println("Received connecting event.");
                 gcsHeartbeat.setActive(true);
-                notifyConnecting();
+                if (hasHeartbeat()) {
+                    notifyLinkRestored();
+                } else {
+                    notifyConnecting();
+                }
                 break;
 
             case CONNECTION_FAILED:
@@ -121,6 +125,18 @@ public class HeartBeat extends DroneVariable implements OnDroneListener {
         restartWatchdog(CONNECTION_TIMEOUT);
     }
 
+    /**
+     * The link was reopened after an outage, without the vehicle state being
+     * reset: the next heartbeat is reported as restored, so the streams are
+     * requested again.
+     */
+    private void notifyLinkRestored() {
+        if (heartbeatState != HeartbeatState.IMU_CALIBRATION) {
+            heartbeatState = HeartbeatState.LOST_HEARTBEAT;
+            restartWatchdog(HEARTBEAT_LOST_TIMEOUT);
+        }
+    }
+
     private void notifyConnected() {
         restartWatchdog(HEARTBEAT_NORMAL_TIMEOUT);
     }
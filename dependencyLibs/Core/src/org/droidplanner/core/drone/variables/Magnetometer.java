@@ -18,9 +18,13 @@ public class Magnetometer extends DroneVariable {
 	}
 
 	public void newData(msg_raw_imu msg_imu) {
-		x = msg_imu.xmag;
-		y = msg_imu.ymag;
-		z = msg_imu.zmag;
+		newData(msg_imu.xmag, msg_imu.ymag, msg_imu.zmag);
+	}
+
+	public void newData(short xmag, short ymag, short zmag) {
+		x = xmag;
+		y = ymag;
+		z = zmag;
 		myDrone.notifyDroneEvent(DroneEventsType.MAGNETOMETER);
 	}
 
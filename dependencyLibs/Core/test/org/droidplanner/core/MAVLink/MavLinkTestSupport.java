@@ -0,0 +1,203 @@
+package org.droidplanner.core.MAVLink;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_statustext;
+
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnectionTypes;
+import org.droidplanner.core.model.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logger, connection and frames shared by the tests.
+ */
+public final class MavLinkTestSupport {
+
+	public static final Logger NO_LOGGER = new Logger() {
+		@Override
+		public void logVerbose(String logTag, String verbose) {
+		}
+
+		@Override
+		public void logDebug(String logTag, String debug) {
+		}
+
+		@Override
+		public void logInfo(String logTag, String info) {
+		}
+
+		@Override
+		public void logWarning(String logTag, String warning) {
+		}
+
+		@Override
+		public void logWarning(String logTag, Exception exception) {
+		}
+
+		@Override
+		public void logWarning(String logTag, String warning, Exception exception) {
+		}
+
+		@Override
+		public void logErr(String logTag, String err) {
+		}
+
+		@Override
+		public void logErr(String logTag, Exception exception) {
+		}
+
+		@Override
+		public void logErr(String logTag, String err, Exception exception) {
+		}
+	};
+
+	/**
+	 * Time of the first record of the test tlogs, in us.
+	 */
+	public static final long START_MICROS = 1400000000000000L;
+
+	/**
+	 * Connection reading the data and errors queued by the test, and queuing
+	 * the frames it sends. Its link can't be opened while the count of
+	 * refused opens is positive.
+	 */
+	public static class FakeConnection extends MavLinkConnection {
+
+		/**
+		 * Data read, as byte arrays, or IOExceptions thrown by the read. An
+		 * empty array closes the link.
+		 */
+		public final LinkedBlockingQueue<Object> reads = new LinkedBlockingQueue<>();
+		public final LinkedBlockingQueue<byte[]> sent = new LinkedBlockingQueue<>();
+		public final AtomicInteger refusedOpens = new AtomicInteger();
+		public final AtomicInteger opens = new AtomicInteger();
+
+		@Override
+		protected Logger initLogger() {
+			return NO_LOGGER;
+		}
+
+		@Override
+		protected void openConnection() throws IOException {
+			opens.incrementAndGet();
+			if (refusedOpens.getAndDecrement() > 0) {
+				throw new IOException("Connection refused.");
+			}
+
+			reads.clear();
+			onConnectionOpened();
+		}
+
+		@Override
+		protected int readDataBlock(byte[] buffer) throws IOException {
+			final Object read;
+			try {
+				read = reads.take();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+
+			if (read instanceof IOException) {
+				throw (IOException) read;
+			}
+
+			final byte[] data = (byte[]) read;
+			if (data.length == 0) {
+				throw new IOException("Closed.");
+			}
+			System.arraycopy(data, 0, buffer, 0, data.length);
+			return data.length;
+		}
+
+		@Override
+		protected void sendBuffer(byte[] buffer) {
+			sent.offer(buffer);
+		}
+
+		@Override
+		protected void sendBuffers(byte[][] buffers, int count) {
+			// Keeps the frames of a batch apart.
+			for (int i = 0; i < count; i++) {
+				sent.offer(buffers[i]);
+			}
+		}
+
+		@Override
+		protected void closeConnection() {
+			reads.offer(new IOException("Closed."));
+		}
+
+		@Override
+		protected void loadPreferences() {
+		}
+
+		@Override
+		public int getConnectionType() {
+			return MavLinkConnectionTypes.MAVLINK_CONNECTION_UDP;
+		}
+
+		public byte[] awaitSent() throws InterruptedException {
+			return sent.poll(5, TimeUnit.SECONDS);
+		}
+	}
+
+	private MavLinkTestSupport() {
+	}
+
+	/**
+	 * @return the frame of the record of a test tlog: an attitude, or a
+	 * heartbeat every 10 records, or a status text every 100 records.
+	 */
+	public static byte[] newFrame(int index) {
+		return newFrame(index, false);
+	}
+
+	/**
+	 * @param isMavlink2 true to frame the attitudes of odd records as MAVLink
+	 *                   2
+	 * @see #newFrame(int)
+	 */
+	public static byte[] newFrame(int index, boolean isMavlink2) {
+		final MAVLinkPacket packet;
+		if (index % 100 == 0) {
+			packet = new msg_statustext().pack();
+		} else if (index % 10 == 0) {
+			packet = new msg_heartbeat().pack();
+		} else {
+			final msg_attitude attitude = new msg_attitude();
+			attitude.time_boot_ms = index;
+			attitude.roll = index / 1000f;
+			packet = attitude.pack();
+			packet.isMavlink2 = isMavlink2 && index % 2 == 1;
+		}
+		packet.seq = index & 0xFF;
+		return packet.encodePacket();
+	}
+
+	/**
+	 * @return the time of the record of a test tlog, one every ms, in us.
+	 */
+	public static long getTime(int index) {
+		return START_MICROS + index * 1000L;
+	}
+
+	public static byte[] readFile(File file) throws IOException {
+		final RandomAccessFile in = new RandomAccessFile(file, "r");
+		try {
+			final byte[] content = new byte[(int) in.length()];
+			in.readFully(content);
+			return content;
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class AsyncReadPipelineTest extends TestCase {
+
+	/**
+	 * Completes the queued requests in order, each with up to the given
+	 * count of bytes of the data, then blocks until closed.
+	 */
+	private static class FakeSource implements AsyncReadSource {
+
+		private final byte[] data;
+		private final int chunkSize;
+		private final IOException error;
+
+		private final ArrayDeque<Integer> pendingIds = new ArrayDeque<>();
+		private final ByteBuffer[] pendingBuffers = new ByteBuffer[16];
+		private final CountDownLatch exited = new CountDownLatch(1);
+
+		private int offset;
+		private int maxPending;
+		private boolean closed;
+		private boolean awaiting;
+
+		FakeSource(byte[] data, int chunkSize, IOException error) {
+			this.data = data;
+			this.chunkSize = chunkSize;
+			this.error = error;
+		}
+
+		@Override
+		public synchronized void queue(int requestId, ByteBuffer buffer) {
+			assertNull(pendingBuffers[requestId]);
+			pendingIds.add(requestId);
+			pendingBuffers[requestId] = buffer;
+			maxPending = Math.max(maxPending, pendingIds.size());
+		}
+
+		@Override
+		public synchronized int awaitCompletion() throws IOException {
+			awaiting = true;
+			try {
+				while (!closed && offset == data.length) {
+					if (error != null) {
+						throw error;
+					}
+					wait();
+				}
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			} finally {
+				awaiting = false;
+				if (closed || offset == data.length) {
+					exited.countDown();
+				}
+			}
+
+			if (closed) {
+				throw new IOException("Closed.");
+			}
+
+			final int requestId = pendingIds.remove();
+			final ByteBuffer buffer = pendingBuffers[requestId];
+			pendingBuffers[requestId] = null;
+
+			final int length = Math.min(Math.min(chunkSize, buffer.remaining()), data.length - offset);
+			buffer.put(data, offset, length);
+			offset += length;
+			return requestId;
+		}
+
+		@Override
+		public synchronized void close() {
+			closed = true;
+			// Otherwise counted down by the pending wait once woken.
+			if (!awaiting) {
+				exited.countDown();
+			}
+			notifyAll();
+		}
+	}
+
+	private static class CollectingListener implements AsyncReadPipeline.Listener {
+
+		final ByteArrayOutputStream received = new ByteArrayOutputStream();
+		final Set<ByteBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<ByteBuffer, Boolean>());
+		final AtomicReference<IOException> error = new AtomicReference<>();
+
+		@Override
+		public synchronized void onDataReceived(ByteBuffer data) {
+			buffers.add(data);
+			received.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+			data.position(data.limit());
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onReadError(IOException e) {
+			error.set(e);
+			notifyAll();
+		}
+
+		synchronized void awaitBytes(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (received.size() < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+	}
+
+	private static byte[] randomData(int length) {
+		byte[] data = new byte[length];
+		new Random(42).nextBytes(data);
+		return data;
+	}
+
+	public void testDataReceivedInOrder() throws InterruptedException {
+		byte[] data = randomData(100000);
+		FakeSource source = new FakeSource(data, 700, null);
+		CollectingListener listener = new CollectingListener();
+		AsyncReadPipeline pipeline = new AsyncReadPipeline(source, 4, 512, listener);
+
+		pipeline.start();
+		listener.awaitBytes(data.length);
+		pipeline.stop();
+		assertTrue(source.exited.await(5, TimeUnit.SECONDS));
+
+		assertTrue(Arrays.equals(data, listener.received.toByteArray()));
+		assertEquals(data.length, pipeline.getReceivedBytes());
+		assertNull(listener.error.get());
+	}
+
+	public void testRequestsKeptInFlight() throws InterruptedException {
+		byte[] data = randomData(10000);
+		FakeSource source = new FakeSource(data, 64, null);
+		CollectingListener listener = new CollectingListener();
+		AsyncReadPipeline pipeline = new AsyncReadPipeline(source, 4, 64, listener);
+
+		pipeline.start();
+		listener.awaitBytes(data.length);
+		pipeline.stop();
+		assertTrue(source.exited.await(5, TimeUnit.SECONDS));
+
+		assertEquals(4, source.maxPending);
+		// The buffers are reused.
+		assertEquals(4, listener.buffers.size());
+		assertEquals(data.length / 64 + 1, pipeline.getCompletedCount());
+	}
+
+	public void testReadError() throws InterruptedException {
+		IOException error = new IOException("Device detached.");
+		FakeSource source = new FakeSource(randomData(100), 64, error);
+		CollectingListener listener = new CollectingListener();
+		AsyncReadPipeline pipeline = new AsyncReadPipeline(source, 2, 64, listener);
+
+		pipeline.start();
+		assertTrue(source.exited.await(5, TimeUnit.SECONDS));
+		synchronized (listener) {
+			while (listener.error.get() == null) {
+				listener.wait(5000);
+			}
+		}
+
+		assertSame(error, listener.error.get());
+		assertEquals(100, listener.received.size());
+	}
+}
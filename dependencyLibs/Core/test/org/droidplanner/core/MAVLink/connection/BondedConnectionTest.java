@@ -0,0 +1,377 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_heartbeat;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class BondedConnectionTest extends TestCase {
+
+	private static final long FRAME_PERIOD_MILLIS = 2;
+
+	/**
+	 * Data delivered by a link once its delay elapsed.
+	 */
+	private static class Delivery implements Delayed {
+
+		final byte[] data;
+		final long deliveryTime;
+
+		Delivery(byte[] data, long delayNanos) {
+			this.data = data;
+			this.deliveryTime = System.nanoTime() + delayNanos;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(deliveryTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(deliveryTime, ((Delivery) other).deliveryTime);
+		}
+	}
+
+	/**
+	 * Loopback link delivering the frames of the vehicle after the injected
+	 * delay, unless they're lost, and queuing the frames it sends.
+	 */
+	private static class ImpairedLink extends MavLinkConnection {
+
+		final LinkedBlockingQueue<byte[]> sent = new LinkedBlockingQueue<>();
+		private final DelayQueue<Delivery> deliveries = new DelayQueue<>();
+		private final Random random = new Random(7);
+
+		volatile long delayNanos;
+		volatile double lossRatio;
+
+		/**
+		 * Parity of the sequence numbers dropped, or -1.
+		 */
+		volatile int droppedParity = -1;
+
+		ImpairedLink(long delayMillis, double lossRatio) {
+			this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+			this.lossRatio = lossRatio;
+		}
+
+		void deliver(byte[] frame, int seq) {
+			synchronized (random) {
+				if (random.nextDouble() < lossRatio || seq % 2 == droppedParity) {
+					return;
+				}
+			}
+			deliveries.offer(new Delivery(frame, delayNanos));
+		}
+
+		@Override
+		protected Logger initLogger() {
+			return MavLinkTestSupport.NO_LOGGER;
+		}
+
+		@Override
+		protected void openConnection() throws IOException {
+			deliveries.clear();
+			onConnectionOpened();
+		}
+
+		@Override
+		protected int readDataBlock(byte[] buffer) throws IOException {
+			final Delivery delivery;
+			try {
+				delivery = deliveries.take();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+
+			if (delivery.data.length == 0) {
+				throw new IOException("Closed.");
+			}
+			System.arraycopy(delivery.data, 0, buffer, 0, delivery.data.length);
+			return delivery.data.length;
+		}
+
+		@Override
+		protected void sendBuffer(byte[] buffer) {
+			sent.offer(buffer);
+		}
+
+		@Override
+		protected void sendBuffers(byte[][] buffers, int count) {
+			for (int i = 0; i < count; i++) {
+				sent.offer(buffers[i]);
+			}
+		}
+
+		@Override
+		protected void closeConnection() {
+			deliveries.offer(new Delivery(new byte[0], 0));
+		}
+
+		@Override
+		protected void loadPreferences() {
+		}
+
+		@Override
+		public int getConnectionType() {
+			return MavLinkConnectionTypes.MAVLINK_CONNECTION_UDP;
+		}
+	}
+
+	/**
+	 * Vehicle streaming heartbeats through the links, each with the next
+	 * sequence number.
+	 */
+	private static class Vehicle extends Thread {
+
+		private final ImpairedLink[] links;
+		private final int frames;
+
+		Vehicle(int frames, ImpairedLink... links) {
+			super("BondedConnectionTest-Vehicle");
+			this.links = links;
+			this.frames = frames;
+		}
+
+		@Override
+		public void run() {
+			final msg_heartbeat heartbeat = new msg_heartbeat();
+			for (int i = 0; i < frames; i++) {
+				heartbeat.custom_mode = i;
+				final MAVLinkPacket packet = heartbeat.pack();
+				packet.sysid = 1;
+				packet.compid = 1;
+				packet.seq = i & 0xFF;
+				final byte[] frame = packet.encodePacket();
+				for (ImpairedLink link : links) {
+					link.deliver(frame, i);
+				}
+
+				try {
+					Thread.sleep(FRAME_PERIOD_MILLIS);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Records the index of the heartbeats received, as streamed by the
+	 * vehicle.
+	 */
+	private static class ReceivingListener implements MavLinkConnectionListener {
+
+		final List<Integer> received = new ArrayList<>();
+		int disconnects;
+
+		@Override
+		public void onStartingConnection() {
+		}
+
+		@Override
+		public void onConnect(long connectionTime) {
+		}
+
+		@Override
+		public void onLinkRestored(long restoredTime) {
+		}
+
+		@Override
+		public synchronized void onReceivePacket(MAVLinkPacket packet) {
+			received.add(new msg_heartbeat(packet).custom_mode);
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onDisconnect(long disconnectionTime) {
+			disconnects++;
+			notifyAll();
+		}
+
+		@Override
+		public void onComError(String errMsg) {
+		}
+
+		synchronized void awaitReceived(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (received.size() < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+
+		synchronized void awaitDisconnect() throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (disconnects == 0 && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+	}
+
+	private ImpairedLink radio;
+	private ImpairedLink wifi;
+	private BondedConnection bond;
+	private final ReceivingListener listener = new ReceivingListener();
+
+	private void connect(long radioDelayMillis, double radioLoss, long wifiDelayMillis, double wifiLoss)
+			throws InterruptedException {
+		radio = new ImpairedLink(radioDelayMillis, radioLoss);
+		wifi = new ImpairedLink(wifiDelayMillis, wifiLoss);
+		bond = new BondedConnection(Arrays.asList(radio, wifi)) {
+			@Override
+			protected Logger initLogger() {
+				return MavLinkTestSupport.NO_LOGGER;
+			}
+		};
+		bond.addMavLinkConnectionListener("test", listener);
+		bond.connect();
+
+		final long deadline = System.currentTimeMillis() + 5000;
+		while ((radio.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED
+				|| wifi.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED)
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, bond.getConnectionStatus());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (bond != null) {
+			bond.disconnect();
+		}
+	}
+
+	private void stream(int frames) throws InterruptedException {
+		Vehicle vehicle = new Vehicle(frames, radio, wifi);
+		vehicle.start();
+		vehicle.join();
+	}
+
+	/**
+	 * @return the link the command sent through the bond went through.
+	 */
+	private ImpairedLink sendCommand() throws InterruptedException {
+		radio.sent.clear();
+		wifi.sent.clear();
+		bond.sendMavMessage(new msg_command_long());
+
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			if (radio.sent.poll(10, TimeUnit.MILLISECONDS) != null) {
+				return radio;
+			}
+			if (wifi.sent.poll(10, TimeUnit.MILLISECONDS) != null) {
+				return wifi;
+			}
+		}
+		return null;
+	}
+
+	public void testCopiesAreDispatchedOnce() throws InterruptedException {
+		connect(10, 0, 1, 0);
+		stream(300);
+		Thread.sleep(100);
+
+		listener.awaitReceived(300);
+		assertEquals(300, listener.received.size());
+		for (int i = 0; i < 300; i++) {
+			assertEquals(i, (int) listener.received.get(i));
+		}
+
+		long duplicates = 0;
+		for (BondedConnection.LinkQuality quality : bond.getLinkQualities()) {
+			duplicates += quality.getDuplicatesCount();
+		}
+		assertEquals(300, duplicates);
+	}
+
+	public void testLossesOfEachLinkAreFilled() throws InterruptedException {
+		connect(1, 0, 1, 0);
+		// Each link misses every other frame.
+		radio.droppedParity = 0;
+		wifi.droppedParity = 1;
+		stream(300);
+		Thread.sleep(100);
+
+		listener.awaitReceived(300);
+		assertEquals(300, listener.received.size());
+	}
+
+	public void testFasterLinkIsPreferred() throws InterruptedException {
+		connect(40, 0, 2, 0);
+		stream(300);
+
+		assertSame(wifi, sendCommand());
+		for (BondedConnection.LinkQuality quality : bond.getLinkQualities()) {
+			assertEquals(quality.getConnection() == wifi, quality.isPreferred());
+			if (quality.getConnection() == radio) {
+				assertTrue(quality.getLagMillis() > 20);
+			}
+		}
+	}
+
+	public void testLossyLinkIsAvoided() throws InterruptedException {
+		connect(20, 0, 2, 0.5);
+		stream(500);
+
+		assertSame(radio, sendCommand());
+		for (BondedConnection.LinkQuality quality : bond.getLinkQualities()) {
+			if (quality.getConnection() == wifi) {
+				assertTrue(quality.getLossRatio() > 0.3);
+			}
+		}
+	}
+
+	public void testFailover() throws InterruptedException {
+		connect(20, 0, 2, 0);
+		stream(200);
+		assertSame(wifi, sendCommand());
+
+		// The wifi stops delivering: the radio takes over once it's stale,
+		// without gap in the telemetry.
+		wifi.lossRatio = 1;
+		Vehicle vehicle = new Vehicle(200, radio, wifi);
+		vehicle.start();
+		Thread.sleep(TimeUnit.NANOSECONDS.toMillis(BondedConnection.STALE_LINK_NANOS) + 50);
+		assertSame(radio, sendCommand());
+		vehicle.join();
+
+		// The wifi is back, and preferred again once its losses are
+		// forgotten. Then it's lost: the radio takes over at once.
+		wifi.lossRatio = 0;
+		stream(1000);
+		assertSame(wifi, sendCommand());
+		wifi.disconnect();
+		assertSame(radio, sendCommand());
+
+		Thread.sleep(100);
+		assertEquals(1400, listener.received.size());
+	}
+
+	public void testLostOnceAllLinksAreLost() throws InterruptedException {
+		connect(1, 0, 1, 0);
+		radio.disconnect();
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, bond.getConnectionStatus());
+
+		wifi.disconnect();
+		listener.awaitDisconnect();
+		assertEquals(MavLinkConnection.MAVLINK_DISCONNECTED, bond.getConnectionStatus());
+	}
+}
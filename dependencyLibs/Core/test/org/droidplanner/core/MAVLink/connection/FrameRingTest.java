@@ -0,0 +1,147 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+public class FrameRingTest extends TestCase {
+
+	private static byte[] frame(int producer, int seq) {
+		return ByteBuffer.allocate(8).putInt(producer).putInt(seq).array();
+	}
+
+	private static int seq(byte[] frame) {
+		return ByteBuffer.wrap(frame).getInt(4);
+	}
+
+	public void testCapacityIsRoundedToPowerOfTwo() {
+		assertEquals(8, new MpscFrameRing("test", 5, FrameRing.OverflowPolicy.DROP_NEWEST).getCapacity());
+		assertEquals(8, new SpscFrameRing("test", 8, FrameRing.OverflowPolicy.DROP_NEWEST).getCapacity());
+		assertEquals(1, new MpscFrameRing("test", 1, FrameRing.OverflowPolicy.DROP_NEWEST).getCapacity());
+	}
+
+	public void testSpscRejectsDropOldest() {
+		try {
+			new SpscFrameRing("test", 4, FrameRing.OverflowPolicy.DROP_OLDEST);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	public void testDropNewest() {
+		for (FrameRing ring : new FrameRing[] {
+				new SpscFrameRing("test", 4, FrameRing.OverflowPolicy.DROP_NEWEST),
+				new MpscFrameRing("test", 4, FrameRing.OverflowPolicy.DROP_NEWEST) }) {
+			for (int seq = 0; seq < 4; seq++) {
+				assertTrue(ring.offer(frame(0, seq)));
+			}
+			assertFalse(ring.offer(frame(0, 4)));
+
+			FrameRing.Metrics metrics = ring.getMetrics();
+			assertEquals(4, metrics.getDepth());
+			assertEquals(4, metrics.getMaxDepth());
+			assertEquals(4, metrics.getEnqueuedCount());
+			assertEquals(1, metrics.getDroppedCount());
+
+			for (int seq = 0; seq < 4; seq++) {
+				assertEquals(seq, seq(ring.poll()));
+			}
+			assertNull(ring.poll());
+			assertTrue(ring.isEmpty());
+			assertEquals(4, ring.getMetrics().getMaxDepth());
+		}
+	}
+
+	public void testDropOldest() {
+		FrameRing ring = new MpscFrameRing("test", 4, FrameRing.OverflowPolicy.DROP_OLDEST);
+		for (int seq = 0; seq < 6; seq++) {
+			assertTrue(ring.offer(frame(0, seq)));
+		}
+
+		assertEquals(4, ring.size());
+		assertEquals(2, ring.getMetrics().getDroppedCount());
+		for (int seq = 2; seq < 6; seq++) {
+			assertEquals(seq, seq(ring.poll()));
+		}
+		assertNull(ring.poll());
+	}
+
+	public void testDrainToOffset() {
+		FrameRing ring = new SpscFrameRing("test", 8, FrameRing.OverflowPolicy.DROP_NEWEST);
+		for (int seq = 0; seq < 5; seq++) {
+			ring.offer(frame(0, seq));
+		}
+
+		byte[][] batch = new byte[4][];
+		assertEquals(3, ring.drainTo(batch, 1));
+		assertNull(batch[0]);
+		assertEquals(2, seq(batch[3]));
+		assertEquals(2, ring.drainTo(batch, 0));
+		assertEquals(0, ring.drainTo(batch, 0));
+	}
+
+	/**
+	 * Frames of concurrent producers all reach a blocked consumer, in the
+	 * order each producer offered them.
+	 */
+	public void testConcurrentProducers() throws InterruptedException {
+		final int producers = 4;
+		final int frames = 100000;
+		final FrameRing ring = new MpscFrameRing("test", 64, FrameRing.OverflowPolicy.DROP_NEWEST);
+
+		Thread[] threads = new Thread[producers];
+		for (int i = 0; i < producers; i++) {
+			final int producer = i;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int seq = 0; seq < frames; seq++) {
+						while (!ring.offer(frame(producer, seq))) {
+							Thread.yield();
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+
+		int[] nextSeq = new int[producers];
+		for (int i = 0; i < producers * frames; i++) {
+			ByteBuffer frame = ByteBuffer.wrap(ring.take());
+			int producer = frame.getInt(0);
+			assertEquals(nextSeq[producer]++, frame.getInt(4));
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(ring.isEmpty());
+		assertEquals(producers * frames, ring.getMetrics().getEnqueuedCount());
+	}
+
+	public void testAwaitFramesWakesOnAnyRing() throws InterruptedException {
+		final FrameRing first = new SpscFrameRing("first", 4, FrameRing.OverflowPolicy.DROP_NEWEST);
+		final FrameRing second = new MpscFrameRing("second", 4, FrameRing.OverflowPolicy.DROP_NEWEST);
+
+		Thread producer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					return;
+				}
+				second.offer(frame(0, 7));
+			}
+		};
+		producer.start();
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (second.isEmpty() && System.currentTimeMillis() < deadline) {
+			FrameRing.awaitFrames(first, second);
+		}
+		assertEquals(7, seq(second.poll()));
+		producer.join();
+	}
+}
@@ -0,0 +1,422 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.MAVLinkPacketPool;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkStats;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_param_request_read;
+import com.MAVLink.common.msg_ping;
+import com.MAVLink.common.msg_system_time;
+import com.MAVLink.common.msg_timesync;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport;
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class LinkClockTest extends TestCase {
+
+	private static final long MS = 1000000L;
+	private static final long SECOND = 1000 * MS;
+
+	/**
+	 * Vehicle whose clock is ahead of the local one and drifts from it, at
+	 * the end of a link delaying the messages each way by a jittered delay,
+	 * and sometimes by much longer.
+	 */
+	private static class SimulatedVehicle {
+
+		final long offset;
+		final double skew;
+		final long delay;
+		final long jitter;
+		final double outlierRatio;
+
+		private final Random random = new Random(3);
+
+		SimulatedVehicle(long offset, double skew, long delay, long jitter, double outlierRatio) {
+			this.offset = offset;
+			this.skew = skew;
+			this.delay = delay;
+			this.jitter = jitter;
+			this.outlierRatio = outlierRatio;
+		}
+
+		long getTime(long localTime) {
+			return localTime + offset + (long) (skew * localTime);
+		}
+
+		long getTransitTime() {
+			long transit = delay + (long) ((random.nextDouble() * 2 - 1) * jitter);
+			if (random.nextDouble() < outlierRatio) {
+				transit += 300 * MS;
+			}
+			return transit;
+		}
+
+		/**
+		 * Answers a request sent at the given local time.
+		 *
+		 * @return the local time the reply arrives at.
+		 */
+		long exchange(LinkClock clock, MAVLinkMessage request, long sentTime) {
+			final long receivedTime = sentTime + getTransitTime();
+			final MAVLinkMessage reply;
+			if (request instanceof msg_timesync) {
+				final msg_timesync timeSync = new msg_timesync();
+				timeSync.tc1 = getTime(receivedTime);
+				timeSync.ts1 = ((msg_timesync) request).ts1;
+				reply = timeSync;
+			} else {
+				final msg_ping ping = new msg_ping();
+				ping.time_usec = ((msg_ping) request).time_usec;
+				ping.seq = ((msg_ping) request).seq;
+				ping.target_system = (byte) 255;
+				ping.target_component = (byte) 190;
+				reply = ping;
+			}
+
+			final long replyTime = receivedTime + getTransitTime();
+			assertNull(clock.onPacketReceived(pack(reply), replyTime));
+			return replyTime;
+		}
+	}
+
+	private static MAVLinkPacket pack(MAVLinkMessage message) {
+		final MAVLinkPacket packet = message.pack();
+		packet.sysid = 1;
+		packet.compid = 1;
+		return packet;
+	}
+
+	private final LinkClock clock = new LinkClock();
+
+	/**
+	 * Runs a TIMESYNC exchange a second.
+	 *
+	 * @return the local time after the last one.
+	 */
+	private long synchronize(SimulatedVehicle vehicle, long start, int exchanges) {
+		long now = start;
+		for (int i = 0; i < exchanges; i++) {
+			vehicle.exchange(clock, clock.newTimeSyncRequest(now), now);
+			now += SECOND;
+		}
+		return now;
+	}
+
+	public void testOffsetAndDriftAreEstimated() {
+		final SimulatedVehicle vehicle = new SimulatedVehicle(7 * SECOND, 80E-6, 20 * MS, 2 * MS, 0.1);
+		assertFalse(clock.isSynchronized());
+		assertEquals(0, clock.toVehicleTime(SECOND));
+
+		final long now = synchronize(vehicle, 100 * SECOND, 40);
+		assertTrue(clock.isSynchronized());
+		assertEquals(vehicle.getTime(now), clock.toVehicleTime(now), 2 * MS);
+
+		final LinkClock.Metrics metrics = clock.getMetrics();
+		assertEquals(LinkClock.WINDOW, metrics.getSamplesCount());
+		assertEquals(40, metrics.getRttMillis(), 3);
+		assertTrue(metrics.getMinRttMillis() >= 36);
+		assertTrue(metrics.getJitterMillis() < 3);
+		assertEquals(80, metrics.getDriftPpm(), 40);
+		// The delayed exchanges are left out.
+		assertTrue(metrics.getRejectedCount() > 0);
+	}
+
+	public void testOutliersDontSkewTheOffset() {
+		// A third of the exchanges are delayed one way or the other, on a
+		// link with little jitter.
+		final SimulatedVehicle vehicle = new SimulatedVehicle(-3 * SECOND, 0, 5 * MS, MS / 10, 0.2);
+		final long now = synchronize(vehicle, 0, 16);
+		assertEquals(vehicle.getTime(now), clock.toVehicleTime(now), MS / 5);
+	}
+
+	public void testPacketsAreStampedWithTheirSendTime() {
+		final SimulatedVehicle vehicle = new SimulatedVehicle(SECOND, 0, 50 * MS, 0, 0);
+		final long now = synchronize(vehicle, 0, 8);
+
+		// Received now, so sent a one way trip earlier.
+		assertEquals(vehicle.getTime(now - 50 * MS), clock.getVehicleSendTime(now), MS / 10);
+	}
+
+	public void testPingsMeasureTheRoundTrip() {
+		final SimulatedVehicle vehicle = new SimulatedVehicle(0, 0, 15 * MS, MS, 0);
+		long now = 0;
+		for (int i = 0; i < 10; i++) {
+			vehicle.exchange(clock, clock.newPingRequest(now), now);
+			now += SECOND;
+		}
+
+		final LinkClock.Metrics metrics = clock.getMetrics();
+		assertEquals(30, metrics.getRttMillis(), 2);
+		// Pings don't tell the vehicle time.
+		assertFalse(metrics.isSynchronized());
+	}
+
+	public void testSystemTimeSynchronizesWithoutTimeSync() {
+		final SimulatedVehicle vehicle = new SimulatedVehicle(60 * SECOND, 0, 10 * MS, 0, 0);
+		long now = 0;
+		for (int i = 0; i < 4; i++) {
+			vehicle.exchange(clock, clock.newPingRequest(now), now);
+
+			final msg_system_time systemTime = new msg_system_time();
+			systemTime.time_boot_ms = (int) (vehicle.getTime(now) / MS);
+			assertNull(clock.onPacketReceived(pack(systemTime), now + 10 * MS));
+			now += SECOND;
+		}
+
+		assertTrue(clock.isSynchronized());
+		// Only as precise as the ms the boot time is given in.
+		assertEquals(vehicle.getTime(now), clock.toVehicleTime(now), MS);
+	}
+
+	public void testRepliesToOtherRequestsAreIgnored() {
+		clock.newTimeSyncRequest(SECOND);
+
+		final msg_timesync reply = new msg_timesync();
+		reply.tc1 = 5 * SECOND;
+		reply.ts1 = SECOND / 2;
+		assertNull(clock.onPacketReceived(pack(reply), 2 * SECOND));
+
+		final msg_ping ping = new msg_ping();
+		ping.seq = 12;
+		ping.target_system = (byte) 255;
+		assertNull(clock.onPacketReceived(pack(ping), 2 * SECOND));
+		assertEquals(0, clock.getMetrics().getSamplesCount());
+	}
+
+	public void testRequestsOfTheVehicleAreAnswered() {
+		final msg_timesync timeSync = new msg_timesync();
+		timeSync.ts1 = 123456789L;
+		final msg_timesync timeSyncReply = (msg_timesync) clock.onPacketReceived(pack(timeSync), SECOND);
+		assertEquals(SECOND, timeSyncReply.tc1);
+		assertEquals(123456789L, timeSyncReply.ts1);
+
+		final msg_ping ping = new msg_ping();
+		ping.time_usec = 42;
+		ping.seq = 7;
+		final msg_ping pingReply = (msg_ping) clock.onPacketReceived(pack(ping), SECOND);
+		assertEquals(42, pingReply.time_usec);
+		assertEquals(7, pingReply.seq);
+		assertEquals(1, pingReply.target_system);
+		assertEquals(1, pingReply.target_component);
+	}
+
+	/**
+	 * Connection to a vehicle answering the TIMESYNC requests after the
+	 * configured delay, and sending heartbeats, with a clock ahead of the
+	 * local one.
+	 */
+	private static class VehicleConnection extends MavLinkConnection implements Parser.PacketListener {
+
+		final long offset;
+		final long delay;
+		final LinkedBlockingQueue<byte[]> reads = new LinkedBlockingQueue<>();
+		final LinkedBlockingQueue<Integer> sentSeqs = new LinkedBlockingQueue<>();
+		private final Parser parser = new Parser(new MAVLinkPacketPool(), new MAVLinkStats());
+
+		VehicleConnection(long offset, long delay) {
+			this.offset = offset;
+			this.delay = delay;
+		}
+
+		@Override
+		protected Logger initLogger() {
+			return MavLinkTestSupport.NO_LOGGER;
+		}
+
+		@Override
+		protected void openConnection() throws IOException {
+			onConnectionOpened();
+		}
+
+		@Override
+		protected int readDataBlock(byte[] buffer) throws IOException {
+			final byte[] data;
+			try {
+				data = reads.take();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException();
+			}
+
+			if (data.length == 0) {
+				throw new IOException("Closed.");
+			}
+			System.arraycopy(data, 0, buffer, 0, data.length);
+			return data.length;
+		}
+
+		@Override
+		protected void sendBuffer(byte[] buffer) {
+			parser.parse(buffer, 0, buffer.length, this);
+		}
+
+		@Override
+		public void onPacketReceived(MAVLinkPacket packet) {
+			sentSeqs.offer(packet.seq);
+			if (packet.msgid != msg_timesync.MAVLINK_MSG_ID_TIMESYNC) {
+				return;
+			}
+
+			final msg_timesync reply = new msg_timesync();
+			reply.ts1 = new msg_timesync(packet).ts1;
+			try {
+				Thread.sleep(delay / MS);
+			} catch (InterruptedException e) {
+				return;
+			}
+			reply.tc1 = System.nanoTime() + offset;
+			sendAfterDelay(reply);
+		}
+
+		void sendAfterDelay(MAVLinkMessage message) {
+			final MAVLinkPacket packet = message.pack();
+			packet.sysid = 1;
+			packet.compid = 1;
+			final byte[] frame = packet.encodePacket();
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						Thread.sleep(delay / MS);
+					} catch (InterruptedException e) {
+						return;
+					}
+					reads.offer(frame);
+				}
+			}.start();
+		}
+
+		@Override
+		protected void closeConnection() {
+			reads.offer(new byte[0]);
+		}
+
+		@Override
+		protected void loadPreferences() {
+		}
+
+		@Override
+		public int getConnectionType() {
+			return MavLinkConnectionTypes.MAVLINK_CONNECTION_UDP;
+		}
+	}
+
+	/**
+	 * Records the vehicle time the heartbeats were stamped with, and the one
+	 * they were sent at.
+	 */
+	private static class StampListener implements MavLinkConnectionListener {
+
+		final LinkedBlockingQueue<long[]> stamps = new LinkedBlockingQueue<>();
+
+		@Override
+		public void onStartingConnection() {
+		}
+
+		@Override
+		public void onConnect(long connectionTime) {
+		}
+
+		@Override
+		public void onLinkRestored(long restoredTime) {
+		}
+
+		@Override
+		public void onReceivePacket(MAVLinkPacket packet) {
+			if (packet.msgid == msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT) {
+				stamps.offer(new long[]{packet.vehicleTime, new msg_heartbeat(packet).custom_mode * MS});
+			}
+		}
+
+		@Override
+		public void onDisconnect(long disconnectionTime) {
+		}
+
+		@Override
+		public void onComError(String errMsg) {
+		}
+	}
+
+	public void testConnectionStampsTheReceivedPackets() throws InterruptedException {
+		final long offset = 3600 * SECOND;
+		final VehicleConnection connection = new VehicleConnection(offset, 20 * MS);
+		final StampListener listener = new StampListener();
+		connection.addMavLinkConnectionListener("test", listener);
+		connection.setClockSyncPeriod(50, TimeUnit.MILLISECONDS);
+		connection.connect();
+		try {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (connection.getLinkClock().getMetrics().getSamplesCount() < 4
+					&& System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+
+			final LinkClock.Metrics metrics = connection.getLinkClock().getMetrics();
+			assertTrue(metrics.isSynchronized());
+			assertEquals(40, metrics.getRttMillis(), 20);
+			assertEquals(offset, metrics.getOffsetNanos(), 10 * MS);
+
+			// The heartbeat tells the vehicle time, in ms, it was sent at.
+			final msg_heartbeat heartbeat = new msg_heartbeat();
+			heartbeat.custom_mode = (int) ((System.nanoTime() + offset) / MS);
+			connection.sendAfterDelay(heartbeat);
+			final long[] stamp = listener.stamps.poll(5, TimeUnit.SECONDS);
+			assertNotNull(stamp);
+			assertEquals(stamp[1], stamp[0], 10 * MS);
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	public void testClockSyncSharesTheSequenceOfTheConnection() throws InterruptedException {
+		final VehicleConnection connection = new VehicleConnection(0, 0);
+		connection.setClockSyncPeriod(5, TimeUnit.MILLISECONDS);
+		connection.connect();
+		final int sent = 300;
+		try {
+			for (int i = 0; i < sent; i++) {
+				if (i % 2 == 0) {
+					connection.sendMavMessage(new msg_param_request_read());
+				} else {
+					connection.sendMavPacket(new msg_param_request_read().pack());
+				}
+				Thread.sleep(1);
+			}
+
+			// Stops the requests, and waits for the last packets to be sent.
+			connection.setClockSyncPeriod(0, TimeUnit.MILLISECONDS);
+			int count;
+			do {
+				count = connection.sentSeqs.size();
+				Thread.sleep(100);
+			} while (connection.sentSeqs.size() > count);
+		} finally {
+			connection.disconnect();
+		}
+
+		// Interleaved with the requests, and the sequence doesn't skip any
+		// number, so the vehicle doesn't count any packet as lost: each
+		// number was used as many times as the others, or once more.
+		final List<Integer> seqs = new ArrayList<>(connection.sentSeqs);
+		assertTrue(seqs.size() > sent);
+		final int[] counts = new int[256];
+		for (int seq : seqs) {
+			counts[seq]++;
+		}
+		for (int seq = 0; seq < counts.length; seq++) {
+			assertEquals(seqs.size() / 256 + (seq < seqs.size() % 256 ? 1 : 0), counts[seq]);
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import org.droidplanner.core.model.Logger;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.Pipe;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class MavLinkEventLoopTest extends TestCase {
+
+	/**
+	 * Records the errors logged.
+	 */
+	private static class ErrorsLogger implements Logger {
+
+		final LinkedBlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+
+		@Override
+		public void logVerbose(String logTag, String verbose) {
+		}
+
+		@Override
+		public void logDebug(String logTag, String debug) {
+		}
+
+		@Override
+		public void logInfo(String logTag, String info) {
+		}
+
+		@Override
+		public void logWarning(String logTag, String warning) {
+		}
+
+		@Override
+		public void logWarning(String logTag, Exception exception) {
+		}
+
+		@Override
+		public void logWarning(String logTag, String warning, Exception exception) {
+		}
+
+		@Override
+		public void logErr(String logTag, String err) {
+		}
+
+		@Override
+		public void logErr(String logTag, Exception exception) {
+			errors.offer(exception);
+		}
+
+		@Override
+		public void logErr(String logTag, String err, Exception exception) {
+			errors.offer(exception);
+		}
+	}
+
+	/**
+	 * Handler reading the bytes of a pipe, failing on the bytes asked to.
+	 */
+	private static class PipeHandler implements MavLinkEventLoop.Handler {
+
+		final Pipe.SourceChannel source;
+		final LinkedBlockingQueue<Byte> read = new LinkedBlockingQueue<>();
+		final LinkedBlockingQueue<IOException> errors = new LinkedBlockingQueue<>();
+		final LinkedBlockingQueue<Boolean> writable = new LinkedBlockingQueue<>();
+		private final ByteBuffer buffer = ByteBuffer.allocate(16);
+
+		PipeHandler(Pipe.SourceChannel source) {
+			this.source = source;
+		}
+
+		@Override
+		public void onReadable() throws IOException {
+			buffer.clear();
+			source.read(buffer);
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				final byte value = buffer.get();
+				if (value < 0) {
+					throw new IllegalStateException("Failed on " + value);
+				}
+				read.offer(value);
+			}
+		}
+
+		@Override
+		public void onWritable() {
+			writable.offer(true);
+		}
+
+		@Override
+		public void onError(IOException e) {
+			errors.offer(e);
+		}
+	}
+
+	private final ErrorsLogger logger = new ErrorsLogger();
+	private MavLinkEventLoop loop;
+
+	@Override
+	protected void setUp() throws Exception {
+		loop = new MavLinkEventLoop("MavLinkEventLoopTest");
+		loop.setLogger(logger);
+	}
+
+	/**
+	 * @return the value set by the task, once the loop ran it.
+	 */
+	private static <T> T runOn(MavLinkEventLoop loop, final T value) throws InterruptedException {
+		final LinkedBlockingQueue<T> done = new LinkedBlockingQueue<>();
+		loop.execute(new Runnable() {
+			@Override
+			public void run() {
+				done.offer(value);
+			}
+		});
+		return done.poll(5, TimeUnit.SECONDS);
+	}
+
+	public void testTasksRunInOrderOnTheLoopThread() throws InterruptedException {
+		final LinkedBlockingQueue<Integer> ran = new LinkedBlockingQueue<>();
+		for (int i = 0; i < 10; i++) {
+			final int index = i;
+			loop.execute(new Runnable() {
+				@Override
+				public void run() {
+					ran.offer(loop.inEventLoop() ? index : -1);
+				}
+			});
+		}
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(Integer.valueOf(i), ran.poll(5, TimeUnit.SECONDS));
+		}
+		assertFalse(loop.inEventLoop());
+	}
+
+	public void testScheduledTasksRunOnceDue() throws InterruptedException {
+		final LinkedBlockingQueue<Long> ran = new LinkedBlockingQueue<>();
+		final long start = System.nanoTime();
+		for (final long delay : new long[]{60, 20}) {
+			loop.schedule(new Runnable() {
+				@Override
+				public void run() {
+					ran.offer(delay);
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+
+		assertEquals(Long.valueOf(20), ran.poll(5, TimeUnit.SECONDS));
+		assertEquals(Long.valueOf(60), ran.poll(5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(60));
+	}
+
+	public void testFailingTasksDontStopTheLoop() throws InterruptedException {
+		final RuntimeException failure = new IllegalStateException("Task failed.");
+		final Runnable failing = new Runnable() {
+			@Override
+			public void run() {
+				throw failure;
+			}
+		};
+		loop.execute(failing);
+		loop.schedule(failing, 10, TimeUnit.MILLISECONDS);
+
+		assertSame(failure, logger.errors.poll(5, TimeUnit.SECONDS));
+		assertSame(failure, logger.errors.poll(5, TimeUnit.SECONDS));
+		assertEquals("alive", runOn(loop, "alive"));
+	}
+
+	public void testRegisteredChannelIsRead() throws IOException, InterruptedException {
+		final Pipe pipe = Pipe.open();
+		final PipeHandler handler = new PipeHandler(pipe.source());
+		loop.register(pipe.source(), handler);
+
+		pipe.sink().write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+		for (int i = 1; i <= 3; i++) {
+			assertEquals(Byte.valueOf((byte) i), handler.read.poll(5, TimeUnit.SECONDS));
+		}
+
+		// Unregistered once closed.
+		pipe.source().close();
+		pipe.sink().close();
+		assertEquals("alive", runOn(loop, "alive"));
+		assertTrue(handler.errors.isEmpty());
+	}
+
+	public void testFailingHandlerIsUnregistered() throws IOException, InterruptedException {
+		final Pipe failing = Pipe.open();
+		final PipeHandler failingHandler = new PipeHandler(failing.source());
+		loop.register(failing.source(), failingHandler);
+		final Pipe other = Pipe.open();
+		final PipeHandler otherHandler = new PipeHandler(other.source());
+		loop.register(other.source(), otherHandler);
+
+		failing.sink().write(ByteBuffer.wrap(new byte[]{-1}));
+		final IOException error = failingHandler.errors.poll(5, TimeUnit.SECONDS);
+		assertNotNull(error);
+		assertTrue(error.getCause() instanceof IllegalStateException);
+		assertNotNull(logger.errors.poll(5, TimeUnit.SECONDS));
+
+		// Not selected anymore, while the other channels still are.
+		failing.sink().write(ByteBuffer.wrap(new byte[]{4}));
+		other.sink().write(ByteBuffer.wrap(new byte[]{5}));
+		assertEquals(Byte.valueOf((byte) 5), otherHandler.read.poll(5, TimeUnit.SECONDS));
+		assertTrue(failingHandler.read.isEmpty());
+	}
+
+	public void testWriteInterest() throws IOException, InterruptedException {
+		final DatagramChannel channel = DatagramChannel.open();
+		channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		final PipeHandler handler = new PipeHandler(null);
+		loop.register(channel, handler);
+		assertEquals("registered", runOn(loop, "registered"));
+		assertTrue(handler.writable.isEmpty());
+
+		loop.setWriteInterest(channel, true);
+		assertNotNull(handler.writable.poll(5, TimeUnit.SECONDS));
+
+		loop.setWriteInterest(channel, false);
+		assertEquals("unselected", runOn(loop, "unselected"));
+		handler.writable.clear();
+		assertEquals("idle", runOn(loop, "idle"));
+		assertTrue(handler.writable.isEmpty());
+		channel.close();
+	}
+}
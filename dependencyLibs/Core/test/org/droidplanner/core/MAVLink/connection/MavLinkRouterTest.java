@@ -0,0 +1,154 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_param_request_read;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport.FakeConnection;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class MavLinkRouterTest extends TestCase {
+
+	private final MavLinkRouter router = new MavLinkRouter();
+	private FakeConnection vehicle;
+	private FakeConnection gcs;
+	private FakeConnection companion;
+
+	@Override
+	protected void setUp() throws Exception {
+		vehicle = connect();
+		gcs = connect();
+		companion = connect();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		vehicle.disconnect();
+		gcs.disconnect();
+		companion.disconnect();
+	}
+
+	private FakeConnection connect() throws InterruptedException {
+		FakeConnection connection = new FakeConnection();
+		router.addLink(connection);
+		connection.connect();
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (connection.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, connection.getConnectionStatus());
+		return connection;
+	}
+
+	private static byte[] frame(MAVLinkMessage message, int sysid, int compid, boolean isMavlink2) {
+		MAVLinkPacket packet = message.pack();
+		packet.sysid = sysid;
+		packet.compid = compid;
+		packet.isMavlink2 = isMavlink2;
+		return packet.encodePacket();
+	}
+
+	private static byte[] heartbeat(int sysid, int compid) {
+		return frame(new msg_heartbeat(), sysid, compid, false);
+	}
+
+	private static byte[] command(int sysid, int targetSystem, int targetComponent) {
+		msg_command_long command = new msg_command_long();
+		command.command = 400;
+		command.target_system = (byte) targetSystem;
+		command.target_component = (byte) targetComponent;
+		return frame(command, sysid, 190, true);
+	}
+
+	/**
+	 * Makes each link heard its sender, and checks the heartbeats are
+	 * broadcast to the other links.
+	 */
+	private void announceSystems() throws InterruptedException {
+		byte[] vehicleHeartbeat = heartbeat(1, 1);
+		vehicle.reads.offer(vehicleHeartbeat);
+		assertTrue(Arrays.equals(vehicleHeartbeat, gcs.awaitSent()));
+		assertTrue(Arrays.equals(vehicleHeartbeat, companion.awaitSent()));
+
+		gcs.reads.offer(heartbeat(255, 190));
+		assertNotNull(vehicle.awaitSent());
+		assertNotNull(companion.awaitSent());
+
+		companion.reads.offer(heartbeat(2, 191));
+		assertNotNull(vehicle.awaitSent());
+		assertNotNull(gcs.awaitSent());
+
+		assertTrue(router.hasSystem(vehicle, 1));
+		assertFalse(router.hasSystem(gcs, 1));
+	}
+
+	public void testBroadcastFramesAreForwardedAsReceived() throws InterruptedException {
+		announceSystems();
+
+		// A MAVLink 2 frame, truncated, is forwarded as is.
+		msg_param_request_read request = new msg_param_request_read();
+		request.param_index = -1;
+		byte[] broadcast = frame(request, 255, 190, true);
+		gcs.reads.offer(broadcast);
+		assertTrue(Arrays.equals(broadcast, vehicle.awaitSent()));
+		assertTrue(Arrays.equals(broadcast, companion.awaitSent()));
+
+		// Never sent back to its link.
+		assertTrue(gcs.sent.isEmpty());
+		assertEquals(8, router.getForwardedCount());
+	}
+
+	public void testTargetedFramesAreRoutedToTheirSystem() throws InterruptedException {
+		announceSystems();
+
+		// The component 0 targets all the components of the system.
+		byte[] toVehicle = command(255, 1, 1);
+		gcs.reads.offer(toVehicle);
+		gcs.reads.offer(command(255, 1, 0));
+		assertTrue(Arrays.equals(toVehicle, vehicle.awaitSent()));
+		assertNotNull(vehicle.awaitSent());
+
+		// Unknown systems and components aren't forwarded.
+		gcs.reads.offer(command(255, 1, 5));
+		gcs.reads.offer(command(255, 7, 1));
+		// The frames of a link are forwarded in order, so the ones above
+		// would be sent before this one.
+		byte[] marker = heartbeat(255, 190);
+		gcs.reads.offer(marker);
+		assertTrue(Arrays.equals(marker, vehicle.awaitSent()));
+		assertTrue(Arrays.equals(marker, companion.awaitSent()));
+		assertEquals(2, router.getUnroutableCount());
+
+		// The replies only go back to the sender.
+		companion.reads.offer(command(1, 255, 190));
+		marker = heartbeat(1, 1);
+		companion.reads.offer(marker);
+		assertTrue(Arrays.equals(command(1, 255, 190), gcs.awaitSent()));
+		assertTrue(Arrays.equals(marker, gcs.awaitSent()));
+		assertTrue(Arrays.equals(marker, vehicle.awaitSent()));
+	}
+
+	public void testRemovedLinkIsNotRouted() throws InterruptedException {
+		announceSystems();
+
+		router.removeLink(companion);
+		assertNull(companion.getFrameListener());
+		assertEquals(2, router.getLinksCount());
+
+		companion.reads.offer(heartbeat(2, 191));
+		byte[] toCompanion = command(255, 2, 191);
+		gcs.reads.offer(toCompanion);
+		byte[] marker = heartbeat(255, 190);
+		gcs.reads.offer(marker);
+		assertTrue(Arrays.equals(marker, vehicle.awaitSent()));
+		assertTrue(vehicle.sent.isEmpty());
+		assertTrue(companion.sent.isEmpty());
+		assertEquals(1, router.getUnroutableCount());
+	}
+}
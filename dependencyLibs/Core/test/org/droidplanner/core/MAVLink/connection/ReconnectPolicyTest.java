@@ -0,0 +1,177 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_heartbeat;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport.FakeConnection;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class ReconnectPolicyTest extends TestCase {
+
+	private static class CountingListener implements MavLinkConnectionListener {
+
+		int startingConnections;
+		int connects;
+		int restores;
+		int receivedPackets;
+		int disconnects;
+		int comErrors;
+
+		@Override
+		public synchronized void onStartingConnection() {
+			startingConnections++;
+		}
+
+		@Override
+		public synchronized void onConnect(long connectionTime) {
+			connects++;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onLinkRestored(long restoredTime) {
+			restores++;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onReceivePacket(MAVLinkPacket packet) {
+			receivedPackets++;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onDisconnect(long disconnectionTime) {
+			disconnects++;
+			notifyAll();
+		}
+
+		@Override
+		public synchronized void onComError(String errMsg) {
+			comErrors++;
+		}
+
+		synchronized void awaitConnects(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (connects < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+
+		synchronized void awaitRestores(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (restores < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+
+		synchronized void awaitReceivedPackets(int count) throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (receivedPackets < count && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+
+		synchronized void awaitDisconnect() throws InterruptedException {
+			final long deadline = System.currentTimeMillis() + 5000;
+			while (disconnects == 0 && System.currentTimeMillis() < deadline) {
+				wait(100);
+			}
+		}
+	}
+
+	private static FakeConnection connect(ReconnectPolicy policy, CountingListener listener)
+			throws InterruptedException {
+		FakeConnection connection = new FakeConnection();
+		connection.setReconnectPolicy(policy);
+		connection.addMavLinkConnectionListener("test", listener);
+		connection.connect();
+		listener.awaitConnects(1);
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, connection.getConnectionStatus());
+		return connection;
+	}
+
+	public void testBackoff() {
+		ReconnectPolicy policy = new ReconnectPolicy(100, 1000, 30, TimeUnit.SECONDS);
+
+		assertEquals(100000, policy.getDelayMillis(0));
+		assertEquals(200000, policy.getDelayMillis(1));
+		assertEquals(800000, policy.getDelayMillis(3));
+		assertEquals(1000000, policy.getDelayMillis(4));
+		assertEquals(1000000, policy.getDelayMillis(Integer.MAX_VALUE));
+		assertEquals(30000, policy.getTimeoutMillis());
+
+		try {
+			new ReconnectPolicy(100, 50, 1000, TimeUnit.MILLISECONDS);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// Expected.
+		}
+	}
+
+	public void testLinkReopenedWithoutDisconnect() throws InterruptedException {
+		CountingListener listener = new CountingListener();
+		FakeConnection connection = connect(new ReconnectPolicy(10, 40, 5000, TimeUnit.MILLISECONDS), listener);
+		MAVLinkPacket heartbeat = new msg_heartbeat().pack();
+		heartbeat.isMavlink2 = true;
+		connection.reads.offer(heartbeat.encodePacket());
+		listener.awaitReceivedPackets(1);
+
+		// The link drops, then is refused twice before it's back.
+		connection.refusedOpens.set(2);
+		connection.reads.offer(new IOException("Connection reset."));
+		listener.awaitRestores(1);
+
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, connection.getConnectionStatus());
+		assertEquals(4, connection.opens.get());
+		// Restored, not connected again.
+		assertEquals(1, listener.connects);
+		assertEquals(1, listener.restores);
+		assertEquals(2, listener.startingConnections);
+		assertEquals(0, listener.disconnects);
+		assertEquals(0, listener.comErrors);
+
+		// The reopened link is read, and keeps its stats and its MAVLink
+		// version.
+		heartbeat.seq = 1;
+		connection.reads.offer(heartbeat.encodePacket());
+		listener.awaitReceivedPackets(2);
+		assertEquals(2, listener.receivedPackets);
+		assertEquals(2, connection.getStatistics().getReceivedCount());
+		connection.sendMavMessage(new msg_heartbeat());
+		assertEquals(MAVLinkPacket.MAVLINK_STX_MAVLINK2, connection.awaitSent()[0] & 0xFF);
+
+		connection.disconnect();
+		assertEquals(1, listener.disconnects);
+	}
+
+	public void testLinkGivenUp() throws InterruptedException {
+		CountingListener listener = new CountingListener();
+		FakeConnection connection = connect(new ReconnectPolicy(10, 20, 200, TimeUnit.MILLISECONDS), listener);
+
+		connection.refusedOpens.set(Integer.MAX_VALUE);
+		connection.reads.offer(new IOException("Connection reset."));
+		listener.awaitDisconnect();
+
+		assertEquals(MavLinkConnection.MAVLINK_DISCONNECTED, connection.getConnectionStatus());
+		assertEquals(1, listener.disconnects);
+		assertEquals(1, listener.comErrors);
+		assertTrue(connection.opens.get() > 2);
+	}
+
+	public void testDisconnectedWithoutPolicy() throws InterruptedException {
+		CountingListener listener = new CountingListener();
+		FakeConnection connection = connect(null, listener);
+
+		connection.reads.offer(new IOException("Connection reset."));
+		listener.awaitDisconnect();
+
+		assertEquals(MavLinkConnection.MAVLINK_DISCONNECTED, connection.getConnectionStatus());
+		assertEquals(1, connection.opens.get());
+		assertEquals(1, listener.disconnects);
+	}
+}
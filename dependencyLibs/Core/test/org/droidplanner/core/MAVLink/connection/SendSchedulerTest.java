@@ -0,0 +1,202 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_mission_item;
+import com.MAVLink.common.msg_param_request_read;
+import com.MAVLink.common.msg_rc_channels_override;
+import com.MAVLink.common.msg_set_position_target_global_int;
+import com.MAVLink.enums.MAV_CMD;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class SendSchedulerTest extends TestCase {
+
+	private static byte[] frame(MAVLinkMessage message, boolean isMavlink2) {
+		MAVLinkPacket packet = message.pack();
+		packet.isMavlink2 = isMavlink2;
+		return packet.encodePacket();
+	}
+
+	private static byte[] command(int command) {
+		msg_command_long msg = new msg_command_long();
+		msg.command = (short) command;
+		msg.target_system = 1;
+		msg.target_component = 1;
+		return frame(msg, false);
+	}
+
+	private static byte[] rcOverride(int targetSystem, int chan1) {
+		msg_rc_channels_override msg = new msg_rc_channels_override();
+		msg.target_system = (byte) targetSystem;
+		msg.chan1_raw = (short) chan1;
+		return frame(msg, false);
+	}
+
+	private static byte[] missionItem(int seq, int current) {
+		msg_mission_item msg = new msg_mission_item();
+		msg.seq = (short) seq;
+		msg.current = (byte) current;
+		msg.target_system = 1;
+		return frame(msg, false);
+	}
+
+	private static byte[][] drain(SendScheduler scheduler) {
+		byte[][] frames = new byte[16][];
+		return Arrays.copyOf(frames, scheduler.drainTo(frames, 0));
+	}
+
+	public void testClassification() {
+		assertEquals(SendScheduler.Priority.CRITICAL, SendScheduler.getPriority(command(MAV_CMD
+				.MAV_CMD_COMPONENT_ARM_DISARM)));
+		assertEquals(SendScheduler.Priority.CONTROL, SendScheduler.getPriority(command(MAV_CMD.MAV_CMD_DO_SET_ROI)));
+		assertEquals(SendScheduler.Priority.CONTROL, SendScheduler.getPriority(missionItem(0, 2)));
+		assertEquals(SendScheduler.Priority.BULK, SendScheduler.getPriority(missionItem(0, 0)));
+		assertEquals(SendScheduler.Priority.BULK, SendScheduler.getPriority(frame(new msg_param_request_read(),
+				false)));
+		assertEquals(SendScheduler.Priority.DEFAULT, SendScheduler.getPriority(frame(new msg_attitude(), false)));
+
+		assertEquals(-1, SendScheduler.getSupersessionKey(command(MAV_CMD.MAV_CMD_COMPONENT_ARM_DISARM)));
+		assertEquals(-1, SendScheduler.getSupersessionKey(missionItem(0, 0)));
+		assertTrue(SendScheduler.getSupersessionKey(rcOverride(1, 1500)) != SendScheduler
+				.getSupersessionKey(rcOverride(2, 1500)));
+
+		MAVLinkPacket heartbeat = new msg_heartbeat().pack();
+		long key = SendScheduler.getSupersessionKey(heartbeat.encodePacket());
+		assertEquals(key, SendScheduler.getSupersessionKey(new msg_heartbeat().pack().encodePacket()));
+		heartbeat.sysid = 1;
+		assertTrue(key != SendScheduler.getSupersessionKey(heartbeat.encodePacket()));
+	}
+
+	/**
+	 * MAVLink 2 frames have their trailing zero bytes truncated, so the
+	 * fields past the payload read as 0.
+	 */
+	public void testClassificationOfMavlink2Frames() {
+		msg_command_long roi = new msg_command_long();
+		roi.command = (short) MAV_CMD.MAV_CMD_DO_SET_ROI;
+		byte[] v1 = frame(roi, false);
+		byte[] v2 = frame(roi, true);
+		// Payload lengths.
+		assertTrue(v2[1] < v1[1]);
+
+		assertEquals(SendScheduler.Priority.CONTROL, SendScheduler.getPriority(v2));
+		assertEquals(SendScheduler.getSupersessionKey(v1), SendScheduler.getSupersessionKey(v2));
+		assertEquals(SendScheduler.Priority.CRITICAL, SendScheduler.getPriority(frame(new msg_heartbeat(), true)));
+	}
+
+	public void testHighestPriorityFirst() {
+		SendScheduler scheduler = new SendScheduler("test");
+		byte[] param = frame(new msg_param_request_read(), false);
+		byte[] attitude = frame(new msg_attitude(), false);
+		byte[] arm = command(MAV_CMD.MAV_CMD_COMPONENT_ARM_DISARM);
+		byte[] rc = rcOverride(1, 1500);
+
+		scheduler.offer(param);
+		scheduler.offer(attitude);
+		scheduler.offer(rc);
+		scheduler.offer(arm);
+
+		byte[][] frames = drain(scheduler);
+		assertEquals(4, frames.length);
+		assertSame(arm, frames[0]);
+		assertSame(rc, frames[1]);
+		assertSame(attitude, frames[2]);
+		assertSame(param, frames[3]);
+		assertTrue(scheduler.isEmpty());
+	}
+
+	public void testSupersession() {
+		SendScheduler scheduler = new SendScheduler("test");
+		scheduler.offer(rcOverride(1, 1100));
+		scheduler.offer(rcOverride(2, 1200));
+		byte[] latest = rcOverride(1, 1300);
+		scheduler.offer(latest);
+
+		// A guided mission item and a position target replace each other.
+		msg_set_position_target_global_int target = new msg_set_position_target_global_int();
+		target.target_system = 1;
+		scheduler.offer(frame(target, false));
+		byte[] guided = missionItem(0, 2);
+		scheduler.offer(guided);
+
+		// Mission items are all sent.
+		scheduler.offer(missionItem(1, 0));
+		scheduler.offer(missionItem(2, 0));
+
+		byte[][] frames = drain(scheduler);
+		assertEquals(5, frames.length);
+		assertSame(latest, frames[0]);
+		assertEquals(rcOverride(2, 1200).length, frames[1].length);
+		assertSame(guided, frames[2]);
+
+		FrameRing.Metrics superseded = scheduler.getMetrics().get(SendScheduler.Priority.values().length);
+		assertEquals(2, superseded.getDroppedCount());
+		assertEquals(0, superseded.getDepth());
+		assertTrue(scheduler.isEmpty());
+	}
+
+	public void testClassSentInQueuedOrder() {
+		SendScheduler scheduler = new SendScheduler("test");
+		byte[] arm = command(MAV_CMD.MAV_CMD_COMPONENT_ARM_DISARM);
+		byte[] takeoff = command(MAV_CMD.MAV_CMD_NAV_TAKEOFF);
+		scheduler.offer(arm);
+		scheduler.offer(frame(new msg_heartbeat(), false));
+		scheduler.offer(takeoff);
+
+		// Keeps the place of the heartbeat it supersedes.
+		byte[] heartbeat = frame(new msg_heartbeat(), false);
+		scheduler.offer(heartbeat);
+
+		byte[][] frames = drain(scheduler);
+		assertEquals(3, frames.length);
+		assertSame(arm, frames[0]);
+		assertSame(heartbeat, frames[1]);
+		assertSame(takeoff, frames[2]);
+
+		// The slots are served in the order they were filled, not created.
+		scheduler.offer(rcOverride(1, 1100));
+		drain(scheduler);
+		byte[] second = rcOverride(2, 1200);
+		byte[] first = rcOverride(1, 1300);
+		scheduler.offer(second);
+		scheduler.offer(first);
+
+		frames = drain(scheduler);
+		assertEquals(2, frames.length);
+		assertSame(second, frames[0]);
+		assertSame(first, frames[1]);
+		assertTrue(scheduler.isEmpty());
+	}
+
+	public void testPacing() throws InterruptedException {
+		final int linkCapacity = 10000;
+		SendScheduler scheduler = new SendScheduler("test");
+		scheduler.setLinkCapacity(linkCapacity);
+
+		byte[] param = frame(new msg_param_request_read(), false);
+		for (int i = 0; i < 1000; i++) {
+			scheduler.offer(param);
+		}
+
+		long start = System.nanoTime();
+		long bytes = 0;
+		byte[][] frames = new byte[16][];
+		while (System.nanoTime() - start < 200000000L) {
+			int count = scheduler.drainTo(frames, 0);
+			if (count == 0) {
+				scheduler.awaitFrames();
+			}
+			bytes += count * param.length;
+		}
+
+		double elapsed = (System.nanoTime() - start) / 1E9;
+		assertTrue("Sent " + bytes + " bytes", bytes <= linkCapacity * (elapsed + 0.05) + param.length);
+		assertTrue("Sent " + bytes + " bytes", bytes >= linkCapacity * elapsed / 2);
+	}
+}
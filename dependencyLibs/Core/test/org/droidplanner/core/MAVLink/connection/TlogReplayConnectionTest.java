@@ -0,0 +1,268 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkEncoder;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_heartbeat;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+import org.droidplanner.core.MAVLink.MavLinkTestSupport;
+import org.droidplanner.core.model.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class TlogReplayConnectionTest extends TestCase {
+
+	private static final long START_MICROS = 1400000000000000L;
+	private static final long TICK_MICROS = 100000;
+
+	/**
+	 * Ticks logged: a heartbeat of the vehicle each, and a heartbeat of the
+	 * ground station every 5 ticks, but in the link outage.
+	 */
+	private static final int TICKS = 200;
+	private static final int OUTAGE_START = 80;
+	private static final int OUTAGE_END = 120;
+
+	/**
+	 * Delay after which the watchdog of the vehicle reports the link lost.
+	 */
+	private static final long WATCHDOG_MILLIS = 1000;
+
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("TlogReplayConnectionTest", ".tlog");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		new File(TlogIndex.getIndexPath(file.getPath())).delete();
+	}
+
+	private static long getTime(int tick) {
+		return START_MICROS + tick * TICK_MICROS;
+	}
+
+	private static byte[] newHeartbeat(int sysid, int tick) {
+		final msg_heartbeat heartbeat = new msg_heartbeat();
+		heartbeat.custom_mode = tick;
+		final MAVLinkPacket packet = heartbeat.pack();
+		packet.sysid = sysid;
+		packet.compid = 1;
+		packet.seq = tick & 0xFF;
+		return packet.encodePacket();
+	}
+
+	private static void writeTlog(String path) throws IOException {
+		final TlogWriter writer = TlogWriter.create(path, new TlogDurability(1, TimeUnit.SECONDS, false));
+		final byte[][] batch = new byte[2][];
+		for (int tick = 0; tick < TICKS; tick++) {
+			if (tick >= OUTAGE_START && tick < OUTAGE_END) {
+				continue;
+			}
+
+			int count = 0;
+			byte[] frame = newHeartbeat(1, tick);
+			batch[count++] = TlogWriter.newRecord(getTime(tick), frame, frame.length);
+			if (tick % 5 == 0) {
+				frame = newHeartbeat(MAVLinkEncoder.GCS_SYSID, tick);
+				batch[count++] = TlogWriter.newRecord(getTime(tick), frame, frame.length);
+			}
+			writer.append(batch, count, 0);
+		}
+		writer.close();
+	}
+
+	private static class Replay extends TlogReplayConnection {
+
+		Replay(String path, ReplayClock clock) {
+			super(path, clock);
+		}
+
+		@Override
+		protected Logger initLogger() {
+			return MavLinkTestSupport.NO_LOGGER;
+		}
+	}
+
+	/**
+	 * Records the heartbeats replayed, and the timeouts of a watchdog reset
+	 * on each, as the vehicle heartbeat does, along with the time of the
+	 * replay they happened at.
+	 */
+	private static class RecordingListener implements MavLinkConnectionListener {
+
+		final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+		final List<Integer> ticks = Collections.synchronizedList(new ArrayList<Integer>());
+		private final ReplayClock clock;
+
+		private final Runnable watchdog = new Runnable() {
+			@Override
+			public void run() {
+				events.add("timeout@" + clock.getTimeMicros());
+			}
+		};
+
+		RecordingListener(ReplayClock clock) {
+			this.clock = clock;
+		}
+
+		@Override
+		public void onStartingConnection() {
+		}
+
+		@Override
+		public void onConnect(long connectionTime) {
+		}
+
+		@Override
+		public void onLinkRestored(long restoredTime) {
+		}
+
+		@Override
+		public void onReceivePacket(MAVLinkPacket packet) {
+			final int tick = ((msg_heartbeat) packet.unpack()).custom_mode;
+			ticks.add(tick);
+			events.add("heartbeat " + packet.sysid + "/" + tick + "@" + clock.getTimeMicros());
+
+			clock.removeCallbacks(watchdog);
+			clock.postDelayed(watchdog, WATCHDOG_MILLIS);
+		}
+
+		@Override
+		public void onDisconnect(long disconnectionTime) {
+		}
+
+		@Override
+		public void onComError(String errMsg) {
+		}
+	}
+
+	/**
+	 * Replays the tlog at the given speed, to its end.
+	 *
+	 * @return the events recorded meanwhile.
+	 */
+	private static List<String> replay(String path, double speed) throws InterruptedException {
+		final ReplayClock clock = new ReplayClock();
+		final Replay replay = new Replay(path, clock);
+		final RecordingListener listener = new RecordingListener(clock);
+		replay.setSpeed(speed);
+		replay.addMavLinkConnectionListener("test", listener);
+		replay.connect();
+		try {
+			assertTrue(replay.awaitEnd(10, TimeUnit.SECONDS));
+		} finally {
+			replay.disconnect();
+		}
+		return new ArrayList<>(listener.events);
+	}
+
+	private static void checkReplayed(List<String> events) {
+		final List<String> expected = new ArrayList<>();
+		for (int tick = 0; tick < TICKS; tick++) {
+			if (tick < OUTAGE_START || tick >= OUTAGE_END) {
+				expected.add("heartbeat 1/" + tick + "@" + getTime(tick));
+			}
+			if (tick == OUTAGE_START) {
+				// Fired in the outage, a second after the last heartbeat.
+				expected.add("timeout@" + (getTime(OUTAGE_START - 1) + WATCHDOG_MILLIS * 1000));
+			}
+		}
+		assertEquals(expected, events);
+	}
+
+	public void testReplaysVehicleFramesAsFastAsHandled() throws Exception {
+		writeTlog(file.getPath());
+		checkReplayed(replay(file.getPath(), TlogReplayConnection.MAX_SPEED));
+	}
+
+	public void testReplaysCompressedTlog() throws Exception {
+		final File compressed = File.createTempFile("TlogReplayConnectionTest", CompressedTlog.FILE_EXTENSION);
+		try {
+			writeTlog(compressed.getPath());
+			checkReplayed(replay(compressed.getPath(), TlogReplayConnection.MAX_SPEED));
+		} finally {
+			compressed.delete();
+		}
+	}
+
+	public void testReplaysSameEventsAtAnySpeed() throws Exception {
+		writeTlog(file.getPath());
+		final List<String> fastest = replay(file.getPath(), TlogReplayConnection.MAX_SPEED);
+		assertEquals(fastest, replay(file.getPath(), TlogReplayConnection.MAX_SPEED));
+		assertEquals(fastest, replay(file.getPath(), 200));
+	}
+
+	public void testPacesReplay() throws Exception {
+		writeTlog(file.getPath());
+		// 20s of flight at 20 times its pace.
+		final long start = System.nanoTime();
+		replay(file.getPath(), 20);
+		final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		assertTrue(elapsedMillis + "ms", elapsedMillis >= 900 && elapsedMillis < 3000);
+	}
+
+	public void testPausesAndSeeks() throws Exception {
+		writeTlog(file.getPath());
+		final ReplayClock clock = new ReplayClock();
+		final Replay replay = new Replay(file.getPath(), clock);
+		final RecordingListener listener = new RecordingListener(clock);
+		replay.setSpeed(5);
+		replay.addMavLinkConnectionListener("test", listener);
+		replay.connect();
+		try {
+			while (listener.ticks.size() < 5) {
+				Thread.sleep(10);
+			}
+
+			replay.pause();
+			assertTrue(replay.isPaused());
+			// The heartbeat being replayed may still be handled.
+			Thread.sleep(100);
+			final int paused = listener.ticks.size();
+			Thread.sleep(300);
+			assertEquals(paused, listener.ticks.size());
+			assertFalse(replay.isAtEnd());
+
+			replay.seek(getTime(150));
+			replay.setSpeed(TlogReplayConnection.MAX_SPEED);
+			replay.resume();
+			assertTrue(replay.awaitEnd(10, TimeUnit.SECONDS));
+			assertEquals(getTime(TICKS - 1), replay.getReplayTime());
+
+			final List<Integer> ticks = listener.ticks;
+			for (int i = 0; i < paused; i++) {
+				assertEquals(i, (int) ticks.get(i));
+			}
+			for (int i = paused; i < ticks.size(); i++) {
+				assertEquals(150 + i - paused, (int) ticks.get(i));
+			}
+			assertEquals(paused + TICKS - 150, ticks.size());
+
+			// Back to the start, once at the end. Paused meanwhile, so it
+			// doesn't get to the end again before it's checked.
+			replay.pause();
+			replay.seek(getTime(0));
+			assertFalse(replay.isAtEnd());
+			replay.resume();
+			assertTrue(replay.awaitEnd(10, TimeUnit.SECONDS));
+			assertEquals(paused + TICKS - 150 + TICKS - (OUTAGE_END - OUTAGE_START), ticks.size());
+		} finally {
+			replay.disconnect();
+		}
+		assertEquals(0, replay.getDroppedSentCount());
+	}
+}
@@ -0,0 +1,123 @@
+package org.droidplanner.core.MAVLink.connection;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport;
+import org.droidplanner.core.model.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class UdpConnectionTest extends TestCase {
+
+	private static class LoopbackUdpConnection extends UdpConnection {
+
+		private final int port;
+
+		LoopbackUdpConnection(int port) {
+			this.port = port;
+		}
+
+		@Override
+		protected Logger initLogger() {
+			return MavLinkTestSupport.NO_LOGGER;
+		}
+
+		@Override
+		protected int loadServerPort() {
+			return port;
+		}
+	}
+
+	private static class ReceivingListener implements MavLinkConnectionListener {
+
+		/**
+		 * Boot times of the attitudes received, as the packets are recycled
+		 * once dispatched.
+		 */
+		final LinkedBlockingQueue<Long> received = new LinkedBlockingQueue<>();
+		final LinkedBlockingQueue<Long> connects = new LinkedBlockingQueue<>();
+
+		@Override
+		public void onStartingConnection() {
+		}
+
+		@Override
+		public void onConnect(long connectionTime) {
+			connects.offer(connectionTime);
+		}
+
+		@Override
+		public void onLinkRestored(long restoredTime) {
+		}
+
+		@Override
+		public void onReceivePacket(MAVLinkPacket packet) {
+			received.offer((long) ((msg_attitude) packet.unpack()).time_boot_ms);
+		}
+
+		@Override
+		public void onDisconnect(long disconnectionTime) {
+		}
+
+		@Override
+		public void onComError(String errMsg) {
+		}
+	}
+
+	private int port;
+	private DatagramSocket peer;
+	private LoopbackUdpConnection connection;
+	private final ReceivingListener listener = new ReceivingListener();
+
+	@Override
+	protected void setUp() throws Exception {
+		final DatagramSocket probe = new DatagramSocket(0);
+		port = probe.getLocalPort();
+		probe.close();
+
+		connection = new LoopbackUdpConnection(port);
+		connection.addMavLinkConnectionListener("test", listener);
+		connection.connect();
+		assertNotNull(listener.connects.poll(5, TimeUnit.SECONDS));
+		peer = new DatagramSocket();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		peer.close();
+		connection.disconnect();
+	}
+
+	private void send(byte[] datagram) throws Exception {
+		peer.send(new DatagramPacket(datagram, datagram.length, InetAddress.getLoopbackAddress(), port));
+	}
+
+	public void testDatagramLargerThanTheReadBlockIsReadWhole() throws Exception {
+		// Several read blocks, with the last frame ending the datagram.
+		final ByteArrayOutputStream datagram = new ByteArrayOutputStream();
+		for (int i = 0; i < 300; i++) {
+			final msg_attitude attitude = new msg_attitude();
+			attitude.time_boot_ms = i;
+			final MAVLinkPacket packet = attitude.pack();
+			packet.seq = i & 0xFF;
+			final byte[] frame = packet.encodePacket();
+			datagram.write(frame, 0, frame.length);
+		}
+		send(datagram.toByteArray());
+
+		// Without another datagram to wake the event loop up.
+		for (int i = 0; i < 300; i++) {
+			final Long bootTime = listener.received.poll(5, TimeUnit.SECONDS);
+			assertNotNull("Frame " + i + " not received.", bootTime);
+			assertEquals(i, bootTime.longValue());
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_statustext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import junit.framework.TestCase;
+
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.getTime;
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.newFrame;
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.readFile;
+
+public class CompressedTlogTest extends TestCase {
+
+	/**
+	 * Records logged, one every ms: an attitude, or a heartbeat every 10
+	 * records, or a status text every 100 records.
+	 */
+	private static final int RECORDS = 5000;
+
+	/**
+	 * Size of the blocks, holding a few hundred records.
+	 */
+	private static final int BLOCK_SIZE = 8192;
+
+	private File file;
+	private File plainFile;
+	private File exportFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("CompressedTlogTest", CompressedTlog.FILE_EXTENSION);
+		plainFile = File.createTempFile("CompressedTlogTest", ".tlog");
+		exportFile = File.createTempFile("CompressedTlogTest", ".tlog");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		for (File tlog : new File[]{plainFile, exportFile}) {
+			tlog.delete();
+			new File(TlogIndex.getIndexPath(tlog.getPath())).delete();
+		}
+	}
+
+	/**
+	 * Logs the records through the given writer.
+	 */
+	private static void write(TlogWriter writer) throws IOException {
+		final byte[][] batch = new byte[10][];
+		for (int i = 0; i < RECORDS; i += batch.length) {
+			for (int j = 0; j < batch.length; j++) {
+				final byte[] frame = newFrame(i + j);
+				batch[j] = TlogWriter.newRecord(getTime(i + j), frame, frame.length);
+			}
+			writer.append(batch, batch.length, 0);
+		}
+		writer.close();
+	}
+
+	private CompressedTlogReader writeCompressedTlog() throws IOException {
+		write(new CompressedTlogWriter(file.getPath(), new TlogDurability(1, TimeUnit.SECONDS, false), BLOCK_SIZE,
+				Deflater.BEST_SPEED));
+		return CompressedTlogReader.open(file.getPath());
+	}
+
+	public void testWriterIsPickedByExtension() {
+		final TlogDurability durability = TlogDurability.DEFAULT;
+		assertTrue(TlogWriter.create(file.getPath(), durability) instanceof CompressedTlogWriter);
+		assertFalse(TlogWriter.create(plainFile.getPath(), durability) instanceof CompressedTlogWriter);
+	}
+
+	public void testExportIsIdenticalToThePlainTlog() throws IOException {
+		final CompressedTlogReader reader = writeCompressedTlog();
+		write(new TlogWriter(plainFile.getPath(), new TlogDurability(1, TimeUnit.SECONDS, false)));
+
+		assertTrue(reader.getBlocksCount() > 1);
+		assertEquals(RECORDS, reader.getRecordsCount());
+		assertEquals(plainFile.length(), reader.getRawLength());
+		assertTrue(file.length() < plainFile.length() / 2);
+
+		reader.exportTo(exportFile.getPath());
+		assertTrue(Arrays.equals(readFile(plainFile), readFile(exportFile)));
+		assertEquals(RECORDS, TlogReader.open(exportFile.getPath()).getRecordsCount());
+	}
+
+	public void testCursorIteratesOverAllRecords() throws IOException {
+		final CompressedTlogReader reader = writeCompressedTlog();
+
+		final CompressedTlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+		final byte[] buffer = new byte[300];
+		int count = 0;
+		while (cursor.next()) {
+			final byte[] frame = newFrame(count);
+			assertEquals(getTime(count), cursor.getTime());
+			assertEquals(frame[5] & 0xFF, cursor.getMsgId());
+			assertEquals(ByteBuffer.wrap(frame), cursor.getFrame());
+			assertEquals(frame.length, cursor.readFrame(buffer));
+			assertTrue(Arrays.equals(frame, Arrays.copyOf(buffer, frame.length)));
+			count++;
+		}
+		assertEquals(RECORDS, count);
+		assertFalse(cursor.next());
+	}
+
+	public void testSeeksToTimeWithoutDecompressingTheBlocksBefore() throws IOException {
+		final CompressedTlogReader reader = writeCompressedTlog();
+
+		assertEquals(0, reader.seek(0));
+		assertEquals(reader.getBlocksCount(), reader.seek(Long.MAX_VALUE));
+		final int block = reader.seek(getTime(3000));
+		assertTrue(reader.getFirstTime(block) <= getTime(3000));
+		assertTrue(reader.getLastTime(block) >= getTime(3000));
+
+		final CompressedTlogReader.Cursor cursor = reader.newCursor(getTime(3000), getTime(3001));
+		assertTrue(cursor.next());
+		assertEquals(block, cursor.getBlock());
+		assertEquals(getTime(3000), cursor.getTime());
+		assertFalse(cursor.next());
+	}
+
+	public void testCursorIteratesOverTypesInTimeRange() throws IOException {
+		final CompressedTlogReader reader = writeCompressedTlog();
+		final TlogReader plainReader;
+		write(new TlogWriter(plainFile.getPath(), new TlogDurability(1, TimeUnit.SECONDS, false)));
+		plainReader = TlogReader.open(plainFile.getPath());
+
+		final long from = getTime(1250);
+		final long to = getTime(3450);
+		final CompressedTlogReader.Cursor cursor = reader.newCursor(from, to,
+				msg_statustext.MAVLINK_MSG_ID_STATUSTEXT, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+		final TlogReader.Cursor expected = plainReader.newCursor(from, to,
+				msg_statustext.MAVLINK_MSG_ID_STATUSTEXT, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+		int count = 0;
+		while (expected.next()) {
+			assertTrue(cursor.next());
+			assertEquals(expected.getTime(), cursor.getTime());
+			assertEquals(expected.getMsgId(), cursor.getMsgId());
+			assertEquals(expected.getFrame(), cursor.getFrame());
+			count++;
+		}
+		assertFalse(cursor.next());
+		assertEquals(220, count);
+	}
+
+	public void testTruncatedLastBlockIsIgnored() throws IOException {
+		final CompressedTlogReader complete = writeCompressedTlog();
+		final int blocks = complete.getBlocksCount();
+		final RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			out.setLength(file.length() - 1);
+		} finally {
+			out.close();
+		}
+
+		final CompressedTlogReader reader = CompressedTlogReader.open(file.getPath());
+		assertEquals(blocks - 1, reader.getBlocksCount());
+		int count = 0;
+		final CompressedTlogReader.Cursor cursor = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+		while (cursor.next()) {
+			count++;
+		}
+		assertEquals(reader.getRecordsCount(), count);
+		assertTrue(count < RECORDS);
+	}
+
+	public void testCorruptedBlockIsDetected() throws IOException {
+		writeCompressedTlog();
+		final RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			// In the compressed records of the first block.
+			final FileChannel channel = out.getChannel();
+			final int offset = CompressedTlog.HEADER_LENGTH + CompressedTlog.BLOCK_HEADER_LENGTH + 100;
+			final ByteBuffer data = ByteBuffer.allocate(1);
+			channel.read(data, offset);
+			data.put(0, (byte) ~data.get(0));
+			data.rewind();
+			channel.write(data, offset);
+		} finally {
+			out.close();
+		}
+
+		final CompressedTlogReader reader = CompressedTlogReader.open(file.getPath());
+		try {
+			reader.readBlock(0);
+			fail();
+		} catch (IOException e) {
+			// Expected.
+		}
+		// The others can still be read.
+		assertTrue(reader.readBlock(1).hasRemaining());
+	}
+
+	public void testEmptyCompressedTlog() throws IOException {
+		final TlogWriter writer = new CompressedTlogWriter(file.getPath(), TlogDurability.DEFAULT);
+		writer.close();
+		assertEquals(0, file.length());
+
+		final RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			out.writeInt(CompressedTlog.MAGIC);
+			out.writeInt(CompressedTlog.VERSION);
+		} finally {
+			out.close();
+		}
+		final CompressedTlogReader reader = CompressedTlogReader.open(file.getPath());
+		assertEquals(0, reader.getBlocksCount());
+		assertFalse(reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE).next());
+	}
+}
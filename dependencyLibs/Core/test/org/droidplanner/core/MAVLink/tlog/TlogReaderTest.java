@@ -0,0 +1,265 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_statustext;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.START_MICROS;
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.getTime;
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.newFrame;
+
+public class TlogReaderTest extends TestCase {
+
+	/**
+	 * Records logged, one every ms: an attitude, or a heartbeat every 10
+	 * records, or a status text every 100 records, all as MAVLink 1 frames
+	 * but the attitudes of odd records.
+	 */
+	private static final int RECORDS = 1000;
+
+	/**
+	 * Message id of a MAVLink 2 frame logged last, on more than 16 bits.
+	 */
+	private static final int LARGE_MSG_ID = 0x012345;
+	private static final int LARGE_MSG_ID_FRAME_LENGTH = MAVLinkPacket.MAVLINK2_HEADER_LEN + 1
+			+ MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+
+	private File file;
+	private File indexFile;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("TlogReaderTest", ".tlog");
+		indexFile = new File(TlogIndex.getIndexPath(file.getPath()));
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		indexFile.delete();
+	}
+
+	private static byte[] newLargeMsgIdFrame() {
+		final byte[] frame = new byte[LARGE_MSG_ID_FRAME_LENGTH];
+		frame[0] = (byte) MAVLinkPacket.MAVLINK_STX_MAVLINK2;
+		frame[1] = 1;
+		frame[7] = (byte) LARGE_MSG_ID;
+		frame[8] = (byte) (LARGE_MSG_ID >>> 8);
+		frame[9] = (byte) (LARGE_MSG_ID >>> 16);
+		return frame;
+	}
+
+	/**
+	 * Logs the records through a writer, along with their index.
+	 */
+	private void writeTlog() throws IOException {
+		final TlogWriter writer = new TlogWriter(file.getPath(), new TlogDurability(0, TimeUnit.SECONDS, false),
+				4096);
+		final byte[][] batch = new byte[1][];
+		for (int i = 0; i < RECORDS; i++) {
+			final byte[] frame = newFrame(i, true);
+			batch[0] = TlogWriter.newRecord(getTime(i), frame, frame.length);
+			writer.append(batch, 1, 0);
+		}
+		final byte[] frame = newLargeMsgIdFrame();
+		batch[0] = TlogWriter.newRecord(getTime(RECORDS), frame, frame.length);
+		writer.append(batch, 1, 0);
+		writer.close();
+	}
+
+	private void truncate(File file, long length) throws IOException {
+		final RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			out.setLength(length);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Dates the tlog and its index back, as if its logging stopped long
+	 * ago.
+	 */
+	private void stopLogging() {
+		final long time = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
+		assertTrue(file.setLastModified(time));
+		if (indexFile.exists()) {
+			assertTrue(indexFile.setLastModified(time));
+		}
+	}
+
+	private void checkRecords(TlogReader reader, int count) {
+		assertEquals(count, reader.getRecordsCount());
+		final byte[] buffer = new byte[300];
+		for (int i = 0; i < Math.min(count, RECORDS); i++) {
+			final byte[] frame = newFrame(i, true);
+			assertEquals(getTime(i), reader.getTime(i));
+			assertEquals(frame[0] == (byte) MAVLinkPacket.MAVLINK_STX ? frame[5] & 0xFF : frame[7] & 0xFF,
+					reader.getMsgId(i));
+			assertEquals(frame.length, reader.readFrame(i, buffer));
+			assertTrue(Arrays.equals(frame, Arrays.copyOf(buffer, frame.length)));
+
+			final ByteBuffer mapped = reader.getFrame(i);
+			assertEquals(frame.length, mapped.remaining());
+			assertEquals(ByteBuffer.wrap(frame), mapped);
+		}
+	}
+
+	public void testIndexIsWrittenWhileLogging() throws IOException {
+		writeTlog();
+		final long indexLength = indexFile.length();
+		assertEquals(TlogIndex.HEADER_LENGTH + (RECORDS + 1) * TlogIndex.ENTRY_LENGTH, indexLength);
+
+		final TlogReader reader = TlogReader.open(file.getPath());
+		checkRecords(reader, RECORDS + 1);
+		assertEquals(LARGE_MSG_ID, reader.getMsgId(RECORDS));
+		// Used as is.
+		assertEquals(indexLength, indexFile.length());
+	}
+
+	public void testSeeksToTime() throws IOException {
+		writeTlog();
+		final TlogReader reader = TlogReader.open(file.getPath());
+
+		assertEquals(0, reader.seek(0));
+		assertEquals(0, reader.seek(getTime(0)));
+		assertEquals(500, reader.seek(getTime(500)));
+		assertEquals(501, reader.seek(getTime(500) + 1));
+		assertEquals(RECORDS + 1, reader.seek(Long.MAX_VALUE));
+	}
+
+	public void testCountsRecordsOfEachType() throws IOException {
+		writeTlog();
+		final TlogReader reader = TlogReader.open(file.getPath());
+
+		assertEquals(10, reader.count(msg_statustext.MAVLINK_MSG_ID_STATUSTEXT));
+		assertEquals(90, reader.count(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT));
+		assertEquals(900, reader.count(msg_attitude.MAVLINK_MSG_ID_ATTITUDE));
+		assertEquals(1, reader.count(LARGE_MSG_ID));
+		assertEquals(0, reader.count(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT + 1));
+		assertEquals(4, reader.getCounts().size());
+
+		// Between the records 100, included, and 200, excluded.
+		assertEquals(9, reader.count(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, getTime(100), getTime(200)));
+	}
+
+	public void testCursorIteratesOverTypesInTimeRange() throws IOException {
+		writeTlog();
+		final TlogReader reader = TlogReader.open(file.getPath());
+
+		final TlogReader.Cursor cursor = reader.newCursor(getTime(250), getTime(450),
+				msg_statustext.MAVLINK_MSG_ID_STATUSTEXT, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+		int expected = 240;
+		while (cursor.next()) {
+			expected += 10;
+			assertEquals(expected, cursor.getRecord());
+			assertEquals(getTime(expected), cursor.getTime());
+			assertEquals(expected % 100 == 0 ? msg_statustext.MAVLINK_MSG_ID_STATUSTEXT
+					: msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, cursor.getMsgId());
+		}
+		assertEquals(440, expected);
+		assertFalse(cursor.next());
+
+		int count = 0;
+		final TlogReader.Cursor all = reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE);
+		while (all.next()) {
+			assertEquals(count++, all.getRecord());
+		}
+		assertEquals(RECORDS + 1, count);
+	}
+
+	public void testMissingIndexIsRebuilt() throws IOException {
+		writeTlog();
+		final long indexLength = indexFile.length();
+		assertTrue(indexFile.delete());
+		stopLogging();
+
+		checkRecords(TlogReader.open(file.getPath()), RECORDS + 1);
+		assertEquals(indexLength, indexFile.length());
+	}
+
+	public void testIndexBehindTheTlogIsCompleted() throws IOException {
+		writeTlog();
+		final long indexLength = indexFile.length();
+		truncate(indexFile, TlogIndex.HEADER_LENGTH + 100 * TlogIndex.ENTRY_LENGTH);
+		stopLogging();
+
+		checkRecords(TlogReader.open(file.getPath()), RECORDS + 1);
+		assertEquals(indexLength, indexFile.length());
+	}
+
+	/**
+	 * The index of a tlog still logged to is behind it, but is appended to
+	 * by the writer, so it's left as is.
+	 */
+	public void testIndexOfALiveTlogIsLeftAsIs() throws IOException {
+		writeTlog();
+		final long indexLength = TlogIndex.HEADER_LENGTH + 100 * TlogIndex.ENTRY_LENGTH;
+		truncate(indexFile, indexLength);
+
+		checkRecords(TlogReader.open(file.getPath()), RECORDS + 1);
+		assertEquals(indexLength, indexFile.length());
+
+		// Even once the logging seems stopped, while an entry is being
+		// written.
+		truncate(indexFile, indexLength + 5);
+		stopLogging();
+		checkRecords(TlogReader.open(file.getPath()), RECORDS + 1);
+		assertEquals(indexLength + 5, indexFile.length());
+	}
+
+	public void testTruncatedRecordIsntIndexed() throws IOException {
+		writeTlog();
+		truncate(file, file.length() - 1);
+		assertTrue(indexFile.delete());
+
+		checkRecords(TlogReader.open(file.getPath()), RECORDS);
+	}
+
+	public void testIndexOfAnotherTlogIsDiscarded() throws IOException {
+		writeTlog();
+		// Overwritten by a shorter tlog, the first half of the records.
+		final long length = file.length() / 2;
+		truncate(file, length);
+
+		int count = 0;
+		for (long end = 0; ; count++) {
+			end += TlogWriter.RECORD_HEADER_LENGTH + newFrame(count, true).length;
+			if (end > length) {
+				break;
+			}
+		}
+		checkRecords(TlogReader.open(file.getPath()), count);
+	}
+
+	public void testIndexWithAnotherFirstRecordIsDiscarded() throws IOException {
+		writeTlog();
+		// The first entry is of a heartbeat, rather than of a status text.
+		final RandomAccessFile out = new RandomAccessFile(indexFile, "rw");
+		try {
+			out.seek(TlogIndex.HEADER_LENGTH + TlogIndex.ENTRY_LENGTH - 1);
+			out.write(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+		} finally {
+			out.close();
+		}
+
+		checkRecords(TlogReader.open(file.getPath()), RECORDS + 1);
+	}
+
+	public void testEmptyTlog() throws IOException {
+		final TlogReader reader = TlogReader.open(file.getPath());
+		assertEquals(0, reader.getRecordsCount());
+		assertEquals(0, reader.seek(START_MICROS));
+		assertFalse(reader.newCursor(Long.MIN_VALUE, Long.MAX_VALUE).next());
+	}
+}
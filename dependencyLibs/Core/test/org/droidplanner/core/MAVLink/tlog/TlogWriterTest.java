@@ -0,0 +1,240 @@
+package org.droidplanner.core.MAVLink.tlog;
+
+import com.MAVLink.common.msg_command_long;
+
+import org.droidplanner.core.MAVLink.MavLinkTestSupport.FakeConnection;
+import org.droidplanner.core.MAVLink.connection.MavLinkConnection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.newFrame;
+import static org.droidplanner.core.MAVLink.MavLinkTestSupport.readFile;
+
+public class TlogWriterTest extends TestCase {
+
+	private static final TlogDurability NEVER_FLUSHED = new TlogDurability(1, TimeUnit.HOURS, false);
+
+	private File file;
+
+	@Override
+	protected void setUp() throws Exception {
+		file = File.createTempFile("TlogWriterTest", ".tlog");
+		assertTrue(file.delete());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		file.delete();
+		new File(TlogIndex.getIndexPath(file.getPath())).delete();
+	}
+
+	/**
+	 * @return the entries of the index, after its header.
+	 */
+	private byte[] readIndex() throws IOException {
+		final RandomAccessFile in = new RandomAccessFile(TlogIndex.getIndexPath(file.getPath()), "r");
+		try {
+			final byte[] content = new byte[(int) in.length() - TlogIndex.HEADER_LENGTH];
+			in.seek(TlogIndex.HEADER_LENGTH);
+			in.readFully(content);
+			return content;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * @return the frames of the records in the file, after checking their
+	 * timestamps.
+	 */
+	private List<byte[]> readFrames(long minTimeMicros, long maxTimeMicros) throws IOException {
+		final ByteBuffer content = ByteBuffer.wrap(readFile(file));
+		final List<byte[]> frames = new ArrayList<>();
+		while (content.hasRemaining()) {
+			final long time = content.getLong();
+			assertTrue(time >= minTimeMicros && time <= maxTimeMicros);
+
+			// Length of the payload, plus the header and checksum.
+			final byte[] frame = new byte[(content.get(content.position() + 1) & 0xFF) + 8];
+			content.get(frame);
+			frames.add(frame);
+		}
+		return frames;
+	}
+
+	public void testRecordIsStampedFrame() {
+		final byte[] frame = newFrame(1);
+		final byte[] record = TlogWriter.newRecord(0x0102030405060708L, frame, frame.length);
+
+		assertEquals(TlogWriter.RECORD_HEADER_LENGTH + frame.length, record.length);
+		assertEquals(0x0102030405060708L, ByteBuffer.wrap(record).getLong());
+		assertTrue(Arrays.equals(frame, Arrays.copyOfRange(record, TlogWriter.RECORD_HEADER_LENGTH,
+				record.length)));
+	}
+
+	public void testRecordsAreCommittedOnceTheBufferIsFull() throws IOException {
+		final byte[] frame = newFrame(1);
+		final byte[] record = TlogWriter.newRecord(1, frame, frame.length);
+		final TlogWriter writer = new TlogWriter(file.getPath(), NEVER_FLUSHED, 4 * record.length);
+
+		writer.append(new byte[][]{record, record, record, record}, 4, 0);
+		assertEquals(0, writer.getCommitsCount());
+		assertFalse(file.exists());
+
+		writer.append(new byte[][]{record}, 1, 0);
+		assertEquals(1, writer.getCommitsCount());
+		assertEquals(4 * record.length, file.length());
+
+		writer.close();
+		assertEquals(2, writer.getCommitsCount());
+		assertEquals(5, writer.getRecordsCount());
+		assertEquals(5 * record.length, file.length());
+	}
+
+	public void testRecordsAreCommittedOnceTheFlushIntervalElapsed() throws IOException {
+		final byte[] frame = newFrame(1);
+		final byte[] record = TlogWriter.newRecord(1, frame, frame.length);
+		final TlogWriter writer = new TlogWriter(file.getPath(), new TlogDurability(100, TimeUnit.MILLISECONDS,
+				false));
+		final long start = TimeUnit.SECONDS.toNanos(10);
+
+		assertEquals(Long.MAX_VALUE, writer.getCommitDeadline());
+		writer.append(new byte[][]{record}, 1, start);
+		writer.append(new byte[][]{record}, 1, start + TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(start + TimeUnit.MILLISECONDS.toNanos(100), writer.getCommitDeadline());
+
+		// Due after the interval since the oldest record.
+		writer.commitIfDue(start + TimeUnit.MILLISECONDS.toNanos(99));
+		assertEquals(0, writer.getCommitsCount());
+		writer.commitIfDue(start + TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(1, writer.getCommitsCount());
+		assertEquals(2 * record.length, file.length());
+		assertEquals(Long.MAX_VALUE, writer.getCommitDeadline());
+
+		writer.close();
+	}
+
+	public void testRecordLargerThanTheBufferIsWritten() throws IOException {
+		final byte[] frame = newFrame(1);
+		final byte[] record = TlogWriter.newRecord(1, frame, frame.length);
+		final TlogWriter writer = new TlogWriter(file.getPath(), NEVER_FLUSHED, record.length / 2);
+
+		writer.append(new byte[][]{record, record}, 2, 0);
+		writer.close();
+		final byte[] content = readFile(file);
+		assertEquals(2 * record.length, content.length);
+		assertTrue(Arrays.equals(record, Arrays.copyOfRange(content, 0, record.length)));
+		assertTrue(Arrays.equals(record, Arrays.copyOfRange(content, record.length, content.length)));
+	}
+
+	public void testRecordsAppendedOnceClosedAreDropped() throws IOException {
+		final byte[] frame = newFrame(1);
+		final byte[] record = TlogWriter.newRecord(1, frame, frame.length);
+		final TlogWriter writer = new TlogWriter(file.getPath(), new TlogDurability(0, TimeUnit.SECONDS, true));
+
+		writer.append(new byte[][]{record}, 1, 0);
+		writer.close();
+		writer.append(new byte[][]{record}, 1, 0);
+		writer.commitIfDue(0);
+		writer.close();
+
+		assertEquals(1, writer.getRecordsCount());
+		assertEquals(record.length, file.length());
+	}
+
+	public void testIndexSkipsTheRecordsOfAFailedCommit() throws IOException {
+		final byte[][] records = new byte[6][];
+		for (int i = 0; i < records.length; i++) {
+			// Attitudes, all of the same length.
+			final byte[] frame = newFrame(i + 1);
+			records[i] = TlogWriter.newRecord(i, frame, frame.length);
+		}
+		final int[] failures = {1};
+		final TlogWriter writer = new TlogWriter(file.getPath(), NEVER_FLUSHED, 2 * records[0].length) {
+			@Override
+			protected void writeRecords(ByteBuffer records, ByteBuffer entries) throws IOException {
+				if (failures[0]-- == 1) {
+					throw new IOException("Storage full.");
+				}
+				super.writeRecords(records, entries);
+			}
+		};
+
+		writer.append(new byte[][]{records[0], records[1]}, 2, 0);
+		try {
+			// Commits the first two records, which are dropped along with the
+			// one appended.
+			writer.append(new byte[][]{records[2]}, 1, 0);
+			fail();
+		} catch (IOException expected) {
+		}
+		writer.append(new byte[][]{records[3], records[4], records[5]}, 3, 0);
+		writer.close();
+
+		final byte[] content = readFile(file);
+		assertEquals(3 * records[0].length, content.length);
+		final ByteBuffer entries = ByteBuffer.wrap(readIndex());
+		assertEquals(3 * TlogIndex.ENTRY_LENGTH, entries.limit());
+		for (int i = 0; i < 3; i++) {
+			final int offset = (int) TlogIndex.getEntryOffset(entries, i);
+			final byte[] record = records[i + 3];
+			assertEquals(i + 3, TlogIndex.getEntryTime(entries, i));
+			assertTrue(Arrays.equals(record, Arrays.copyOfRange(content, offset, offset + record.length)));
+		}
+	}
+
+	public void testConnectionLogsFramesAsReceivedAndSent() throws Exception {
+		final FakeConnection connection = new FakeConnection();
+		connection.setTlogDurability(new TlogDurability(20, TimeUnit.MILLISECONDS, true));
+		connection.addLoggingPath("test", file.getPath());
+
+		final long start = System.currentTimeMillis() * 1000;
+		connection.connect();
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (connection.getConnectionStatus() != MavLinkConnection.MAVLINK_CONNECTED
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		final List<byte[]> received = new ArrayList<>();
+		long receivedLength = 0;
+		for (int i = 0; i < 100; i++) {
+			final byte[] frame = newFrame(i);
+			received.add(frame);
+			receivedLength += TlogWriter.RECORD_HEADER_LENGTH + frame.length;
+			connection.reads.offer(frame);
+		}
+		connection.sendMavMessage(new msg_command_long());
+
+		// Written within the flush interval, while still connected.
+		while (file.length() < receivedLength && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(MavLinkConnection.MAVLINK_CONNECTED, connection.getConnectionStatus());
+
+		connection.disconnect();
+		final long end = System.currentTimeMillis() * 1000;
+		Thread.sleep(100);
+
+		final List<byte[]> frames = readFrames(start, end);
+		assertEquals(101, frames.size());
+		int receivedCount = 0;
+		for (byte[] frame : frames) {
+			// The unique command.
+			if ((frame[5] & 0xFF) == msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG) {
+				continue;
+			}
+			assertTrue(Arrays.equals(received.get(receivedCount++), frame));
+		}
+		assertEquals(100, receivedCount);
+	}
+}
@@ -0,0 +1,346 @@
+package org.droidplanner.core.MAVLink.tlog.analytics;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_global_position_int;
+import com.MAVLink.common.msg_gps_raw_int;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_sys_status;
+import com.MAVLink.enums.MAV_MODE_FLAG;
+import com.MAVLink.enums.MAV_TYPE;
+
+import org.droidplanner.core.MAVLink.tlog.CompressedTlog;
+import org.droidplanner.core.MAVLink.tlog.TlogDurability;
+import org.droidplanner.core.MAVLink.tlog.TlogIndex;
+import org.droidplanner.core.MAVLink.tlog.TlogWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+public class TlogAnalyzerTest extends TestCase {
+
+	private static final long START_MICROS = 1400000000000000L;
+	private static final long TICK_MICROS = 100000;
+
+	/**
+	 * A minute of flight, at 10 ticks/s: armed in auto at tick 100, in RTL at
+	 * 400, landing at 500, and disarmed at 550, flying north at 20m/s in
+	 * between. The link is lost from tick 200 to 250, and the GPS fix is 2D
+	 * from tick 300 to 350.
+	 */
+	private static final int TICKS = 600;
+	private static final int OUTAGE_START = 200;
+	private static final int OUTAGE_END = 250;
+	private static final int NO_FIX_START = 300;
+	private static final int NO_FIX_END = 350;
+
+	private static final double METERS_PER_DEGREE = 6371000 * Math.PI / 180;
+	private static final double STEP_METERS = 2;
+
+	private File directory;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = File.createTempFile("TlogAnalyzerTest", "");
+		assertTrue(directory.delete());
+		assertTrue(directory.mkdir());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		final File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+
+	private static long getTime(int tick) {
+		return START_MICROS + tick * TICK_MICROS;
+	}
+
+	private static int getMode(int tick) {
+		return tick < 100 ? 0 : tick < 400 ? 3 : tick < 500 ? 6 : 9;
+	}
+
+	private static byte[] newFrame(MAVLinkMessage message, int sysid, int tick) {
+		final MAVLinkPacket packet = message.pack();
+		packet.sysid = sysid;
+		packet.compid = 1;
+		packet.seq = tick & 0xFF;
+		return packet.encodePacket();
+	}
+
+	/**
+	 * @return the frames logged on the given tick.
+	 */
+	private static List<byte[]> newFrames(int tick) {
+		final List<byte[]> frames = new ArrayList<>();
+		if (tick % 10 == 0) {
+			// Sent along the whole flight.
+			final msg_heartbeat heartbeat = new msg_heartbeat();
+			heartbeat.type = MAV_TYPE.MAV_TYPE_GCS;
+			frames.add(newFrame(heartbeat, 255, tick));
+		}
+		if (tick >= OUTAGE_START && tick < OUTAGE_END) {
+			return frames;
+		}
+
+		final msg_global_position_int position = new msg_global_position_int();
+		final int flownTicks = Math.max(0, Math.min(tick, 400) - 100);
+		position.lat = (int) Math.round((47 + flownTicks * STEP_METERS / METERS_PER_DEGREE) * 1E7);
+		position.lon = 85000000;
+		position.relative_alt = Math.min(tick, TICKS - tick) * 100;
+		position.alt = position.relative_alt + 400000;
+		frames.add(newFrame(position, 1, tick));
+
+		if (tick % 5 == 0) {
+			final msg_sys_status status = new msg_sys_status();
+			status.voltage_battery = (short) (12600 - tick * 5);
+			status.current_battery = 1000;
+			status.battery_remaining = (byte) (100 - tick / 6);
+			frames.add(newFrame(status, 1, tick));
+
+			final boolean noFix = tick >= NO_FIX_START && tick < NO_FIX_END;
+			final msg_gps_raw_int gps = new msg_gps_raw_int();
+			gps.fix_type = (byte) (noFix ? 2 : 3);
+			gps.satellites_visible = (byte) (noFix ? 4 : 10);
+			gps.eph = (short) (noFix ? 500 : 120);
+			frames.add(newFrame(gps, 1, tick));
+		}
+
+		if (tick % 10 == 0) {
+			final msg_heartbeat heartbeat = new msg_heartbeat();
+			heartbeat.type = MAV_TYPE.MAV_TYPE_QUADROTOR;
+			heartbeat.custom_mode = getMode(tick);
+			if (tick >= 100 && tick < 550) {
+				heartbeat.base_mode = (byte) MAV_MODE_FLAG.MAV_MODE_FLAG_SAFETY_ARMED;
+			}
+			frames.add(newFrame(heartbeat, 1, tick));
+		}
+		return frames;
+	}
+
+	/**
+	 * @return the count of records written.
+	 */
+	private static int writeTlog(File file, int ticks) throws IOException {
+		final TlogWriter writer = TlogWriter.create(file.getPath(), new TlogDurability(1, TimeUnit.SECONDS, false));
+		final byte[][] batch = new byte[1][];
+		int count = 0;
+		for (int tick = 0; tick < ticks; tick++) {
+			for (byte[] frame : newFrames(tick)) {
+				batch[0] = TlogWriter.newRecord(getTime(tick), frame, frame.length);
+				writer.append(batch, 1, 0);
+				count++;
+			}
+		}
+		writer.close();
+		return count;
+	}
+
+	private static byte[] getResult(TlogAggregate aggregate) throws IOException {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		aggregate.writeResult(new DataOutputStream(buffer));
+		return buffer.toByteArray();
+	}
+
+	private static void assertSameResults(TlogSummary expected, TlogSummary actual) throws IOException {
+		assertEquals(expected.getRecordsCount(), actual.getRecordsCount());
+		assertEquals(expected.getFirstTime(), actual.getFirstTime());
+		assertEquals(expected.getLastTime(), actual.getLastTime());
+		assertEquals(expected.getAggregates().size(), actual.getAggregates().size());
+		for (int i = 0; i < expected.getAggregates().size(); i++) {
+			assertTrue(expected.getAggregates().get(i).getName(), Arrays.equals(
+					getResult(expected.getAggregates().get(i)), getResult(actual.getAggregates().get(i))));
+		}
+	}
+
+	public void testComputesAggregates() throws Exception {
+		final File file = new File(directory, "flight.tlog");
+		final int records = writeTlog(file, TICKS);
+
+		final TlogSummary summary = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates()).analyze(file);
+		assertNull(summary.getError());
+		assertFalse(summary.isCached());
+		assertEquals(records, summary.getRecordsCount());
+		assertEquals(getTime(0), summary.getFirstTime());
+		assertEquals(getTime(TICKS - 1), summary.getLastTime());
+
+		final MaxAltitude altitude = summary.get(MaxAltitude.class);
+		assertEquals(30.0, altitude.getMaxAltitude(), 1E-9);
+		assertEquals(getTime(TICKS / 2), altitude.getMaxAltitudeTime());
+		assertEquals(430.0, altitude.getMaxAltitudeMsl(), 1E-9);
+
+		final DistanceFlown distance = summary.get(DistanceFlown.class);
+		assertEquals(300 * STEP_METERS, distance.getDistance(), 1);
+		assertEquals(300 * STEP_METERS, distance.getMaxDistanceFromStart(), 1);
+
+		// Read every 0.5s but in the outage, drawing 10A.
+		final BatteryCurve battery = summary.get(BatteryCurve.class);
+		assertEquals(12.6 - 0.005 * 595, battery.getMinVoltage(), 1E-9);
+		assertEquals(10.0, battery.getMaxCurrent(), 1E-9);
+		assertEquals(10 * (59.5 - 5.5) / 3.6, battery.getConsumedMah(), 1E-6);
+		assertEquals(getTime(0), battery.getTime(0));
+		assertEquals(12.6, battery.getVoltage(0), 1E-9);
+		assertEquals(100, battery.getRemaining(0));
+		for (int i = 1; i < battery.getPointsCount(); i++) {
+			assertTrue(battery.getTime(i) - battery.getTime(i - 1) >= 1000000);
+		}
+
+		final ModeChanges modes = summary.get(ModeChanges.class);
+		assertEquals(5, modes.getChangesCount());
+		final int[] changeTicks = {0, 100, 400, 500, 550};
+		for (int i = 0; i < changeTicks.length; i++) {
+			assertEquals(getTime(changeTicks[i]), modes.getTime(i));
+			assertEquals(getMode(changeTicks[i]), modes.getMode(i));
+			assertEquals(i > 0 && i < 4, modes.isArmed(i));
+		}
+		assertEquals(TimeUnit.SECONDS.toMicros(45), modes.getArmedMicros());
+
+		final GpsQuality gps = summary.get(GpsQuality.class);
+		assertEquals(TimeUnit.SECONDS.toMicros(5), gps.getNo3dFixMicros());
+		assertEquals(TimeUnit.SECONDS.toMicros(5), gps.getFixTypeMicros(2));
+		assertEquals(TimeUnit.SECONDS.toMicros(49), gps.getFixTypeMicros(3));
+		assertEquals(4, gps.getMinSatellites());
+		assertEquals(10, gps.getMaxSatellites());
+		assertEquals(5.0, gps.getMaxHdop(), 1E-9);
+
+		// The ground station heartbeats logged in the outage don't hide it.
+		final LinkLoss linkLoss = summary.get(LinkLoss.class);
+		assertEquals(1, linkLoss.getOutagesCount());
+		assertEquals(getTime(OUTAGE_START - 10), linkLoss.getStart(0));
+		assertEquals(TimeUnit.SECONDS.toMicros(6), linkLoss.getDuration(0));
+		assertEquals(TimeUnit.SECONDS.toMicros(6), linkLoss.getTotalMicros());
+	}
+
+	public void testCompressedTlogGivesSameSummary() throws Exception {
+		final File file = new File(directory, "flight.tlog");
+		final File compressed = new File(directory, "flight" + CompressedTlog.FILE_EXTENSION);
+		writeTlog(file, TICKS);
+		writeTlog(compressed, TICKS);
+
+		final TlogAnalyzer analyzer = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+		assertSameResults(analyzer.analyze(file), analyzer.analyze(compressed));
+	}
+
+	public void testSummaryIsCachedUntilTlogChanges() throws Exception {
+		final File file = new File(directory, "flight.tlog");
+		writeTlog(file, TICKS);
+		final File cacheFile = new File(TlogSummary.getSummaryPath(file.getPath()));
+
+		final TlogAnalyzer analyzer = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+		final TlogSummary computed = analyzer.analyze(file);
+		assertTrue(cacheFile.isFile());
+
+		final TlogSummary cached = analyzer.analyze(file);
+		assertTrue(cached.isCached());
+		assertSameResults(computed, cached);
+
+		// Only the aggregate whose settings aren't cached is computed, and
+		// cached along with the others.
+		final List<TlogAggregate> aggregates = TlogAnalyzer.newDefaultAggregates();
+		aggregates.set(aggregates.size() - 1, new LinkLoss(TimeUnit.SECONDS.toMicros(10)));
+		final TlogAnalyzer longLinkLoss = new TlogAnalyzer(aggregates);
+		final TlogSummary partial = longLinkLoss.analyze(file);
+		assertFalse(partial.isCached());
+		assertEquals(0, partial.get(LinkLoss.class).getOutagesCount());
+		assertTrue(longLinkLoss.analyze(file).isCached());
+		assertTrue(analyzer.analyze(file).isCached());
+		assertEquals(1, analyzer.analyze(file).get(LinkLoss.class).getOutagesCount());
+
+		// Rewritten shorter, before the outage.
+		writeTlog(file, OUTAGE_START);
+		final TlogSummary changed = analyzer.analyze(file);
+		assertFalse(changed.isCached());
+		assertEquals(0, changed.get(LinkLoss.class).getOutagesCount());
+		assertEquals(getTime(OUTAGE_START - 1), changed.getLastTime());
+	}
+
+	public void testTruncatedRecordIsIgnored() throws Exception {
+		final File file = new File(directory, "flight.tlog");
+		final int records = writeTlog(file, TICKS);
+		final RandomAccessFile out = new RandomAccessFile(file, "rw");
+		try {
+			out.setLength(file.length() - 1);
+		} finally {
+			out.close();
+		}
+
+		final TlogAnalyzer analyzer = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+		analyzer.setCacheEnabled(false);
+		final TlogSummary summary = analyzer.analyze(file);
+		assertNull(summary.getError());
+		assertEquals(records - 1, summary.getRecordsCount());
+		assertFalse(new File(TlogSummary.getSummaryPath(file.getPath())).exists());
+	}
+
+	public void testBatteryCurveStaysBounded() throws Exception {
+		final File file = new File(directory, "flight.tlog");
+		writeTlog(file, TICKS);
+
+		final BatteryCurve battery = new TlogAnalyzer(Arrays.asList(new BatteryCurve(8))).analyze(file)
+				.get(BatteryCurve.class);
+		assertTrue(battery.getPointsCount() <= 8);
+		assertTrue(battery.getPointsCount() >= 4);
+		assertEquals(getTime(0), battery.getTime(0));
+		for (int i = 1; i < battery.getPointsCount(); i++) {
+			// Every 8s once decimated three times.
+			assertTrue(battery.getTime(i) - battery.getTime(i - 1) >= TimeUnit.SECONDS.toMicros(8));
+		}
+	}
+
+	public void testAnalyzesDirectoryInParallel() throws Exception {
+		final int[] ticks = {TICKS, OUTAGE_START, 450, 120, TICKS};
+		for (int i = 0; i < ticks.length; i++) {
+			writeTlog(new File(directory, "flight" + i + (i % 2 == 0 ? ".tlog" : CompressedTlog.FILE_EXTENSION)),
+					ticks[i]);
+		}
+		// Neither tlogs nor their sidecar files.
+		new File(directory, "notes.txt").createNewFile();
+		new File(directory, "flight0.tlog" + TlogIndex.INDEX_FILE_EXTENSION).createNewFile();
+
+		final TlogAnalyzer sequential = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+		sequential.setThreadsCount(1);
+		sequential.setCacheEnabled(false);
+		final TlogAnalyzer parallel = new TlogAnalyzer(TlogAnalyzer.newDefaultAggregates());
+		parallel.setThreadsCount(4);
+
+		final List<TlogSummary> summaries = parallel.analyzeDirectory(directory);
+		assertEquals(ticks.length, summaries.size());
+		for (int i = 0; i < ticks.length; i++) {
+			final TlogSummary summary = summaries.get(i);
+			assertTrue(summary.getFile().getName().startsWith("flight" + i + "."));
+			assertFalse(summary.isCached());
+			assertEquals(getTime(ticks[i] - 1), summary.getLastTime());
+			assertSameResults(sequential.analyze(summary.getFile()), summary);
+		}
+
+		// Only the new tlog is analyzed again.
+		writeTlog(new File(directory, "flight5.tlog"), TICKS);
+		final List<TlogSummary> again = parallel.analyzeDirectory(directory);
+		assertEquals(ticks.length + 1, again.size());
+		for (int i = 0; i < ticks.length; i++) {
+			assertTrue(again.get(i).isCached());
+		}
+		assertFalse(again.get(ticks.length).isCached());
+
+		// Unreadable, as removed meanwhile.
+		final File missing = new File(directory, "missing.tlog");
+		final List<TlogSummary> withMissing = parallel.analyze(Arrays.asList(missing, summaries.get(0).getFile()));
+		assertNotNull(withMissing.get(0).getError());
+		assertNull(withMissing.get(1).getError());
+		assertTrue(withMissing.get(1).isCached());
+	}
+}
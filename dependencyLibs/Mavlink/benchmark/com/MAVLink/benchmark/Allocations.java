@@ -0,0 +1,51 @@
+package com.MAVLink.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the count of bytes allocated by the current thread, when the JVM
+ * exposes it.
+ */
+public class Allocations {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN;
+
+    static {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()) {
+                sunBean.setThreadAllocatedMemoryEnabled(true);
+                THREAD_BEAN = sunBean;
+            } else {
+                THREAD_BEAN = null;
+            }
+        } else {
+            THREAD_BEAN = null;
+        }
+    }
+
+    /**
+     * @return true if allocations can be measured on this JVM.
+     */
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    /**
+     * @return the count of bytes allocated by the current thread since it
+     * started, or -1 if not supported.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Not instantiable
+    private Allocations() {
+    }
+}
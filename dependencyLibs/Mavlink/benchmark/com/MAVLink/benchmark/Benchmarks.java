@@ -0,0 +1,38 @@
+package com.MAVLink.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entry point of the codec benchmarks. Runs every registered benchmark, or
+ * only the ones named on the command line.
+ */
+public class Benchmarks {
+
+    private static final Map<String, Runnable> BENCHMARKS = new LinkedHashMap<>();
+
+    static {
+        BENCHMARKS.put("parser", new ParserBenchmark());
+        BENCHMARKS.put("mavlink2", new Mavlink2Benchmark());
+        BENCHMARKS.put("crc", new CrcBenchmark());
+        BENCHMARKS.put("views", new ViewBenchmark());
+        BENCHMARKS.put("decode", new DecodeBenchmark());
+        BENCHMARKS.put("encode", new EncodeBenchmark());
+        BENCHMARKS.put("payload", new PayloadBenchmark());
+        BENCHMARKS.put("corpus", new CorpusBenchmark());
+        BENCHMARKS.put("resync", new ResyncBenchmark());
+    }
+
+    public static void main(String[] args) {
+        final List<String> selected = Arrays.asList(args);
+        for (Map.Entry<String, Runnable> entry : BENCHMARKS.entrySet()) {
+            if (selected.isEmpty() || selected.contains(entry.getKey())) {
+                System.out.println("# " + entry.getKey());
+                entry.getValue().run();
+                System.out.println();
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.MAVLink.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+import com.MAVLink.Messages.MAVLinkMessage;
+
+/**
+ * Replays telemetry corpora through the codec: the bulk parser, unpack(),
+ * pack() followed by encodePacket(), and the packet checksum.
+ *
+ * Every operation reports its throughput, the percentiles of its latency and
+ * the bytes allocated per frame. The results can be written as JSON, to be
+ * compared across commits. Options are passed as system properties:
+ * <ul>
+ * <li>{@value #CORPUS_PROPERTY}: tlog files to replay besides the bundled
+ * corpora, separated by commas</li>
+ * <li>{@value #OUTPUT_PROPERTY}: file receiving the JSON results</li>
+ * <li>{@value #LABEL_PROPERTY}: label of the run, such as a commit id</li>
+ * </ul>
+ */
+public class CorpusBenchmark implements Runnable {
+
+    public static final String CORPUS_PROPERTY = "benchmark.corpus";
+    public static final String OUTPUT_PROPERTY = "benchmark.output";
+    public static final String LABEL_PROPERTY = "benchmark.label";
+
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    /**
+     * Minimum counts of frames processed to warm up, then measure the
+     * throughput of an operation. Small corpora are replayed several times.
+     */
+    private static final int WARMUP_FRAMES = 1000000;
+    private static final int MEASURED_FRAMES = 2000000;
+
+    /**
+     * Minimum count of latency samples, each unit of a round giving one.
+     */
+    private static final int LATENCY_SAMPLES = 100000;
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * An operation repeated over the frames of a corpus.
+     */
+    private abstract static class Workload {
+        final String operation;
+        final String unit;
+
+        Workload(String operation, String unit) {
+            this.operation = operation;
+            this.unit = unit;
+        }
+
+        /**
+         * @return the count of units, such as frames or read blocks, processed
+         * by a round.
+         */
+        abstract int getUnitCount();
+
+        /**
+         * @return the count of frames processed by a round.
+         */
+        abstract int getFrameCount();
+
+        /**
+         * @return the count of bytes processed by a round.
+         */
+        abstract long getByteCount();
+
+        /**
+         * Processes every unit.
+         */
+        abstract void runRound();
+
+        /**
+         * Processes one unit.
+         */
+        abstract void runUnit(int index);
+    }
+
+    private static class Result {
+        String corpus;
+        String operation;
+        String unit;
+        int frames;
+        long bytes;
+        double framesPerSecond;
+        double megabytesPerSecond;
+        double bytesAllocatedPerFrame;
+        long[] percentiles;
+        long max;
+    }
+
+    private long sink;
+
+    /**
+     * Keeps the last decoded message reachable, so its decoding can't be
+     * optimized away.
+     */
+    private MAVLinkMessage lastMessage;
+
+    @Override
+    public void run() {
+        final List<TlogCorpus> corpora = new ArrayList<TlogCorpus>();
+        for (TlogCorpus corpus : TlogCorpus.bundled()) {
+            corpora.add(corpus);
+        }
+
+        final String files = System.getProperty(CORPUS_PROPERTY);
+        if (files != null && !files.isEmpty()) {
+            for (String file : files.split(",")) {
+                try {
+                    corpora.add(TlogCorpus.load(new File(file.trim())));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to load corpus " + file, e);
+                }
+            }
+        }
+
+        final List<Result> results = new ArrayList<Result>();
+        for (TlogCorpus corpus : corpora) {
+            final List<MAVLinkPacket> packets = decode(corpus.getStream());
+            final List<MAVLinkMessage> messages = new ArrayList<MAVLinkMessage>(packets.size());
+            for (MAVLinkPacket packet : packets) {
+                final MAVLinkMessage msg = packet.unpack();
+                if (msg != null) {
+                    messages.add(msg);
+                }
+            }
+
+            System.out.println(String.format("%s: %d bytes, %d frames in tlog, %d decoded, %d known messages",
+                    corpus.getName(), corpus.getStream().length, corpus.getRecordCount(), packets.size(),
+                    messages.size()));
+            if (packets.isEmpty()) {
+                continue;
+            }
+
+            final Workload[] workloads = {
+                    parseWorkload(corpus.getStream(), packets.size()),
+                    unpackWorkload(packets),
+                    encodeWorkload(messages),
+                    crcWorkload(packets)
+            };
+            for (Workload workload : workloads) {
+                final Result result = measure(workload);
+                result.corpus = corpus.getName();
+                print(result);
+                results.add(result);
+            }
+        }
+        System.out.println("checksum: " + sink);
+
+        final String output = System.getProperty(OUTPUT_PROPERTY);
+        if (output != null && !output.isEmpty()) {
+            try {
+                writeJson(new File(output), results);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to write " + output, e);
+            }
+            System.out.println("results written to " + output);
+        }
+    }
+
+    /**
+     * @return the packets of the valid frames of the stream.
+     */
+    private static List<MAVLinkPacket> decode(byte[] stream) {
+        final Parser parser = new Parser();
+        final List<MAVLinkPacket> packets = new ArrayList<MAVLinkPacket>();
+        for (byte b : stream) {
+            final MAVLinkPacket packet = parser.mavlink_parse_char(b & 0xff);
+            if (packet != null) {
+                packets.add(packet);
+            }
+        }
+        return packets;
+    }
+
+    private static int rounds(int minimum, int perRound) {
+        return Math.max(1, (minimum + perRound - 1) / Math.max(1, perRound));
+    }
+
+    private Result measure(Workload workload) {
+        final int warmupRounds = rounds(WARMUP_FRAMES, workload.getFrameCount());
+        for (int i = 0; i < warmupRounds; i++) {
+            workload.runRound();
+        }
+
+        final int measuredRounds = rounds(MEASURED_FRAMES, workload.getFrameCount());
+        final long startAllocated = Allocations.currentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < measuredRounds; i++) {
+            workload.runRound();
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+        final int unitCount = workload.getUnitCount();
+        final int latencyRounds = rounds(LATENCY_SAMPLES, unitCount);
+        final LatencyRecorder latencies = new LatencyRecorder(unitCount * latencyRounds);
+        for (int round = 0; round < latencyRounds; round++) {
+            for (int i = 0; i < unitCount; i++) {
+                final long unitStart = System.nanoTime();
+                workload.runUnit(i);
+                latencies.record(System.nanoTime() - unitStart);
+            }
+        }
+
+        final Result result = new Result();
+        result.operation = workload.operation;
+        result.unit = workload.unit;
+        result.frames = workload.getFrameCount();
+        result.bytes = workload.getByteCount();
+
+        final double seconds = elapsed / 1E9;
+        result.framesPerSecond = (double) result.frames * measuredRounds / seconds;
+        result.megabytesPerSecond = (double) result.bytes * measuredRounds / seconds / (1024 * 1024);
+        result.bytesAllocatedPerFrame = Allocations.isSupported() && result.frames > 0
+                ? (double) allocated / ((long) result.frames * measuredRounds)
+                : -1;
+
+        result.percentiles = new long[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            result.percentiles[i] = latencies.getPercentile(PERCENTILES[i]);
+        }
+        result.max = latencies.getPercentile(100);
+        return result;
+    }
+
+    private Workload parseWorkload(final byte[] stream, final int expectedFrames) {
+        final Parser parser = new Parser();
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        final Parser.PacketListener listener = new Parser.PacketListener() {
+            @Override
+            public void onPacketReceived(MAVLinkPacket packet) {
+                sink += packet.msgid;
+            }
+        };
+
+        return new Workload("parse", "read") {
+            @Override
+            int getUnitCount() {
+                return (stream.length + READ_BUFFER_SIZE - 1) / READ_BUFFER_SIZE;
+            }
+
+            @Override
+            int getFrameCount() {
+                return expectedFrames;
+            }
+
+            @Override
+            long getByteCount() {
+                return stream.length;
+            }
+
+            @Override
+            void runRound() {
+                int frames = 0;
+                for (int offset = 0; offset < stream.length; offset += READ_BUFFER_SIZE) {
+                    final int length = Math.min(READ_BUFFER_SIZE, stream.length - offset);
+                    System.arraycopy(stream, offset, readBuffer, 0, length);
+                    frames += parser.parse(readBuffer, 0, length, listener);
+                }
+
+                if (frames != expectedFrames) {
+                    throw new IllegalStateException("Parsed " + frames + " frames, expected " + expectedFrames);
+                }
+            }
+
+            @Override
+            void runUnit(int index) {
+                final int offset = index * READ_BUFFER_SIZE;
+                final int length = Math.min(READ_BUFFER_SIZE, stream.length - offset);
+                System.arraycopy(stream, offset, readBuffer, 0, length);
+                parser.parse(readBuffer, 0, length, listener);
+            }
+        };
+    }
+
+    private Workload unpackWorkload(final List<MAVLinkPacket> packetList) {
+        final MAVLinkPacket[] packets = packetList.toArray(new MAVLinkPacket[packetList.size()]);
+
+        return new PacketWorkload("unpack", packets) {
+            @Override
+            void runUnit(int index) {
+                lastMessage = packets[index].unpack();
+            }
+        };
+    }
+
+    private Workload encodeWorkload(final List<MAVLinkMessage> messageList) {
+        final MAVLinkMessage[] messages = messageList.toArray(new MAVLinkMessage[messageList.size()]);
+        long bytes = 0;
+        for (MAVLinkMessage msg : messages) {
+            bytes += msg.pack().encodePacket().length;
+        }
+        final long byteCount = bytes;
+
+        return new Workload("pack_encode", "frame") {
+            @Override
+            int getUnitCount() {
+                return messages.length;
+            }
+
+            @Override
+            int getFrameCount() {
+                return messages.length;
+            }
+
+            @Override
+            long getByteCount() {
+                return byteCount;
+            }
+
+            @Override
+            void runRound() {
+                for (int i = 0; i < messages.length; i++) {
+                    runUnit(i);
+                }
+            }
+
+            @Override
+            void runUnit(int index) {
+                final byte[] frame = messages[index].pack().encodePacket();
+                sink += frame[frame.length - 1];
+            }
+        };
+    }
+
+    private Workload crcWorkload(final List<MAVLinkPacket> packetList) {
+        final MAVLinkPacket[] packets = packetList.toArray(new MAVLinkPacket[packetList.size()]);
+
+        return new PacketWorkload("crc", packets) {
+            @Override
+            void runUnit(int index) {
+                final MAVLinkPacket packet = packets[index];
+                packet.generateCRC();
+                sink += packet.crc.getMSB();
+            }
+        };
+    }
+
+    /**
+     * Workload processing the decoded packets one by one.
+     */
+    private abstract static class PacketWorkload extends Workload {
+        final MAVLinkPacket[] packets;
+        final long byteCount;
+
+        PacketWorkload(String operation, MAVLinkPacket[] packets) {
+            super(operation, "frame");
+            this.packets = packets;
+
+            long bytes = 0;
+            for (MAVLinkPacket packet : packets) {
+                bytes += (packet.isMavlink2 ? MAVLinkPacket.MAVLINK2_HEADER_LEN : MAVLinkPacket.MAVLINK1_HEADER_LEN)
+                        + packet.len + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+            }
+            byteCount = bytes;
+        }
+
+        @Override
+        int getUnitCount() {
+            return packets.length;
+        }
+
+        @Override
+        int getFrameCount() {
+            return packets.length;
+        }
+
+        @Override
+        long getByteCount() {
+            return byteCount;
+        }
+
+        @Override
+        void runRound() {
+            for (int i = 0; i < packets.length; i++) {
+                runUnit(i);
+            }
+        }
+    }
+
+    private static void print(Result result) {
+        final StringBuilder percentiles = new StringBuilder();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles.append(String.format(" p%s %6d", formatPercentile(PERCENTILES[i]), result.percentiles[i]));
+        }
+
+        System.out.println(String.format("  %-12s %12.0f frames/s %8.1f MB/s %8s B/frame  ns/%s:%s max %d",
+                result.operation, result.framesPerSecond, result.megabytesPerSecond,
+                result.bytesAllocatedPerFrame < 0 ? "n/a" : String.format("%.1f", result.bytesAllocatedPerFrame),
+                result.unit, percentiles, result.max));
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.floor(percentile)
+                ? String.valueOf((int) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+    }
+
+    private static void writeJson(File file, List<Result> results) throws IOException {
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'", Locale.US);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"label\": ").append(quote(System.getProperty(LABEL_PROPERTY, ""))).append(",\n");
+        json.append("  \"date\": ").append(quote(dateFormat.format(new Date()))).append(",\n");
+        json.append("  \"java\": ").append(quote(System.getProperty("java.vm.name") + " "
+                + System.getProperty("java.version"))).append(",\n");
+        json.append("  \"os\": ").append(quote(System.getProperty("os.name") + " "
+                + System.getProperty("os.arch"))).append(",\n");
+        json.append("  \"processors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"results\": [");
+
+        for (int i = 0; i < results.size(); i++) {
+            final Result result = results.get(i);
+            json.append(i == 0 ? "\n" : ",\n");
+            json.append("    {\"corpus\": ").append(quote(result.corpus))
+                    .append(", \"operation\": ").append(quote(result.operation))
+                    .append(", \"unit\": ").append(quote(result.unit))
+                    .append(", \"frames\": ").append(result.frames)
+                    .append(", \"bytes\": ").append(result.bytes)
+                    .append(", \"frames_per_second\": ").append(String.format(Locale.US, "%.0f", result.framesPerSecond))
+                    .append(", \"megabytes_per_second\": ").append(String.format(Locale.US, "%.2f", result.megabytesPerSecond))
+                    .append(", \"bytes_allocated_per_frame\": ")
+                    .append(result.bytesAllocatedPerFrame < 0
+                            ? "null"
+                            : String.format(Locale.US, "%.1f", result.bytesAllocatedPerFrame));
+            for (int j = 0; j < PERCENTILES.length; j++) {
+                json.append(", \"p").append(formatPercentile(PERCENTILES[j])).append("_ns\": ")
+                        .append(result.percentiles[j]);
+            }
+            json.append(", \"max_ns\": ").append(result.max).append('}');
+        }
+        json.append("\n  ]\n}\n");
+
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(json.toString());
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static String quote(String value) {
+        final StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
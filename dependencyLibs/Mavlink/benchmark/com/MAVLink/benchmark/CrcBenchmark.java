@@ -0,0 +1,82 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.ardupilotmega.CRC;
+
+/**
+ * Compares the bit by bit X.25 checksum the codec used to run, with the
+ * table driven one, fed one byte at a time and by range.
+ */
+public class CrcBenchmark implements Runnable {
+
+    private static final int FLIGHT_SECONDS = 600;
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private int sink;
+
+    @Override
+    public void run() {
+        final byte[] data = new TelemetryStream(42).generate(FLIGHT_SECONDS);
+        System.out.println("stream: " + data.length + " bytes");
+
+        for (int mode = 0; mode < 3; mode++) {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                checksum(data, mode);
+            }
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                checksum(data, mode);
+            }
+            final long elapsed = System.nanoTime() - start;
+
+            final double megabytesPerSec = (double) data.length * MEASURED_ROUNDS / (1 << 20) / (elapsed / 1E9);
+            System.out.println(String.format("%-20s %10.1f MB/s", label(mode), megabytesPerSec));
+        }
+
+        // Keeps the computations from being optimized away.
+        System.out.println("checksum: " + Integer.toHexString(sink));
+    }
+
+    private static String label(int mode) {
+        switch (mode) {
+            case 0:
+                return "bitwise (previous)";
+            case 1:
+                return "table, per byte";
+            default:
+                return "table, per range";
+        }
+    }
+
+    private void checksum(byte[] data, int mode) {
+        switch (mode) {
+            case 0: {
+                int crc = 0xffff;
+                for (byte b : data) {
+                    int tmp = (b & 0xff) ^ (crc & 0xff);
+                    tmp ^= (tmp << 4) & 0xff;
+                    crc = ((crc >> 8) & 0xff) ^ (tmp << 8) ^ (tmp << 3) ^ ((tmp >> 4) & 0xf);
+                }
+                sink += crc;
+                break;
+            }
+
+            case 1: {
+                final CRC crc = new CRC();
+                for (byte b : data) {
+                    crc.update_checksum(b);
+                }
+                sink += crc.getLSB();
+                break;
+            }
+
+            default: {
+                final CRC crc = new CRC();
+                crc.update_checksum(data, 0, data.length);
+                sink += crc.getLSB();
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.MAVLinkMessageCache;
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Parser;
+
+/**
+ * Decodes every frame of a synthetic copter telemetry stream with
+ * {@link MAVLinkPacket#unpack()}, the registry, and a message cache reusing
+ * one instance per message type.
+ */
+public class DecodeBenchmark implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int FLIGHT_SECONDS = 600;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private static final int MODE_UNPACK = 0;
+    private static final int MODE_REGISTRY = 1;
+    private static final int MODE_CACHE = 2;
+
+    private final MAVLinkMessageCache cache = new MAVLinkMessageCache();
+
+    private int mode;
+    private int decodedMessages;
+    private long sink;
+
+    private final Parser.PacketListener listener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            final MAVLinkMessage msg;
+            switch (mode) {
+                case MODE_UNPACK:
+                    msg = packet.unpack();
+                    break;
+
+                case MODE_REGISTRY:
+                    msg = MAVLinkMessageRegistry.unpack(packet);
+                    break;
+
+                default:
+                    msg = cache.unpack(packet);
+                    break;
+            }
+
+            sink += msg.sysid;
+            decodedMessages++;
+        }
+    };
+
+    @Override
+    public void run() {
+        final byte[] data = new TelemetryStream(42).generate(FLIGHT_SECONDS);
+
+        measure("unpack()", MODE_UNPACK, data);
+        measure("registry unpack", MODE_REGISTRY, data);
+        measure("message cache", MODE_CACHE, data);
+    }
+
+    private void measure(String label, int mode, byte[] data) {
+        this.mode = mode;
+        final Parser parser = new Parser();
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer);
+        }
+
+        decodedMessages = 0;
+        final long startAllocated = Allocations.currentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+        final String allocatedPerMessage = Allocations.isSupported()
+                ? String.format("%.1f", (double) allocated / decodedMessages)
+                : "n/a";
+        System.out.println(String.format("%-20s %12.0f messages/s %10s bytes allocated/message", label,
+                decodedMessages / (elapsed / 1E9), allocatedPerMessage));
+    }
+
+    private void parseStream(Parser parser, byte[] data, byte[] readBuffer) {
+        for (int offset = 0; offset < data.length; offset += readBuffer.length) {
+            final int length = Math.min(readBuffer.length, data.length - offset);
+            System.arraycopy(data, offset, readBuffer, 0, length);
+            parser.parse(readBuffer, 0, length, listener);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.MAVLink.benchmark;
+
+import java.nio.ByteBuffer;
+
+import com.MAVLink.MAVLinkEncoder;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_rc_channels_override;
+import com.MAVLink.common.msg_set_position_target_global_int;
+import com.MAVLink.enums.MAV_AUTOPILOT;
+import com.MAVLink.enums.MAV_FRAME;
+import com.MAVLink.enums.MAV_TYPE;
+
+/**
+ * Encodes the messages the ground station sends at a high rate (rc override,
+ * heartbeat and guided setpoints), with pack() and encodePacket(), and with
+ * the single pass encoder writing into a send buffer.
+ */
+public class EncodeBenchmark implements Runnable {
+
+    private static final int WARMUP_ITERATIONS = 200000;
+    private static final int MEASURED_ITERATIONS = 2000000;
+
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(64 * 1024);
+    private final MAVLinkEncoder encoder = new MAVLinkEncoder();
+
+    private long sink;
+
+    @Override
+    public void run() {
+        final MAVLinkMessage[] messages = {rcOverride(), heartbeat(), guidedSetpoint()};
+
+        for (int mode = 0; mode < 2; mode++) {
+            for (MAVLinkMessage msg : messages) {
+                encode(msg, mode, WARMUP_ITERATIONS);
+
+                final long startAllocated = Allocations.currentThreadAllocatedBytes();
+                final long start = System.nanoTime();
+                encode(msg, mode, MEASURED_ITERATIONS);
+                final long elapsed = System.nanoTime() - start;
+                final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+                final String allocatedPerMessage = Allocations.isSupported()
+                        ? String.format("%.1f", (double) allocated / MEASURED_ITERATIONS)
+                        : "n/a";
+                System.out.println(String.format("%-15s %-40s %12.0f messages/s %10s bytes allocated/message",
+                        mode == 0 ? "encodePacket()" : "encoder", msg.getClass().getSimpleName(),
+                        MEASURED_ITERATIONS / (elapsed / 1E9), allocatedPerMessage));
+            }
+        }
+
+        System.out.println("checksum: " + sink);
+    }
+
+    private void encode(MAVLinkMessage msg, int mode, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (sendBuffer.remaining() < MAVLinkEncoder.MAX_FRAME_LENGTH) {
+                sink += sendBuffer.get(sendBuffer.position() - 1);
+                sendBuffer.clear();
+            }
+
+            if (mode == 0) {
+                final MAVLinkPacket packet = msg.pack();
+                packet.seq = i & 0xff;
+                sendBuffer.put(packet.encodePacket());
+            } else {
+                encoder.encode(msg, i & 0xff, sendBuffer);
+            }
+        }
+    }
+
+    private static MAVLinkMessage rcOverride() {
+        final msg_rc_channels_override msg = new msg_rc_channels_override();
+        msg.chan1_raw = 1500;
+        msg.chan2_raw = 1500;
+        msg.chan3_raw = 1100;
+        msg.chan4_raw = 1500;
+        msg.target_system = 1;
+        msg.target_component = 1;
+        return msg;
+    }
+
+    private static MAVLinkMessage heartbeat() {
+        final msg_heartbeat msg = new msg_heartbeat();
+        msg.type = MAV_TYPE.MAV_TYPE_GCS;
+        msg.autopilot = MAV_AUTOPILOT.MAV_AUTOPILOT_GENERIC;
+        return msg;
+    }
+
+    private static MAVLinkMessage guidedSetpoint() {
+        final msg_set_position_target_global_int msg = new msg_set_position_target_global_int();
+        msg.coordinate_frame = MAV_FRAME.MAV_FRAME_GLOBAL_RELATIVE_ALT_INT;
+        msg.lat_int = 373977000;
+        msg.lon_int = -1220841000;
+        msg.alt = 20;
+        msg.target_system = 1;
+        msg.target_component = 1;
+        return msg;
+    }
+}
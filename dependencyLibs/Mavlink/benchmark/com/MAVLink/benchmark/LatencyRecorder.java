@@ -0,0 +1,50 @@
+package com.MAVLink.benchmark;
+
+import java.util.Arrays;
+
+/**
+ * Records operation durations, and reports their percentiles.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int count;
+    private boolean sorted;
+
+    /**
+     * @param capacity maximum count of samples, further ones are ignored
+     */
+    public LatencyRecorder(int capacity) {
+        samples = new long[capacity];
+    }
+
+    public void record(long nanos) {
+        if (count < samples.length) {
+            samples[count++] = nanos;
+            sorted = false;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param percentile percentile to compute, from 0 to 100
+     * @return the duration under which the given percentage of the samples
+     * are, in nanoseconds, or 0 if there are no samples.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+
+        final int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return samples[Math.max(0, Math.min(count - 1, rank))];
+    }
+}
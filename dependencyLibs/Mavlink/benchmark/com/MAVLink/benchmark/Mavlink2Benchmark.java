@@ -0,0 +1,78 @@
+package com.MAVLink.benchmark;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+
+/**
+ * Measures the bytes saved by MAVLink 2 payload truncation, by re-encoding
+ * every frame of a telemetry stream with both protocol versions. The frame
+ * totals include the 4 extra header bytes of MAVLink 2, which outweigh the
+ * truncation for messages without trailing zero fields.
+ */
+public class Mavlink2Benchmark implements Runnable {
+
+    private static final int FLIGHT_SECONDS = 600;
+
+    /**
+     * Serial links send 10 bits per byte (start, 8 data bits, stop).
+     */
+    private static final int BITS_PER_BYTE = 10;
+    private static final int RADIO_BAUD_RATE = 57600;
+
+    private final Map<Integer, long[]> bytesPerMsgid = new TreeMap<>();
+    private long mavlink1Bytes;
+    private long mavlink2Bytes;
+    private long fullPayloadBytes;
+    private long truncatedPayloadBytes;
+
+    @Override
+    public void run() {
+        final TelemetryStream stream = new TelemetryStream(42);
+        final byte[] data = stream.generate(FLIGHT_SECONDS);
+
+        new Parser().parse(data, 0, data.length, new Parser.PacketListener() {
+            @Override
+            public void onPacketReceived(MAVLinkPacket packet) {
+                final int v1Length = packet.encodePacket().length;
+                packet.isMavlink2 = true;
+                final int v2Length = packet.encodePacket().length;
+
+                mavlink1Bytes += v1Length;
+                mavlink2Bytes += v2Length;
+                fullPayloadBytes += v1Length - MAVLinkPacket.MAVLINK1_HEADER_LEN - MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+                truncatedPayloadBytes += v2Length - MAVLinkPacket.MAVLINK2_HEADER_LEN
+                        - MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+
+                long[] counts = bytesPerMsgid.get(packet.msgid);
+                if (counts == null) {
+                    counts = new long[3];
+                    bytesPerMsgid.put(packet.msgid, counts);
+                }
+                counts[0]++;
+                counts[1] += v1Length;
+                counts[2] += v2Length;
+            }
+        });
+
+        System.out.println(String.format("%-8s %8s %12s %12s %8s", "msgid", "frames", "v1 bytes", "v2 bytes", "saved"));
+        for (Map.Entry<Integer, long[]> entry : bytesPerMsgid.entrySet()) {
+            final long[] counts = entry.getValue();
+            System.out.println(String.format("%-8d %8d %12d %12d %7.1f%%", entry.getKey(), counts[0], counts[1],
+                    counts[2], 100.0 * (counts[1] - counts[2]) / counts[1]));
+        }
+
+        System.out.println(String.format("%-8s %8s %12d %12d %7.1f%%", "total", "", mavlink1Bytes, mavlink2Bytes,
+                100.0 * (mavlink1Bytes - mavlink2Bytes) / mavlink1Bytes));
+        System.out.println(String.format("payload bytes removed by truncation: %.1f%%",
+                100.0 * (fullPayloadBytes - truncatedPayloadBytes) / fullPayloadBytes));
+        System.out.println(String.format("link load at %d baud: %.1f%% (MAVLink 1.0), %.1f%% (MAVLink 2)",
+                RADIO_BAUD_RATE, linkLoad(mavlink1Bytes), linkLoad(mavlink2Bytes)));
+    }
+
+    private static double linkLoad(long bytes) {
+        return 100.0 * bytes * BITS_PER_BYTE / FLIGHT_SECONDS / RADIO_BAUD_RATE;
+    }
+}
@@ -0,0 +1,84 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+
+/**
+ * Compares the byte at a time parser with the bulk, pooled parser on a
+ * synthetic copter telemetry stream, fed in 4096 bytes blocks like the
+ * connection read loop does.
+ */
+public class ParserBenchmark implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int FLIGHT_SECONDS = 600;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private int receivedFrames;
+
+    private final Parser.PacketListener listener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            receivedFrames++;
+        }
+    };
+
+    @Override
+    public void run() {
+        final TelemetryStream stream = new TelemetryStream(42);
+        final byte[] data = stream.generate(FLIGHT_SECONDS);
+        final int frameCount = stream.getFrameCount();
+        System.out.println("stream: " + data.length + " bytes, " + frameCount + " frames");
+
+        measure("mavlink_parse_char", data, frameCount, false);
+        measure("parse(byte[])", data, frameCount, true);
+    }
+
+    private void measure(String label, byte[] data, int frameCount, boolean bulk) {
+        final Parser parser = new Parser();
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer, bulk);
+        }
+
+        receivedFrames = 0;
+        final long startAllocated = Allocations.currentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer, bulk);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+        if (receivedFrames != frameCount * MEASURED_ROUNDS) {
+            throw new IllegalStateException(label + " decoded " + receivedFrames + " frames, expected "
+                    + frameCount * MEASURED_ROUNDS);
+        }
+
+        final double framesPerSec = receivedFrames / (elapsed / 1E9);
+        final String allocatedPerFrame = Allocations.isSupported()
+                ? String.format("%.1f", (double) allocated / receivedFrames)
+                : "n/a";
+        System.out.println(String.format("%-20s %12.0f frames/s %10s bytes allocated/frame", label,
+                framesPerSec, allocatedPerFrame));
+    }
+
+    private void parseStream(Parser parser, byte[] data, byte[] readBuffer, boolean bulk) {
+        for (int offset = 0; offset < data.length; offset += readBuffer.length) {
+            final int length = Math.min(readBuffer.length, data.length - offset);
+            System.arraycopy(data, offset, readBuffer, 0, length);
+
+            if (bulk) {
+                parser.parse(readBuffer, 0, length, listener);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    if (parser.mavlink_parse_char(readBuffer[i] & 0xff) != null) {
+                        receivedFrames++;
+                    }
+                }
+            }
+        }
+    }
+}
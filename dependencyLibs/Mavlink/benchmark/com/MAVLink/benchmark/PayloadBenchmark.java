@@ -0,0 +1,131 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_mission_item;
+
+/**
+ * Measures the payload primitive codecs: writing a mix of fields into a
+ * reused payload, reading them back with the absolute and the indexed
+ * getters, and the memory allocated by pack() for each packet.
+ */
+public class PayloadBenchmark implements Runnable {
+
+    private static final int WARMUP_ITERATIONS = 500000;
+    private static final int MEASURED_ITERATIONS = 5000000;
+
+    private static final String[] MODES = {"write", "read absolute", "read indexed"};
+
+    /**
+     * Bytes written by {@link #write(MAVLinkPayload, int)}, the layout of a
+     * mission item.
+     */
+    private static final int RECORD_LENGTH = 37;
+
+    /**
+     * Payloads read in turn, so the reads can't be hoisted out of the loops.
+     */
+    private final MAVLinkPayload[] payloads = new MAVLinkPayload[16];
+
+    public PayloadBenchmark() {
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = new MAVLinkPayload();
+            write(payloads[i], i);
+        }
+    }
+
+    private long sink;
+
+    @Override
+    public void run() {
+        for (int mode = 0; mode < 3; mode++) {
+            loop(mode, WARMUP_ITERATIONS);
+
+            final long startAllocated = Allocations.currentThreadAllocatedBytes();
+            final long start = System.nanoTime();
+            loop(mode, MEASURED_ITERATIONS);
+            final long elapsed = System.nanoTime() - start;
+            final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+            final String allocatedPerRecord = Allocations.isSupported()
+                    ? String.format("%.1f", (double) allocated / MEASURED_ITERATIONS)
+                    : "n/a";
+            System.out.println(String.format("%-16s %8.1f MB/s %12.0f payloads/s %8s bytes allocated/payload",
+                    MODES[mode], (double) MEASURED_ITERATIONS * RECORD_LENGTH / (elapsed / 1E9) / (1024 * 1024),
+                    MEASURED_ITERATIONS / (elapsed / 1E9), allocatedPerRecord));
+        }
+
+        final MAVLinkMessage[] messages = {new msg_heartbeat(), new msg_attitude(), new msg_mission_item()};
+        for (MAVLinkMessage msg : messages) {
+            pack(msg, WARMUP_ITERATIONS / 10);
+
+            final long startAllocated = Allocations.currentThreadAllocatedBytes();
+            pack(msg, MEASURED_ITERATIONS / 10);
+            final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+            final String allocatedPerPacket = Allocations.isSupported()
+                    ? String.format("%.1f", (double) allocated / (MEASURED_ITERATIONS / 10))
+                    : "n/a";
+            System.out.println(String.format("pack() %-25s %8s bytes allocated/packet",
+                    msg.getClass().getSimpleName(), allocatedPerPacket));
+        }
+
+        System.out.println("checksum: " + sink);
+    }
+
+    private void loop(int mode, int iterations) {
+        switch (mode) {
+            case 0:
+                for (int i = 0; i < iterations; i++) {
+                    final MAVLinkPayload payload = payloads[i & 15];
+                    payload.reset();
+                    write(payload, i);
+                    sink += payload.size();
+                }
+                break;
+
+            case 1:
+                for (int i = 0; i < iterations; i++) {
+                    final MAVLinkPayload payload = payloads[i & 15];
+                    sink += (long) payload.getFloat(0) + (long) payload.getFloat(24) + payload.getShort(28)
+                            + payload.getShort(32) + payload.getByte(34) + payload.getByte(36);
+                }
+                break;
+
+            case 2:
+                for (int i = 0; i < iterations; i++) {
+                    final MAVLinkPayload payload = payloads[i & 15];
+                    payload.resetIndex();
+                    for (int j = 0; j < 7; j++) {
+                        sink += (long) payload.getFloat();
+                    }
+                    sink += payload.getShort() + payload.getShort() + payload.getByte() + payload.getByte()
+                            + payload.getByte() + payload.getByte() + payload.getByte();
+                }
+                break;
+        }
+    }
+
+    private static void write(MAVLinkPayload payload, int i) {
+        for (int j = 0; j < 7; j++) {
+            payload.putFloat(i + j);
+        }
+        payload.putShort((short) i);
+        payload.putShort((short) 16);
+        payload.putByte((byte) 1);
+        payload.putByte((byte) 1);
+        payload.putByte((byte) 3);
+        payload.putByte((byte) 0);
+        payload.putByte((byte) 1);
+    }
+
+    private void pack(MAVLinkMessage msg, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            final MAVLinkPacket packet = msg.pack();
+            sink += packet.payload.size();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+
+/**
+ * Measures how many intact frames the parser recovers from a copter
+ * telemetry stream whose frames are truncated and followed by noise, as on a
+ * serial radio losing bytes, and the parsing throughput on such a stream.
+ */
+public class ResyncBenchmark implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int FLIGHT_SECONDS = 600;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    /**
+     * Probabilities of a frame being truncated, and of a noise burst after a
+     * frame.
+     */
+    private static final double[] ERROR_RATES = { 0, 0.001, 0.01, 0.05, 0.2 };
+
+    private int receivedFrames;
+
+    private final Parser.PacketListener listener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            receivedFrames++;
+        }
+    };
+
+    @Override
+    public void run() {
+        System.out.println(String.format("%-8s %10s %10s %10s %14s", "errors", "intact", "recovered", "rate",
+                "frames/s"));
+        for (double errorRate : ERROR_RATES) {
+            final TelemetryStream stream = new TelemetryStream(42);
+            stream.setFramingErrors(11, errorRate, errorRate);
+            final byte[] data = stream.generate(FLIGHT_SECONDS);
+            measure(errorRate, data, stream.getIntactFrameCount());
+        }
+    }
+
+    private void measure(double errorRate, byte[] data, int intactFrames) {
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parseStream(new Parser(), data, readBuffer);
+        }
+
+        receivedFrames = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            parseStream(new Parser(), data, readBuffer);
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        final int recovered = receivedFrames / MEASURED_ROUNDS;
+        System.out.println(String.format("%-8s %10d %10d %9.2f%% %14.0f", errorRate, intactFrames, recovered,
+                100.0 * recovered / intactFrames, receivedFrames / (elapsed / 1E9)));
+    }
+
+    private void parseStream(Parser parser, byte[] data, byte[] readBuffer) {
+        for (int offset = 0; offset < data.length; offset += readBuffer.length) {
+            final int length = Math.min(readBuffer.length, data.length - offset);
+            System.arraycopy(data, offset, readBuffer, 0, length);
+            parser.parse(readBuffer, 0, length, listener);
+        }
+    }
+}
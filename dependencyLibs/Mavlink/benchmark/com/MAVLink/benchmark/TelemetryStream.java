@@ -0,0 +1,349 @@
+package com.MAVLink.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.ardupilotmega.msg_ahrs;
+import com.MAVLink.ardupilotmega.msg_wind;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_global_position_int;
+import com.MAVLink.common.msg_gps_raw_int;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_mission_current;
+import com.MAVLink.common.msg_nav_controller_output;
+import com.MAVLink.common.msg_radio_status;
+import com.MAVLink.common.msg_raw_imu;
+import com.MAVLink.common.msg_rc_channels_raw;
+import com.MAVLink.common.msg_servo_output_raw;
+import com.MAVLink.common.msg_sys_status;
+import com.MAVLink.common.msg_system_time;
+import com.MAVLink.common.msg_vfr_hud;
+
+/**
+ * Synthesizes the telemetry stream of a vehicle flying a circle, with the
+ * message mix and rates of the default ArduPilot stream configuration. The
+ * output is deterministic for a given seed.
+ *
+ * Frames can be dropped, corrupted or truncated and mixed with noise, as
+ * over a lossy radio link, and be written back to back or as a tlog file,
+ * each frame preceded by its big endian timestamp in microseconds.
+ */
+public class TelemetryStream {
+
+    public enum Vehicle {
+        COPTER, PLANE
+    }
+
+    private static final int TICK_MS = 100;
+
+    private static final double HOME_LAT = 37.873;
+    private static final double HOME_LON = -122.302;
+
+    /**
+     * Unix time of the first tick, in microseconds.
+     */
+    private static final long START_TIME_US = 1420070400000000L;
+
+    private final Random random;
+    private final Vehicle vehicle;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private Random linkRandom;
+    private double dropRate;
+    private double corruptRate;
+
+    private Random framingRandom;
+    private double truncateRate;
+    private double noiseRate;
+
+    private boolean tlog;
+    private long timestampUs;
+
+    private int frameCount;
+    private int intactFrameCount;
+    private int seq;
+
+    public TelemetryStream(long seed) {
+        this(seed, Vehicle.COPTER);
+    }
+
+    public TelemetryStream(long seed, Vehicle vehicle) {
+        random = new Random(seed);
+        this.vehicle = vehicle;
+    }
+
+    /**
+     * Simulates link errors. Dropped frames still use a sequence number, and
+     * corrupted frames have one bit flipped in their payload or checksum.
+     *
+     * @param seed        seed of the errors, independent from the telemetry
+     * @param dropRate    probability of a frame being lost
+     * @param corruptRate probability of a frame being corrupted
+     */
+    public void setLinkErrors(long seed, double dropRate, double corruptRate) {
+        linkRandom = new Random(seed);
+        this.dropRate = dropRate;
+        this.corruptRate = corruptRate;
+    }
+
+    /**
+     * Simulates a serial link losing bytes and picking up noise. Truncated
+     * frames are cut at a random byte, and noise bursts start with a MAVLink
+     * start sign so the parser takes them for a frame.
+     *
+     * @param seed         seed of the errors, independent from the telemetry
+     * @param truncateRate probability of a frame being truncated
+     * @param noiseRate    probability of a noise burst after a frame
+     */
+    public void setFramingErrors(long seed, double truncateRate, double noiseRate) {
+        framingRandom = new Random(seed);
+        this.truncateRate = truncateRate;
+        this.noiseRate = noiseRate;
+    }
+
+    /**
+     * @param seconds flight duration to synthesize
+     * @return the encoded frames, back to back
+     */
+    public byte[] generate(int seconds) {
+        final int ticks = seconds * 1000 / TICK_MS;
+        for (int tick = 0; tick < ticks; tick++) {
+            emitTick(tick);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @param seconds flight duration to synthesize
+     * @return the encoded frames in the tlog format
+     */
+    public byte[] generateTlog(int seconds) {
+        tlog = true;
+        return generate(seconds);
+    }
+
+    /**
+     * @return the count of frames generated so far.
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the count of frames generated so far which were neither
+     * corrupted nor truncated.
+     */
+    public int getIntactFrameCount() {
+        return intactFrameCount;
+    }
+
+    private void emitTick(int tick) {
+        final boolean plane = vehicle == Vehicle.PLANE;
+        final int timeMs = tick * TICK_MS;
+        timestampUs = START_TIME_US + timeMs * 1000L;
+
+        final double t = timeMs / 1000.0;
+        final double period = plane ? 60.0 : 30.0;
+        final double radius = plane ? 0.003 : 0.0005;
+        final double angle = t / period;
+        final float cruiseAlt = plane ? 100 : 30;
+        final float alt = (float) Math.min(cruiseAlt, t * (plane ? 5 : 1));
+        final float speed = plane ? 18 : 1.5f;
+
+        final msg_attitude attitude = new msg_attitude();
+        attitude.time_boot_ms = timeMs;
+        attitude.roll = (plane ? 0.35f : 0) + noise(0.05f);
+        attitude.pitch = noise(0.05f);
+        attitude.yaw = (float) (angle % (2 * Math.PI) - Math.PI);
+        attitude.rollspeed = noise(0.01f);
+        attitude.pitchspeed = noise(0.01f);
+        attitude.yawspeed = (float) (1 / period) + noise(0.005f);
+        emit(attitude);
+
+        if (tick % 2 == 0) {
+            final msg_global_position_int position = new msg_global_position_int();
+            position.time_boot_ms = timeMs;
+            position.lat = (int) ((HOME_LAT + radius * Math.sin(angle)) * 1E7);
+            position.lon = (int) ((HOME_LON + radius * Math.cos(angle)) * 1E7);
+            position.alt = (int) ((alt + 12) * 1000);
+            position.relative_alt = (int) (alt * 1000);
+            position.vx = (short) (speed * 100 * Math.cos(angle));
+            position.vy = (short) (-speed * 100 * Math.sin(angle));
+            position.vz = (short) noise(10);
+            position.hdg = (short) ((Math.toDegrees(angle) % 360) * 100);
+            emit(position);
+
+            final msg_gps_raw_int gps = new msg_gps_raw_int();
+            gps.time_usec = timeMs * 1000L;
+            gps.lat = position.lat;
+            gps.lon = position.lon;
+            gps.alt = position.alt;
+            gps.eph = (short) (120 + random.nextInt(30));
+            gps.epv = (short) 65535;
+            gps.vel = (short) (speed * 100);
+            gps.cog = position.hdg;
+            gps.fix_type = 3;
+            gps.satellites_visible = (byte) (9 + random.nextInt(3));
+            emit(gps);
+
+            final msg_raw_imu imu = new msg_raw_imu();
+            imu.time_usec = timeMs * 1000L;
+            imu.xacc = (short) noise(20);
+            imu.yacc = (short) noise(20);
+            imu.zacc = (short) (-1000 + noise(20));
+            imu.xgyro = (short) noise(5);
+            imu.ygyro = (short) noise(5);
+            imu.zgyro = (short) noise(5);
+            imu.xmag = (short) (220 + noise(3));
+            imu.ymag = (short) (40 + noise(3));
+            imu.zmag = (short) (-380 + noise(3));
+            emit(imu);
+        }
+
+        if (tick % 3 == 0) {
+            final msg_vfr_hud hud = new msg_vfr_hud();
+            hud.airspeed = speed + noise(0.1f);
+            hud.groundspeed = speed + noise(plane ? 2 : 0.1f);
+            hud.alt = alt + 12;
+            hud.climb = alt < cruiseAlt ? (plane ? 5 : 1) : noise(0.05f);
+            hud.heading = (short) (Math.toDegrees(angle) % 360);
+            hud.throttle = (short) (48 + random.nextInt(4));
+            emit(hud);
+        }
+
+        if (tick % 5 == 0) {
+            final msg_sys_status sysStatus = new msg_sys_status();
+            sysStatus.onboard_control_sensors_present = 0x3fffff;
+            sysStatus.onboard_control_sensors_enabled = 0x3fffff;
+            sysStatus.onboard_control_sensors_health = 0x3fffff;
+            sysStatus.load = (short) (300 + random.nextInt(50));
+            sysStatus.voltage_battery = (short) (12600 - tick);
+            sysStatus.current_battery = (short) (1500 + random.nextInt(100));
+            sysStatus.battery_remaining = (byte) Math.max(0, 100 - tick / 60);
+            emit(sysStatus);
+
+            final msg_rc_channels_raw rcIn = new msg_rc_channels_raw();
+            rcIn.time_boot_ms = timeMs;
+            rcIn.chan1_raw = rcIn.chan2_raw = rcIn.chan4_raw = 1500;
+            rcIn.chan3_raw = (short) (plane ? 1600 : 1100);
+            rcIn.chan5_raw = 1800;
+            rcIn.chan6_raw = rcIn.chan7_raw = rcIn.chan8_raw = 1000;
+            rcIn.rssi = (byte) 255;
+            emit(rcIn);
+
+            final msg_servo_output_raw servoOut = new msg_servo_output_raw();
+            servoOut.time_usec = timeMs * 1000;
+            servoOut.servo1_raw = (short) (1480 + random.nextInt(40));
+            servoOut.servo2_raw = (short) (1480 + random.nextInt(40));
+            servoOut.servo3_raw = (short) (1480 + random.nextInt(40));
+            servoOut.servo4_raw = (short) (1480 + random.nextInt(40));
+            emit(servoOut);
+
+            final msg_nav_controller_output navOutput = new msg_nav_controller_output();
+            navOutput.nav_roll = attitude.roll;
+            navOutput.nav_pitch = attitude.pitch;
+            navOutput.nav_bearing = (short) Math.toDegrees(attitude.yaw);
+            navOutput.target_bearing = navOutput.nav_bearing;
+            navOutput.wp_dist = (short) (40 + random.nextInt(5));
+            navOutput.alt_error = noise(0.3f);
+            emit(navOutput);
+        }
+
+        if (tick % 10 == 0) {
+            final msg_heartbeat heartbeat = new msg_heartbeat();
+            heartbeat.custom_mode = plane ? 10 : 3; // AUTO
+            heartbeat.type = (byte) (plane ? 1 : 2); // fixed wing or quadrotor
+            heartbeat.autopilot = 3;
+            heartbeat.base_mode = (byte) 0xd9;
+            heartbeat.system_status = 4;
+            heartbeat.mavlink_version = 3;
+            emit(heartbeat);
+
+            final msg_system_time systemTime = new msg_system_time();
+            systemTime.time_unix_usec = 1420070400000000L + timeMs * 1000L;
+            systemTime.time_boot_ms = timeMs;
+            emit(systemTime);
+
+            final msg_mission_current missionCurrent = new msg_mission_current();
+            missionCurrent.seq = (short) (tick / 300);
+            emit(missionCurrent);
+
+            final msg_radio_status radioStatus = new msg_radio_status();
+            radioStatus.rssi = (byte) (180 + random.nextInt(20));
+            radioStatus.remrssi = (byte) (175 + random.nextInt(20));
+            radioStatus.txbuf = 100;
+            radioStatus.noise = (byte) (40 + random.nextInt(10));
+            radioStatus.remnoise = (byte) (42 + random.nextInt(10));
+            emit(radioStatus);
+
+            if (plane) {
+                final msg_wind wind = new msg_wind();
+                wind.direction = 270 + noise(5);
+                wind.speed = 4 + noise(0.5f);
+                wind.speed_z = noise(0.2f);
+                emit(wind);
+
+                final msg_ahrs ahrs = new msg_ahrs();
+                ahrs.omegaIx = noise(0.001f);
+                ahrs.omegaIy = noise(0.001f);
+                ahrs.omegaIz = noise(0.001f);
+                ahrs.renorm_val = 0.001f;
+                ahrs.error_rp = 0.002f + Math.abs(noise(0.001f));
+                ahrs.error_yaw = 0.01f + Math.abs(noise(0.005f));
+                emit(ahrs);
+            }
+        }
+    }
+
+    private float noise(float amplitude) {
+        return (float) (random.nextGaussian() * amplitude);
+    }
+
+    private void emit(MAVLinkMessage msg) {
+        final MAVLinkPacket packet = msg.pack();
+        packet.sysid = 1;
+        packet.compid = 1;
+        packet.seq = seq;
+        seq = (seq + 1) & 0xff;
+
+        final byte[] frame = packet.encodePacket();
+        boolean intact = true;
+        if (linkRandom != null) {
+            if (linkRandom.nextDouble() < dropRate) {
+                return;
+            }
+
+            if (linkRandom.nextDouble() < corruptRate) {
+                final int bit = linkRandom.nextInt((frame.length - MAVLinkPacket.MAVLINK1_HEADER_LEN) * 8);
+                frame[MAVLinkPacket.MAVLINK1_HEADER_LEN + bit / 8] ^= 1 << (bit % 8);
+                intact = false;
+            }
+        }
+
+        int length = frame.length;
+        if (framingRandom != null && framingRandom.nextDouble() < truncateRate) {
+            length = 1 + framingRandom.nextInt(frame.length - 1);
+            intact = false;
+        }
+
+        if (tlog) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                output.write((int) (timestampUs >>> shift));
+            }
+        }
+        output.write(frame, 0, length);
+        frameCount++;
+        if (intact) {
+            intactFrameCount++;
+        }
+
+        if (framingRandom != null && framingRandom.nextDouble() < noiseRate) {
+            final byte[] noise = new byte[1 + framingRandom.nextInt(16)];
+            framingRandom.nextBytes(noise);
+            noise[0] = (byte) MAVLinkPacket.MAVLINK_STX;
+            output.write(noise, 0, noise.length);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.MAVLink.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.MAVLink.MAVLinkPacket;
+
+/**
+ * Telemetry replayed by the corpus benchmark: the frames of a tlog file,
+ * back to back as received from a link.
+ *
+ * The bundled corpora are synthesized by {@link TelemetryStream}, so the
+ * benchmark runs offline and always measures the same bytes. Recorded tlog
+ * files can be loaded too.
+ */
+public class TlogCorpus {
+
+    private static final int TIMESTAMP_LEN = 8;
+
+    private static final int FLIGHT_SECONDS = 600;
+
+    private final String name;
+    private final byte[] stream;
+    private final int recordCount;
+
+    private TlogCorpus(String name, byte[] stream, int recordCount) {
+        this.name = name;
+        this.stream = stream;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * @return the corpora generated for the benchmark: a copter and a plane
+     * flight, and the copter flight received over a lossy radio link.
+     */
+    public static TlogCorpus[] bundled() {
+        final TelemetryStream lossy = new TelemetryStream(42, TelemetryStream.Vehicle.COPTER);
+        lossy.setLinkErrors(7, 0.02, 0.01);
+
+        return new TlogCorpus[]{
+                fromTlog("copter", new TelemetryStream(42, TelemetryStream.Vehicle.COPTER)
+                        .generateTlog(FLIGHT_SECONDS)),
+                fromTlog("plane", new TelemetryStream(43, TelemetryStream.Vehicle.PLANE)
+                        .generateTlog(FLIGHT_SECONDS)),
+                fromTlog("lossy_radio", lossy.generateTlog(FLIGHT_SECONDS))
+        };
+    }
+
+    /**
+     * Loads a recorded tlog file.
+     *
+     * @throws IOException if the file can't be read or isn't a tlog file
+     */
+    public static TlogCorpus load(File file) throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream((int) file.length());
+        final InputStream input = new FileInputStream(file);
+        try {
+            final byte[] buffer = new byte[64 * 1024];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                content.write(buffer, 0, count);
+            }
+        } finally {
+            input.close();
+        }
+
+        try {
+            return fromTlog(file.getName(), content.toByteArray());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(file + " isn't a tlog file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts the frames of a tlog content, dropping their timestamps.
+     *
+     * @throws IllegalArgumentException if a record doesn't hold a frame
+     */
+    static TlogCorpus fromTlog(String name, byte[] tlog) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(tlog.length);
+        int records = 0;
+        int i = 0;
+        while (i + TIMESTAMP_LEN + 2 <= tlog.length) {
+            final int start = i + TIMESTAMP_LEN;
+            final int stx = tlog[start] & 0xff;
+            final int payloadLength = tlog[start + 1] & 0xff;
+
+            int frameLength;
+            if (stx == MAVLinkPacket.MAVLINK_STX) {
+                frameLength = MAVLinkPacket.MAVLINK1_HEADER_LEN + payloadLength + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+            } else if (stx == MAVLinkPacket.MAVLINK_STX_MAVLINK2 && start + 2 < tlog.length) {
+                frameLength = MAVLinkPacket.MAVLINK2_HEADER_LEN + payloadLength + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+                if ((tlog[start + 2] & MAVLinkPacket.MAVLINK_IFLAG_SIGNED) != 0) {
+                    frameLength += MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN;
+                }
+            } else {
+                throw new IllegalArgumentException("no frame at offset " + start);
+            }
+
+            frameLength = Math.min(frameLength, tlog.length - start);
+            stream.write(tlog, start, frameLength);
+            records++;
+            i = start + frameLength;
+        }
+
+        return new TlogCorpus(name, stream.toByteArray(), records);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the frames of the corpus, back to back.
+     */
+    public byte[] getStream() {
+        return stream;
+    }
+
+    /**
+     * @return the count of frames in the tlog, including the corrupted ones.
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+}
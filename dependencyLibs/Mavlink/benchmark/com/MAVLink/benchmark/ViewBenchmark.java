@@ -0,0 +1,142 @@
+package com.MAVLink.benchmark;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Parser;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_global_position_int;
+import com.MAVLink.common.msg_raw_imu;
+import com.MAVLink.common.msg_vfr_hud;
+import com.MAVLink.common.view_attitude;
+import com.MAVLink.common.view_global_position_int;
+import com.MAVLink.common.view_raw_imu;
+import com.MAVLink.common.view_vfr_hud;
+
+/**
+ * Reads the fields the ground station uses from attitude, global_position_int,
+ * raw_imu and vfr_hud frames, by unpacking them into msg_* objects, and
+ * through the generated views.
+ */
+public class ViewBenchmark implements Runnable {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int FLIGHT_SECONDS = 600;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+
+    private final view_attitude attitudeView = new view_attitude();
+    private final view_global_position_int positionView = new view_global_position_int();
+    private final view_raw_imu rawImuView = new view_raw_imu();
+    private final view_vfr_hud vfrHudView = new view_vfr_hud();
+
+    private int readMessages;
+    private double sink;
+
+    private final Parser.PacketListener unpackListener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            switch (packet.msgid) {
+                case msg_attitude.MAVLINK_MSG_ID_ATTITUDE:
+                    final msg_attitude attitude = (msg_attitude) packet.unpack();
+                    sink += attitude.roll + attitude.pitch + attitude.yaw;
+                    readMessages++;
+                    break;
+
+                case msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT:
+                    final msg_global_position_int position = (msg_global_position_int) packet.unpack();
+                    sink += position.lat / 1E7 + position.lon / 1E7;
+                    readMessages++;
+                    break;
+
+                case msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU:
+                    final msg_raw_imu imu = (msg_raw_imu) packet.unpack();
+                    sink += imu.xmag + imu.ymag + imu.zmag;
+                    readMessages++;
+                    break;
+
+                case msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD:
+                    final msg_vfr_hud hud = (msg_vfr_hud) packet.unpack();
+                    sink += hud.alt + hud.groundspeed + hud.airspeed + hud.climb;
+                    readMessages++;
+                    break;
+            }
+        }
+    };
+
+    private final Parser.PacketListener viewListener = new Parser.PacketListener() {
+        @Override
+        public void onPacketReceived(MAVLinkPacket packet) {
+            switch (packet.msgid) {
+                case msg_attitude.MAVLINK_MSG_ID_ATTITUDE:
+                    attitudeView.wrap(packet);
+                    sink += attitudeView.roll() + attitudeView.pitch() + attitudeView.yaw();
+                    readMessages++;
+                    break;
+
+                case msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT:
+                    positionView.wrap(packet);
+                    sink += positionView.lat() / 1E7 + positionView.lon() / 1E7;
+                    readMessages++;
+                    break;
+
+                case msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU:
+                    rawImuView.wrap(packet);
+                    sink += rawImuView.xmag() + rawImuView.ymag() + rawImuView.zmag();
+                    readMessages++;
+                    break;
+
+                case msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD:
+                    vfrHudView.wrap(packet);
+                    sink += vfrHudView.alt() + vfrHudView.groundspeed() + vfrHudView.airspeed()
+                            + vfrHudView.climb();
+                    readMessages++;
+                    break;
+            }
+        }
+    };
+
+    @Override
+    public void run() {
+        final byte[] data = new TelemetryStream(42).generate(FLIGHT_SECONDS);
+
+        measure("unpack()", data, unpackListener);
+        final double unpackSink = sink;
+        measure("views", data, viewListener);
+
+        if (sink != unpackSink) {
+            throw new IllegalStateException("Views read different values than unpack()");
+        }
+    }
+
+    private void measure(String label, byte[] data, Parser.PacketListener listener) {
+        final Parser parser = new Parser();
+        final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer, listener);
+        }
+
+        readMessages = 0;
+        sink = 0;
+        final long startAllocated = Allocations.currentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            parseStream(parser, data, readBuffer, listener);
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = Allocations.currentThreadAllocatedBytes() - startAllocated;
+
+        final String allocatedPerMessage = Allocations.isSupported()
+                ? String.format("%.1f", (double) allocated / readMessages)
+                : "n/a";
+        System.out.println(String.format("%-20s %12.0f messages/s %10s bytes allocated/message", label,
+                readMessages / (elapsed / 1E9), allocatedPerMessage));
+    }
+
+    private static void parseStream(Parser parser, byte[] data, byte[] readBuffer, Parser.PacketListener listener) {
+        for (int offset = 0; offset < data.length; offset += readBuffer.length) {
+            final int length = Math.min(readBuffer.length, data.length - offset);
+            System.arraycopy(data, offset, readBuffer, 0, length);
+            parser.parse(readBuffer, 0, length, listener);
+        }
+    }
+}
@@ -8,5 +8,21 @@ if ! which mavgen.py > /dev/null; then
     exit 1
 fi
 
+# mavgen also writes the framing classes: Parser, MAVLinkPacket, the
+# Messages package and the CRC class of each dialect. They are maintained by
+# hand here, as they hold the MAVLink 2 framing, so only the message classes
+# and enums are installed from its output. The CRC_EXTRA bytes and payload
+# lengths are registered by the dialect classes generate_views.py writes.
+gendir="$(mktemp -d)"
+trap 'rm -rf "$gendir"' EXIT
+
 echo "Generating Java code"
-mavgen.py --lang=Java --wire-protocol=1.0 --output=$mavdir/src/com/MAVLink $mavdir/message_definitions/ardupilotmega.xml
+mavgen.py --lang=Java --wire-protocol=1.0 --output=$gendir $mavdir/message_definitions/ardupilotmega.xml || exit 1
+
+for dialect in common ardupilotmega; do
+    cp $gendir/$dialect/msg_*.java $mavdir/src/com/MAVLink/$dialect/
+done
+cp $gendir/enums/*.java $mavdir/src/com/MAVLink/enums/
+
+echo "Generating Java message views"
+python $mavdir/generate_views.py --output=$mavdir/src/com/MAVLink $mavdir/message_definitions/ardupilotmega.xml
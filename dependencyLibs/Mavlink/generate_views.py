@@ -0,0 +1,280 @@
+#!/usr/bin/env python
+'''
+Generates the read-only view_* classes next to the msg_* classes produced by
+mavgen. A view decodes each field straight from the packet payload at the
+field's wire offset, so the wire ordering must match the one mavgen uses:
+fields sorted by decreasing type size, in declaration order otherwise.
+
+Also generates a <Name>Dialect class per definition file, registering its
+messages in the MAVLinkMessageRegistry along with a packer writing their
+payload without allocating a packet, and the offsets of their target_system
+and target_component fields, used to route frames without decoding them.
+
+usage: generate_views.py --output=DIR definition.xml
+'''
+
+import os
+import re
+import sys
+import xml.etree.ElementTree as ET
+
+# MAVLink type -> (size, java type, payload getter, payload setter)
+TYPES = {
+    'char': (1, 'byte', 'getByte', 'putByte'),
+    'int8_t': (1, 'byte', 'getByte', 'putByte'),
+    'uint8_t': (1, 'byte', 'getByte', 'putByte'),
+    'uint8_t_mavlink_version': (1, 'byte', 'getByte', 'putByte'),
+    'int16_t': (2, 'short', 'getShort', 'putShort'),
+    'uint16_t': (2, 'short', 'getShort', 'putShort'),
+    'int32_t': (4, 'int', 'getInt', 'putInt'),
+    'uint32_t': (4, 'int', 'getInt', 'putInt'),
+    'float': (4, 'float', 'getFloat', 'putFloat'),
+    'int64_t': (8, 'long', 'getLong', 'putLong'),
+    'uint64_t': (8, 'long', 'getLong', 'putLong'),
+    'double': (8, 'double', 'getDouble', 'putDouble'),
+}
+
+
+def clean(text):
+    return re.sub(r'\s+', ' ', text or '').strip()
+
+
+def x25(data, crc=0xffff):
+    for b in bytearray(data):
+        tmp = (b ^ crc) & 0xff
+        tmp = (tmp ^ (tmp << 4)) & 0xff
+        crc = ((crc >> 8) ^ (tmp << 8) ^ (tmp << 3) ^ (tmp >> 4)) & 0xffff
+    return crc
+
+
+def crc_extra(name, fields):
+    '''Hashes the message layout, the same way as mavgen.'''
+    crc = x25((name + ' ').encode('ascii'))
+    for field in fields:
+        crc = x25((field.type.replace('_mavlink_version', '') + ' ').encode('ascii'), crc)
+        crc = x25((field.name + ' ').encode('ascii'), crc)
+        if field.array_length:
+            crc = x25(bytearray([field.array_length]), crc)
+    return (crc & 0xff) ^ (crc >> 8)
+
+
+class Field(object):
+    def __init__(self, element):
+        self.name = element.get('name')
+        self.description = clean(element.text)
+        match = re.match(r'(\w+)\[(\d+)\]$', element.get('type'))
+        if match:
+            self.type, self.array_length = match.group(1), int(match.group(2))
+        else:
+            self.type, self.array_length = element.get('type'), 0
+        self.size, self.java_type, self.getter, self.setter = TYPES[self.type]
+        self.offset = 0
+
+
+def parse_messages(xml_file):
+    root = ET.parse(xml_file).getroot()
+    messages = []
+    for element in root.iter('message'):
+        fields = [Field(f) for f in element.findall('field')]
+        # sorted() is stable, so equal sized fields keep their declaration order.
+        ordered = sorted(fields, key=lambda f: f.size, reverse=True)
+        offset = 0
+        for field in ordered:
+            field.offset = offset
+            offset += field.size * max(field.array_length, 1)
+        offsets = dict((f.name, f.offset) for f in ordered if f.array_length == 0)
+        messages.append({
+            'id': int(element.get('id')),
+            'name': element.get('name'),
+            'description': clean(element.findtext('description')),
+            'fields': ordered,
+            'length': offset,
+            'crc_extra': crc_extra(element.get('name'), ordered),
+            'target_system_offset': offsets.get('target_system', -1),
+            'target_component_offset': offsets.get('target_component', -1),
+        })
+    return root, messages
+
+
+def field_accessor(field):
+    if field.array_length == 0:
+        return '''
+    /**
+    * %(description)s
+    */
+    public %(java_type)s %(name)s(){
+        return payload.%(getter)s(%(offset)d);
+    }
+''' % vars(field)
+
+    values = dict(vars(field), constant=field.name.upper() + '_LENGTH')
+    return '''
+    /**
+    * %(description)s
+    *
+    * @param index element index, from 0 to %(constant)s - 1
+    */
+    public %(java_type)s %(name)s(int index){
+        if(index < 0 || index >= %(constant)s){
+            throw new IndexOutOfBoundsException("%(name)s index " + index);
+        }
+        return payload.%(getter)s(%(offset)d + index * %(size)d);
+    }
+''' % values
+
+
+def generate_view(package, message):
+    lname = message['name'].lower()
+    constants = ''.join('    public static final int %s_LENGTH = %d;\n' % (f.name.upper(), f.array_length)
+                        for f in message['fields'] if f.array_length)
+    if constants:
+        constants = '\n' + constants
+
+    return '''// MESSAGE %(name)s VIEW
+package com.MAVLink.%(package)s;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a %(name)s packet, decoding the fields from its payload
+* without copying them.
+*
+* %(description)s
+*
+* @see msg_%(lname)s
+*/
+public class view_%(lname)s extends MAVLinkView{
+%(constants)s
+    public view_%(lname)s(){
+        super(msg_%(lname)s.MAVLINK_MSG_ID_%(name)s);
+    }
+
+    /**
+    * Points this view at a received %(name)s packet.
+    *
+    * @return this view
+    */
+    public view_%(lname)s wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+%(accessors)s}
+''' % dict(message, package=package, lname=lname, constants=constants,
+           accessors=''.join(field_accessor(f) for f in message['fields']))
+
+
+def field_packer(field):
+    if field.array_length == 0:
+        return '''
+        payload.%(setter)s(m.%(name)s);''' % vars(field)
+    return '''
+        for(int i = 0; i < m.%(name)s.length; i++){
+            payload.%(setter)s(m.%(name)s[i]);
+        }''' % vars(field)
+
+
+def generate_dialect(package, class_name, messages):
+    registrations = ''.join('''
+        MAVLinkMessageRegistry.register(msg_%(lname)s.MAVLINK_MSG_ID_%(name)s, msg_%(lname)s.class,
+                %(crc_extra)d, msg_%(lname)s.MAVLINK_MSG_LENGTH, %(target_system_offset)d, %(target_component_offset)d,
+                PACKER);''' % dict(m, lname=m['name'].lower())
+                            for m in messages)
+
+    # Each message is packed by its own method: a single method packing all
+    # of them would be too large to be compiled by the JIT.
+    cases = ''.join('''
+            case msg_%(lname)s.MAVLINK_MSG_ID_%(name)s:
+                pack_%(lname)s((msg_%(lname)s) msg, payload);
+                break;
+''' % dict(m, lname=m['name'].lower()) for m in messages)
+
+    packers = ''.join('''
+    private static void pack_%(lname)s(msg_%(lname)s m, MAVLinkPayload payload){%(fields)s
+    }
+''' % dict(m, lname=m['name'].lower(), fields=''.join(field_packer(f) for f in m['fields']))
+                      for m in messages)
+
+    return '''// MESSAGES OF THE %(package)s DIALECT
+package com.MAVLink.%(package)s;
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+
+/**
+* Registers the messages defined in %(package)s.xml.
+*/
+public final class %(class_name)s{
+
+    /**
+    * Writes the payload of the messages of this dialect, in wire order.
+    */
+    public static final MAVLinkMessageRegistry.PayloadPacker PACKER = new MAVLinkMessageRegistry.PayloadPacker(){
+        @Override
+        public void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+            %(class_name)s.packPayload(msg, payload);
+        }
+    };
+
+    private %(class_name)s(){
+    }
+
+    /**
+    * Adds the messages of this dialect to the {@link MAVLinkMessageRegistry}.
+    */
+    public static void register(){%(registrations)s
+    }
+
+    private static void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+        switch(msg.msgid){%(cases)s
+            default:
+                throw new IllegalArgumentException("Message " + msg.msgid + " isn't part of the %(package)s dialect");
+        }
+    }
+%(packers)s}
+''' % dict(package=package, class_name=class_name, registrations=registrations, cases=cases, packers=packers)
+
+
+def generate(xml_file, output, done):
+    xml_file = os.path.abspath(xml_file)
+    if xml_file in done:
+        return
+    done.add(xml_file)
+
+    root, messages = parse_messages(xml_file)
+    for include in root.findall('include'):
+        generate(os.path.join(os.path.dirname(xml_file), include.text.strip()), output, done)
+
+    package = os.path.splitext(os.path.basename(xml_file))[0]
+    directory = os.path.join(output, package)
+    if not os.path.isdir(directory):
+        os.makedirs(directory)
+
+    for message in messages:
+        path = os.path.join(directory, 'view_%s.java' % message['name'].lower())
+        with open(path, 'w') as f:
+            f.write(generate_view(package, message))
+    class_name = package.capitalize() + 'Dialect'
+    with open(os.path.join(directory, class_name + '.java'), 'w') as f:
+        f.write(generate_dialect(package, class_name, messages))
+    print('Generated %d views and %s in %s' % (len(messages), class_name, directory))
+
+
+def main(argv):
+    output = None
+    definitions = []
+    for arg in argv:
+        if arg.startswith('--output='):
+            output = arg[len('--output='):]
+        else:
+            definitions.append(arg)
+
+    if output is None or not definitions:
+        sys.exit(__doc__)
+
+    done = set()
+    for definition in definitions:
+        generate(definition, output, done)
+
+
+if __name__ == '__main__':
+    main(sys.argv[1:])
@@ -0,0 +1,189 @@
+package com.MAVLink;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+import com.MAVLink.ardupilotmega.CRC;
+
+/**
+ * Encodes messages straight into a caller supplied buffer.
+ *
+ * Unlike {@link MAVLinkMessage#pack()} followed by
+ * {@link MAVLinkPacket#encodePacket()}, which allocate a packet with its
+ * payload buffer and the frame array, the encoder writes the payload into a
+ * scratch buffer it reuses, then the header, payload and checksum into the
+ * destination in one pass. Once warmed up, it doesn't allocate anything.
+ *
+ * An encoder isn't thread safe.
+ */
+public class MAVLinkEncoder {
+
+    /**
+     * Largest frame produced by the encoder: MAVLink 2 header, 255 bytes
+     * payload and checksum. Frames aren't signed.
+     */
+    public static final int MAX_FRAME_LENGTH = MAVLinkPacket.MAVLINK2_HEADER_LEN + 255
+            + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+
+    /**
+     * System and component ids of the ground station, as used by
+     * {@link MAVLinkMessage#pack()}.
+     */
+    public static final int GCS_SYSID = 255;
+    public static final int GCS_COMPID = 190;
+
+    private final MAVLinkPayload payload = new MAVLinkPayload(MAVLinkPayload.MAX_PAYLOAD_SIZE);
+    private final CRC crc = new CRC();
+    private byte[] scratchFrame;
+
+    private int sysid = GCS_SYSID;
+    private int compid = GCS_COMPID;
+    private boolean mavlink2;
+
+    /**
+     * Sets the system and component ids of the encoded frames.
+     */
+    public void setSource(int sysid, int compid) {
+        this.sysid = sysid;
+        this.compid = compid;
+    }
+
+    /**
+     * Selects MAVLink 2 framing, with truncated payloads, instead of MAVLink 1.
+     */
+    public void setMavlink2(boolean mavlink2) {
+        this.mavlink2 = mavlink2;
+    }
+
+    public boolean isMavlink2() {
+        return mavlink2;
+    }
+
+    /**
+     * Encodes a message into the given array.
+     *
+     * @param msg    message to encode
+     * @param seq    packet sequence number
+     * @param buffer destination array
+     * @param offset offset of the frame in the array
+     * @return the length of the frame
+     * @throws IndexOutOfBoundsException if the frame doesn't fit in the array
+     */
+    public int encode(MAVLinkMessage msg, int seq, byte[] buffer, int offset) {
+        return encode(msg, seq, buffer, offset, buffer.length);
+    }
+
+    /**
+     * Encodes a message into a new array, sized to the frame, like a frame
+     * to queue.
+     *
+     * @param msg message to encode
+     * @param seq packet sequence number
+     * @return the frame
+     */
+    public byte[] encode(MAVLinkMessage msg, int seq) {
+        final int payloadLength = packPayload(msg);
+        final byte[] frame = new byte[getFrameLength(payloadLength)];
+        writeFrame(msg, seq, payloadLength, frame, 0);
+        return frame;
+    }
+
+    private int encode(MAVLinkMessage msg, int seq, byte[] buffer, int offset, int limit) {
+        final int payloadLength = packPayload(msg);
+        final int frameLength = getFrameLength(payloadLength);
+        if (offset < 0 || limit - offset < frameLength) {
+            throw new IndexOutOfBoundsException("Frame of " + frameLength + " bytes doesn't fit at " + offset);
+        }
+
+        writeFrame(msg, seq, payloadLength, buffer, offset);
+        return frameLength;
+    }
+
+    private int getFrameLength(int payloadLength) {
+        final int headerLength = mavlink2 ? MAVLinkPacket.MAVLINK2_HEADER_LEN : MAVLinkPacket.MAVLINK1_HEADER_LEN;
+        return headerLength + payloadLength + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+    }
+
+    /**
+     * Writes the frame of the packed payload, which fits at the given offset.
+     */
+    private void writeFrame(MAVLinkMessage msg, int seq, int payloadLength, byte[] buffer, int offset) {
+        int i = offset;
+        buffer[i++] = (byte) (mavlink2 ? MAVLinkPacket.MAVLINK_STX_MAVLINK2 : MAVLinkPacket.MAVLINK_STX);
+        buffer[i++] = (byte) payloadLength;
+        if (mavlink2) {
+            buffer[i++] = 0; // incompat flags, frames aren't signed
+            buffer[i++] = 0; // compat flags
+        }
+        buffer[i++] = (byte) seq;
+        buffer[i++] = (byte) sysid;
+        buffer[i++] = (byte) compid;
+        buffer[i++] = (byte) msg.msgid;
+        if (mavlink2) {
+            buffer[i++] = (byte) (msg.msgid >>> 8);
+            buffer[i++] = (byte) (msg.msgid >>> 16);
+        }
+
+        System.arraycopy(payload.array(), 0, buffer, i, payloadLength);
+        i += payloadLength;
+
+        // The checksum covers everything but the start byte.
+        crc.start_checksum();
+        crc.update_checksum(buffer, offset + 1, i - offset - 1);
+        crc.update_checksum(MAVLinkMessageRegistry.getCrcExtra(msg.msgid));
+        buffer[i++] = (byte) crc.getLSB();
+        buffer[i] = (byte) crc.getMSB();
+    }
+
+    /**
+     * Encodes a message at the position of the given buffer, and moves the
+     * position past the frame.
+     *
+     * @return the length of the frame
+     * @throws BufferOverflowException if the frame doesn't fit in the buffer
+     */
+    public int encode(MAVLinkMessage msg, int seq, ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            final int position = buffer.position();
+            final int length;
+            try {
+                length = encode(msg, seq, buffer.array(), buffer.arrayOffset() + position,
+                        buffer.arrayOffset() + buffer.limit());
+            } catch (IndexOutOfBoundsException e) {
+                throw new BufferOverflowException();
+            }
+
+            buffer.position(position + length);
+            return length;
+        }
+
+        // Direct buffers are filled from a scratch frame.
+        if (scratchFrame == null) {
+            scratchFrame = new byte[MAX_FRAME_LENGTH];
+        }
+
+        final int length = encode(msg, seq, scratchFrame, 0);
+        buffer.put(scratchFrame, 0, length);
+        return length;
+    }
+
+    /**
+     * Writes the message payload in the scratch buffer.
+     *
+     * @return the length of the payload to send, truncated for MAVLink 2.
+     */
+    private int packPayload(MAVLinkMessage msg) {
+        payload.reset();
+        MAVLinkMessageRegistry.packPayload(msg, payload);
+
+        int length = payload.size();
+        if (mavlink2) {
+            while (length > 1 && payload.getByte(length - 1) == 0) {
+                length--;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,46 @@
+package com.MAVLink;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+
+/**
+ * Keeps one message instance per message id, and decodes each received
+ * packet into the instance of its type.
+ *
+ * The message returned by {@link #unpack(MAVLinkPacket)} is overwritten by the
+ * next packet of the same type, so it must be copied by consumers that retain
+ * it. The cache isn't thread safe.
+ */
+public class MAVLinkMessageCache {
+
+    private MAVLinkMsgIdTable<MAVLinkMessage> messages = MAVLinkMsgIdTable.empty();
+
+    /**
+     * Decodes the packet into the cached message of its type, creating the
+     * message on first use.
+     *
+     * @return the decoded message, or null if the packet's message id is
+     * unknown.
+     */
+    public MAVLinkMessage unpack(MAVLinkPacket packet) {
+        final int msgid = packet.msgid;
+        MAVLinkMessage msg = messages.get(msgid);
+
+        if (msg == null) {
+            msg = MAVLinkMessageRegistry.newMessage(msgid);
+            if (msg == null) {
+                return null;
+            }
+            messages = messages.with(msgid, msg);
+        }
+
+        MAVLinkMessageRegistry.unpackInto(packet, msg);
+        return msg;
+    }
+
+    /**
+     * Drops the cached messages.
+     */
+    public void clear() {
+        messages = MAVLinkMsgIdTable.empty();
+    }
+}
@@ -0,0 +1,264 @@
+package com.MAVLink;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+import com.MAVLink.ardupilotmega.ArdupilotmegaDialect;
+import com.MAVLink.common.CommonDialect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Message decoders indexed by message id.
+ *
+ * Each registered message id maps to its message class, CRC_EXTRA byte and
+ * full payload length, which the parser uses to validate and expand frames.
+ * The generated dialects are registered when the class is loaded, and
+ * further dialects can be added at runtime with
+ * {@link #register(int, Class, int, int)}.
+ *
+ * Besides {@link #unpack(MAVLinkPacket)}, which creates a new message for each
+ * packet like {@link MAVLinkPacket#unpack()}, {@link #unpackInto(MAVLinkPacket, MAVLinkMessage)}
+ * decodes a packet into an existing instance, so a caller can keep one
+ * message per type (see {@link MAVLinkMessageCache}).
+ *
+ * For encoding, {@link #packPayload(MAVLinkMessage, MAVLinkPayload)} writes the
+ * payload of a message into an existing buffer (see {@link MAVLinkEncoder}).
+ *
+ * The payload offsets of the target_system and target_component fields let a
+ * frame be routed to its target without being decoded.
+ */
+public final class MAVLinkMessageRegistry {
+
+    /**
+     * Largest message id, MAVLink 2 ids are 24 bits long.
+     */
+    public static final int MAX_MSGID = 0xFFFFFF;
+
+    /**
+     * Writes the payload of a message, in wire order.
+     */
+    public interface PayloadPacker {
+        void packPayload(MAVLinkMessage msg, MAVLinkPayload payload);
+    }
+
+    private static final class Entry {
+        final Class<? extends MAVLinkMessage> type;
+        final Constructor<? extends MAVLinkMessage> constructor;
+        final int crcExtra;
+        final int length;
+        final int targetSystemOffset;
+        final int targetComponentOffset;
+        final PayloadPacker packer;
+
+        Entry(Class<? extends MAVLinkMessage> type, Constructor<? extends MAVLinkMessage> constructor,
+              int crcExtra, int length, int targetSystemOffset, int targetComponentOffset, PayloadPacker packer) {
+            this.type = type;
+            this.constructor = constructor;
+            this.crcExtra = crcExtra;
+            this.length = length;
+            this.targetSystemOffset = targetSystemOffset;
+            this.targetComponentOffset = targetComponentOffset;
+            this.packer = packer;
+        }
+    }
+
+    /**
+     * Copied on write, so lookups don't need to lock.
+     */
+    private static volatile MAVLinkMsgIdTable<Entry> entries = MAVLinkMsgIdTable.empty();
+
+    static {
+        CommonDialect.register();
+        ArdupilotmegaDialect.register();
+    }
+
+    private MAVLinkMessageRegistry() {
+    }
+
+    /**
+     * Registers a message type, replacing the one previously registered with
+     * the same id if any.
+     *
+     * @param msgid    message id
+     * @param type     message class, with a public no argument constructor
+     * @param crcExtra CRC_EXTRA byte of the message
+     * @param length   full (not truncated) payload length
+     */
+    public static void register(int msgid, Class<? extends MAVLinkMessage> type, int crcExtra, int length) {
+        register(msgid, type, crcExtra, length, null);
+    }
+
+    /**
+     * Registers a message type along with a packer writing its payload, so it
+     * can be encoded without going through {@link MAVLinkMessage#pack()}.
+     *
+     * @param packer payload packer, or null to rely on {@link MAVLinkMessage#pack()}
+     * @see #register(int, Class, int, int)
+     */
+    public static void register(int msgid, Class<? extends MAVLinkMessage> type, int crcExtra, int length,
+                                PayloadPacker packer) {
+        register(msgid, type, crcExtra, length, -1, -1, packer);
+    }
+
+    /**
+     * Registers a message type along with the payload offsets of its target
+     * fields, so its frames can be routed.
+     *
+     * @param targetSystemOffset    payload offset of the target_system field,
+     *                              or -1 if the message has none
+     * @param targetComponentOffset payload offset of the target_component
+     *                              field, or -1 if the message has none
+     * @see #register(int, Class, int, int, PayloadPacker)
+     */
+    public static synchronized void register(int msgid, Class<? extends MAVLinkMessage> type, int crcExtra,
+                                             int length, int targetSystemOffset, int targetComponentOffset,
+                                             PayloadPacker packer) {
+        if (msgid < 0 || msgid > MAX_MSGID) {
+            throw new IllegalArgumentException("Invalid message id " + msgid);
+        }
+
+        if (length < 0 || length > 255) {
+            throw new IllegalArgumentException("Invalid payload length " + length + " for message " + msgid);
+        }
+
+        if (targetSystemOffset < -1 || targetSystemOffset >= length
+                || targetComponentOffset < -1 || targetComponentOffset >= length) {
+            throw new IllegalArgumentException("Invalid target offsets for message " + msgid);
+        }
+
+        final Constructor<? extends MAVLinkMessage> constructor;
+        try {
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " has no public no argument constructor.");
+        }
+
+        entries = entries.with(msgid, new Entry(type, constructor, crcExtra & 0xff, length, targetSystemOffset,
+                targetComponentOffset, packer));
+    }
+
+    private static Entry getEntry(int msgid) {
+        return entries.get(msgid);
+    }
+
+    /**
+     * @return true if a message type is registered for this id.
+     */
+    public static boolean isRegistered(int msgid) {
+        return getEntry(msgid) != null;
+    }
+
+    /**
+     * @return the CRC_EXTRA byte of the message, or 0 if it is unknown.
+     */
+    public static int getCrcExtra(int msgid) {
+        final Entry entry = getEntry(msgid);
+        return entry == null ? 0 : entry.crcExtra;
+    }
+
+    /**
+     * @return the full payload length of the message, or 0 if it is unknown.
+     */
+    public static int getMessageLength(int msgid) {
+        final Entry entry = getEntry(msgid);
+        return entry == null ? 0 : entry.length;
+    }
+
+    /**
+     * @return the payload offset of the target_system field of the message,
+     * or -1 if it has none or is unknown.
+     */
+    public static int getTargetSystemOffset(int msgid) {
+        final Entry entry = getEntry(msgid);
+        return entry == null ? -1 : entry.targetSystemOffset;
+    }
+
+    /**
+     * @return the payload offset of the target_component field of the
+     * message, or -1 if it has none or is unknown.
+     */
+    public static int getTargetComponentOffset(int msgid) {
+        final Entry entry = getEntry(msgid);
+        return entry == null ? -1 : entry.targetComponentOffset;
+    }
+
+    /**
+     * @return the message class registered for this id, or null.
+     */
+    public static Class<? extends MAVLinkMessage> getMessageClass(int msgid) {
+        final Entry entry = getEntry(msgid);
+        return entry == null ? null : entry.type;
+    }
+
+    /**
+     * @return a new, empty message of the type registered for this id, or
+     * null if the id is unknown.
+     */
+    public static MAVLinkMessage newMessage(int msgid) {
+        final Entry entry = getEntry(msgid);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            return entry.constructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalStateException("Unable to create " + entry.type.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to create " + entry.type.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Unable to create " + entry.type.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Decodes a packet into a new message.
+     *
+     * @return the message, or null if the packet's message id is unknown.
+     */
+    public static MAVLinkMessage unpack(MAVLinkPacket packet) {
+        final MAVLinkMessage msg = newMessage(packet.msgid);
+        if (msg != null) {
+            unpackInto(packet, msg);
+        }
+        return msg;
+    }
+
+    /**
+     * Decodes a packet into an existing message, overwriting all its fields.
+     *
+     * @param packet packet to decode
+     * @param msg    message of the same type as the packet
+     * @throws IllegalArgumentException if the message and packet types differ
+     */
+    public static void unpackInto(MAVLinkPacket packet, MAVLinkMessage msg) {
+        if (msg.msgid != packet.msgid) {
+            throw new IllegalArgumentException("Can't decode message " + packet.msgid + " into "
+                    + msg.getClass().getSimpleName());
+        }
+
+        msg.sysid = packet.sysid;
+        msg.compid = packet.compid;
+        msg.unpack(packet.payload);
+    }
+
+    /**
+     * Appends the payload of a message to the given payload buffer.
+     *
+     * @throws IllegalArgumentException if the message type isn't registered
+     */
+    public static void packPayload(MAVLinkMessage msg, MAVLinkPayload payload) {
+        final Entry entry = getEntry(msg.msgid);
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown message " + msg.msgid);
+        }
+
+        if (entry.packer != null) {
+            entry.packer.packPayload(msg, payload);
+        } else {
+            final MAVLinkPayload packed = msg.pack().payload;
+            payload.add(packed.array(), 0, packed.size());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.MAVLink;
+
+import java.util.Arrays;
+
+/**
+ * Values indexed by message id.
+ *
+ * The MAVLink 1 ids, below 256, are looked up in a plain array. The MAVLink 2
+ * ids above them go up to {@link MAVLinkMessageRegistry#MAX_MSGID} but only a
+ * few are used, so they are kept sorted and found by binary search, rather
+ * than sizing an array by the largest one.
+ *
+ * The table is immutable: {@link #with(int, Object)} returns an updated copy,
+ * so a table published through a volatile field is read without locking.
+ */
+public final class MAVLinkMsgIdTable<T> {
+
+    private static final int DIRECT_IDS = 256;
+
+    private static final MAVLinkMsgIdTable<Object> EMPTY = new MAVLinkMsgIdTable<Object>(new Object[DIRECT_IDS],
+            new int[0], new Object[0]);
+
+    private final Object[] direct;
+
+    /**
+     * Ids from 256 on holding a value, sorted, and their values.
+     */
+    private final int[] ids;
+    private final Object[] values;
+
+    private MAVLinkMsgIdTable(Object[] direct, int[] ids, Object[] values) {
+        this.direct = direct;
+        this.ids = ids;
+        this.values = values;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> MAVLinkMsgIdTable<T> empty() {
+        return (MAVLinkMsgIdTable<T>) EMPTY;
+    }
+
+    /**
+     * @return the value of this message id, or null.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int msgid) {
+        if (msgid < DIRECT_IDS) {
+            return msgid < 0 ? null : (T) direct[msgid];
+        }
+
+        final int index = Arrays.binarySearch(ids, msgid);
+        return index < 0 ? null : (T) values[index];
+    }
+
+    /**
+     * @param value value of the message id, not null
+     * @return a copy of this table, with the value of the message id replaced.
+     */
+    public MAVLinkMsgIdTable<T> with(int msgid, T value) {
+        if (msgid < 0) {
+            throw new IllegalArgumentException("Invalid message id " + msgid);
+        }
+
+        if (msgid < DIRECT_IDS) {
+            final Object[] updated = direct.clone();
+            updated[msgid] = value;
+            return new MAVLinkMsgIdTable<T>(updated, ids, values);
+        }
+
+        int index = Arrays.binarySearch(ids, msgid);
+        if (index >= 0) {
+            final Object[] updated = values.clone();
+            updated[index] = value;
+            return new MAVLinkMsgIdTable<T>(direct, ids, updated);
+        }
+
+        index = -index - 1;
+        final int[] grownIds = new int[ids.length + 1];
+        final Object[] grownValues = new Object[ids.length + 1];
+        System.arraycopy(ids, 0, grownIds, 0, index);
+        System.arraycopy(values, 0, grownValues, 0, index);
+        grownIds[index] = msgid;
+        grownValues[index] = value;
+        System.arraycopy(ids, index, grownIds, index + 1, ids.length - index);
+        System.arraycopy(values, index, grownValues, index + 1, ids.length - index);
+        return new MAVLinkMsgIdTable<T>(direct, grownIds, grownValues);
+    }
+
+    /**
+     * Iterates over the message ids holding a value, in order:
+     * {@code for (int id = table.nextId(0); id >= 0; id = table.nextId(id + 1))}.
+     *
+     * @return the first message id from the given one holding a value, or -1
+     * if there's none.
+     */
+    public int nextId(int msgid) {
+        for (int id = Math.max(msgid, 0); id < DIRECT_IDS; id++) {
+            if (direct[id] != null) {
+                return id;
+            }
+        }
+
+        int index = Arrays.binarySearch(ids, Math.max(msgid, DIRECT_IDS));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < ids.length ? ids[index] : -1;
+    }
+}
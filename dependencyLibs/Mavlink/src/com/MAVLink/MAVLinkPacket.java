@@ -27,12 +27,55 @@ import com.MAVLink.ardupilotmega.*;
 * The minimum packet length is 8 bytes for acknowledgement packets without payload
 * The maximum packet length is 263 bytes for full payload
 *
+* MAVLink 2 packets start with 0xFD, and use a longer header:
+* Byte Index  Content              Value       Explanation
+* 0            Packet start sign   0xFD        Indicates the start of a new MAVLink 2 packet.
+* 1            Payload length      0 - 255     Length of the payload, once its trailing zero bytes are truncated.
+* 2            Incompat flags      0 - 255     Flags that must be understood to parse the packet (0x01: signed packet).
+* 3            Compat flags        0 - 255     Flags that can be ignored if not understood.
+* 4            Packet sequence     0 - 255
+* 5            System ID           1 - 255
+* 6            Component ID        0 - 255
+* 7 to 9       Message ID          0 - 16777215 24 bits message id, low byte first.
+* 10 to (n+10) Payload
+* (n+11)to(n+12) Checksum           Same hash as MAVLink 1.0, computed over bytes 1..(n+10) and MAVLINK_CRC_EXTRA.
+* (n+13)to(n+25) Signature          Only present if the signed incompat flag is set.
 */
 public class MAVLinkPacket implements Serializable {
     private static final long serialVersionUID = 2095947771227815314L;
 
     public static final int MAVLINK_STX = 254;
 
+    public static final int MAVLINK_STX_MAVLINK2 = 253;
+
+    public static final int MAVLINK1_HEADER_LEN = 6;
+
+    public static final int MAVLINK2_HEADER_LEN = 10;
+
+    public static final int MAVLINK_CHECKSUM_LEN = 2;
+
+    public static final int MAVLINK_SIGNATURE_BLOCK_LEN = 13;
+
+    /**
+    * Incompat flag set on signed MAVLink 2 packets.
+    */
+    public static final int MAVLINK_IFLAG_SIGNED = 0x01;
+
+    /**
+    * True if this packet is framed using MAVLink 2.
+    */
+    public boolean isMavlink2;
+
+    /**
+    * MAVLink 2 flags that must be understood to handle the packet.
+    */
+    public int incompatFlags;
+
+    /**
+    * MAVLink 2 flags that can be ignored if not understood.
+    */
+    public int compatFlags;
+
     /**
     * Message length. NOT counting STX, LENGTH, SEQ, SYSID, COMPID, MSGID, CRC1 and CRC2
     */
@@ -57,7 +100,7 @@ public class MAVLinkPacket implements Serializable {
 
     /**
     * ID of the message - the id defines what the payload means and how it
-    * should be correctly decoded.
+    * should be correctly decoded. 8 bits on MAVLink 1.0, 24 bits on MAVLink 2.
     */
     public int msgid;
 
@@ -74,15 +117,42 @@ public class MAVLinkPacket implements Serializable {
     */
     public CRC crc;
 
+    /**
+    * Estimated time the packet was sent at by the vehicle, in ns on the vehicle
+    * clock, or 0 if unknown. Set on the received packets by the connections
+    * synchronizing their clock with the vehicle.
+    */
+    public long vehicleTime;
+
     public MAVLinkPacket(){
         payload = new MAVLinkPayload();
     }
 
+    /**
+    * Clears the header fields and the payload, so this packet can be reused
+    * to receive or build another frame.
+    */
+    public void reset(){
+        isMavlink2 = false;
+        incompatFlags = 0;
+        compatFlags = 0;
+        len = 0;
+        seq = 0;
+        sysid = 0;
+        compid = 0;
+        msgid = 0;
+        vehicleTime = 0;
+        payload.reset();
+        if(crc != null){
+            crc.start_checksum();
+        }
+    }
+
     /**
     * Check if the size of the Payload is equal to the "len" byte
     */
     public boolean payloadIsFilled() {
-        if (payload.size() >= MAVLinkPayload.MAX_PAYLOAD_SIZE-1) {
+        if (payload.size() >= MAVLinkPayload.MAX_PAYLOAD_SIZE) {
             return true;
         }
         return (payload.size() == len);
@@ -92,34 +162,88 @@ public class MAVLinkPacket implements Serializable {
     * Update CRC for this packet.
     */
     public void generateCRC(){
+        generateCRC(payload.size(), incompatFlags);
+    }
+
+    /**
+    * Update CRC for this packet, as framed with the given payload length and
+    * incompat flags.
+    */
+    private void generateCRC(int payloadLength, int incompatFlags){
+        startCRC();
+
+        if (isMavlink2) {
+            crc.update_checksum(payloadLength);
+            crc.update_checksum(incompatFlags);
+            crc.update_checksum(compatFlags);
+            crc.update_checksum(seq);
+            crc.update_checksum(sysid);
+            crc.update_checksum(compid);
+            crc.update_checksum(msgid);
+            crc.update_checksum(msgid >>> 8);
+            crc.update_checksum(msgid >>> 16);
+        } else {
+            crc.update_checksum(len);
+            crc.update_checksum(seq);
+            crc.update_checksum(sysid);
+            crc.update_checksum(compid);
+            crc.update_checksum(msgid);
+        }
+
+        crc.update_checksum(payload.array(), 0, payloadLength);
+        crc.update_checksum(MAVLinkMessageRegistry.getCrcExtra(msgid));
+    }
+
+    /**
+    * Restarts the CRC of this packet. Used by the parser to accumulate the
+    * checksum as the bytes of a frame are received.
+    */
+    public void startCRC(){
         if(crc == null){
             crc = new CRC();
         }
         else{
             crc.start_checksum();
         }
-        
-        crc.update_checksum(len);
-        crc.update_checksum(seq);
-        crc.update_checksum(sysid);
-        crc.update_checksum(compid);
-        crc.update_checksum(msgid);
+    }
 
-        payload.resetIndex();
-        
-        for (int i = 0; i < payload.size(); i++) {
-            crc.update_checksum(payload.getByte());
+    /**
+    * Length of the payload once its trailing zero bytes are removed, as sent
+    * by MAVLink 2. The first payload byte is always kept.
+    */
+    private int getTruncatedPayloadLength() {
+        int length = payload.size();
+        while (length > 1 && payload.getByte(length - 1) == 0) {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+    * Restores the trailing zero bytes stripped from a received MAVLink 2
+    * payload, so it can be decoded like a full length payload.
+    */
+    public void expandTruncatedPayload() {
+        final int messageLength = MAVLinkMessageRegistry.getMessageLength(msgid);
+        payload.ensureCapacity(messageLength);
+        while (payload.size() < messageLength) {
+            payload.add((byte) 0);
         }
-        crc.finish_checksum(msgid);
+        len = payload.size();
     }
 
     /**
-    * Encode this packet for transmission.
+    * Encode this packet for transmission. MAVLink 2 packets are sent with
+    * their payload truncated.
     *
     * @return Array with bytes to be transmitted
     */
     public byte[] encodePacket() {
-        byte[] buffer = new byte[6 + len + 2];
+        if (isMavlink2) {
+            return encodeMavlink2Packet();
+        }
+
+        byte[] buffer = new byte[MAVLINK1_HEADER_LEN + len + MAVLINK_CHECKSUM_LEN];
         
         int i = 0;
         buffer[i++] = (byte) MAVLINK_STX;
@@ -129,9 +253,8 @@ public class MAVLinkPacket implements Serializable {
         buffer[i++] = (byte) compid;
         buffer[i++] = (byte) msgid;
         
-        for (int j = 0; j < payload.size(); j++) {
-            buffer[i++] = payload.payload.get(j);
-        }
+        System.arraycopy(payload.array(), 0, buffer, i, payload.size());
+        i += payload.size();
 
         generateCRC();
         buffer[i++] = (byte) (crc.getLSB());
@@ -139,6 +262,34 @@ public class MAVLinkPacket implements Serializable {
         return buffer;
     }
 
+    private byte[] encodeMavlink2Packet() {
+        final int payloadLength = getTruncatedPayloadLength();
+        byte[] buffer = new byte[MAVLINK2_HEADER_LEN + payloadLength + MAVLINK_CHECKSUM_LEN];
+
+        // Signing isn't supported, so don't advertise it.
+        final int sentIncompatFlags = incompatFlags & ~MAVLINK_IFLAG_SIGNED;
+
+        int i = 0;
+        buffer[i++] = (byte) MAVLINK_STX_MAVLINK2;
+        buffer[i++] = (byte) payloadLength;
+        buffer[i++] = (byte) sentIncompatFlags;
+        buffer[i++] = (byte) compatFlags;
+        buffer[i++] = (byte) seq;
+        buffer[i++] = (byte) sysid;
+        buffer[i++] = (byte) compid;
+        buffer[i++] = (byte) msgid;
+        buffer[i++] = (byte) (msgid >>> 8);
+        buffer[i++] = (byte) (msgid >>> 16);
+
+        System.arraycopy(payload.array(), 0, buffer, i, payloadLength);
+        i += payloadLength;
+
+        generateCRC(payloadLength, sentIncompatFlags);
+        buffer[i++] = (byte) (crc.getLSB());
+        buffer[i++] = (byte) (crc.getMSB());
+        return buffer;
+    }
+
     /**
     * Unpack the data in this packet and return a MAVLink message
     *
@@ -0,0 +1,66 @@
+package com.MAVLink;
+
+/**
+ * Fixed size pool of reusable {@link MAVLinkPacket} instances.
+ *
+ * Packets are only allocated when the pool is empty, so once it has warmed up,
+ * a parser drawing from it doesn't allocate anything for the frames it decodes.
+ * The pool can be shared between threads.
+ */
+public class MAVLinkPacketPool {
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final MAVLinkPacket[] packets;
+    private int count;
+
+    public MAVLinkPacketPool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of idle packets kept by the pool.
+     */
+    public MAVLinkPacketPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be at least 1.");
+        }
+
+        packets = new MAVLinkPacket[capacity];
+    }
+
+    /**
+     * @return an empty packet, taken from the pool if one is available.
+     */
+    public synchronized MAVLinkPacket obtain() {
+        if (count == 0) {
+            return new MAVLinkPacket();
+        }
+
+        final MAVLinkPacket packet = packets[--count];
+        packets[count] = null;
+        return packet;
+    }
+
+    /**
+     * Returns a packet to the pool. The packet must not be used by the caller
+     * afterwards.
+     *
+     * @param packet packet to recycle
+     */
+    public synchronized void recycle(MAVLinkPacket packet) {
+        if (packet == null || count == packets.length) {
+            return;
+        }
+
+        packet.reset();
+        packets[count++] = packet;
+    }
+
+    /**
+     * @return the number of idle packets held by the pool.
+     */
+    public synchronized int size() {
+        return count;
+    }
+}
@@ -1,121 +1,302 @@
 package com.MAVLink.Messages;
 
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+/**
+ * Payload of a MAVLink packet, stored in a byte array sized to the message.
+ *
+ * The array starts small and grows as bytes are added, up to
+ * {@link #MAX_PAYLOAD_SIZE}. {@link #reset()} keeps it, so a payload which is
+ * reused (see {@link com.MAVLink.MAVLinkPacketPool}) stops allocating once it
+ * has grown to the largest message it holds.
+ *
+ * Values are little endian, as sent on the wire. Reading past the bytes
+ * written returns zeros, as for the trailing bytes of a truncated MAVLink 2
+ * payload.
+ */
 public class MAVLinkPayload {
 
-	public static final int MAX_PAYLOAD_SIZE = 512;
-	
-	public ByteBuffer payload;
+	/**
+	 * Largest payload of a MAVLink packet.
+	 */
+	public static final int MAX_PAYLOAD_SIZE = 255;
+
+	/**
+	 * Initial capacity of a payload, enough for the smallest messages.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private byte[] data;
+	private int size;
 	public int index;
 
 	public MAVLinkPayload() {
-		payload = ByteBuffer.allocate(MAX_PAYLOAD_SIZE);
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity initial size of the array, grown when needed
+	 */
+	public MAVLinkPayload(int capacity) {
+		if (capacity < 0 || capacity > MAX_PAYLOAD_SIZE) {
+			throw new IllegalArgumentException("Invalid payload capacity " + capacity);
+		}
+		data = new byte[capacity];
 	}
 
+	/**
+	 * @return a little endian buffer wrapping the payload bytes.
+	 */
 	public ByteBuffer getData() {
-		return payload;
+		return ByteBuffer.wrap(data, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * @return the array holding the payload, from offset 0 to {@link #size()}.
+	 * It is replaced when the payload grows.
+	 */
+	public byte[] array() {
+		return data;
 	}
 
 	public int size() {
-		return payload.position();
+		return size;
+	}
+
+	public int capacity() {
+		return data.length;
+	}
+
+	/**
+	 * Grows the array so it can hold the given number of bytes without being
+	 * reallocated.
+	 *
+	 * @throws BufferOverflowException if capacity exceeds {@link #MAX_PAYLOAD_SIZE}
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > data.length) {
+			grow(capacity);
+		}
+	}
+
+	private void grow(int capacity) {
+		if (capacity > MAX_PAYLOAD_SIZE) {
+			throw new BufferOverflowException();
+		}
+
+		final int length = Math.min(Math.max(capacity, data.length * 2), MAX_PAYLOAD_SIZE);
+		final byte[] grown = new byte[length];
+		System.arraycopy(data, 0, grown, 0, size);
+		data = grown;
 	}
 
 	public void add(byte c) {
-		payload.put(c);
+		if (size == data.length) {
+			grow(size + 1);
+		}
+		data[size++] = c;
+	}
+
+	/**
+	 * Appends a range of bytes to the payload.
+	 */
+	public void add(byte[] buffer, int offset, int length) {
+		if (size + length > data.length) {
+			grow(size + length);
+		}
+		System.arraycopy(buffer, offset, data, size, length);
+		size += length;
 	}
 
 	public void resetIndex() {
 		index = 0;
 	}
 
+	/**
+	 * Empties the payload so its array can be reused for another packet.
+	 */
+	public void reset() {
+		size = 0;
+		index = 0;
+	}
+
+	/*
+	 * Relative getters, reading little endian values at the index and moving
+	 * it past them.
+	 */
+
 	public byte getByte() {
-		byte result = 0;
-		result |= (payload.get(index + 0) & 0xFF);
-		index += 1;
-		return (byte) result;
+		final int i = index;
+		index = i + 1;
+		return i < size ? data[i] : (byte) getPadded(i, 1);
 	}
 
 	public short getShort() {
-		short result = 0;
-		result |= (payload.get(index + 1) & 0xFF) << 8;
-		result |= (payload.get(index + 0) & 0xFF);
-		index += 2;
-		return (short) result;
+		final int i = index;
+		index = i + 2;
+		if (i + 2 > size) {
+			return (short) getPadded(i, 2);
+		}
+		final byte[] d = data;
+		return (short) ((d[i + 1] & 0xFF) << 8 | (d[i] & 0xFF));
 	}
 
 	public int getInt() {
-		int result = 0;
-		result |= (payload.get(index + 3) & (int)0xFF) << 24;
-		result |= (payload.get(index + 2) & (int)0xFF) << 16;
-		result |= (payload.get(index + 1) & (int)0xFF) << 8;
-		result |= (payload.get(index + 0) & (int)0xFF);
-		index += 4;
-		return (int) result;
+		final int i = index;
+		index = i + 4;
+		if (i + 4 > size) {
+			return (int) getPadded(i, 4);
+		}
+		final byte[] d = data;
+		return (d[i + 3] & 0xFF) << 24
+				| (d[i + 2] & 0xFF) << 16
+				| (d[i + 1] & 0xFF) << 8
+				| (d[i] & 0xFF);
 	}
 
 	public long getLong() {
-		long result = 0;
-		result |= (payload.get(index + 7) & (long)0xFF) << 56;
-		result |= (payload.get(index + 6) & (long)0xFF) << 48;
-		result |= (payload.get(index + 5) & (long)0xFF) << 40;
-		result |= (payload.get(index + 4) & (long)0xFF) << 32;
-		result |= (payload.get(index + 3) & (long)0xFF) << 24;
-		result |= (payload.get(index + 2) & (long)0xFF) << 16;
-		result |= (payload.get(index + 1) & (long)0xFF) << 8;
-		result |= (payload.get(index + 0) & (long)0xFF);
+		final long result = getLong(index);
 		index += 8;
-		return (long) result;
+		return result;
 	}
-	
 
 	public long getLongReverse() {
-                long result = 0;
-                result |= (payload.get(index + 0) & (long)0xFF) << 56;
-                result |= (payload.get(index + 1) & (long)0xFF) << 48;
-                result |= (payload.get(index + 2) & (long)0xFF) << 40;
-                result |= (payload.get(index + 3) & (long)0xFF) << 32;
-                result |= (payload.get(index + 4) & (long)0xFF) << 24;
-                result |= (payload.get(index + 5) & (long)0xFF) << 16;
-                result |= (payload.get(index + 6) & (long)0xFF) << 8;
-                result |= (payload.get(index + 7) & (long)0xFF);
-                index += 8;
-                return (long) result;
-        }
+		final long result = Long.reverseBytes(getLong(index));
+		index += 8;
+		return result;
+	}
 
 	public float getFloat() {
 		return Float.intBitsToFloat(getInt());
 	}
-	
+
+	/*
+	 * Absolute accessors, reading little endian values at a fixed offset of
+	 * the payload without moving the index.
+	 */
+
+	public byte getByte(int offset) {
+		if (offset >= size) {
+			return (byte) getPadded(offset, 1);
+		}
+		return data[offset];
+	}
+
+	public short getShort(int offset) {
+		if (offset + 2 > size) {
+			return (short) getPadded(offset, 2);
+		}
+		final byte[] d = data;
+		return (short) ((d[offset + 1] & 0xFF) << 8 | (d[offset] & 0xFF));
+	}
+
+	public int getInt(int offset) {
+		if (offset + 4 > size) {
+			return (int) getPadded(offset, 4);
+		}
+		final byte[] d = data;
+		return (d[offset + 3] & 0xFF) << 24
+				| (d[offset + 2] & 0xFF) << 16
+				| (d[offset + 1] & 0xFF) << 8
+				| (d[offset] & 0xFF);
+	}
+
+	public long getLong(int offset) {
+		if (offset + 8 > size) {
+			return getPadded(offset, 8);
+		}
+		final byte[] d = data;
+		return (d[offset + 7] & 0xFFL) << 56
+				| (d[offset + 6] & 0xFFL) << 48
+				| (d[offset + 5] & 0xFFL) << 40
+				| (d[offset + 4] & 0xFFL) << 32
+				| (d[offset + 3] & 0xFFL) << 24
+				| (d[offset + 2] & 0xFFL) << 16
+				| (d[offset + 1] & 0xFFL) << 8
+				| (d[offset] & 0xFFL);
+	}
+
+	public float getFloat(int offset) {
+		return Float.intBitsToFloat(getInt(offset));
+	}
+
+	public double getDouble(int offset) {
+		return Double.longBitsToDouble(getLong(offset));
+	}
+
+	/**
+	 * Reads a value overlapping the end of the payload, the missing bytes
+	 * being zeros.
+	 */
+	private long getPadded(int offset, int length) {
+		if (offset < 0) {
+			throw new IndexOutOfBoundsException("Negative payload offset " + offset);
+		}
+
+		long result = 0;
+		for (int i = Math.min(size - offset, length) - 1; i >= 0; i--) {
+			result = result << 8 | (data[offset + i] & 0xFFL);
+		}
+		return result;
+	}
+
+	/*
+	 * Relative putters, appending little endian values to the payload.
+	 */
+
 	public void putByte(byte data) {
 		add(data);
 	}
 
 	public void putShort(short data) {
-		add((byte) (data >> 0));
-		add((byte) (data >> 8));
+		if (size + 2 > this.data.length) {
+			grow(size + 2);
+		}
+		final byte[] d = this.data;
+		final int i = size;
+		d[i] = (byte) data;
+		d[i + 1] = (byte) (data >> 8);
+		size = i + 2;
 	}
 
 	public void putInt(int data) {
-		add((byte) (data >> 0));
-		add((byte) (data >> 8));
-		add((byte) (data >> 16));
-		add((byte) (data >> 24));
+		if (size + 4 > this.data.length) {
+			grow(size + 4);
+		}
+		final byte[] d = this.data;
+		final int i = size;
+		d[i] = (byte) data;
+		d[i + 1] = (byte) (data >> 8);
+		d[i + 2] = (byte) (data >> 16);
+		d[i + 3] = (byte) (data >> 24);
+		size = i + 4;
 	}
 
 	public void putLong(long data) {
-		add((byte) (data >> 0));
-		add((byte) (data >> 8));
-		add((byte) (data >> 16));
-		add((byte) (data >> 24));
-		add((byte) (data >> 32));
-		add((byte) (data >> 40));
-		add((byte) (data >> 48));
-		add((byte) (data >> 56));
+		if (size + 8 > this.data.length) {
+			grow(size + 8);
+		}
+		final byte[] d = this.data;
+		final int i = size;
+		d[i] = (byte) data;
+		d[i + 1] = (byte) (data >> 8);
+		d[i + 2] = (byte) (data >> 16);
+		d[i + 3] = (byte) (data >> 24);
+		d[i + 4] = (byte) (data >> 32);
+		d[i + 5] = (byte) (data >> 40);
+		d[i + 6] = (byte) (data >> 48);
+		d[i + 7] = (byte) (data >> 56);
+		size = i + 8;
 	}
 
 	public void putFloat(float data) {
 		putInt(Float.floatToIntBits(data));
 	}
 
+	public void putDouble(double data) {
+		putLong(Double.doubleToLongBits(data));
+	}
+
 }
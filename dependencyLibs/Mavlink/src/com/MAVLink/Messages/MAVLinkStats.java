@@ -1,54 +1,217 @@
 package com.MAVLink.Messages;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.MAVLink.MAVLinkMsgIdTable;
 import com.MAVLink.MAVLinkPacket;
 
 /**
  * Storage for MAVLink Packet and Error statistics
- * 
+ *
+ * Statistics are kept for each source, identified by its system and component
+ * ids, so the sequence numbers of the autopilot, a gimbal or a companion
+ * computer sharing a link are tracked separately. For each source, the
+ * count, bytes, rate and inter-arrival jitter of every message id are kept
+ * too.
+ *
+ * The statistics are updated by a single thread, the one parsing the link,
+ * without locking. Any thread can read them through {@link #snapshot()}.
  */
 public class MAVLinkStats /* implements Serializable */{
 
+	/*
+	 * Totals over every source, only meant to be read from the parsing
+	 * thread. Other threads use snapshot().
+	 */
+
 	public int receivedPacketCount;
 
 	public int crcErrorCount;
 
 	public int lostPacketCount;
 
-	private int lastPacketSeq;
+	/*
+	 * Indexes of the counters in the totals and source arrays.
+	 */
+	private static final int RECEIVED = 0;
+	private static final int LOST = 1;
+	private static final int CRC_ERRORS = 2;
+	private static final int BYTES = 3;
+	private static final int COUNTERS_LENGTH = 4;
+
+	/*
+	 * Indexes of the values in the message arrays.
+	 */
+	private static final int MSG_COUNT = 0;
+	private static final int MSG_BYTES = 1;
+	private static final int MSG_LAST_ARRIVAL = 2;
+	private static final int MSG_MEAN_INTERVAL = 3;
+	private static final int MSG_JITTER = 4;
+	private static final int MSG_VALUES_LENGTH = 5;
+
+	/**
+	 * Inter-arrival mean and jitter are smoothed over about 2^SMOOTHING_SHIFT
+	 * messages.
+	 */
+	private static final int SMOOTHING_SHIFT = 4;
+
+	/**
+	 * Counters of a source, or of a message id of a source. Only the parsing
+	 * thread writes them, with lazySet() which doesn't stall it.
+	 */
+	private static final class Source {
+		final int sysid;
+		final int compid;
+		final AtomicLongArray counters = new AtomicLongArray(COUNTERS_LENGTH);
+
+		/**
+		 * Only accessed by the parsing thread.
+		 */
+		int lastSeq = -1;
+
+		/**
+		 * Message counters indexed by message id, copied on write.
+		 */
+		volatile MAVLinkMsgIdTable<AtomicLongArray> messages = MAVLinkMsgIdTable.empty();
+
+		Source(int sysid, int compid) {
+			this.sysid = sysid;
+			this.compid = compid;
+		}
+
+		AtomicLongArray getMessage(int msgid) {
+			final AtomicLongArray current = messages.get(msgid);
+			if (current != null) {
+				return current;
+			}
+
+			final AtomicLongArray message = new AtomicLongArray(MSG_VALUES_LENGTH);
+			messages = messages.with(msgid, message);
+			return message;
+		}
+	}
+
+	/**
+	 * Sources indexed by system id, then component id.
+	 */
+	private volatile AtomicReferenceArray<AtomicReferenceArray<Source>> sources;
+
+	/**
+	 * Sources in the order they were first received, appended on write.
+	 */
+	private volatile Source[] sourceList;
+
+	private volatile AtomicLongArray totals;
+
+	public MAVLinkStats() {
+		mavlinkResetStats();
+	}
 
 	/**
 	 * Check the new received packet to see if has lost someone between this and
 	 * the last packet
-	 * 
+	 *
 	 * @param packet
 	 *            Packet that should be checked
 	 */
 	public void newPacket(MAVLinkPacket packet) {
-		advanceLastPacketSequence();
-		if (hasLostPackets(packet)) {
-			updateLostPacketCount(packet);
+		newPacket(packet, System.nanoTime());
+	}
+
+	/**
+	 * Accounts for a packet received at the given time.
+	 *
+	 * @param packet
+	 *            received packet, before its MAVLink 2 payload is expanded
+	 * @param arrivalNanos
+	 *            arrival time, from {@link System#nanoTime()}
+	 */
+	public void newPacket(MAVLinkPacket packet, long arrivalNanos) {
+		final Source source = getSource(packet.sysid, packet.compid);
+		final AtomicLongArray totals = this.totals;
+
+		int lostPackets = 0;
+		if (source.lastSeq >= 0 && packet.seq != source.lastSeq) {
+			// Sequence numbers wrap from 255 to 0.
+			lostPackets = (packet.seq - source.lastSeq - 1) & 0xFF;
+		}
+		source.lastSeq = packet.seq;
+
+		final int frameLength = getFrameLength(packet);
+		increment(source.counters, RECEIVED, 1);
+		increment(source.counters, BYTES, frameLength);
+		increment(totals, RECEIVED, 1);
+		increment(totals, BYTES, frameLength);
+		if (lostPackets > 0) {
+			increment(source.counters, LOST, lostPackets);
+			increment(totals, LOST, lostPackets);
+			lostPacketCount += lostPackets;
 		}
-		lastPacketSeq = packet.seq;
 		receivedPacketCount++;
+
+		final AtomicLongArray message = source.getMessage(packet.msgid);
+		final long count = message.get(MSG_COUNT);
+		if (count > 0) {
+			final long interval = arrivalNanos - message.get(MSG_LAST_ARRIVAL);
+			long mean = message.get(MSG_MEAN_INTERVAL);
+			long jitter = message.get(MSG_JITTER);
+			if (count == 1) {
+				mean = interval;
+			} else {
+				mean += (interval - mean) >> SMOOTHING_SHIFT;
+				jitter += (Math.abs(interval - mean) - jitter) >> SMOOTHING_SHIFT;
+			}
+			message.lazySet(MSG_MEAN_INTERVAL, mean);
+			message.lazySet(MSG_JITTER, jitter);
+		}
+		message.lazySet(MSG_LAST_ARRIVAL, arrivalNanos);
+		message.lazySet(MSG_COUNT, count + 1);
+		increment(message, MSG_BYTES, frameLength);
 	}
 
-	private void updateLostPacketCount(MAVLinkPacket packet) {
-		int lostPackets;
-		if (packet.seq - lastPacketSeq < 0) {
-			lostPackets = (packet.seq - lastPacketSeq) + 255;
-		} else {
-			lostPackets = (packet.seq - lastPacketSeq);
+	private static int getFrameLength(MAVLinkPacket packet) {
+		if (!packet.isMavlink2) {
+			return MAVLinkPacket.MAVLINK1_HEADER_LEN + packet.len + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
 		}
-		lostPacketCount += lostPackets;
+
+		int length = MAVLinkPacket.MAVLINK2_HEADER_LEN + packet.len + MAVLinkPacket.MAVLINK_CHECKSUM_LEN;
+		if ((packet.incompatFlags & MAVLinkPacket.MAVLINK_IFLAG_SIGNED) != 0) {
+			length += MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN;
+		}
+		return length;
 	}
 
-	private boolean hasLostPackets(MAVLinkPacket packet) {
-		return lastPacketSeq > 0 && packet.seq != lastPacketSeq;
+	/**
+	 * Increments a counter written by this thread only.
+	 */
+	private static void increment(AtomicLongArray counters, int index, long delta) {
+		counters.lazySet(index, counters.get(index) + delta);
 	}
 
-	private void advanceLastPacketSequence() {
-		// wrap from 255 to 0 if necessary
-		lastPacketSeq = (lastPacketSeq + 1) & 0xFF;
+	private Source getSource(int sysid, int compid) {
+		final AtomicReferenceArray<AtomicReferenceArray<Source>> sources = this.sources;
+		AtomicReferenceArray<Source> components = sources.get(sysid & 0xFF);
+		if (components == null) {
+			components = new AtomicReferenceArray<Source>(256);
+			sources.set(sysid & 0xFF, components);
+		}
+
+		Source source = components.get(compid & 0xFF);
+		if (source == null) {
+			source = new Source(sysid, compid);
+			components.set(compid & 0xFF, source);
+
+			final Source[] current = sourceList;
+			final Source[] appended = new Source[current.length + 1];
+			System.arraycopy(current, 0, appended, 0, current.length);
+			appended[current.length] = source;
+			sourceList = appended;
+		}
+		return source;
 	}
 
 	/**
@@ -56,16 +219,276 @@ public class MAVLinkStats /* implements Serializable */{
 	 */
 	public void crcError() {
 		crcErrorCount++;
+		increment(totals, CRC_ERRORS, 1);
+	}
+
+	/**
+	 * Called when the parser drops a frame because of a CRC error. The error
+	 * is accounted to the source named in the frame header if it is known,
+	 * as the header may be corrupted too.
+	 *
+	 * @param packet
+	 *            the frame which failed the check
+	 */
+	public void crcError(MAVLinkPacket packet) {
+		crcError();
+
+		final AtomicReferenceArray<Source> components = sources.get(packet.sysid & 0xFF);
+		final Source source = components == null ? null : components.get(packet.compid & 0xFF);
+		if (source != null) {
+			increment(source.counters, CRC_ERRORS, 1);
+		}
 	}
 
 	/**
 	 * Resets statistics for this MAVLink.
 	 */
 	public void mavlinkResetStats() {
-		lastPacketSeq = -1;
 		lostPacketCount = 0;
 		crcErrorCount = 0;
 		receivedPacketCount = 0;
+
+		totals = new AtomicLongArray(COUNTERS_LENGTH);
+		sourceList = new Source[0];
+		sources = new AtomicReferenceArray<AtomicReferenceArray<Source>>(256);
+	}
+
+	/**
+	 * Copies the current statistics. It can be called from any thread, while
+	 * the statistics are updated. Each counter is read atomically, but the
+	 * counters aren't read at the same instant.
+	 */
+	public Snapshot snapshot() {
+		final long now = System.nanoTime();
+		final AtomicLongArray totals = this.totals;
+		final Source[] sources = sourceList;
+
+		final List<SourceSnapshot> sourceSnapshots = new ArrayList<SourceSnapshot>(sources.length);
+		for (Source source : sources) {
+			final MAVLinkMsgIdTable<AtomicLongArray> messages = source.messages;
+			final List<MessageSnapshot> messageSnapshots = new ArrayList<MessageSnapshot>();
+			for (int msgid = messages.nextId(0); msgid >= 0; msgid = messages.nextId(msgid + 1)) {
+				final AtomicLongArray message = messages.get(msgid);
+				messageSnapshots.add(new MessageSnapshot(msgid, message.get(MSG_COUNT),
+						message.get(MSG_BYTES), message.get(MSG_MEAN_INTERVAL), message.get(MSG_JITTER),
+						now - message.get(MSG_LAST_ARRIVAL)));
+			}
+
+			sourceSnapshots.add(new SourceSnapshot(source.sysid, source.compid,
+					source.counters.get(RECEIVED), source.counters.get(LOST), source.counters.get(CRC_ERRORS),
+					source.counters.get(BYTES), messageSnapshots));
+		}
+
+		return new Snapshot(totals.get(RECEIVED), totals.get(LOST), totals.get(CRC_ERRORS), totals.get(BYTES),
+				sourceSnapshots);
+	}
+
+	/**
+	 * Statistics of a link, copied by {@link MAVLinkStats#snapshot()}.
+	 */
+	public static class Snapshot {
+		private final long receivedCount;
+		private final long lostCount;
+		private final long crcErrorCount;
+		private final long bytes;
+		private final List<SourceSnapshot> sources;
+
+		Snapshot(long receivedCount, long lostCount, long crcErrorCount, long bytes, List<SourceSnapshot> sources) {
+			this.receivedCount = receivedCount;
+			this.lostCount = lostCount;
+			this.crcErrorCount = crcErrorCount;
+			this.bytes = bytes;
+			this.sources = Collections.unmodifiableList(sources);
+		}
+
+		public long getReceivedCount() {
+			return receivedCount;
+		}
+
+		public long getLostCount() {
+			return lostCount;
+		}
+
+		/**
+		 * @return the count of frames dropped because of a CRC error,
+		 *         including the ones whose source is unknown.
+		 */
+		public long getCrcErrorCount() {
+			return crcErrorCount;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * @return the statistics of every source, in the order they were
+		 *         first received.
+		 */
+		public List<SourceSnapshot> getSources() {
+			return sources;
+		}
+
+		/**
+		 * @return the statistics of a source, or null if it hasn't been
+		 *         received.
+		 */
+		public SourceSnapshot getSource(int sysid, int compid) {
+			for (SourceSnapshot source : sources) {
+				if (source.sysid == sysid && source.compid == compid) {
+					return source;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Statistics of the packets received from a system component.
+	 */
+	public static class SourceSnapshot {
+		private final int sysid;
+		private final int compid;
+		private final long receivedCount;
+		private final long lostCount;
+		private final long crcErrorCount;
+		private final long bytes;
+		private final List<MessageSnapshot> messages;
+
+		SourceSnapshot(int sysid, int compid, long receivedCount, long lostCount, long crcErrorCount, long bytes,
+				List<MessageSnapshot> messages) {
+			this.sysid = sysid;
+			this.compid = compid;
+			this.receivedCount = receivedCount;
+			this.lostCount = lostCount;
+			this.crcErrorCount = crcErrorCount;
+			this.bytes = bytes;
+			this.messages = Collections.unmodifiableList(messages);
+		}
+
+		public int getSysid() {
+			return sysid;
+		}
+
+		public int getCompid() {
+			return compid;
+		}
+
+		public long getReceivedCount() {
+			return receivedCount;
+		}
+
+		/**
+		 * @return the count of packets missing from the sequence of this
+		 *         source.
+		 */
+		public long getLostCount() {
+			return lostCount;
+		}
+
+		public long getCrcErrorCount() {
+			return crcErrorCount;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * @return the fraction of the packets sent by this source which were
+		 *         lost, from 0 to 1.
+		 */
+		public double getLossRate() {
+			final long sent = receivedCount + lostCount;
+			return sent == 0 ? 0 : (double) lostCount / sent;
+		}
+
+		/**
+		 * @return the statistics of every message id received from this
+		 *         source, by increasing message id.
+		 */
+		public List<MessageSnapshot> getMessages() {
+			return messages;
+		}
+
+		/**
+		 * @return the statistics of a message id, or null if it hasn't been
+		 *         received from this source.
+		 */
+		public MessageSnapshot getMessage(int msgid) {
+			for (MessageSnapshot message : messages) {
+				if (message.msgid == msgid) {
+					return message;
+				}
+			}
+			return null;
+		}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Statistics of a message id received from a source.
+	 */
+	public static class MessageSnapshot {
+		private final int msgid;
+		private final long count;
+		private final long bytes;
+		private final long meanIntervalNanos;
+		private final long jitterNanos;
+		private final long ageNanos;
+
+		MessageSnapshot(int msgid, long count, long bytes, long meanIntervalNanos, long jitterNanos,
+				long ageNanos) {
+			this.msgid = msgid;
+			this.count = count;
+			this.bytes = bytes;
+			this.meanIntervalNanos = meanIntervalNanos;
+			this.jitterNanos = jitterNanos;
+			this.ageNanos = ageNanos;
+		}
+
+		public int getMsgid() {
+			return msgid;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+		/**
+		 * @return the smoothed interval between two messages, in
+		 *         nanoseconds, or 0 if only one was received.
+		 */
+		public long getMeanIntervalNanos() {
+			return meanIntervalNanos;
+		}
+
+		/**
+		 * @return the smoothed deviation of the interval between two
+		 *         messages from its mean, in nanoseconds.
+		 */
+		public long getJitterNanos() {
+			return jitterNanos;
+		}
+
+		/**
+		 * @return the time elapsed since the last message was received, when
+		 *         the snapshot was taken, in nanoseconds.
+		 */
+		public long getAgeNanos() {
+			return ageNanos;
+		}
+
+		/**
+		 * @return the rate of the message in Hz. It decreases once the
+		 *         message stops being received.
+		 */
+		public double getRate() {
+			final long interval = Math.max(meanIntervalNanos, ageNanos);
+			return meanIntervalNanos <= 0 || interval <= 0 ? 0 : 1E9 / interval;
+		}
+	}
+}
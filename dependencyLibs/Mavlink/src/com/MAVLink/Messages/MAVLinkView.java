@@ -0,0 +1,57 @@
+package com.MAVLink.Messages;
+
+import com.MAVLink.MAVLinkPacket;
+
+/**
+ * Common base of the generated read-only message views.
+ *
+ * A view is a flyweight: it doesn't hold any field values, but decodes them
+ * on demand from the payload of the packet it is wrapping. A single instance
+ * can be reused for every received packet of its message type, so reading
+ * telemetry through views doesn't allocate anything.
+ *
+ * The wrapped packet is only valid for as long as its producer allows, i.e.
+ * until the parser listener returns when packets are pooled. Use
+ * {@link MAVLinkPacket#unpack()} to get a message that can be retained.
+ */
+public abstract class MAVLinkView {
+
+	public final int msgid;
+
+	protected MAVLinkPayload payload;
+	private MAVLinkPacket packet;
+
+	protected MAVLinkView(int msgid) {
+		this.msgid = msgid;
+	}
+
+	/**
+	 * Points the view at the given packet.
+	 *
+	 * @param packet packet whose payload to read, of the same message type
+	 * @throws IllegalArgumentException if the packet carries another message
+	 */
+	protected void wrapPacket(MAVLinkPacket packet) {
+		if (packet.msgid != msgid) {
+			throw new IllegalArgumentException("Can't read message " + packet.msgid + " as " + msgid);
+		}
+
+		this.packet = packet;
+		this.payload = packet.payload;
+	}
+
+	/**
+	 * @return the packet currently wrapped, or null.
+	 */
+	public MAVLinkPacket getPacket() {
+		return packet;
+	}
+
+	public int getSysid() {
+		return packet.sysid;
+	}
+
+	public int getCompid() {
+		return packet.compid;
+	}
+}
@@ -1,98 +1,396 @@
 package com.MAVLink;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkPayload;
 import com.MAVLink.Messages.MAVLinkStats;
 
 public class Parser {
 
+	/**
+	 * Receives the frames decoded by the bulk parsing methods.
+	 */
+	public interface PacketListener {
+
+		/**
+		 * Called for every frame successfully decoded.
+		 * 
+		 * @param packet
+		 *            decoded packet. It belongs to the parser's packet pool,
+		 *            and is recycled as soon as this method returns, so it
+		 *            must not be retained.
+		 */
+		public void onPacketReceived(MAVLinkPacket packet);
+	}
+
 	/**
 	 * States from the parsing state machine
 	 */
 	enum MAV_states {
-		MAVLINK_PARSE_STATE_UNINIT, MAVLINK_PARSE_STATE_IDLE, MAVLINK_PARSE_STATE_GOT_STX, MAVLINK_PARSE_STATE_GOT_LENGTH, MAVLINK_PARSE_STATE_GOT_SEQ, MAVLINK_PARSE_STATE_GOT_SYSID, MAVLINK_PARSE_STATE_GOT_COMPID, MAVLINK_PARSE_STATE_GOT_MSGID, MAVLINK_PARSE_STATE_GOT_CRC1, MAVLINK_PARSE_STATE_GOT_PAYLOAD
+		MAVLINK_PARSE_STATE_UNINIT, MAVLINK_PARSE_STATE_IDLE, MAVLINK_PARSE_STATE_GOT_STX, MAVLINK_PARSE_STATE_GOT_LENGTH, MAVLINK_PARSE_STATE_GOT_INCOMPAT_FLAGS, MAVLINK_PARSE_STATE_GOT_COMPAT_FLAGS, MAVLINK_PARSE_STATE_GOT_SEQ, MAVLINK_PARSE_STATE_GOT_SYSID, MAVLINK_PARSE_STATE_GOT_COMPID, MAVLINK_PARSE_STATE_GOT_MSGID1, MAVLINK_PARSE_STATE_GOT_MSGID2, MAVLINK_PARSE_STATE_GOT_MSGID, MAVLINK_PARSE_STATE_GOT_CRC1, MAVLINK_PARSE_STATE_GOT_PAYLOAD, MAVLINK_PARSE_STATE_GOT_CRC2
 	}
 
-	MAV_states state = MAV_states.MAVLINK_PARSE_STATE_UNINIT;
+	/**
+	 * Longest possible frame: a signed MAVLink 2 frame with a full payload.
+	 */
+	private static final int MAX_FRAME_LENGTH = MAVLinkPacket.MAVLINK2_HEADER_LEN
+			+ MAVLinkPayload.MAX_PAYLOAD_SIZE + MAVLinkPacket.MAVLINK_CHECKSUM_LEN
+			+ MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN;
 
-	static boolean msg_received;
+	MAV_states state = MAV_states.MAVLINK_PARSE_STATE_UNINIT;
 
-	public MAVLinkStats stats = new MAVLinkStats();
+	public MAVLinkStats stats;
 	private MAVLinkPacket m;
 
+	/**
+	 * Arrival time of the block being parsed, or 0 when parsing byte by
+	 * byte.
+	 */
+	private long blockArrivalNanos;
+
+	/**
+	 * True if the packet being filled was taken from the packet pool.
+	 */
+	private boolean isPooledPacket;
+
+	/**
+	 * Count of signature bytes received for the current signed MAVLink 2
+	 * frame.
+	 */
+	private int signatureBytesCount;
+
+	/**
+	 * Bytes of the frame being received, from its start sign. If the frame
+	 * turns out to be invalid, they are rescanned for the next frame, which
+	 * may start inside it when the start sign was noise or the frame was
+	 * truncated.
+	 */
+	private final byte[] frameBytes = new byte[MAX_FRAME_LENGTH];
+	private int frameBytesCount;
+
+	/**
+	 * Length of the last frame received, whose bytes are left in frameBytes
+	 * until the next frame starts.
+	 */
+	private int frameLength;
+
+	/**
+	 * Bytes left to parse again after an invalid frame, from rescanPosition
+	 * to rescanLimit. While they are parsed, the bytes of the current frame
+	 * are still found just before rescanPosition.
+	 */
+	private byte[] rescanBytes = new byte[2 * MAX_FRAME_LENGTH];
+	private int rescanPosition;
+	private int rescanLimit;
+
+	private final MAVLinkPacketPool packetPool;
+
+	public Parser() {
+		this(new MAVLinkPacketPool());
+	}
+
+	/**
+	 * @param packetPool
+	 *            pool providing the packets used by the bulk parsing methods.
+	 */
+	public Parser(MAVLinkPacketPool packetPool) {
+		this(packetPool, new MAVLinkStats());
+	}
+
+	/**
+	 * @param packetPool
+	 *            pool providing the packets used by the bulk parsing methods.
+	 * @param stats
+	 *            statistics updated with the parsed frames, such as the ones
+	 *            of the link being parsed.
+	 */
+	public Parser(MAVLinkPacketPool packetPool, MAVLinkStats stats) {
+		this.packetPool = packetPool;
+		this.stats = stats;
+	}
+
+	/**
+	 * Parses a block of bytes, such as the ones returned by a connection read,
+	 * and reports every complete frame to the given listener. The frames are
+	 * decoded into pooled packets, so this doesn't allocate per frame once the
+	 * pool is warm. Checksum and other failures will be silently ignored.
+	 * 
+	 * @param buffer
+	 *            bytes to parse
+	 * @param offset
+	 *            index of the first byte to parse
+	 * @param length
+	 *            count of bytes to parse
+	 * @param listener
+	 *            receives the decoded packets
+	 * @return the count of frames decoded from the block
+	 */
+	public int parse(byte[] buffer, int offset, int length, PacketListener listener) {
+		int framesCount = 0;
+		final int end = offset + length;
+		int i = offset;
+		blockArrivalNanos = System.nanoTime();
+		while (i < end) {
+			if (state == MAV_states.MAVLINK_PARSE_STATE_GOT_MSGID) {
+				i += readPayload(buffer, i, end - i);
+			} else {
+				if (parseByte(buffer[i++] & 0xff, true)) {
+					framesCount++;
+					dispatchPooledPacket(listener);
+				}
+				if (rescanPosition < rescanLimit) {
+					framesCount += parseRescanBytes(listener);
+				}
+			}
+		}
+		return framesCount;
+	}
+
+	/**
+	 * Parses the remaining bytes of the given buffer, and reports every
+	 * complete frame to the given listener. The buffer position is moved to
+	 * its limit.
+	 * 
+	 * @see #parse(byte[], int, int, PacketListener)
+	 */
+	public int parse(ByteBuffer buffer, PacketListener listener) {
+		if (buffer.hasArray()) {
+			final int framesCount = parse(buffer.array(), buffer.arrayOffset() + buffer.position(),
+					buffer.remaining(), listener);
+			buffer.position(buffer.limit());
+			return framesCount;
+		}
+
+		int framesCount = 0;
+		blockArrivalNanos = System.nanoTime();
+		while (buffer.hasRemaining()) {
+			if (parseByte(buffer.get() & 0xff, true)) {
+				framesCount++;
+				dispatchPooledPacket(listener);
+			}
+			if (rescanPosition < rescanLimit) {
+				framesCount += parseRescanBytes(listener);
+			}
+		}
+		return framesCount;
+	}
+
+	/**
+	 * Parses all the bytes left after an invalid frame.
+	 * 
+	 * @return the count of frames decoded
+	 */
+	private int parseRescanBytes(PacketListener listener) {
+		int framesCount = 0;
+		while (rescanPosition < rescanLimit) {
+			if (parseByte(rescanBytes[rescanPosition++] & 0xff, true)) {
+				framesCount++;
+				dispatchPooledPacket(listener);
+			}
+		}
+		return framesCount;
+	}
+
+	private void dispatchPooledPacket(PacketListener listener) {
+		final MAVLinkPacket packet = m;
+		m = null;
+		isPooledPacket = false;
+
+		try {
+			listener.onPacketReceived(packet);
+		} finally {
+			packetPool.recycle(packet);
+		}
+	}
+
+	/**
+	 * Provides the packet receiving the frame which just started.
+	 */
+	private MAVLinkPacket startPacket(boolean pooled) {
+		if (!pooled) {
+			isPooledPacket = false;
+			return new MAVLinkPacket();
+		}
+
+		// Reuse the packet of the previous frame if it was discarded.
+		if (isPooledPacket && m != null) {
+			m.reset();
+			return m;
+		}
+
+		isPooledPacket = true;
+		return packetPool.obtain();
+	}
+
+	/**
+	 * Gives the bytes of the last frame received as they were framed, with
+	 * their checksum and signature, so it can be forwarded without being
+	 * encoded again.
+	 * 
+	 * @return the array holding the frame from index 0 to
+	 *         {@link #getFrameLength()}. It is reused, so it's only valid
+	 *         while its packet is dispatched, or until the next byte is
+	 *         parsed.
+	 */
+	public byte[] getFrameBytes() {
+		return frameBytes;
+	}
+
+	/**
+	 * @return the length of the last frame received.
+	 * @see #getFrameBytes()
+	 */
+	public int getFrameLength() {
+		return frameLength;
+	}
+
 	/**
 	 * This is a convenience function which handles the complete MAVLink
 	 * parsing. the function will parse one byte at a time and return the
 	 * complete packet once it could be successfully decoded. Checksum and other
-	 * failures will be silently ignored.
+	 * failures will be silently ignored. MAVLink 1.0 and MAVLink 2 frames are
+	 * both recognized, and can be interleaved on the same stream.
 	 * 
 	 * @param c
 	 *            The char to parse
 	 */
 	public MAVLinkPacket mavlink_parse_char(int c) {
-		msg_received = false;
+		blockArrivalNanos = 0;
+		if (rescanPosition < rescanLimit) {
+			// Bytes left from an invalid frame come first.
+			appendRescanByte(c);
+		} else if (parseByte(c, false)) {
+			return m;
+		}
 
-		switch (state) {
-		case MAVLINK_PARSE_STATE_UNINIT:
-		case MAVLINK_PARSE_STATE_IDLE:
+		// Only one frame can be returned, the rest of the bytes wait for the
+		// next call.
+		while (rescanPosition < rescanLimit) {
+			if (parseByte(rescanBytes[rescanPosition++] & 0xff, false)) {
+				return m;
+			}
+		}
+		return null;
+	}
 
-			if (c == MAVLinkPacket.MAVLINK_STX) {
-				state = MAV_states.MAVLINK_PARSE_STATE_GOT_STX;
-				m = new MAVLinkPacket();
+	private void appendRescanByte(int c) {
+		if (rescanLimit == rescanBytes.length) {
+			// Keep the bytes of the current frame, they may be rescanned.
+			final int start = rescanPosition - frameBytesCount;
+			if (start > 0) {
+				System.arraycopy(rescanBytes, start, rescanBytes, 0, rescanLimit - start);
+				rescanPosition -= start;
+				rescanLimit -= start;
+			} else {
+				rescanBytes = Arrays.copyOf(rescanBytes, rescanBytes.length * 2);
 			}
-			break;
+		}
+		rescanBytes[rescanLimit++] = (byte) c;
+	}
+
+	/**
+	 * Runs one byte through the parsing state machine.
+	 * 
+	 * @param c
+	 *            The char to parse
+	 * @param pooled
+	 *            true to decode into pooled packets, false to allocate a new
+	 *            packet for every frame.
+	 * @return true if the byte completed a valid frame.
+	 */
+	private boolean parseByte(int c, boolean pooled) {
+		boolean received = false;
+
+		if (state == MAV_states.MAVLINK_PARSE_STATE_UNINIT || state == MAV_states.MAVLINK_PARSE_STATE_IDLE) {
+			startFrame(c, pooled);
+			return false;
+		}
+		frameBytes[frameBytesCount++] = (byte) c;
 
+		switch (state) {
 		case MAVLINK_PARSE_STATE_GOT_STX:
-			if (msg_received) {
-				msg_received = false;
-				state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
+			m.len = c;
+			m.crc.update_checksum(c);
+			state = MAV_states.MAVLINK_PARSE_STATE_GOT_LENGTH;
+			break;
+
+		case MAVLINK_PARSE_STATE_GOT_LENGTH:
+			m.crc.update_checksum(c);
+			if (m.isMavlink2) {
+				m.incompatFlags = c;
+				if ((c & ~MAVLinkPacket.MAVLINK_IFLAG_SIGNED) != 0) {
+					// Unknown incompat flags, the frame can't be handled.
+					discardFrame();
+				} else {
+					state = MAV_states.MAVLINK_PARSE_STATE_GOT_INCOMPAT_FLAGS;
+				}
 			} else {
-				m.len = c;
-				state = MAV_states.MAVLINK_PARSE_STATE_GOT_LENGTH;
+				m.seq = c;
+				state = MAV_states.MAVLINK_PARSE_STATE_GOT_SEQ;
 			}
 			break;
 
-		case MAVLINK_PARSE_STATE_GOT_LENGTH:
+		case MAVLINK_PARSE_STATE_GOT_INCOMPAT_FLAGS:
+			m.compatFlags = c;
+			m.crc.update_checksum(c);
+			state = MAV_states.MAVLINK_PARSE_STATE_GOT_COMPAT_FLAGS;
+			break;
+
+		case MAVLINK_PARSE_STATE_GOT_COMPAT_FLAGS:
 			m.seq = c;
+			m.crc.update_checksum(c);
 			state = MAV_states.MAVLINK_PARSE_STATE_GOT_SEQ;
 			break;
 
 		case MAVLINK_PARSE_STATE_GOT_SEQ:
 			m.sysid = c;
+			m.crc.update_checksum(c);
 			state = MAV_states.MAVLINK_PARSE_STATE_GOT_SYSID;
 			break;
 
 		case MAVLINK_PARSE_STATE_GOT_SYSID:
 			m.compid = c;
+			m.crc.update_checksum(c);
 			state = MAV_states.MAVLINK_PARSE_STATE_GOT_COMPID;
 			break;
 
 		case MAVLINK_PARSE_STATE_GOT_COMPID:
 			m.msgid = c;
-			if (m.len == 0) {
-				state = MAV_states.MAVLINK_PARSE_STATE_GOT_PAYLOAD;
+			m.crc.update_checksum(c);
+			if (m.isMavlink2) {
+				state = MAV_states.MAVLINK_PARSE_STATE_GOT_MSGID1;
 			} else {
-				state = MAV_states.MAVLINK_PARSE_STATE_GOT_MSGID;
+				onMsgidReceived();
 			}
 			break;
 
+		case MAVLINK_PARSE_STATE_GOT_MSGID1:
+			m.msgid |= c << 8;
+			m.crc.update_checksum(c);
+			state = MAV_states.MAVLINK_PARSE_STATE_GOT_MSGID2;
+			break;
+
+		case MAVLINK_PARSE_STATE_GOT_MSGID2:
+			m.msgid |= c << 16;
+			m.crc.update_checksum(c);
+			onMsgidReceived();
+			break;
+
 		case MAVLINK_PARSE_STATE_GOT_MSGID:
 			m.payload.add((byte) c);
+			m.crc.update_checksum(c);
 			if (m.payloadIsFilled()) {
-				state = MAV_states.MAVLINK_PARSE_STATE_GOT_PAYLOAD;
+				onPayloadReceived();
 			}
 			break;
 
 		case MAVLINK_PARSE_STATE_GOT_PAYLOAD:
-			m.generateCRC();
 			// Check first checksum byte
 			if (c != m.crc.getLSB()) {
-				msg_received = false;
-				state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
-				if (c == MAVLinkPacket.MAVLINK_STX) {
-					state = MAV_states.MAVLINK_PARSE_STATE_GOT_STX;
-					m.crc.start_checksum();
-				}
-				stats.crcError();
+				stats.crcError(m);
+				discardFrame();
 			} else {
 				state = MAV_states.MAVLINK_PARSE_STATE_GOT_CRC1;
 			}
@@ -101,27 +399,137 @@ public class Parser {
 		case MAVLINK_PARSE_STATE_GOT_CRC1:
 			// Check second checksum byte
 			if (c != m.crc.getMSB()) {
-				msg_received = false;
-				state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
-				if (c == MAVLinkPacket.MAVLINK_STX) {
-					state = MAV_states.MAVLINK_PARSE_STATE_GOT_STX;
-					m.crc.start_checksum();
-				}
-				stats.crcError();
+				stats.crcError(m);
+				discardFrame();
+			} else if (m.isMavlink2
+					&& (m.incompatFlags & MAVLinkPacket.MAVLINK_IFLAG_SIGNED) != 0) {
+				// Skip the signature, which isn't verified.
+				signatureBytesCount = 0;
+				state = MAV_states.MAVLINK_PARSE_STATE_GOT_CRC2;
 			} else { // Successfully received the message
-				stats.newPacket(m);
-				msg_received = true;
-				state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
+				onFrameReceived();
+				received = true;
 			}
 
 			break;
 
+		case MAVLINK_PARSE_STATE_GOT_CRC2:
+			signatureBytesCount++;
+			if (signatureBytesCount == MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN) {
+				onFrameReceived();
+				received = true;
+			}
+			break;
+
+		default:
+			break;
 		}
-		if (msg_received) {
-			return m;
+		return received;
+	}
+
+	/**
+	 * Starts a new frame if the given byte is a MAVLink 1.0 or MAVLink 2
+	 * start sign.
+	 */
+	private void startFrame(int c, boolean pooled) {
+		if (c == MAVLinkPacket.MAVLINK_STX || c == MAVLinkPacket.MAVLINK_STX_MAVLINK2) {
+			state = MAV_states.MAVLINK_PARSE_STATE_GOT_STX;
+			m = startPacket(pooled);
+			m.isMavlink2 = c == MAVLinkPacket.MAVLINK_STX_MAVLINK2;
+			m.startCRC();
+			frameBytes[0] = (byte) c;
+			frameBytesCount = 1;
+		}
+	}
+
+	/**
+	 * Drops the frame being received, and schedules the bytes following its
+	 * start sign to be parsed again, as the next frame may start among them.
+	 */
+	private void discardFrame() {
+		state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
+
+		final int count = frameBytesCount - 1;
+		if (rescanPosition < rescanLimit) {
+			// The frame was read from the rescanned bytes, which are still
+			// there.
+			rescanPosition -= count;
+		} else {
+			System.arraycopy(frameBytes, 1, rescanBytes, 0, count);
+			rescanPosition = 0;
+			rescanLimit = count;
+		}
+		frameBytesCount = 0;
+	}
+
+	/**
+	 * Checks the frame length against the one of the message, to drop early
+	 * the frames whose start sign was noise. MAVLink 1 payloads have the
+	 * message length, MAVLink 2 payloads may be truncated. Unknown messages
+	 * can't be checked.
+	 */
+	private boolean isLengthPossible() {
+		final int length = MAVLinkMessageRegistry.getMessageLength(m.msgid);
+		if (length == 0) {
+			return true;
+		}
+		return m.isMavlink2 ? m.len <= length : m.len == length;
+	}
+
+	private void onMsgidReceived() {
+		if (!isLengthPossible()) {
+			discardFrame();
+			return;
+		}
+
+		// Size the payload once for the frame, and for the zeros restored
+		// after a truncated MAVLink 2 payload.
+		m.payload.ensureCapacity(Math.max(m.len, MAVLinkMessageRegistry.getMessageLength(m.msgid)));
+
+		if (m.len == 0) {
+			onPayloadReceived();
 		} else {
-			return null;
+			state = MAV_states.MAVLINK_PARSE_STATE_GOT_MSGID;
+		}
+	}
+
+	/**
+	 * The checksum has been accumulated while the frame was received, it only
+	 * needs the message magic byte to be complete. The magic bytes come from
+	 * the {@link MAVLinkMessageRegistry}, so dialects registered at runtime are
+	 * accepted too.
+	 */
+	private void onPayloadReceived() {
+		m.crc.update_checksum(MAVLinkMessageRegistry.getCrcExtra(m.msgid));
+		state = MAV_states.MAVLINK_PARSE_STATE_GOT_PAYLOAD;
+	}
+
+	/**
+	 * Copies as much of the current frame payload as available from the given
+	 * block, and accumulates its checksum in one pass.
+	 * 
+	 * @return the count of bytes consumed
+	 */
+	private int readPayload(byte[] buffer, int offset, int length) {
+		final int count = Math.min(m.len - m.payload.size(), length);
+		m.payload.add(buffer, offset, count);
+		System.arraycopy(buffer, offset, frameBytes, frameBytesCount, count);
+		frameBytesCount += count;
+		m.crc.update_checksum(buffer, offset, count);
+		if (m.payloadIsFilled()) {
+			onPayloadReceived();
+		}
+		return count;
+	}
+
+	private void onFrameReceived() {
+		stats.newPacket(m, blockArrivalNanos != 0 ? blockArrivalNanos : System.nanoTime());
+		if (m.isMavlink2) {
+			m.expandTruncatedPayload();
 		}
+		state = MAV_states.MAVLINK_PARSE_STATE_IDLE;
+		frameLength = frameBytesCount;
+		frameBytesCount = 0;
 	}
 
 }
@@ -0,0 +1,914 @@
+// MESSAGES OF THE ardupilotmega DIALECT
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+
+/**
+* Registers the messages defined in ardupilotmega.xml.
+*/
+public final class ArdupilotmegaDialect{
+
+    /**
+    * Writes the payload of the messages of this dialect, in wire order.
+    */
+    public static final MAVLinkMessageRegistry.PayloadPacker PACKER = new MAVLinkMessageRegistry.PayloadPacker(){
+        @Override
+        public void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+            ArdupilotmegaDialect.packPayload(msg, payload);
+        }
+    };
+
+    private ArdupilotmegaDialect(){
+    }
+
+    /**
+    * Adds the messages of this dialect to the {@link MAVLinkMessageRegistry}.
+    */
+    public static void register(){
+        MAVLinkMessageRegistry.register(msg_sensor_offsets.MAVLINK_MSG_ID_SENSOR_OFFSETS, msg_sensor_offsets.class,
+                134, msg_sensor_offsets.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_mag_offsets.MAVLINK_MSG_ID_SET_MAG_OFFSETS, msg_set_mag_offsets.class,
+                219, msg_set_mag_offsets.MAVLINK_MSG_LENGTH, 6, 7,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_meminfo.MAVLINK_MSG_ID_MEMINFO, msg_meminfo.class,
+                208, msg_meminfo.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ap_adc.MAVLINK_MSG_ID_AP_ADC, msg_ap_adc.class,
+                188, msg_ap_adc.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_digicam_configure.MAVLINK_MSG_ID_DIGICAM_CONFIGURE, msg_digicam_configure.class,
+                84, msg_digicam_configure.MAVLINK_MSG_LENGTH, 6, 7,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_digicam_control.MAVLINK_MSG_ID_DIGICAM_CONTROL, msg_digicam_control.class,
+                22, msg_digicam_control.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mount_configure.MAVLINK_MSG_ID_MOUNT_CONFIGURE, msg_mount_configure.class,
+                19, msg_mount_configure.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mount_control.MAVLINK_MSG_ID_MOUNT_CONTROL, msg_mount_control.class,
+                21, msg_mount_control.MAVLINK_MSG_LENGTH, 12, 13,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mount_status.MAVLINK_MSG_ID_MOUNT_STATUS, msg_mount_status.class,
+                134, msg_mount_status.MAVLINK_MSG_LENGTH, 12, 13,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_fence_point.MAVLINK_MSG_ID_FENCE_POINT, msg_fence_point.class,
+                78, msg_fence_point.MAVLINK_MSG_LENGTH, 8, 9,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_fence_fetch_point.MAVLINK_MSG_ID_FENCE_FETCH_POINT, msg_fence_fetch_point.class,
+                68, msg_fence_fetch_point.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_fence_status.MAVLINK_MSG_ID_FENCE_STATUS, msg_fence_status.class,
+                189, msg_fence_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ahrs.MAVLINK_MSG_ID_AHRS, msg_ahrs.class,
+                127, msg_ahrs.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_simstate.MAVLINK_MSG_ID_SIMSTATE, msg_simstate.class,
+                154, msg_simstate.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hwstatus.MAVLINK_MSG_ID_HWSTATUS, msg_hwstatus.class,
+                21, msg_hwstatus.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_radio.MAVLINK_MSG_ID_RADIO, msg_radio.class,
+                21, msg_radio.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_limits_status.MAVLINK_MSG_ID_LIMITS_STATUS, msg_limits_status.class,
+                144, msg_limits_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_wind.MAVLINK_MSG_ID_WIND, msg_wind.class,
+                1, msg_wind.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data16.MAVLINK_MSG_ID_DATA16, msg_data16.class,
+                234, msg_data16.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data32.MAVLINK_MSG_ID_DATA32, msg_data32.class,
+                73, msg_data32.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data64.MAVLINK_MSG_ID_DATA64, msg_data64.class,
+                181, msg_data64.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data96.MAVLINK_MSG_ID_DATA96, msg_data96.class,
+                22, msg_data96.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rangefinder.MAVLINK_MSG_ID_RANGEFINDER, msg_rangefinder.class,
+                83, msg_rangefinder.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_airspeed_autocal.MAVLINK_MSG_ID_AIRSPEED_AUTOCAL, msg_airspeed_autocal.class,
+                167, msg_airspeed_autocal.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rally_point.MAVLINK_MSG_ID_RALLY_POINT, msg_rally_point.class,
+                138, msg_rally_point.MAVLINK_MSG_LENGTH, 14, 15,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rally_fetch_point.MAVLINK_MSG_ID_RALLY_FETCH_POINT, msg_rally_fetch_point.class,
+                234, msg_rally_fetch_point.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_compassmot_status.MAVLINK_MSG_ID_COMPASSMOT_STATUS, msg_compassmot_status.class,
+                240, msg_compassmot_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ahrs2.MAVLINK_MSG_ID_AHRS2, msg_ahrs2.class,
+                47, msg_ahrs2.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_camera_status.MAVLINK_MSG_ID_CAMERA_STATUS, msg_camera_status.class,
+                189, msg_camera_status.MAVLINK_MSG_LENGTH, 26, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_camera_feedback.MAVLINK_MSG_ID_CAMERA_FEEDBACK, msg_camera_feedback.class,
+                52, msg_camera_feedback.MAVLINK_MSG_LENGTH, 42, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_battery2.MAVLINK_MSG_ID_BATTERY2, msg_battery2.class,
+                174, msg_battery2.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ahrs3.MAVLINK_MSG_ID_AHRS3, msg_ahrs3.class,
+                229, msg_ahrs3.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_autopilot_version_request.MAVLINK_MSG_ID_AUTOPILOT_VERSION_REQUEST, msg_autopilot_version_request.class,
+                85, msg_autopilot_version_request.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_led_control.MAVLINK_MSG_ID_LED_CONTROL, msg_led_control.class,
+                72, msg_led_control.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mag_cal_progress.MAVLINK_MSG_ID_MAG_CAL_PROGRESS, msg_mag_cal_progress.class,
+                92, msg_mag_cal_progress.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mag_cal_report.MAVLINK_MSG_ID_MAG_CAL_REPORT, msg_mag_cal_report.class,
+                36, msg_mag_cal_report.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ekf_status_report.MAVLINK_MSG_ID_EKF_STATUS_REPORT, msg_ekf_status_report.class,
+                71, msg_ekf_status_report.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_report.MAVLINK_MSG_ID_GIMBAL_REPORT, msg_gimbal_report.class,
+                134, msg_gimbal_report.MAVLINK_MSG_LENGTH, 40, 41,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_control.MAVLINK_MSG_ID_GIMBAL_CONTROL, msg_gimbal_control.class,
+                205, msg_gimbal_control.MAVLINK_MSG_LENGTH, 12, 13,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_reset.MAVLINK_MSG_ID_GIMBAL_RESET, msg_gimbal_reset.class,
+                94, msg_gimbal_reset.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_axis_calibration_progress.MAVLINK_MSG_ID_GIMBAL_AXIS_CALIBRATION_PROGRESS, msg_gimbal_axis_calibration_progress.class,
+                128, msg_gimbal_axis_calibration_progress.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_set_home_offsets.MAVLINK_MSG_ID_GIMBAL_SET_HOME_OFFSETS, msg_gimbal_set_home_offsets.class,
+                54, msg_gimbal_set_home_offsets.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_home_offset_calibration_result.MAVLINK_MSG_ID_GIMBAL_HOME_OFFSET_CALIBRATION_RESULT, msg_gimbal_home_offset_calibration_result.class,
+                63, msg_gimbal_home_offset_calibration_result.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_set_factory_parameters.MAVLINK_MSG_ID_GIMBAL_SET_FACTORY_PARAMETERS, msg_gimbal_set_factory_parameters.class,
+                112, msg_gimbal_set_factory_parameters.MAVLINK_MSG_LENGTH, 26, 27,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_factory_parameters_loaded.MAVLINK_MSG_ID_GIMBAL_FACTORY_PARAMETERS_LOADED, msg_gimbal_factory_parameters_loaded.class,
+                201, msg_gimbal_factory_parameters_loaded.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_erase_firmware_and_config.MAVLINK_MSG_ID_GIMBAL_ERASE_FIRMWARE_AND_CONFIG, msg_gimbal_erase_firmware_and_config.class,
+                221, msg_gimbal_erase_firmware_and_config.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_perform_factory_tests.MAVLINK_MSG_ID_GIMBAL_PERFORM_FACTORY_TESTS, msg_gimbal_perform_factory_tests.class,
+                226, msg_gimbal_perform_factory_tests.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_report_factory_tests_progress.MAVLINK_MSG_ID_GIMBAL_REPORT_FACTORY_TESTS_PROGRESS, msg_gimbal_report_factory_tests_progress.class,
+                238, msg_gimbal_report_factory_tests_progress.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_request_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS, msg_gimbal_request_axis_calibration_status.class,
+                103, msg_gimbal_request_axis_calibration_status.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_report_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REPORT_AXIS_CALIBRATION_STATUS, msg_gimbal_report_axis_calibration_status.class,
+                235, msg_gimbal_report_axis_calibration_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gimbal_request_axis_calibration.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION, msg_gimbal_request_axis_calibration.class,
+                14, msg_gimbal_request_axis_calibration.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gopro_heartbeat.MAVLINK_MSG_ID_GOPRO_HEARTBEAT, msg_gopro_heartbeat.class,
+                77, msg_gopro_heartbeat.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gopro_get_request.MAVLINK_MSG_ID_GOPRO_GET_REQUEST, msg_gopro_get_request.class,
+                50, msg_gopro_get_request.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gopro_get_response.MAVLINK_MSG_ID_GOPRO_GET_RESPONSE, msg_gopro_get_response.class,
+                163, msg_gopro_get_response.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gopro_set_request.MAVLINK_MSG_ID_GOPRO_SET_REQUEST, msg_gopro_set_request.class,
+                115, msg_gopro_set_request.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gopro_set_response.MAVLINK_MSG_ID_GOPRO_SET_RESPONSE, msg_gopro_set_response.class,
+                47, msg_gopro_set_response.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+    }
+
+    private static void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+        switch(msg.msgid){
+            case msg_sensor_offsets.MAVLINK_MSG_ID_SENSOR_OFFSETS:
+                pack_sensor_offsets((msg_sensor_offsets) msg, payload);
+                break;
+
+            case msg_set_mag_offsets.MAVLINK_MSG_ID_SET_MAG_OFFSETS:
+                pack_set_mag_offsets((msg_set_mag_offsets) msg, payload);
+                break;
+
+            case msg_meminfo.MAVLINK_MSG_ID_MEMINFO:
+                pack_meminfo((msg_meminfo) msg, payload);
+                break;
+
+            case msg_ap_adc.MAVLINK_MSG_ID_AP_ADC:
+                pack_ap_adc((msg_ap_adc) msg, payload);
+                break;
+
+            case msg_digicam_configure.MAVLINK_MSG_ID_DIGICAM_CONFIGURE:
+                pack_digicam_configure((msg_digicam_configure) msg, payload);
+                break;
+
+            case msg_digicam_control.MAVLINK_MSG_ID_DIGICAM_CONTROL:
+                pack_digicam_control((msg_digicam_control) msg, payload);
+                break;
+
+            case msg_mount_configure.MAVLINK_MSG_ID_MOUNT_CONFIGURE:
+                pack_mount_configure((msg_mount_configure) msg, payload);
+                break;
+
+            case msg_mount_control.MAVLINK_MSG_ID_MOUNT_CONTROL:
+                pack_mount_control((msg_mount_control) msg, payload);
+                break;
+
+            case msg_mount_status.MAVLINK_MSG_ID_MOUNT_STATUS:
+                pack_mount_status((msg_mount_status) msg, payload);
+                break;
+
+            case msg_fence_point.MAVLINK_MSG_ID_FENCE_POINT:
+                pack_fence_point((msg_fence_point) msg, payload);
+                break;
+
+            case msg_fence_fetch_point.MAVLINK_MSG_ID_FENCE_FETCH_POINT:
+                pack_fence_fetch_point((msg_fence_fetch_point) msg, payload);
+                break;
+
+            case msg_fence_status.MAVLINK_MSG_ID_FENCE_STATUS:
+                pack_fence_status((msg_fence_status) msg, payload);
+                break;
+
+            case msg_ahrs.MAVLINK_MSG_ID_AHRS:
+                pack_ahrs((msg_ahrs) msg, payload);
+                break;
+
+            case msg_simstate.MAVLINK_MSG_ID_SIMSTATE:
+                pack_simstate((msg_simstate) msg, payload);
+                break;
+
+            case msg_hwstatus.MAVLINK_MSG_ID_HWSTATUS:
+                pack_hwstatus((msg_hwstatus) msg, payload);
+                break;
+
+            case msg_radio.MAVLINK_MSG_ID_RADIO:
+                pack_radio((msg_radio) msg, payload);
+                break;
+
+            case msg_limits_status.MAVLINK_MSG_ID_LIMITS_STATUS:
+                pack_limits_status((msg_limits_status) msg, payload);
+                break;
+
+            case msg_wind.MAVLINK_MSG_ID_WIND:
+                pack_wind((msg_wind) msg, payload);
+                break;
+
+            case msg_data16.MAVLINK_MSG_ID_DATA16:
+                pack_data16((msg_data16) msg, payload);
+                break;
+
+            case msg_data32.MAVLINK_MSG_ID_DATA32:
+                pack_data32((msg_data32) msg, payload);
+                break;
+
+            case msg_data64.MAVLINK_MSG_ID_DATA64:
+                pack_data64((msg_data64) msg, payload);
+                break;
+
+            case msg_data96.MAVLINK_MSG_ID_DATA96:
+                pack_data96((msg_data96) msg, payload);
+                break;
+
+            case msg_rangefinder.MAVLINK_MSG_ID_RANGEFINDER:
+                pack_rangefinder((msg_rangefinder) msg, payload);
+                break;
+
+            case msg_airspeed_autocal.MAVLINK_MSG_ID_AIRSPEED_AUTOCAL:
+                pack_airspeed_autocal((msg_airspeed_autocal) msg, payload);
+                break;
+
+            case msg_rally_point.MAVLINK_MSG_ID_RALLY_POINT:
+                pack_rally_point((msg_rally_point) msg, payload);
+                break;
+
+            case msg_rally_fetch_point.MAVLINK_MSG_ID_RALLY_FETCH_POINT:
+                pack_rally_fetch_point((msg_rally_fetch_point) msg, payload);
+                break;
+
+            case msg_compassmot_status.MAVLINK_MSG_ID_COMPASSMOT_STATUS:
+                pack_compassmot_status((msg_compassmot_status) msg, payload);
+                break;
+
+            case msg_ahrs2.MAVLINK_MSG_ID_AHRS2:
+                pack_ahrs2((msg_ahrs2) msg, payload);
+                break;
+
+            case msg_camera_status.MAVLINK_MSG_ID_CAMERA_STATUS:
+                pack_camera_status((msg_camera_status) msg, payload);
+                break;
+
+            case msg_camera_feedback.MAVLINK_MSG_ID_CAMERA_FEEDBACK:
+                pack_camera_feedback((msg_camera_feedback) msg, payload);
+                break;
+
+            case msg_battery2.MAVLINK_MSG_ID_BATTERY2:
+                pack_battery2((msg_battery2) msg, payload);
+                break;
+
+            case msg_ahrs3.MAVLINK_MSG_ID_AHRS3:
+                pack_ahrs3((msg_ahrs3) msg, payload);
+                break;
+
+            case msg_autopilot_version_request.MAVLINK_MSG_ID_AUTOPILOT_VERSION_REQUEST:
+                pack_autopilot_version_request((msg_autopilot_version_request) msg, payload);
+                break;
+
+            case msg_led_control.MAVLINK_MSG_ID_LED_CONTROL:
+                pack_led_control((msg_led_control) msg, payload);
+                break;
+
+            case msg_mag_cal_progress.MAVLINK_MSG_ID_MAG_CAL_PROGRESS:
+                pack_mag_cal_progress((msg_mag_cal_progress) msg, payload);
+                break;
+
+            case msg_mag_cal_report.MAVLINK_MSG_ID_MAG_CAL_REPORT:
+                pack_mag_cal_report((msg_mag_cal_report) msg, payload);
+                break;
+
+            case msg_ekf_status_report.MAVLINK_MSG_ID_EKF_STATUS_REPORT:
+                pack_ekf_status_report((msg_ekf_status_report) msg, payload);
+                break;
+
+            case msg_gimbal_report.MAVLINK_MSG_ID_GIMBAL_REPORT:
+                pack_gimbal_report((msg_gimbal_report) msg, payload);
+                break;
+
+            case msg_gimbal_control.MAVLINK_MSG_ID_GIMBAL_CONTROL:
+                pack_gimbal_control((msg_gimbal_control) msg, payload);
+                break;
+
+            case msg_gimbal_reset.MAVLINK_MSG_ID_GIMBAL_RESET:
+                pack_gimbal_reset((msg_gimbal_reset) msg, payload);
+                break;
+
+            case msg_gimbal_axis_calibration_progress.MAVLINK_MSG_ID_GIMBAL_AXIS_CALIBRATION_PROGRESS:
+                pack_gimbal_axis_calibration_progress((msg_gimbal_axis_calibration_progress) msg, payload);
+                break;
+
+            case msg_gimbal_set_home_offsets.MAVLINK_MSG_ID_GIMBAL_SET_HOME_OFFSETS:
+                pack_gimbal_set_home_offsets((msg_gimbal_set_home_offsets) msg, payload);
+                break;
+
+            case msg_gimbal_home_offset_calibration_result.MAVLINK_MSG_ID_GIMBAL_HOME_OFFSET_CALIBRATION_RESULT:
+                pack_gimbal_home_offset_calibration_result((msg_gimbal_home_offset_calibration_result) msg, payload);
+                break;
+
+            case msg_gimbal_set_factory_parameters.MAVLINK_MSG_ID_GIMBAL_SET_FACTORY_PARAMETERS:
+                pack_gimbal_set_factory_parameters((msg_gimbal_set_factory_parameters) msg, payload);
+                break;
+
+            case msg_gimbal_factory_parameters_loaded.MAVLINK_MSG_ID_GIMBAL_FACTORY_PARAMETERS_LOADED:
+                pack_gimbal_factory_parameters_loaded((msg_gimbal_factory_parameters_loaded) msg, payload);
+                break;
+
+            case msg_gimbal_erase_firmware_and_config.MAVLINK_MSG_ID_GIMBAL_ERASE_FIRMWARE_AND_CONFIG:
+                pack_gimbal_erase_firmware_and_config((msg_gimbal_erase_firmware_and_config) msg, payload);
+                break;
+
+            case msg_gimbal_perform_factory_tests.MAVLINK_MSG_ID_GIMBAL_PERFORM_FACTORY_TESTS:
+                pack_gimbal_perform_factory_tests((msg_gimbal_perform_factory_tests) msg, payload);
+                break;
+
+            case msg_gimbal_report_factory_tests_progress.MAVLINK_MSG_ID_GIMBAL_REPORT_FACTORY_TESTS_PROGRESS:
+                pack_gimbal_report_factory_tests_progress((msg_gimbal_report_factory_tests_progress) msg, payload);
+                break;
+
+            case msg_gimbal_request_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS:
+                pack_gimbal_request_axis_calibration_status((msg_gimbal_request_axis_calibration_status) msg, payload);
+                break;
+
+            case msg_gimbal_report_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REPORT_AXIS_CALIBRATION_STATUS:
+                pack_gimbal_report_axis_calibration_status((msg_gimbal_report_axis_calibration_status) msg, payload);
+                break;
+
+            case msg_gimbal_request_axis_calibration.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION:
+                pack_gimbal_request_axis_calibration((msg_gimbal_request_axis_calibration) msg, payload);
+                break;
+
+            case msg_gopro_heartbeat.MAVLINK_MSG_ID_GOPRO_HEARTBEAT:
+                pack_gopro_heartbeat((msg_gopro_heartbeat) msg, payload);
+                break;
+
+            case msg_gopro_get_request.MAVLINK_MSG_ID_GOPRO_GET_REQUEST:
+                pack_gopro_get_request((msg_gopro_get_request) msg, payload);
+                break;
+
+            case msg_gopro_get_response.MAVLINK_MSG_ID_GOPRO_GET_RESPONSE:
+                pack_gopro_get_response((msg_gopro_get_response) msg, payload);
+                break;
+
+            case msg_gopro_set_request.MAVLINK_MSG_ID_GOPRO_SET_REQUEST:
+                pack_gopro_set_request((msg_gopro_set_request) msg, payload);
+                break;
+
+            case msg_gopro_set_response.MAVLINK_MSG_ID_GOPRO_SET_RESPONSE:
+                pack_gopro_set_response((msg_gopro_set_response) msg, payload);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Message " + msg.msgid + " isn't part of the ardupilotmega dialect");
+        }
+    }
+
+    private static void pack_sensor_offsets(msg_sensor_offsets m, MAVLinkPayload payload){
+        payload.putFloat(m.mag_declination);
+        payload.putInt(m.raw_press);
+        payload.putInt(m.raw_temp);
+        payload.putFloat(m.gyro_cal_x);
+        payload.putFloat(m.gyro_cal_y);
+        payload.putFloat(m.gyro_cal_z);
+        payload.putFloat(m.accel_cal_x);
+        payload.putFloat(m.accel_cal_y);
+        payload.putFloat(m.accel_cal_z);
+        payload.putShort(m.mag_ofs_x);
+        payload.putShort(m.mag_ofs_y);
+        payload.putShort(m.mag_ofs_z);
+    }
+
+    private static void pack_set_mag_offsets(msg_set_mag_offsets m, MAVLinkPayload payload){
+        payload.putShort(m.mag_ofs_x);
+        payload.putShort(m.mag_ofs_y);
+        payload.putShort(m.mag_ofs_z);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_meminfo(msg_meminfo m, MAVLinkPayload payload){
+        payload.putShort(m.brkval);
+        payload.putShort(m.freemem);
+    }
+
+    private static void pack_ap_adc(msg_ap_adc m, MAVLinkPayload payload){
+        payload.putShort(m.adc1);
+        payload.putShort(m.adc2);
+        payload.putShort(m.adc3);
+        payload.putShort(m.adc4);
+        payload.putShort(m.adc5);
+        payload.putShort(m.adc6);
+    }
+
+    private static void pack_digicam_configure(msg_digicam_configure m, MAVLinkPayload payload){
+        payload.putFloat(m.extra_value);
+        payload.putShort(m.shutter_speed);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.mode);
+        payload.putByte(m.aperture);
+        payload.putByte(m.iso);
+        payload.putByte(m.exposure_type);
+        payload.putByte(m.command_id);
+        payload.putByte(m.engine_cut_off);
+        payload.putByte(m.extra_param);
+    }
+
+    private static void pack_digicam_control(msg_digicam_control m, MAVLinkPayload payload){
+        payload.putFloat(m.extra_value);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.session);
+        payload.putByte(m.zoom_pos);
+        payload.putByte(m.zoom_step);
+        payload.putByte(m.focus_lock);
+        payload.putByte(m.shot);
+        payload.putByte(m.command_id);
+        payload.putByte(m.extra_param);
+    }
+
+    private static void pack_mount_configure(msg_mount_configure m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.mount_mode);
+        payload.putByte(m.stab_roll);
+        payload.putByte(m.stab_pitch);
+        payload.putByte(m.stab_yaw);
+    }
+
+    private static void pack_mount_control(msg_mount_control m, MAVLinkPayload payload){
+        payload.putInt(m.input_a);
+        payload.putInt(m.input_b);
+        payload.putInt(m.input_c);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.save_position);
+    }
+
+    private static void pack_mount_status(msg_mount_status m, MAVLinkPayload payload){
+        payload.putInt(m.pointing_a);
+        payload.putInt(m.pointing_b);
+        payload.putInt(m.pointing_c);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_fence_point(msg_fence_point m, MAVLinkPayload payload){
+        payload.putFloat(m.lat);
+        payload.putFloat(m.lng);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.idx);
+        payload.putByte(m.count);
+    }
+
+    private static void pack_fence_fetch_point(msg_fence_fetch_point m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.idx);
+    }
+
+    private static void pack_fence_status(msg_fence_status m, MAVLinkPayload payload){
+        payload.putInt(m.breach_time);
+        payload.putShort(m.breach_count);
+        payload.putByte(m.breach_status);
+        payload.putByte(m.breach_type);
+    }
+
+    private static void pack_ahrs(msg_ahrs m, MAVLinkPayload payload){
+        payload.putFloat(m.omegaIx);
+        payload.putFloat(m.omegaIy);
+        payload.putFloat(m.omegaIz);
+        payload.putFloat(m.accel_weight);
+        payload.putFloat(m.renorm_val);
+        payload.putFloat(m.error_rp);
+        payload.putFloat(m.error_yaw);
+    }
+
+    private static void pack_simstate(msg_simstate m, MAVLinkPayload payload){
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.xacc);
+        payload.putFloat(m.yacc);
+        payload.putFloat(m.zacc);
+        payload.putFloat(m.xgyro);
+        payload.putFloat(m.ygyro);
+        payload.putFloat(m.zgyro);
+        payload.putInt(m.lat);
+        payload.putInt(m.lng);
+    }
+
+    private static void pack_hwstatus(msg_hwstatus m, MAVLinkPayload payload){
+        payload.putShort(m.Vcc);
+        payload.putByte(m.I2Cerr);
+    }
+
+    private static void pack_radio(msg_radio m, MAVLinkPayload payload){
+        payload.putShort(m.rxerrors);
+        payload.putShort(m.fixed);
+        payload.putByte(m.rssi);
+        payload.putByte(m.remrssi);
+        payload.putByte(m.txbuf);
+        payload.putByte(m.noise);
+        payload.putByte(m.remnoise);
+    }
+
+    private static void pack_limits_status(msg_limits_status m, MAVLinkPayload payload){
+        payload.putInt(m.last_trigger);
+        payload.putInt(m.last_action);
+        payload.putInt(m.last_recovery);
+        payload.putInt(m.last_clear);
+        payload.putShort(m.breach_count);
+        payload.putByte(m.limits_state);
+        payload.putByte(m.mods_enabled);
+        payload.putByte(m.mods_required);
+        payload.putByte(m.mods_triggered);
+    }
+
+    private static void pack_wind(msg_wind m, MAVLinkPayload payload){
+        payload.putFloat(m.direction);
+        payload.putFloat(m.speed);
+        payload.putFloat(m.speed_z);
+    }
+
+    private static void pack_data16(msg_data16 m, MAVLinkPayload payload){
+        payload.putByte(m.type);
+        payload.putByte(m.len);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_data32(msg_data32 m, MAVLinkPayload payload){
+        payload.putByte(m.type);
+        payload.putByte(m.len);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_data64(msg_data64 m, MAVLinkPayload payload){
+        payload.putByte(m.type);
+        payload.putByte(m.len);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_data96(msg_data96 m, MAVLinkPayload payload){
+        payload.putByte(m.type);
+        payload.putByte(m.len);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_rangefinder(msg_rangefinder m, MAVLinkPayload payload){
+        payload.putFloat(m.distance);
+        payload.putFloat(m.voltage);
+    }
+
+    private static void pack_airspeed_autocal(msg_airspeed_autocal m, MAVLinkPayload payload){
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        payload.putFloat(m.diff_pressure);
+        payload.putFloat(m.EAS2TAS);
+        payload.putFloat(m.ratio);
+        payload.putFloat(m.state_x);
+        payload.putFloat(m.state_y);
+        payload.putFloat(m.state_z);
+        payload.putFloat(m.Pax);
+        payload.putFloat(m.Pby);
+        payload.putFloat(m.Pcz);
+    }
+
+    private static void pack_rally_point(msg_rally_point m, MAVLinkPayload payload){
+        payload.putInt(m.lat);
+        payload.putInt(m.lng);
+        payload.putShort(m.alt);
+        payload.putShort(m.break_alt);
+        payload.putShort(m.land_dir);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.idx);
+        payload.putByte(m.count);
+        payload.putByte(m.flags);
+    }
+
+    private static void pack_rally_fetch_point(msg_rally_fetch_point m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.idx);
+    }
+
+    private static void pack_compassmot_status(msg_compassmot_status m, MAVLinkPayload payload){
+        payload.putFloat(m.current);
+        payload.putFloat(m.CompensationX);
+        payload.putFloat(m.CompensationY);
+        payload.putFloat(m.CompensationZ);
+        payload.putShort(m.throttle);
+        payload.putShort(m.interference);
+    }
+
+    private static void pack_ahrs2(msg_ahrs2 m, MAVLinkPayload payload){
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.altitude);
+        payload.putInt(m.lat);
+        payload.putInt(m.lng);
+    }
+
+    private static void pack_camera_status(msg_camera_status m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.p1);
+        payload.putFloat(m.p2);
+        payload.putFloat(m.p3);
+        payload.putFloat(m.p4);
+        payload.putShort(m.img_idx);
+        payload.putByte(m.target_system);
+        payload.putByte(m.cam_idx);
+        payload.putByte(m.event_id);
+    }
+
+    private static void pack_camera_feedback(msg_camera_feedback m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.lat);
+        payload.putInt(m.lng);
+        payload.putFloat(m.alt_msl);
+        payload.putFloat(m.alt_rel);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.foc_len);
+        payload.putShort(m.img_idx);
+        payload.putByte(m.target_system);
+        payload.putByte(m.cam_idx);
+        payload.putByte(m.flags);
+    }
+
+    private static void pack_battery2(msg_battery2 m, MAVLinkPayload payload){
+        payload.putShort(m.voltage);
+        payload.putShort(m.current_battery);
+    }
+
+    private static void pack_ahrs3(msg_ahrs3 m, MAVLinkPayload payload){
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.altitude);
+        payload.putInt(m.lat);
+        payload.putInt(m.lng);
+        payload.putFloat(m.v1);
+        payload.putFloat(m.v2);
+        payload.putFloat(m.v3);
+        payload.putFloat(m.v4);
+    }
+
+    private static void pack_autopilot_version_request(msg_autopilot_version_request m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_led_control(msg_led_control m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.instance);
+        payload.putByte(m.pattern);
+        payload.putByte(m.custom_len);
+        for(int i = 0; i < m.custom_bytes.length; i++){
+            payload.putByte(m.custom_bytes[i]);
+        }
+    }
+
+    private static void pack_mag_cal_progress(msg_mag_cal_progress m, MAVLinkPayload payload){
+        payload.putFloat(m.direction_x);
+        payload.putFloat(m.direction_y);
+        payload.putFloat(m.direction_z);
+        payload.putByte(m.compass_id);
+        payload.putByte(m.cal_mask);
+        payload.putByte(m.cal_status);
+        payload.putByte(m.attempt);
+        payload.putByte(m.completion_pct);
+        for(int i = 0; i < m.completion_mask.length; i++){
+            payload.putByte(m.completion_mask[i]);
+        }
+    }
+
+    private static void pack_mag_cal_report(msg_mag_cal_report m, MAVLinkPayload payload){
+        payload.putFloat(m.fitness);
+        payload.putFloat(m.ofs_x);
+        payload.putFloat(m.ofs_y);
+        payload.putFloat(m.ofs_z);
+        payload.putFloat(m.diag_x);
+        payload.putFloat(m.diag_y);
+        payload.putFloat(m.diag_z);
+        payload.putFloat(m.offdiag_x);
+        payload.putFloat(m.offdiag_y);
+        payload.putFloat(m.offdiag_z);
+        payload.putByte(m.compass_id);
+        payload.putByte(m.cal_mask);
+        payload.putByte(m.cal_status);
+        payload.putByte(m.autosaved);
+    }
+
+    private static void pack_ekf_status_report(msg_ekf_status_report m, MAVLinkPayload payload){
+        payload.putFloat(m.velocity_variance);
+        payload.putFloat(m.pos_horiz_variance);
+        payload.putFloat(m.pos_vert_variance);
+        payload.putFloat(m.compass_variance);
+        payload.putFloat(m.terrain_alt_variance);
+        payload.putShort(m.flags);
+    }
+
+    private static void pack_gimbal_report(msg_gimbal_report m, MAVLinkPayload payload){
+        payload.putFloat(m.delta_time);
+        payload.putFloat(m.delta_angle_x);
+        payload.putFloat(m.delta_angle_y);
+        payload.putFloat(m.delta_angle_z);
+        payload.putFloat(m.delta_velocity_x);
+        payload.putFloat(m.delta_velocity_y);
+        payload.putFloat(m.delta_velocity_z);
+        payload.putFloat(m.joint_roll);
+        payload.putFloat(m.joint_el);
+        payload.putFloat(m.joint_az);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_control(msg_gimbal_control m, MAVLinkPayload payload){
+        payload.putFloat(m.demanded_rate_x);
+        payload.putFloat(m.demanded_rate_y);
+        payload.putFloat(m.demanded_rate_z);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_reset(msg_gimbal_reset m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_axis_calibration_progress(msg_gimbal_axis_calibration_progress m, MAVLinkPayload payload){
+        payload.putByte(m.calibration_axis);
+        payload.putByte(m.calibration_progress);
+        payload.putByte(m.calibration_status);
+    }
+
+    private static void pack_gimbal_set_home_offsets(msg_gimbal_set_home_offsets m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_home_offset_calibration_result(msg_gimbal_home_offset_calibration_result m, MAVLinkPayload payload){
+        payload.putByte(m.calibration_result);
+    }
+
+    private static void pack_gimbal_set_factory_parameters(msg_gimbal_set_factory_parameters m, MAVLinkPayload payload){
+        payload.putInt(m.magic_1);
+        payload.putInt(m.magic_2);
+        payload.putInt(m.magic_3);
+        payload.putInt(m.serial_number_pt_1);
+        payload.putInt(m.serial_number_pt_2);
+        payload.putInt(m.serial_number_pt_3);
+        payload.putShort(m.assembly_year);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.assembly_month);
+        payload.putByte(m.assembly_day);
+        payload.putByte(m.assembly_hour);
+        payload.putByte(m.assembly_minute);
+        payload.putByte(m.assembly_second);
+    }
+
+    private static void pack_gimbal_factory_parameters_loaded(msg_gimbal_factory_parameters_loaded m, MAVLinkPayload payload){
+        payload.putByte(m.dummy);
+    }
+
+    private static void pack_gimbal_erase_firmware_and_config(msg_gimbal_erase_firmware_and_config m, MAVLinkPayload payload){
+        payload.putInt(m.knock);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_perform_factory_tests(msg_gimbal_perform_factory_tests m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_report_factory_tests_progress(msg_gimbal_report_factory_tests_progress m, MAVLinkPayload payload){
+        payload.putByte(m.test);
+        payload.putByte(m.test_section);
+        payload.putByte(m.test_section_progress);
+        payload.putByte(m.test_status);
+    }
+
+    private static void pack_gimbal_request_axis_calibration_status(msg_gimbal_request_axis_calibration_status m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gimbal_report_axis_calibration_status(msg_gimbal_report_axis_calibration_status m, MAVLinkPayload payload){
+        payload.putByte(m.yaw_requires_calibration);
+        payload.putByte(m.pitch_requires_calibration);
+        payload.putByte(m.roll_requires_calibration);
+    }
+
+    private static void pack_gimbal_request_axis_calibration(msg_gimbal_request_axis_calibration m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gopro_heartbeat(msg_gopro_heartbeat m, MAVLinkPayload payload){
+        payload.putByte(m.status);
+    }
+
+    private static void pack_gopro_get_request(msg_gopro_get_request m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.cmd_id);
+    }
+
+    private static void pack_gopro_get_response(msg_gopro_get_response m, MAVLinkPayload payload){
+        payload.putByte(m.cmd_id);
+        payload.putByte(m.value);
+    }
+
+    private static void pack_gopro_set_request(msg_gopro_set_request m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.cmd_id);
+        payload.putByte(m.value);
+    }
+
+    private static void pack_gopro_set_response(msg_gopro_set_response m, MAVLinkPayload payload){
+        payload.putByte(m.cmd_id);
+        payload.putByte(m.result);
+    }
+}
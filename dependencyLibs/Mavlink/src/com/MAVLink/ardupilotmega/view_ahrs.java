@@ -0,0 +1,78 @@
+// MESSAGE AHRS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AHRS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of DCM attitude estimator
+*
+* @see msg_ahrs
+*/
+public class view_ahrs extends MAVLinkView{
+
+    public view_ahrs(){
+        super(msg_ahrs.MAVLINK_MSG_ID_AHRS);
+    }
+
+    /**
+    * Points this view at a received AHRS packet.
+    *
+    * @return this view
+    */
+    public view_ahrs wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * X gyro drift estimate rad/s
+    */
+    public float omegaIx(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Y gyro drift estimate rad/s
+    */
+    public float omegaIy(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Z gyro drift estimate rad/s
+    */
+    public float omegaIz(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * average accel_weight
+    */
+    public float accel_weight(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * average renormalisation value
+    */
+    public float renorm_val(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * average error_roll_pitch value
+    */
+    public float error_rp(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * average error_yaw value
+    */
+    public float error_yaw(){
+        return payload.getFloat(24);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE AHRS2 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AHRS2 packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of secondary AHRS filter if available
+*
+* @see msg_ahrs2
+*/
+public class view_ahrs2 extends MAVLinkView{
+
+    public view_ahrs2(){
+        super(msg_ahrs2.MAVLINK_MSG_ID_AHRS2);
+    }
+
+    /**
+    * Points this view at a received AHRS2 packet.
+    *
+    * @return this view
+    */
+    public view_ahrs2 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Roll angle (rad)
+    */
+    public float roll(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Pitch angle (rad)
+    */
+    public float pitch(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Yaw angle (rad)
+    */
+    public float yaw(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Altitude (MSL)
+    */
+    public float altitude(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Latitude in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Longitude in degrees * 1E7
+    */
+    public int lng(){
+        return payload.getInt(20);
+    }
+}
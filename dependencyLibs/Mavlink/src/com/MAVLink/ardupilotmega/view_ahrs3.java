@@ -0,0 +1,99 @@
+// MESSAGE AHRS3 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AHRS3 packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of third AHRS filter if available. This is for ANU research group (Ali and Sean)
+*
+* @see msg_ahrs3
+*/
+public class view_ahrs3 extends MAVLinkView{
+
+    public view_ahrs3(){
+        super(msg_ahrs3.MAVLINK_MSG_ID_AHRS3);
+    }
+
+    /**
+    * Points this view at a received AHRS3 packet.
+    *
+    * @return this view
+    */
+    public view_ahrs3 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Roll angle (rad)
+    */
+    public float roll(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Pitch angle (rad)
+    */
+    public float pitch(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Yaw angle (rad)
+    */
+    public float yaw(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Altitude (MSL)
+    */
+    public float altitude(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Latitude in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Longitude in degrees * 1E7
+    */
+    public int lng(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * test variable1
+    */
+    public float v1(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * test variable2
+    */
+    public float v2(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * test variable3
+    */
+    public float v3(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * test variable4
+    */
+    public float v4(){
+        return payload.getFloat(36);
+    }
+}
@@ -0,0 +1,113 @@
+// MESSAGE AIRSPEED_AUTOCAL VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AIRSPEED_AUTOCAL packet, decoding the fields from its payload
+* without copying them.
+*
+* Airspeed auto-calibration
+*
+* @see msg_airspeed_autocal
+*/
+public class view_airspeed_autocal extends MAVLinkView{
+
+    public view_airspeed_autocal(){
+        super(msg_airspeed_autocal.MAVLINK_MSG_ID_AIRSPEED_AUTOCAL);
+    }
+
+    /**
+    * Points this view at a received AIRSPEED_AUTOCAL packet.
+    *
+    * @return this view
+    */
+    public view_airspeed_autocal wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * GPS velocity north m/s
+    */
+    public float vx(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * GPS velocity east m/s
+    */
+    public float vy(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * GPS velocity down m/s
+    */
+    public float vz(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Differential pressure pascals
+    */
+    public float diff_pressure(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Estimated to true airspeed ratio
+    */
+    public float EAS2TAS(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Airspeed ratio
+    */
+    public float ratio(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * EKF state x
+    */
+    public float state_x(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * EKF state y
+    */
+    public float state_y(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * EKF state z
+    */
+    public float state_z(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * EKF Pax
+    */
+    public float Pax(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * EKF Pby
+    */
+    public float Pby(){
+        return payload.getFloat(40);
+    }
+
+    /**
+    * EKF Pcz
+    */
+    public float Pcz(){
+        return payload.getFloat(44);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE AP_ADC VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AP_ADC packet, decoding the fields from its payload
+* without copying them.
+*
+* raw ADC output
+*
+* @see msg_ap_adc
+*/
+public class view_ap_adc extends MAVLinkView{
+
+    public view_ap_adc(){
+        super(msg_ap_adc.MAVLINK_MSG_ID_AP_ADC);
+    }
+
+    /**
+    * Points this view at a received AP_ADC packet.
+    *
+    * @return this view
+    */
+    public view_ap_adc wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * ADC output 1
+    */
+    public short adc1(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * ADC output 2
+    */
+    public short adc2(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * ADC output 3
+    */
+    public short adc3(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * ADC output 4
+    */
+    public short adc4(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * ADC output 5
+    */
+    public short adc5(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * ADC output 6
+    */
+    public short adc6(){
+        return payload.getShort(10);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE AUTOPILOT_VERSION_REQUEST VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AUTOPILOT_VERSION_REQUEST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request the autopilot version from the system/component.
+*
+* @see msg_autopilot_version_request
+*/
+public class view_autopilot_version_request extends MAVLinkView{
+
+    public view_autopilot_version_request(){
+        super(msg_autopilot_version_request.MAVLINK_MSG_ID_AUTOPILOT_VERSION_REQUEST);
+    }
+
+    /**
+    * Points this view at a received AUTOPILOT_VERSION_REQUEST packet.
+    *
+    * @return this view
+    */
+    public view_autopilot_version_request wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
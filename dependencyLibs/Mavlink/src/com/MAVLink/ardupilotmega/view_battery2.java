@@ -0,0 +1,43 @@
+// MESSAGE BATTERY2 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a BATTERY2 packet, decoding the fields from its payload
+* without copying them.
+*
+* 2nd Battery status
+*
+* @see msg_battery2
+*/
+public class view_battery2 extends MAVLinkView{
+
+    public view_battery2(){
+        super(msg_battery2.MAVLINK_MSG_ID_BATTERY2);
+    }
+
+    /**
+    * Points this view at a received BATTERY2 packet.
+    *
+    * @return this view
+    */
+    public view_battery2 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * voltage in millivolts
+    */
+    public short voltage(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * Battery current, in 10*milliamperes (1 = 10 milliampere), -1: autopilot does not measure the current
+    */
+    public short current_battery(){
+        return payload.getShort(2);
+    }
+}
@@ -0,0 +1,120 @@
+// MESSAGE CAMERA_FEEDBACK VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a CAMERA_FEEDBACK packet, decoding the fields from its payload
+* without copying them.
+*
+* Camera Capture Feedback
+*
+* @see msg_camera_feedback
+*/
+public class view_camera_feedback extends MAVLinkView{
+
+    public view_camera_feedback(){
+        super(msg_camera_feedback.MAVLINK_MSG_ID_CAMERA_FEEDBACK);
+    }
+
+    /**
+    * Points this view at a received CAMERA_FEEDBACK packet.
+    *
+    * @return this view
+    */
+    public view_camera_feedback wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Image timestamp (microseconds since UNIX epoch), as passed in by CAMERA_STATUS message (or autopilot if no CCB)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Latitude in (deg * 1E7)
+    */
+    public int lat(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Longitude in (deg * 1E7)
+    */
+    public int lng(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Altitude Absolute (meters AMSL)
+    */
+    public float alt_msl(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Altitude Relative (meters above HOME location)
+    */
+    public float alt_rel(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Camera Roll angle (earth frame, degrees, +-180)
+    */
+    public float roll(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Camera Pitch angle (earth frame, degrees, +-180)
+    */
+    public float pitch(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Camera Yaw (earth frame, degrees, 0-360, true)
+    */
+    public float yaw(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Focal Length (mm)
+    */
+    public float foc_len(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Image index
+    */
+    public short img_idx(){
+        return payload.getShort(40);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(42);
+    }
+
+    /**
+    * Camera ID
+    */
+    public byte cam_idx(){
+        return payload.getByte(43);
+    }
+
+    /**
+    * See CAMERA_FEEDBACK_FLAGS enum for definition of the bitmask
+    */
+    public byte flags(){
+        return payload.getByte(44);
+    }
+}
@@ -0,0 +1,92 @@
+// MESSAGE CAMERA_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a CAMERA_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Camera Event
+*
+* @see msg_camera_status
+*/
+public class view_camera_status extends MAVLinkView{
+
+    public view_camera_status(){
+        super(msg_camera_status.MAVLINK_MSG_ID_CAMERA_STATUS);
+    }
+
+    /**
+    * Points this view at a received CAMERA_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_camera_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Image timestamp (microseconds since UNIX epoch, according to camera clock)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Parameter 1 (meaning depends on event, see CAMERA_STATUS_TYPES enum)
+    */
+    public float p1(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Parameter 2 (meaning depends on event, see CAMERA_STATUS_TYPES enum)
+    */
+    public float p2(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Parameter 3 (meaning depends on event, see CAMERA_STATUS_TYPES enum)
+    */
+    public float p3(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Parameter 4 (meaning depends on event, see CAMERA_STATUS_TYPES enum)
+    */
+    public float p4(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Image index
+    */
+    public short img_idx(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(26);
+    }
+
+    /**
+    * Camera ID
+    */
+    public byte cam_idx(){
+        return payload.getByte(27);
+    }
+
+    /**
+    * See CAMERA_STATUS_TYPES enum for definition of the bitmask
+    */
+    public byte event_id(){
+        return payload.getByte(28);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE COMPASSMOT_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a COMPASSMOT_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of compassmot calibration
+*
+* @see msg_compassmot_status
+*/
+public class view_compassmot_status extends MAVLinkView{
+
+    public view_compassmot_status(){
+        super(msg_compassmot_status.MAVLINK_MSG_ID_COMPASSMOT_STATUS);
+    }
+
+    /**
+    * Points this view at a received COMPASSMOT_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_compassmot_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * current (amps)
+    */
+    public float current(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Motor Compensation X
+    */
+    public float CompensationX(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Motor Compensation Y
+    */
+    public float CompensationY(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Motor Compensation Z
+    */
+    public float CompensationZ(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * throttle (percent*10)
+    */
+    public short throttle(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * interference (percent)
+    */
+    public short interference(){
+        return payload.getShort(18);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE DATA16 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DATA16 packet, decoding the fields from its payload
+* without copying them.
+*
+* Data packet, size 16
+*
+* @see msg_data16
+*/
+public class view_data16 extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 16;
+
+    public view_data16(){
+        super(msg_data16.MAVLINK_MSG_ID_DATA16);
+    }
+
+    /**
+    * Points this view at a received DATA16 packet.
+    *
+    * @return this view
+    */
+    public view_data16 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * data type
+    */
+    public byte type(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * data length
+    */
+    public byte len(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * raw data
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(2 + index * 1);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE DATA32 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DATA32 packet, decoding the fields from its payload
+* without copying them.
+*
+* Data packet, size 32
+*
+* @see msg_data32
+*/
+public class view_data32 extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 32;
+
+    public view_data32(){
+        super(msg_data32.MAVLINK_MSG_ID_DATA32);
+    }
+
+    /**
+    * Points this view at a received DATA32 packet.
+    *
+    * @return this view
+    */
+    public view_data32 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * data type
+    */
+    public byte type(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * data length
+    */
+    public byte len(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * raw data
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(2 + index * 1);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE DATA96 VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DATA96 packet, decoding the fields from its payload
+* without copying them.
+*
+* Data packet, size 96
+*
+* @see msg_data96
+*/
+public class view_data96 extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 96;
+
+    public view_data96(){
+        super(msg_data96.MAVLINK_MSG_ID_DATA96);
+    }
+
+    /**
+    * Points this view at a received DATA96 packet.
+    *
+    * @return this view
+    */
+    public view_data96 wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * data type
+    */
+    public byte type(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * data length
+    */
+    public byte len(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * raw data
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(2 + index * 1);
+    }
+}
@@ -0,0 +1,106 @@
+// MESSAGE DIGICAM_CONFIGURE VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DIGICAM_CONFIGURE packet, decoding the fields from its payload
+* without copying them.
+*
+* Configure on-board Camera Control System.
+*
+* @see msg_digicam_configure
+*/
+public class view_digicam_configure extends MAVLinkView{
+
+    public view_digicam_configure(){
+        super(msg_digicam_configure.MAVLINK_MSG_ID_DIGICAM_CONFIGURE);
+    }
+
+    /**
+    * Points this view at a received DIGICAM_CONFIGURE packet.
+    *
+    * @return this view
+    */
+    public view_digicam_configure wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Correspondent value to given extra_param
+    */
+    public float extra_value(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Divisor number //e.g. 1000 means 1/1000 (0 means ignore)
+    */
+    public short shutter_speed(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * Mode enumeration from 1 to N //P, TV, AV, M, Etc (0 means ignore)
+    */
+    public byte mode(){
+        return payload.getByte(8);
+    }
+
+    /**
+    * F stop number x 10 //e.g. 28 means 2.8 (0 means ignore)
+    */
+    public byte aperture(){
+        return payload.getByte(9);
+    }
+
+    /**
+    * ISO enumeration from 1 to N //e.g. 80, 100, 200, Etc (0 means ignore)
+    */
+    public byte iso(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * Exposure type enumeration from 1 to N (0 means ignore)
+    */
+    public byte exposure_type(){
+        return payload.getByte(11);
+    }
+
+    /**
+    * Command Identity (incremental loop: 0 to 255)//A command sent multiple times will be executed or pooled just once
+    */
+    public byte command_id(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Main engine cut-off time before camera trigger in seconds/10 (0 means no cut-off)
+    */
+    public byte engine_cut_off(){
+        return payload.getByte(13);
+    }
+
+    /**
+    * Extra parameters enumeration (0 means ignore)
+    */
+    public byte extra_param(){
+        return payload.getByte(14);
+    }
+}
@@ -0,0 +1,99 @@
+// MESSAGE DIGICAM_CONTROL VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DIGICAM_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Control on-board Camera Control System to take shots.
+*
+* @see msg_digicam_control
+*/
+public class view_digicam_control extends MAVLinkView{
+
+    public view_digicam_control(){
+        super(msg_digicam_control.MAVLINK_MSG_ID_DIGICAM_CONTROL);
+    }
+
+    /**
+    * Points this view at a received DIGICAM_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_digicam_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Correspondent value to given extra_param
+    */
+    public float extra_value(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+
+    /**
+    * 0: stop, 1: start or keep it up //Session control e.g. show/hide lens
+    */
+    public byte session(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * 1 to N //Zoom's absolute position (0 means ignore)
+    */
+    public byte zoom_pos(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * -100 to 100 //Zooming step value to offset zoom from the current position
+    */
+    public byte zoom_step(){
+        return payload.getByte(8);
+    }
+
+    /**
+    * 0: unlock focus or keep unlocked, 1: lock focus or keep locked, 3: re-lock focus
+    */
+    public byte focus_lock(){
+        return payload.getByte(9);
+    }
+
+    /**
+    * 0: ignore, 1: shot or start filming
+    */
+    public byte shot(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * Command Identity (incremental loop: 0 to 255)//A command sent multiple times will be executed or pooled just once
+    */
+    public byte command_id(){
+        return payload.getByte(11);
+    }
+
+    /**
+    * Extra parameters enumeration (0 means ignore)
+    */
+    public byte extra_param(){
+        return payload.getByte(12);
+    }
+}
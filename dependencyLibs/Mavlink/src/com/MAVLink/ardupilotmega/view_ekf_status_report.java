@@ -0,0 +1,71 @@
+// MESSAGE EKF_STATUS_REPORT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a EKF_STATUS_REPORT packet, decoding the fields from its payload
+* without copying them.
+*
+* EKF Status message including flags and variances
+*
+* @see msg_ekf_status_report
+*/
+public class view_ekf_status_report extends MAVLinkView{
+
+    public view_ekf_status_report(){
+        super(msg_ekf_status_report.MAVLINK_MSG_ID_EKF_STATUS_REPORT);
+    }
+
+    /**
+    * Points this view at a received EKF_STATUS_REPORT packet.
+    *
+    * @return this view
+    */
+    public view_ekf_status_report wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Velocity variance
+    */
+    public float velocity_variance(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Horizontal Position variance
+    */
+    public float pos_horiz_variance(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Vertical Position variance
+    */
+    public float pos_vert_variance(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Compass variance
+    */
+    public float compass_variance(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Terrain Altitude variance
+    */
+    public float terrain_alt_variance(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Flags
+    */
+    public short flags(){
+        return payload.getShort(20);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE FENCE_FETCH_POINT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a FENCE_FETCH_POINT packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a current fence point from MAV
+*
+* @see msg_fence_fetch_point
+*/
+public class view_fence_fetch_point extends MAVLinkView{
+
+    public view_fence_fetch_point(){
+        super(msg_fence_fetch_point.MAVLINK_MSG_ID_FENCE_FETCH_POINT);
+    }
+
+    /**
+    * Points this view at a received FENCE_FETCH_POINT packet.
+    *
+    * @return this view
+    */
+    public view_fence_fetch_point wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * point index (first point is 1, 0 is for return point)
+    */
+    public byte idx(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE FENCE_POINT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a FENCE_POINT packet, decoding the fields from its payload
+* without copying them.
+*
+* A fence point. Used to set a point when from GCS -> MAV. Also used to return a point from MAV -> GCS
+*
+* @see msg_fence_point
+*/
+public class view_fence_point extends MAVLinkView{
+
+    public view_fence_point(){
+        super(msg_fence_point.MAVLINK_MSG_ID_FENCE_POINT);
+    }
+
+    /**
+    * Points this view at a received FENCE_POINT packet.
+    *
+    * @return this view
+    */
+    public view_fence_point wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude of point
+    */
+    public float lat(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Longitude of point
+    */
+    public float lng(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(8);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(9);
+    }
+
+    /**
+    * point index (first point is 1, 0 is for return point)
+    */
+    public byte idx(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * total number of points (for sanity checking)
+    */
+    public byte count(){
+        return payload.getByte(11);
+    }
+}
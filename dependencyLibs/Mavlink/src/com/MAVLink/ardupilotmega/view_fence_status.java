@@ -0,0 +1,57 @@
+// MESSAGE FENCE_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a FENCE_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of geo-fencing. Sent in extended status stream when fencing enabled
+*
+* @see msg_fence_status
+*/
+public class view_fence_status extends MAVLinkView{
+
+    public view_fence_status(){
+        super(msg_fence_status.MAVLINK_MSG_ID_FENCE_STATUS);
+    }
+
+    /**
+    * Points this view at a received FENCE_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_fence_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * time of last breach in milliseconds since boot
+    */
+    public int breach_time(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * number of fence breaches
+    */
+    public short breach_count(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * 0 if currently inside fence, 1 if outside
+    */
+    public byte breach_status(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * last breach type (see FENCE_BREACH_* enum)
+    */
+    public byte breach_type(){
+        return payload.getByte(7);
+    }
+}
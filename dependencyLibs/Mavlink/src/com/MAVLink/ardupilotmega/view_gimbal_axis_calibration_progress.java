@@ -0,0 +1,50 @@
+// MESSAGE GIMBAL_AXIS_CALIBRATION_PROGRESS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_AXIS_CALIBRATION_PROGRESS packet, decoding the fields from its payload
+* without copying them.
+*
+* Reports progress and success or failure of gimbal axis calibration procedure
+*
+* @see msg_gimbal_axis_calibration_progress
+*/
+public class view_gimbal_axis_calibration_progress extends MAVLinkView{
+
+    public view_gimbal_axis_calibration_progress(){
+        super(msg_gimbal_axis_calibration_progress.MAVLINK_MSG_ID_GIMBAL_AXIS_CALIBRATION_PROGRESS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_AXIS_CALIBRATION_PROGRESS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_axis_calibration_progress wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Which gimbal axis we're reporting calibration progress for
+    */
+    public byte calibration_axis(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * The current calibration progress for this axis, 0x64=100%
+    */
+    public byte calibration_progress(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * The status of the running calibration
+    */
+    public byte calibration_status(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE GIMBAL_CONTROL VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Control message for rate gimbal
+*
+* @see msg_gimbal_control
+*/
+public class view_gimbal_control extends MAVLinkView{
+
+    public view_gimbal_control(){
+        super(msg_gimbal_control.MAVLINK_MSG_ID_GIMBAL_CONTROL);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Demanded angular rate X (rad/s)
+    */
+    public float demanded_rate_x(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Demanded angular rate Y (rad/s)
+    */
+    public float demanded_rate_y(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Demanded angular rate Z (rad/s)
+    */
+    public float demanded_rate_z(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(13);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE GIMBAL_ERASE_FIRMWARE_AND_CONFIG VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_ERASE_FIRMWARE_AND_CONFIG packet, decoding the fields from its payload
+* without copying them.
+*
+* Commands the gimbal to erase its firmware image and flash configuration, leaving only the bootloader. The gimbal will then reboot into the bootloader, ready for the load of a new application firmware image. Erasing the flash configuration will cause the gimbal to re-perform axis calibration when a new firmware image is loaded, and will cause all tuning parameters to return to their factory defaults. WARNING: sending this command will render a gimbal inoperable until a new firmware image is loaded onto it. For this reason, a particular "knock" value must be sent for the command to take effect. Use this command at your own risk
+*
+* @see msg_gimbal_erase_firmware_and_config
+*/
+public class view_gimbal_erase_firmware_and_config extends MAVLinkView{
+
+    public view_gimbal_erase_firmware_and_config(){
+        super(msg_gimbal_erase_firmware_and_config.MAVLINK_MSG_ID_GIMBAL_ERASE_FIRMWARE_AND_CONFIG);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_ERASE_FIRMWARE_AND_CONFIG packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_erase_firmware_and_config wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Knock value to confirm this is a valid request
+    */
+    public int knock(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+}
@@ -0,0 +1,36 @@
+// MESSAGE GIMBAL_FACTORY_PARAMETERS_LOADED VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_FACTORY_PARAMETERS_LOADED packet, decoding the fields from its payload
+* without copying them.
+*
+* Sent by the gimbal after the factory parameters are successfully loaded, to inform the factory software that the load is complete
+*
+* @see msg_gimbal_factory_parameters_loaded
+*/
+public class view_gimbal_factory_parameters_loaded extends MAVLinkView{
+
+    public view_gimbal_factory_parameters_loaded(){
+        super(msg_gimbal_factory_parameters_loaded.MAVLINK_MSG_ID_GIMBAL_FACTORY_PARAMETERS_LOADED);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_FACTORY_PARAMETERS_LOADED packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_factory_parameters_loaded wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Dummy field because mavgen doesn't allow messages with no fields
+    */
+    public byte dummy(){
+        return payload.getByte(0);
+    }
+}
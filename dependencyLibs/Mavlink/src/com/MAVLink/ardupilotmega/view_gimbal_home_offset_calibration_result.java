@@ -0,0 +1,36 @@
+// MESSAGE GIMBAL_HOME_OFFSET_CALIBRATION_RESULT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_HOME_OFFSET_CALIBRATION_RESULT packet, decoding the fields from its payload
+* without copying them.
+*
+* Sent by the gimbal after it receives a SET_HOME_OFFSETS message to indicate the result of the home offset calibration
+*
+* @see msg_gimbal_home_offset_calibration_result
+*/
+public class view_gimbal_home_offset_calibration_result extends MAVLinkView{
+
+    public view_gimbal_home_offset_calibration_result(){
+        super(msg_gimbal_home_offset_calibration_result.MAVLINK_MSG_ID_GIMBAL_HOME_OFFSET_CALIBRATION_RESULT);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_HOME_OFFSET_CALIBRATION_RESULT packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_home_offset_calibration_result wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * The result of the home offset calibration
+    */
+    public byte calibration_result(){
+        return payload.getByte(0);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE GIMBAL_PERFORM_FACTORY_TESTS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_PERFORM_FACTORY_TESTS packet, decoding the fields from its payload
+* without copying them.
+*
+* Command the gimbal to perform a series of factory tests. Should not be needed by end users
+*
+* @see msg_gimbal_perform_factory_tests
+*/
+public class view_gimbal_perform_factory_tests extends MAVLinkView{
+
+    public view_gimbal_perform_factory_tests(){
+        super(msg_gimbal_perform_factory_tests.MAVLINK_MSG_ID_GIMBAL_PERFORM_FACTORY_TESTS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_PERFORM_FACTORY_TESTS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_perform_factory_tests wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,113 @@
+// MESSAGE GIMBAL_REPORT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_REPORT packet, decoding the fields from its payload
+* without copying them.
+*
+* 3 axis gimbal mesuraments
+*
+* @see msg_gimbal_report
+*/
+public class view_gimbal_report extends MAVLinkView{
+
+    public view_gimbal_report(){
+        super(msg_gimbal_report.MAVLINK_MSG_ID_GIMBAL_REPORT);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_REPORT packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_report wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Time since last update (seconds)
+    */
+    public float delta_time(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Delta angle X (radians)
+    */
+    public float delta_angle_x(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Delta angle Y (radians)
+    */
+    public float delta_angle_y(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Delta angle X (radians)
+    */
+    public float delta_angle_z(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Delta velocity X (m/s)
+    */
+    public float delta_velocity_x(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Delta velocity Y (m/s)
+    */
+    public float delta_velocity_y(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Delta velocity Z (m/s)
+    */
+    public float delta_velocity_z(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Joint ROLL (radians)
+    */
+    public float joint_roll(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Joint EL (radians)
+    */
+    public float joint_el(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Joint AZ (radians)
+    */
+    public float joint_az(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(40);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(41);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE GIMBAL_REPORT_AXIS_CALIBRATION_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_REPORT_AXIS_CALIBRATION_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Reports the calibration status for each gimbal axis (whether the axis requires calibration or not)
+*
+* @see msg_gimbal_report_axis_calibration_status
+*/
+public class view_gimbal_report_axis_calibration_status extends MAVLinkView{
+
+    public view_gimbal_report_axis_calibration_status(){
+        super(msg_gimbal_report_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REPORT_AXIS_CALIBRATION_STATUS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_REPORT_AXIS_CALIBRATION_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_report_axis_calibration_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Whether or not the yaw axis requires calibration, see GIMBAL_AXIS_CALIBRATION_REQUIRED enumeration
+    */
+    public byte yaw_requires_calibration(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Whether or not the pitch axis requires calibration, see GIMBAL_AXIS_CALIBRATION_REQUIRED enumeration
+    */
+    public byte pitch_requires_calibration(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * Whether or not the roll axis requires calibration, see GIMBAL_AXIS_CALIBRATION_REQUIRED enumeration
+    */
+    public byte roll_requires_calibration(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE GIMBAL_REPORT_FACTORY_TESTS_PROGRESS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_REPORT_FACTORY_TESTS_PROGRESS packet, decoding the fields from its payload
+* without copying them.
+*
+* Reports the current status of a section of a running factory test
+*
+* @see msg_gimbal_report_factory_tests_progress
+*/
+public class view_gimbal_report_factory_tests_progress extends MAVLinkView{
+
+    public view_gimbal_report_factory_tests_progress(){
+        super(msg_gimbal_report_factory_tests_progress.MAVLINK_MSG_ID_GIMBAL_REPORT_FACTORY_TESTS_PROGRESS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_REPORT_FACTORY_TESTS_PROGRESS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_report_factory_tests_progress wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Which factory test is currently running
+    */
+    public byte test(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Which section of the test is currently running. The meaning of this is test-dependent
+    */
+    public byte test_section(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * The progress of the current test section, 0x64=100%
+    */
+    public byte test_section_progress(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * The status of the currently executing test section. The meaning of this is test and section-dependent
+    */
+    public byte test_status(){
+        return payload.getByte(3);
+    }
+}
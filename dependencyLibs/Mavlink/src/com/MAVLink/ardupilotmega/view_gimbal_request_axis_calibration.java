@@ -0,0 +1,43 @@
+// MESSAGE GIMBAL_REQUEST_AXIS_CALIBRATION VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_REQUEST_AXIS_CALIBRATION packet, decoding the fields from its payload
+* without copying them.
+*
+* Requests any currently uncalibrated gimbal axes to run the axis calibration procedure. An axis is considered uncalibrated if its commutation calibration slope and intercept are 0
+*
+* @see msg_gimbal_request_axis_calibration
+*/
+public class view_gimbal_request_axis_calibration extends MAVLinkView{
+
+    public view_gimbal_request_axis_calibration(){
+        super(msg_gimbal_request_axis_calibration.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_REQUEST_AXIS_CALIBRATION packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_request_axis_calibration wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
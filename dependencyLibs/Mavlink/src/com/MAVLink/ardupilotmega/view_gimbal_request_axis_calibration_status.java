@@ -0,0 +1,43 @@
+// MESSAGE GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Requests the calibration status for all gimbal axes. Should result in a GIMBAL_REPORT_AXIS_CALIBRATION_STATUS message being generated by the gimbal
+*
+* @see msg_gimbal_request_axis_calibration_status
+*/
+public class view_gimbal_request_axis_calibration_status extends MAVLinkView{
+
+    public view_gimbal_request_axis_calibration_status(){
+        super(msg_gimbal_request_axis_calibration_status.MAVLINK_MSG_ID_GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_REQUEST_AXIS_CALIBRATION_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_request_axis_calibration_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
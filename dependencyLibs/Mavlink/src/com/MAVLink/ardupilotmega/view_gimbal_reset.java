@@ -0,0 +1,43 @@
+// MESSAGE GIMBAL_RESET VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_RESET packet, decoding the fields from its payload
+* without copying them.
+*
+* Causes the gimbal to reset and boot as if it was just powered on
+*
+* @see msg_gimbal_reset
+*/
+public class view_gimbal_reset extends MAVLinkView{
+
+    public view_gimbal_reset(){
+        super(msg_gimbal_reset.MAVLINK_MSG_ID_GIMBAL_RESET);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_RESET packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_reset wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,127 @@
+// MESSAGE GIMBAL_SET_FACTORY_PARAMETERS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_SET_FACTORY_PARAMETERS packet, decoding the fields from its payload
+* without copying them.
+*
+* Set factory configuration parameters (such as assembly date and time, and serial number). This is only intended to be used during manufacture, not by end users, so it is protected by a simple checksum of sorts (this won't stop anybody determined, it's mostly just to keep the average user from trying to modify these values. This will need to be revisited if that isn't adequate.
+*
+* @see msg_gimbal_set_factory_parameters
+*/
+public class view_gimbal_set_factory_parameters extends MAVLinkView{
+
+    public view_gimbal_set_factory_parameters(){
+        super(msg_gimbal_set_factory_parameters.MAVLINK_MSG_ID_GIMBAL_SET_FACTORY_PARAMETERS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_SET_FACTORY_PARAMETERS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_set_factory_parameters wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Magic number 1 for validation
+    */
+    public int magic_1(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Magic number 2 for validation
+    */
+    public int magic_2(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Magic number 3 for validation
+    */
+    public int magic_3(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Unit Serial Number Part 1 (part code, design, language/country)
+    */
+    public int serial_number_pt_1(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Unit Serial Number Part 2 (option, year, month)
+    */
+    public int serial_number_pt_2(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Unit Serial Number Part 3 (incrementing serial number per month)
+    */
+    public int serial_number_pt_3(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * Assembly Date Year
+    */
+    public short assembly_year(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(26);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(27);
+    }
+
+    /**
+    * Assembly Date Month
+    */
+    public byte assembly_month(){
+        return payload.getByte(28);
+    }
+
+    /**
+    * Assembly Date Day
+    */
+    public byte assembly_day(){
+        return payload.getByte(29);
+    }
+
+    /**
+    * Assembly Time Hour
+    */
+    public byte assembly_hour(){
+        return payload.getByte(30);
+    }
+
+    /**
+    * Assembly Time Minute
+    */
+    public byte assembly_minute(){
+        return payload.getByte(31);
+    }
+
+    /**
+    * Assembly Time Second
+    */
+    public byte assembly_second(){
+        return payload.getByte(32);
+    }
+}
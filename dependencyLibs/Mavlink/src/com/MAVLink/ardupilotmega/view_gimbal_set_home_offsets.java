@@ -0,0 +1,43 @@
+// MESSAGE GIMBAL_SET_HOME_OFFSETS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GIMBAL_SET_HOME_OFFSETS packet, decoding the fields from its payload
+* without copying them.
+*
+* Instructs the gimbal to set its current position as its new home position. Will primarily be used for factory calibration
+*
+* @see msg_gimbal_set_home_offsets
+*/
+public class view_gimbal_set_home_offsets extends MAVLinkView{
+
+    public view_gimbal_set_home_offsets(){
+        super(msg_gimbal_set_home_offsets.MAVLINK_MSG_ID_GIMBAL_SET_HOME_OFFSETS);
+    }
+
+    /**
+    * Points this view at a received GIMBAL_SET_HOME_OFFSETS packet.
+    *
+    * @return this view
+    */
+    public view_gimbal_set_home_offsets wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
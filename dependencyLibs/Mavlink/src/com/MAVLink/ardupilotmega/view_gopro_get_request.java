@@ -0,0 +1,50 @@
+// MESSAGE GOPRO_GET_REQUEST VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GOPRO_GET_REQUEST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a GOPRO_COMMAND response from the GoPro
+*
+* @see msg_gopro_get_request
+*/
+public class view_gopro_get_request extends MAVLinkView{
+
+    public view_gopro_get_request(){
+        super(msg_gopro_get_request.MAVLINK_MSG_ID_GOPRO_GET_REQUEST);
+    }
+
+    /**
+    * Points this view at a received GOPRO_GET_REQUEST packet.
+    *
+    * @return this view
+    */
+    public view_gopro_get_request wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * Command ID
+    */
+    public byte cmd_id(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE GOPRO_GET_RESPONSE VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GOPRO_GET_RESPONSE packet, decoding the fields from its payload
+* without copying them.
+*
+* Response from a GOPRO_COMMAND get request
+*
+* @see msg_gopro_get_response
+*/
+public class view_gopro_get_response extends MAVLinkView{
+
+    public view_gopro_get_response(){
+        super(msg_gopro_get_response.MAVLINK_MSG_ID_GOPRO_GET_RESPONSE);
+    }
+
+    /**
+    * Points this view at a received GOPRO_GET_RESPONSE packet.
+    *
+    * @return this view
+    */
+    public view_gopro_get_response wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Command ID
+    */
+    public byte cmd_id(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Value
+    */
+    public byte value(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,36 @@
+// MESSAGE GOPRO_HEARTBEAT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GOPRO_HEARTBEAT packet, decoding the fields from its payload
+* without copying them.
+*
+* Heartbeat from a HeroBus attached GoPro
+*
+* @see msg_gopro_heartbeat
+*/
+public class view_gopro_heartbeat extends MAVLinkView{
+
+    public view_gopro_heartbeat(){
+        super(msg_gopro_heartbeat.MAVLINK_MSG_ID_GOPRO_HEARTBEAT);
+    }
+
+    /**
+    * Points this view at a received GOPRO_HEARTBEAT packet.
+    *
+    * @return this view
+    */
+    public view_gopro_heartbeat wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Status
+    */
+    public byte status(){
+        return payload.getByte(0);
+    }
+}
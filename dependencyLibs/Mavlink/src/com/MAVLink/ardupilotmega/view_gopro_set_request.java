@@ -0,0 +1,57 @@
+// MESSAGE GOPRO_SET_REQUEST VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GOPRO_SET_REQUEST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request to set a GOPRO_COMMAND with a desired
+*
+* @see msg_gopro_set_request
+*/
+public class view_gopro_set_request extends MAVLinkView{
+
+    public view_gopro_set_request(){
+        super(msg_gopro_set_request.MAVLINK_MSG_ID_GOPRO_SET_REQUEST);
+    }
+
+    /**
+    * Points this view at a received GOPRO_SET_REQUEST packet.
+    *
+    * @return this view
+    */
+    public view_gopro_set_request wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * Command ID
+    */
+    public byte cmd_id(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Value
+    */
+    public byte value(){
+        return payload.getByte(3);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE GOPRO_SET_RESPONSE VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GOPRO_SET_RESPONSE packet, decoding the fields from its payload
+* without copying them.
+*
+* Response from a GOPRO_COMMAND set request
+*
+* @see msg_gopro_set_response
+*/
+public class view_gopro_set_response extends MAVLinkView{
+
+    public view_gopro_set_response(){
+        super(msg_gopro_set_response.MAVLINK_MSG_ID_GOPRO_SET_RESPONSE);
+    }
+
+    /**
+    * Points this view at a received GOPRO_SET_RESPONSE packet.
+    *
+    * @return this view
+    */
+    public view_gopro_set_response wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Command ID
+    */
+    public byte cmd_id(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Result
+    */
+    public byte result(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE HWSTATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HWSTATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of key hardware
+*
+* @see msg_hwstatus
+*/
+public class view_hwstatus extends MAVLinkView{
+
+    public view_hwstatus(){
+        super(msg_hwstatus.MAVLINK_MSG_ID_HWSTATUS);
+    }
+
+    /**
+    * Points this view at a received HWSTATUS packet.
+    *
+    * @return this view
+    */
+    public view_hwstatus wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * board voltage (mV)
+    */
+    public short Vcc(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * I2C error count
+    */
+    public byte I2Cerr(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,78 @@
+// MESSAGE LED_CONTROL VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LED_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Control vehicle LEDs
+*
+* @see msg_led_control
+*/
+public class view_led_control extends MAVLinkView{
+
+    public static final int CUSTOM_BYTES_LENGTH = 24;
+
+    public view_led_control(){
+        super(msg_led_control.MAVLINK_MSG_ID_LED_CONTROL);
+    }
+
+    /**
+    * Points this view at a received LED_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_led_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * Instance (LED instance to control or 255 for all LEDs)
+    */
+    public byte instance(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Pattern (see LED_PATTERN_ENUM)
+    */
+    public byte pattern(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * Custom Byte Length
+    */
+    public byte custom_len(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Custom Bytes
+    *
+    * @param index element index, from 0 to CUSTOM_BYTES_LENGTH - 1
+    */
+    public byte custom_bytes(int index){
+        if(index < 0 || index >= CUSTOM_BYTES_LENGTH){
+            throw new IndexOutOfBoundsException("custom_bytes index " + index);
+        }
+        return payload.getByte(5 + index * 1);
+    }
+}
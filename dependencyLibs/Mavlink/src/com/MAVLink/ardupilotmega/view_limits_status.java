@@ -0,0 +1,92 @@
+// MESSAGE LIMITS_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LIMITS_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of AP_Limits. Sent in extended status stream when AP_Limits is enabled
+*
+* @see msg_limits_status
+*/
+public class view_limits_status extends MAVLinkView{
+
+    public view_limits_status(){
+        super(msg_limits_status.MAVLINK_MSG_ID_LIMITS_STATUS);
+    }
+
+    /**
+    * Points this view at a received LIMITS_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_limits_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * time of last breach in milliseconds since boot
+    */
+    public int last_trigger(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * time of last recovery action in milliseconds since boot
+    */
+    public int last_action(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * time of last successful recovery in milliseconds since boot
+    */
+    public int last_recovery(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * time of last all-clear in milliseconds since boot
+    */
+    public int last_clear(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * number of fence breaches
+    */
+    public short breach_count(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * state of AP_Limits, (see enum LimitState, LIMITS_STATE)
+    */
+    public byte limits_state(){
+        return payload.getByte(18);
+    }
+
+    /**
+    * AP_Limit_Module bitfield of enabled modules, (see enum moduleid or LIMIT_MODULE)
+    */
+    public byte mods_enabled(){
+        return payload.getByte(19);
+    }
+
+    /**
+    * AP_Limit_Module bitfield of required modules, (see enum moduleid or LIMIT_MODULE)
+    */
+    public byte mods_required(){
+        return payload.getByte(20);
+    }
+
+    /**
+    * AP_Limit_Module bitfield of triggered modules, (see enum moduleid or LIMIT_MODULE)
+    */
+    public byte mods_triggered(){
+        return payload.getByte(21);
+    }
+}
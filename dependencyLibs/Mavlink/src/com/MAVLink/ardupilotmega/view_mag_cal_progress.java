@@ -0,0 +1,99 @@
+// MESSAGE MAG_CAL_PROGRESS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MAG_CAL_PROGRESS packet, decoding the fields from its payload
+* without copying them.
+*
+* Reports progress of compass calibration.
+*
+* @see msg_mag_cal_progress
+*/
+public class view_mag_cal_progress extends MAVLinkView{
+
+    public static final int COMPLETION_MASK_LENGTH = 10;
+
+    public view_mag_cal_progress(){
+        super(msg_mag_cal_progress.MAVLINK_MSG_ID_MAG_CAL_PROGRESS);
+    }
+
+    /**
+    * Points this view at a received MAG_CAL_PROGRESS packet.
+    *
+    * @return this view
+    */
+    public view_mag_cal_progress wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Body frame direction vector for display
+    */
+    public float direction_x(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Body frame direction vector for display
+    */
+    public float direction_y(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Body frame direction vector for display
+    */
+    public float direction_z(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Compass being calibrated
+    */
+    public byte compass_id(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Bitmask of compasses being calibrated
+    */
+    public byte cal_mask(){
+        return payload.getByte(13);
+    }
+
+    /**
+    * Status (see MAG_CAL_STATUS enum)
+    */
+    public byte cal_status(){
+        return payload.getByte(14);
+    }
+
+    /**
+    * Attempt number
+    */
+    public byte attempt(){
+        return payload.getByte(15);
+    }
+
+    /**
+    * Completion percentage
+    */
+    public byte completion_pct(){
+        return payload.getByte(16);
+    }
+
+    /**
+    * Bitmask of sphere sections (see http://en.wikipedia.org/wiki/Geodesic_grid)
+    *
+    * @param index element index, from 0 to COMPLETION_MASK_LENGTH - 1
+    */
+    public byte completion_mask(int index){
+        if(index < 0 || index >= COMPLETION_MASK_LENGTH){
+            throw new IndexOutOfBoundsException("completion_mask index " + index);
+        }
+        return payload.getByte(17 + index * 1);
+    }
+}
@@ -0,0 +1,127 @@
+// MESSAGE MAG_CAL_REPORT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MAG_CAL_REPORT packet, decoding the fields from its payload
+* without copying them.
+*
+* Reports results of completed compass calibration. Sent until MAG_CAL_ACK received.
+*
+* @see msg_mag_cal_report
+*/
+public class view_mag_cal_report extends MAVLinkView{
+
+    public view_mag_cal_report(){
+        super(msg_mag_cal_report.MAVLINK_MSG_ID_MAG_CAL_REPORT);
+    }
+
+    /**
+    * Points this view at a received MAG_CAL_REPORT packet.
+    *
+    * @return this view
+    */
+    public view_mag_cal_report wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * RMS milligauss residuals
+    */
+    public float fitness(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * X offset
+    */
+    public float ofs_x(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Y offset
+    */
+    public float ofs_y(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Z offset
+    */
+    public float ofs_z(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * X diagonal (matrix 11)
+    */
+    public float diag_x(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Y diagonal (matrix 22)
+    */
+    public float diag_y(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Z diagonal (matrix 33)
+    */
+    public float diag_z(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * X off-diagonal (matrix 12 and 21)
+    */
+    public float offdiag_x(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Y off-diagonal (matrix 13 and 31)
+    */
+    public float offdiag_y(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Z off-diagonal (matrix 32 and 23)
+    */
+    public float offdiag_z(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Compass being calibrated
+    */
+    public byte compass_id(){
+        return payload.getByte(40);
+    }
+
+    /**
+    * Bitmask of compasses being calibrated
+    */
+    public byte cal_mask(){
+        return payload.getByte(41);
+    }
+
+    /**
+    * Status (see MAG_CAL_STATUS enum)
+    */
+    public byte cal_status(){
+        return payload.getByte(42);
+    }
+
+    /**
+    * 0=requires a MAV_CMD_DO_ACCEPT_MAG_CAL, 1=saved to parameters
+    */
+    public byte autosaved(){
+        return payload.getByte(43);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE MEMINFO VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MEMINFO packet, decoding the fields from its payload
+* without copying them.
+*
+* state of APM memory
+*
+* @see msg_meminfo
+*/
+public class view_meminfo extends MAVLinkView{
+
+    public view_meminfo(){
+        super(msg_meminfo.MAVLINK_MSG_ID_MEMINFO);
+    }
+
+    /**
+    * Points this view at a received MEMINFO packet.
+    *
+    * @return this view
+    */
+    public view_meminfo wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * heap top
+    */
+    public short brkval(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * free memory
+    */
+    public short freemem(){
+        return payload.getShort(2);
+    }
+}
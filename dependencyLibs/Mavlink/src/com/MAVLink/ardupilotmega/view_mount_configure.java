@@ -0,0 +1,71 @@
+// MESSAGE MOUNT_CONFIGURE VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MOUNT_CONFIGURE packet, decoding the fields from its payload
+* without copying them.
+*
+* Message to configure a camera mount, directional antenna, etc.
+*
+* @see msg_mount_configure
+*/
+public class view_mount_configure extends MAVLinkView{
+
+    public view_mount_configure(){
+        super(msg_mount_configure.MAVLINK_MSG_ID_MOUNT_CONFIGURE);
+    }
+
+    /**
+    * Points this view at a received MOUNT_CONFIGURE packet.
+    *
+    * @return this view
+    */
+    public view_mount_configure wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * mount operating mode (see MAV_MOUNT_MODE enum)
+    */
+    public byte mount_mode(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * (1 = yes, 0 = no)
+    */
+    public byte stab_roll(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * (1 = yes, 0 = no)
+    */
+    public byte stab_pitch(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * (1 = yes, 0 = no)
+    */
+    public byte stab_yaw(){
+        return payload.getByte(5);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE MOUNT_CONTROL VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MOUNT_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Message to control a camera mount, directional antenna, etc.
+*
+* @see msg_mount_control
+*/
+public class view_mount_control extends MAVLinkView{
+
+    public view_mount_control(){
+        super(msg_mount_control.MAVLINK_MSG_ID_MOUNT_CONTROL);
+    }
+
+    /**
+    * Points this view at a received MOUNT_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_mount_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * pitch(deg*100) or lat, depending on mount mode
+    */
+    public int input_a(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * roll(deg*100) or lon depending on mount mode
+    */
+    public int input_b(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * yaw(deg*100) or alt (in cm) depending on mount mode
+    */
+    public int input_c(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(13);
+    }
+
+    /**
+    * if "1" it will save current trimmed position on EEPROM (just valid for NEUTRAL and LANDING)
+    */
+    public byte save_position(){
+        return payload.getByte(14);
+    }
+}
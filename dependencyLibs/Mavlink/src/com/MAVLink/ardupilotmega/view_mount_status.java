@@ -0,0 +1,64 @@
+// MESSAGE MOUNT_STATUS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MOUNT_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Message with some status from APM to GCS about camera or antenna mount
+*
+* @see msg_mount_status
+*/
+public class view_mount_status extends MAVLinkView{
+
+    public view_mount_status(){
+        super(msg_mount_status.MAVLINK_MSG_ID_MOUNT_STATUS);
+    }
+
+    /**
+    * Points this view at a received MOUNT_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_mount_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * pitch(deg*100)
+    */
+    public int pointing_a(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * roll(deg*100)
+    */
+    public int pointing_b(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * yaw(deg*100)
+    */
+    public int pointing_c(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(13);
+    }
+}
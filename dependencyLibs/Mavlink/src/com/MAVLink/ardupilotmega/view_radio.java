@@ -0,0 +1,78 @@
+// MESSAGE RADIO VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RADIO packet, decoding the fields from its payload
+* without copying them.
+*
+* Status generated by radio
+*
+* @see msg_radio
+*/
+public class view_radio extends MAVLinkView{
+
+    public view_radio(){
+        super(msg_radio.MAVLINK_MSG_ID_RADIO);
+    }
+
+    /**
+    * Points this view at a received RADIO packet.
+    *
+    * @return this view
+    */
+    public view_radio wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * receive errors
+    */
+    public short rxerrors(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * count of error corrected packets
+    */
+    public short fixed(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * local signal strength
+    */
+    public byte rssi(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * remote signal strength
+    */
+    public byte remrssi(){
+        return payload.getByte(5);
+    }
+
+    /**
+    * how full the tx buffer is as a percentage
+    */
+    public byte txbuf(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * background noise level
+    */
+    public byte noise(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * remote background noise level
+    */
+    public byte remnoise(){
+        return payload.getByte(8);
+    }
+}
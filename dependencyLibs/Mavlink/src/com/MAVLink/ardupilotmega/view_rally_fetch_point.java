@@ -0,0 +1,50 @@
+// MESSAGE RALLY_FETCH_POINT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RALLY_FETCH_POINT packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a current rally point from MAV. MAV should respond with a RALLY_POINT message. MAV should not respond if the request is invalid.
+*
+* @see msg_rally_fetch_point
+*/
+public class view_rally_fetch_point extends MAVLinkView{
+
+    public view_rally_fetch_point(){
+        super(msg_rally_fetch_point.MAVLINK_MSG_ID_RALLY_FETCH_POINT);
+    }
+
+    /**
+    * Points this view at a received RALLY_FETCH_POINT packet.
+    *
+    * @return this view
+    */
+    public view_rally_fetch_point wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * point index (first point is 0)
+    */
+    public byte idx(){
+        return payload.getByte(2);
+    }
+}
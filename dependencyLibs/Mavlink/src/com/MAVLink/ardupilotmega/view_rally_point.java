@@ -0,0 +1,99 @@
+// MESSAGE RALLY_POINT VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RALLY_POINT packet, decoding the fields from its payload
+* without copying them.
+*
+* A rally point. Used to set a point when from GCS -> MAV. Also used to return a point from MAV -> GCS
+*
+* @see msg_rally_point
+*/
+public class view_rally_point extends MAVLinkView{
+
+    public view_rally_point(){
+        super(msg_rally_point.MAVLINK_MSG_ID_RALLY_POINT);
+    }
+
+    /**
+    * Points this view at a received RALLY_POINT packet.
+    *
+    * @return this view
+    */
+    public view_rally_point wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude of point in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude of point in degrees * 1E7
+    */
+    public int lng(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Transit / loiter altitude in meters relative to home
+    */
+    public short alt(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Break altitude in meters relative to home
+    */
+    public short break_alt(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * Heading to aim for when landing. In centi-degrees.
+    */
+    public short land_dir(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(14);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(15);
+    }
+
+    /**
+    * point index (first point is 0)
+    */
+    public byte idx(){
+        return payload.getByte(16);
+    }
+
+    /**
+    * total number of points (for sanity checking)
+    */
+    public byte count(){
+        return payload.getByte(17);
+    }
+
+    /**
+    * See RALLY_FLAGS enum for definition of the bitmask.
+    */
+    public byte flags(){
+        return payload.getByte(18);
+    }
+}
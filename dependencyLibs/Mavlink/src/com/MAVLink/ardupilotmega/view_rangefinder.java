@@ -0,0 +1,43 @@
+// MESSAGE RANGEFINDER VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RANGEFINDER packet, decoding the fields from its payload
+* without copying them.
+*
+* Rangefinder reporting
+*
+* @see msg_rangefinder
+*/
+public class view_rangefinder extends MAVLinkView{
+
+    public view_rangefinder(){
+        super(msg_rangefinder.MAVLINK_MSG_ID_RANGEFINDER);
+    }
+
+    /**
+    * Points this view at a received RANGEFINDER packet.
+    *
+    * @return this view
+    */
+    public view_rangefinder wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * distance in meters
+    */
+    public float distance(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * raw voltage if available, zero otherwise
+    */
+    public float voltage(){
+        return payload.getFloat(4);
+    }
+}
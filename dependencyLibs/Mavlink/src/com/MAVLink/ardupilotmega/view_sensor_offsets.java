@@ -0,0 +1,113 @@
+// MESSAGE SENSOR_OFFSETS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SENSOR_OFFSETS packet, decoding the fields from its payload
+* without copying them.
+*
+* Offsets and calibrations values for hardware sensors. This makes it easier to debug the calibration process.
+*
+* @see msg_sensor_offsets
+*/
+public class view_sensor_offsets extends MAVLinkView{
+
+    public view_sensor_offsets(){
+        super(msg_sensor_offsets.MAVLINK_MSG_ID_SENSOR_OFFSETS);
+    }
+
+    /**
+    * Points this view at a received SENSOR_OFFSETS packet.
+    *
+    * @return this view
+    */
+    public view_sensor_offsets wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * magnetic declination (radians)
+    */
+    public float mag_declination(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * raw pressure from barometer
+    */
+    public int raw_press(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * raw temperature from barometer
+    */
+    public int raw_temp(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * gyro X calibration
+    */
+    public float gyro_cal_x(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * gyro Y calibration
+    */
+    public float gyro_cal_y(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * gyro Z calibration
+    */
+    public float gyro_cal_z(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * accel X calibration
+    */
+    public float accel_cal_x(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * accel Y calibration
+    */
+    public float accel_cal_y(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * accel Z calibration
+    */
+    public float accel_cal_z(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * magnetometer X offset
+    */
+    public short mag_ofs_x(){
+        return payload.getShort(36);
+    }
+
+    /**
+    * magnetometer Y offset
+    */
+    public short mag_ofs_y(){
+        return payload.getShort(38);
+    }
+
+    /**
+    * magnetometer Z offset
+    */
+    public short mag_ofs_z(){
+        return payload.getShort(40);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE SET_MAG_OFFSETS VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SET_MAG_OFFSETS packet, decoding the fields from its payload
+* without copying them.
+*
+* Deprecated. Use MAV_CMD_PREFLIGHT_SET_SENSOR_OFFSETS instead. Set the magnetometer offsets
+*
+* @see msg_set_mag_offsets
+*/
+public class view_set_mag_offsets extends MAVLinkView{
+
+    public view_set_mag_offsets(){
+        super(msg_set_mag_offsets.MAVLINK_MSG_ID_SET_MAG_OFFSETS);
+    }
+
+    /**
+    * Points this view at a received SET_MAG_OFFSETS packet.
+    *
+    * @return this view
+    */
+    public view_set_mag_offsets wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * magnetometer X offset
+    */
+    public short mag_ofs_x(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * magnetometer Y offset
+    */
+    public short mag_ofs_y(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * magnetometer Z offset
+    */
+    public short mag_ofs_z(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(7);
+    }
+}
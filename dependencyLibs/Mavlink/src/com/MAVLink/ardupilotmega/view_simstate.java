@@ -0,0 +1,106 @@
+// MESSAGE SIMSTATE VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SIMSTATE packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of simulation environment, if used
+*
+* @see msg_simstate
+*/
+public class view_simstate extends MAVLinkView{
+
+    public view_simstate(){
+        super(msg_simstate.MAVLINK_MSG_ID_SIMSTATE);
+    }
+
+    /**
+    * Points this view at a received SIMSTATE packet.
+    *
+    * @return this view
+    */
+    public view_simstate wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Roll angle (rad)
+    */
+    public float roll(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Pitch angle (rad)
+    */
+    public float pitch(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Yaw angle (rad)
+    */
+    public float yaw(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * X acceleration m/s/s
+    */
+    public float xacc(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Y acceleration m/s/s
+    */
+    public float yacc(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Z acceleration m/s/s
+    */
+    public float zacc(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Angular speed around X axis rad/s
+    */
+    public float xgyro(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Angular speed around Y axis rad/s
+    */
+    public float ygyro(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Angular speed around Z axis rad/s
+    */
+    public float zgyro(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Latitude in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(36);
+    }
+
+    /**
+    * Longitude in degrees * 1E7
+    */
+    public int lng(){
+        return payload.getInt(40);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE WIND VIEW
+package com.MAVLink.ardupilotmega;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a WIND packet, decoding the fields from its payload
+* without copying them.
+*
+* Wind estimation
+*
+* @see msg_wind
+*/
+public class view_wind extends MAVLinkView{
+
+    public view_wind(){
+        super(msg_wind.MAVLINK_MSG_ID_WIND);
+    }
+
+    /**
+    * Points this view at a received WIND packet.
+    *
+    * @return this view
+    */
+    public view_wind wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * wind direction that wind is coming from (degrees)
+    */
+    public float direction(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * wind speed in ground plane (m/s)
+    */
+    public float speed(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * vertical wind speed (m/s)
+    */
+    public float speed_z(){
+        return payload.getFloat(8);
+    }
+}
@@ -8,7 +8,22 @@ package com.MAVLink.common;
 */
 public class CRC {
     private static final int[] MAVLINK_MESSAGE_CRCS = {50, 124, 137, 0, 237, 217, 104, 119, 0, 0, 0, 89, 0, 0, 0, 0, 0, 0, 0, 0, 214, 159, 220, 168, 24, 23, 170, 144, 67, 115, 39, 246, 185, 104, 237, 244, 222, 212, 9, 254, 230, 28, 28, 132, 221, 232, 11, 153, 41, 39, 0, 0, 0, 0, 15, 3, 0, 0, 0, 0, 0, 153, 183, 51, 82, 118, 148, 21, 0, 243, 124, 0, 0, 38, 20, 158, 152, 143, 0, 0, 0, 106, 49, 22, 143, 140, 5, 150, 0, 231, 183, 63, 54, 0, 0, 0, 0, 0, 0, 0, 175, 102, 158, 208, 56, 93, 138, 108, 32, 185, 84, 34, 0, 124, 237, 4, 76, 128, 56, 116, 134, 237, 203, 250, 87, 203, 220, 25, 226, 0, 29, 223, 85, 6, 229, 203, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 154, 49, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 8, 204, 49, 170, 44, 83, 46, 0};
+    private static final int[] MAVLINK_MESSAGE_LENGTHS = {9, 31, 12, 0, 14, 28, 3, 32, 0, 0, 0, 6, 0, 0, 0, 0, 0, 0, 0, 0, 20, 2, 25, 23, 30, 101, 22, 26, 16, 14, 28, 32, 28, 28, 22, 22, 21, 6, 6, 37, 4, 4, 2, 2, 4, 2, 2, 3, 13, 12, 0, 0, 0, 0, 27, 25, 0, 0, 0, 0, 0, 68, 26, 185, 181, 42, 6, 4, 0, 11, 18, 0, 0, 37, 20, 35, 33, 3, 0, 0, 0, 22, 39, 37, 53, 51, 53, 51, 0, 28, 56, 42, 33, 0, 0, 0, 0, 0, 0, 0, 26, 32, 32, 20, 32, 62, 44, 64, 84, 9, 254, 16, 0, 36, 44, 64, 22, 6, 14, 12, 97, 2, 2, 113, 35, 6, 79, 35, 35, 0, 13, 255, 14, 18, 43, 8, 22, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 36, 20, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 254, 36, 30, 18, 18, 51, 9, 0};
     private static final int CRC_INIT_VALUE = 0xffff;
+
+    /**
+    * Contribution of each possible byte value to the checksum, so a byte can
+    * be accumulated with a single lookup.
+    */
+    private static final int[] CRC_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < CRC_TABLE.length; i++) {
+            int tmp = i ^ ((i << 4) & 0xff);
+            CRC_TABLE[i] = ((tmp << 8) ^ (tmp << 3) ^ (tmp >> 4)) & 0xffff;
+        }
+    }
+
     private int crcValue;
 
     /**
@@ -20,22 +35,68 @@ public class CRC {
     * @param data
     *            new char to hash
     **/
-    public  void update_checksum(int data) {
-        data = data & 0xff;	//cast because we want an unsigned type
-        int tmp = data ^ (crcValue & 0xff);
-        tmp ^= (tmp << 4) & 0xff;
-        crcValue = ((crcValue >> 8) & 0xff) ^ (tmp << 8) ^ (tmp << 3) ^ ((tmp >> 4) & 0xf);
+    public void update_checksum(int data) {
+        crcValue = (crcValue >>> 8) ^ CRC_TABLE[(crcValue ^ data) & 0xff];
+    }
+
+    /**
+    * Accumulate the X.25 CRC over a range of bytes.
+    *
+    * @param buffer
+    *            bytes to hash
+    * @param offset
+    *            index of the first byte to hash
+    * @param length
+    *            count of bytes to hash
+    **/
+    public void update_checksum(byte[] buffer, int offset, int length) {
+        int crc = crcValue;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            crc = (crc >>> 8) ^ CRC_TABLE[(crc ^ buffer[i]) & 0xff];
+        }
+        crcValue = crc;
     }
 
     /**
     * Finish the CRC calculation of a message, by running the CRC with the
-    * Magic Byte. This Magic byte has been defined in MAVlink v1.0.
+    * Magic Byte. This Magic byte has been defined in MAVlink v1.0, and is
+    * used by MAVLink 2 as well.
     *
     * @param msgid
     *            The message id number
     */
     public void finish_checksum(int msgid) {
-        update_checksum(MAVLINK_MESSAGE_CRCS[msgid]);
+        update_checksum(getCrcExtra(msgid));
+    }
+
+    /**
+    * Returns the magic byte (CRC_EXTRA) of a message, computed from its fields.
+    *
+    * @param msgid
+    *            The message id number
+    * @return the magic byte, or 0 if the message is unknown
+    */
+    public static int getCrcExtra(int msgid) {
+        if (msgid < 0 || msgid >= MAVLINK_MESSAGE_CRCS.length) {
+            return 0;
+        }
+        return MAVLINK_MESSAGE_CRCS[msgid];
+    }
+
+    /**
+    * Returns the full payload length of a message. MAVLink 2 senders strip
+    * the trailing zeros of the payload, so the received length can be shorter.
+    *
+    * @param msgid
+    *            The message id number
+    * @return the payload length, or 0 if the message is unknown
+    */
+    public static int getMessageLength(int msgid) {
+        if (msgid < 0 || msgid >= MAVLINK_MESSAGE_LENGTHS.length) {
+            return 0;
+        }
+        return MAVLINK_MESSAGE_LENGTHS[msgid];
     }
 
     /**
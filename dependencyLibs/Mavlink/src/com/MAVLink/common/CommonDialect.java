@@ -0,0 +1,1974 @@
+// MESSAGES OF THE common DIALECT
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+
+/**
+* Registers the messages defined in common.xml.
+*/
+public final class CommonDialect{
+
+    /**
+    * Writes the payload of the messages of this dialect, in wire order.
+    */
+    public static final MAVLinkMessageRegistry.PayloadPacker PACKER = new MAVLinkMessageRegistry.PayloadPacker(){
+        @Override
+        public void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+            CommonDialect.packPayload(msg, payload);
+        }
+    };
+
+    private CommonDialect(){
+    }
+
+    /**
+    * Adds the messages of this dialect to the {@link MAVLinkMessageRegistry}.
+    */
+    public static void register(){
+        MAVLinkMessageRegistry.register(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, msg_heartbeat.class,
+                50, msg_heartbeat.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_sys_status.MAVLINK_MSG_ID_SYS_STATUS, msg_sys_status.class,
+                124, msg_sys_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_system_time.MAVLINK_MSG_ID_SYSTEM_TIME, msg_system_time.class,
+                137, msg_system_time.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_ping.MAVLINK_MSG_ID_PING, msg_ping.class,
+                237, msg_ping.MAVLINK_MSG_LENGTH, 12, 13,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_change_operator_control.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL, msg_change_operator_control.class,
+                217, msg_change_operator_control.MAVLINK_MSG_LENGTH, 0, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_change_operator_control_ack.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL_ACK, msg_change_operator_control_ack.class,
+                104, msg_change_operator_control_ack.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_auth_key.MAVLINK_MSG_ID_AUTH_KEY, msg_auth_key.class,
+                119, msg_auth_key.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_mode.MAVLINK_MSG_ID_SET_MODE, msg_set_mode.class,
+                89, msg_set_mode.MAVLINK_MSG_LENGTH, 4, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_param_request_read.MAVLINK_MSG_ID_PARAM_REQUEST_READ, msg_param_request_read.class,
+                214, msg_param_request_read.MAVLINK_MSG_LENGTH, 2, 3,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_param_request_list.MAVLINK_MSG_ID_PARAM_REQUEST_LIST, msg_param_request_list.class,
+                159, msg_param_request_list.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_param_value.MAVLINK_MSG_ID_PARAM_VALUE, msg_param_value.class,
+                220, msg_param_value.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_param_set.MAVLINK_MSG_ID_PARAM_SET, msg_param_set.class,
+                168, msg_param_set.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps_raw_int.MAVLINK_MSG_ID_GPS_RAW_INT, msg_gps_raw_int.class,
+                24, msg_gps_raw_int.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps_status.MAVLINK_MSG_ID_GPS_STATUS, msg_gps_status.class,
+                23, msg_gps_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_scaled_imu.MAVLINK_MSG_ID_SCALED_IMU, msg_scaled_imu.class,
+                170, msg_scaled_imu.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU, msg_raw_imu.class,
+                144, msg_raw_imu.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_raw_pressure.MAVLINK_MSG_ID_RAW_PRESSURE, msg_raw_pressure.class,
+                67, msg_raw_pressure.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_scaled_pressure.MAVLINK_MSG_ID_SCALED_PRESSURE, msg_scaled_pressure.class,
+                115, msg_scaled_pressure.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_attitude.MAVLINK_MSG_ID_ATTITUDE, msg_attitude.class,
+                39, msg_attitude.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_attitude_quaternion.MAVLINK_MSG_ID_ATTITUDE_QUATERNION, msg_attitude_quaternion.class,
+                246, msg_attitude_quaternion.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_local_position_ned.MAVLINK_MSG_ID_LOCAL_POSITION_NED, msg_local_position_ned.class,
+                185, msg_local_position_ned.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT, msg_global_position_int.class,
+                104, msg_global_position_int.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rc_channels_scaled.MAVLINK_MSG_ID_RC_CHANNELS_SCALED, msg_rc_channels_scaled.class,
+                237, msg_rc_channels_scaled.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rc_channels_raw.MAVLINK_MSG_ID_RC_CHANNELS_RAW, msg_rc_channels_raw.class,
+                244, msg_rc_channels_raw.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_servo_output_raw.MAVLINK_MSG_ID_SERVO_OUTPUT_RAW, msg_servo_output_raw.class,
+                222, msg_servo_output_raw.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_request_partial_list.MAVLINK_MSG_ID_MISSION_REQUEST_PARTIAL_LIST, msg_mission_request_partial_list.class,
+                212, msg_mission_request_partial_list.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_write_partial_list.MAVLINK_MSG_ID_MISSION_WRITE_PARTIAL_LIST, msg_mission_write_partial_list.class,
+                9, msg_mission_write_partial_list.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_item.MAVLINK_MSG_ID_MISSION_ITEM, msg_mission_item.class,
+                254, msg_mission_item.MAVLINK_MSG_LENGTH, 32, 33,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_request.MAVLINK_MSG_ID_MISSION_REQUEST, msg_mission_request.class,
+                230, msg_mission_request.MAVLINK_MSG_LENGTH, 2, 3,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_set_current.MAVLINK_MSG_ID_MISSION_SET_CURRENT, msg_mission_set_current.class,
+                28, msg_mission_set_current.MAVLINK_MSG_LENGTH, 2, 3,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_current.MAVLINK_MSG_ID_MISSION_CURRENT, msg_mission_current.class,
+                28, msg_mission_current.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_request_list.MAVLINK_MSG_ID_MISSION_REQUEST_LIST, msg_mission_request_list.class,
+                132, msg_mission_request_list.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_count.MAVLINK_MSG_ID_MISSION_COUNT, msg_mission_count.class,
+                221, msg_mission_count.MAVLINK_MSG_LENGTH, 2, 3,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_clear_all.MAVLINK_MSG_ID_MISSION_CLEAR_ALL, msg_mission_clear_all.class,
+                232, msg_mission_clear_all.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_item_reached.MAVLINK_MSG_ID_MISSION_ITEM_REACHED, msg_mission_item_reached.class,
+                11, msg_mission_item_reached.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_ack.MAVLINK_MSG_ID_MISSION_ACK, msg_mission_ack.class,
+                153, msg_mission_ack.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_gps_global_origin.MAVLINK_MSG_ID_SET_GPS_GLOBAL_ORIGIN, msg_set_gps_global_origin.class,
+                41, msg_set_gps_global_origin.MAVLINK_MSG_LENGTH, 12, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps_global_origin.MAVLINK_MSG_ID_GPS_GLOBAL_ORIGIN, msg_gps_global_origin.class,
+                39, msg_gps_global_origin.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_safety_set_allowed_area.MAVLINK_MSG_ID_SAFETY_SET_ALLOWED_AREA, msg_safety_set_allowed_area.class,
+                15, msg_safety_set_allowed_area.MAVLINK_MSG_LENGTH, 24, 25,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_safety_allowed_area.MAVLINK_MSG_ID_SAFETY_ALLOWED_AREA, msg_safety_allowed_area.class,
+                3, msg_safety_allowed_area.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_attitude_quaternion_cov.MAVLINK_MSG_ID_ATTITUDE_QUATERNION_COV, msg_attitude_quaternion_cov.class,
+                153, msg_attitude_quaternion_cov.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_nav_controller_output.MAVLINK_MSG_ID_NAV_CONTROLLER_OUTPUT, msg_nav_controller_output.class,
+                183, msg_nav_controller_output.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_global_position_int_cov.MAVLINK_MSG_ID_GLOBAL_POSITION_INT_COV, msg_global_position_int_cov.class,
+                51, msg_global_position_int_cov.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_local_position_ned_cov.MAVLINK_MSG_ID_LOCAL_POSITION_NED_COV, msg_local_position_ned_cov.class,
+                82, msg_local_position_ned_cov.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rc_channels.MAVLINK_MSG_ID_RC_CHANNELS, msg_rc_channels.class,
+                118, msg_rc_channels.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_request_data_stream.MAVLINK_MSG_ID_REQUEST_DATA_STREAM, msg_request_data_stream.class,
+                148, msg_request_data_stream.MAVLINK_MSG_LENGTH, 2, 3,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data_stream.MAVLINK_MSG_ID_DATA_STREAM, msg_data_stream.class,
+                21, msg_data_stream.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_manual_control.MAVLINK_MSG_ID_MANUAL_CONTROL, msg_manual_control.class,
+                243, msg_manual_control.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE, msg_rc_channels_override.class,
+                124, msg_rc_channels_override.MAVLINK_MSG_LENGTH, 16, 17,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_mission_item_int.MAVLINK_MSG_ID_MISSION_ITEM_INT, msg_mission_item_int.class,
+                38, msg_mission_item_int.MAVLINK_MSG_LENGTH, 32, 33,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD, msg_vfr_hud.class,
+                20, msg_vfr_hud.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_command_int.MAVLINK_MSG_ID_COMMAND_INT, msg_command_int.class,
+                158, msg_command_int.MAVLINK_MSG_LENGTH, 30, 31,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG, msg_command_long.class,
+                152, msg_command_long.MAVLINK_MSG_LENGTH, 30, 31,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_command_ack.MAVLINK_MSG_ID_COMMAND_ACK, msg_command_ack.class,
+                143, msg_command_ack.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_manual_setpoint.MAVLINK_MSG_ID_MANUAL_SETPOINT, msg_manual_setpoint.class,
+                106, msg_manual_setpoint.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_attitude_target.MAVLINK_MSG_ID_SET_ATTITUDE_TARGET, msg_set_attitude_target.class,
+                49, msg_set_attitude_target.MAVLINK_MSG_LENGTH, 36, 37,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_attitude_target.MAVLINK_MSG_ID_ATTITUDE_TARGET, msg_attitude_target.class,
+                22, msg_attitude_target.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_position_target_local_ned.MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED, msg_set_position_target_local_ned.class,
+                143, msg_set_position_target_local_ned.MAVLINK_MSG_LENGTH, 50, 51,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_position_target_local_ned.MAVLINK_MSG_ID_POSITION_TARGET_LOCAL_NED, msg_position_target_local_ned.class,
+                140, msg_position_target_local_ned.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_set_position_target_global_int.MAVLINK_MSG_ID_SET_POSITION_TARGET_GLOBAL_INT, msg_set_position_target_global_int.class,
+                5, msg_set_position_target_global_int.MAVLINK_MSG_LENGTH, 50, 51,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_position_target_global_int.MAVLINK_MSG_ID_POSITION_TARGET_GLOBAL_INT, msg_position_target_global_int.class,
+                150, msg_position_target_global_int.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_local_position_ned_system_global_offset.MAVLINK_MSG_ID_LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET, msg_local_position_ned_system_global_offset.class,
+                231, msg_local_position_ned_system_global_offset.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_state.MAVLINK_MSG_ID_HIL_STATE, msg_hil_state.class,
+                183, msg_hil_state.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_controls.MAVLINK_MSG_ID_HIL_CONTROLS, msg_hil_controls.class,
+                63, msg_hil_controls.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_rc_inputs_raw.MAVLINK_MSG_ID_HIL_RC_INPUTS_RAW, msg_hil_rc_inputs_raw.class,
+                54, msg_hil_rc_inputs_raw.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_optical_flow.MAVLINK_MSG_ID_OPTICAL_FLOW, msg_optical_flow.class,
+                175, msg_optical_flow.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_global_vision_position_estimate.MAVLINK_MSG_ID_GLOBAL_VISION_POSITION_ESTIMATE, msg_global_vision_position_estimate.class,
+                102, msg_global_vision_position_estimate.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_vision_position_estimate.MAVLINK_MSG_ID_VISION_POSITION_ESTIMATE, msg_vision_position_estimate.class,
+                158, msg_vision_position_estimate.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_vision_speed_estimate.MAVLINK_MSG_ID_VISION_SPEED_ESTIMATE, msg_vision_speed_estimate.class,
+                208, msg_vision_speed_estimate.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_vicon_position_estimate.MAVLINK_MSG_ID_VICON_POSITION_ESTIMATE, msg_vicon_position_estimate.class,
+                56, msg_vicon_position_estimate.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_highres_imu.MAVLINK_MSG_ID_HIGHRES_IMU, msg_highres_imu.class,
+                93, msg_highres_imu.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_optical_flow_rad.MAVLINK_MSG_ID_OPTICAL_FLOW_RAD, msg_optical_flow_rad.class,
+                138, msg_optical_flow_rad.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_sensor.MAVLINK_MSG_ID_HIL_SENSOR, msg_hil_sensor.class,
+                108, msg_hil_sensor.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_sim_state.MAVLINK_MSG_ID_SIM_STATE, msg_sim_state.class,
+                32, msg_sim_state.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_radio_status.MAVLINK_MSG_ID_RADIO_STATUS, msg_radio_status.class,
+                185, msg_radio_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_file_transfer_protocol.MAVLINK_MSG_ID_FILE_TRANSFER_PROTOCOL, msg_file_transfer_protocol.class,
+                84, msg_file_transfer_protocol.MAVLINK_MSG_LENGTH, 1, 2,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_timesync.MAVLINK_MSG_ID_TIMESYNC, msg_timesync.class,
+                34, msg_timesync.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_gps.MAVLINK_MSG_ID_HIL_GPS, msg_hil_gps.class,
+                124, msg_hil_gps.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_optical_flow.MAVLINK_MSG_ID_HIL_OPTICAL_FLOW, msg_hil_optical_flow.class,
+                237, msg_hil_optical_flow.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_hil_state_quaternion.MAVLINK_MSG_ID_HIL_STATE_QUATERNION, msg_hil_state_quaternion.class,
+                4, msg_hil_state_quaternion.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_scaled_imu2.MAVLINK_MSG_ID_SCALED_IMU2, msg_scaled_imu2.class,
+                76, msg_scaled_imu2.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_request_list.MAVLINK_MSG_ID_LOG_REQUEST_LIST, msg_log_request_list.class,
+                128, msg_log_request_list.MAVLINK_MSG_LENGTH, 4, 5,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_entry.MAVLINK_MSG_ID_LOG_ENTRY, msg_log_entry.class,
+                56, msg_log_entry.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_request_data.MAVLINK_MSG_ID_LOG_REQUEST_DATA, msg_log_request_data.class,
+                116, msg_log_request_data.MAVLINK_MSG_LENGTH, 10, 11,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_data.MAVLINK_MSG_ID_LOG_DATA, msg_log_data.class,
+                134, msg_log_data.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_erase.MAVLINK_MSG_ID_LOG_ERASE, msg_log_erase.class,
+                237, msg_log_erase.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_log_request_end.MAVLINK_MSG_ID_LOG_REQUEST_END, msg_log_request_end.class,
+                203, msg_log_request_end.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps_inject_data.MAVLINK_MSG_ID_GPS_INJECT_DATA, msg_gps_inject_data.class,
+                250, msg_gps_inject_data.MAVLINK_MSG_LENGTH, 0, 1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps2_raw.MAVLINK_MSG_ID_GPS2_RAW, msg_gps2_raw.class,
+                87, msg_gps2_raw.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_power_status.MAVLINK_MSG_ID_POWER_STATUS, msg_power_status.class,
+                203, msg_power_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_serial_control.MAVLINK_MSG_ID_SERIAL_CONTROL, msg_serial_control.class,
+                220, msg_serial_control.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps_rtk.MAVLINK_MSG_ID_GPS_RTK, msg_gps_rtk.class,
+                25, msg_gps_rtk.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_gps2_rtk.MAVLINK_MSG_ID_GPS2_RTK, msg_gps2_rtk.class,
+                226, msg_gps2_rtk.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_data_transmission_handshake.MAVLINK_MSG_ID_DATA_TRANSMISSION_HANDSHAKE, msg_data_transmission_handshake.class,
+                29, msg_data_transmission_handshake.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_encapsulated_data.MAVLINK_MSG_ID_ENCAPSULATED_DATA, msg_encapsulated_data.class,
+                223, msg_encapsulated_data.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_distance_sensor.MAVLINK_MSG_ID_DISTANCE_SENSOR, msg_distance_sensor.class,
+                85, msg_distance_sensor.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_terrain_request.MAVLINK_MSG_ID_TERRAIN_REQUEST, msg_terrain_request.class,
+                6, msg_terrain_request.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_terrain_data.MAVLINK_MSG_ID_TERRAIN_DATA, msg_terrain_data.class,
+                229, msg_terrain_data.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_terrain_check.MAVLINK_MSG_ID_TERRAIN_CHECK, msg_terrain_check.class,
+                203, msg_terrain_check.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_terrain_report.MAVLINK_MSG_ID_TERRAIN_REPORT, msg_terrain_report.class,
+                1, msg_terrain_report.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_battery_status.MAVLINK_MSG_ID_BATTERY_STATUS, msg_battery_status.class,
+                154, msg_battery_status.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_autopilot_version.MAVLINK_MSG_ID_AUTOPILOT_VERSION, msg_autopilot_version.class,
+                49, msg_autopilot_version.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_v2_extension.MAVLINK_MSG_ID_V2_EXTENSION, msg_v2_extension.class,
+                8, msg_v2_extension.MAVLINK_MSG_LENGTH, 3, 4,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_memory_vect.MAVLINK_MSG_ID_MEMORY_VECT, msg_memory_vect.class,
+                204, msg_memory_vect.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_debug_vect.MAVLINK_MSG_ID_DEBUG_VECT, msg_debug_vect.class,
+                49, msg_debug_vect.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_named_value_float.MAVLINK_MSG_ID_NAMED_VALUE_FLOAT, msg_named_value_float.class,
+                170, msg_named_value_float.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_named_value_int.MAVLINK_MSG_ID_NAMED_VALUE_INT, msg_named_value_int.class,
+                44, msg_named_value_int.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_statustext.MAVLINK_MSG_ID_STATUSTEXT, msg_statustext.class,
+                83, msg_statustext.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+        MAVLinkMessageRegistry.register(msg_debug.MAVLINK_MSG_ID_DEBUG, msg_debug.class,
+                46, msg_debug.MAVLINK_MSG_LENGTH, -1, -1,
+                PACKER);
+    }
+
+    private static void packPayload(MAVLinkMessage msg, MAVLinkPayload payload){
+        switch(msg.msgid){
+            case msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT:
+                pack_heartbeat((msg_heartbeat) msg, payload);
+                break;
+
+            case msg_sys_status.MAVLINK_MSG_ID_SYS_STATUS:
+                pack_sys_status((msg_sys_status) msg, payload);
+                break;
+
+            case msg_system_time.MAVLINK_MSG_ID_SYSTEM_TIME:
+                pack_system_time((msg_system_time) msg, payload);
+                break;
+
+            case msg_ping.MAVLINK_MSG_ID_PING:
+                pack_ping((msg_ping) msg, payload);
+                break;
+
+            case msg_change_operator_control.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL:
+                pack_change_operator_control((msg_change_operator_control) msg, payload);
+                break;
+
+            case msg_change_operator_control_ack.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL_ACK:
+                pack_change_operator_control_ack((msg_change_operator_control_ack) msg, payload);
+                break;
+
+            case msg_auth_key.MAVLINK_MSG_ID_AUTH_KEY:
+                pack_auth_key((msg_auth_key) msg, payload);
+                break;
+
+            case msg_set_mode.MAVLINK_MSG_ID_SET_MODE:
+                pack_set_mode((msg_set_mode) msg, payload);
+                break;
+
+            case msg_param_request_read.MAVLINK_MSG_ID_PARAM_REQUEST_READ:
+                pack_param_request_read((msg_param_request_read) msg, payload);
+                break;
+
+            case msg_param_request_list.MAVLINK_MSG_ID_PARAM_REQUEST_LIST:
+                pack_param_request_list((msg_param_request_list) msg, payload);
+                break;
+
+            case msg_param_value.MAVLINK_MSG_ID_PARAM_VALUE:
+                pack_param_value((msg_param_value) msg, payload);
+                break;
+
+            case msg_param_set.MAVLINK_MSG_ID_PARAM_SET:
+                pack_param_set((msg_param_set) msg, payload);
+                break;
+
+            case msg_gps_raw_int.MAVLINK_MSG_ID_GPS_RAW_INT:
+                pack_gps_raw_int((msg_gps_raw_int) msg, payload);
+                break;
+
+            case msg_gps_status.MAVLINK_MSG_ID_GPS_STATUS:
+                pack_gps_status((msg_gps_status) msg, payload);
+                break;
+
+            case msg_scaled_imu.MAVLINK_MSG_ID_SCALED_IMU:
+                pack_scaled_imu((msg_scaled_imu) msg, payload);
+                break;
+
+            case msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU:
+                pack_raw_imu((msg_raw_imu) msg, payload);
+                break;
+
+            case msg_raw_pressure.MAVLINK_MSG_ID_RAW_PRESSURE:
+                pack_raw_pressure((msg_raw_pressure) msg, payload);
+                break;
+
+            case msg_scaled_pressure.MAVLINK_MSG_ID_SCALED_PRESSURE:
+                pack_scaled_pressure((msg_scaled_pressure) msg, payload);
+                break;
+
+            case msg_attitude.MAVLINK_MSG_ID_ATTITUDE:
+                pack_attitude((msg_attitude) msg, payload);
+                break;
+
+            case msg_attitude_quaternion.MAVLINK_MSG_ID_ATTITUDE_QUATERNION:
+                pack_attitude_quaternion((msg_attitude_quaternion) msg, payload);
+                break;
+
+            case msg_local_position_ned.MAVLINK_MSG_ID_LOCAL_POSITION_NED:
+                pack_local_position_ned((msg_local_position_ned) msg, payload);
+                break;
+
+            case msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT:
+                pack_global_position_int((msg_global_position_int) msg, payload);
+                break;
+
+            case msg_rc_channels_scaled.MAVLINK_MSG_ID_RC_CHANNELS_SCALED:
+                pack_rc_channels_scaled((msg_rc_channels_scaled) msg, payload);
+                break;
+
+            case msg_rc_channels_raw.MAVLINK_MSG_ID_RC_CHANNELS_RAW:
+                pack_rc_channels_raw((msg_rc_channels_raw) msg, payload);
+                break;
+
+            case msg_servo_output_raw.MAVLINK_MSG_ID_SERVO_OUTPUT_RAW:
+                pack_servo_output_raw((msg_servo_output_raw) msg, payload);
+                break;
+
+            case msg_mission_request_partial_list.MAVLINK_MSG_ID_MISSION_REQUEST_PARTIAL_LIST:
+                pack_mission_request_partial_list((msg_mission_request_partial_list) msg, payload);
+                break;
+
+            case msg_mission_write_partial_list.MAVLINK_MSG_ID_MISSION_WRITE_PARTIAL_LIST:
+                pack_mission_write_partial_list((msg_mission_write_partial_list) msg, payload);
+                break;
+
+            case msg_mission_item.MAVLINK_MSG_ID_MISSION_ITEM:
+                pack_mission_item((msg_mission_item) msg, payload);
+                break;
+
+            case msg_mission_request.MAVLINK_MSG_ID_MISSION_REQUEST:
+                pack_mission_request((msg_mission_request) msg, payload);
+                break;
+
+            case msg_mission_set_current.MAVLINK_MSG_ID_MISSION_SET_CURRENT:
+                pack_mission_set_current((msg_mission_set_current) msg, payload);
+                break;
+
+            case msg_mission_current.MAVLINK_MSG_ID_MISSION_CURRENT:
+                pack_mission_current((msg_mission_current) msg, payload);
+                break;
+
+            case msg_mission_request_list.MAVLINK_MSG_ID_MISSION_REQUEST_LIST:
+                pack_mission_request_list((msg_mission_request_list) msg, payload);
+                break;
+
+            case msg_mission_count.MAVLINK_MSG_ID_MISSION_COUNT:
+                pack_mission_count((msg_mission_count) msg, payload);
+                break;
+
+            case msg_mission_clear_all.MAVLINK_MSG_ID_MISSION_CLEAR_ALL:
+                pack_mission_clear_all((msg_mission_clear_all) msg, payload);
+                break;
+
+            case msg_mission_item_reached.MAVLINK_MSG_ID_MISSION_ITEM_REACHED:
+                pack_mission_item_reached((msg_mission_item_reached) msg, payload);
+                break;
+
+            case msg_mission_ack.MAVLINK_MSG_ID_MISSION_ACK:
+                pack_mission_ack((msg_mission_ack) msg, payload);
+                break;
+
+            case msg_set_gps_global_origin.MAVLINK_MSG_ID_SET_GPS_GLOBAL_ORIGIN:
+                pack_set_gps_global_origin((msg_set_gps_global_origin) msg, payload);
+                break;
+
+            case msg_gps_global_origin.MAVLINK_MSG_ID_GPS_GLOBAL_ORIGIN:
+                pack_gps_global_origin((msg_gps_global_origin) msg, payload);
+                break;
+
+            case msg_safety_set_allowed_area.MAVLINK_MSG_ID_SAFETY_SET_ALLOWED_AREA:
+                pack_safety_set_allowed_area((msg_safety_set_allowed_area) msg, payload);
+                break;
+
+            case msg_safety_allowed_area.MAVLINK_MSG_ID_SAFETY_ALLOWED_AREA:
+                pack_safety_allowed_area((msg_safety_allowed_area) msg, payload);
+                break;
+
+            case msg_attitude_quaternion_cov.MAVLINK_MSG_ID_ATTITUDE_QUATERNION_COV:
+                pack_attitude_quaternion_cov((msg_attitude_quaternion_cov) msg, payload);
+                break;
+
+            case msg_nav_controller_output.MAVLINK_MSG_ID_NAV_CONTROLLER_OUTPUT:
+                pack_nav_controller_output((msg_nav_controller_output) msg, payload);
+                break;
+
+            case msg_global_position_int_cov.MAVLINK_MSG_ID_GLOBAL_POSITION_INT_COV:
+                pack_global_position_int_cov((msg_global_position_int_cov) msg, payload);
+                break;
+
+            case msg_local_position_ned_cov.MAVLINK_MSG_ID_LOCAL_POSITION_NED_COV:
+                pack_local_position_ned_cov((msg_local_position_ned_cov) msg, payload);
+                break;
+
+            case msg_rc_channels.MAVLINK_MSG_ID_RC_CHANNELS:
+                pack_rc_channels((msg_rc_channels) msg, payload);
+                break;
+
+            case msg_request_data_stream.MAVLINK_MSG_ID_REQUEST_DATA_STREAM:
+                pack_request_data_stream((msg_request_data_stream) msg, payload);
+                break;
+
+            case msg_data_stream.MAVLINK_MSG_ID_DATA_STREAM:
+                pack_data_stream((msg_data_stream) msg, payload);
+                break;
+
+            case msg_manual_control.MAVLINK_MSG_ID_MANUAL_CONTROL:
+                pack_manual_control((msg_manual_control) msg, payload);
+                break;
+
+            case msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE:
+                pack_rc_channels_override((msg_rc_channels_override) msg, payload);
+                break;
+
+            case msg_mission_item_int.MAVLINK_MSG_ID_MISSION_ITEM_INT:
+                pack_mission_item_int((msg_mission_item_int) msg, payload);
+                break;
+
+            case msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD:
+                pack_vfr_hud((msg_vfr_hud) msg, payload);
+                break;
+
+            case msg_command_int.MAVLINK_MSG_ID_COMMAND_INT:
+                pack_command_int((msg_command_int) msg, payload);
+                break;
+
+            case msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG:
+                pack_command_long((msg_command_long) msg, payload);
+                break;
+
+            case msg_command_ack.MAVLINK_MSG_ID_COMMAND_ACK:
+                pack_command_ack((msg_command_ack) msg, payload);
+                break;
+
+            case msg_manual_setpoint.MAVLINK_MSG_ID_MANUAL_SETPOINT:
+                pack_manual_setpoint((msg_manual_setpoint) msg, payload);
+                break;
+
+            case msg_set_attitude_target.MAVLINK_MSG_ID_SET_ATTITUDE_TARGET:
+                pack_set_attitude_target((msg_set_attitude_target) msg, payload);
+                break;
+
+            case msg_attitude_target.MAVLINK_MSG_ID_ATTITUDE_TARGET:
+                pack_attitude_target((msg_attitude_target) msg, payload);
+                break;
+
+            case msg_set_position_target_local_ned.MAVLINK_MSG_ID_SET_POSITION_TARGET_LOCAL_NED:
+                pack_set_position_target_local_ned((msg_set_position_target_local_ned) msg, payload);
+                break;
+
+            case msg_position_target_local_ned.MAVLINK_MSG_ID_POSITION_TARGET_LOCAL_NED:
+                pack_position_target_local_ned((msg_position_target_local_ned) msg, payload);
+                break;
+
+            case msg_set_position_target_global_int.MAVLINK_MSG_ID_SET_POSITION_TARGET_GLOBAL_INT:
+                pack_set_position_target_global_int((msg_set_position_target_global_int) msg, payload);
+                break;
+
+            case msg_position_target_global_int.MAVLINK_MSG_ID_POSITION_TARGET_GLOBAL_INT:
+                pack_position_target_global_int((msg_position_target_global_int) msg, payload);
+                break;
+
+            case msg_local_position_ned_system_global_offset.MAVLINK_MSG_ID_LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET:
+                pack_local_position_ned_system_global_offset((msg_local_position_ned_system_global_offset) msg, payload);
+                break;
+
+            case msg_hil_state.MAVLINK_MSG_ID_HIL_STATE:
+                pack_hil_state((msg_hil_state) msg, payload);
+                break;
+
+            case msg_hil_controls.MAVLINK_MSG_ID_HIL_CONTROLS:
+                pack_hil_controls((msg_hil_controls) msg, payload);
+                break;
+
+            case msg_hil_rc_inputs_raw.MAVLINK_MSG_ID_HIL_RC_INPUTS_RAW:
+                pack_hil_rc_inputs_raw((msg_hil_rc_inputs_raw) msg, payload);
+                break;
+
+            case msg_optical_flow.MAVLINK_MSG_ID_OPTICAL_FLOW:
+                pack_optical_flow((msg_optical_flow) msg, payload);
+                break;
+
+            case msg_global_vision_position_estimate.MAVLINK_MSG_ID_GLOBAL_VISION_POSITION_ESTIMATE:
+                pack_global_vision_position_estimate((msg_global_vision_position_estimate) msg, payload);
+                break;
+
+            case msg_vision_position_estimate.MAVLINK_MSG_ID_VISION_POSITION_ESTIMATE:
+                pack_vision_position_estimate((msg_vision_position_estimate) msg, payload);
+                break;
+
+            case msg_vision_speed_estimate.MAVLINK_MSG_ID_VISION_SPEED_ESTIMATE:
+                pack_vision_speed_estimate((msg_vision_speed_estimate) msg, payload);
+                break;
+
+            case msg_vicon_position_estimate.MAVLINK_MSG_ID_VICON_POSITION_ESTIMATE:
+                pack_vicon_position_estimate((msg_vicon_position_estimate) msg, payload);
+                break;
+
+            case msg_highres_imu.MAVLINK_MSG_ID_HIGHRES_IMU:
+                pack_highres_imu((msg_highres_imu) msg, payload);
+                break;
+
+            case msg_optical_flow_rad.MAVLINK_MSG_ID_OPTICAL_FLOW_RAD:
+                pack_optical_flow_rad((msg_optical_flow_rad) msg, payload);
+                break;
+
+            case msg_hil_sensor.MAVLINK_MSG_ID_HIL_SENSOR:
+                pack_hil_sensor((msg_hil_sensor) msg, payload);
+                break;
+
+            case msg_sim_state.MAVLINK_MSG_ID_SIM_STATE:
+                pack_sim_state((msg_sim_state) msg, payload);
+                break;
+
+            case msg_radio_status.MAVLINK_MSG_ID_RADIO_STATUS:
+                pack_radio_status((msg_radio_status) msg, payload);
+                break;
+
+            case msg_file_transfer_protocol.MAVLINK_MSG_ID_FILE_TRANSFER_PROTOCOL:
+                pack_file_transfer_protocol((msg_file_transfer_protocol) msg, payload);
+                break;
+
+            case msg_timesync.MAVLINK_MSG_ID_TIMESYNC:
+                pack_timesync((msg_timesync) msg, payload);
+                break;
+
+            case msg_hil_gps.MAVLINK_MSG_ID_HIL_GPS:
+                pack_hil_gps((msg_hil_gps) msg, payload);
+                break;
+
+            case msg_hil_optical_flow.MAVLINK_MSG_ID_HIL_OPTICAL_FLOW:
+                pack_hil_optical_flow((msg_hil_optical_flow) msg, payload);
+                break;
+
+            case msg_hil_state_quaternion.MAVLINK_MSG_ID_HIL_STATE_QUATERNION:
+                pack_hil_state_quaternion((msg_hil_state_quaternion) msg, payload);
+                break;
+
+            case msg_scaled_imu2.MAVLINK_MSG_ID_SCALED_IMU2:
+                pack_scaled_imu2((msg_scaled_imu2) msg, payload);
+                break;
+
+            case msg_log_request_list.MAVLINK_MSG_ID_LOG_REQUEST_LIST:
+                pack_log_request_list((msg_log_request_list) msg, payload);
+                break;
+
+            case msg_log_entry.MAVLINK_MSG_ID_LOG_ENTRY:
+                pack_log_entry((msg_log_entry) msg, payload);
+                break;
+
+            case msg_log_request_data.MAVLINK_MSG_ID_LOG_REQUEST_DATA:
+                pack_log_request_data((msg_log_request_data) msg, payload);
+                break;
+
+            case msg_log_data.MAVLINK_MSG_ID_LOG_DATA:
+                pack_log_data((msg_log_data) msg, payload);
+                break;
+
+            case msg_log_erase.MAVLINK_MSG_ID_LOG_ERASE:
+                pack_log_erase((msg_log_erase) msg, payload);
+                break;
+
+            case msg_log_request_end.MAVLINK_MSG_ID_LOG_REQUEST_END:
+                pack_log_request_end((msg_log_request_end) msg, payload);
+                break;
+
+            case msg_gps_inject_data.MAVLINK_MSG_ID_GPS_INJECT_DATA:
+                pack_gps_inject_data((msg_gps_inject_data) msg, payload);
+                break;
+
+            case msg_gps2_raw.MAVLINK_MSG_ID_GPS2_RAW:
+                pack_gps2_raw((msg_gps2_raw) msg, payload);
+                break;
+
+            case msg_power_status.MAVLINK_MSG_ID_POWER_STATUS:
+                pack_power_status((msg_power_status) msg, payload);
+                break;
+
+            case msg_serial_control.MAVLINK_MSG_ID_SERIAL_CONTROL:
+                pack_serial_control((msg_serial_control) msg, payload);
+                break;
+
+            case msg_gps_rtk.MAVLINK_MSG_ID_GPS_RTK:
+                pack_gps_rtk((msg_gps_rtk) msg, payload);
+                break;
+
+            case msg_gps2_rtk.MAVLINK_MSG_ID_GPS2_RTK:
+                pack_gps2_rtk((msg_gps2_rtk) msg, payload);
+                break;
+
+            case msg_data_transmission_handshake.MAVLINK_MSG_ID_DATA_TRANSMISSION_HANDSHAKE:
+                pack_data_transmission_handshake((msg_data_transmission_handshake) msg, payload);
+                break;
+
+            case msg_encapsulated_data.MAVLINK_MSG_ID_ENCAPSULATED_DATA:
+                pack_encapsulated_data((msg_encapsulated_data) msg, payload);
+                break;
+
+            case msg_distance_sensor.MAVLINK_MSG_ID_DISTANCE_SENSOR:
+                pack_distance_sensor((msg_distance_sensor) msg, payload);
+                break;
+
+            case msg_terrain_request.MAVLINK_MSG_ID_TERRAIN_REQUEST:
+                pack_terrain_request((msg_terrain_request) msg, payload);
+                break;
+
+            case msg_terrain_data.MAVLINK_MSG_ID_TERRAIN_DATA:
+                pack_terrain_data((msg_terrain_data) msg, payload);
+                break;
+
+            case msg_terrain_check.MAVLINK_MSG_ID_TERRAIN_CHECK:
+                pack_terrain_check((msg_terrain_check) msg, payload);
+                break;
+
+            case msg_terrain_report.MAVLINK_MSG_ID_TERRAIN_REPORT:
+                pack_terrain_report((msg_terrain_report) msg, payload);
+                break;
+
+            case msg_battery_status.MAVLINK_MSG_ID_BATTERY_STATUS:
+                pack_battery_status((msg_battery_status) msg, payload);
+                break;
+
+            case msg_autopilot_version.MAVLINK_MSG_ID_AUTOPILOT_VERSION:
+                pack_autopilot_version((msg_autopilot_version) msg, payload);
+                break;
+
+            case msg_v2_extension.MAVLINK_MSG_ID_V2_EXTENSION:
+                pack_v2_extension((msg_v2_extension) msg, payload);
+                break;
+
+            case msg_memory_vect.MAVLINK_MSG_ID_MEMORY_VECT:
+                pack_memory_vect((msg_memory_vect) msg, payload);
+                break;
+
+            case msg_debug_vect.MAVLINK_MSG_ID_DEBUG_VECT:
+                pack_debug_vect((msg_debug_vect) msg, payload);
+                break;
+
+            case msg_named_value_float.MAVLINK_MSG_ID_NAMED_VALUE_FLOAT:
+                pack_named_value_float((msg_named_value_float) msg, payload);
+                break;
+
+            case msg_named_value_int.MAVLINK_MSG_ID_NAMED_VALUE_INT:
+                pack_named_value_int((msg_named_value_int) msg, payload);
+                break;
+
+            case msg_statustext.MAVLINK_MSG_ID_STATUSTEXT:
+                pack_statustext((msg_statustext) msg, payload);
+                break;
+
+            case msg_debug.MAVLINK_MSG_ID_DEBUG:
+                pack_debug((msg_debug) msg, payload);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Message " + msg.msgid + " isn't part of the common dialect");
+        }
+    }
+
+    private static void pack_heartbeat(msg_heartbeat m, MAVLinkPayload payload){
+        payload.putInt(m.custom_mode);
+        payload.putByte(m.type);
+        payload.putByte(m.autopilot);
+        payload.putByte(m.base_mode);
+        payload.putByte(m.system_status);
+        payload.putByte(m.mavlink_version);
+    }
+
+    private static void pack_sys_status(msg_sys_status m, MAVLinkPayload payload){
+        payload.putInt(m.onboard_control_sensors_present);
+        payload.putInt(m.onboard_control_sensors_enabled);
+        payload.putInt(m.onboard_control_sensors_health);
+        payload.putShort(m.load);
+        payload.putShort(m.voltage_battery);
+        payload.putShort(m.current_battery);
+        payload.putShort(m.drop_rate_comm);
+        payload.putShort(m.errors_comm);
+        payload.putShort(m.errors_count1);
+        payload.putShort(m.errors_count2);
+        payload.putShort(m.errors_count3);
+        payload.putShort(m.errors_count4);
+        payload.putByte(m.battery_remaining);
+    }
+
+    private static void pack_system_time(msg_system_time m, MAVLinkPayload payload){
+        payload.putLong(m.time_unix_usec);
+        payload.putInt(m.time_boot_ms);
+    }
+
+    private static void pack_ping(msg_ping m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.seq);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_change_operator_control(msg_change_operator_control m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.control_request);
+        payload.putByte(m.version);
+        for(int i = 0; i < m.passkey.length; i++){
+            payload.putByte(m.passkey[i]);
+        }
+    }
+
+    private static void pack_change_operator_control_ack(msg_change_operator_control_ack m, MAVLinkPayload payload){
+        payload.putByte(m.gcs_system_id);
+        payload.putByte(m.control_request);
+        payload.putByte(m.ack);
+    }
+
+    private static void pack_auth_key(msg_auth_key m, MAVLinkPayload payload){
+        for(int i = 0; i < m.key.length; i++){
+            payload.putByte(m.key[i]);
+        }
+    }
+
+    private static void pack_set_mode(msg_set_mode m, MAVLinkPayload payload){
+        payload.putInt(m.custom_mode);
+        payload.putByte(m.target_system);
+        payload.putByte(m.base_mode);
+    }
+
+    private static void pack_param_request_read(msg_param_request_read m, MAVLinkPayload payload){
+        payload.putShort(m.param_index);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        for(int i = 0; i < m.param_id.length; i++){
+            payload.putByte(m.param_id[i]);
+        }
+    }
+
+    private static void pack_param_request_list(msg_param_request_list m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_param_value(msg_param_value m, MAVLinkPayload payload){
+        payload.putFloat(m.param_value);
+        payload.putShort(m.param_count);
+        payload.putShort(m.param_index);
+        for(int i = 0; i < m.param_id.length; i++){
+            payload.putByte(m.param_id[i]);
+        }
+        payload.putByte(m.param_type);
+    }
+
+    private static void pack_param_set(msg_param_set m, MAVLinkPayload payload){
+        payload.putFloat(m.param_value);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        for(int i = 0; i < m.param_id.length; i++){
+            payload.putByte(m.param_id[i]);
+        }
+        payload.putByte(m.param_type);
+    }
+
+    private static void pack_gps_raw_int(msg_gps_raw_int m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putShort(m.eph);
+        payload.putShort(m.epv);
+        payload.putShort(m.vel);
+        payload.putShort(m.cog);
+        payload.putByte(m.fix_type);
+        payload.putByte(m.satellites_visible);
+    }
+
+    private static void pack_gps_status(msg_gps_status m, MAVLinkPayload payload){
+        payload.putByte(m.satellites_visible);
+        for(int i = 0; i < m.satellite_prn.length; i++){
+            payload.putByte(m.satellite_prn[i]);
+        }
+        for(int i = 0; i < m.satellite_used.length; i++){
+            payload.putByte(m.satellite_used[i]);
+        }
+        for(int i = 0; i < m.satellite_elevation.length; i++){
+            payload.putByte(m.satellite_elevation[i]);
+        }
+        for(int i = 0; i < m.satellite_azimuth.length; i++){
+            payload.putByte(m.satellite_azimuth[i]);
+        }
+        for(int i = 0; i < m.satellite_snr.length; i++){
+            payload.putByte(m.satellite_snr[i]);
+        }
+    }
+
+    private static void pack_scaled_imu(msg_scaled_imu m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.xacc);
+        payload.putShort(m.yacc);
+        payload.putShort(m.zacc);
+        payload.putShort(m.xgyro);
+        payload.putShort(m.ygyro);
+        payload.putShort(m.zgyro);
+        payload.putShort(m.xmag);
+        payload.putShort(m.ymag);
+        payload.putShort(m.zmag);
+    }
+
+    private static void pack_raw_imu(msg_raw_imu m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putShort(m.xacc);
+        payload.putShort(m.yacc);
+        payload.putShort(m.zacc);
+        payload.putShort(m.xgyro);
+        payload.putShort(m.ygyro);
+        payload.putShort(m.zgyro);
+        payload.putShort(m.xmag);
+        payload.putShort(m.ymag);
+        payload.putShort(m.zmag);
+    }
+
+    private static void pack_raw_pressure(msg_raw_pressure m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putShort(m.press_abs);
+        payload.putShort(m.press_diff1);
+        payload.putShort(m.press_diff2);
+        payload.putShort(m.temperature);
+    }
+
+    private static void pack_scaled_pressure(msg_scaled_pressure m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.press_abs);
+        payload.putFloat(m.press_diff);
+        payload.putShort(m.temperature);
+    }
+
+    private static void pack_attitude(msg_attitude m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.rollspeed);
+        payload.putFloat(m.pitchspeed);
+        payload.putFloat(m.yawspeed);
+    }
+
+    private static void pack_attitude_quaternion(msg_attitude_quaternion m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.q1);
+        payload.putFloat(m.q2);
+        payload.putFloat(m.q3);
+        payload.putFloat(m.q4);
+        payload.putFloat(m.rollspeed);
+        payload.putFloat(m.pitchspeed);
+        payload.putFloat(m.yawspeed);
+    }
+
+    private static void pack_local_position_ned(msg_local_position_ned m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+    }
+
+    private static void pack_global_position_int(msg_global_position_int m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putInt(m.relative_alt);
+        payload.putShort(m.vx);
+        payload.putShort(m.vy);
+        payload.putShort(m.vz);
+        payload.putShort(m.hdg);
+    }
+
+    private static void pack_rc_channels_scaled(msg_rc_channels_scaled m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.chan1_scaled);
+        payload.putShort(m.chan2_scaled);
+        payload.putShort(m.chan3_scaled);
+        payload.putShort(m.chan4_scaled);
+        payload.putShort(m.chan5_scaled);
+        payload.putShort(m.chan6_scaled);
+        payload.putShort(m.chan7_scaled);
+        payload.putShort(m.chan8_scaled);
+        payload.putByte(m.port);
+        payload.putByte(m.rssi);
+    }
+
+    private static void pack_rc_channels_raw(msg_rc_channels_raw m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.chan1_raw);
+        payload.putShort(m.chan2_raw);
+        payload.putShort(m.chan3_raw);
+        payload.putShort(m.chan4_raw);
+        payload.putShort(m.chan5_raw);
+        payload.putShort(m.chan6_raw);
+        payload.putShort(m.chan7_raw);
+        payload.putShort(m.chan8_raw);
+        payload.putByte(m.port);
+        payload.putByte(m.rssi);
+    }
+
+    private static void pack_servo_output_raw(msg_servo_output_raw m, MAVLinkPayload payload){
+        payload.putInt(m.time_usec);
+        payload.putShort(m.servo1_raw);
+        payload.putShort(m.servo2_raw);
+        payload.putShort(m.servo3_raw);
+        payload.putShort(m.servo4_raw);
+        payload.putShort(m.servo5_raw);
+        payload.putShort(m.servo6_raw);
+        payload.putShort(m.servo7_raw);
+        payload.putShort(m.servo8_raw);
+        payload.putByte(m.port);
+    }
+
+    private static void pack_mission_request_partial_list(msg_mission_request_partial_list m, MAVLinkPayload payload){
+        payload.putShort(m.start_index);
+        payload.putShort(m.end_index);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_write_partial_list(msg_mission_write_partial_list m, MAVLinkPayload payload){
+        payload.putShort(m.start_index);
+        payload.putShort(m.end_index);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_item(msg_mission_item m, MAVLinkPayload payload){
+        payload.putFloat(m.param1);
+        payload.putFloat(m.param2);
+        payload.putFloat(m.param3);
+        payload.putFloat(m.param4);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putShort(m.seq);
+        payload.putShort(m.command);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.frame);
+        payload.putByte(m.current);
+        payload.putByte(m.autocontinue);
+    }
+
+    private static void pack_mission_request(msg_mission_request m, MAVLinkPayload payload){
+        payload.putShort(m.seq);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_set_current(msg_mission_set_current m, MAVLinkPayload payload){
+        payload.putShort(m.seq);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_current(msg_mission_current m, MAVLinkPayload payload){
+        payload.putShort(m.seq);
+    }
+
+    private static void pack_mission_request_list(msg_mission_request_list m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_count(msg_mission_count m, MAVLinkPayload payload){
+        payload.putShort(m.count);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_clear_all(msg_mission_clear_all m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_item_reached(msg_mission_item_reached m, MAVLinkPayload payload){
+        payload.putShort(m.seq);
+    }
+
+    private static void pack_mission_ack(msg_mission_ack m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.type);
+    }
+
+    private static void pack_set_gps_global_origin(msg_set_gps_global_origin m, MAVLinkPayload payload){
+        payload.putInt(m.latitude);
+        payload.putInt(m.longitude);
+        payload.putInt(m.altitude);
+        payload.putByte(m.target_system);
+    }
+
+    private static void pack_gps_global_origin(msg_gps_global_origin m, MAVLinkPayload payload){
+        payload.putInt(m.latitude);
+        payload.putInt(m.longitude);
+        payload.putInt(m.altitude);
+    }
+
+    private static void pack_safety_set_allowed_area(msg_safety_set_allowed_area m, MAVLinkPayload payload){
+        payload.putFloat(m.p1x);
+        payload.putFloat(m.p1y);
+        payload.putFloat(m.p1z);
+        payload.putFloat(m.p2x);
+        payload.putFloat(m.p2y);
+        payload.putFloat(m.p2z);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.frame);
+    }
+
+    private static void pack_safety_allowed_area(msg_safety_allowed_area m, MAVLinkPayload payload){
+        payload.putFloat(m.p1x);
+        payload.putFloat(m.p1y);
+        payload.putFloat(m.p1z);
+        payload.putFloat(m.p2x);
+        payload.putFloat(m.p2y);
+        payload.putFloat(m.p2z);
+        payload.putByte(m.frame);
+    }
+
+    private static void pack_attitude_quaternion_cov(msg_attitude_quaternion_cov m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        for(int i = 0; i < m.q.length; i++){
+            payload.putFloat(m.q[i]);
+        }
+        payload.putFloat(m.rollspeed);
+        payload.putFloat(m.pitchspeed);
+        payload.putFloat(m.yawspeed);
+        for(int i = 0; i < m.covariance.length; i++){
+            payload.putFloat(m.covariance[i]);
+        }
+    }
+
+    private static void pack_nav_controller_output(msg_nav_controller_output m, MAVLinkPayload payload){
+        payload.putFloat(m.nav_roll);
+        payload.putFloat(m.nav_pitch);
+        payload.putFloat(m.alt_error);
+        payload.putFloat(m.aspd_error);
+        payload.putFloat(m.xtrack_error);
+        payload.putShort(m.nav_bearing);
+        payload.putShort(m.target_bearing);
+        payload.putShort(m.wp_dist);
+    }
+
+    private static void pack_global_position_int_cov(msg_global_position_int_cov m, MAVLinkPayload payload){
+        payload.putLong(m.time_utc);
+        payload.putInt(m.time_boot_ms);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putInt(m.relative_alt);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        for(int i = 0; i < m.covariance.length; i++){
+            payload.putFloat(m.covariance[i]);
+        }
+        payload.putByte(m.estimator_type);
+    }
+
+    private static void pack_local_position_ned_cov(msg_local_position_ned_cov m, MAVLinkPayload payload){
+        payload.putLong(m.time_utc);
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        for(int i = 0; i < m.covariance.length; i++){
+            payload.putFloat(m.covariance[i]);
+        }
+        payload.putByte(m.estimator_type);
+    }
+
+    private static void pack_rc_channels(msg_rc_channels m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.chan1_raw);
+        payload.putShort(m.chan2_raw);
+        payload.putShort(m.chan3_raw);
+        payload.putShort(m.chan4_raw);
+        payload.putShort(m.chan5_raw);
+        payload.putShort(m.chan6_raw);
+        payload.putShort(m.chan7_raw);
+        payload.putShort(m.chan8_raw);
+        payload.putShort(m.chan9_raw);
+        payload.putShort(m.chan10_raw);
+        payload.putShort(m.chan11_raw);
+        payload.putShort(m.chan12_raw);
+        payload.putShort(m.chan13_raw);
+        payload.putShort(m.chan14_raw);
+        payload.putShort(m.chan15_raw);
+        payload.putShort(m.chan16_raw);
+        payload.putShort(m.chan17_raw);
+        payload.putShort(m.chan18_raw);
+        payload.putByte(m.chancount);
+        payload.putByte(m.rssi);
+    }
+
+    private static void pack_request_data_stream(msg_request_data_stream m, MAVLinkPayload payload){
+        payload.putShort(m.req_message_rate);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.req_stream_id);
+        payload.putByte(m.start_stop);
+    }
+
+    private static void pack_data_stream(msg_data_stream m, MAVLinkPayload payload){
+        payload.putShort(m.message_rate);
+        payload.putByte(m.stream_id);
+        payload.putByte(m.on_off);
+    }
+
+    private static void pack_manual_control(msg_manual_control m, MAVLinkPayload payload){
+        payload.putShort(m.x);
+        payload.putShort(m.y);
+        payload.putShort(m.z);
+        payload.putShort(m.r);
+        payload.putShort(m.buttons);
+        payload.putByte(m.target);
+    }
+
+    private static void pack_rc_channels_override(msg_rc_channels_override m, MAVLinkPayload payload){
+        payload.putShort(m.chan1_raw);
+        payload.putShort(m.chan2_raw);
+        payload.putShort(m.chan3_raw);
+        payload.putShort(m.chan4_raw);
+        payload.putShort(m.chan5_raw);
+        payload.putShort(m.chan6_raw);
+        payload.putShort(m.chan7_raw);
+        payload.putShort(m.chan8_raw);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_mission_item_int(msg_mission_item_int m, MAVLinkPayload payload){
+        payload.putFloat(m.param1);
+        payload.putFloat(m.param2);
+        payload.putFloat(m.param3);
+        payload.putFloat(m.param4);
+        payload.putInt(m.x);
+        payload.putInt(m.y);
+        payload.putFloat(m.z);
+        payload.putShort(m.seq);
+        payload.putShort(m.command);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.frame);
+        payload.putByte(m.current);
+        payload.putByte(m.autocontinue);
+    }
+
+    private static void pack_vfr_hud(msg_vfr_hud m, MAVLinkPayload payload){
+        payload.putFloat(m.airspeed);
+        payload.putFloat(m.groundspeed);
+        payload.putFloat(m.alt);
+        payload.putFloat(m.climb);
+        payload.putShort(m.heading);
+        payload.putShort(m.throttle);
+    }
+
+    private static void pack_command_int(msg_command_int m, MAVLinkPayload payload){
+        payload.putFloat(m.param1);
+        payload.putFloat(m.param2);
+        payload.putFloat(m.param3);
+        payload.putFloat(m.param4);
+        payload.putInt(m.x);
+        payload.putInt(m.y);
+        payload.putFloat(m.z);
+        payload.putShort(m.command);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.frame);
+        payload.putByte(m.current);
+        payload.putByte(m.autocontinue);
+    }
+
+    private static void pack_command_long(msg_command_long m, MAVLinkPayload payload){
+        payload.putFloat(m.param1);
+        payload.putFloat(m.param2);
+        payload.putFloat(m.param3);
+        payload.putFloat(m.param4);
+        payload.putFloat(m.param5);
+        payload.putFloat(m.param6);
+        payload.putFloat(m.param7);
+        payload.putShort(m.command);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.confirmation);
+    }
+
+    private static void pack_command_ack(msg_command_ack m, MAVLinkPayload payload){
+        payload.putShort(m.command);
+        payload.putByte(m.result);
+    }
+
+    private static void pack_manual_setpoint(msg_manual_setpoint m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.thrust);
+        payload.putByte(m.mode_switch);
+        payload.putByte(m.manual_override_switch);
+    }
+
+    private static void pack_set_attitude_target(msg_set_attitude_target m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        for(int i = 0; i < m.q.length; i++){
+            payload.putFloat(m.q[i]);
+        }
+        payload.putFloat(m.body_roll_rate);
+        payload.putFloat(m.body_pitch_rate);
+        payload.putFloat(m.body_yaw_rate);
+        payload.putFloat(m.thrust);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.type_mask);
+    }
+
+    private static void pack_attitude_target(msg_attitude_target m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        for(int i = 0; i < m.q.length; i++){
+            payload.putFloat(m.q[i]);
+        }
+        payload.putFloat(m.body_roll_rate);
+        payload.putFloat(m.body_pitch_rate);
+        payload.putFloat(m.body_yaw_rate);
+        payload.putFloat(m.thrust);
+        payload.putByte(m.type_mask);
+    }
+
+    private static void pack_set_position_target_local_ned(msg_set_position_target_local_ned m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        payload.putFloat(m.afx);
+        payload.putFloat(m.afy);
+        payload.putFloat(m.afz);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.yaw_rate);
+        payload.putShort(m.type_mask);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.coordinate_frame);
+    }
+
+    private static void pack_position_target_local_ned(msg_position_target_local_ned m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        payload.putFloat(m.afx);
+        payload.putFloat(m.afy);
+        payload.putFloat(m.afz);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.yaw_rate);
+        payload.putShort(m.type_mask);
+        payload.putByte(m.coordinate_frame);
+    }
+
+    private static void pack_set_position_target_global_int(msg_set_position_target_global_int m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putInt(m.lat_int);
+        payload.putInt(m.lon_int);
+        payload.putFloat(m.alt);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        payload.putFloat(m.afx);
+        payload.putFloat(m.afy);
+        payload.putFloat(m.afz);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.yaw_rate);
+        payload.putShort(m.type_mask);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.coordinate_frame);
+    }
+
+    private static void pack_position_target_global_int(msg_position_target_global_int m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putInt(m.lat_int);
+        payload.putInt(m.lon_int);
+        payload.putFloat(m.alt);
+        payload.putFloat(m.vx);
+        payload.putFloat(m.vy);
+        payload.putFloat(m.vz);
+        payload.putFloat(m.afx);
+        payload.putFloat(m.afy);
+        payload.putFloat(m.afz);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.yaw_rate);
+        payload.putShort(m.type_mask);
+        payload.putByte(m.coordinate_frame);
+    }
+
+    private static void pack_local_position_ned_system_global_offset(msg_local_position_ned_system_global_offset m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+    }
+
+    private static void pack_hil_state(msg_hil_state m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.rollspeed);
+        payload.putFloat(m.pitchspeed);
+        payload.putFloat(m.yawspeed);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putShort(m.vx);
+        payload.putShort(m.vy);
+        payload.putShort(m.vz);
+        payload.putShort(m.xacc);
+        payload.putShort(m.yacc);
+        payload.putShort(m.zacc);
+    }
+
+    private static void pack_hil_controls(msg_hil_controls m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.roll_ailerons);
+        payload.putFloat(m.pitch_elevator);
+        payload.putFloat(m.yaw_rudder);
+        payload.putFloat(m.throttle);
+        payload.putFloat(m.aux1);
+        payload.putFloat(m.aux2);
+        payload.putFloat(m.aux3);
+        payload.putFloat(m.aux4);
+        payload.putByte(m.mode);
+        payload.putByte(m.nav_mode);
+    }
+
+    private static void pack_hil_rc_inputs_raw(msg_hil_rc_inputs_raw m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putShort(m.chan1_raw);
+        payload.putShort(m.chan2_raw);
+        payload.putShort(m.chan3_raw);
+        payload.putShort(m.chan4_raw);
+        payload.putShort(m.chan5_raw);
+        payload.putShort(m.chan6_raw);
+        payload.putShort(m.chan7_raw);
+        payload.putShort(m.chan8_raw);
+        payload.putShort(m.chan9_raw);
+        payload.putShort(m.chan10_raw);
+        payload.putShort(m.chan11_raw);
+        payload.putShort(m.chan12_raw);
+        payload.putByte(m.rssi);
+    }
+
+    private static void pack_optical_flow(msg_optical_flow m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.flow_comp_m_x);
+        payload.putFloat(m.flow_comp_m_y);
+        payload.putFloat(m.ground_distance);
+        payload.putShort(m.flow_x);
+        payload.putShort(m.flow_y);
+        payload.putByte(m.sensor_id);
+        payload.putByte(m.quality);
+    }
+
+    private static void pack_global_vision_position_estimate(msg_global_vision_position_estimate m, MAVLinkPayload payload){
+        payload.putLong(m.usec);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+    }
+
+    private static void pack_vision_position_estimate(msg_vision_position_estimate m, MAVLinkPayload payload){
+        payload.putLong(m.usec);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+    }
+
+    private static void pack_vision_speed_estimate(msg_vision_speed_estimate m, MAVLinkPayload payload){
+        payload.putLong(m.usec);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+    }
+
+    private static void pack_vicon_position_estimate(msg_vicon_position_estimate m, MAVLinkPayload payload){
+        payload.putLong(m.usec);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+    }
+
+    private static void pack_highres_imu(msg_highres_imu m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.xacc);
+        payload.putFloat(m.yacc);
+        payload.putFloat(m.zacc);
+        payload.putFloat(m.xgyro);
+        payload.putFloat(m.ygyro);
+        payload.putFloat(m.zgyro);
+        payload.putFloat(m.xmag);
+        payload.putFloat(m.ymag);
+        payload.putFloat(m.zmag);
+        payload.putFloat(m.abs_pressure);
+        payload.putFloat(m.diff_pressure);
+        payload.putFloat(m.pressure_alt);
+        payload.putFloat(m.temperature);
+        payload.putShort(m.fields_updated);
+    }
+
+    private static void pack_optical_flow_rad(msg_optical_flow_rad m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.integration_time_us);
+        payload.putFloat(m.integrated_x);
+        payload.putFloat(m.integrated_y);
+        payload.putFloat(m.integrated_xgyro);
+        payload.putFloat(m.integrated_ygyro);
+        payload.putFloat(m.integrated_zgyro);
+        payload.putInt(m.time_delta_distance_us);
+        payload.putFloat(m.distance);
+        payload.putShort(m.temperature);
+        payload.putByte(m.sensor_id);
+        payload.putByte(m.quality);
+    }
+
+    private static void pack_hil_sensor(msg_hil_sensor m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.xacc);
+        payload.putFloat(m.yacc);
+        payload.putFloat(m.zacc);
+        payload.putFloat(m.xgyro);
+        payload.putFloat(m.ygyro);
+        payload.putFloat(m.zgyro);
+        payload.putFloat(m.xmag);
+        payload.putFloat(m.ymag);
+        payload.putFloat(m.zmag);
+        payload.putFloat(m.abs_pressure);
+        payload.putFloat(m.diff_pressure);
+        payload.putFloat(m.pressure_alt);
+        payload.putFloat(m.temperature);
+        payload.putInt(m.fields_updated);
+    }
+
+    private static void pack_sim_state(msg_sim_state m, MAVLinkPayload payload){
+        payload.putFloat(m.q1);
+        payload.putFloat(m.q2);
+        payload.putFloat(m.q3);
+        payload.putFloat(m.q4);
+        payload.putFloat(m.roll);
+        payload.putFloat(m.pitch);
+        payload.putFloat(m.yaw);
+        payload.putFloat(m.xacc);
+        payload.putFloat(m.yacc);
+        payload.putFloat(m.zacc);
+        payload.putFloat(m.xgyro);
+        payload.putFloat(m.ygyro);
+        payload.putFloat(m.zgyro);
+        payload.putFloat(m.lat);
+        payload.putFloat(m.lon);
+        payload.putFloat(m.alt);
+        payload.putFloat(m.std_dev_horz);
+        payload.putFloat(m.std_dev_vert);
+        payload.putFloat(m.vn);
+        payload.putFloat(m.ve);
+        payload.putFloat(m.vd);
+    }
+
+    private static void pack_radio_status(msg_radio_status m, MAVLinkPayload payload){
+        payload.putShort(m.rxerrors);
+        payload.putShort(m.fixed);
+        payload.putByte(m.rssi);
+        payload.putByte(m.remrssi);
+        payload.putByte(m.txbuf);
+        payload.putByte(m.noise);
+        payload.putByte(m.remnoise);
+    }
+
+    private static void pack_file_transfer_protocol(msg_file_transfer_protocol m, MAVLinkPayload payload){
+        payload.putByte(m.target_network);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        for(int i = 0; i < m.payload.length; i++){
+            payload.putByte(m.payload[i]);
+        }
+    }
+
+    private static void pack_timesync(msg_timesync m, MAVLinkPayload payload){
+        payload.putLong(m.tc1);
+        payload.putLong(m.ts1);
+    }
+
+    private static void pack_hil_gps(msg_hil_gps m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putShort(m.eph);
+        payload.putShort(m.epv);
+        payload.putShort(m.vel);
+        payload.putShort(m.vn);
+        payload.putShort(m.ve);
+        payload.putShort(m.vd);
+        payload.putShort(m.cog);
+        payload.putByte(m.fix_type);
+        payload.putByte(m.satellites_visible);
+    }
+
+    private static void pack_hil_optical_flow(msg_hil_optical_flow m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.integration_time_us);
+        payload.putFloat(m.integrated_x);
+        payload.putFloat(m.integrated_y);
+        payload.putFloat(m.integrated_xgyro);
+        payload.putFloat(m.integrated_ygyro);
+        payload.putFloat(m.integrated_zgyro);
+        payload.putInt(m.time_delta_distance_us);
+        payload.putFloat(m.distance);
+        payload.putShort(m.temperature);
+        payload.putByte(m.sensor_id);
+        payload.putByte(m.quality);
+    }
+
+    private static void pack_hil_state_quaternion(msg_hil_state_quaternion m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        for(int i = 0; i < m.attitude_quaternion.length; i++){
+            payload.putFloat(m.attitude_quaternion[i]);
+        }
+        payload.putFloat(m.rollspeed);
+        payload.putFloat(m.pitchspeed);
+        payload.putFloat(m.yawspeed);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putShort(m.vx);
+        payload.putShort(m.vy);
+        payload.putShort(m.vz);
+        payload.putShort(m.ind_airspeed);
+        payload.putShort(m.true_airspeed);
+        payload.putShort(m.xacc);
+        payload.putShort(m.yacc);
+        payload.putShort(m.zacc);
+    }
+
+    private static void pack_scaled_imu2(msg_scaled_imu2 m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.xacc);
+        payload.putShort(m.yacc);
+        payload.putShort(m.zacc);
+        payload.putShort(m.xgyro);
+        payload.putShort(m.ygyro);
+        payload.putShort(m.zgyro);
+        payload.putShort(m.xmag);
+        payload.putShort(m.ymag);
+        payload.putShort(m.zmag);
+    }
+
+    private static void pack_log_request_list(msg_log_request_list m, MAVLinkPayload payload){
+        payload.putShort(m.start);
+        payload.putShort(m.end);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_log_entry(msg_log_entry m, MAVLinkPayload payload){
+        payload.putInt(m.time_utc);
+        payload.putInt(m.size);
+        payload.putShort(m.id);
+        payload.putShort(m.num_logs);
+        payload.putShort(m.last_log_num);
+    }
+
+    private static void pack_log_request_data(msg_log_request_data m, MAVLinkPayload payload){
+        payload.putInt(m.ofs);
+        payload.putInt(m.count);
+        payload.putShort(m.id);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_log_data(msg_log_data m, MAVLinkPayload payload){
+        payload.putInt(m.ofs);
+        payload.putShort(m.id);
+        payload.putByte(m.count);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_log_erase(msg_log_erase m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_log_request_end(msg_log_request_end m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+    }
+
+    private static void pack_gps_inject_data(msg_gps_inject_data m, MAVLinkPayload payload){
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        payload.putByte(m.len);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_gps2_raw(msg_gps2_raw m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putInt(m.alt);
+        payload.putInt(m.dgps_age);
+        payload.putShort(m.eph);
+        payload.putShort(m.epv);
+        payload.putShort(m.vel);
+        payload.putShort(m.cog);
+        payload.putByte(m.fix_type);
+        payload.putByte(m.satellites_visible);
+        payload.putByte(m.dgps_numch);
+    }
+
+    private static void pack_power_status(msg_power_status m, MAVLinkPayload payload){
+        payload.putShort(m.Vcc);
+        payload.putShort(m.Vservo);
+        payload.putShort(m.flags);
+    }
+
+    private static void pack_serial_control(msg_serial_control m, MAVLinkPayload payload){
+        payload.putInt(m.baudrate);
+        payload.putShort(m.timeout);
+        payload.putByte(m.device);
+        payload.putByte(m.flags);
+        payload.putByte(m.count);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_gps_rtk(msg_gps_rtk m, MAVLinkPayload payload){
+        payload.putInt(m.time_last_baseline_ms);
+        payload.putInt(m.tow);
+        payload.putInt(m.baseline_a_mm);
+        payload.putInt(m.baseline_b_mm);
+        payload.putInt(m.baseline_c_mm);
+        payload.putInt(m.accuracy);
+        payload.putInt(m.iar_num_hypotheses);
+        payload.putShort(m.wn);
+        payload.putByte(m.rtk_receiver_id);
+        payload.putByte(m.rtk_health);
+        payload.putByte(m.rtk_rate);
+        payload.putByte(m.nsats);
+        payload.putByte(m.baseline_coords_type);
+    }
+
+    private static void pack_gps2_rtk(msg_gps2_rtk m, MAVLinkPayload payload){
+        payload.putInt(m.time_last_baseline_ms);
+        payload.putInt(m.tow);
+        payload.putInt(m.baseline_a_mm);
+        payload.putInt(m.baseline_b_mm);
+        payload.putInt(m.baseline_c_mm);
+        payload.putInt(m.accuracy);
+        payload.putInt(m.iar_num_hypotheses);
+        payload.putShort(m.wn);
+        payload.putByte(m.rtk_receiver_id);
+        payload.putByte(m.rtk_health);
+        payload.putByte(m.rtk_rate);
+        payload.putByte(m.nsats);
+        payload.putByte(m.baseline_coords_type);
+    }
+
+    private static void pack_data_transmission_handshake(msg_data_transmission_handshake m, MAVLinkPayload payload){
+        payload.putInt(m.size);
+        payload.putShort(m.width);
+        payload.putShort(m.height);
+        payload.putShort(m.packets);
+        payload.putByte(m.type);
+        payload.putByte(m.payload);
+        payload.putByte(m.jpg_quality);
+    }
+
+    private static void pack_encapsulated_data(msg_encapsulated_data m, MAVLinkPayload payload){
+        payload.putShort(m.seqnr);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putByte(m.data[i]);
+        }
+    }
+
+    private static void pack_distance_sensor(msg_distance_sensor m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putShort(m.min_distance);
+        payload.putShort(m.max_distance);
+        payload.putShort(m.current_distance);
+        payload.putByte(m.type);
+        payload.putByte(m.id);
+        payload.putByte(m.orientation);
+        payload.putByte(m.covariance);
+    }
+
+    private static void pack_terrain_request(msg_terrain_request m, MAVLinkPayload payload){
+        payload.putLong(m.mask);
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putShort(m.grid_spacing);
+    }
+
+    private static void pack_terrain_data(msg_terrain_data m, MAVLinkPayload payload){
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putShort(m.grid_spacing);
+        for(int i = 0; i < m.data.length; i++){
+            payload.putShort(m.data[i]);
+        }
+        payload.putByte(m.gridbit);
+    }
+
+    private static void pack_terrain_check(msg_terrain_check m, MAVLinkPayload payload){
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+    }
+
+    private static void pack_terrain_report(msg_terrain_report m, MAVLinkPayload payload){
+        payload.putInt(m.lat);
+        payload.putInt(m.lon);
+        payload.putFloat(m.terrain_height);
+        payload.putFloat(m.current_height);
+        payload.putShort(m.spacing);
+        payload.putShort(m.pending);
+        payload.putShort(m.loaded);
+    }
+
+    private static void pack_battery_status(msg_battery_status m, MAVLinkPayload payload){
+        payload.putInt(m.current_consumed);
+        payload.putInt(m.energy_consumed);
+        payload.putShort(m.temperature);
+        for(int i = 0; i < m.voltages.length; i++){
+            payload.putShort(m.voltages[i]);
+        }
+        payload.putShort(m.current_battery);
+        payload.putByte(m.id);
+        payload.putByte(m.battery_function);
+        payload.putByte(m.type);
+        payload.putByte(m.battery_remaining);
+    }
+
+    private static void pack_autopilot_version(msg_autopilot_version m, MAVLinkPayload payload){
+        payload.putLong(m.capabilities);
+        payload.putInt(m.version);
+        for(int i = 0; i < m.custom_version.length; i++){
+            payload.putByte(m.custom_version[i]);
+        }
+    }
+
+    private static void pack_v2_extension(msg_v2_extension m, MAVLinkPayload payload){
+        payload.putShort(m.message_type);
+        payload.putByte(m.target_network);
+        payload.putByte(m.target_system);
+        payload.putByte(m.target_component);
+        for(int i = 0; i < m.payload.length; i++){
+            payload.putByte(m.payload[i]);
+        }
+    }
+
+    private static void pack_memory_vect(msg_memory_vect m, MAVLinkPayload payload){
+        payload.putShort(m.address);
+        payload.putByte(m.ver);
+        payload.putByte(m.type);
+        for(int i = 0; i < m.value.length; i++){
+            payload.putByte(m.value[i]);
+        }
+    }
+
+    private static void pack_debug_vect(msg_debug_vect m, MAVLinkPayload payload){
+        payload.putLong(m.time_usec);
+        payload.putFloat(m.x);
+        payload.putFloat(m.y);
+        payload.putFloat(m.z);
+        for(int i = 0; i < m.name.length; i++){
+            payload.putByte(m.name[i]);
+        }
+    }
+
+    private static void pack_named_value_float(msg_named_value_float m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.value);
+        for(int i = 0; i < m.name.length; i++){
+            payload.putByte(m.name[i]);
+        }
+    }
+
+    private static void pack_named_value_int(msg_named_value_int m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putInt(m.value);
+        for(int i = 0; i < m.name.length; i++){
+            payload.putByte(m.name[i]);
+        }
+    }
+
+    private static void pack_statustext(msg_statustext m, MAVLinkPayload payload){
+        payload.putByte(m.severity);
+        for(int i = 0; i < m.text.length; i++){
+            payload.putByte(m.text[i]);
+        }
+    }
+
+    private static void pack_debug(msg_debug m, MAVLinkPayload payload){
+        payload.putInt(m.time_boot_ms);
+        payload.putFloat(m.value);
+        payload.putByte(m.ind);
+    }
+}
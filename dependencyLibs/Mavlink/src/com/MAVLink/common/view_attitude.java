@@ -0,0 +1,78 @@
+// MESSAGE ATTITUDE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a ATTITUDE packet, decoding the fields from its payload
+* without copying them.
+*
+* The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right).
+*
+* @see msg_attitude
+*/
+public class view_attitude extends MAVLinkView{
+
+    public view_attitude(){
+        super(msg_attitude.MAVLINK_MSG_ID_ATTITUDE);
+    }
+
+    /**
+    * Points this view at a received ATTITUDE packet.
+    *
+    * @return this view
+    */
+    public view_attitude wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Roll angle (rad, -pi..+pi)
+    */
+    public float roll(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Pitch angle (rad, -pi..+pi)
+    */
+    public float pitch(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Yaw angle (rad, -pi..+pi)
+    */
+    public float yaw(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Roll angular speed (rad/s)
+    */
+    public float rollspeed(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Pitch angular speed (rad/s)
+    */
+    public float pitchspeed(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Yaw angular speed (rad/s)
+    */
+    public float yawspeed(){
+        return payload.getFloat(24);
+    }
+}
@@ -0,0 +1,85 @@
+// MESSAGE ATTITUDE_QUATERNION VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a ATTITUDE_QUATERNION packet, decoding the fields from its payload
+* without copying them.
+*
+* The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right), expressed as quaternion. Quaternion order is w, x, y, z and a zero rotation would be expressed as (1 0 0 0).
+*
+* @see msg_attitude_quaternion
+*/
+public class view_attitude_quaternion extends MAVLinkView{
+
+    public view_attitude_quaternion(){
+        super(msg_attitude_quaternion.MAVLINK_MSG_ID_ATTITUDE_QUATERNION);
+    }
+
+    /**
+    * Points this view at a received ATTITUDE_QUATERNION packet.
+    *
+    * @return this view
+    */
+    public view_attitude_quaternion wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Quaternion component 1, w (1 in null-rotation)
+    */
+    public float q1(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Quaternion component 2, x (0 in null-rotation)
+    */
+    public float q2(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Quaternion component 3, y (0 in null-rotation)
+    */
+    public float q3(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Quaternion component 4, z (0 in null-rotation)
+    */
+    public float q4(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Roll angular speed (rad/s)
+    */
+    public float rollspeed(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Pitch angular speed (rad/s)
+    */
+    public float pitchspeed(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Yaw angular speed (rad/s)
+    */
+    public float yawspeed(){
+        return payload.getFloat(28);
+    }
+}
@@ -0,0 +1,84 @@
+// MESSAGE ATTITUDE_QUATERNION_COV VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a ATTITUDE_QUATERNION_COV packet, decoding the fields from its payload
+* without copying them.
+*
+* The attitude in the aeronautical frame (right-handed, Z-down, X-front, Y-right), expressed as quaternion. Quaternion order is w, x, y, z and a zero rotation would be expressed as (1 0 0 0).
+*
+* @see msg_attitude_quaternion_cov
+*/
+public class view_attitude_quaternion_cov extends MAVLinkView{
+
+    public static final int Q_LENGTH = 4;
+    public static final int COVARIANCE_LENGTH = 9;
+
+    public view_attitude_quaternion_cov(){
+        super(msg_attitude_quaternion_cov.MAVLINK_MSG_ID_ATTITUDE_QUATERNION_COV);
+    }
+
+    /**
+    * Points this view at a received ATTITUDE_QUATERNION_COV packet.
+    *
+    * @return this view
+    */
+    public view_attitude_quaternion_cov wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Quaternion components, w, x, y, z (1 0 0 0 is the null-rotation)
+    *
+    * @param index element index, from 0 to Q_LENGTH - 1
+    */
+    public float q(int index){
+        if(index < 0 || index >= Q_LENGTH){
+            throw new IndexOutOfBoundsException("q index " + index);
+        }
+        return payload.getFloat(4 + index * 4);
+    }
+
+    /**
+    * Roll angular speed (rad/s)
+    */
+    public float rollspeed(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Pitch angular speed (rad/s)
+    */
+    public float pitchspeed(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Yaw angular speed (rad/s)
+    */
+    public float yawspeed(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Attitude covariance
+    *
+    * @param index element index, from 0 to COVARIANCE_LENGTH - 1
+    */
+    public float covariance(int index){
+        if(index < 0 || index >= COVARIANCE_LENGTH){
+            throw new IndexOutOfBoundsException("covariance index " + index);
+        }
+        return payload.getFloat(32 + index * 4);
+    }
+}
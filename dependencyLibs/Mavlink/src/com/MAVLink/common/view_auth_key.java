@@ -0,0 +1,43 @@
+// MESSAGE AUTH_KEY VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AUTH_KEY packet, decoding the fields from its payload
+* without copying them.
+*
+* Emit an encrypted signature / key identifying this system. PLEASE NOTE: This protocol has been kept simple, so transmitting the key requires an encrypted channel for true safety.
+*
+* @see msg_auth_key
+*/
+public class view_auth_key extends MAVLinkView{
+
+    public static final int KEY_LENGTH = 32;
+
+    public view_auth_key(){
+        super(msg_auth_key.MAVLINK_MSG_ID_AUTH_KEY);
+    }
+
+    /**
+    * Points this view at a received AUTH_KEY packet.
+    *
+    * @return this view
+    */
+    public view_auth_key wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * key
+    *
+    * @param index element index, from 0 to KEY_LENGTH - 1
+    */
+    public byte key(int index){
+        if(index < 0 || index >= KEY_LENGTH){
+            throw new IndexOutOfBoundsException("key index " + index);
+        }
+        return payload.getByte(0 + index * 1);
+    }
+}
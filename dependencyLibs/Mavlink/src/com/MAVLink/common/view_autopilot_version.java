@@ -0,0 +1,57 @@
+// MESSAGE AUTOPILOT_VERSION VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a AUTOPILOT_VERSION packet, decoding the fields from its payload
+* without copying them.
+*
+* Version and capability of autopilot software
+*
+* @see msg_autopilot_version
+*/
+public class view_autopilot_version extends MAVLinkView{
+
+    public static final int CUSTOM_VERSION_LENGTH = 8;
+
+    public view_autopilot_version(){
+        super(msg_autopilot_version.MAVLINK_MSG_ID_AUTOPILOT_VERSION);
+    }
+
+    /**
+    * Points this view at a received AUTOPILOT_VERSION packet.
+    *
+    * @return this view
+    */
+    public view_autopilot_version wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * bitmask of capabilities (see MAV_PROTOCOL_CAPABILITY enum)
+    */
+    public long capabilities(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Firmware version number
+    */
+    public int version(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Custom version field, commonly the first 8 bytes (16 characters) of the git hash. This is not an unique identifier, but should allow to identify the commit using the main version number even for very large code bases.
+    *
+    * @param index element index, from 0 to CUSTOM_VERSION_LENGTH - 1
+    */
+    public byte custom_version(int index){
+        if(index < 0 || index >= CUSTOM_VERSION_LENGTH){
+            throw new IndexOutOfBoundsException("custom_version index " + index);
+        }
+        return payload.getByte(12 + index * 1);
+    }
+}
@@ -0,0 +1,99 @@
+// MESSAGE BATTERY_STATUS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a BATTERY_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Battery information
+*
+* @see msg_battery_status
+*/
+public class view_battery_status extends MAVLinkView{
+
+    public static final int VOLTAGES_LENGTH = 10;
+
+    public view_battery_status(){
+        super(msg_battery_status.MAVLINK_MSG_ID_BATTERY_STATUS);
+    }
+
+    /**
+    * Points this view at a received BATTERY_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_battery_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Consumed charge, in milliampere hours (1 = 1 mAh), -1: autopilot does not provide mAh consumption estimate
+    */
+    public int current_consumed(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Consumed energy, in 100*Joules (intergrated U*I*dt) (1 = 100 Joule), -1: autopilot does not provide energy consumption estimate
+    */
+    public int energy_consumed(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Temperature of the battery in centi-degrees celsius. INT16_MAX for unknown temperature.
+    */
+    public short temperature(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Battery voltage of cells, in millivolts (1 = 1 millivolt)
+    *
+    * @param index element index, from 0 to VOLTAGES_LENGTH - 1
+    */
+    public short voltages(int index){
+        if(index < 0 || index >= VOLTAGES_LENGTH){
+            throw new IndexOutOfBoundsException("voltages index " + index);
+        }
+        return payload.getShort(10 + index * 2);
+    }
+
+    /**
+    * Battery current, in 10*milliamperes (1 = 10 milliampere), -1: autopilot does not measure the current
+    */
+    public short current_battery(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * Battery ID
+    */
+    public byte id(){
+        return payload.getByte(32);
+    }
+
+    /**
+    * Function of the battery
+    */
+    public byte battery_function(){
+        return payload.getByte(33);
+    }
+
+    /**
+    * Type (chemistry) of the battery
+    */
+    public byte type(){
+        return payload.getByte(34);
+    }
+
+    /**
+    * Remaining battery energy: (0%: 0, 100%: 100), -1: autopilot does not estimate the remaining battery
+    */
+    public byte battery_remaining(){
+        return payload.getByte(35);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE CHANGE_OPERATOR_CONTROL VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a CHANGE_OPERATOR_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Request to control this MAV
+*
+* @see msg_change_operator_control
+*/
+public class view_change_operator_control extends MAVLinkView{
+
+    public static final int PASSKEY_LENGTH = 25;
+
+    public view_change_operator_control(){
+        super(msg_change_operator_control.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL);
+    }
+
+    /**
+    * Points this view at a received CHANGE_OPERATOR_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_change_operator_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System the GCS requests control for
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * 0: request control of this MAV, 1: Release control of this MAV
+    */
+    public byte control_request(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * 0: key as plaintext, 1-255: future, different hashing/encryption variants. The GCS should in general use the safest mode possible initially and then gradually move down the encryption level if it gets a NACK message indicating an encryption mismatch.
+    */
+    public byte version(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Password / Key, depending on version plaintext or encrypted. 25 or less characters, NULL terminated. The characters may involve A-Z, a-z, 0-9, and "!?,.-"
+    *
+    * @param index element index, from 0 to PASSKEY_LENGTH - 1
+    */
+    public byte passkey(int index){
+        if(index < 0 || index >= PASSKEY_LENGTH){
+            throw new IndexOutOfBoundsException("passkey index " + index);
+        }
+        return payload.getByte(3 + index * 1);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE CHANGE_OPERATOR_CONTROL_ACK VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a CHANGE_OPERATOR_CONTROL_ACK packet, decoding the fields from its payload
+* without copying them.
+*
+* Accept / deny control of this MAV
+*
+* @see msg_change_operator_control_ack
+*/
+public class view_change_operator_control_ack extends MAVLinkView{
+
+    public view_change_operator_control_ack(){
+        super(msg_change_operator_control_ack.MAVLINK_MSG_ID_CHANGE_OPERATOR_CONTROL_ACK);
+    }
+
+    /**
+    * Points this view at a received CHANGE_OPERATOR_CONTROL_ACK packet.
+    *
+    * @return this view
+    */
+    public view_change_operator_control_ack wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * ID of the GCS this message
+    */
+    public byte gcs_system_id(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * 0: request control of this MAV, 1: Release control of this MAV
+    */
+    public byte control_request(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * 0: ACK, 1: NACK: Wrong passkey, 2: NACK: Unsupported passkey encryption method, 3: NACK: Already under control
+    */
+    public byte ack(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE COMMAND_ACK VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a COMMAND_ACK packet, decoding the fields from its payload
+* without copying them.
+*
+* Report status of a command. Includes feedback wether the command was executed.
+*
+* @see msg_command_ack
+*/
+public class view_command_ack extends MAVLinkView{
+
+    public view_command_ack(){
+        super(msg_command_ack.MAVLINK_MSG_ID_COMMAND_ACK);
+    }
+
+    /**
+    * Points this view at a received COMMAND_ACK packet.
+    *
+    * @return this view
+    */
+    public view_command_ack wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Command ID, as defined by MAV_CMD enum.
+    */
+    public short command(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * See MAV_RESULT enum
+    */
+    public byte result(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,120 @@
+// MESSAGE COMMAND_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a COMMAND_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* Message encoding a command with parameters as scaled integers. Scaling depends on the actual command value.
+*
+* @see msg_command_int
+*/
+public class view_command_int extends MAVLinkView{
+
+    public view_command_int(){
+        super(msg_command_int.MAVLINK_MSG_ID_COMMAND_INT);
+    }
+
+    /**
+    * Points this view at a received COMMAND_INT packet.
+    *
+    * @return this view
+    */
+    public view_command_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * PARAM1, see MAV_CMD enum
+    */
+    public float param1(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * PARAM2, see MAV_CMD enum
+    */
+    public float param2(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * PARAM3, see MAV_CMD enum
+    */
+    public float param3(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * PARAM4, see MAV_CMD enum
+    */
+    public float param4(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * PARAM5 / local: x position in meters * 1e4, global: latitude in degrees * 10^7
+    */
+    public int x(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * PARAM6 / local: y position in meters * 1e4, global: longitude in degrees * 10^7
+    */
+    public int y(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * PARAM7 / z position: global: altitude in meters (relative or absolute, depending on frame.
+    */
+    public float z(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * The scheduled action for the mission item. see MAV_CMD in common.xml MAVLink specs
+    */
+    public short command(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(30);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(31);
+    }
+
+    /**
+    * The coordinate system of the COMMAND. see MAV_FRAME in mavlink_types.h
+    */
+    public byte frame(){
+        return payload.getByte(32);
+    }
+
+    /**
+    * false:0, true:1
+    */
+    public byte current(){
+        return payload.getByte(33);
+    }
+
+    /**
+    * autocontinue to next wp
+    */
+    public byte autocontinue(){
+        return payload.getByte(34);
+    }
+}
@@ -0,0 +1,106 @@
+// MESSAGE COMMAND_LONG VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a COMMAND_LONG packet, decoding the fields from its payload
+* without copying them.
+*
+* Send a command with up to seven parameters to the MAV
+*
+* @see msg_command_long
+*/
+public class view_command_long extends MAVLinkView{
+
+    public view_command_long(){
+        super(msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG);
+    }
+
+    /**
+    * Points this view at a received COMMAND_LONG packet.
+    *
+    * @return this view
+    */
+    public view_command_long wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Parameter 1, as defined by MAV_CMD enum.
+    */
+    public float param1(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Parameter 2, as defined by MAV_CMD enum.
+    */
+    public float param2(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Parameter 3, as defined by MAV_CMD enum.
+    */
+    public float param3(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Parameter 4, as defined by MAV_CMD enum.
+    */
+    public float param4(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Parameter 5, as defined by MAV_CMD enum.
+    */
+    public float param5(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Parameter 6, as defined by MAV_CMD enum.
+    */
+    public float param6(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Parameter 7, as defined by MAV_CMD enum.
+    */
+    public float param7(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Command ID, as defined by MAV_CMD enum.
+    */
+    public short command(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * System which should execute the command
+    */
+    public byte target_system(){
+        return payload.getByte(30);
+    }
+
+    /**
+    * Component which should execute the command, 0 for all components
+    */
+    public byte target_component(){
+        return payload.getByte(31);
+    }
+
+    /**
+    * 0: First transmission of this command. 1-255: Confirmation transmissions (e.g. for kill command)
+    */
+    public byte confirmation(){
+        return payload.getByte(32);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE DATA_STREAM VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DATA_STREAM packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_data_stream
+*/
+public class view_data_stream extends MAVLinkView{
+
+    public view_data_stream(){
+        super(msg_data_stream.MAVLINK_MSG_ID_DATA_STREAM);
+    }
+
+    /**
+    * Points this view at a received DATA_STREAM packet.
+    *
+    * @return this view
+    */
+    public view_data_stream wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * The requested interval between two messages of this type
+    */
+    public short message_rate(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * The ID of the requested data stream
+    */
+    public byte stream_id(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * 1 stream is enabled, 0 stream is stopped.
+    */
+    public byte on_off(){
+        return payload.getByte(3);
+    }
+}
@@ -0,0 +1,78 @@
+// MESSAGE DATA_TRANSMISSION_HANDSHAKE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DATA_TRANSMISSION_HANDSHAKE packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_data_transmission_handshake
+*/
+public class view_data_transmission_handshake extends MAVLinkView{
+
+    public view_data_transmission_handshake(){
+        super(msg_data_transmission_handshake.MAVLINK_MSG_ID_DATA_TRANSMISSION_HANDSHAKE);
+    }
+
+    /**
+    * Points this view at a received DATA_TRANSMISSION_HANDSHAKE packet.
+    *
+    * @return this view
+    */
+    public view_data_transmission_handshake wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * total data size in bytes (set on ACK only)
+    */
+    public int size(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Width of a matrix or image
+    */
+    public short width(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Height of a matrix or image
+    */
+    public short height(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * number of packets beeing sent (set on ACK only)
+    */
+    public short packets(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * type of requested/acknowledged data (as defined in ENUM DATA_TYPES in mavlink/include/mavlink_types.h)
+    */
+    public byte type(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * payload size per packet (normally 253 byte, see DATA field size in message ENCAPSULATED_DATA) (set on ACK only)
+    */
+    public byte payload(){
+        return payload.getByte(11);
+    }
+
+    /**
+    * JPEG quality out of [1,100]
+    */
+    public byte jpg_quality(){
+        return payload.getByte(12);
+    }
+}
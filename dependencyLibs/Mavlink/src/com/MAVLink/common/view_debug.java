@@ -0,0 +1,50 @@
+// MESSAGE DEBUG VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DEBUG packet, decoding the fields from its payload
+* without copying them.
+*
+* Send a debug value. The index is used to discriminate between values. These values show up in the plot of QGroundControl as DEBUG N.
+*
+* @see msg_debug
+*/
+public class view_debug extends MAVLinkView{
+
+    public view_debug(){
+        super(msg_debug.MAVLINK_MSG_ID_DEBUG);
+    }
+
+    /**
+    * Points this view at a received DEBUG packet.
+    *
+    * @return this view
+    */
+    public view_debug wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * DEBUG value
+    */
+    public float value(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * index of debug variable
+    */
+    public byte ind(){
+        return payload.getByte(8);
+    }
+}
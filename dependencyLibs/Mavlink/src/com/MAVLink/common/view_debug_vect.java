@@ -0,0 +1,71 @@
+// MESSAGE DEBUG_VECT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DEBUG_VECT packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_debug_vect
+*/
+public class view_debug_vect extends MAVLinkView{
+
+    public static final int NAME_LENGTH = 10;
+
+    public view_debug_vect(){
+        super(msg_debug_vect.MAVLINK_MSG_ID_DEBUG_VECT);
+    }
+
+    /**
+    * Points this view at a received DEBUG_VECT packet.
+    *
+    * @return this view
+    */
+    public view_debug_vect wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * x
+    */
+    public float x(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * y
+    */
+    public float y(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * z
+    */
+    public float z(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Name
+    *
+    * @param index element index, from 0 to NAME_LENGTH - 1
+    */
+    public byte name(int index){
+        if(index < 0 || index >= NAME_LENGTH){
+            throw new IndexOutOfBoundsException("name index " + index);
+        }
+        return payload.getByte(20 + index * 1);
+    }
+}
@@ -0,0 +1,85 @@
+// MESSAGE DISTANCE_SENSOR VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a DISTANCE_SENSOR packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_distance_sensor
+*/
+public class view_distance_sensor extends MAVLinkView{
+
+    public view_distance_sensor(){
+        super(msg_distance_sensor.MAVLINK_MSG_ID_DISTANCE_SENSOR);
+    }
+
+    /**
+    * Points this view at a received DISTANCE_SENSOR packet.
+    *
+    * @return this view
+    */
+    public view_distance_sensor wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Time since system boot
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Minimum distance the sensor can measure in centimeters
+    */
+    public short min_distance(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Maximum distance the sensor can measure in centimeters
+    */
+    public short max_distance(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * Current distance reading
+    */
+    public short current_distance(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Type from MAV_DISTANCE_SENSOR enum.
+    */
+    public byte type(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * Onboard ID of the sensor
+    */
+    public byte id(){
+        return payload.getByte(11);
+    }
+
+    /**
+    * Direction the sensor faces from FIXME enum.
+    */
+    public byte orientation(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * Measurement covariance in centimeters, 0 for unknown / invalid readings
+    */
+    public byte covariance(){
+        return payload.getByte(13);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE ENCAPSULATED_DATA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a ENCAPSULATED_DATA packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_encapsulated_data
+*/
+public class view_encapsulated_data extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 253;
+
+    public view_encapsulated_data(){
+        super(msg_encapsulated_data.MAVLINK_MSG_ID_ENCAPSULATED_DATA);
+    }
+
+    /**
+    * Points this view at a received ENCAPSULATED_DATA packet.
+    *
+    * @return this view
+    */
+    public view_encapsulated_data wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * sequence number (starting with 0 on every transmission)
+    */
+    public short seqnr(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * image data bytes
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(2 + index * 1);
+    }
+}
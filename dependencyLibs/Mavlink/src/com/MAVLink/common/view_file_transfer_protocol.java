@@ -0,0 +1,64 @@
+// MESSAGE FILE_TRANSFER_PROTOCOL VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a FILE_TRANSFER_PROTOCOL packet, decoding the fields from its payload
+* without copying them.
+*
+* File transfer message
+*
+* @see msg_file_transfer_protocol
+*/
+public class view_file_transfer_protocol extends MAVLinkView{
+
+    public static final int PAYLOAD_LENGTH = 251;
+
+    public view_file_transfer_protocol(){
+        super(msg_file_transfer_protocol.MAVLINK_MSG_ID_FILE_TRANSFER_PROTOCOL);
+    }
+
+    /**
+    * Points this view at a received FILE_TRANSFER_PROTOCOL packet.
+    *
+    * @return this view
+    */
+    public view_file_transfer_protocol wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Network ID (0 for broadcast)
+    */
+    public byte target_network(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * System ID (0 for broadcast)
+    */
+    public byte target_system(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * Component ID (0 for broadcast)
+    */
+    public byte target_component(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Variable length payload. The length is defined by the remaining message length when subtracting the header and other fields. The entire content of this block is opaque unless you understand any the encoding message_type. The particular encoding used can be extension specific and might not always be documented as part of the mavlink specification.
+    *
+    * @param index element index, from 0 to PAYLOAD_LENGTH - 1
+    */
+    public byte payload(int index){
+        if(index < 0 || index >= PAYLOAD_LENGTH){
+            throw new IndexOutOfBoundsException("payload index " + index);
+        }
+        return payload.getByte(3 + index * 1);
+    }
+}
@@ -0,0 +1,92 @@
+// MESSAGE GLOBAL_POSITION_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GLOBAL_POSITION_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* The filtered global position (e.g. fused GPS and accelerometers). The position is in GPS-frame (right-handed, Z-up). It is designed as scaled integer message since the resolution of float is not sufficient.
+*
+* @see msg_global_position_int
+*/
+public class view_global_position_int extends MAVLinkView{
+
+    public view_global_position_int(){
+        super(msg_global_position_int.MAVLINK_MSG_ID_GLOBAL_POSITION_INT);
+    }
+
+    /**
+    * Points this view at a received GLOBAL_POSITION_INT packet.
+    *
+    * @return this view
+    */
+    public view_global_position_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Latitude, expressed as * 1E7
+    */
+    public int lat(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Longitude, expressed as * 1E7
+    */
+    public int lon(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Altitude in meters, expressed as * 1000 (millimeters), WGS84 (not AMSL)
+    */
+    public int alt(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Altitude above ground in meters, expressed as * 1000 (millimeters)
+    */
+    public int relative_alt(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Ground X Speed (Latitude), expressed as m/s * 100
+    */
+    public short vx(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * Ground Y Speed (Longitude), expressed as m/s * 100
+    */
+    public short vy(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * Ground Z Speed (Altitude), expressed as m/s * 100
+    */
+    public short vz(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * Compass heading in degrees * 100, 0.0..359.99 degrees. If unknown, set to: UINT16_MAX
+    */
+    public short hdg(){
+        return payload.getShort(26);
+    }
+}
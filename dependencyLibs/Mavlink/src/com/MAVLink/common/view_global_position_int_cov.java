@@ -0,0 +1,113 @@
+// MESSAGE GLOBAL_POSITION_INT_COV VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GLOBAL_POSITION_INT_COV packet, decoding the fields from its payload
+* without copying them.
+*
+* The filtered global position (e.g. fused GPS and accelerometers). The position is in GPS-frame (right-handed, Z-up). It is designed as scaled integer message since the resolution of float is not sufficient. NOTE: This message is intended for onboard networks / companion computers and higher-bandwidth links and optimized for accuracy and completeness. Please use the GLOBAL_POSITION_INT message for a minimal subset.
+*
+* @see msg_global_position_int_cov
+*/
+public class view_global_position_int_cov extends MAVLinkView{
+
+    public static final int COVARIANCE_LENGTH = 36;
+
+    public view_global_position_int_cov(){
+        super(msg_global_position_int_cov.MAVLINK_MSG_ID_GLOBAL_POSITION_INT_COV);
+    }
+
+    /**
+    * Points this view at a received GLOBAL_POSITION_INT_COV packet.
+    *
+    * @return this view
+    */
+    public view_global_position_int_cov wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch) in UTC. 0 for unknown. Commonly filled by the precision time source of a GPS receiver.
+    */
+    public long time_utc(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Latitude, expressed as degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Longitude, expressed as degrees * 1E7
+    */
+    public int lon(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Altitude in meters, expressed as * 1000 (millimeters), above MSL
+    */
+    public int alt(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * Altitude above ground in meters, expressed as * 1000 (millimeters)
+    */
+    public int relative_alt(){
+        return payload.getInt(24);
+    }
+
+    /**
+    * Ground X Speed (Latitude), expressed as m/s
+    */
+    public float vx(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Ground Y Speed (Longitude), expressed as m/s
+    */
+    public float vy(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Ground Z Speed (Altitude), expressed as m/s
+    */
+    public float vz(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Covariance matrix (first six entries are the first ROW, next six entries are the second row, etc.)
+    *
+    * @param index element index, from 0 to COVARIANCE_LENGTH - 1
+    */
+    public float covariance(int index){
+        if(index < 0 || index >= COVARIANCE_LENGTH){
+            throw new IndexOutOfBoundsException("covariance index " + index);
+        }
+        return payload.getFloat(40 + index * 4);
+    }
+
+    /**
+    * Class id of the estimator this estimate originated from.
+    */
+    public byte estimator_type(){
+        return payload.getByte(184);
+    }
+}
@@ -0,0 +1,113 @@
+// MESSAGE GPS2_RAW VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS2_RAW packet, decoding the fields from its payload
+* without copying them.
+*
+* Second GPS data. Coordinate frame is right-handed, Z-axis up (GPS frame).
+*
+* @see msg_gps2_raw
+*/
+public class view_gps2_raw extends MAVLinkView{
+
+    public view_gps2_raw(){
+        super(msg_gps2_raw.MAVLINK_MSG_ID_GPS2_RAW);
+    }
+
+    /**
+    * Points this view at a received GPS2_RAW packet.
+    *
+    * @return this view
+    */
+    public view_gps2_raw wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Latitude (WGS84), in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Longitude (WGS84), in degrees * 1E7
+    */
+    public int lon(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Altitude (WGS84), in meters * 1000 (positive for up)
+    */
+    public int alt(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Age of DGPS info
+    */
+    public int dgps_age(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * GPS HDOP horizontal dilution of position in cm (m*100). If unknown, set to: UINT16_MAX
+    */
+    public short eph(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * GPS VDOP vertical dilution of position in cm (m*100). If unknown, set to: UINT16_MAX
+    */
+    public short epv(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * GPS ground speed (m/s * 100). If unknown, set to: UINT16_MAX
+    */
+    public short vel(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * Course over ground (NOT heading, but direction of movement) in degrees * 100, 0.0..359.99 degrees. If unknown, set to: UINT16_MAX
+    */
+    public short cog(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * 0-1: no fix, 2: 2D fix, 3: 3D fix, 4: DGPS fix, 5: RTK Fix. Some applications will not use the value of this field unless it is at least two, so always correctly fill in the fix.
+    */
+    public byte fix_type(){
+        return payload.getByte(32);
+    }
+
+    /**
+    * Number of satellites visible. If unknown, set to 255
+    */
+    public byte satellites_visible(){
+        return payload.getByte(33);
+    }
+
+    /**
+    * Number of DGPS satellites
+    */
+    public byte dgps_numch(){
+        return payload.getByte(34);
+    }
+}
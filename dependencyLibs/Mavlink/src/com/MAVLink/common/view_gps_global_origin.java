@@ -0,0 +1,50 @@
+// MESSAGE GPS_GLOBAL_ORIGIN VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS_GLOBAL_ORIGIN packet, decoding the fields from its payload
+* without copying them.
+*
+* Once the MAV sets a new GPS-Local correspondence, this message announces the origin (0,0,0) position
+*
+* @see msg_gps_global_origin
+*/
+public class view_gps_global_origin extends MAVLinkView{
+
+    public view_gps_global_origin(){
+        super(msg_gps_global_origin.MAVLINK_MSG_ID_GPS_GLOBAL_ORIGIN);
+    }
+
+    /**
+    * Points this view at a received GPS_GLOBAL_ORIGIN packet.
+    *
+    * @return this view
+    */
+    public view_gps_global_origin wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude (WGS84), in degrees * 1E7
+    */
+    public int latitude(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude (WGS84), in degrees * 1E7
+    */
+    public int longitude(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Altitude (WGS84), in meters * 1000 (positive for up)
+    */
+    public int altitude(){
+        return payload.getInt(8);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE GPS_INJECT_DATA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS_INJECT_DATA packet, decoding the fields from its payload
+* without copying them.
+*
+* data for injecting into the onboard GPS (used for DGPS)
+*
+* @see msg_gps_inject_data
+*/
+public class view_gps_inject_data extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 110;
+
+    public view_gps_inject_data(){
+        super(msg_gps_inject_data.MAVLINK_MSG_ID_GPS_INJECT_DATA);
+    }
+
+    /**
+    * Points this view at a received GPS_INJECT_DATA packet.
+    *
+    * @return this view
+    */
+    public view_gps_inject_data wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * data length
+    */
+    public byte len(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * raw data (110 is enough for 12 satellites of RTCMv2)
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(3 + index * 1);
+    }
+}
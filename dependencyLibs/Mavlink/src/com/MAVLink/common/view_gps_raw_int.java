@@ -0,0 +1,99 @@
+// MESSAGE GPS_RAW_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS_RAW_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* The global position, as returned by the Global Positioning System (GPS). This is NOT the global position estimate of the sytem, but rather a RAW sensor value. See message GLOBAL_POSITION for the global position estimate. Coordinate frame is right-handed, Z-axis up (GPS frame).
+*
+* @see msg_gps_raw_int
+*/
+public class view_gps_raw_int extends MAVLinkView{
+
+    public view_gps_raw_int(){
+        super(msg_gps_raw_int.MAVLINK_MSG_ID_GPS_RAW_INT);
+    }
+
+    /**
+    * Points this view at a received GPS_RAW_INT packet.
+    *
+    * @return this view
+    */
+    public view_gps_raw_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Latitude (WGS84), in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Longitude (WGS84), in degrees * 1E7
+    */
+    public int lon(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Altitude (WGS84), in meters * 1000 (positive for up)
+    */
+    public int alt(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * GPS HDOP horizontal dilution of position in cm (m*100). If unknown, set to: UINT16_MAX
+    */
+    public short eph(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * GPS VDOP vertical dilution of position in cm (m*100). If unknown, set to: UINT16_MAX
+    */
+    public short epv(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * GPS ground speed (m/s * 100). If unknown, set to: UINT16_MAX
+    */
+    public short vel(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * Course over ground (NOT heading, but direction of movement) in degrees * 100, 0.0..359.99 degrees. If unknown, set to: UINT16_MAX
+    */
+    public short cog(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * 0-1: no fix, 2: 2D fix, 3: 3D fix, 4: DGPS, 5: RTK. Some applications will not use the value of this field unless it is at least two, so always correctly fill in the fix.
+    */
+    public byte fix_type(){
+        return payload.getByte(28);
+    }
+
+    /**
+    * Number of satellites visible. If unknown, set to 255
+    */
+    public byte satellites_visible(){
+        return payload.getByte(29);
+    }
+}
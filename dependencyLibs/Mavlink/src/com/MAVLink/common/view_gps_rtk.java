@@ -0,0 +1,120 @@
+// MESSAGE GPS_RTK VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS_RTK packet, decoding the fields from its payload
+* without copying them.
+*
+* RTK GPS data. Gives information on the relative baseline calculation the GPS is reporting
+*
+* @see msg_gps_rtk
+*/
+public class view_gps_rtk extends MAVLinkView{
+
+    public view_gps_rtk(){
+        super(msg_gps_rtk.MAVLINK_MSG_ID_GPS_RTK);
+    }
+
+    /**
+    * Points this view at a received GPS_RTK packet.
+    *
+    * @return this view
+    */
+    public view_gps_rtk wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Time since boot of last baseline message received in ms.
+    */
+    public int time_last_baseline_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * GPS Time of Week of last baseline
+    */
+    public int tow(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Current baseline in ECEF x or NED north component in mm.
+    */
+    public int baseline_a_mm(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Current baseline in ECEF y or NED east component in mm.
+    */
+    public int baseline_b_mm(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Current baseline in ECEF z or NED down component in mm.
+    */
+    public int baseline_c_mm(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * Current estimate of baseline accuracy.
+    */
+    public int accuracy(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * Current number of integer ambiguity hypotheses.
+    */
+    public int iar_num_hypotheses(){
+        return payload.getInt(24);
+    }
+
+    /**
+    * GPS Week Number of last baseline
+    */
+    public short wn(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * Identification of connected RTK receiver.
+    */
+    public byte rtk_receiver_id(){
+        return payload.getByte(30);
+    }
+
+    /**
+    * GPS-specific health report for RTK data.
+    */
+    public byte rtk_health(){
+        return payload.getByte(31);
+    }
+
+    /**
+    * Rate of baseline messages being received by GPS, in HZ
+    */
+    public byte rtk_rate(){
+        return payload.getByte(32);
+    }
+
+    /**
+    * Current number of sats used for RTK calculation.
+    */
+    public byte nsats(){
+        return payload.getByte(33);
+    }
+
+    /**
+    * Coordinate system of baseline. 0 == ECEF, 1 == NED
+    */
+    public byte baseline_coords_type(){
+        return payload.getByte(34);
+    }
+}
@@ -0,0 +1,102 @@
+// MESSAGE GPS_STATUS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a GPS_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* The positioning status, as reported by GPS. This message is intended to display status information about each satellite visible to the receiver. See message GLOBAL_POSITION for the global position estimate. This message can contain information for up to 20 satellites.
+*
+* @see msg_gps_status
+*/
+public class view_gps_status extends MAVLinkView{
+
+    public static final int SATELLITE_PRN_LENGTH = 20;
+    public static final int SATELLITE_USED_LENGTH = 20;
+    public static final int SATELLITE_ELEVATION_LENGTH = 20;
+    public static final int SATELLITE_AZIMUTH_LENGTH = 20;
+    public static final int SATELLITE_SNR_LENGTH = 20;
+
+    public view_gps_status(){
+        super(msg_gps_status.MAVLINK_MSG_ID_GPS_STATUS);
+    }
+
+    /**
+    * Points this view at a received GPS_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_gps_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Number of satellites visible
+    */
+    public byte satellites_visible(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Global satellite ID
+    *
+    * @param index element index, from 0 to SATELLITE_PRN_LENGTH - 1
+    */
+    public byte satellite_prn(int index){
+        if(index < 0 || index >= SATELLITE_PRN_LENGTH){
+            throw new IndexOutOfBoundsException("satellite_prn index " + index);
+        }
+        return payload.getByte(1 + index * 1);
+    }
+
+    /**
+    * 0: Satellite not used, 1: used for localization
+    *
+    * @param index element index, from 0 to SATELLITE_USED_LENGTH - 1
+    */
+    public byte satellite_used(int index){
+        if(index < 0 || index >= SATELLITE_USED_LENGTH){
+            throw new IndexOutOfBoundsException("satellite_used index " + index);
+        }
+        return payload.getByte(21 + index * 1);
+    }
+
+    /**
+    * Elevation (0: right on top of receiver, 90: on the horizon) of satellite
+    *
+    * @param index element index, from 0 to SATELLITE_ELEVATION_LENGTH - 1
+    */
+    public byte satellite_elevation(int index){
+        if(index < 0 || index >= SATELLITE_ELEVATION_LENGTH){
+            throw new IndexOutOfBoundsException("satellite_elevation index " + index);
+        }
+        return payload.getByte(41 + index * 1);
+    }
+
+    /**
+    * Direction of satellite, 0: 0 deg, 255: 360 deg.
+    *
+    * @param index element index, from 0 to SATELLITE_AZIMUTH_LENGTH - 1
+    */
+    public byte satellite_azimuth(int index){
+        if(index < 0 || index >= SATELLITE_AZIMUTH_LENGTH){
+            throw new IndexOutOfBoundsException("satellite_azimuth index " + index);
+        }
+        return payload.getByte(61 + index * 1);
+    }
+
+    /**
+    * Signal to noise ratio of satellite
+    *
+    * @param index element index, from 0 to SATELLITE_SNR_LENGTH - 1
+    */
+    public byte satellite_snr(int index){
+        if(index < 0 || index >= SATELLITE_SNR_LENGTH){
+            throw new IndexOutOfBoundsException("satellite_snr index " + index);
+        }
+        return payload.getByte(81 + index * 1);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE HEARTBEAT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HEARTBEAT packet, decoding the fields from its payload
+* without copying them.
+*
+* The heartbeat message shows that a system is present and responding. The type of the MAV and Autopilot hardware allow the receiving system to treat further messages from this system appropriate (e.g. by laying out the user interface based on the autopilot).
+*
+* @see msg_heartbeat
+*/
+public class view_heartbeat extends MAVLinkView{
+
+    public view_heartbeat(){
+        super(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+    }
+
+    /**
+    * Points this view at a received HEARTBEAT packet.
+    *
+    * @return this view
+    */
+    public view_heartbeat wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * A bitfield for use for autopilot-specific flags.
+    */
+    public int custom_mode(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Type of the MAV (quadrotor, helicopter, etc., up to 15 types, defined in MAV_TYPE ENUM)
+    */
+    public byte type(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Autopilot type / class. defined in MAV_AUTOPILOT ENUM
+    */
+    public byte autopilot(){
+        return payload.getByte(5);
+    }
+
+    /**
+    * System mode bitfield, see MAV_MODE_FLAG ENUM in mavlink/include/mavlink_types.h
+    */
+    public byte base_mode(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * System status flag, see MAV_STATE ENUM
+    */
+    public byte system_status(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * MAVLink version, not writable by user, gets added by protocol because of magic data type: uint8_t_mavlink_version
+    */
+    public byte mavlink_version(){
+        return payload.getByte(8);
+    }
+}
@@ -0,0 +1,106 @@
+// MESSAGE HIL_CONTROLS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_CONTROLS packet, decoding the fields from its payload
+* without copying them.
+*
+* Sent from autopilot to simulation. Hardware in the loop control outputs
+*
+* @see msg_hil_controls
+*/
+public class view_hil_controls extends MAVLinkView{
+
+    public view_hil_controls(){
+        super(msg_hil_controls.MAVLINK_MSG_ID_HIL_CONTROLS);
+    }
+
+    /**
+    * Points this view at a received HIL_CONTROLS packet.
+    *
+    * @return this view
+    */
+    public view_hil_controls wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Control output -1 .. 1
+    */
+    public float roll_ailerons(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Control output -1 .. 1
+    */
+    public float pitch_elevator(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Control output -1 .. 1
+    */
+    public float yaw_rudder(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Throttle 0 .. 1
+    */
+    public float throttle(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Aux 1, -1 .. 1
+    */
+    public float aux1(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Aux 2, -1 .. 1
+    */
+    public float aux2(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Aux 3, -1 .. 1
+    */
+    public float aux3(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Aux 4, -1 .. 1
+    */
+    public float aux4(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * System mode (MAV_MODE)
+    */
+    public byte mode(){
+        return payload.getByte(40);
+    }
+
+    /**
+    * Navigation mode (MAV_NAV_MODE)
+    */
+    public byte nav_mode(){
+        return payload.getByte(41);
+    }
+}
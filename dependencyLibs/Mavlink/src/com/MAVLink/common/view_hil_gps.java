@@ -0,0 +1,120 @@
+// MESSAGE HIL_GPS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_GPS packet, decoding the fields from its payload
+* without copying them.
+*
+* The global position, as returned by the Global Positioning System (GPS). This is NOT the global position estimate of the sytem, but rather a RAW sensor value. See message GLOBAL_POSITION for the global position estimate. Coordinate frame is right-handed, Z-axis up (GPS frame).
+*
+* @see msg_hil_gps
+*/
+public class view_hil_gps extends MAVLinkView{
+
+    public view_hil_gps(){
+        super(msg_hil_gps.MAVLINK_MSG_ID_HIL_GPS);
+    }
+
+    /**
+    * Points this view at a received HIL_GPS packet.
+    *
+    * @return this view
+    */
+    public view_hil_gps wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Latitude (WGS84), in degrees * 1E7
+    */
+    public int lat(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Longitude (WGS84), in degrees * 1E7
+    */
+    public int lon(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Altitude (WGS84), in meters * 1000 (positive for up)
+    */
+    public int alt(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * GPS HDOP horizontal dilution of position in cm (m*100). If unknown, set to: 65535
+    */
+    public short eph(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * GPS VDOP vertical dilution of position in cm (m*100). If unknown, set to: 65535
+    */
+    public short epv(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * GPS ground speed (m/s * 100). If unknown, set to: 65535
+    */
+    public short vel(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * GPS velocity in cm/s in NORTH direction in earth-fixed NED frame
+    */
+    public short vn(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * GPS velocity in cm/s in EAST direction in earth-fixed NED frame
+    */
+    public short ve(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * GPS velocity in cm/s in DOWN direction in earth-fixed NED frame
+    */
+    public short vd(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * Course over ground (NOT heading, but direction of movement) in degrees * 100, 0.0..359.99 degrees. If unknown, set to: 65535
+    */
+    public short cog(){
+        return payload.getShort(32);
+    }
+
+    /**
+    * 0-1: no fix, 2: 2D fix, 3: 3D fix. Some applications will not use the value of this field unless it is at least two, so always correctly fill in the fix.
+    */
+    public byte fix_type(){
+        return payload.getByte(34);
+    }
+
+    /**
+    * Number of satellites visible. If unknown, set to 255
+    */
+    public byte satellites_visible(){
+        return payload.getByte(35);
+    }
+}
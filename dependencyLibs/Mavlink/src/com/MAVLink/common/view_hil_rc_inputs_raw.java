@@ -0,0 +1,127 @@
+// MESSAGE HIL_RC_INPUTS_RAW VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_RC_INPUTS_RAW packet, decoding the fields from its payload
+* without copying them.
+*
+* Sent from simulation to autopilot. The RAW values of the RC channels received. The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%. Individual receivers/transmitters might violate this specification.
+*
+* @see msg_hil_rc_inputs_raw
+*/
+public class view_hil_rc_inputs_raw extends MAVLinkView{
+
+    public view_hil_rc_inputs_raw(){
+        super(msg_hil_rc_inputs_raw.MAVLINK_MSG_ID_HIL_RC_INPUTS_RAW);
+    }
+
+    /**
+    * Points this view at a received HIL_RC_INPUTS_RAW packet.
+    *
+    * @return this view
+    */
+    public view_hil_rc_inputs_raw wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * RC channel 1 value, in microseconds
+    */
+    public short chan1_raw(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * RC channel 2 value, in microseconds
+    */
+    public short chan2_raw(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * RC channel 3 value, in microseconds
+    */
+    public short chan3_raw(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * RC channel 4 value, in microseconds
+    */
+    public short chan4_raw(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * RC channel 5 value, in microseconds
+    */
+    public short chan5_raw(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * RC channel 6 value, in microseconds
+    */
+    public short chan6_raw(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * RC channel 7 value, in microseconds
+    */
+    public short chan7_raw(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * RC channel 8 value, in microseconds
+    */
+    public short chan8_raw(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * RC channel 9 value, in microseconds
+    */
+    public short chan9_raw(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * RC channel 10 value, in microseconds
+    */
+    public short chan10_raw(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * RC channel 11 value, in microseconds
+    */
+    public short chan11_raw(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * RC channel 12 value, in microseconds
+    */
+    public short chan12_raw(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * Receive signal strength indicator, 0: 0%, 255: 100%
+    */
+    public byte rssi(){
+        return payload.getByte(32);
+    }
+}
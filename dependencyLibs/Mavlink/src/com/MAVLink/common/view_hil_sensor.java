@@ -0,0 +1,134 @@
+// MESSAGE HIL_SENSOR VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_SENSOR packet, decoding the fields from its payload
+* without copying them.
+*
+* The IMU readings in SI units in NED body frame
+*
+* @see msg_hil_sensor
+*/
+public class view_hil_sensor extends MAVLinkView{
+
+    public view_hil_sensor(){
+        super(msg_hil_sensor.MAVLINK_MSG_ID_HIL_SENSOR);
+    }
+
+    /**
+    * Points this view at a received HIL_SENSOR packet.
+    *
+    * @return this view
+    */
+    public view_hil_sensor wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds, synced to UNIX time or since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * X acceleration (m/s^2)
+    */
+    public float xacc(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Y acceleration (m/s^2)
+    */
+    public float yacc(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Z acceleration (m/s^2)
+    */
+    public float zacc(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Angular speed around X axis in body frame (rad / sec)
+    */
+    public float xgyro(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Angular speed around Y axis in body frame (rad / sec)
+    */
+    public float ygyro(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Angular speed around Z axis in body frame (rad / sec)
+    */
+    public float zgyro(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * X Magnetic field (Gauss)
+    */
+    public float xmag(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Y Magnetic field (Gauss)
+    */
+    public float ymag(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Z Magnetic field (Gauss)
+    */
+    public float zmag(){
+        return payload.getFloat(40);
+    }
+
+    /**
+    * Absolute pressure in millibar
+    */
+    public float abs_pressure(){
+        return payload.getFloat(44);
+    }
+
+    /**
+    * Differential pressure (airspeed) in millibar
+    */
+    public float diff_pressure(){
+        return payload.getFloat(48);
+    }
+
+    /**
+    * Altitude calculated from pressure
+    */
+    public float pressure_alt(){
+        return payload.getFloat(52);
+    }
+
+    /**
+    * Temperature in degrees celsius
+    */
+    public float temperature(){
+        return payload.getFloat(56);
+    }
+
+    /**
+    * Bitmask for fields that have updated since last message, bit 0 = xacc, bit 12: temperature
+    */
+    public int fields_updated(){
+        return payload.getInt(60);
+    }
+}
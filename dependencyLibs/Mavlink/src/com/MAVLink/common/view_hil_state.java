@@ -0,0 +1,141 @@
+// MESSAGE HIL_STATE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_STATE packet, decoding the fields from its payload
+* without copying them.
+*
+* DEPRECATED PACKET! Suffers from missing airspeed fields and singularities due to Euler angles. Please use HIL_STATE_QUATERNION instead. Sent from simulation to autopilot. This packet is useful for high throughput applications such as hardware in the loop simulations.
+*
+* @see msg_hil_state
+*/
+public class view_hil_state extends MAVLinkView{
+
+    public view_hil_state(){
+        super(msg_hil_state.MAVLINK_MSG_ID_HIL_STATE);
+    }
+
+    /**
+    * Points this view at a received HIL_STATE packet.
+    *
+    * @return this view
+    */
+    public view_hil_state wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Roll angle (rad)
+    */
+    public float roll(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Pitch angle (rad)
+    */
+    public float pitch(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Yaw angle (rad)
+    */
+    public float yaw(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Body frame roll / phi angular speed (rad/s)
+    */
+    public float rollspeed(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Body frame pitch / theta angular speed (rad/s)
+    */
+    public float pitchspeed(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Body frame yaw / psi angular speed (rad/s)
+    */
+    public float yawspeed(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Latitude, expressed as * 1E7
+    */
+    public int lat(){
+        return payload.getInt(32);
+    }
+
+    /**
+    * Longitude, expressed as * 1E7
+    */
+    public int lon(){
+        return payload.getInt(36);
+    }
+
+    /**
+    * Altitude in meters, expressed as * 1000 (millimeters)
+    */
+    public int alt(){
+        return payload.getInt(40);
+    }
+
+    /**
+    * Ground X Speed (Latitude), expressed as m/s * 100
+    */
+    public short vx(){
+        return payload.getShort(44);
+    }
+
+    /**
+    * Ground Y Speed (Longitude), expressed as m/s * 100
+    */
+    public short vy(){
+        return payload.getShort(46);
+    }
+
+    /**
+    * Ground Z Speed (Altitude), expressed as m/s * 100
+    */
+    public short vz(){
+        return payload.getShort(48);
+    }
+
+    /**
+    * X acceleration (mg)
+    */
+    public short xacc(){
+        return payload.getShort(50);
+    }
+
+    /**
+    * Y acceleration (mg)
+    */
+    public short yacc(){
+        return payload.getShort(52);
+    }
+
+    /**
+    * Z acceleration (mg)
+    */
+    public short zacc(){
+        return payload.getShort(54);
+    }
+}
@@ -0,0 +1,148 @@
+// MESSAGE HIL_STATE_QUATERNION VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a HIL_STATE_QUATERNION packet, decoding the fields from its payload
+* without copying them.
+*
+* Sent from simulation to autopilot, avoids in contrast to HIL_STATE singularities. This packet is useful for high throughput applications such as hardware in the loop simulations.
+*
+* @see msg_hil_state_quaternion
+*/
+public class view_hil_state_quaternion extends MAVLinkView{
+
+    public static final int ATTITUDE_QUATERNION_LENGTH = 4;
+
+    public view_hil_state_quaternion(){
+        super(msg_hil_state_quaternion.MAVLINK_MSG_ID_HIL_STATE_QUATERNION);
+    }
+
+    /**
+    * Points this view at a received HIL_STATE_QUATERNION packet.
+    *
+    * @return this view
+    */
+    public view_hil_state_quaternion wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Vehicle attitude expressed as normalized quaternion in w, x, y, z order (with 1 0 0 0 being the null-rotation)
+    *
+    * @param index element index, from 0 to ATTITUDE_QUATERNION_LENGTH - 1
+    */
+    public float attitude_quaternion(int index){
+        if(index < 0 || index >= ATTITUDE_QUATERNION_LENGTH){
+            throw new IndexOutOfBoundsException("attitude_quaternion index " + index);
+        }
+        return payload.getFloat(8 + index * 4);
+    }
+
+    /**
+    * Body frame roll / phi angular speed (rad/s)
+    */
+    public float rollspeed(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Body frame pitch / theta angular speed (rad/s)
+    */
+    public float pitchspeed(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Body frame yaw / psi angular speed (rad/s)
+    */
+    public float yawspeed(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Latitude, expressed as * 1E7
+    */
+    public int lat(){
+        return payload.getInt(36);
+    }
+
+    /**
+    * Longitude, expressed as * 1E7
+    */
+    public int lon(){
+        return payload.getInt(40);
+    }
+
+    /**
+    * Altitude in meters, expressed as * 1000 (millimeters)
+    */
+    public int alt(){
+        return payload.getInt(44);
+    }
+
+    /**
+    * Ground X Speed (Latitude), expressed as m/s * 100
+    */
+    public short vx(){
+        return payload.getShort(48);
+    }
+
+    /**
+    * Ground Y Speed (Longitude), expressed as m/s * 100
+    */
+    public short vy(){
+        return payload.getShort(50);
+    }
+
+    /**
+    * Ground Z Speed (Altitude), expressed as m/s * 100
+    */
+    public short vz(){
+        return payload.getShort(52);
+    }
+
+    /**
+    * Indicated airspeed, expressed as m/s * 100
+    */
+    public short ind_airspeed(){
+        return payload.getShort(54);
+    }
+
+    /**
+    * True airspeed, expressed as m/s * 100
+    */
+    public short true_airspeed(){
+        return payload.getShort(56);
+    }
+
+    /**
+    * X acceleration (mg)
+    */
+    public short xacc(){
+        return payload.getShort(58);
+    }
+
+    /**
+    * Y acceleration (mg)
+    */
+    public short yacc(){
+        return payload.getShort(60);
+    }
+
+    /**
+    * Z acceleration (mg)
+    */
+    public short zacc(){
+        return payload.getShort(62);
+    }
+}
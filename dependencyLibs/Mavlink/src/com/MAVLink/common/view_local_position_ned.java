@@ -0,0 +1,78 @@
+// MESSAGE LOCAL_POSITION_NED VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOCAL_POSITION_NED packet, decoding the fields from its payload
+* without copying them.
+*
+* The filtered local position (e.g. fused computer vision and accelerometers). Coordinate frame is right-handed, Z-axis down (aeronautical frame, NED / north-east-down convention)
+*
+* @see msg_local_position_ned
+*/
+public class view_local_position_ned extends MAVLinkView{
+
+    public view_local_position_ned(){
+        super(msg_local_position_ned.MAVLINK_MSG_ID_LOCAL_POSITION_NED);
+    }
+
+    /**
+    * Points this view at a received LOCAL_POSITION_NED packet.
+    *
+    * @return this view
+    */
+    public view_local_position_ned wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * X Position
+    */
+    public float x(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Y Position
+    */
+    public float y(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Z Position
+    */
+    public float z(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * X Speed
+    */
+    public float vx(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Y Speed
+    */
+    public float vy(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Z Speed
+    */
+    public float vz(){
+        return payload.getFloat(24);
+    }
+}
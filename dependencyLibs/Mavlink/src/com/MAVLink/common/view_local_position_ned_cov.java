@@ -0,0 +1,106 @@
+// MESSAGE LOCAL_POSITION_NED_COV VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOCAL_POSITION_NED_COV packet, decoding the fields from its payload
+* without copying them.
+*
+* The filtered local position (e.g. fused computer vision and accelerometers). Coordinate frame is right-handed, Z-axis down (aeronautical frame, NED / north-east-down convention)
+*
+* @see msg_local_position_ned_cov
+*/
+public class view_local_position_ned_cov extends MAVLinkView{
+
+    public static final int COVARIANCE_LENGTH = 36;
+
+    public view_local_position_ned_cov(){
+        super(msg_local_position_ned_cov.MAVLINK_MSG_ID_LOCAL_POSITION_NED_COV);
+    }
+
+    /**
+    * Points this view at a received LOCAL_POSITION_NED_COV packet.
+    *
+    * @return this view
+    */
+    public view_local_position_ned_cov wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch) in UTC. 0 for unknown. Commonly filled by the precision time source of a GPS receiver.
+    */
+    public long time_utc(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * X Position
+    */
+    public float x(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Y Position
+    */
+    public float y(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Z Position
+    */
+    public float z(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * X Speed
+    */
+    public float vx(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Y Speed
+    */
+    public float vy(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Z Speed
+    */
+    public float vz(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Covariance matrix (first six entries are the first ROW, next six entries are the second row, etc.)
+    *
+    * @param index element index, from 0 to COVARIANCE_LENGTH - 1
+    */
+    public float covariance(int index){
+        if(index < 0 || index >= COVARIANCE_LENGTH){
+            throw new IndexOutOfBoundsException("covariance index " + index);
+        }
+        return payload.getFloat(36 + index * 4);
+    }
+
+    /**
+    * Class id of the estimator this estimate originated from.
+    */
+    public byte estimator_type(){
+        return payload.getByte(180);
+    }
+}
@@ -0,0 +1,78 @@
+// MESSAGE LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET packet, decoding the fields from its payload
+* without copying them.
+*
+* The offset in X, Y, Z and yaw between the LOCAL_POSITION_NED messages of MAV X and the global coordinate frame in NED coordinates. Coordinate frame is right-handed, Z-axis down (aeronautical frame, NED / north-east-down convention)
+*
+* @see msg_local_position_ned_system_global_offset
+*/
+public class view_local_position_ned_system_global_offset extends MAVLinkView{
+
+    public view_local_position_ned_system_global_offset(){
+        super(msg_local_position_ned_system_global_offset.MAVLINK_MSG_ID_LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET);
+    }
+
+    /**
+    * Points this view at a received LOCAL_POSITION_NED_SYSTEM_GLOBAL_OFFSET packet.
+    *
+    * @return this view
+    */
+    public view_local_position_ned_system_global_offset wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * X Position
+    */
+    public float x(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Y Position
+    */
+    public float y(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Z Position
+    */
+    public float z(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Roll
+    */
+    public float roll(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Pitch
+    */
+    public float pitch(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Yaw
+    */
+    public float yaw(){
+        return payload.getFloat(24);
+    }
+}
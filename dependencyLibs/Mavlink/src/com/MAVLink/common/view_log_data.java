@@ -0,0 +1,64 @@
+// MESSAGE LOG_DATA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_DATA packet, decoding the fields from its payload
+* without copying them.
+*
+* Reply to LOG_REQUEST_DATA
+*
+* @see msg_log_data
+*/
+public class view_log_data extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 90;
+
+    public view_log_data(){
+        super(msg_log_data.MAVLINK_MSG_ID_LOG_DATA);
+    }
+
+    /**
+    * Points this view at a received LOG_DATA packet.
+    *
+    * @return this view
+    */
+    public view_log_data wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Offset into the log
+    */
+    public int ofs(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Log id (from LOG_ENTRY reply)
+    */
+    public short id(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Number of bytes (zero for end of log)
+    */
+    public byte count(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * log data
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(7 + index * 1);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE LOG_ENTRY VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_ENTRY packet, decoding the fields from its payload
+* without copying them.
+*
+* Reply to LOG_REQUEST_LIST
+*
+* @see msg_log_entry
+*/
+public class view_log_entry extends MAVLinkView{
+
+    public view_log_entry(){
+        super(msg_log_entry.MAVLINK_MSG_ID_LOG_ENTRY);
+    }
+
+    /**
+    * Points this view at a received LOG_ENTRY packet.
+    *
+    * @return this view
+    */
+    public view_log_entry wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * UTC timestamp of log in seconds since 1970, or 0 if not available
+    */
+    public int time_utc(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Size of the log (may be approximate) in bytes
+    */
+    public int size(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Log id
+    */
+    public short id(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Total number of logs
+    */
+    public short num_logs(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * High log number
+    */
+    public short last_log_num(){
+        return payload.getShort(12);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE LOG_ERASE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_ERASE packet, decoding the fields from its payload
+* without copying them.
+*
+* Erase all logs
+*
+* @see msg_log_erase
+*/
+public class view_log_erase extends MAVLinkView{
+
+    public view_log_erase(){
+        super(msg_log_erase.MAVLINK_MSG_ID_LOG_ERASE);
+    }
+
+    /**
+    * Points this view at a received LOG_ERASE packet.
+    *
+    * @return this view
+    */
+    public view_log_erase wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE LOG_REQUEST_DATA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_REQUEST_DATA packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a chunk of a log
+*
+* @see msg_log_request_data
+*/
+public class view_log_request_data extends MAVLinkView{
+
+    public view_log_request_data(){
+        super(msg_log_request_data.MAVLINK_MSG_ID_LOG_REQUEST_DATA);
+    }
+
+    /**
+    * Points this view at a received LOG_REQUEST_DATA packet.
+    *
+    * @return this view
+    */
+    public view_log_request_data wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Offset into the log
+    */
+    public int ofs(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Number of bytes
+    */
+    public int count(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Log id (from LOG_ENTRY reply)
+    */
+    public short id(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(10);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(11);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE LOG_REQUEST_END VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_REQUEST_END packet, decoding the fields from its payload
+* without copying them.
+*
+* Stop log transfer and resume normal logging
+*
+* @see msg_log_request_end
+*/
+public class view_log_request_end extends MAVLinkView{
+
+    public view_log_request_end(){
+        super(msg_log_request_end.MAVLINK_MSG_ID_LOG_REQUEST_END);
+    }
+
+    /**
+    * Points this view at a received LOG_REQUEST_END packet.
+    *
+    * @return this view
+    */
+    public view_log_request_end wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE LOG_REQUEST_LIST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a LOG_REQUEST_LIST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a list of available logs. On some systems calling this may stop on-board logging until LOG_REQUEST_END is called.
+*
+* @see msg_log_request_list
+*/
+public class view_log_request_list extends MAVLinkView{
+
+    public view_log_request_list(){
+        super(msg_log_request_list.MAVLINK_MSG_ID_LOG_REQUEST_LIST);
+    }
+
+    /**
+    * Points this view at a received LOG_REQUEST_LIST packet.
+    *
+    * @return this view
+    */
+    public view_log_request_list wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * First log id (0 for first available)
+    */
+    public short start(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * Last log id (0xffff for last available)
+    */
+    public short end(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE MANUAL_CONTROL VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MANUAL_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* This message provides an API for manually controlling the vehicle using standard joystick axes nomenclature, along with a joystick-like input device. Unused axes can be disabled an buttons are also transmit as boolean values of their
+*
+* @see msg_manual_control
+*/
+public class view_manual_control extends MAVLinkView{
+
+    public view_manual_control(){
+        super(msg_manual_control.MAVLINK_MSG_ID_MANUAL_CONTROL);
+    }
+
+    /**
+    * Points this view at a received MANUAL_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_manual_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * X-axis, normalized to the range [-1000,1000]. A value of INT16_MAX indicates that this axis is invalid. Generally corresponds to forward(1000)-backward(-1000) movement on a joystick and the pitch of a vehicle.
+    */
+    public short x(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * Y-axis, normalized to the range [-1000,1000]. A value of INT16_MAX indicates that this axis is invalid. Generally corresponds to left(-1000)-right(1000) movement on a joystick and the roll of a vehicle.
+    */
+    public short y(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * Z-axis, normalized to the range [-1000,1000]. A value of INT16_MAX indicates that this axis is invalid. Generally corresponds to a separate slider movement with maximum being 1000 and minimum being -1000 on a joystick and the thrust of a vehicle.
+    */
+    public short z(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * R-axis, normalized to the range [-1000,1000]. A value of INT16_MAX indicates that this axis is invalid. Generally corresponds to a twisting of the joystick, with counter-clockwise being 1000 and clockwise being -1000, and the yaw of a vehicle.
+    */
+    public short r(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * A bitfield corresponding to the joystick buttons' current state, 1 for pressed, 0 for released. The lowest bit corresponds to Button 1.
+    */
+    public short buttons(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * The system to be controlled.
+    */
+    public byte target(){
+        return payload.getByte(10);
+    }
+}
@@ -0,0 +1,78 @@
+// MESSAGE MANUAL_SETPOINT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MANUAL_SETPOINT packet, decoding the fields from its payload
+* without copying them.
+*
+* Setpoint in roll, pitch, yaw and thrust from the operator
+*
+* @see msg_manual_setpoint
+*/
+public class view_manual_setpoint extends MAVLinkView{
+
+    public view_manual_setpoint(){
+        super(msg_manual_setpoint.MAVLINK_MSG_ID_MANUAL_SETPOINT);
+    }
+
+    /**
+    * Points this view at a received MANUAL_SETPOINT packet.
+    *
+    * @return this view
+    */
+    public view_manual_setpoint wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp in milliseconds since system boot
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Desired roll rate in radians per second
+    */
+    public float roll(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Desired pitch rate in radians per second
+    */
+    public float pitch(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Desired yaw rate in radians per second
+    */
+    public float yaw(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Collective thrust, normalized to 0 .. 1
+    */
+    public float thrust(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Flight mode switch position, 0.. 255
+    */
+    public byte mode_switch(){
+        return payload.getByte(20);
+    }
+
+    /**
+    * Override mode switch position, 0.. 255
+    */
+    public byte manual_override_switch(){
+        return payload.getByte(21);
+    }
+}
@@ -0,0 +1,64 @@
+// MESSAGE MEMORY_VECT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MEMORY_VECT packet, decoding the fields from its payload
+* without copying them.
+*
+* Send raw controller memory. The use of this message is discouraged for normal packets, but a quite efficient way for testing new messages and getting experimental debug output.
+*
+* @see msg_memory_vect
+*/
+public class view_memory_vect extends MAVLinkView{
+
+    public static final int VALUE_LENGTH = 32;
+
+    public view_memory_vect(){
+        super(msg_memory_vect.MAVLINK_MSG_ID_MEMORY_VECT);
+    }
+
+    /**
+    * Points this view at a received MEMORY_VECT packet.
+    *
+    * @return this view
+    */
+    public view_memory_vect wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Starting address of the debug variables
+    */
+    public short address(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * Version code of the type variable. 0=unknown, type ignored and assumed int16_t. 1=as below
+    */
+    public byte ver(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Type code of the memory variables. for ver = 1: 0=16 x int16_t, 1=16 x uint16_t, 2=16 x Q15, 3=16 x 1Q14
+    */
+    public byte type(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * Memory contents at specified address
+    *
+    * @param index element index, from 0 to VALUE_LENGTH - 1
+    */
+    public byte value(int index){
+        if(index < 0 || index >= VALUE_LENGTH){
+            throw new IndexOutOfBoundsException("value index " + index);
+        }
+        return payload.getByte(4 + index * 1);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE MISSION_ACK VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_ACK packet, decoding the fields from its payload
+* without copying them.
+*
+* Ack message during MISSION handling. The type field states if this message is a positive ack (type=0) or if an error happened (type=non-zero).
+*
+* @see msg_mission_ack
+*/
+public class view_mission_ack extends MAVLinkView{
+
+    public view_mission_ack(){
+        super(msg_mission_ack.MAVLINK_MSG_ID_MISSION_ACK);
+    }
+
+    /**
+    * Points this view at a received MISSION_ACK packet.
+    *
+    * @return this view
+    */
+    public view_mission_ack wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+
+    /**
+    * See MAV_MISSION_RESULT enum
+    */
+    public byte type(){
+        return payload.getByte(2);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE MISSION_CLEAR_ALL VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_CLEAR_ALL packet, decoding the fields from its payload
+* without copying them.
+*
+* Delete all mission items at once.
+*
+* @see msg_mission_clear_all
+*/
+public class view_mission_clear_all extends MAVLinkView{
+
+    public view_mission_clear_all(){
+        super(msg_mission_clear_all.MAVLINK_MSG_ID_MISSION_CLEAR_ALL);
+    }
+
+    /**
+    * Points this view at a received MISSION_CLEAR_ALL packet.
+    *
+    * @return this view
+    */
+    public view_mission_clear_all wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
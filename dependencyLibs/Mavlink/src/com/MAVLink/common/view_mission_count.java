@@ -0,0 +1,50 @@
+// MESSAGE MISSION_COUNT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_COUNT packet, decoding the fields from its payload
+* without copying them.
+*
+* This message is emitted as response to MISSION_REQUEST_LIST by the MAV and to initiate a write transaction. The GCS can then request the individual mission item based on the knowledge of the total number of MISSIONs.
+*
+* @see msg_mission_count
+*/
+public class view_mission_count extends MAVLinkView{
+
+    public view_mission_count(){
+        super(msg_mission_count.MAVLINK_MSG_ID_MISSION_COUNT);
+    }
+
+    /**
+    * Points this view at a received MISSION_COUNT packet.
+    *
+    * @return this view
+    */
+    public view_mission_count wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Number of mission items in the sequence
+    */
+    public short count(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(3);
+    }
+}
@@ -0,0 +1,36 @@
+// MESSAGE MISSION_CURRENT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_CURRENT packet, decoding the fields from its payload
+* without copying them.
+*
+* Message that announces the sequence number of the current active mission item. The MAV will fly towards this mission item.
+*
+* @see msg_mission_current
+*/
+public class view_mission_current extends MAVLinkView{
+
+    public view_mission_current(){
+        super(msg_mission_current.MAVLINK_MSG_ID_MISSION_CURRENT);
+    }
+
+    /**
+    * Points this view at a received MISSION_CURRENT packet.
+    *
+    * @return this view
+    */
+    public view_mission_current wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Sequence
+    */
+    public short seq(){
+        return payload.getShort(0);
+    }
+}
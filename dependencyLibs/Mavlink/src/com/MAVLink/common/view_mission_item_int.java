@@ -0,0 +1,127 @@
+// MESSAGE MISSION_ITEM_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_ITEM_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* Message encoding a mission item. This message is emitted to announce the presence of a mission item and to set a mission item on the system. The mission item can be either in x, y, z meters (type: LOCAL) or x:lat, y:lon, z:altitude. Local frame is Z-down, right handed (NED), global frame is Z-up, right handed (ENU). See alsohttp://qgroundcontrol.org/mavlink/waypoint_protocol.
+*
+* @see msg_mission_item_int
+*/
+public class view_mission_item_int extends MAVLinkView{
+
+    public view_mission_item_int(){
+        super(msg_mission_item_int.MAVLINK_MSG_ID_MISSION_ITEM_INT);
+    }
+
+    /**
+    * Points this view at a received MISSION_ITEM_INT packet.
+    *
+    * @return this view
+    */
+    public view_mission_item_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * PARAM1, see MAV_CMD enum
+    */
+    public float param1(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * PARAM2, see MAV_CMD enum
+    */
+    public float param2(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * PARAM3, see MAV_CMD enum
+    */
+    public float param3(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * PARAM4, see MAV_CMD enum
+    */
+    public float param4(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * PARAM5 / local: x position in meters * 1e4, global: latitude in degrees * 10^7
+    */
+    public int x(){
+        return payload.getInt(16);
+    }
+
+    /**
+    * PARAM6 / y position: local: x position in meters * 1e4, global: longitude in degrees *10^7
+    */
+    public int y(){
+        return payload.getInt(20);
+    }
+
+    /**
+    * PARAM7 / z position: global: altitude in meters (relative or absolute, depending on frame.
+    */
+    public float z(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Waypoint ID (sequence number). Starts at zero. Increases monotonically for each waypoint, no gaps in the sequence (0,1,2,3,4).
+    */
+    public short seq(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * The scheduled action for the MISSION. see MAV_CMD in common.xml MAVLink specs
+    */
+    public short command(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(32);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(33);
+    }
+
+    /**
+    * The coordinate system of the MISSION. see MAV_FRAME in mavlink_types.h
+    */
+    public byte frame(){
+        return payload.getByte(34);
+    }
+
+    /**
+    * false:0, true:1
+    */
+    public byte current(){
+        return payload.getByte(35);
+    }
+
+    /**
+    * autocontinue to next wp
+    */
+    public byte autocontinue(){
+        return payload.getByte(36);
+    }
+}
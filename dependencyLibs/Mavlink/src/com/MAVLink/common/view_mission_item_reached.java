@@ -0,0 +1,36 @@
+// MESSAGE MISSION_ITEM_REACHED VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_ITEM_REACHED packet, decoding the fields from its payload
+* without copying them.
+*
+* A certain mission item has been reached. The system will either hold this position (or circle on the orbit) or (if the autocontinue on the WP was set) continue to the next MISSION.
+*
+* @see msg_mission_item_reached
+*/
+public class view_mission_item_reached extends MAVLinkView{
+
+    public view_mission_item_reached(){
+        super(msg_mission_item_reached.MAVLINK_MSG_ID_MISSION_ITEM_REACHED);
+    }
+
+    /**
+    * Points this view at a received MISSION_ITEM_REACHED packet.
+    *
+    * @return this view
+    */
+    public view_mission_item_reached wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Sequence
+    */
+    public short seq(){
+        return payload.getShort(0);
+    }
+}
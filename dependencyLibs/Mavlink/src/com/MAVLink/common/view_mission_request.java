@@ -0,0 +1,50 @@
+// MESSAGE MISSION_REQUEST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_REQUEST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request the information of the mission item with the sequence number seq. The response of the system to this message should be a MISSION_ITEM message. http://qgroundcontrol.org/mavlink/waypoint_protocol
+*
+* @see msg_mission_request
+*/
+public class view_mission_request extends MAVLinkView{
+
+    public view_mission_request(){
+        super(msg_mission_request.MAVLINK_MSG_ID_MISSION_REQUEST);
+    }
+
+    /**
+    * Points this view at a received MISSION_REQUEST packet.
+    *
+    * @return this view
+    */
+    public view_mission_request wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Sequence
+    */
+    public short seq(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(3);
+    }
+}
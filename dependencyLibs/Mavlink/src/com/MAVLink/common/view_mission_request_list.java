@@ -0,0 +1,43 @@
+// MESSAGE MISSION_REQUEST_LIST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_REQUEST_LIST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request the overall list of mission items from the system/component.
+*
+* @see msg_mission_request_list
+*/
+public class view_mission_request_list extends MAVLinkView{
+
+    public view_mission_request_list(){
+        super(msg_mission_request_list.MAVLINK_MSG_ID_MISSION_REQUEST_LIST);
+    }
+
+    /**
+    * Points this view at a received MISSION_REQUEST_LIST packet.
+    *
+    * @return this view
+    */
+    public view_mission_request_list wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(1);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE MISSION_REQUEST_PARTIAL_LIST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_REQUEST_PARTIAL_LIST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request a partial list of mission items from the system/component. http://qgroundcontrol.org/mavlink/waypoint_protocol. If start and end index are the same, just send one waypoint.
+*
+* @see msg_mission_request_partial_list
+*/
+public class view_mission_request_partial_list extends MAVLinkView{
+
+    public view_mission_request_partial_list(){
+        super(msg_mission_request_partial_list.MAVLINK_MSG_ID_MISSION_REQUEST_PARTIAL_LIST);
+    }
+
+    /**
+    * Points this view at a received MISSION_REQUEST_PARTIAL_LIST packet.
+    *
+    * @return this view
+    */
+    public view_mission_request_partial_list wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Start index, 0 by default
+    */
+    public short start_index(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * End index, -1 by default (-1: send list to end). Else a valid index of the list
+    */
+    public short end_index(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+}
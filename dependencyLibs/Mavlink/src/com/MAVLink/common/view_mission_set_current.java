@@ -0,0 +1,50 @@
+// MESSAGE MISSION_SET_CURRENT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_SET_CURRENT packet, decoding the fields from its payload
+* without copying them.
+*
+* Set the mission item with sequence number seq as current item. This means that the MAV will continue to this mission item on the shortest path (not following the mission items in-between).
+*
+* @see msg_mission_set_current
+*/
+public class view_mission_set_current extends MAVLinkView{
+
+    public view_mission_set_current(){
+        super(msg_mission_set_current.MAVLINK_MSG_ID_MISSION_SET_CURRENT);
+    }
+
+    /**
+    * Points this view at a received MISSION_SET_CURRENT packet.
+    *
+    * @return this view
+    */
+    public view_mission_set_current wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Sequence
+    */
+    public short seq(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(3);
+    }
+}
@@ -0,0 +1,57 @@
+// MESSAGE MISSION_WRITE_PARTIAL_LIST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a MISSION_WRITE_PARTIAL_LIST packet, decoding the fields from its payload
+* without copying them.
+*
+* This message is sent to the MAV to write a partial list. If start index == end index, only one item will be transmitted / updated. If the start index is NOT 0 and above the current list size, this request should be REJECTED!
+*
+* @see msg_mission_write_partial_list
+*/
+public class view_mission_write_partial_list extends MAVLinkView{
+
+    public view_mission_write_partial_list(){
+        super(msg_mission_write_partial_list.MAVLINK_MSG_ID_MISSION_WRITE_PARTIAL_LIST);
+    }
+
+    /**
+    * Points this view at a received MISSION_WRITE_PARTIAL_LIST packet.
+    *
+    * @return this view
+    */
+    public view_mission_write_partial_list wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Start index, 0 by default and smaller / equal to the largest index of the current onboard list.
+    */
+    public short start_index(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * End index, equal or greater than start index.
+    */
+    public short end_index(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+}
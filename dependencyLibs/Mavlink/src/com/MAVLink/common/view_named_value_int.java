@@ -0,0 +1,57 @@
+// MESSAGE NAMED_VALUE_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a NAMED_VALUE_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* Send a key-value pair as integer. The use of this message is discouraged for normal packets, but a quite efficient way for testing new messages and getting experimental debug output.
+*
+* @see msg_named_value_int
+*/
+public class view_named_value_int extends MAVLinkView{
+
+    public static final int NAME_LENGTH = 10;
+
+    public view_named_value_int(){
+        super(msg_named_value_int.MAVLINK_MSG_ID_NAMED_VALUE_INT);
+    }
+
+    /**
+    * Points this view at a received NAMED_VALUE_INT packet.
+    *
+    * @return this view
+    */
+    public view_named_value_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Signed integer value
+    */
+    public int value(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Name of the debug variable
+    *
+    * @param index element index, from 0 to NAME_LENGTH - 1
+    */
+    public byte name(int index){
+        if(index < 0 || index >= NAME_LENGTH){
+            throw new IndexOutOfBoundsException("name index " + index);
+        }
+        return payload.getByte(8 + index * 1);
+    }
+}
@@ -0,0 +1,85 @@
+// MESSAGE NAV_CONTROLLER_OUTPUT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a NAV_CONTROLLER_OUTPUT packet, decoding the fields from its payload
+* without copying them.
+*
+* Outputs of the APM navigation controller. The primary use of this message is to check the response and signs of the controller before actual flight and to assist with tuning controller parameters.
+*
+* @see msg_nav_controller_output
+*/
+public class view_nav_controller_output extends MAVLinkView{
+
+    public view_nav_controller_output(){
+        super(msg_nav_controller_output.MAVLINK_MSG_ID_NAV_CONTROLLER_OUTPUT);
+    }
+
+    /**
+    * Points this view at a received NAV_CONTROLLER_OUTPUT packet.
+    *
+    * @return this view
+    */
+    public view_nav_controller_output wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Current desired roll in degrees
+    */
+    public float nav_roll(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Current desired pitch in degrees
+    */
+    public float nav_pitch(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Current altitude error in meters
+    */
+    public float alt_error(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Current airspeed error in meters/second
+    */
+    public float aspd_error(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Current crosstrack error on x-y plane in meters
+    */
+    public float xtrack_error(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Current desired heading in degrees
+    */
+    public short nav_bearing(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * Bearing to current MISSION/target in degrees
+    */
+    public short target_bearing(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * Distance to active MISSION in meters
+    */
+    public short wp_dist(){
+        return payload.getShort(24);
+    }
+}
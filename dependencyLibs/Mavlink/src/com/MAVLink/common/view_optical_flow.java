@@ -0,0 +1,85 @@
+// MESSAGE OPTICAL_FLOW VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a OPTICAL_FLOW packet, decoding the fields from its payload
+* without copying them.
+*
+* Optical flow from a flow sensor (e.g. optical mouse sensor)
+*
+* @see msg_optical_flow
+*/
+public class view_optical_flow extends MAVLinkView{
+
+    public view_optical_flow(){
+        super(msg_optical_flow.MAVLINK_MSG_ID_OPTICAL_FLOW);
+    }
+
+    /**
+    * Points this view at a received OPTICAL_FLOW packet.
+    *
+    * @return this view
+    */
+    public view_optical_flow wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (UNIX)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Flow in meters in x-sensor direction, angular-speed compensated
+    */
+    public float flow_comp_m_x(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Flow in meters in y-sensor direction, angular-speed compensated
+    */
+    public float flow_comp_m_y(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Ground distance in meters. Positive value: distance known. Negative value: Unknown distance
+    */
+    public float ground_distance(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Flow in pixels * 10 in x-sensor direction (dezi-pixels)
+    */
+    public short flow_x(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * Flow in pixels * 10 in y-sensor direction (dezi-pixels)
+    */
+    public short flow_y(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * Sensor ID
+    */
+    public byte sensor_id(){
+        return payload.getByte(24);
+    }
+
+    /**
+    * Optical flow quality / confidence. 0: bad, 255: maximum quality
+    */
+    public byte quality(){
+        return payload.getByte(25);
+    }
+}
@@ -0,0 +1,113 @@
+// MESSAGE OPTICAL_FLOW_RAD VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a OPTICAL_FLOW_RAD packet, decoding the fields from its payload
+* without copying them.
+*
+* Optical flow from an angular rate flow sensor (e.g. PX4FLOW or mouse sensor)
+*
+* @see msg_optical_flow_rad
+*/
+public class view_optical_flow_rad extends MAVLinkView{
+
+    public view_optical_flow_rad(){
+        super(msg_optical_flow_rad.MAVLINK_MSG_ID_OPTICAL_FLOW_RAD);
+    }
+
+    /**
+    * Points this view at a received OPTICAL_FLOW_RAD packet.
+    *
+    * @return this view
+    */
+    public view_optical_flow_rad wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds, synced to UNIX time or since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Integration time in microseconds. Divide integrated_x and integrated_y by the integration time to obtain average flow. The integration time also indicates the.
+    */
+    public int integration_time_us(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Flow in radians around X axis (Sensor RH rotation about the X axis induces a positive flow. Sensor linear motion along the positive Y axis induces a negative flow.)
+    */
+    public float integrated_x(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Flow in radians around Y axis (Sensor RH rotation about the Y axis induces a positive flow. Sensor linear motion along the positive X axis induces a positive flow.)
+    */
+    public float integrated_y(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * RH rotation around X axis (rad)
+    */
+    public float integrated_xgyro(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * RH rotation around Y axis (rad)
+    */
+    public float integrated_ygyro(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * RH rotation around Z axis (rad)
+    */
+    public float integrated_zgyro(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Time in microseconds since the distance was sampled.
+    */
+    public int time_delta_distance_us(){
+        return payload.getInt(32);
+    }
+
+    /**
+    * Distance to the center of the flow field in meters. Positive value (including zero): distance known. Negative value: Unknown distance.
+    */
+    public float distance(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Temperature * 100 in centi-degrees Celsius
+    */
+    public short temperature(){
+        return payload.getShort(40);
+    }
+
+    /**
+    * Sensor ID
+    */
+    public byte sensor_id(){
+        return payload.getByte(42);
+    }
+
+    /**
+    * Optical flow quality / confidence. 0: no valid flow, 255: maximum quality
+    */
+    public byte quality(){
+        return payload.getByte(43);
+    }
+}
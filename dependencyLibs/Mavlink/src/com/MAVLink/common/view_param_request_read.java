@@ -0,0 +1,64 @@
+// MESSAGE PARAM_REQUEST_READ VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a PARAM_REQUEST_READ packet, decoding the fields from its payload
+* without copying them.
+*
+* Request to read the onboard parameter with the param_id string id. Onboard parameters are stored as key[const char*] -> value[float]. This allows to send a parameter to any other component (such as the GCS) without the need of previous knowledge of possible parameter names. Thus the same GCS can store different parameters for different autopilots. See also http://qgroundcontrol.org/parameter_interface for a full documentation of QGroundControl and IMU code.
+*
+* @see msg_param_request_read
+*/
+public class view_param_request_read extends MAVLinkView{
+
+    public static final int PARAM_ID_LENGTH = 16;
+
+    public view_param_request_read(){
+        super(msg_param_request_read.MAVLINK_MSG_ID_PARAM_REQUEST_READ);
+    }
+
+    /**
+    * Points this view at a received PARAM_REQUEST_READ packet.
+    *
+    * @return this view
+    */
+    public view_param_request_read wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Parameter index. Send -1 to use the param ID field as identifier (else the param id will be ignored)
+    */
+    public short param_index(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * Onboard parameter id, terminated by NULL if the length is less than 16 human-readable chars and WITHOUT null termination (NULL) byte if the length is exactly 16 chars - applications have to provide 16+1 bytes storage if the ID is stored as string
+    *
+    * @param index element index, from 0 to PARAM_ID_LENGTH - 1
+    */
+    public byte param_id(int index){
+        if(index < 0 || index >= PARAM_ID_LENGTH){
+            throw new IndexOutOfBoundsException("param_id index " + index);
+        }
+        return payload.getByte(4 + index * 1);
+    }
+}
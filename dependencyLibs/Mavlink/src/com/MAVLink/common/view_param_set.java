@@ -0,0 +1,71 @@
+// MESSAGE PARAM_SET VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a PARAM_SET packet, decoding the fields from its payload
+* without copying them.
+*
+* Set a parameter value TEMPORARILY to RAM. It will be reset to default on system reboot. Send the ACTION MAV_ACTION_STORAGE_WRITE to PERMANENTLY write the RAM contents to EEPROM. IMPORTANT: The receiving component should acknowledge the new parameter value by sending a param_value message to all communication partners. This will also ensure that multiple GCS all have an up-to-date list of all parameters. If the sending GCS did not receive a PARAM_VALUE message within its timeout time, it should re-send the PARAM_SET message.
+*
+* @see msg_param_set
+*/
+public class view_param_set extends MAVLinkView{
+
+    public static final int PARAM_ID_LENGTH = 16;
+
+    public view_param_set(){
+        super(msg_param_set.MAVLINK_MSG_ID_PARAM_SET);
+    }
+
+    /**
+    * Points this view at a received PARAM_SET packet.
+    *
+    * @return this view
+    */
+    public view_param_set wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Onboard parameter value
+    */
+    public float param_value(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(5);
+    }
+
+    /**
+    * Onboard parameter id, terminated by NULL if the length is less than 16 human-readable chars and WITHOUT null termination (NULL) byte if the length is exactly 16 chars - applications have to provide 16+1 bytes storage if the ID is stored as string
+    *
+    * @param index element index, from 0 to PARAM_ID_LENGTH - 1
+    */
+    public byte param_id(int index){
+        if(index < 0 || index >= PARAM_ID_LENGTH){
+            throw new IndexOutOfBoundsException("param_id index " + index);
+        }
+        return payload.getByte(6 + index * 1);
+    }
+
+    /**
+    * Onboard parameter type: see the MAV_PARAM_TYPE enum for supported data types.
+    */
+    public byte param_type(){
+        return payload.getByte(22);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE PARAM_VALUE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a PARAM_VALUE packet, decoding the fields from its payload
+* without copying them.
+*
+* Emit the value of a onboard parameter. The inclusion of param_count and param_index in the message allows the recipient to keep track of received parameters and allows him to re-request missing parameters after a loss or timeout.
+*
+* @see msg_param_value
+*/
+public class view_param_value extends MAVLinkView{
+
+    public static final int PARAM_ID_LENGTH = 16;
+
+    public view_param_value(){
+        super(msg_param_value.MAVLINK_MSG_ID_PARAM_VALUE);
+    }
+
+    /**
+    * Points this view at a received PARAM_VALUE packet.
+    *
+    * @return this view
+    */
+    public view_param_value wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Onboard parameter value
+    */
+    public float param_value(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Total number of onboard parameters
+    */
+    public short param_count(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Index of this onboard parameter
+    */
+    public short param_index(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * Onboard parameter id, terminated by NULL if the length is less than 16 human-readable chars and WITHOUT null termination (NULL) byte if the length is exactly 16 chars - applications have to provide 16+1 bytes storage if the ID is stored as string
+    *
+    * @param index element index, from 0 to PARAM_ID_LENGTH - 1
+    */
+    public byte param_id(int index){
+        if(index < 0 || index >= PARAM_ID_LENGTH){
+            throw new IndexOutOfBoundsException("param_id index " + index);
+        }
+        return payload.getByte(8 + index * 1);
+    }
+
+    /**
+    * Onboard parameter type: see the MAV_PARAM_TYPE enum for supported data types.
+    */
+    public byte param_type(){
+        return payload.getByte(24);
+    }
+}
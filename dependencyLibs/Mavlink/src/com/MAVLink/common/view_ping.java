@@ -0,0 +1,57 @@
+// MESSAGE PING VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a PING packet, decoding the fields from its payload
+* without copying them.
+*
+* A ping message either requesting or responding to a ping. This allows to measure the system latencies, including serial port, radio modem and UDP connections.
+*
+* @see msg_ping
+*/
+public class view_ping extends MAVLinkView{
+
+    public view_ping(){
+        super(msg_ping.MAVLINK_MSG_ID_PING);
+    }
+
+    /**
+    * Points this view at a received PING packet.
+    *
+    * @return this view
+    */
+    public view_ping wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Unix timestamp in microseconds or since system boot if smaller than MAVLink epoch (1.1.2009)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * PING sequence
+    */
+    public int seq(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * 0: request ping from all receiving systems, if greater than 0: message is a ping response and number is the system id of the requesting system
+    */
+    public byte target_system(){
+        return payload.getByte(12);
+    }
+
+    /**
+    * 0: request ping from all receiving components, if greater than 0: message is a ping response and number is the system id of the requesting system
+    */
+    public byte target_component(){
+        return payload.getByte(13);
+    }
+}
@@ -0,0 +1,127 @@
+// MESSAGE POSITION_TARGET_GLOBAL_INT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a POSITION_TARGET_GLOBAL_INT packet, decoding the fields from its payload
+* without copying them.
+*
+* Set vehicle position, velocity and acceleration setpoint in the WGS84 coordinate system.
+*
+* @see msg_position_target_global_int
+*/
+public class view_position_target_global_int extends MAVLinkView{
+
+    public view_position_target_global_int(){
+        super(msg_position_target_global_int.MAVLINK_MSG_ID_POSITION_TARGET_GLOBAL_INT);
+    }
+
+    /**
+    * Points this view at a received POSITION_TARGET_GLOBAL_INT packet.
+    *
+    * @return this view
+    */
+    public view_position_target_global_int wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp in milliseconds since system boot. The rationale for the timestamp in the setpoint is to allow the system to compensate for the transport delay of the setpoint. This allows the system to compensate processing latency.
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * X Position in WGS84 frame in 1e7 * meters
+    */
+    public int lat_int(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Y Position in WGS84 frame in 1e7 * meters
+    */
+    public int lon_int(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Altitude in meters in WGS84 altitude, not AMSL if absolute or relative, above terrain if GLOBAL_TERRAIN_ALT_INT
+    */
+    public float alt(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * X velocity in NED frame in meter / s
+    */
+    public float vx(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Y velocity in NED frame in meter / s
+    */
+    public float vy(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Z velocity in NED frame in meter / s
+    */
+    public float vz(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * X acceleration or force (if bit 10 of type_mask is set) in NED frame in meter / s^2 or N
+    */
+    public float afx(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Y acceleration or force (if bit 10 of type_mask is set) in NED frame in meter / s^2 or N
+    */
+    public float afy(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Z acceleration or force (if bit 10 of type_mask is set) in NED frame in meter / s^2 or N
+    */
+    public float afz(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * yaw setpoint in rad
+    */
+    public float yaw(){
+        return payload.getFloat(40);
+    }
+
+    /**
+    * yaw rate setpoint in rad/s
+    */
+    public float yaw_rate(){
+        return payload.getFloat(44);
+    }
+
+    /**
+    * Bitmask to indicate which dimensions should be ignored by the vehicle: a value of 0b0000000000000000 or 0b0000001000000000 indicates that none of the setpoint dimensions should be ignored. If bit 10 is set the floats afx afy afz should be interpreted as force instead of acceleration. Mapping: bit 1: x, bit 2: y, bit 3: z, bit 4: vx, bit 5: vy, bit 6: vz, bit 7: ax, bit 8: ay, bit 9: az, bit 10: is force setpoint, bit 11: yaw, bit 12: yaw rate
+    */
+    public short type_mask(){
+        return payload.getShort(48);
+    }
+
+    /**
+    * Valid options are: MAV_FRAME_GLOBAL_INT = 5, MAV_FRAME_GLOBAL_RELATIVE_ALT_INT = 6, MAV_FRAME_GLOBAL_TERRAIN_ALT_INT = 11
+    */
+    public byte coordinate_frame(){
+        return payload.getByte(50);
+    }
+}
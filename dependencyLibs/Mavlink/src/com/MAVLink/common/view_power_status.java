@@ -0,0 +1,50 @@
+// MESSAGE POWER_STATUS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a POWER_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Power supply status
+*
+* @see msg_power_status
+*/
+public class view_power_status extends MAVLinkView{
+
+    public view_power_status(){
+        super(msg_power_status.MAVLINK_MSG_ID_POWER_STATUS);
+    }
+
+    /**
+    * Points this view at a received POWER_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_power_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * 5V rail voltage in millivolts
+    */
+    public short Vcc(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * servo rail voltage in millivolts
+    */
+    public short Vservo(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * power supply status flags (see MAV_POWER_STATUS enum)
+    */
+    public short flags(){
+        return payload.getShort(4);
+    }
+}
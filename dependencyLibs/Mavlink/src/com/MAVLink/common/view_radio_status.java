@@ -0,0 +1,78 @@
+// MESSAGE RADIO_STATUS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RADIO_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* Status generated by radio
+*
+* @see msg_radio_status
+*/
+public class view_radio_status extends MAVLinkView{
+
+    public view_radio_status(){
+        super(msg_radio_status.MAVLINK_MSG_ID_RADIO_STATUS);
+    }
+
+    /**
+    * Points this view at a received RADIO_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_radio_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * receive errors
+    */
+    public short rxerrors(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * count of error corrected packets
+    */
+    public short fixed(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * local signal strength
+    */
+    public byte rssi(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * remote signal strength
+    */
+    public byte remrssi(){
+        return payload.getByte(5);
+    }
+
+    /**
+    * how full the tx buffer is as a percentage
+    */
+    public byte txbuf(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * background noise level
+    */
+    public byte noise(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * remote background noise level
+    */
+    public byte remnoise(){
+        return payload.getByte(8);
+    }
+}
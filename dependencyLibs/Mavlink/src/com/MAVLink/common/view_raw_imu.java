@@ -0,0 +1,99 @@
+// MESSAGE RAW_IMU VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RAW_IMU packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW IMU readings for the usual 9DOF sensor setup. This message should always contain the true raw values without any scaling to allow data capture and system debugging.
+*
+* @see msg_raw_imu
+*/
+public class view_raw_imu extends MAVLinkView{
+
+    public view_raw_imu(){
+        super(msg_raw_imu.MAVLINK_MSG_ID_RAW_IMU);
+    }
+
+    /**
+    * Points this view at a received RAW_IMU packet.
+    *
+    * @return this view
+    */
+    public view_raw_imu wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * X acceleration (raw)
+    */
+    public short xacc(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Y acceleration (raw)
+    */
+    public short yacc(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * Z acceleration (raw)
+    */
+    public short zacc(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * Angular speed around X axis (raw)
+    */
+    public short xgyro(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * Angular speed around Y axis (raw)
+    */
+    public short ygyro(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Angular speed around Z axis (raw)
+    */
+    public short zgyro(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * X Magnetic field (raw)
+    */
+    public short xmag(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * Y Magnetic field (raw)
+    */
+    public short ymag(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * Z Magnetic field (raw)
+    */
+    public short zmag(){
+        return payload.getShort(24);
+    }
+}
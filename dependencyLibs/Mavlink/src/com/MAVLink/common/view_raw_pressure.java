@@ -0,0 +1,64 @@
+// MESSAGE RAW_PRESSURE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RAW_PRESSURE packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW pressure readings for the typical setup of one absolute pressure and one differential pressure sensor. The sensor values should be the raw, UNSCALED ADC values.
+*
+* @see msg_raw_pressure
+*/
+public class view_raw_pressure extends MAVLinkView{
+
+    public view_raw_pressure(){
+        super(msg_raw_pressure.MAVLINK_MSG_ID_RAW_PRESSURE);
+    }
+
+    /**
+    * Points this view at a received RAW_PRESSURE packet.
+    *
+    * @return this view
+    */
+    public view_raw_pressure wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since UNIX epoch or microseconds since system boot)
+    */
+    public long time_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Absolute pressure (raw)
+    */
+    public short press_abs(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Differential pressure 1 (raw)
+    */
+    public short press_diff1(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * Differential pressure 2 (raw)
+    */
+    public short press_diff2(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * Raw Temperature measurement (raw)
+    */
+    public short temperature(){
+        return payload.getShort(14);
+    }
+}
@@ -0,0 +1,176 @@
+// MESSAGE RC_CHANNELS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RC_CHANNELS packet, decoding the fields from its payload
+* without copying them.
+*
+* The PPM values of the RC channels received. The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%. Individual receivers/transmitters might violate this specification.
+*
+* @see msg_rc_channels
+*/
+public class view_rc_channels extends MAVLinkView{
+
+    public view_rc_channels(){
+        super(msg_rc_channels.MAVLINK_MSG_ID_RC_CHANNELS);
+    }
+
+    /**
+    * Points this view at a received RC_CHANNELS packet.
+    *
+    * @return this view
+    */
+    public view_rc_channels wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * RC channel 1 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan1_raw(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * RC channel 2 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan2_raw(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * RC channel 3 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan3_raw(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * RC channel 4 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan4_raw(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * RC channel 5 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan5_raw(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * RC channel 6 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan6_raw(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * RC channel 7 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan7_raw(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * RC channel 8 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan8_raw(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * RC channel 9 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan9_raw(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * RC channel 10 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan10_raw(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * RC channel 11 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan11_raw(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * RC channel 12 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan12_raw(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * RC channel 13 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan13_raw(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * RC channel 14 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan14_raw(){
+        return payload.getShort(30);
+    }
+
+    /**
+    * RC channel 15 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan15_raw(){
+        return payload.getShort(32);
+    }
+
+    /**
+    * RC channel 16 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan16_raw(){
+        return payload.getShort(34);
+    }
+
+    /**
+    * RC channel 17 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan17_raw(){
+        return payload.getShort(36);
+    }
+
+    /**
+    * RC channel 18 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan18_raw(){
+        return payload.getShort(38);
+    }
+
+    /**
+    * Total number of RC channels being received. This can be larger than 18, indicating that more channels are available but not given in this message. This value should be 0 when no RC channels are available.
+    */
+    public byte chancount(){
+        return payload.getByte(40);
+    }
+
+    /**
+    * Receive signal strength indicator, 0: 0%, 100: 100%, 255: invalid/unknown.
+    */
+    public byte rssi(){
+        return payload.getByte(41);
+    }
+}
@@ -0,0 +1,99 @@
+// MESSAGE RC_CHANNELS_OVERRIDE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RC_CHANNELS_OVERRIDE packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW values of the RC channels sent to the MAV to override info received from the RC radio. A value of UINT16_MAX means no change to that channel. A value of 0 means control of that channel should be released back to the RC radio. The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%. Individual receivers/transmitters might violate this specification.
+*
+* @see msg_rc_channels_override
+*/
+public class view_rc_channels_override extends MAVLinkView{
+
+    public view_rc_channels_override(){
+        super(msg_rc_channels_override.MAVLINK_MSG_ID_RC_CHANNELS_OVERRIDE);
+    }
+
+    /**
+    * Points this view at a received RC_CHANNELS_OVERRIDE packet.
+    *
+    * @return this view
+    */
+    public view_rc_channels_override wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * RC channel 1 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan1_raw(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * RC channel 2 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan2_raw(){
+        return payload.getShort(2);
+    }
+
+    /**
+    * RC channel 3 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan3_raw(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * RC channel 4 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan4_raw(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * RC channel 5 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan5_raw(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * RC channel 6 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan6_raw(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * RC channel 7 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan7_raw(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * RC channel 8 value, in microseconds. A value of UINT16_MAX means to ignore this field.
+    */
+    public short chan8_raw(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(16);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(17);
+    }
+}
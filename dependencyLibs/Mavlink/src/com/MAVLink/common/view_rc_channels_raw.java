@@ -0,0 +1,106 @@
+// MESSAGE RC_CHANNELS_RAW VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RC_CHANNELS_RAW packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW values of the RC channels received. The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%. Individual receivers/transmitters might violate this specification.
+*
+* @see msg_rc_channels_raw
+*/
+public class view_rc_channels_raw extends MAVLinkView{
+
+    public view_rc_channels_raw(){
+        super(msg_rc_channels_raw.MAVLINK_MSG_ID_RC_CHANNELS_RAW);
+    }
+
+    /**
+    * Points this view at a received RC_CHANNELS_RAW packet.
+    *
+    * @return this view
+    */
+    public view_rc_channels_raw wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * RC channel 1 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan1_raw(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * RC channel 2 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan2_raw(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * RC channel 3 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan3_raw(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * RC channel 4 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan4_raw(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * RC channel 5 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan5_raw(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * RC channel 6 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan6_raw(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * RC channel 7 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan7_raw(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * RC channel 8 value, in microseconds. A value of UINT16_MAX implies the channel is unused.
+    */
+    public short chan8_raw(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Servo output port (set of 8 outputs = 1 port). Most MAVs will just use one, but this allows for more than 8 servos.
+    */
+    public byte port(){
+        return payload.getByte(20);
+    }
+
+    /**
+    * Receive signal strength indicator, 0: 0%, 100: 100%, 255: invalid/unknown.
+    */
+    public byte rssi(){
+        return payload.getByte(21);
+    }
+}
@@ -0,0 +1,106 @@
+// MESSAGE RC_CHANNELS_SCALED VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a RC_CHANNELS_SCALED packet, decoding the fields from its payload
+* without copying them.
+*
+* The scaled values of the RC channels received. (-100%) -10000, (0%) 0, (100%) 10000. Channels that are inactive should be set to UINT16_MAX.
+*
+* @see msg_rc_channels_scaled
+*/
+public class view_rc_channels_scaled extends MAVLinkView{
+
+    public view_rc_channels_scaled(){
+        super(msg_rc_channels_scaled.MAVLINK_MSG_ID_RC_CHANNELS_SCALED);
+    }
+
+    /**
+    * Points this view at a received RC_CHANNELS_SCALED packet.
+    *
+    * @return this view
+    */
+    public view_rc_channels_scaled wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * RC channel 1 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan1_scaled(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * RC channel 2 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan2_scaled(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * RC channel 3 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan3_scaled(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * RC channel 4 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan4_scaled(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * RC channel 5 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan5_scaled(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * RC channel 6 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan6_scaled(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * RC channel 7 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan7_scaled(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * RC channel 8 value scaled, (-100%) -10000, (0%) 0, (100%) 10000, (invalid) INT16_MAX.
+    */
+    public short chan8_scaled(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Servo output port (set of 8 outputs = 1 port). Most MAVs will just use one, but this allows for more than 8 servos.
+    */
+    public byte port(){
+        return payload.getByte(20);
+    }
+
+    /**
+    * Receive signal strength indicator, 0: 0%, 100: 100%, 255: invalid/unknown.
+    */
+    public byte rssi(){
+        return payload.getByte(21);
+    }
+}
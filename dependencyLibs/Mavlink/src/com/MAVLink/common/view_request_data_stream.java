@@ -0,0 +1,64 @@
+// MESSAGE REQUEST_DATA_STREAM VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a REQUEST_DATA_STREAM packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_request_data_stream
+*/
+public class view_request_data_stream extends MAVLinkView{
+
+    public view_request_data_stream(){
+        super(msg_request_data_stream.MAVLINK_MSG_ID_REQUEST_DATA_STREAM);
+    }
+
+    /**
+    * Points this view at a received REQUEST_DATA_STREAM packet.
+    *
+    * @return this view
+    */
+    public view_request_data_stream wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * The requested interval between two messages of this type
+    */
+    public short req_message_rate(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * The target requested to send the message stream.
+    */
+    public byte target_system(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * The target requested to send the message stream.
+    */
+    public byte target_component(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * The ID of the requested data stream
+    */
+    public byte req_stream_id(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * 1 to start sending, 0 to stop sending.
+    */
+    public byte start_stop(){
+        return payload.getByte(5);
+    }
+}
@@ -0,0 +1,78 @@
+// MESSAGE SAFETY_ALLOWED_AREA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SAFETY_ALLOWED_AREA packet, decoding the fields from its payload
+* without copying them.
+*
+* Read out the safety zone the MAV currently assumes.
+*
+* @see msg_safety_allowed_area
+*/
+public class view_safety_allowed_area extends MAVLinkView{
+
+    public view_safety_allowed_area(){
+        super(msg_safety_allowed_area.MAVLINK_MSG_ID_SAFETY_ALLOWED_AREA);
+    }
+
+    /**
+    * Points this view at a received SAFETY_ALLOWED_AREA packet.
+    *
+    * @return this view
+    */
+    public view_safety_allowed_area wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * x position 1 / Latitude 1
+    */
+    public float p1x(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * y position 1 / Longitude 1
+    */
+    public float p1y(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * z position 1 / Altitude 1
+    */
+    public float p1z(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * x position 2 / Latitude 2
+    */
+    public float p2x(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * y position 2 / Longitude 2
+    */
+    public float p2y(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * z position 2 / Altitude 2
+    */
+    public float p2z(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Coordinate frame, as defined by MAV_FRAME enum in mavlink_types.h. Can be either global, GPS, right-handed with Z axis up or local, right handed, Z axis down.
+    */
+    public byte frame(){
+        return payload.getByte(24);
+    }
+}
@@ -0,0 +1,99 @@
+// MESSAGE SCALED_IMU VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SCALED_IMU packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW IMU readings for the usual 9DOF sensor setup. This message should contain the scaled values to the described units
+*
+* @see msg_scaled_imu
+*/
+public class view_scaled_imu extends MAVLinkView{
+
+    public view_scaled_imu(){
+        super(msg_scaled_imu.MAVLINK_MSG_ID_SCALED_IMU);
+    }
+
+    /**
+    * Points this view at a received SCALED_IMU packet.
+    *
+    * @return this view
+    */
+    public view_scaled_imu wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * X acceleration (mg)
+    */
+    public short xacc(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Y acceleration (mg)
+    */
+    public short yacc(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * Z acceleration (mg)
+    */
+    public short zacc(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Angular speed around X axis (millirad /sec)
+    */
+    public short xgyro(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * Angular speed around Y axis (millirad /sec)
+    */
+    public short ygyro(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * Angular speed around Z axis (millirad /sec)
+    */
+    public short zgyro(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * X Magnetic field (milli tesla)
+    */
+    public short xmag(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Y Magnetic field (milli tesla)
+    */
+    public short ymag(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Z Magnetic field (milli tesla)
+    */
+    public short zmag(){
+        return payload.getShort(20);
+    }
+}
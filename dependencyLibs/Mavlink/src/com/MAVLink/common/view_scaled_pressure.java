@@ -0,0 +1,57 @@
+// MESSAGE SCALED_PRESSURE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SCALED_PRESSURE packet, decoding the fields from its payload
+* without copying them.
+*
+* The pressure readings for the typical setup of one absolute and differential pressure sensor. The units are as specified in each field.
+*
+* @see msg_scaled_pressure
+*/
+public class view_scaled_pressure extends MAVLinkView{
+
+    public view_scaled_pressure(){
+        super(msg_scaled_pressure.MAVLINK_MSG_ID_SCALED_PRESSURE);
+    }
+
+    /**
+    * Points this view at a received SCALED_PRESSURE packet.
+    *
+    * @return this view
+    */
+    public view_scaled_pressure wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (milliseconds since system boot)
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Absolute pressure (hectopascal)
+    */
+    public float press_abs(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Differential pressure 1 (hectopascal)
+    */
+    public float press_diff(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Temperature measurement (0.01 degrees celsius)
+    */
+    public short temperature(){
+        return payload.getShort(12);
+    }
+}
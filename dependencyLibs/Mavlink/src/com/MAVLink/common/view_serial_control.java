@@ -0,0 +1,78 @@
+// MESSAGE SERIAL_CONTROL VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SERIAL_CONTROL packet, decoding the fields from its payload
+* without copying them.
+*
+* Control a serial port. This can be used for raw access to an onboard serial peripheral such as a GPS or telemetry radio. It is designed to make it possible to update the devices firmware via MAVLink messages or change the devices settings. A message with zero bytes can be used to change just the baudrate.
+*
+* @see msg_serial_control
+*/
+public class view_serial_control extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 70;
+
+    public view_serial_control(){
+        super(msg_serial_control.MAVLINK_MSG_ID_SERIAL_CONTROL);
+    }
+
+    /**
+    * Points this view at a received SERIAL_CONTROL packet.
+    *
+    * @return this view
+    */
+    public view_serial_control wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Baudrate of transfer. Zero means no change.
+    */
+    public int baudrate(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Timeout for reply data in milliseconds
+    */
+    public short timeout(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * See SERIAL_CONTROL_DEV enum
+    */
+    public byte device(){
+        return payload.getByte(6);
+    }
+
+    /**
+    * See SERIAL_CONTROL_FLAG enum
+    */
+    public byte flags(){
+        return payload.getByte(7);
+    }
+
+    /**
+    * how many bytes in this transfer
+    */
+    public byte count(){
+        return payload.getByte(8);
+    }
+
+    /**
+    * serial data
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public byte data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getByte(9 + index * 1);
+    }
+}
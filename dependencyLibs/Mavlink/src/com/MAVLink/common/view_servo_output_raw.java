@@ -0,0 +1,99 @@
+// MESSAGE SERVO_OUTPUT_RAW VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SERVO_OUTPUT_RAW packet, decoding the fields from its payload
+* without copying them.
+*
+* The RAW values of the servo outputs (for RC input from the remote, use the RC_CHANNELS messages). The standard PPM modulation is as follows: 1000 microseconds: 0%, 2000 microseconds: 100%.
+*
+* @see msg_servo_output_raw
+*/
+public class view_servo_output_raw extends MAVLinkView{
+
+    public view_servo_output_raw(){
+        super(msg_servo_output_raw.MAVLINK_MSG_ID_SERVO_OUTPUT_RAW);
+    }
+
+    /**
+    * Points this view at a received SERVO_OUTPUT_RAW packet.
+    *
+    * @return this view
+    */
+    public view_servo_output_raw wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds since system boot)
+    */
+    public int time_usec(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Servo output 1 value, in microseconds
+    */
+    public short servo1_raw(){
+        return payload.getShort(4);
+    }
+
+    /**
+    * Servo output 2 value, in microseconds
+    */
+    public short servo2_raw(){
+        return payload.getShort(6);
+    }
+
+    /**
+    * Servo output 3 value, in microseconds
+    */
+    public short servo3_raw(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Servo output 4 value, in microseconds
+    */
+    public short servo4_raw(){
+        return payload.getShort(10);
+    }
+
+    /**
+    * Servo output 5 value, in microseconds
+    */
+    public short servo5_raw(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * Servo output 6 value, in microseconds
+    */
+    public short servo6_raw(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * Servo output 7 value, in microseconds
+    */
+    public short servo7_raw(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Servo output 8 value, in microseconds
+    */
+    public short servo8_raw(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Servo output port (set of 8 outputs = 1 port). Most MAVs will just use one, but this allows to encode more than 8 servos.
+    */
+    public byte port(){
+        return payload.getByte(20);
+    }
+}
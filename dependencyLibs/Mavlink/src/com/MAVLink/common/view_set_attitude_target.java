@@ -0,0 +1,99 @@
+// MESSAGE SET_ATTITUDE_TARGET VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SET_ATTITUDE_TARGET packet, decoding the fields from its payload
+* without copying them.
+*
+* Set the vehicle attitude and body angular rates.
+*
+* @see msg_set_attitude_target
+*/
+public class view_set_attitude_target extends MAVLinkView{
+
+    public static final int Q_LENGTH = 4;
+
+    public view_set_attitude_target(){
+        super(msg_set_attitude_target.MAVLINK_MSG_ID_SET_ATTITUDE_TARGET);
+    }
+
+    /**
+    * Points this view at a received SET_ATTITUDE_TARGET packet.
+    *
+    * @return this view
+    */
+    public view_set_attitude_target wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp in milliseconds since system boot
+    */
+    public int time_boot_ms(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Attitude quaternion (w, x, y, z order, zero-rotation is 1, 0, 0, 0)
+    *
+    * @param index element index, from 0 to Q_LENGTH - 1
+    */
+    public float q(int index){
+        if(index < 0 || index >= Q_LENGTH){
+            throw new IndexOutOfBoundsException("q index " + index);
+        }
+        return payload.getFloat(4 + index * 4);
+    }
+
+    /**
+    * Body roll rate in radians per second
+    */
+    public float body_roll_rate(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Body roll rate in radians per second
+    */
+    public float body_pitch_rate(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Body roll rate in radians per second
+    */
+    public float body_yaw_rate(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Collective thrust, normalized to 0 .. 1 (-1 .. 1 for vehicles capable of reverse trust)
+    */
+    public float thrust(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(36);
+    }
+
+    /**
+    * Component ID
+    */
+    public byte target_component(){
+        return payload.getByte(37);
+    }
+
+    /**
+    * Mappings: If any of these bits are set, the corresponding input should be ignored: bit 1: body roll rate, bit 2: body pitch rate, bit 3: body yaw rate. bit 4-bit 6: reserved, bit 7: throttle, bit 8: attitude
+    */
+    public byte type_mask(){
+        return payload.getByte(38);
+    }
+}
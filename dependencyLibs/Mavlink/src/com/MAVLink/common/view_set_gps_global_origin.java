@@ -0,0 +1,57 @@
+// MESSAGE SET_GPS_GLOBAL_ORIGIN VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SET_GPS_GLOBAL_ORIGIN packet, decoding the fields from its payload
+* without copying them.
+*
+* As local waypoints exist, the global MISSION reference allows to transform between the local coordinate frame and the global (GPS) coordinate frame. This can be necessary when e.g. in- and outdoor settings are connected and the MAV should move from in- to outdoor.
+*
+* @see msg_set_gps_global_origin
+*/
+public class view_set_gps_global_origin extends MAVLinkView{
+
+    public view_set_gps_global_origin(){
+        super(msg_set_gps_global_origin.MAVLINK_MSG_ID_SET_GPS_GLOBAL_ORIGIN);
+    }
+
+    /**
+    * Points this view at a received SET_GPS_GLOBAL_ORIGIN packet.
+    *
+    * @return this view
+    */
+    public view_set_gps_global_origin wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude (WGS84), in degrees * 1E7
+    */
+    public int latitude(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude (WGS84, in degrees * 1E7
+    */
+    public int longitude(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Altitude (WGS84), in meters * 1000 (positive for up)
+    */
+    public int altitude(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * System ID
+    */
+    public byte target_system(){
+        return payload.getByte(12);
+    }
+}
@@ -0,0 +1,50 @@
+// MESSAGE SET_MODE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SET_MODE packet, decoding the fields from its payload
+* without copying them.
+*
+* Set the system mode, as defined by enum MAV_MODE. There is no target component id as the mode is by definition for the overall aircraft, not only for one component.
+*
+* @see msg_set_mode
+*/
+public class view_set_mode extends MAVLinkView{
+
+    public view_set_mode(){
+        super(msg_set_mode.MAVLINK_MSG_ID_SET_MODE);
+    }
+
+    /**
+    * Points this view at a received SET_MODE packet.
+    *
+    * @return this view
+    */
+    public view_set_mode wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * The new autopilot-specific mode. This field can be ignored by an autopilot.
+    */
+    public int custom_mode(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * The system setting the mode
+    */
+    public byte target_system(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * The new base mode
+    */
+    public byte base_mode(){
+        return payload.getByte(5);
+    }
+}
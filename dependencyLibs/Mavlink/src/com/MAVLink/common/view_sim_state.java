@@ -0,0 +1,176 @@
+// MESSAGE SIM_STATE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SIM_STATE packet, decoding the fields from its payload
+* without copying them.
+*
+* Status of simulation environment, if used
+*
+* @see msg_sim_state
+*/
+public class view_sim_state extends MAVLinkView{
+
+    public view_sim_state(){
+        super(msg_sim_state.MAVLINK_MSG_ID_SIM_STATE);
+    }
+
+    /**
+    * Points this view at a received SIM_STATE packet.
+    *
+    * @return this view
+    */
+    public view_sim_state wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * True attitude quaternion component 1, w (1 in null-rotation)
+    */
+    public float q1(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * True attitude quaternion component 2, x (0 in null-rotation)
+    */
+    public float q2(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * True attitude quaternion component 3, y (0 in null-rotation)
+    */
+    public float q3(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * True attitude quaternion component 4, z (0 in null-rotation)
+    */
+    public float q4(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Attitude roll expressed as Euler angles, not recommended except for human-readable outputs
+    */
+    public float roll(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Attitude pitch expressed as Euler angles, not recommended except for human-readable outputs
+    */
+    public float pitch(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Attitude yaw expressed as Euler angles, not recommended except for human-readable outputs
+    */
+    public float yaw(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * X acceleration m/s/s
+    */
+    public float xacc(){
+        return payload.getFloat(28);
+    }
+
+    /**
+    * Y acceleration m/s/s
+    */
+    public float yacc(){
+        return payload.getFloat(32);
+    }
+
+    /**
+    * Z acceleration m/s/s
+    */
+    public float zacc(){
+        return payload.getFloat(36);
+    }
+
+    /**
+    * Angular speed around X axis rad/s
+    */
+    public float xgyro(){
+        return payload.getFloat(40);
+    }
+
+    /**
+    * Angular speed around Y axis rad/s
+    */
+    public float ygyro(){
+        return payload.getFloat(44);
+    }
+
+    /**
+    * Angular speed around Z axis rad/s
+    */
+    public float zgyro(){
+        return payload.getFloat(48);
+    }
+
+    /**
+    * Latitude in degrees
+    */
+    public float lat(){
+        return payload.getFloat(52);
+    }
+
+    /**
+    * Longitude in degrees
+    */
+    public float lon(){
+        return payload.getFloat(56);
+    }
+
+    /**
+    * Altitude in meters
+    */
+    public float alt(){
+        return payload.getFloat(60);
+    }
+
+    /**
+    * Horizontal position standard deviation
+    */
+    public float std_dev_horz(){
+        return payload.getFloat(64);
+    }
+
+    /**
+    * Vertical position standard deviation
+    */
+    public float std_dev_vert(){
+        return payload.getFloat(68);
+    }
+
+    /**
+    * True velocity in m/s in NORTH direction in earth-fixed NED frame
+    */
+    public float vn(){
+        return payload.getFloat(72);
+    }
+
+    /**
+    * True velocity in m/s in EAST direction in earth-fixed NED frame
+    */
+    public float ve(){
+        return payload.getFloat(76);
+    }
+
+    /**
+    * True velocity in m/s in DOWN direction in earth-fixed NED frame
+    */
+    public float vd(){
+        return payload.getFloat(80);
+    }
+}
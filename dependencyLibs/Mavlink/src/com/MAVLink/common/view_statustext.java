@@ -0,0 +1,50 @@
+// MESSAGE STATUSTEXT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a STATUSTEXT packet, decoding the fields from its payload
+* without copying them.
+*
+* Status text message. These messages are printed in yellow in the COMM console of QGroundControl. WARNING: They consume quite some bandwidth, so use only for important status and error messages. If implemented wisely, these messages are buffered on the MCU and sent only at a limited rate (e.g. 10 Hz).
+*
+* @see msg_statustext
+*/
+public class view_statustext extends MAVLinkView{
+
+    public static final int TEXT_LENGTH = 50;
+
+    public view_statustext(){
+        super(msg_statustext.MAVLINK_MSG_ID_STATUSTEXT);
+    }
+
+    /**
+    * Points this view at a received STATUSTEXT packet.
+    *
+    * @return this view
+    */
+    public view_statustext wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Severity of status. Relies on the definitions within RFC-5424. See enum MAV_SEVERITY.
+    */
+    public byte severity(){
+        return payload.getByte(0);
+    }
+
+    /**
+    * Status text message, without null termination character
+    *
+    * @param index element index, from 0 to TEXT_LENGTH - 1
+    */
+    public byte text(int index){
+        if(index < 0 || index >= TEXT_LENGTH){
+            throw new IndexOutOfBoundsException("text index " + index);
+        }
+        return payload.getByte(1 + index * 1);
+    }
+}
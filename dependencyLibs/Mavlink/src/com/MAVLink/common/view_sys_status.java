@@ -0,0 +1,120 @@
+// MESSAGE SYS_STATUS VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SYS_STATUS packet, decoding the fields from its payload
+* without copying them.
+*
+* The general system state. If the system is following the MAVLink standard, the system state is mainly defined by three orthogonal states/modes: The system mode, which is either LOCKED (motors shut down and locked), MANUAL (system under RC control), GUIDED (system with autonomous position control, position setpoint controlled manually) or AUTO (system guided by path/waypoint planner). The NAV_MODE defined the current flight state: LIFTOFF (often an open-loop maneuver), LANDING, WAYPOINTS or VECTOR. This represents the internal navigation state machine. The system status shows wether the system is currently active or not and if an emergency occured. During the CRITICAL and EMERGENCY states the MAV is still considered to be active, but should start emergency procedures autonomously. After a failure occured it should first move from active to critical to allow manual intervention and then move to emergency after a certain timeout.
+*
+* @see msg_sys_status
+*/
+public class view_sys_status extends MAVLinkView{
+
+    public view_sys_status(){
+        super(msg_sys_status.MAVLINK_MSG_ID_SYS_STATUS);
+    }
+
+    /**
+    * Points this view at a received SYS_STATUS packet.
+    *
+    * @return this view
+    */
+    public view_sys_status wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Bitmask showing which onboard controllers and sensors are present. Value of 0: not present. Value of 1: present. Indices defined by ENUM MAV_SYS_STATUS_SENSOR
+    */
+    public int onboard_control_sensors_present(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Bitmask showing which onboard controllers and sensors are enabled: Value of 0: not enabled. Value of 1: enabled. Indices defined by ENUM MAV_SYS_STATUS_SENSOR
+    */
+    public int onboard_control_sensors_enabled(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Bitmask showing which onboard controllers and sensors are operational or have an error: Value of 0: not enabled. Value of 1: enabled. Indices defined by ENUM MAV_SYS_STATUS_SENSOR
+    */
+    public int onboard_control_sensors_health(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Maximum usage in percent of the mainloop time, (0%: 0, 100%: 1000) should be always below 1000
+    */
+    public short load(){
+        return payload.getShort(12);
+    }
+
+    /**
+    * Battery voltage, in millivolts (1 = 1 millivolt)
+    */
+    public short voltage_battery(){
+        return payload.getShort(14);
+    }
+
+    /**
+    * Battery current, in 10*milliamperes (1 = 10 milliampere), -1: autopilot does not measure the current
+    */
+    public short current_battery(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Communication drops in percent, (0%: 0, 100%: 10'000), (UART, I2C, SPI, CAN), dropped packets on all links (packets that were corrupted on reception on the MAV)
+    */
+    public short drop_rate_comm(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Communication errors (UART, I2C, SPI, CAN), dropped packets on all links (packets that were corrupted on reception on the MAV)
+    */
+    public short errors_comm(){
+        return payload.getShort(20);
+    }
+
+    /**
+    * Autopilot-specific errors
+    */
+    public short errors_count1(){
+        return payload.getShort(22);
+    }
+
+    /**
+    * Autopilot-specific errors
+    */
+    public short errors_count2(){
+        return payload.getShort(24);
+    }
+
+    /**
+    * Autopilot-specific errors
+    */
+    public short errors_count3(){
+        return payload.getShort(26);
+    }
+
+    /**
+    * Autopilot-specific errors
+    */
+    public short errors_count4(){
+        return payload.getShort(28);
+    }
+
+    /**
+    * Remaining battery energy: (0%: 0, 100%: 100), -1: autopilot estimate the remaining battery
+    */
+    public byte battery_remaining(){
+        return payload.getByte(30);
+    }
+}
@@ -0,0 +1,43 @@
+// MESSAGE SYSTEM_TIME VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a SYSTEM_TIME packet, decoding the fields from its payload
+* without copying them.
+*
+* The system time is the time of the master clock, typically the computer clock of the main onboard computer.
+*
+* @see msg_system_time
+*/
+public class view_system_time extends MAVLinkView{
+
+    public view_system_time(){
+        super(msg_system_time.MAVLINK_MSG_ID_SYSTEM_TIME);
+    }
+
+    /**
+    * Points this view at a received SYSTEM_TIME packet.
+    *
+    * @return this view
+    */
+    public view_system_time wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp of the master clock in microseconds since UNIX epoch.
+    */
+    public long time_unix_usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Timestamp of the component clock since boot time in milliseconds.
+    */
+    public int time_boot_ms(){
+        return payload.getInt(8);
+    }
+}
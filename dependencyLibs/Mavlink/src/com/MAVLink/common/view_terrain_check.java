@@ -0,0 +1,43 @@
+// MESSAGE TERRAIN_CHECK VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a TERRAIN_CHECK packet, decoding the fields from its payload
+* without copying them.
+*
+* Request that the vehicle report terrain height at the given location. Used by GCS to check if vehicle has all terrain data needed for a mission.
+*
+* @see msg_terrain_check
+*/
+public class view_terrain_check extends MAVLinkView{
+
+    public view_terrain_check(){
+        super(msg_terrain_check.MAVLINK_MSG_ID_TERRAIN_CHECK);
+    }
+
+    /**
+    * Points this view at a received TERRAIN_CHECK packet.
+    *
+    * @return this view
+    */
+    public view_terrain_check wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude (degrees *10^7)
+    */
+    public int lat(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude (degrees *10^7)
+    */
+    public int lon(){
+        return payload.getInt(4);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE TERRAIN_DATA VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a TERRAIN_DATA packet, decoding the fields from its payload
+* without copying them.
+*
+* Terrain data sent from GCS. The lat/lon and grid_spacing must be the same as a lat/lon from a TERRAIN_REQUEST
+*
+* @see msg_terrain_data
+*/
+public class view_terrain_data extends MAVLinkView{
+
+    public static final int DATA_LENGTH = 16;
+
+    public view_terrain_data(){
+        super(msg_terrain_data.MAVLINK_MSG_ID_TERRAIN_DATA);
+    }
+
+    /**
+    * Points this view at a received TERRAIN_DATA packet.
+    *
+    * @return this view
+    */
+    public view_terrain_data wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude of SW corner of first grid (degrees *10^7)
+    */
+    public int lat(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude of SW corner of first grid (in degrees *10^7)
+    */
+    public int lon(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Grid spacing in meters
+    */
+    public short grid_spacing(){
+        return payload.getShort(8);
+    }
+
+    /**
+    * Terrain data in meters AMSL
+    *
+    * @param index element index, from 0 to DATA_LENGTH - 1
+    */
+    public short data(int index){
+        if(index < 0 || index >= DATA_LENGTH){
+            throw new IndexOutOfBoundsException("data index " + index);
+        }
+        return payload.getShort(10 + index * 2);
+    }
+
+    /**
+    * bit within the terrain request mask
+    */
+    public byte gridbit(){
+        return payload.getByte(42);
+    }
+}
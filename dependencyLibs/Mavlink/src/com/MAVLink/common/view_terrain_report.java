@@ -0,0 +1,78 @@
+// MESSAGE TERRAIN_REPORT VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a TERRAIN_REPORT packet, decoding the fields from its payload
+* without copying them.
+*
+* Response from a TERRAIN_CHECK request
+*
+* @see msg_terrain_report
+*/
+public class view_terrain_report extends MAVLinkView{
+
+    public view_terrain_report(){
+        super(msg_terrain_report.MAVLINK_MSG_ID_TERRAIN_REPORT);
+    }
+
+    /**
+    * Points this view at a received TERRAIN_REPORT packet.
+    *
+    * @return this view
+    */
+    public view_terrain_report wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Latitude (degrees *10^7)
+    */
+    public int lat(){
+        return payload.getInt(0);
+    }
+
+    /**
+    * Longitude (degrees *10^7)
+    */
+    public int lon(){
+        return payload.getInt(4);
+    }
+
+    /**
+    * Terrain height in meters AMSL
+    */
+    public float terrain_height(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Current vehicle height above lat/lon terrain height (meters)
+    */
+    public float current_height(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * grid spacing (zero if terrain at this location unavailable)
+    */
+    public short spacing(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Number of 4x4 terrain blocks waiting to be received or read from disk
+    */
+    public short pending(){
+        return payload.getShort(18);
+    }
+
+    /**
+    * Number of 4x4 terrain blocks in memory
+    */
+    public short loaded(){
+        return payload.getShort(20);
+    }
+}
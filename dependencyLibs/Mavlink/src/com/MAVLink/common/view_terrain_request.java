@@ -0,0 +1,57 @@
+// MESSAGE TERRAIN_REQUEST VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a TERRAIN_REQUEST packet, decoding the fields from its payload
+* without copying them.
+*
+* Request for terrain data and terrain status
+*
+* @see msg_terrain_request
+*/
+public class view_terrain_request extends MAVLinkView{
+
+    public view_terrain_request(){
+        super(msg_terrain_request.MAVLINK_MSG_ID_TERRAIN_REQUEST);
+    }
+
+    /**
+    * Points this view at a received TERRAIN_REQUEST packet.
+    *
+    * @return this view
+    */
+    public view_terrain_request wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Bitmask of requested 4x4 grids (row major 8x7 array of grids, 56 bits)
+    */
+    public long mask(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Latitude of SW corner of first grid (degrees *10^7)
+    */
+    public int lat(){
+        return payload.getInt(8);
+    }
+
+    /**
+    * Longitude of SW corner of first grid (in degrees *10^7)
+    */
+    public int lon(){
+        return payload.getInt(12);
+    }
+
+    /**
+    * Grid spacing in meters
+    */
+    public short grid_spacing(){
+        return payload.getShort(16);
+    }
+}
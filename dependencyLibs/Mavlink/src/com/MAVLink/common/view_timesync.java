@@ -0,0 +1,43 @@
+// MESSAGE TIMESYNC VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a TIMESYNC packet, decoding the fields from its payload
+* without copying them.
+*
+* Time synchronization message.
+*
+* @see msg_timesync
+*/
+public class view_timesync extends MAVLinkView{
+
+    public view_timesync(){
+        super(msg_timesync.MAVLINK_MSG_ID_TIMESYNC);
+    }
+
+    /**
+    * Points this view at a received TIMESYNC packet.
+    *
+    * @return this view
+    */
+    public view_timesync wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Time sync timestamp 1
+    */
+    public long tc1(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Time sync timestamp 2
+    */
+    public long ts1(){
+        return payload.getLong(8);
+    }
+}
@@ -0,0 +1,71 @@
+// MESSAGE V2_EXTENSION VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a V2_EXTENSION packet, decoding the fields from its payload
+* without copying them.
+*
+* Message implementing parts of the V2 payload specs in V1 frames for transitional support.
+*
+* @see msg_v2_extension
+*/
+public class view_v2_extension extends MAVLinkView{
+
+    public static final int PAYLOAD_LENGTH = 249;
+
+    public view_v2_extension(){
+        super(msg_v2_extension.MAVLINK_MSG_ID_V2_EXTENSION);
+    }
+
+    /**
+    * Points this view at a received V2_EXTENSION packet.
+    *
+    * @return this view
+    */
+    public view_v2_extension wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * A code that identifies the software component that understands this message (analogous to usb device classes or mime type strings). If this code is less than 32768, it is considered a 'registered' protocol extension and the corresponding entry should be added to https://github.com/mavlink/mavlink/extension-message-ids.xml. Software creators can register blocks of message IDs as needed (useful for GCS specific metadata, etc...). Message_types greater than 32767 are considered local experiments and should not be checked in to any widely distributed codebase.
+    */
+    public short message_type(){
+        return payload.getShort(0);
+    }
+
+    /**
+    * Network ID (0 for broadcast)
+    */
+    public byte target_network(){
+        return payload.getByte(2);
+    }
+
+    /**
+    * System ID (0 for broadcast)
+    */
+    public byte target_system(){
+        return payload.getByte(3);
+    }
+
+    /**
+    * Component ID (0 for broadcast)
+    */
+    public byte target_component(){
+        return payload.getByte(4);
+    }
+
+    /**
+    * Variable length payload. The length is defined by the remaining message length when subtracting the header and other fields. The entire content of this block is opaque unless you understand any the encoding message_type. The particular encoding used can be extension specific and might not always be documented as part of the mavlink specification.
+    *
+    * @param index element index, from 0 to PAYLOAD_LENGTH - 1
+    */
+    public byte payload(int index){
+        if(index < 0 || index >= PAYLOAD_LENGTH){
+            throw new IndexOutOfBoundsException("payload index " + index);
+        }
+        return payload.getByte(5 + index * 1);
+    }
+}
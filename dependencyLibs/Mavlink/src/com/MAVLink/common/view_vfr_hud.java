@@ -0,0 +1,71 @@
+// MESSAGE VFR_HUD VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a VFR_HUD packet, decoding the fields from its payload
+* without copying them.
+*
+* Metrics typically displayed on a HUD for fixed wing aircraft
+*
+* @see msg_vfr_hud
+*/
+public class view_vfr_hud extends MAVLinkView{
+
+    public view_vfr_hud(){
+        super(msg_vfr_hud.MAVLINK_MSG_ID_VFR_HUD);
+    }
+
+    /**
+    * Points this view at a received VFR_HUD packet.
+    *
+    * @return this view
+    */
+    public view_vfr_hud wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Current airspeed in m/s
+    */
+    public float airspeed(){
+        return payload.getFloat(0);
+    }
+
+    /**
+    * Current ground speed in m/s
+    */
+    public float groundspeed(){
+        return payload.getFloat(4);
+    }
+
+    /**
+    * Current altitude (MSL), in meters
+    */
+    public float alt(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Current climb rate in meters/second
+    */
+    public float climb(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Current heading in degrees, in compass units (0..360, 0=north)
+    */
+    public short heading(){
+        return payload.getShort(16);
+    }
+
+    /**
+    * Current throttle setting in integer percent, 0 to 100
+    */
+    public short throttle(){
+        return payload.getShort(18);
+    }
+}
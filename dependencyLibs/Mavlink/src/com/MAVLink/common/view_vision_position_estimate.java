@@ -0,0 +1,78 @@
+// MESSAGE VISION_POSITION_ESTIMATE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a VISION_POSITION_ESTIMATE packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_vision_position_estimate
+*/
+public class view_vision_position_estimate extends MAVLinkView{
+
+    public view_vision_position_estimate(){
+        super(msg_vision_position_estimate.MAVLINK_MSG_ID_VISION_POSITION_ESTIMATE);
+    }
+
+    /**
+    * Points this view at a received VISION_POSITION_ESTIMATE packet.
+    *
+    * @return this view
+    */
+    public view_vision_position_estimate wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds, synced to UNIX time or since system boot)
+    */
+    public long usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Global X position
+    */
+    public float x(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Global Y position
+    */
+    public float y(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Global Z position
+    */
+    public float z(){
+        return payload.getFloat(16);
+    }
+
+    /**
+    * Roll angle in rad
+    */
+    public float roll(){
+        return payload.getFloat(20);
+    }
+
+    /**
+    * Pitch angle in rad
+    */
+    public float pitch(){
+        return payload.getFloat(24);
+    }
+
+    /**
+    * Yaw angle in rad
+    */
+    public float yaw(){
+        return payload.getFloat(28);
+    }
+}
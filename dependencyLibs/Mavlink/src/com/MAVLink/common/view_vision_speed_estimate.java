@@ -0,0 +1,57 @@
+// MESSAGE VISION_SPEED_ESTIMATE VIEW
+package com.MAVLink.common;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.Messages.MAVLinkView;
+
+/**
+* Read-only view of a VISION_SPEED_ESTIMATE packet, decoding the fields from its payload
+* without copying them.
+*
+* 
+*
+* @see msg_vision_speed_estimate
+*/
+public class view_vision_speed_estimate extends MAVLinkView{
+
+    public view_vision_speed_estimate(){
+        super(msg_vision_speed_estimate.MAVLINK_MSG_ID_VISION_SPEED_ESTIMATE);
+    }
+
+    /**
+    * Points this view at a received VISION_SPEED_ESTIMATE packet.
+    *
+    * @return this view
+    */
+    public view_vision_speed_estimate wrap(MAVLinkPacket packet){
+        wrapPacket(packet);
+        return this;
+    }
+
+    /**
+    * Timestamp (microseconds, synced to UNIX time or since system boot)
+    */
+    public long usec(){
+        return payload.getLong(0);
+    }
+
+    /**
+    * Global X speed
+    */
+    public float x(){
+        return payload.getFloat(8);
+    }
+
+    /**
+    * Global Y speed
+    */
+    public float y(){
+        return payload.getFloat(12);
+    }
+
+    /**
+    * Global Z speed
+    */
+    public float z(){
+        return payload.getFloat(16);
+    }
+}
@@ -0,0 +1,123 @@
+package com.MAVLink;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_rc_channels_override;
+
+public class MAVLinkEncoderTest extends TestCase {
+
+	private final Random random = new Random(11);
+
+	/**
+	 * Encodes every known message with random field values, and checks the
+	 * frame matches the one produced by pack() and encodePacket().
+	 */
+	public void testMatchesPackedFrames() throws Exception {
+		MAVLinkEncoder encoder = new MAVLinkEncoder();
+		byte[] buffer = new byte[MAVLinkEncoder.MAX_FRAME_LENGTH];
+
+		int checked = 0;
+		for (int msgid = 0; msgid < 256; msgid++) {
+			MAVLinkMessage msg = MAVLinkMessageRegistry.newMessage(msgid);
+			if (msg == null) {
+				continue;
+			}
+			randomize(msg);
+
+			for (boolean mavlink2 : new boolean[] { false, true }) {
+				MAVLinkPacket packet = msg.pack();
+				packet.seq = msgid;
+				packet.isMavlink2 = mavlink2;
+				byte[] expected = packet.encodePacket();
+
+				encoder.setMavlink2(mavlink2);
+				int length = encoder.encode(msg, msgid, buffer, 0);
+				assertTrue(msg.getClass().getSimpleName(),
+						Arrays.equals(expected, Arrays.copyOf(buffer, length)));
+				assertTrue(msg.getClass().getSimpleName(), Arrays.equals(expected, encoder.encode(msg, msgid)));
+			}
+			checked++;
+		}
+
+		assertTrue(checked > 100);
+	}
+
+	public void testEncodeIntoByteBuffer() {
+		msg_heartbeat heartbeat = new msg_heartbeat();
+		heartbeat.type = 6;
+		byte[] expected = heartbeat.pack().encodePacket();
+
+		MAVLinkEncoder encoder = new MAVLinkEncoder();
+		for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64) }) {
+			buffer.put((byte) 1);
+			assertEquals(expected.length, encoder.encode(heartbeat, 0, buffer));
+			assertEquals(1 + expected.length, buffer.position());
+
+			byte[] frame = new byte[expected.length];
+			buffer.flip();
+			buffer.get();
+			buffer.get(frame);
+			assertTrue(Arrays.equals(expected, frame));
+		}
+	}
+
+	public void testFrameLargerThanBuffer() {
+		MAVLinkEncoder encoder = new MAVLinkEncoder();
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.limit(10);
+		try {
+			encoder.encode(new msg_rc_channels_override(), 0, buffer);
+			fail();
+		} catch (BufferOverflowException expected) {
+		}
+		assertEquals(0, buffer.position());
+	}
+
+	private void randomize(MAVLinkMessage msg) throws IllegalAccessException {
+		for (Field field : msg.getClass().getDeclaredFields()) {
+			int modifiers = field.getModifiers();
+			if (Modifier.isStatic(modifiers) || !Modifier.isPublic(modifiers)) {
+				continue;
+			}
+
+			if (field.getType().isArray()) {
+				Object values = field.get(msg);
+				for (int i = 0; i < Array.getLength(values); i++) {
+					Array.set(values, i, randomValue(field.getType().getComponentType()));
+				}
+			} else {
+				field.set(msg, randomValue(field.getType()));
+			}
+		}
+	}
+
+	private Object randomValue(Class<?> type) {
+		if (type == byte.class) {
+			// Some zeros, so MAVLink 2 payloads get truncated.
+			return random.nextBoolean() ? (byte) 0 : (byte) random.nextInt();
+		} else if (type == short.class) {
+			return (short) random.nextInt();
+		} else if (type == int.class) {
+			return random.nextInt();
+		} else if (type == long.class) {
+			return random.nextLong();
+		} else if (type == float.class) {
+			return random.nextFloat();
+		} else if (type == double.class) {
+			return random.nextDouble();
+		}
+
+		fail("Unexpected field type " + type);
+		return null;
+	}
+}
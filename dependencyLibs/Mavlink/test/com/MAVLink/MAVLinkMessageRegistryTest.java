@@ -0,0 +1,164 @@
+package com.MAVLink;
+
+import junit.framework.TestCase;
+
+import com.MAVLink.Messages.MAVLinkMessage;
+import com.MAVLink.Messages.MAVLinkPayload;
+import com.MAVLink.ardupilotmega.CRC;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_command_long;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.msg_param_request_read;
+
+public class MAVLinkMessageRegistryTest extends TestCase {
+
+	/**
+	 * Message of a dialect registered at runtime.
+	 */
+	public static class msg_test_value extends MAVLinkMessage {
+		public static final int MAVLINK_MSG_ID_TEST_VALUE = 42000;
+		public static final int MAVLINK_MSG_LENGTH = 4;
+		private static final long serialVersionUID = MAVLINK_MSG_ID_TEST_VALUE;
+
+		public int value;
+
+		public msg_test_value() {
+			msgid = MAVLINK_MSG_ID_TEST_VALUE;
+		}
+
+		@Override
+		public MAVLinkPacket pack() {
+			MAVLinkPacket packet = new MAVLinkPacket();
+			packet.len = MAVLINK_MSG_LENGTH;
+			packet.sysid = 255;
+			packet.compid = 190;
+			packet.msgid = MAVLINK_MSG_ID_TEST_VALUE;
+			packet.payload.putInt(value);
+			return packet;
+		}
+
+		@Override
+		public void unpack(MAVLinkPayload payload) {
+			payload.resetIndex();
+			value = payload.getInt();
+		}
+	}
+
+	public void testGeneratedDialectsAreRegistered() {
+		for (int msgid = 0; msgid < 256; msgid++) {
+			assertEquals(CRC.getCrcExtra(msgid), MAVLinkMessageRegistry.getCrcExtra(msgid));
+			assertEquals(CRC.getMessageLength(msgid), MAVLinkMessageRegistry.getMessageLength(msgid));
+
+			MAVLinkPacket packet = new MAVLinkPacket();
+			packet.msgid = msgid;
+			MAVLinkMessage expected = packet.unpack();
+			MAVLinkMessage msg = MAVLinkMessageRegistry.newMessage(msgid);
+			if (expected == null) {
+				assertNull(msg);
+			} else {
+				assertEquals(expected.getClass(), msg.getClass());
+				assertEquals(msgid, msg.msgid);
+			}
+		}
+	}
+
+	public void testTargetOffsets() {
+		msg_command_long command = new msg_command_long();
+		command.target_system = 7;
+		command.target_component = 9;
+		MAVLinkPayload payload = command.pack().payload;
+		int msgid = msg_command_long.MAVLINK_MSG_ID_COMMAND_LONG;
+		assertEquals(7, payload.getByte(MAVLinkMessageRegistry.getTargetSystemOffset(msgid)));
+		assertEquals(9, payload.getByte(MAVLinkMessageRegistry.getTargetComponentOffset(msgid)));
+
+		msg_param_request_read request = new msg_param_request_read();
+		request.param_index = -1;
+		request.target_system = 3;
+		payload = request.pack().payload;
+		msgid = msg_param_request_read.MAVLINK_MSG_ID_PARAM_REQUEST_READ;
+		assertEquals(3, payload.getByte(MAVLinkMessageRegistry.getTargetSystemOffset(msgid)));
+
+		assertEquals(-1, MAVLinkMessageRegistry.getTargetSystemOffset(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT));
+		assertEquals(-1, MAVLinkMessageRegistry.getTargetComponentOffset(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT));
+		assertEquals(-1, MAVLinkMessageRegistry.getTargetSystemOffset(MAVLinkMessageRegistry.MAX_MSGID));
+	}
+
+	public void testUnpackInto() {
+		msg_attitude attitude = new msg_attitude();
+		attitude.roll = 0.5f;
+		MAVLinkPacket packet = attitude.pack();
+		packet.sysid = 7;
+
+		msg_attitude existing = new msg_attitude();
+		MAVLinkMessageRegistry.unpackInto(packet, existing);
+		assertEquals(0.5f, existing.roll);
+		assertEquals(7, existing.sysid);
+
+		try {
+			MAVLinkMessageRegistry.unpackInto(packet, new msg_heartbeat());
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testCacheReusesInstances() {
+		MAVLinkMessageCache cache = new MAVLinkMessageCache();
+
+		msg_attitude attitude = new msg_attitude();
+		attitude.roll = 1;
+		MAVLinkMessage first = cache.unpack(attitude.pack());
+		attitude.roll = 2;
+		MAVLinkMessage second = cache.unpack(attitude.pack());
+
+		assertSame(first, second);
+		assertEquals(2f, ((msg_attitude) second).roll);
+
+		MAVLinkPacket unknown = new MAVLinkPacket();
+		unknown.msgid = 255;
+		assertNull(cache.unpack(unknown));
+	}
+
+	public void testRuntimeDialect() {
+		MAVLinkMessageRegistry.register(msg_test_value.MAVLINK_MSG_ID_TEST_VALUE, msg_test_value.class, 99,
+				msg_test_value.MAVLINK_MSG_LENGTH);
+
+		msg_test_value msg = new msg_test_value();
+		msg.value = 0x10203;
+		MAVLinkPacket packet = msg.pack();
+		packet.isMavlink2 = true;
+		byte[] frame = packet.encodePacket();
+
+		final MAVLinkMessage[] received = new MAVLinkMessage[1];
+		new Parser().parse(frame, 0, frame.length, new Parser.PacketListener() {
+			@Override
+			public void onPacketReceived(MAVLinkPacket packet) {
+				received[0] = MAVLinkMessageRegistry.unpack(packet);
+			}
+		});
+
+		MAVLinkMessage decoded = received[0];
+		assertTrue(decoded instanceof msg_test_value);
+		assertEquals(0x10203, ((msg_test_value) decoded).value);
+	}
+
+	public void testInvalidRegistrations() {
+		try {
+			MAVLinkMessageRegistry.register(-1, msg_test_value.class, 0, 4);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+
+		try {
+			MAVLinkMessageRegistry.register(MAVLinkMessageRegistry.MAX_MSGID + 1, msg_test_value.class, 0, 4);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+
+		try {
+			MAVLinkMessageRegistry.register(msg_test_value.MAVLINK_MSG_ID_TEST_VALUE, msg_test_value.class, 0, 4, 4,
+					-1, null);
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.MAVLink;
+
+import junit.framework.TestCase;
+
+public class MAVLinkMsgIdTableTest extends TestCase {
+
+	public void testValuesAreFoundByMessageId() {
+		final int[] msgids = {0, 255, 256, 42000, 12, MAVLinkMessageRegistry.MAX_MSGID, 300};
+		MAVLinkMsgIdTable<String> table = MAVLinkMsgIdTable.empty();
+		for (int msgid : msgids) {
+			table = table.with(msgid, "msg" + msgid);
+		}
+
+		for (int msgid : msgids) {
+			assertEquals("msg" + msgid, table.get(msgid));
+		}
+		assertNull(table.get(1));
+		assertNull(table.get(257));
+		assertNull(table.get(-1));
+		assertNull(table.get(Integer.MAX_VALUE));
+
+		table = table.with(42000, "replaced");
+		assertEquals("replaced", table.get(42000));
+		assertEquals("msg300", table.get(300));
+	}
+
+	public void testUpdatesLeaveTheTableUnchanged() {
+		final MAVLinkMsgIdTable<String> empty = MAVLinkMsgIdTable.empty();
+		final MAVLinkMsgIdTable<String> table = empty.with(1, "low").with(1000, "high");
+
+		assertNull(empty.get(1));
+		assertNull(empty.get(1000));
+		assertEquals(-1, empty.nextId(0));
+
+		table.with(1, "other").with(1000, "other").with(2000, "other");
+		assertEquals("low", table.get(1));
+		assertEquals("high", table.get(1000));
+		assertNull(table.get(2000));
+	}
+
+	public void testIdsAreIteratedInOrder() {
+		MAVLinkMsgIdTable<String> table = MAVLinkMsgIdTable.empty();
+		for (int msgid : new int[]{50000, 300, 7, 255, 256}) {
+			table = table.with(msgid, "msg");
+		}
+
+		final StringBuilder ids = new StringBuilder();
+		for (int msgid = table.nextId(0); msgid >= 0; msgid = table.nextId(msgid + 1)) {
+			ids.append(msgid).append(' ');
+		}
+		assertEquals("7 255 256 300 50000 ", ids.toString());
+		assertEquals(300, table.nextId(257));
+		assertEquals(-1, table.nextId(50001));
+	}
+
+	public void testInvalidMessageId() {
+		try {
+			MAVLinkMsgIdTable.<String>empty().with(-1, "msg");
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+}
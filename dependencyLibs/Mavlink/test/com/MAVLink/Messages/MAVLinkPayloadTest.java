@@ -0,0 +1,113 @@
+package com.MAVLink.Messages;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import junit.framework.TestCase;
+
+public class MAVLinkPayloadTest extends TestCase {
+
+	/**
+	 * Values are written little endian, and read back by the relative and
+	 * absolute getters.
+	 */
+	public void testLittleEndianRoundTrip() {
+		MAVLinkPayload payload = new MAVLinkPayload();
+		payload.putByte((byte) -3);
+		payload.putShort((short) 0xBEEF);
+		payload.putInt(0xCAFEBABE);
+		payload.putLong(0x0123456789ABCDEFL);
+		payload.putFloat(-1.5f);
+		payload.putDouble(Math.PI);
+		assertEquals(27, payload.size());
+
+		ByteBuffer expected = ByteBuffer.allocate(27).order(ByteOrder.LITTLE_ENDIAN);
+		expected.put((byte) -3).putShort((short) 0xBEEF).putInt(0xCAFEBABE).putLong(0x0123456789ABCDEFL)
+				.putFloat(-1.5f).putDouble(Math.PI);
+		for (int i = 0; i < 27; i++) {
+			assertEquals("byte " + i, expected.get(i), payload.array()[i]);
+		}
+
+		assertEquals((short) 0xBEEF, payload.getShort(1));
+		assertEquals(0xCAFEBABE, payload.getInt(3));
+		assertEquals(0x0123456789ABCDEFL, payload.getLong(7));
+		assertEquals(-1.5f, payload.getFloat(15));
+		assertEquals(Math.PI, payload.getDouble(19));
+
+		payload.resetIndex();
+		assertEquals((byte) -3, payload.getByte());
+		assertEquals((short) 0xBEEF, payload.getShort());
+		assertEquals(0xCAFEBABE, payload.getInt());
+		assertEquals(0x0123456789ABCDEFL, payload.getLong());
+		assertEquals(-1.5f, payload.getFloat());
+		assertEquals(27 - 8, payload.index);
+	}
+
+	public void testLongReverse() {
+		MAVLinkPayload payload = new MAVLinkPayload();
+		payload.putLong(0x0123456789ABCDEFL);
+		payload.resetIndex();
+		assertEquals(0xEFCDAB8967452301L, payload.getLongReverse());
+	}
+
+	/**
+	 * Bytes past the end of the payload read as zeros, like the trailing
+	 * bytes of a truncated MAVLink 2 payload.
+	 */
+	public void testReadPastEndReturnsZeros() {
+		MAVLinkPayload payload = new MAVLinkPayload();
+		payload.putShort((short) 0x1234);
+		assertEquals(0x1234, payload.getInt(0));
+		assertEquals(0x12, payload.getShort(1));
+		assertEquals(0L, payload.getLong(100));
+		assertEquals(0, payload.getByte(MAVLinkPayload.MAX_PAYLOAD_SIZE));
+
+		try {
+			payload.getInt(-1);
+			fail("Read at a negative offset");
+		} catch (IndexOutOfBoundsException expected) {
+		}
+	}
+
+	/**
+	 * The array grows with the payload up to the largest MAVLink payload, and
+	 * is kept when the payload is reset.
+	 */
+	public void testGrowsUpToMaxPayloadSize() {
+		MAVLinkPayload payload = new MAVLinkPayload();
+		assertEquals(MAVLinkPayload.DEFAULT_CAPACITY, payload.capacity());
+
+		for (int i = 0; i < MAVLinkPayload.MAX_PAYLOAD_SIZE; i++) {
+			payload.putByte((byte) i);
+		}
+		assertEquals(MAVLinkPayload.MAX_PAYLOAD_SIZE, payload.capacity());
+		for (int i = 0; i < MAVLinkPayload.MAX_PAYLOAD_SIZE; i++) {
+			assertEquals((byte) i, payload.getByte(i));
+		}
+
+		try {
+			payload.putByte((byte) 0);
+			fail("Payload grew past " + MAVLinkPayload.MAX_PAYLOAD_SIZE + " bytes");
+		} catch (BufferOverflowException expected) {
+		}
+
+		byte[] array = payload.array();
+		payload.reset();
+		assertEquals(0, payload.size());
+		payload.putInt(1);
+		assertSame(array, payload.array());
+	}
+
+	public void testEnsureCapacity() {
+		MAVLinkPayload payload = new MAVLinkPayload(0);
+		payload.ensureCapacity(28);
+		assertEquals(28, payload.capacity());
+
+		byte[] array = payload.array();
+		for (int i = 0; i < 7; i++) {
+			payload.putFloat(i);
+		}
+		assertSame(array, payload.array());
+	}
+}
@@ -0,0 +1,195 @@
+package com.MAVLink.Messages;
+
+import com.MAVLink.MAVLinkMessageRegistry;
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+
+import junit.framework.TestCase;
+
+public class MAVLinkStatsTest extends TestCase {
+
+	private static final long MILLI = 1000000L;
+
+	private static MAVLinkPacket packet(int sysid, int compid, int seq, int msgid, int len) {
+		MAVLinkPacket packet = new MAVLinkPacket();
+		packet.sysid = sysid;
+		packet.compid = compid;
+		packet.seq = seq;
+		packet.msgid = msgid;
+		packet.len = len;
+		return packet;
+	}
+
+	/**
+	 * Losses of a source don't show up as losses of another source sharing
+	 * the link.
+	 */
+	public void testInterleavedSources() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 10, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 154, 200, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 1, 11, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 154, 201, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 1, 14, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+
+		MAVLinkStats.Snapshot snapshot = stats.snapshot();
+		assertEquals(5, snapshot.getReceivedCount());
+		assertEquals(2, snapshot.getLostCount());
+		assertEquals(2, snapshot.getSources().size());
+		assertEquals(5, stats.receivedPacketCount);
+		assertEquals(2, stats.lostPacketCount);
+
+		MAVLinkStats.SourceSnapshot autopilot = snapshot.getSource(1, 1);
+		assertEquals(3, autopilot.getReceivedCount());
+		assertEquals(2, autopilot.getLostCount());
+		assertEquals(0.4, autopilot.getLossRate(), 1e-9);
+
+		MAVLinkStats.SourceSnapshot gimbal = snapshot.getSource(1, 154);
+		assertEquals(2, gimbal.getReceivedCount());
+		assertEquals(0, gimbal.getLostCount());
+		assertNull(snapshot.getSource(2, 1));
+	}
+
+	public void testSequenceWraparound() {
+		MAVLinkStats stats = new MAVLinkStats();
+		for (int seq : new int[] { 254, 255, 0, 1 }) {
+			stats.newPacket(packet(1, 1, seq, 0, 9));
+		}
+		assertEquals(0, stats.snapshot().getLostCount());
+
+		stats.mavlinkResetStats();
+		stats.newPacket(packet(1, 1, 250, 0, 9));
+		stats.newPacket(packet(1, 1, 2, 0, 9));
+		assertEquals(7, stats.snapshot().getSource(1, 1).getLostCount());
+	}
+
+	public void testDuplicateIsNotALoss() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 3, 0, 9));
+		stats.newPacket(packet(1, 1, 3, 0, 9));
+		stats.newPacket(packet(1, 1, 4, 0, 9));
+
+		MAVLinkStats.SourceSnapshot source = stats.snapshot().getSource(1, 1);
+		assertEquals(3, source.getReceivedCount());
+		assertEquals(0, source.getLostCount());
+	}
+
+	/**
+	 * CRC errors count in the totals, and for the source named by the frame
+	 * only if it was already received, as the header may be corrupted.
+	 */
+	public void testCrcErrorAttribution() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 0, 0, 9));
+		stats.crcError(packet(1, 1, 1, 0, 9));
+		stats.crcError(packet(77, 3, 1, 0, 9));
+		stats.crcError();
+
+		MAVLinkStats.Snapshot snapshot = stats.snapshot();
+		assertEquals(3, snapshot.getCrcErrorCount());
+		assertEquals(3, stats.crcErrorCount);
+		assertEquals(1, snapshot.getSource(1, 1).getCrcErrorCount());
+		assertNull(snapshot.getSource(77, 3));
+		assertEquals(1, snapshot.getSources().size());
+	}
+
+	public void testMessageCountsAndBytes() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 0, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 1, 1, msg_attitude.MAVLINK_MSG_ID_ATTITUDE, 28));
+		stats.newPacket(packet(1, 1, 2, msg_attitude.MAVLINK_MSG_ID_ATTITUDE, 28));
+
+		// A signed MAVLink 2 frame, with its payload truncated.
+		MAVLinkPacket signed = packet(1, 1, 3, msg_attitude.MAVLINK_MSG_ID_ATTITUDE, 20);
+		signed.isMavlink2 = true;
+		signed.incompatFlags = MAVLinkPacket.MAVLINK_IFLAG_SIGNED;
+		stats.newPacket(signed);
+
+		MAVLinkStats.SourceSnapshot source = stats.snapshot().getSource(1, 1);
+		assertEquals(2, source.getMessages().size());
+
+		MAVLinkStats.MessageSnapshot heartbeat = source.getMessage(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT);
+		assertEquals(1, heartbeat.getCount());
+		assertEquals(6 + 9 + 2, heartbeat.getBytes());
+
+		MAVLinkStats.MessageSnapshot attitude = source.getMessage(msg_attitude.MAVLINK_MSG_ID_ATTITUDE);
+		assertEquals(3, attitude.getCount());
+		assertEquals(2 * (6 + 28 + 2) + (10 + 20 + 2 + 13), attitude.getBytes());
+		assertEquals(heartbeat.getBytes() + attitude.getBytes(), source.getBytes());
+		assertNull(source.getMessage(1));
+	}
+
+	public void testMavlink2MessageIds() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 0, 42000, 4));
+		stats.newPacket(packet(1, 1, 1, msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, 9));
+		stats.newPacket(packet(1, 1, 2, MAVLinkMessageRegistry.MAX_MSGID, 4));
+		stats.newPacket(packet(1, 1, 3, 42000, 4));
+
+		MAVLinkStats.SourceSnapshot source = stats.snapshot().getSource(1, 1);
+		assertEquals(3, source.getMessages().size());
+		assertEquals(msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT, source.getMessages().get(0).getMsgid());
+		assertEquals(2, source.getMessage(42000).getCount());
+		assertEquals(1, source.getMessage(MAVLinkMessageRegistry.MAX_MSGID).getCount());
+	}
+
+	/**
+	 * A message received every 100ms, with the even intervals 10ms late,
+	 * has a rate close to 10Hz and a jitter close to 10ms.
+	 */
+	public void testRateAndJitter() {
+		MAVLinkStats stats = new MAVLinkStats();
+		long arrival = System.nanoTime() - 1000 * 100 * MILLI;
+		for (int seq = 0; seq < 1000; seq++) {
+			arrival += (seq % 2 == 0 ? 110 : 90) * MILLI;
+			stats.newPacket(packet(1, 1, seq & 0xFF, 0, 9), arrival);
+		}
+
+		MAVLinkStats.MessageSnapshot heartbeat = stats.snapshot().getSource(1, 1).getMessage(0);
+		assertEquals(100 * MILLI, heartbeat.getMeanIntervalNanos(), 10 * MILLI);
+		assertEquals(10 * MILLI, heartbeat.getJitterNanos(), 2 * MILLI);
+		assertEquals(10, heartbeat.getRate(), 1);
+	}
+
+	/**
+	 * A message which stopped arriving has its rate decay with its age.
+	 */
+	public void testRateOfStaleMessage() {
+		MAVLinkStats stats = new MAVLinkStats();
+		long arrival = System.nanoTime() - 10000 * MILLI;
+		for (int seq = 0; seq < 10; seq++) {
+			arrival += 100 * MILLI;
+			stats.newPacket(packet(1, 1, seq, 0, 9), arrival);
+		}
+
+		MAVLinkStats.MessageSnapshot heartbeat = stats.snapshot().getSource(1, 1).getMessage(0);
+		assertTrue(heartbeat.getAgeNanos() >= 9000 * MILLI);
+		assertTrue(heartbeat.getRate() < 0.2);
+	}
+
+	public void testReset() {
+		MAVLinkStats stats = new MAVLinkStats();
+		stats.newPacket(packet(1, 1, 0, 0, 9));
+		stats.newPacket(packet(1, 1, 5, 0, 9));
+		stats.crcError();
+
+		MAVLinkStats.Snapshot before = stats.snapshot();
+		stats.mavlinkResetStats();
+
+		MAVLinkStats.Snapshot after = stats.snapshot();
+		assertEquals(0, after.getReceivedCount());
+		assertEquals(0, after.getLostCount());
+		assertEquals(0, after.getCrcErrorCount());
+		assertTrue(after.getSources().isEmpty());
+		assertEquals(0, stats.receivedPacketCount);
+
+		// Snapshots taken earlier are unaffected.
+		assertEquals(2, before.getReceivedCount());
+		assertEquals(4, before.getLostCount());
+
+		// The sequence of a source restarts after a reset.
+		stats.newPacket(packet(1, 1, 100, 0, 9));
+		assertEquals(0, stats.snapshot().getLostCount());
+	}
+}
@@ -0,0 +1,131 @@
+package com.MAVLink.Messages;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.MAVLink.MAVLinkPacket;
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+import com.MAVLink.common.view_attitude;
+
+public class MAVLinkViewTest extends TestCase {
+
+	private final Random random = new Random(3);
+
+	/**
+	 * Packs every known message with random field values, and checks its view
+	 * reads back the same values.
+	 */
+	public void testViewsMatchMessages() throws Exception {
+		int checked = 0;
+		for (int msgid = 0; msgid < 256; msgid++) {
+			MAVLinkPacket empty = new MAVLinkPacket();
+			empty.msgid = msgid;
+			MAVLinkMessage msg = empty.unpack();
+			if (msg == null) {
+				continue;
+			}
+
+			randomize(msg);
+			MAVLinkPacket packet = msg.pack();
+
+			Class<?> messageClass = msg.getClass();
+			Class<?> viewClass = Class.forName(messageClass.getPackage().getName() + ".view_"
+					+ messageClass.getSimpleName().substring("msg_".length()));
+			MAVLinkView view = (MAVLinkView) viewClass.newInstance();
+			viewClass.getMethod("wrap", MAVLinkPacket.class).invoke(view, packet);
+
+			for (Field field : messageFields(messageClass)) {
+				if (field.getType().isArray()) {
+					Method getter = viewClass.getMethod(field.getName(), int.class);
+					Object values = field.get(msg);
+					for (int i = 0; i < Array.getLength(values); i++) {
+						assertEquals(messageClass.getSimpleName() + "." + field.getName(), Array.get(values, i),
+								getter.invoke(view, i));
+					}
+				} else {
+					Method getter = viewClass.getMethod(field.getName());
+					assertEquals(messageClass.getSimpleName() + "." + field.getName(), field.get(msg),
+							getter.invoke(view));
+				}
+			}
+			checked++;
+		}
+
+		assertTrue(checked > 100);
+	}
+
+	public void testWrapChecksMessageType() {
+		msg_heartbeat heartbeat = new msg_heartbeat();
+		try {
+			new view_attitude().wrap(heartbeat.pack());
+			fail();
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testViewIsReusable() {
+		view_attitude view = new view_attitude();
+		for (int i = 0; i < 3; i++) {
+			msg_attitude attitude = new msg_attitude();
+			attitude.roll = i;
+			attitude.sysid = i;
+			MAVLinkPacket packet = attitude.pack();
+			packet.sysid = i;
+
+			assertEquals((float) i, view.wrap(packet).roll());
+			assertEquals(i, view.getSysid());
+		}
+	}
+
+	private static Field[] messageFields(Class<?> messageClass) {
+		Field[] declared = messageClass.getDeclaredFields();
+		int count = 0;
+		for (Field field : declared) {
+			if (!Modifier.isStatic(field.getModifiers()) && Modifier.isPublic(field.getModifiers())) {
+				declared[count++] = field;
+			}
+		}
+
+		Field[] fields = new Field[count];
+		System.arraycopy(declared, 0, fields, 0, count);
+		return fields;
+	}
+
+	private void randomize(MAVLinkMessage msg) throws IllegalAccessException {
+		for (Field field : messageFields(msg.getClass())) {
+			if (field.getType().isArray()) {
+				Object values = field.get(msg);
+				for (int i = 0; i < Array.getLength(values); i++) {
+					Array.set(values, i, randomValue(field.getType().getComponentType()));
+				}
+			} else {
+				field.set(msg, randomValue(field.getType()));
+			}
+		}
+	}
+
+	private Object randomValue(Class<?> type) {
+		if (type == byte.class) {
+			return (byte) random.nextInt();
+		} else if (type == short.class) {
+			return (short) random.nextInt();
+		} else if (type == int.class) {
+			return random.nextInt();
+		} else if (type == long.class) {
+			return random.nextLong();
+		} else if (type == float.class) {
+			return random.nextFloat() * 1000 - 500;
+		} else if (type == double.class) {
+			return random.nextDouble();
+		}
+
+		fail("Unexpected field type " + type);
+		return null;
+	}
+}
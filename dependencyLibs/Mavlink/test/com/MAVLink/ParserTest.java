@@ -0,0 +1,291 @@
+package com.MAVLink;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import com.MAVLink.common.msg_attitude;
+import com.MAVLink.common.msg_heartbeat;
+
+public class ParserTest extends TestCase {
+
+	private final List<String> received = new ArrayList<>();
+
+	private final Parser.PacketListener listener = new Parser.PacketListener() {
+		@Override
+		public void onPacketReceived(MAVLinkPacket packet) {
+			received.add(packet.unpack().toString());
+		}
+	};
+
+	private static byte[] heartbeatFrame(int seq) {
+		msg_heartbeat heartbeat = new msg_heartbeat();
+		heartbeat.custom_mode = 5;
+		heartbeat.type = 2;
+		heartbeat.autopilot = 3;
+		MAVLinkPacket packet = heartbeat.pack();
+		packet.seq = seq;
+		return packet.encodePacket();
+	}
+
+	private static byte[] attitudeFrame(int seq) {
+		msg_attitude attitude = new msg_attitude();
+		attitude.time_boot_ms = 1234;
+		attitude.roll = 0.5f;
+		attitude.yaw = -1.25f;
+		MAVLinkPacket packet = attitude.pack();
+		packet.seq = seq;
+		return packet.encodePacket();
+	}
+
+	private static byte[] concat(byte[]... frames) {
+		ByteBuffer buffer = ByteBuffer.allocate(16384);
+		for (byte[] frame : frames) {
+			buffer.put(frame);
+		}
+		byte[] result = new byte[buffer.position()];
+		buffer.flip();
+		buffer.get(result);
+		return result;
+	}
+
+	private List<String> parseBytes(byte[] stream) {
+		Parser parser = new Parser();
+		List<String> packets = new ArrayList<>();
+		for (byte b : stream) {
+			MAVLinkPacket packet = parser.mavlink_parse_char(b & 0xff);
+			if (packet != null) {
+				packets.add(packet.unpack().toString());
+			}
+		}
+		return packets;
+	}
+
+	public void testBulkParseMatchesByteParser() {
+		byte[] stream = concat(heartbeatFrame(0), attitudeFrame(1), heartbeatFrame(2));
+
+		Parser byteParser = new Parser();
+		List<String> expected = new ArrayList<>();
+		for (byte b : stream) {
+			MAVLinkPacket packet = byteParser.mavlink_parse_char(b & 0xff);
+			if (packet != null) {
+				expected.add(packet.unpack().toString());
+			}
+		}
+
+		assertEquals(3, new Parser().parse(stream, 0, stream.length, listener));
+		assertEquals(expected, received);
+	}
+
+	public void testFramesSplitAcrossBlocks() {
+		byte[] stream = concat(attitudeFrame(0), heartbeatFrame(1));
+		Parser parser = new Parser();
+
+		int frames = 0;
+		for (int offset = 0; offset < stream.length; offset += 7) {
+			frames += parser.parse(stream, offset, Math.min(7, stream.length - offset), listener);
+		}
+
+		assertEquals(2, frames);
+		assertEquals(2, parser.stats.receivedPacketCount);
+	}
+
+	public void testParseByteBuffer() {
+		byte[] stream = concat(heartbeatFrame(0), attitudeFrame(1));
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(stream.length);
+		direct.put(stream);
+		direct.flip();
+		assertEquals(2, new Parser().parse(direct, listener));
+		assertFalse(direct.hasRemaining());
+
+		ByteBuffer heap = ByteBuffer.wrap(stream, 3, stream.length - 3);
+		assertEquals(1, new Parser().parse(heap, listener));
+		assertEquals(stream.length, heap.position());
+	}
+
+	public void testPacketsAreRecycled() {
+		final MAVLinkPacketPool pool = new MAVLinkPacketPool(1);
+		final List<MAVLinkPacket> packets = new ArrayList<>();
+		Parser parser = new Parser(pool);
+
+		byte[] stream = concat(heartbeatFrame(0), attitudeFrame(1), heartbeatFrame(2));
+		parser.parse(stream, 0, stream.length, new Parser.PacketListener() {
+			@Override
+			public void onPacketReceived(MAVLinkPacket packet) {
+				assertEquals(0, pool.size());
+				packets.add(packet);
+			}
+		});
+
+		assertEquals(3, packets.size());
+		assertSame(packets.get(0), packets.get(1));
+		assertSame(packets.get(1), packets.get(2));
+		assertEquals(1, pool.size());
+	}
+
+	public void testMavlink2FramesAreTruncatedAndExpanded() {
+		msg_attitude attitude = new msg_attitude();
+		attitude.time_boot_ms = 1234;
+		attitude.roll = 0.5f;
+		MAVLinkPacket packet = attitude.pack();
+		packet.isMavlink2 = true;
+		byte[] frame = packet.encodePacket();
+
+		assertEquals(MAVLinkPacket.MAVLINK_STX_MAVLINK2, frame[0] & 0xff);
+		// time_boot_ms and roll are the only non zero fields.
+		assertEquals(8, frame[1]);
+		assertEquals(MAVLinkPacket.MAVLINK2_HEADER_LEN + 8 + MAVLinkPacket.MAVLINK_CHECKSUM_LEN, frame.length);
+
+		MAVLinkPacket received = null;
+		Parser parser = new Parser();
+		for (byte b : frame) {
+			received = parser.mavlink_parse_char(b & 0xff);
+		}
+
+		assertNotNull(received);
+		assertTrue(received.isMavlink2);
+		assertEquals(msg_attitude.MAVLINK_MSG_LENGTH, received.len);
+		assertEquals(attitude.toString(), received.unpack().toString());
+	}
+
+	public void testMavlink1AndMavlink2OnTheSameStream() {
+		MAVLinkPacket heartbeat = new msg_heartbeat().pack();
+		heartbeat.isMavlink2 = true;
+		byte[] stream = concat(attitudeFrame(0), heartbeat.encodePacket(), heartbeatFrame(2));
+
+		assertEquals(3, new Parser().parse(stream, 0, stream.length, listener));
+		assertEquals(new msg_heartbeat().toString(), received.get(1));
+	}
+
+	public void testSignedMavlink2FrameIsAccepted() {
+		msg_heartbeat heartbeat = new msg_heartbeat();
+		heartbeat.mavlink_version = 3;
+		MAVLinkPacket packet = heartbeat.pack();
+		packet.isMavlink2 = true;
+		byte[] frame = packet.encodePacket();
+
+		// Flag the frame as signed, and append a dummy signature.
+		frame[2] = (byte) MAVLinkPacket.MAVLINK_IFLAG_SIGNED;
+		packet.incompatFlags = MAVLinkPacket.MAVLINK_IFLAG_SIGNED;
+		packet.generateCRC();
+		frame[frame.length - 2] = (byte) packet.crc.getLSB();
+		frame[frame.length - 1] = (byte) packet.crc.getMSB();
+		byte[] signed = concat(frame, new byte[MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN], heartbeatFrame(1));
+
+		assertEquals(2, new Parser().parse(signed, 0, signed.length, listener));
+	}
+
+	public void testFrameBytesAreKept() {
+		msg_heartbeat heartbeat = new msg_heartbeat();
+		heartbeat.mavlink_version = 3;
+		MAVLinkPacket packet = heartbeat.pack();
+		packet.isMavlink2 = true;
+		byte[] frame = packet.encodePacket();
+		frame[2] = (byte) MAVLinkPacket.MAVLINK_IFLAG_SIGNED;
+		packet.incompatFlags = MAVLinkPacket.MAVLINK_IFLAG_SIGNED;
+		packet.generateCRC();
+		frame[frame.length - 2] = (byte) packet.crc.getLSB();
+		frame[frame.length - 1] = (byte) packet.crc.getMSB();
+		byte[] signature = new byte[MAVLinkPacket.MAVLINK_SIGNATURE_BLOCK_LEN];
+		Arrays.fill(signature, (byte) 0x5A);
+		final byte[] signed = concat(frame, signature);
+		final byte[] plain = heartbeatFrame(1);
+
+		final Parser parser = new Parser();
+		final List<byte[]> frames = new ArrayList<>();
+		byte[] stream = concat(new byte[]{1, 2}, signed, plain);
+		parser.parse(stream, 0, stream.length, new Parser.PacketListener() {
+			@Override
+			public void onPacketReceived(MAVLinkPacket packet) {
+				frames.add(Arrays.copyOf(parser.getFrameBytes(), parser.getFrameLength()));
+			}
+		});
+
+		// As received, with the signature and without the bytes before.
+		assertEquals(2, frames.size());
+		assertTrue(Arrays.equals(signed, frames.get(0)));
+		assertTrue(Arrays.equals(plain, frames.get(1)));
+	}
+
+	public void testUnknownIncompatFlagsAreRejected() {
+		MAVLinkPacket packet = new msg_heartbeat().pack();
+		packet.isMavlink2 = true;
+		packet.incompatFlags = 0x80;
+		byte[] frame = packet.encodePacket();
+
+		assertEquals(0, new Parser().parse(frame, 0, frame.length, listener));
+	}
+
+	/**
+	 * The frame following a truncated one starts inside the bytes taken as
+	 * its payload, and is found again once the checksum fails.
+	 */
+	public void testFrameAfterTruncatedFrameIsRecovered() {
+		byte[] truncated = new byte[12];
+		System.arraycopy(attitudeFrame(0), 0, truncated, 0, truncated.length);
+		byte[] stream = concat(truncated, heartbeatFrame(1), attitudeFrame(2));
+
+		assertEquals(2, new Parser().parse(stream, 0, stream.length, listener));
+		assertEquals(received, parseBytes(stream));
+	}
+
+	/**
+	 * A start sign in the noise is followed by a length which doesn't match
+	 * the message, and is dropped without waiting for its payload.
+	 */
+	public void testNoiseStartSignIsDroppedEarly() {
+		byte[] noise = { (byte) MAVLinkPacket.MAVLINK_STX, 2, 0, 1, 1, (byte) msg_heartbeat.MAVLINK_MSG_ID_HEARTBEAT };
+		byte[] stream = concat(noise, heartbeatFrame(0));
+
+		Parser parser = new Parser();
+		assertEquals(1, parser.parse(stream, 0, stream.length, listener));
+		assertEquals(0, parser.stats.crcErrorCount);
+		assertEquals(1, parseBytes(stream).size());
+	}
+
+	/**
+	 * Frames are truncated and separated by noise bursts, which may contain
+	 * start signs. Every intact frame is recovered, whatever the parsing
+	 * method and block size.
+	 */
+	public void testCorruptedStreamRecovery() {
+		Random random = new Random(1);
+		List<byte[]> chunks = new ArrayList<>();
+		int intactFrames = 0;
+		for (int seq = 0; seq < 300; seq++) {
+			byte[] frame = seq % 3 == 0 ? heartbeatFrame(seq & 0xff) : attitudeFrame(seq & 0xff);
+			if (random.nextInt(4) == 0) {
+				byte[] truncated = new byte[1 + random.nextInt(frame.length - 2)];
+				System.arraycopy(frame, 0, truncated, 0, truncated.length);
+				chunks.add(truncated);
+			} else {
+				chunks.add(frame);
+				intactFrames++;
+			}
+
+			if (random.nextInt(4) == 0) {
+				byte[] noise = new byte[1 + random.nextInt(8)];
+				random.nextBytes(noise);
+				noise[0] = (byte) (random.nextBoolean() ? MAVLinkPacket.MAVLINK_STX : MAVLinkPacket.MAVLINK_STX_MAVLINK2);
+				chunks.add(noise);
+			}
+		}
+		byte[] stream = concat(chunks.toArray(new byte[chunks.size()][]));
+
+		assertEquals(intactFrames, new Parser().parse(stream, 0, stream.length, listener));
+		List<String> expected = new ArrayList<>(received);
+		assertEquals(expected, parseBytes(stream));
+
+		received.clear();
+		Parser parser = new Parser();
+		for (int offset = 0; offset < stream.length; offset += 5) {
+			parser.parse(stream, offset, Math.min(5, stream.length - offset), listener);
+		}
+		assertEquals(expected, received);
+	}
+}
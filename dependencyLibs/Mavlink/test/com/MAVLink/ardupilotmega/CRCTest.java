@@ -0,0 +1,56 @@
+package com.MAVLink.ardupilotmega;
+
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+public class CRCTest extends TestCase {
+
+	/**
+	 * Bit by bit accumulation, as specified by the MAVLink reference
+	 * implementation.
+	 */
+	private static int accumulate(int data, int crc) {
+		int tmp = (data & 0xff) ^ (crc & 0xff);
+		tmp ^= (tmp << 4) & 0xff;
+		return ((crc >> 8) & 0xff) ^ (tmp << 8) ^ (tmp << 3) ^ ((tmp >> 4) & 0xf);
+	}
+
+	public void testCheckValue() {
+		// CRC-16/MCRF4XX check value.
+		byte[] data = "123456789".getBytes();
+		CRC crc = new CRC();
+		crc.update_checksum(data, 0, data.length);
+		assertEquals(0x6f, crc.getMSB());
+		assertEquals(0x91, crc.getLSB());
+	}
+
+	public void testMatchesReferenceImplementation() {
+		Random random = new Random(7);
+		byte[] data = new byte[300];
+		random.nextBytes(data);
+
+		int expected = 0xffff;
+		CRC singleBytes = new CRC();
+		for (byte b : data) {
+			expected = accumulate(b, expected);
+			singleBytes.update_checksum(b);
+		}
+
+		CRC range = new CRC();
+		range.update_checksum(data, 0, 100);
+		range.update_checksum(data, 100, 200);
+
+		assertEquals(expected & 0xff, singleBytes.getLSB());
+		assertEquals((expected >> 8) & 0xff, singleBytes.getMSB());
+		assertEquals(expected & 0xff, range.getLSB());
+		assertEquals((expected >> 8) & 0xff, range.getMSB());
+	}
+
+	public void testUnknownMessageIds() {
+		assertEquals(50, CRC.getCrcExtra(0));
+		assertEquals(0, CRC.getCrcExtra(-1));
+		assertEquals(0, CRC.getCrcExtra(1 << 16));
+		assertEquals(0, CRC.getMessageLength(1 << 16));
+	}
+}
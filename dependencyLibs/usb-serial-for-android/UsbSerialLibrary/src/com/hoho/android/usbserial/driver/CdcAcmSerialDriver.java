@@ -85,6 +85,11 @@ public class CdcAcmSerialDriver extends CommonUsbSerialDriver {
         mConnection.close();
     }
 
+    @Override
+    public UsbEndpoint getReadEndpoint() {
+        return mReadEndpoint;
+    }
+
     @Override
     public int read(byte[] dest, int timeoutMillis) throws IOException {
         final int numBytesRead;
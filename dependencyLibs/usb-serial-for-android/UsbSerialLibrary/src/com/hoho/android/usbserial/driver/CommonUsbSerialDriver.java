@@ -22,6 +22,7 @@ package com.hoho.android.usbserial.driver;
 
 import android.hardware.usb.UsbDevice;
 import android.hardware.usb.UsbDeviceConnection;
+import android.hardware.usb.UsbEndpoint;
 
 import java.io.IOException;
 
@@ -64,12 +65,18 @@ abstract class CommonUsbSerialDriver implements UsbSerialDriver {
         return mDevice;
     }
 
+    @Override
+    public final UsbDeviceConnection getConnection() {
+        return mConnection;
+    }
+
     /**
      * Sets the size of the internal buffer used to exchange data with the USB
      * stack for read operations.  Most users should not need to change this.
      *
      * @param bufferSize the size in bytes
      */
+    @Override
     public final void setReadBufferSize(int bufferSize) {
         synchronized (mReadBufferLock) {
             if (bufferSize == mReadBuffer.length) {
@@ -79,12 +86,20 @@ abstract class CommonUsbSerialDriver implements UsbSerialDriver {
         }
     }
 
+    @Override
+    public final int getReadBufferSize() {
+        synchronized (mReadBufferLock) {
+            return mReadBuffer.length;
+        }
+    }
+
     /**
      * Sets the size of the internal buffer used to exchange data with the USB
      * stack for write operations.  Most users should not need to change this.
      *
      * @param bufferSize the size in bytes
      */
+    @Override
     public final void setWriteBufferSize(int bufferSize) {
         synchronized (mWriteBufferLock) {
             if (bufferSize == mWriteBuffer.length) {
@@ -106,6 +121,18 @@ abstract class CommonUsbSerialDriver implements UsbSerialDriver {
     @Override
     public abstract int write(final byte[] src, final int timeoutMillis) throws IOException;
 
+    @Override
+    public abstract UsbEndpoint getReadEndpoint();
+
+    /**
+     * Returns the data unchanged; the devices which add status bytes to it
+     * override this.
+     */
+    @Override
+    public int filterReadData(byte[] data, int length) {
+        return length;
+    }
+
     @Override
     public abstract void setParameters(
             int baudRate, int dataBits, int stopBits, int parity) throws IOException;
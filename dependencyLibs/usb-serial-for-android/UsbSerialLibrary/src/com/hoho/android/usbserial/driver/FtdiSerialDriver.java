@@ -132,6 +132,16 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
      */
     private static final int SIO_SET_DATA_REQUEST = 4;
 
+    /**
+     * Set the latency timer.
+     */
+    private static final int SIO_SET_LATENCY_TIMER_REQUEST = 9;
+
+    /**
+     * Get the latency timer.
+     */
+    private static final int SIO_GET_LATENCY_TIMER_REQUEST = 10;
+
     private static final int SIO_RESET_SIO = 0;
 
     public static final int FTDI_DEVICE_OUT_REQTYPE =
@@ -160,6 +170,15 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
 
     private int mMaxPacketSize = 64; // TODO(mikey): detect
 
+    /**
+     * Payload read into the read buffer which didn't fit in the destination
+     * of the read, returned by the next reads. The buffer is kept, as the read
+     * buffer may be replaced meanwhile. Guarded by {@link #mReadBufferLock}.
+     */
+    private byte[] mPendingBuffer;
+    private int mPendingOffset;
+    private int mPendingLength;
+
     /**
      * Due to http://b.android.com/28023 , we cannot use UsbRequest async reads
      * since it gives no indication of number of bytes read. Set this to
@@ -168,29 +187,24 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
     private static final boolean ENABLE_ASYNC_READS = false;
 
     /**
-     * Filter FTDI status bytes from buffer
-     * @param src The source buffer (which contains status bytes)
-     * @param dest The destination buffer to write the status bytes into (can be src)
-     * @param totalBytesRead Number of bytes read to src
+     * Filters the FTDI status bytes out of the data read, in place. The
+     * device starts each packet, full or short, with its modem status.
+     *
+     * @param data The data read, whose payload bytes are moved to its start
+     * @param totalBytesRead Number of bytes read into data
      * @param maxPacketSize The USB endpoint max packet size
      * @return The number of payload bytes
      */
-    private final int filterStatusBytes(byte[] src, byte[] dest, int totalBytesRead, int maxPacketSize) {
-        final int packetsCount = totalBytesRead / maxPacketSize + 1;
-        for (int packetIdx = 0; packetIdx < packetsCount; ++packetIdx) {
-            final int count = (packetIdx == (packetsCount - 1))
-                    ? (totalBytesRead % maxPacketSize) - MODEM_STATUS_HEADER_LENGTH
-                    : maxPacketSize - MODEM_STATUS_HEADER_LENGTH;
+    public static int filterStatusBytes(byte[] data, int totalBytesRead, int maxPacketSize) {
+        int payloadBytes = 0;
+        for (int offset = 0; offset < totalBytesRead; offset += maxPacketSize) {
+            final int count = Math.min(maxPacketSize, totalBytesRead - offset) - MODEM_STATUS_HEADER_LENGTH;
             if (count > 0) {
-                System.arraycopy(src,
-                        packetIdx * maxPacketSize + MODEM_STATUS_HEADER_LENGTH,
-                        dest,
-                        packetIdx * (maxPacketSize - MODEM_STATUS_HEADER_LENGTH),
-                        count);
+                System.arraycopy(data, offset + MODEM_STATUS_HEADER_LENGTH, data, payloadBytes, count);
+                payloadBytes += count;
             }
         }
-
-      return totalBytesRead - (packetsCount * 2);
+        return payloadBytes;
     }
 
     /**
@@ -229,6 +243,10 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
                 }
             }
             reset();
+            synchronized (mReadBufferLock) {
+                // Drops the payload left from before.
+                mPendingLength = 0;
+            }
             opened = true;
         } finally {
             if (!opened) {
@@ -242,6 +260,57 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
         mConnection.close();
     }
 
+    @Override
+    public UsbEndpoint getReadEndpoint() {
+        return mDevice.getInterface(0).getEndpoint(0);
+    }
+
+    /**
+     * Strips the modem status header starting each packet.
+     */
+    @Override
+    public int filterReadData(byte[] data, int length) {
+        return filterStatusBytes(data, length, getReadEndpoint().getMaxPacketSize());
+    }
+
+    /**
+     * Sets how long the device waits for a packet to fill before sending it
+     * short. The device default, 16 ms, adds as much latency to the data
+     * arriving slower than the packets fill.
+     *
+     * @param latencyMillis the latency timer, from 1 to 255 ms
+     * @throws IOException on error setting the latency timer
+     */
+    public void setLatencyTimer(int latencyMillis) throws IOException {
+        if (latencyMillis < 1 || latencyMillis > 255) {
+            throw new IllegalArgumentException("Invalid latency timer: " + latencyMillis);
+        }
+
+        int result = mConnection.controlTransfer(FTDI_DEVICE_OUT_REQTYPE,
+                SIO_SET_LATENCY_TIMER_REQUEST, latencyMillis, 0 /* index */,
+                null, 0, USB_WRITE_TIMEOUT_MILLIS);
+        if (result != 0) {
+            throw new IOException("Setting latency timer failed: result=" + result);
+        }
+    }
+
+    /**
+     * Gets the latency timer of the device.
+     *
+     * @return the latency timer in ms
+     * @throws IOException on error reading the latency timer
+     */
+    public int getLatencyTimer() throws IOException {
+        final byte[] latency = new byte[1];
+        int result = mConnection.controlTransfer(FTDI_DEVICE_IN_REQTYPE,
+                SIO_GET_LATENCY_TIMER_REQUEST, 0, 0 /* index */,
+                latency, latency.length, USB_READ_TIMEOUT_MILLIS);
+        if (result != latency.length) {
+            throw new IOException("Getting latency timer failed: result=" + result);
+        }
+        return latency[0] & 0xFF;
+    }
+
     @Override
     public int read(byte[] dest, int timeoutMillis) throws IOException {
         final UsbEndpoint endpoint = mDevice.getInterface(0).getEndpoint(0);
@@ -274,18 +343,42 @@ public class FtdiSerialDriver extends CommonUsbSerialDriver {
                 return 0;
             }
         } else {
-            final int totalBytesRead;
+            final int maxPacketSize = endpoint.getMaxPacketSize();
 
             synchronized (mReadBufferLock) {
+                if (mPendingLength > 0) {
+                    final int length = Math.min(mPendingLength, dest.length);
+                    System.arraycopy(mPendingBuffer, mPendingOffset, dest, 0, length);
+                    mPendingOffset += length;
+                    mPendingLength -= length;
+                    return length;
+                }
+
+                // Reads whole packets, so their status bytes stay aligned.
                 final int readAmt = Math.min(dest.length, mReadBuffer.length);
-                totalBytesRead = mConnection.bulkTransfer(endpoint, mReadBuffer,
-                        readAmt, timeoutMillis);
+                final int transferSize = Math.max(maxPacketSize, readAmt - readAmt % maxPacketSize);
+
+                // Reads straight into dest when the packets fit, and filters
+                // the status bytes in place.
+                final byte[] readBuffer = transferSize <= dest.length ? dest : mReadBuffer;
+                final int totalBytesRead = mConnection.bulkTransfer(endpoint, readBuffer,
+                        transferSize, timeoutMillis);
 
                 if (totalBytesRead < MODEM_STATUS_HEADER_LENGTH) {
                     throw new IOException("Expected at least " + MODEM_STATUS_HEADER_LENGTH + " bytes");
                 }
-  
-                return filterStatusBytes(mReadBuffer, dest, totalBytesRead, endpoint.getMaxPacketSize());
+
+                final int payloadBytesRead = filterStatusBytes(readBuffer, totalBytesRead, maxPacketSize);
+                if (readBuffer == dest) {
+                    return payloadBytesRead;
+                }
+
+                final int length = Math.min(payloadBytesRead, dest.length);
+                System.arraycopy(readBuffer, 0, dest, 0, length);
+                mPendingBuffer = readBuffer;
+                mPendingOffset = length;
+                mPendingLength = payloadBytesRead - length;
+                return length;
             }
         }
     }
@@ -342,6 +342,11 @@ public class ProlificSerialDriver extends CommonUsbSerialDriver {
         }
     }
 
+    @Override
+    public UsbEndpoint getReadEndpoint() {
+        return mReadEndpoint;
+    }
+
     @Override
     public int read(byte[] dest, int timeoutMillis) throws IOException {
         final int numBytesRead;
@@ -20,6 +20,9 @@
 
 package com.hoho.android.usbserial.driver;
 
+import android.hardware.usb.UsbDeviceConnection;
+import android.hardware.usb.UsbEndpoint;
+
 import java.io.IOException;
 
 /**
@@ -115,6 +118,56 @@ public interface UsbSerialDriver {
      */
     public int write(final byte[] src, final int timeoutMillis) throws IOException;
 
+    /**
+     * Sets the size of the transfers reading the device. Larger transfers
+     * complete less often at high data rates.
+     *
+     * @param bufferSize the size in bytes
+     */
+    public void setReadBufferSize(int bufferSize);
+
+    /**
+     * Returns the size of the transfers reading the device.
+     *
+     * @return the size in bytes
+     */
+    public int getReadBufferSize();
+
+    /**
+     * Sets the size of the transfers writing the device. Larger writes are
+     * split into several transfers.
+     *
+     * @param bufferSize the size in bytes
+     */
+    public void setWriteBufferSize(int bufferSize);
+
+    /**
+     * Returns the connection to the device, to queue asynchronous reads on
+     * the endpoint returned by {@link #getReadEndpoint()}.
+     *
+     * @return the connection
+     */
+    public UsbDeviceConnection getConnection();
+
+    /**
+     * Returns the bulk endpoint the device sends its data on. Only valid
+     * once the device is opened.
+     *
+     * @return the read endpoint
+     */
+    public UsbEndpoint getReadEndpoint();
+
+    /**
+     * Strips what the device adds to the data received on the read
+     * endpoint, like the modem status of FTDI devices, when it's read
+     * directly from the endpoint instead of through {@link #read(byte[], int)}.
+     *
+     * @param data the data received, which is filtered in place
+     * @param length the count of bytes received
+     * @return the count of data bytes left at the start of the buffer
+     */
+    public int filterReadData(byte[] data, int length);
+
     /**
      * Sets various serial port parameters.
      *